@@ -0,0 +1,129 @@
+package com.afbscenter.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * JMH 결과(JSON)를 기준 결과와 비교해 마크다운 보고서를 쓴다 (benchmark 프로파일의 verify 단계).
+ * 인자: 결과 JSON, 기준 JSON, 보고서 경로, 회귀 판정 % (기본 10), 기준 갱신 여부(true면 결과를 기준으로 복사).
+ * 평균 시간(avgt 등)은 낮을수록, 처리량(thrpt)은 높을수록 좋다. 차이가 판정 %를 넘고 두 오차 범위 합보다 클 때만 회귀/개선으로 표시.
+ * 빌드를 실패시키지 않는다 (측정 환경에 따라 흔들리므로 보고서를 보고 판단).
+ */
+public final class BenchmarkReport {
+
+    private BenchmarkReport() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path resultPath = Paths.get(args[0]);
+        Path baselinePath = Paths.get(args[1]);
+        Path reportPath = Paths.get(args[2]);
+        double thresholdPercent = args.length > 3 ? Double.parseDouble(args[3]) : 10.0;
+        boolean updateBaseline = args.length > 4 && Boolean.parseBoolean(args[4]);
+
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, JsonNode> current = index(mapper.readTree(resultPath.toFile()));
+        Map<String, JsonNode> baseline = Files.exists(baselinePath)
+                ? index(mapper.readTree(baselinePath.toFile())) : new LinkedHashMap<>();
+
+        StringBuilder md = new StringBuilder();
+        md.append("# 벤치마크 기준 비교\n\n");
+        md.append("- 결과: `").append(resultPath).append("`\n");
+        md.append("- 기준: `").append(baselinePath).append('`').append(baseline.isEmpty() ? " (없음 — -Djmh.updateBaseline=true로 만든다)" : "").append('\n');
+        md.append("- 판정: 차이 ").append(format(thresholdPercent)).append("% 초과이면서 오차 범위 합보다 클 때\n\n");
+        md.append("| 벤치마크 | 단위 | 기준 | 현재 | 차이 | 판정 |\n");
+        md.append("|---|---|---:|---:|---:|---|\n");
+
+        int regressions = 0;
+        int improvements = 0;
+        for (Map.Entry<String, JsonNode> e : current.entrySet()) {
+            JsonNode now = e.getValue();
+            JsonNode base = baseline.get(e.getKey());
+            String unit = now.path("primaryMetric").path("scoreUnit").asText();
+            double score = now.path("primaryMetric").path("score").asDouble();
+            double error = errorOf(now);
+            md.append("| ").append(e.getKey()).append(" | ").append(unit).append(" | ");
+            if (base == null) {
+                md.append("- | ").append(format(score)).append(" ± ").append(format(error)).append(" | - | 신규 |\n");
+                continue;
+            }
+            double baseScore = base.path("primaryMetric").path("score").asDouble();
+            double deltaPercent = baseScore != 0 ? (score - baseScore) / baseScore * 100.0 : 0.0;
+            boolean higherIsBetter = "thrpt".equals(now.path("mode").asText());
+            boolean significant = Math.abs(deltaPercent) > thresholdPercent
+                    && Math.abs(score - baseScore) > error + errorOf(base);
+            String verdict = "같음";
+            if (significant) {
+                boolean worse = higherIsBetter ? score < baseScore : score > baseScore;
+                verdict = worse ? "**회귀**" : "개선";
+                if (worse) regressions++;
+                else improvements++;
+            }
+            md.append(format(baseScore)).append(" | ").append(format(score)).append(" ± ").append(format(error))
+                    .append(" | ").append(deltaPercent >= 0 ? "+" : "").append(format(deltaPercent)).append("% | ")
+                    .append(verdict).append(" |\n");
+        }
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                md.append("| ").append(key).append(" | - | - | - | - | 이번 실행에 없음 |\n");
+            }
+        }
+        md.append("\n회귀 ").append(regressions).append("건, 개선 ").append(improvements).append("건\n");
+
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        Files.write(reportPath, md.toString().getBytes(StandardCharsets.UTF_8));
+        System.out.println(md);
+        System.out.println("보고서: " + reportPath);
+
+        if (updateBaseline) {
+            Files.createDirectories(baselinePath.toAbsolutePath().getParent());
+            Files.copy(resultPath, baselinePath, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("기준 갱신: " + baselinePath);
+        }
+    }
+
+    /** "클래스.메서드 (param=값, ...)" → 결과 항목 */
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode r : results) {
+            String name = r.path("benchmark").asText();
+            int lastDot = name.lastIndexOf('.');
+            int classDot = lastDot > 0 ? name.lastIndexOf('.', lastDot - 1) : -1;
+            StringBuilder key = new StringBuilder(classDot >= 0 ? name.substring(classDot + 1) : name);
+            JsonNode params = r.path("params");
+            if (params.isObject() && params.size() > 0) {
+                key.append(" (");
+                Iterator<Map.Entry<String, JsonNode>> it = params.fields();
+                while (it.hasNext()) {
+                    Map.Entry<String, JsonNode> p = it.next();
+                    String value = p.getValue().asText();
+                    key.append(p.getKey()).append('=').append(value.length() > 24 ? value.substring(0, 24) + "…" : value);
+                    if (it.hasNext()) key.append(", ");
+                }
+                key.append(')');
+            }
+            byKey.put(key.toString(), r);
+        }
+        return byKey;
+    }
+
+    private static double errorOf(JsonNode result) {
+        double error = result.path("primaryMetric").path("scoreError").asDouble();
+        return Double.isNaN(error) ? 0.0 : error;
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, Math.abs(value) >= 100 ? "%.0f" : "%.2f", value);
+    }
+}
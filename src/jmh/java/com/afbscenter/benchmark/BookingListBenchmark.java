@@ -0,0 +1,38 @@
+package com.afbscenter.benchmark;
+
+import com.afbscenter.controller.BookingController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 예약 목록 응답 구성 ({@link BookingController#getAllBookings}): 월 달력 범위 조회, 출석 묶음 조회, 회차 계산, 목록 항목 생성.
+ * 시드된 H2 기준 한 달 약 1,200건. JSON 직렬화는 포함하지 않는다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class BookingListBenchmark {
+
+    @Benchmark
+    public Object monthCalendar(SeededApplication app) {
+        return app.bean(BookingController.class)
+                .getAllBookings(app.monthStart, app.monthEnd, null, null, null, "SAHA", null, null, false)
+                .getBody();
+    }
+
+    @Benchmark
+    public Object monthCalendarBaseball(SeededApplication app) {
+        return app.bean(BookingController.class)
+                .getAllBookings(app.monthStart, app.monthEnd, null, null, null, "SAHA", "BASEBALL", null, false)
+                .getBody();
+    }
+}
@@ -0,0 +1,93 @@
+package com.afbscenter.benchmark;
+
+import com.afbscenter.model.MemberProduct;
+import com.afbscenter.model.Product;
+import com.afbscenter.repository.AttendanceRepository;
+import com.afbscenter.repository.BookingRepository;
+import com.afbscenter.util.MemberProductCountPassHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 횟수권 총횟수·조회용 잔여 계산 ({@link MemberProductCountPassHelper}).
+ * - 저장된 잔여가 있는 경우(대부분): 필드만 읽는 경로
+ * - 잔여가 비어 있는 구 횟수권: 출석·예약 수를 세는 두 쿼리 경로 (시드된 H2)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CountPassHelperBenchmark {
+
+    private MemberProduct stored;
+    private MemberProduct totalFromProduct;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Product product = new Product();
+        product.setName("야구 레슨 30회권");
+        product.setType(Product.ProductType.COUNT_PASS);
+        product.setUsageCount(30);
+
+        stored = new MemberProduct();
+        stored.setId(1L);
+        stored.setProduct(product);
+        stored.setStatus(MemberProduct.Status.ACTIVE);
+        stored.setTotalCount(30);
+        stored.setRemainingCount(7);
+
+        totalFromProduct = new MemberProduct();
+        totalFromProduct.setId(2L);
+        totalFromProduct.setProduct(product);
+        totalFromProduct.setStatus(MemberProduct.Status.ACTIVE);
+    }
+
+    @Benchmark
+    public int resolveTotalCountFromProduct() {
+        return MemberProductCountPassHelper.resolveTotalCount(totalFromProduct);
+    }
+
+    @Benchmark
+    public int resolveRemainingStored() {
+        return MemberProductCountPassHelper.resolveRemainingForRead(stored, 1L, null, null);
+    }
+
+    @Benchmark
+    public int resolveRemainingLegacyFromUsage(LegacyPass legacy) {
+        return MemberProductCountPassHelper.resolveRemainingForRead(legacy.pass, legacy.memberId,
+                legacy.attendanceRepository, legacy.bookingRepository);
+    }
+
+    /** 시드된 횟수권과 같은 ID·상품이지만 잔여가 비어 있는 사본 (DB 행은 그대로) */
+    @State(Scope.Benchmark)
+    public static class LegacyPass {
+        MemberProduct pass;
+        long memberId;
+        AttendanceRepository attendanceRepository;
+        BookingRepository bookingRepository;
+
+        @Setup(Level.Trial)
+        public void setUp(SeededApplication app) {
+            pass = new MemberProduct();
+            pass.setId(app.countPassId);
+            pass.setProduct(app.countPassProduct);
+            pass.setStatus(MemberProduct.Status.ACTIVE);
+            memberId = app.countPassMemberId;
+            attendanceRepository = app.bean(AttendanceRepository.class);
+            bookingRepository = app.bean(BookingRepository.class);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.afbscenter.benchmark;
+
+import ch.qos.logback.classic.Level;
+import com.afbscenter.config.JwtFilter;
+import com.afbscenter.util.JwtPrincipal;
+import com.afbscenter.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그인 토큰 검증: {@link JwtUtil#verify} 캐시 적중/미적중과 {@link JwtFilter} 한 번 통과.
+ * 미적중은 검증 캐시 크기보다 많은 서로 다른 토큰을 돌려 매번 서명 검증을 하게 한다.
+ * 비교용으로 검증 캐시 도입 전 필터 경로({@link #legacyFilterPath})도 재현해 잰다.
+ * 스프링 컨텍스트 없이 설정값만 넣어 만든다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtFilterBenchmark {
+
+    /** 검증 캐시(1,024건)보다 많아 순환해도 항상 미적중 */
+    private static final int DISTINCT_TOKENS = 4096;
+
+    private static final String SECRET = "benchmark-secret-key-at-least-32-characters-long";
+
+    private JwtUtil jwtUtil;
+    private JwtFilter jwtFilter;
+    private String hotToken;
+    private String[] coldTokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        // 컨텍스트 없이 실행하므로 logback 기본(DEBUG)이 필터의 디버그 로그를 찍지 않게 한다
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtUtil, "deskInboxUnlockExpirationMs", 3_600_000L);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "initSigningKey");
+
+        jwtFilter = new JwtFilter();
+        ReflectionTestUtils.setField(jwtFilter, "jwtUtil", jwtUtil);
+
+        hotToken = jwtUtil.generateToken("desk", "ADMIN");
+        coldTokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < DISTINCT_TOKENS; i++) {
+            coldTokens[i] = jwtUtil.generateToken("coach" + i, "COACH");
+        }
+    }
+
+    @Benchmark
+    public JwtPrincipal verifyCached() {
+        return jwtUtil.verify(hotToken);
+    }
+
+    @Benchmark
+    public JwtPrincipal verifyUncached() {
+        String token = coldTokens[next];
+        next = (next + 1) % DISTINCT_TOKENS;
+        return jwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public int filterCachedToken() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/bookings");
+        request.addHeader("Authorization", "Bearer " + hotToken);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        jwtFilter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+
+    /** 캐시 도입 전 필터가 요청마다 하던 일: 같은 토큰을 여러 번 파싱 (사용자명 → validateToken → 역할) */
+    @Benchmark
+    public String legacyFilterPath() {
+        String token = coldTokens[next];
+        next = (next + 1) % DISTINCT_TOKENS;
+        String username = legacyClaims(token).getSubject();
+        // 예전 validateToken: extractUsername + isTokenExpired가 각각 다시 파싱
+        boolean valid = legacyClaims(token).getSubject().equals(username)
+                && !legacyClaims(token).getExpiration().before(new Date());
+        return valid ? legacyClaims(token).get("role", String.class) : null;
+    }
+
+    /** 예전 JwtUtil.extractAllClaims: 호출마다 서명 키와 파서를 새로 만든다 */
+    private static Claims legacyClaims(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
@@ -0,0 +1,111 @@
+package com.afbscenter.benchmark;
+
+import com.afbscenter.dto.MemberResponseDTO;
+import com.afbscenter.model.Coach;
+import com.afbscenter.model.Member;
+import com.afbscenter.model.MemberProduct;
+import com.afbscenter.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회원 목록 한 행 만들기: {@link MemberResponseDTO#fromMember} + {@link MemberResponseDTO#toMap()}.
+ * 회원 하나에 코치가 붙은 이용권 4개(야구 횟수권 2, 트레이닝 월정기, 종료된 필라테스)인 전형적인 경우.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MemberResponseBenchmark {
+
+    private Member member;
+    private List<MemberProduct> memberProducts;
+    private MemberProduct periodPass;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Coach baseballCoach = coach(1L, "김야구");
+        Coach trainingCoach = coach(2L, "이트레이닝");
+
+        member = new Member();
+        member.setId(100L);
+        member.setName("벤치회원");
+        member.setMemberNumber("BENCH-100");
+        member.setPhoneNumber("010-0000-0100");
+        member.setGender(Member.Gender.MALE);
+        member.setGrade(Member.MemberGrade.ELITE_MIDDLE);
+        member.setCoach(baseballCoach);
+        member.setJoinDate(LocalDate.now().minusMonths(8));
+        member.setCreatedAt(LocalDateTime.now().minusMonths(8));
+
+        memberProducts = new ArrayList<>();
+        memberProducts.add(pass(1L, product(10L, "야구 레슨 10회권", Product.ProductType.COUNT_PASS, Product.ProductCategory.BASEBALL, baseballCoach),
+                MemberProduct.Status.ACTIVE, 10, 4, null));
+        memberProducts.add(pass(2L, product(11L, "야구 레슨 30회권", Product.ProductType.COUNT_PASS, Product.ProductCategory.BASEBALL, baseballCoach),
+                MemberProduct.Status.ACTIVE, 30, 22, null));
+        periodPass = pass(3L, product(12L, "트레이닝 월정기", Product.ProductType.MONTHLY_PASS, Product.ProductCategory.TRAINING, trainingCoach),
+                MemberProduct.Status.ACTIVE, null, null, LocalDate.now().plusDays(12));
+        memberProducts.add(periodPass);
+        memberProducts.add(pass(4L, product(13L, "필라테스 8회권", Product.ProductType.COUNT_PASS, Product.ProductCategory.PILATES, null),
+                MemberProduct.Status.USED_UP, 8, 0, null));
+    }
+
+    @Benchmark
+    public MemberResponseDTO fromMember() {
+        return MemberResponseDTO.fromMember(member, 1_250_000, LocalDate.now().minusDays(2), 26, memberProducts, periodPass);
+    }
+
+    @Benchmark
+    public Map<String, Object> fromMemberToMap() {
+        return MemberResponseDTO.fromMember(member, 1_250_000, LocalDate.now().minusDays(2), 26, memberProducts, periodPass).toMap();
+    }
+
+    private static Coach coach(Long id, String name) {
+        Coach c = new Coach();
+        c.setId(id);
+        c.setName(name);
+        return c;
+    }
+
+    private static Product product(Long id, String name, Product.ProductType type, Product.ProductCategory category, Coach coach) {
+        Product p = new Product();
+        p.setId(id);
+        p.setName(name);
+        p.setType(type);
+        p.setCategory(category);
+        p.setPrice(300_000);
+        p.setCoach(coach);
+        return p;
+    }
+
+    private static MemberProduct pass(Long id, Product product, MemberProduct.Status status,
+                                      Integer total, Integer remaining, LocalDate expiryDate) {
+        MemberProduct mp = new MemberProduct();
+        mp.setId(id);
+        mp.setProduct(product);
+        mp.setStatus(status);
+        mp.setTotalCount(total);
+        mp.setRemainingCount(remaining);
+        mp.setExpiryDate(expiryDate);
+        mp.setPurchaseDate(LocalDateTime.now().minusMonths(2));
+        return mp;
+    }
+}
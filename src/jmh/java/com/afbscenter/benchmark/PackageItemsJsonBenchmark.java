@@ -0,0 +1,65 @@
+package com.afbscenter.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 패키지 이용권 잔여 JSON(packageItemsRemaining) 읽기 → 한 항목 차감 → 다시 쓰기.
+ * 체크인 차감(AttendanceCheckController)·잔여 조정(MemberProductController)과 같은 방식으로
+ * List&lt;Map&gt;으로 읽고 고쳐 쓴다. 현재 코드처럼 호출마다 ObjectMapper를 만드는 경우와 공유하는 경우를 함께 잰다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PackageItemsJsonBenchmark {
+
+    private static final TypeReference<List<Map<String, Object>>> ITEMS = new TypeReference<>() {};
+    private static final ObjectMapper SHARED = new ObjectMapper();
+
+    @Param({
+            "[{\"name\":\"대관\",\"remaining\":8}]",
+            "[{\"name\":\"야구\",\"remaining\":10,\"total\":10},{\"name\":\"트레이닝\",\"remaining\":4,\"total\":5},{\"name\":\"필라테스\",\"remaining\":0,\"total\":5}]"
+    })
+    public String json;
+
+    @Benchmark
+    public String deductWithNewMapper() throws JsonProcessingException {
+        return deduct(new ObjectMapper(), json);
+    }
+
+    @Benchmark
+    public String deductWithSharedMapper() throws JsonProcessingException {
+        return deduct(SHARED, json);
+    }
+
+    /** 잔여 &gt; 0인 첫 항목에서 1회 차감 (대관 차감 규칙) */
+    private static String deduct(ObjectMapper mapper, String raw) throws JsonProcessingException {
+        List<Map<String, Object>> items = mapper.readValue(raw, ITEMS);
+        for (Map<String, Object> item : items) {
+            int remaining = item.get("remaining") instanceof Number ? ((Number) item.get("remaining")).intValue() : 0;
+            if (remaining > 0) {
+                item.put("remaining", remaining - 1);
+                break;
+            }
+        }
+        return mapper.writeValueAsString(items);
+    }
+}
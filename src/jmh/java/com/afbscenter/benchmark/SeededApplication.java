@@ -0,0 +1,234 @@
+package com.afbscenter.benchmark;
+
+import com.afbscenter.AfbsCenterApplication;
+import com.afbscenter.model.Attendance;
+import com.afbscenter.model.Booking;
+import com.afbscenter.model.Facility;
+import com.afbscenter.model.LessonCategory;
+import com.afbscenter.model.Member;
+import com.afbscenter.model.MemberProduct;
+import com.afbscenter.model.Product;
+import com.afbscenter.model.TrainingLog;
+import com.afbscenter.repository.AttendanceRepository;
+import com.afbscenter.repository.BookingRepository;
+import com.afbscenter.repository.FacilityRepository;
+import com.afbscenter.repository.MemberProductRepository;
+import com.afbscenter.repository.MemberRepository;
+import com.afbscenter.repository.ProductRepository;
+import com.afbscenter.repository.TrainingLogRepository;
+import com.afbscenter.service.BookingStatusTransitionService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * DB가 필요한 벤치마크가 공유하는 애플리케이션 컨텍스트.
+ * in-memory H2에 센터 한 곳 규모(회원 1,500명, 오늘 기준 앞뒤 30일 하루 40건 예약, 지난 예약 출석, 최근 90일 훈련 기록)를 고정 시드로 채운다.
+ * 운영과 같게 커밋 후 리스너·배치 페치·기준 데이터 캐시를 켜고, 로그는 경고 이상만 남긴다.
+ */
+@State(Scope.Benchmark)
+public class SeededApplication {
+
+    static final int MEMBERS = 1500;
+    static final int BOOKINGS_PER_DAY = 40;
+    static final int DAYS_BEFORE = 30;
+    static final int DAYS_AFTER = 30;
+    static final int TRAINING_MEMBERS = 600;
+    static final int TRAINING_LOGS = 20000;
+
+    private ConfigurableApplicationContext context;
+
+    /** 월 달력 조회 범위 (이번 달 1일 ~ 다음 달 1일, ISO 오프셋 형식) */
+    String monthStart;
+    String monthEnd;
+    /** 잔여가 비어 있는 구 횟수권 추정 경로용: 시드된 횟수권 ID와 회원 ID */
+    Long countPassId;
+    Long countPassMemberId;
+    Product countPassProduct;
+
+    @Setup(Level.Trial)
+    public void start() {
+        // 명령행 인자로 넘겨 테스트 클래스패스의 application.properties(캐시 끔 등)보다 우선하게 한다
+        context = new SpringApplicationBuilder(AfbsCenterApplication.class)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;MODE=MySQL",
+                        "--server.port=0",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.default_batch_fetch_size=100",
+                        "--reference-cache.enabled=true",
+                        "--booking.auto-complete.interval-minutes=1440",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.afbscenter=WARN",
+                        "--logging.level.SQL_BUDGET=ERROR");
+        seed();
+        // 시작 시 자동 완료 단계가 시드보다 먼저 돌았을 수 있으므로 한 번 더 맞춰 측정 중 상태가 바뀌지 않게 한다
+        bean(BookingStatusTransitionService.class).completePastBookings();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    private void seed() {
+        Random random = new Random(42);
+        LocalDate today = LocalDate.now();
+
+        List<Facility> facilities = new ArrayList<>();
+        facilities.add(facility("벤치 배팅케이지 1", Facility.Branch.SAHA, Facility.FacilityType.BASEBALL));
+        facilities.add(facility("벤치 배팅케이지 2", Facility.Branch.SAHA, Facility.FacilityType.BASEBALL));
+        facilities.add(facility("벤치 트레이닝룸", Facility.Branch.SAHA, Facility.FacilityType.TRAINING_FITNESS));
+        facilities.add(facility("벤치 실내구장", Facility.Branch.SAHA, Facility.FacilityType.RENTAL));
+        facilities = bean(FacilityRepository.class).saveAll(facilities);
+
+        ProductRepository productRepository = bean(ProductRepository.class);
+        Product count10 = productRepository.save(product("야구 레슨 10회권", Product.ProductType.COUNT_PASS, 10, Product.ProductCategory.BASEBALL, null));
+        Product count30 = productRepository.save(product("야구 레슨 30회권", Product.ProductType.COUNT_PASS, 30, Product.ProductCategory.BASEBALL, null));
+        Product monthly = productRepository.save(product("트레이닝 월정기", Product.ProductType.MONTHLY_PASS, null, Product.ProductCategory.TRAINING, null));
+        Product rentalPackage = productRepository.save(product("대관 10회 패키지", Product.ProductType.COUNT_PASS, 10, Product.ProductCategory.RENTAL,
+                "[{\"name\":\"대관\",\"count\":10}]"));
+        Product[] products = {count10, count30, monthly, rentalPackage};
+        countPassProduct = count30;
+
+        List<Member> members = new ArrayList<>(MEMBERS);
+        Member.MemberGrade[] grades = Member.MemberGrade.values();
+        for (int i = 0; i < MEMBERS; i++) {
+            Member m = new Member();
+            m.setName("벤치회원" + i);
+            m.setPhoneNumber(String.format("010-%04d-%04d", i / 10000, i % 10000));
+            m.setGender(i % 3 == 0 ? Member.Gender.FEMALE : Member.Gender.MALE);
+            m.setMemberNumber("BENCH-" + i);
+            m.setGrade(grades[i % grades.length]);
+            m.setJoinDate(today.minusDays(random.nextInt(720)));
+            members.add(m);
+        }
+        members = bean(MemberRepository.class).saveAll(members);
+
+        List<MemberProduct> passes = new ArrayList<>(MEMBERS);
+        for (Member m : members) {
+            Product p = products[random.nextInt(products.length)];
+            MemberProduct mp = new MemberProduct();
+            mp.setMember(m);
+            mp.setProduct(p);
+            mp.setStatus(MemberProduct.Status.ACTIVE);
+            if (p.getType() == Product.ProductType.COUNT_PASS) {
+                mp.setTotalCount(p.getUsageCount());
+                mp.setRemainingCount(1 + random.nextInt(p.getUsageCount()));
+                if (p == rentalPackage) {
+                    mp.setPackageItemsRemaining("[{\"name\":\"대관\",\"remaining\":" + mp.getRemainingCount() + "}]");
+                }
+            } else {
+                mp.setExpiryDate(today.plusDays(random.nextInt(40) - 5));
+            }
+            passes.add(mp);
+        }
+        passes = bean(MemberProductRepository.class).saveAll(passes);
+        for (MemberProduct mp : passes) {
+            if (mp.getProduct() == count30) {
+                countPassId = mp.getId();
+                countPassMemberId = mp.getMember().getId();
+                break;
+            }
+        }
+
+        List<Booking> bookings = new ArrayList<>();
+        for (int d = -DAYS_BEFORE; d < DAYS_AFTER; d++) {
+            LocalDateTime dayStart = today.plusDays(d).atTime(9, 0);
+            for (int k = 0; k < BOOKINGS_PER_DAY; k++) {
+                MemberProduct mp = passes.get(random.nextInt(passes.size()));
+                boolean rental = mp.getProduct() == rentalPackage;
+                Booking b = new Booking();
+                b.setFacility(facilities.get(rental ? 3 : k % 3));
+                b.setMember(mp.getMember());
+                b.setMemberProduct(mp);
+                b.setStartTime(dayStart.plusMinutes(20L * (k % 36)));
+                b.setEndTime(b.getStartTime().plusMinutes(rental ? 120 : 60));
+                b.setPurpose(rental ? Booking.BookingPurpose.RENTAL : Booking.BookingPurpose.LESSON);
+                b.setLessonCategory(rental ? null : (k % 3 == 2 ? LessonCategory.TRAINING : LessonCategory.BASEBALL));
+                b.setStatus(Booking.BookingStatus.CONFIRMED);
+                b.setBranch(Booking.Branch.SAHA);
+                bookings.add(b);
+            }
+        }
+        bookings = bean(BookingRepository.class).saveAll(bookings);
+
+        // 지난 예약의 약 90%는 체크인됨
+        List<Attendance> attendances = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (Booking b : bookings) {
+            if (b.getEndTime().isAfter(now) || random.nextInt(10) == 0) continue;
+            Attendance a = new Attendance();
+            a.setMember(b.getMember());
+            a.setFacility(b.getFacility());
+            a.setBooking(b);
+            a.setDate(b.getStartTime().toLocalDate());
+            a.setCheckInTime(b.getStartTime().minusMinutes(5));
+            a.setStatus(Attendance.AttendanceStatus.PRESENT);
+            attendances.add(a);
+        }
+        bean(AttendanceRepository.class).saveAll(attendances);
+
+        List<TrainingLog> logs = new ArrayList<>(TRAINING_LOGS);
+        for (int i = 0; i < TRAINING_LOGS; i++) {
+            TrainingLog log = new TrainingLog();
+            log.setMember(members.get(random.nextInt(TRAINING_MEMBERS)));
+            log.setRecordDate(today.minusDays(random.nextInt(90)));
+            if (i % 2 == 0) {
+                log.setType(TrainingLog.TrainingType.BATTING);
+                log.setPart(TrainingLog.TrainingPart.BASEBALL_BATTING);
+                log.setSwingSpeed(55 + random.nextDouble() * 25);
+                log.setBallSpeed(70 + random.nextDouble() * 30);
+                log.setContactRate(40 + random.nextDouble() * 50);
+            } else {
+                log.setType(TrainingLog.TrainingType.PITCHING);
+                log.setPart(TrainingLog.TrainingPart.BASEBALL_PITCHING);
+                log.setPitchSpeed(90 + random.nextDouble() * 50);
+                log.setStrikeRate(30 + random.nextDouble() * 50);
+            }
+            logs.add(log);
+        }
+        bean(TrainingLogRepository.class).saveAll(logs);
+
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDate first = today.withDayOfMonth(1);
+        monthStart = first.atStartOfDay(zone).toOffsetDateTime().toString();
+        monthEnd = first.plusMonths(1).atStartOfDay(zone).toOffsetDateTime().toString();
+    }
+
+    private static Facility facility(String name, Facility.Branch branch, Facility.FacilityType type) {
+        Facility f = new Facility();
+        f.setName(name);
+        f.setBranch(branch);
+        f.setFacilityType(type);
+        return f;
+    }
+
+    private static Product product(String name, Product.ProductType type, Integer usageCount,
+                                   Product.ProductCategory category, String packageItems) {
+        Product p = new Product();
+        p.setName(name);
+        p.setType(type);
+        p.setPrice(0);
+        p.setUsageCount(usageCount);
+        p.setCategory(category);
+        p.setPackageItems(packageItems);
+        return p;
+    }
+}
@@ -0,0 +1,36 @@
+package com.afbscenter.benchmark;
+
+import com.afbscenter.controller.TrainingLogStatsController;
+import com.afbscenter.service.ReferenceDataCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 훈련 기록 랭킹 집계 ({@link TrainingLogStatsController#getRankings}): 최근 30일, 전체 등급, 지표별 상위 10명.
+ * 시드된 H2 기준 회원 600명·기록 20,000건. 캐시를 매번 비운 집계와 캐시 적중을 나눠 잰다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TrainingRankingBenchmark {
+
+    @Benchmark
+    public Object rankingsUncached(SeededApplication app) {
+        app.bean(ReferenceDataCache.class).invalidateAll();
+        return app.bean(TrainingLogStatsController.class).getRankings(null, null, 30, null, 10).getBody();
+    }
+
+    @Benchmark
+    public Object rankingsCached(SeededApplication app) {
+        return app.bean(TrainingLogStatsController.class).getRankings(null, null, 30, null, 10).getBody();
+    }
+}
@@ -0,0 +1,91 @@
+package com.afbscenter.config;
+
+import com.afbscenter.model.Booking;
+import com.afbscenter.model.Member;
+import com.afbscenter.model.MemberProduct;
+import com.afbscenter.model.Payment;
+import com.afbscenter.service.AnalyticsRollupService;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 커밋 후 이벤트로 일별 집계 재계산 대상을 모아 AnalyticsRollupService에 넘긴다.
+ * 결제는 결제일, 예약은 시작일(+ 연결 결제일), 회원은 가입일·수정일, 이용권은 연결 결제일이 대상.
+ * 수정 시에는 이전 값의 일자도 함께 넘겨 옮겨 간 쪽과 빠진 쪽을 모두 맞춘다.
+ */
+@Component
+public class AnalyticsRollupUpdateListener implements EntityCommitListener {
+
+    private final AnalyticsRollupService rollupService;
+
+    public AnalyticsRollupUpdateListener(AnalyticsRollupService rollupService) {
+        this.rollupService = rollupService;
+    }
+
+    @Override
+    public boolean handles(Class<?> type) {
+        return type == Payment.class || type == Booking.class || type == Member.class || type == MemberProduct.class;
+    }
+
+    @Override
+    public void onInsert(PostInsertEvent event) {
+        collect(event.getEntity(), event.getId(), null, null);
+    }
+
+    @Override
+    public void onUpdate(PostUpdateEvent event) {
+        collect(event.getEntity(), event.getId(), event.getPersister().getPropertyNames(), event.getOldState());
+    }
+
+    @Override
+    public void onDelete(PostDeleteEvent event) {
+        collect(event.getEntity(), event.getId(), event.getPersister().getPropertyNames(), event.getDeletedState());
+    }
+
+    private void collect(Object entity, Object id, String[] names, Object[] oldState) {
+        Set<LocalDate> dates = new HashSet<>();
+        Set<Long> memberProductIds = new HashSet<>();
+        Set<Long> bookingIds = new HashSet<>();
+        if (entity instanceof Payment) {
+            addDate(dates, ((Payment) entity).getPaidAt());
+            addDate(dates, oldValue(names, oldState, "paidAt"));
+        } else if (entity instanceof Booking) {
+            addDate(dates, ((Booking) entity).getStartTime());
+            addDate(dates, oldValue(names, oldState, "startTime"));
+            // 결제 카테고리(목적)·코치가 예약에서 오므로 연결 결제일도 재계산
+            if (oldState != null && id instanceof Long) bookingIds.add((Long) id);
+        } else if (entity instanceof Member) {
+            Member member = (Member) entity;
+            addDate(dates, member.getJoinDate());
+            addDate(dates, member.getUpdatedAt());
+            addDate(dates, oldValue(names, oldState, "joinDate"));
+            addDate(dates, oldValue(names, oldState, "updatedAt"));
+        } else if (entity instanceof MemberProduct) {
+            // 소프트 삭제/복구 시 연결 결제가 순매출에서 빠지거나 다시 들어감
+            if (oldState != null && id instanceof Long) memberProductIds.add((Long) id);
+        }
+        if (!dates.isEmpty() || !memberProductIds.isEmpty() || !bookingIds.isEmpty()) {
+            rollupService.enqueue(dates, memberProductIds, bookingIds);
+        }
+    }
+
+    private static Object oldValue(String[] names, Object[] oldState, String property) {
+        if (names == null || oldState == null) return null;
+        for (int i = 0; i < names.length && i < oldState.length; i++) {
+            if (property.equals(names[i])) return oldState[i];
+        }
+        return null;
+    }
+
+    private static void addDate(Set<LocalDate> dates, Object value) {
+        if (value instanceof LocalDateTime) dates.add(((LocalDateTime) value).toLocalDate());
+        else if (value instanceof LocalDate) dates.add((LocalDate) value);
+    }
+}
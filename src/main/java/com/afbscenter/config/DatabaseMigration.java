@@ -8,33 +8,42 @@ import com.afbscenter.model.MemberProductHistory;
 import com.afbscenter.model.Payment;
 import com.afbscenter.model.Product;
 import com.afbscenter.model.User;
-import com.afbscenter.repository.BookingRepository;
 import com.afbscenter.repository.FacilityRepository;
 import com.afbscenter.repository.FacilitySlotRepository;
 import com.afbscenter.repository.MemberProductHistoryRepository;
 import com.afbscenter.repository.MemberProductRepository;
-import com.afbscenter.repository.MemberRepository;
 import com.afbscenter.repository.PaymentRepository;
-import com.afbscenter.repository.ProductRepository;
 import com.afbscenter.repository.UserRepository;
+import com.afbscenter.service.BookingStatusTransitionService;
+import com.afbscenter.service.DeskThreadSummaryService;
+import com.afbscenter.service.FacilityOccupancyIndex;
+import com.afbscenter.service.MemberCalendarService;
 import com.afbscenter.service.MemberService;
+import com.afbscenter.service.PassExpiryService;
+import com.afbscenter.service.PendingCheckInService;
+import com.afbscenter.service.ReferenceDataCache;
+import com.afbscenter.util.BoundedExecutor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.ApplicationListener;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.concurrent.Executor;
 
 /**
  * 데이터베이스 마이그레이션 컴포넌트
@@ -46,12 +55,42 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
 
     private static final Logger logger = LoggerFactory.getLogger(DatabaseMigration.class);
     private static boolean migrationExecuted = false;
+    /** 백그라운드 데이터 보정 동시 실행 lane 수 */
+    private static final int REPAIR_THREADS = 3;
 
     @Autowired
     private MemberService memberService;
 
     @Autowired
     private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MigrationLedger migrationLedger;
+
+    @Autowired
+    private FacilityOccupancyIndex facilityOccupancyIndex;
+
+    @Autowired
+    private MemberCalendarService memberCalendarService;
+
+    @Autowired
+    private PendingCheckInService pendingCheckInService;
+
+    @Autowired
+    private PassExpiryService passExpiryService;
+
+    @Autowired
+    private BookingStatusTransitionService bookingStatusTransitionService;
+
+    @Autowired
+    private DeskThreadSummaryService deskThreadSummaryService;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private TaskExecutor taskExecutor;
     
     @Autowired
     private FacilityRepository facilityRepository;
@@ -59,12 +98,6 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
     @Autowired
     private FacilitySlotRepository facilitySlotRepository;
     
-    @Autowired
-    private MemberRepository memberRepository;
-    
-    @Autowired
-    private BookingRepository bookingRepository;
-
     @Autowired
     private MemberProductRepository memberProductRepository;
     
@@ -74,9 +107,6 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
     @Autowired
     private MemberProductHistoryRepository memberProductHistoryRepository;
     
-    @Autowired
-    private ProductRepository productRepository;
-    
     @Autowired
     private UserRepository userRepository;
     
@@ -150,295 +180,247 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
             logger.info("✅ 회원 데이터 자동 삭제 기능: 비활성화됨 (deleteAllMembers = false)");
             logger.info("✅ 회원 데이터는 서버 시작 시 삭제되지 않습니다.");
             
-            try {
-                logger.info("애플리케이션 시작 시 회원 등급 마이그레이션 실행");
-                memberService.migrateMemberGradesInSeparateTransaction();
-                logger.info("회원 등급 마이그레이션 완료");
-            } catch (Exception e) {
-                logger.warn("회원 등급 마이그레이션 실행 중 오류 (무시): {}", e.getMessage());
-            }
-            
-            try {
-                logger.info("애플리케이션 시작 시 NULL 허용 컬럼 마이그레이션 실행");
-                memberService.migrateNullableColumnsInSeparateTransaction();
-                logger.info("NULL 허용 컬럼 마이그레이션 완료");
-            } catch (Exception e) {
-                logger.warn("NULL 허용 컬럼 마이그레이션 실행 중 오류 (무시): {}", e.getMessage());
-            }
-            
-            // 비회원 대기 예약 → 확정으로 일괄 수정 (체크인 없이 자동 승인)
-            try {
-                int updated = jdbcTemplate.update("UPDATE bookings SET status = 'CONFIRMED' WHERE member_id IS NULL AND status = 'PENDING'");
-                if (updated > 0) {
-                    logger.info("비회원 대기 예약을 확정으로 일괄 수정: {}건", updated);
-                }
-            } catch (Exception e) {
-                logger.warn("비회원 대기 예약 수정 중 오류 (무시): {}", e.getMessage());
-            }
-            
-            // 회원으로 잘못 저장된 '체험' 예약 → 비회원으로 전환 (체크인 목록에서 제거)
-            try {
-                int converted = jdbcTemplate.update(
-                    "UPDATE bookings b INNER JOIN members m ON b.member_id = m.id " +
-                    "SET b.member_id = NULL, b.non_member_name = m.name, b.status = 'CONFIRMED' " +
-                    "WHERE m.name LIKE '%체험%'"
-                );
-                if (converted > 0) {
-                    logger.info("체험 회원 예약을 비회원으로 전환(자동 체크인 적용): {}건", converted);
-                }
-            } catch (Exception e) {
-                logger.warn("체험 예약 비회원 전환 중 오류 (무시): {}", e.getMessage());
-            }
-
-            // 이용권 코치 NULL 백필: 구매 시 이용권별 코치가 기획 상 필수이므로, 레거시 NULL은 회원·상품 순으로 보정
-            try {
-                int fromMember = jdbcTemplate.update(
-                        "UPDATE MEMBER_PRODUCTS SET COACH_ID = "
-                                + "(SELECT M.COACH_ID FROM MEMBERS M WHERE M.ID = MEMBER_PRODUCTS.MEMBER_ID) "
-                                + "WHERE COACH_ID IS NULL "
-                                + "AND EXISTS (SELECT 1 FROM MEMBERS M2 WHERE M2.ID = MEMBER_PRODUCTS.MEMBER_ID AND M2.COACH_ID IS NOT NULL)");
-                if (fromMember > 0) {
-                    logger.info("이용권 코치 백필(회원 담당 코치): {}건", fromMember);
-                }
-                int fromProduct = jdbcTemplate.update(
-                        "UPDATE MEMBER_PRODUCTS SET COACH_ID = "
-                                + "(SELECT P.COACH_ID FROM PRODUCTS P WHERE P.ID = MEMBER_PRODUCTS.PRODUCT_ID) "
-                                + "WHERE COACH_ID IS NULL "
-                                + "AND EXISTS (SELECT 1 FROM PRODUCTS P2 WHERE P2.ID = MEMBER_PRODUCTS.PRODUCT_ID AND P2.COACH_ID IS NOT NULL)");
-                if (fromProduct > 0) {
-                    logger.info("이용권 코치 백필(상품 기본 코치): {}건", fromProduct);
-                }
-            } catch (Exception e) {
-                logger.warn("이용권 코치 백필 중 오류 (무시): {}", e.getMessage());
-            }
-
-            try {
-                migratePaymentsMemberProductIdColumn();
-            } catch (Exception e) {
-                logger.warn("payments.member_product_id 마이그레이션 실행 중 오류 (무시): {}", e.getMessage());
-            }
-            
-            // 초기 관리자 계정 생성
-            try {
-                initializeDefaultUsers();
-            } catch (Exception e) {
-                logger.error("초기 사용자 계정 생성 중 오류 발생: {}", e.getMessage(), e);
-            }
-            
-            try {
-                logger.info("애플리케이션 시작 시 announcements 테이블 CHECK 제약 조건 제거 실행");
-                removeAnnouncementsCheckConstraints();
-                logger.info("announcements 테이블 CHECK 제약 조건 제거 완료");
-            } catch (Exception e) {
-                logger.warn("announcements 테이블 CHECK 제약 조건 제거 중 오류 (무시): {}", e.getMessage());
-            }
-            
-            try {
-                logger.info("애플리케이션 시작 시 Products 테이블 coach_id 컬럼 마이그레이션 실행");
-                migrateProductsTableCoachColumn();
-                logger.info("Products 테이블 coach_id 컬럼 마이그레이션 완료");
-            } catch (Exception e) {
-                logger.warn("Products 테이블 coach_id 컬럼 마이그레이션 중 오류 (무시): {}", e.getMessage());
-            }
-            
-            try {
-                logger.info("애플리케이션 시작 시 시설 데이터 초기화 실행");
-                initializeFacilities();
-                logger.info("시설 데이터 초기화 완료");
-            } catch (Exception e) {
-                logger.warn("시설 데이터 초기화 중 오류 (무시): {}", e.getMessage());
-            }
-            try {
-                ensureFacilitySlots();
-            } catch (Exception e) {
-                logger.warn("시설 슬롯 기본값 생성 중 오류 (무시): {}", e.getMessage());
-            }
-            
-            try {
-                logger.info("불필요한 FACILITY_SLOTS_COPY_* 테이블 정리 실행");
-                dropUnusedFacilitySlotsCopyTables();
-                logger.info("불필요한 FACILITY_SLOTS_COPY_* 테이블 정리 완료");
-            } catch (Exception e) {
-                logger.warn("FACILITY_SLOTS_COPY_* 테이블 정리 중 오류 (무시): {}", e.getMessage());
-            }
-            
-            try {
-                logger.info("애플리케이션 시작 시 Members 테이블 컬럼명 마이그레이션 실행");
-                migrateMembersTableColumnNames();
-                logger.info("Members 테이블 컬럼명 마이그레이션 완료");
-            } catch (Exception e) {
-                logger.warn("Members 테이블 컬럼명 마이그레이션 중 오류 (무시): {}", e.getMessage());
-            }
-            
-            try {
-                logger.info("member_id FK 수정 마이그레이션 실행 (MEMBERS_COPY_3_1 -> members)");
-                fixAllMemberIdForeignKeysToMembers();
-                logger.info("member_id FK 수정 완료");
-            } catch (Exception e) {
-                logger.warn("member_id FK 수정 마이그레이션 중 오류 (무시): {}", e.getMessage());
-            }
-
-            try {
-                logger.info("애플리케이션 시작 시 누락된 결제(Payment) 자동 생성 실행");
-                createMissingPayments();
-                logger.info("누락된 결제(Payment) 자동 생성 완료");
-            } catch (Exception e) {
-                logger.warn("누락된 결제(Payment) 자동 생성 중 오류 (무시): {}", e.getMessage());
-            }
-            
-            // 레거시 패키지 데이터 정리: TEAM_PACKAGE를 더 이상 사용하지 않는 운영 방식이면
-            // COUNT_PASS 등 일반 이용권에 잘못 남아있는 package_items_remaining을 비워 잔여/표시 불일치 방지
-            try {
-                int cleared = 0;
-                try {
-                    cleared = jdbcTemplate.update(
-                        "UPDATE member_products mp " +
-                        "JOIN products p ON p.id = mp.product_id " +
-                        "SET mp.package_items_remaining = NULL " +
-                        "WHERE mp.package_items_remaining IS NOT NULL " +
-                        "  AND TRIM(mp.package_items_remaining) <> '' " +
-                        "  AND (p.type IS NULL OR p.type <> 'TEAM_PACKAGE') " +
-                        "  AND (mp.deleted_at IS NULL)"
-                    );
-                } catch (Exception e) {
-                    logger.debug("package_items_remaining 정리 JOIN UPDATE 실패(무시): {}", e.getMessage());
-                }
-                if (cleared > 0) {
-                    logger.info("레거시 package_items_remaining 정리 완료: {}건", cleared);
-                }
-            } catch (Exception e) {
-                logger.warn("레거시 package_items_remaining 정리 중 오류 (무시): {}", e.getMessage());
-            }
-
-            try {
-                logger.info("애플리케이션 시작 시 Users 테이블 approved 컬럼 마이그레이션 실행");
-                migrateUsersTableApprovedColumn();
-                logger.info("Users 테이블 approved 컬럼 마이그레이션 완료");
-            } catch (Exception e) {
-                logger.warn("Users 테이블 approved 컬럼 마이그레이션 중 오류 (무시): {}", e.getMessage());
-            }
+            runMigrationSteps();
+            // 시작 시 JDBC로 시설·설정 등을 고쳤을 수 있으므로 그 전에 채워진 기준 데이터 캐시는 버린다
+            referenceDataCache.invalidateAll();
 
-            try {
-                logger.info("애플리케이션 시작 시 Users 테이블 employee_code 컬럼 마이그레이션 실행");
-                migrateUsersTableEmployeeCodeColumn();
-                logger.info("Users 테이블 employee_code 컬럼 마이그레이션 완료");
-            } catch (Exception e) {
-                logger.warn("Users 테이블 employee_code 컬럼 마이그레이션 중 오류 (무시): {}", e.getMessage());
-            }
-
-            try {
-                logger.info("애플리케이션 시작 시 회원 히스토리 추적용 processed_by 컬럼 마이그레이션 실행");
-                migrateProcessedByColumns();
-                logger.info("processed_by 컬럼 마이그레이션 완료");
-            } catch (Exception e) {
-                logger.warn("processed_by 컬럼 마이그레이션 중 오류 (무시): {}", e.getMessage());
-            }
+            migrationExecuted = true;
+        }
+    }
 
-            try {
-                logger.info("애플리케이션 시작 시 예약 출처(booking_source) 컬럼 마이그레이션 실행");
-                migrateBookingSourceColumn();
-                logger.info("booking_source 컬럼 마이그레이션 완료");
-            } catch (Exception e) {
-                logger.warn("booking_source 컬럼 마이그레이션 중 오류 (무시): {}", e.getMessage());
-            }
+    /**
+     * 시작 시 마이그레이션 단계 목록. 순서대로 동기 실행하고, async 단계는 앱 준비 후 백그라운드에서 lane별로 병렬 실행.
+     * ONCE 단계는 schema_migration_ledger에 완료 기록이 있으면 건너뛴다 (동작을 바꿔 다시 돌려야 하면 버전을 올릴 것).
+     * ONCE 단계 본문은 실패를 삼키지 말고 던질 것 (여러 부분으로 된 단계는 부분마다 계속하되 {@link #throwIfAnyFailed}로 마지막에 던짐).
+     * 잡고 경고만 남기면 원장에 완료로 기록돼 일시적인 실패 하나로 다시는 실행되지 않는다.
+     */
+    private List<MigrationStep> migrationSteps() {
+        return List.of(
+                // 등급 CHECK 제약 제거 포함 - Hibernate가 새 컬럼에 제약을 다시 만들 수 있어 매번 확인
+                MigrationStep.everyBoot("member-grades", "회원 등급 마이그레이션",
+                        () -> memberService.migrateMemberGradesInSeparateTransaction()),
+                MigrationStep.once("member-nullable-columns", 1, "NULL 허용 컬럼 마이그레이션",
+                        () -> memberService.migrateNullableColumnsInSeparateTransaction()),
+                MigrationStep.once("payments-member-product-id", 1, "payments.member_product_id 컬럼 추가·백필",
+                        this::migratePaymentsMemberProductIdColumn),
+                MigrationStep.everyBoot("default-users", "초기 사용자 계정 생성", this::initializeDefaultUsers),
+                MigrationStep.everyBoot("announcements-check-constraints", "announcements 테이블 CHECK 제약 조건 제거",
+                        this::removeAnnouncementsCheckConstraints),
+                MigrationStep.once("products-coach-column", 1, "Products 테이블 coach_id 컬럼 마이그레이션",
+                        this::migrateProductsTableCoachColumn),
+                MigrationStep.everyBoot("facilities", "시설 데이터 초기화", this::initializeFacilities),
+                MigrationStep.everyBoot("facility-slots", "시설 슬롯 기본값 생성", this::ensureFacilitySlots),
+                MigrationStep.everyBoot("drop-facility-slots-copy-tables", "불필요한 FACILITY_SLOTS_COPY_* 테이블 정리",
+                        this::dropUnusedFacilitySlotsCopyTables),
+                MigrationStep.once("members-column-names", 1, "Members 테이블 컬럼명 마이그레이션",
+                        this::migrateMembersTableColumnNames),
+                // H2 테이블 복사(ALTER) 후 FK가 복사본을 가리킬 수 있어 매번 확인
+                MigrationStep.everyBoot("member-id-foreign-keys", "member_id FK 수정 (MEMBERS_COPY_3_1 -> members)",
+                        this::fixAllMemberIdForeignKeysToMembers),
+                MigrationStep.once("users-approved-column", 1, "Users 테이블 approved 컬럼 마이그레이션",
+                        this::migrateUsersTableApprovedColumn),
+                MigrationStep.once("users-employee-code-column", 1, "Users 테이블 employee_code 컬럼 마이그레이션",
+                        this::migrateUsersTableEmployeeCodeColumn),
+                MigrationStep.once("processed-by-columns", 1, "processed_by 컬럼 마이그레이션", this::migrateProcessedByColumns),
+                MigrationStep.once("bookings-booking-source-column", 1, "booking_source 컬럼 마이그레이션",
+                        this::migrateBookingSourceColumn),
+                MigrationStep.once("members-coach-memo-field-columns", 1, "분야별 코치 메모 컬럼 마이그레이션",
+                        this::migrateCoachMemoByFieldColumns),
+                MigrationStep.once("members-coach-memo-stats-column", 1, "수치별 코치 메모 컬럼 마이그레이션",
+                        this::migrateCoachMemoStatsColumn),
+                MigrationStep.once("members-desk-thread-lock-column", 1, "members desk_thread_lock_pin_hash 마이그레이션",
+                        this::migrateMembersDeskThreadLockColumn),
+                MigrationStep.once("members-desk-thread-cleared-at-column", 1, "members desk_thread_cleared_at 마이그레이션",
+                        this::migrateMembersDeskThreadClearedAtColumn),
+                MigrationStep.once("settings-membership-dues-columns", 1, "settings 회비 입금 전용계좌 컬럼 마이그레이션",
+                        this::migrateSettingsMembershipDuesColumns),
+                MigrationStep.once("settings-desk-inbox-lock-column", 1, "settings desk_inbox_lock_pin_hash 마이그레이션",
+                        this::migrateSettingsDeskInboxLockColumn),
+                MigrationStep.once("settings-setting-key-column", 1, "settings.setting_key 마이그레이션",
+                        this::migrateSettingsSettingKeyColumn),
+                MigrationStep.once("announcements-visible-to-members-column", 1, "announcements.visible_to_members 마이그레이션",
+                        this::migrateAnnouncementsVisibleToMembersColumn),
+                MigrationStep.once("announcements-hide-from-staff-feed-column", 1, "announcements.hide_from_staff_feed 마이그레이션",
+                        this::migrateAnnouncementsHideFromStaffFeedColumn),
+                MigrationStep.once("member-desk-messages-table", 1, "member_desk_messages 마이그레이션",
+                        this::migrateMemberDeskMessagesTable),
+                MigrationStep.once("calendar-day-marks-table", 1, "calendar_day_marks 테이블 마이그레이션",
+                        this::migrateCalendarDayMarksTable),
+                MigrationStep.once("hot-query-indexes", 2, "조회 경로 인덱스 생성", this::ensureHotQueryIndexes),
+                MigrationStep.once("member-products-version-column", 1, "member_products.version (낙관적 잠금) 마이그레이션",
+                        this::migrateMemberProductsVersionColumn),
 
-            try {
-                logger.info("애플리케이션 시작 시 분야별 코치 메모 컬럼 마이그레이션 실행");
-                migrateCoachMemoByFieldColumns();
-                logger.info("분야별 코치 메모 컬럼 마이그레이션 완료");
-            } catch (Exception e) {
-                logger.warn("분야별 코치 메모 컬럼 마이그레이션 중 오류 (무시): {}", e.getMessage());
-            }
+                // 데이터 보정 (앱 준비 후 백그라운드, lane = 주로 갱신하는 테이블)
+                MigrationStep.everyBoot("confirm-non-member-pending-bookings", "비회원 대기 예약 확정",
+                        this::confirmNonMemberPendingBookings).async("bookings"),
+                MigrationStep.everyBoot("convert-trial-member-bookings", "체험 회원 예약 비회원 전환",
+                        this::convertTrialMemberBookingsToNonMember).async("bookings"),
+                // 꺼져 있던 동안 끝난 확정 예약 완료 처리 (이후는 BookingStatusTransitionService가 주기 실행)
+                MigrationStep.everyBoot("booking-auto-complete", "종료된 확정 예약 자동 완료",
+                        () -> bookingStatusTransitionService.completePastBookings()).async("bookings"),
+                // 체크인 대기 표 최초 채우기 (이후는 커밋 후 리스너가 유지, 어긋나면 재구축 API)
+                MigrationStep.once("pending-checkins-backfill", 1, "체크인 대기(pending_checkins) 채우기",
+                        () -> pendingCheckInService.rebuildAll()).async("bookings"),
+                // 쪽지 스레드 요약 최초 채우기 (이후는 쪽지 저장·읽음 트랜잭션이 유지, 어긋나면 재구축 API)
+                MigrationStep.once("desk-thread-summary-backfill", 1, "쪽지 스레드 요약(desk_thread_summary) 채우기",
+                        () -> deskThreadSummaryService.rebuildAll()).async("member_desk_messages"),
+                MigrationStep.everyBoot("member-products-coach-backfill", "이용권 코치 NULL 백필",
+                        this::backfillMemberProductCoaches).async("member_products"),
+                // 첫 시작 이후 생긴 누락분도 보정하므로 매번 실행 (대상 이용권을 쿼리 한 번으로 찾으므로 가벼움)
+                MigrationStep.everyBoot("create-missing-payments", "누락된 결제(Payment) 자동 생성",
+                        this::createMissingPayments).async("payments"),
+                MigrationStep.everyBoot("clear-legacy-package-items", "레거시 package_items_remaining 정리",
+                        this::clearLegacyPackageItemsRemaining).async("member_products"),
+                MigrationStep.everyBoot("count-pass-remaining-sync", "횟수권(COUNT_PASS) remaining_count 동기화",
+                        this::syncMemberProductRemainingCountFromEndedBookings).async("member_products"),
+                // 꺼져 있던 동안 지난 날짜 경계 처리 + 만료 감시 목록 채우기 (잔여 동기화 뒤, 이후는 매일 0시 예약 실행)
+                MigrationStep.everyBoot("pass-expiry-day-boundary", "이용권 만료·소진 처리 및 만료 감시 목록 재구축",
+                        () -> passExpiryService.runDayBoundary()).async("member_products")
+        );
+    }
 
-            try {
-                logger.info("애플리케이션 시작 시 수치별 코치 메모(JSON) 컬럼 마이그레이션 실행");
-                migrateCoachMemoStatsColumn();
-                logger.info("수치별 코치 메모 컬럼 마이그레이션 완료");
-            } catch (Exception e) {
-                logger.warn("수치별 코치 메모 컬럼 마이그레이션 중 오류 (무시): {}", e.getMessage());
-            }
+    private void runMigrationSteps() {
+        long started = System.currentTimeMillis();
+        boolean ledgerAvailable = true;
+        try {
+            migrationLedger.ensureTable();
+        } catch (Exception e) {
+            ledgerAvailable = false;
+            logger.warn("마이그레이션 원장 테이블 준비 실패 - 모든 단계를 실행합니다: {}", e.getMessage());
+        }
 
-            try {
-                logger.info("애플리케이션 시작 시 members 데스크 쪽지 스레드 잠금 PIN 컬럼 마이그레이션 실행");
-                migrateMembersDeskThreadLockColumn();
-                logger.info("members desk_thread_lock_pin_hash 컬럼 마이그레이션 완료");
-            } catch (Exception e) {
-                logger.warn("members desk_thread_lock_pin_hash 마이그레이션 중 오류 (무시): {}", e.getMessage());
-            }
+        Map<String, List<MigrationStep>> asyncLanes = new LinkedHashMap<>();
+        int asyncCount = 0;
+        int ran = 0;
+        int skipped = 0;
+        for (MigrationStep step : migrationSteps()) {
+            if (ledgerAvailable && step.getMode() == MigrationStep.Mode.ONCE
+                    && migrationLedger.isDone(step.getId(), step.getVersion())) {
+                skipped++;
+                continue;
+            }
+            if (step.isAsync()) {
+                asyncLanes.computeIfAbsent(step.getAsyncLane(), k -> new ArrayList<>()).add(step);
+                asyncCount++;
+                continue;
+            }
+            runStep(step, ledgerAvailable);
+            ran++;
+        }
+        logger.info("시작 마이그레이션 동기 단계 완료: 실행 {}개, 완료 기록으로 건너뜀 {}개, 백그라운드 {}개, {}ms",
+                ran, skipped, asyncCount, System.currentTimeMillis() - started);
 
-            try {
-                logger.info("애플리케이션 시작 시 members.desk_thread_cleared_at 컬럼 마이그레이션 실행");
-                migrateMembersDeskThreadClearedAtColumn();
-                logger.info("members desk_thread_cleared_at 컬럼 마이그레이션 완료");
-            } catch (Exception e) {
-                logger.warn("members desk_thread_cleared_at 마이그레이션 중 오류 (무시): {}", e.getMessage());
-            }
+        if (asyncLanes.isEmpty()) {
+            return;
+        }
+        final boolean ledgerForAsync = ledgerAvailable;
+        // lane은 공용 풀에서 최대 REPAIR_THREADS개씩 (풀 종료는 Spring이 맡음)
+        Executor repairExecutor = new BoundedExecutor(taskExecutor, REPAIR_THREADS, "db-repair");
+        for (List<MigrationStep> lane : asyncLanes.values()) {
+            repairExecutor.execute(() -> {
+                for (MigrationStep step : lane) {
+                    runStep(step, ledgerForAsync);
+                }
+            });
+        }
+    }
 
-            try {
-                logger.info("애플리케이션 시작 시 settings 회비 입금 전용계좌 컬럼 마이그레이션 실행");
-                migrateSettingsMembershipDuesColumns();
-                logger.info("settings 회비 입금 전용계좌 컬럼 마이그레이션 완료");
-            } catch (Exception e) {
-                logger.warn("settings 회비 입금 전용계좌 컬럼 마이그레이션 중 오류 (무시): {}", e.getMessage());
+    private void runStep(MigrationStep step, boolean ledgerAvailable) {
+        long started = System.currentTimeMillis();
+        try {
+            logger.info("마이그레이션 단계 실행: {} ({})", step.getId(), step.getDescription());
+            step.getAction().run();
+            long elapsed = System.currentTimeMillis() - started;
+            logger.info("마이그레이션 단계 완료: {} - {}ms", step.getId(), elapsed);
+            if (ledgerAvailable) {
+                migrationLedger.record(step.getId(), step.getVersion(), MigrationLedger.STATUS_DONE, elapsed, null);
             }
-
-            try {
-                logger.info("애플리케이션 시작 시 settings 회원 쪽지함 잠금 PIN 컬럼 마이그레이션 실행");
-                migrateSettingsDeskInboxLockColumn();
-                logger.info("settings 회원 쪽지함 잠금 PIN 컬럼 마이그레이션 완료");
-            } catch (Exception e) {
-                logger.warn("settings desk_inbox_lock_pin_hash 마이그레이션 중 오류 (무시): {}", e.getMessage());
+        } catch (Exception e) {
+            long elapsed = System.currentTimeMillis() - started;
+            if (step.getMode() == MigrationStep.Mode.ONCE) {
+                logger.warn("{} 실패 - 다음 시작 때 다시 실행: {}", step.getDescription(), e.getMessage());
+            } else {
+                logger.warn("{} 중 오류 (무시): {}", step.getDescription(), e.getMessage());
             }
-
-            try {
-                logger.info("애플리케이션 시작 시 settings.setting_key 컬럼 마이그레이션 실행");
-                migrateSettingsSettingKeyColumn();
-                logger.info("settings.setting_key 마이그레이션 완료");
-            } catch (Exception e) {
-                logger.warn("settings.setting_key 마이그레이션 중 오류 (무시): {}", e.getMessage());
+            if (ledgerAvailable) {
+                migrationLedger.record(step.getId(), step.getVersion(), MigrationLedger.STATUS_FAILED, elapsed, e.getMessage());
             }
+        }
+    }
 
-            try {
-                logger.info("애플리케이션 시작 시 announcements.visible_to_members 컬럼 마이그레이션 실행");
-                migrateAnnouncementsVisibleToMembersColumn();
-                logger.info("announcements.visible_to_members 컬럼 마이그레이션 완료");
-            } catch (Exception e) {
-                logger.warn("announcements.visible_to_members 마이그레이션 중 오류 (무시): {}", e.getMessage());
-            }
+    /**
+     * 여러 부분으로 된 단계: 부분마다 계속 진행한 뒤, 실패한 부분이 있으면 모아서 던져 원장에 FAILED로 남긴다.
+     */
+    private static void throwIfAnyFailed(List<String> failures) {
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException(String.join("; ", failures));
+        }
+    }
 
-            try {
-                logger.info("애플리케이션 시작 시 announcements.hide_from_staff_feed 컬럼 마이그레이션 실행");
-                migrateAnnouncementsHideFromStaffFeedColumn();
-                logger.info("announcements.hide_from_staff_feed 컬럼 마이그레이션 완료");
-            } catch (Exception e) {
-                logger.warn("announcements.hide_from_staff_feed 마이그레이션 중 오류 (무시): {}", e.getMessage());
-            }
+    /** 비회원 대기 예약 → 확정으로 일괄 수정 (체크인 없이 자동 승인) */
+    private void confirmNonMemberPendingBookings() {
+        int updated = jdbcTemplate.update("UPDATE bookings SET status = 'CONFIRMED' WHERE member_id IS NULL AND status = 'PENDING'");
+        if (updated > 0) {
+            logger.info("비회원 대기 예약을 확정으로 일괄 수정: {}건", updated);
+        }
+    }
 
-            try {
-                logger.info("애플리케이션 시작 시 member_desk_messages 테이블 마이그레이션 실행");
-                migrateMemberDeskMessagesTable();
-                logger.info("member_desk_messages 테이블 마이그레이션 완료");
-            } catch (Exception e) {
-                logger.warn("member_desk_messages 마이그레이션 중 오류 (무시): {}", e.getMessage());
-            }
+    /** 회원으로 잘못 저장된 '체험' 예약 → 비회원으로 전환 (체크인 목록에서 제거) */
+    private void convertTrialMemberBookingsToNonMember() {
+        int converted = jdbcTemplate.update(
+            "UPDATE bookings b INNER JOIN members m ON b.member_id = m.id " +
+            "SET b.member_id = NULL, b.non_member_name = m.name, b.status = 'CONFIRMED' " +
+            "WHERE m.name LIKE '%체험%'"
+        );
+        if (converted > 0) {
+            logger.info("체험 회원 예약을 비회원으로 전환(자동 체크인 적용): {}건", converted);
+            facilityOccupancyIndex.invalidateAll();
+            memberCalendarService.invalidateAll();
+        }
+    }
 
-            try {
-                logger.info("애플리케이션 시작 시 calendar_day_marks 테이블 마이그레이션 실행");
-                migrateCalendarDayMarksTable();
-                logger.info("calendar_day_marks 테이블 마이그레이션 완료");
-            } catch (Exception e) {
-                logger.warn("calendar_day_marks 마이그레이션 중 오류 (무시): {}", e.getMessage());
-            }
+    /** 이용권 코치 NULL 백필: 구매 시 이용권별 코치가 기획 상 필수이므로, 레거시 NULL은 회원·상품 순으로 보정 */
+    private void backfillMemberProductCoaches() {
+        int fromMember = jdbcTemplate.update(
+                "UPDATE MEMBER_PRODUCTS SET COACH_ID = "
+                        + "(SELECT M.COACH_ID FROM MEMBERS M WHERE M.ID = MEMBER_PRODUCTS.MEMBER_ID) "
+                        + "WHERE COACH_ID IS NULL "
+                        + "AND EXISTS (SELECT 1 FROM MEMBERS M2 WHERE M2.ID = MEMBER_PRODUCTS.MEMBER_ID AND M2.COACH_ID IS NOT NULL)");
+        if (fromMember > 0) {
+            logger.info("이용권 코치 백필(회원 담당 코치): {}건", fromMember);
+        }
+        int fromProduct = jdbcTemplate.update(
+                "UPDATE MEMBER_PRODUCTS SET COACH_ID = "
+                        + "(SELECT P.COACH_ID FROM PRODUCTS P WHERE P.ID = MEMBER_PRODUCTS.PRODUCT_ID) "
+                        + "WHERE COACH_ID IS NULL "
+                        + "AND EXISTS (SELECT 1 FROM PRODUCTS P2 WHERE P2.ID = MEMBER_PRODUCTS.PRODUCT_ID AND P2.COACH_ID IS NOT NULL)");
+        if (fromProduct > 0) {
+            logger.info("이용권 코치 백필(상품 기본 코치): {}건", fromProduct);
+        }
+    }
 
-            try {
-                logger.info("애플리케이션 시작 시 횟수권(COUNT_PASS) remaining_count 동기화 실행");
-                syncMemberProductRemainingCountFromEndedBookings();
-                logger.info("횟수권 remaining_count 동기화 완료");
-            } catch (Exception e) {
-                logger.warn("횟수권 remaining_count 동기화 중 오류 (무시): {}", e.getMessage());
-            }
-            
-            migrationExecuted = true;
+    /**
+     * 레거시 패키지 데이터 정리: TEAM_PACKAGE를 더 이상 사용하지 않는 운영 방식이면
+     * COUNT_PASS 등 일반 이용권에 잘못 남아있는 package_items_remaining을 비워 잔여/표시 불일치 방지.
+     * 체크인과 동시에 돌 수 있으므로 version을 올려 먼저 읽어 둔 엔티티의 저장이 정리 값을 덮어쓰지 못하게 한다
+     */
+    private void clearLegacyPackageItemsRemaining() {
+        int cleared = 0;
+        try {
+            cleared = jdbcTemplate.update(
+                "UPDATE member_products mp " +
+                "JOIN products p ON p.id = mp.product_id " +
+                "SET mp.package_items_remaining = NULL, mp.version = COALESCE(mp.version, 0) + 1 " +
+                "WHERE mp.package_items_remaining IS NOT NULL " +
+                "  AND TRIM(mp.package_items_remaining) <> '' " +
+                "  AND (p.type IS NULL OR p.type <> 'TEAM_PACKAGE') " +
+                "  AND (mp.deleted_at IS NULL)"
+            );
+        } catch (Exception e) {
+            logger.debug("package_items_remaining 정리 JOIN UPDATE 실패(무시): {}", e.getMessage());
+        }
+        if (cleared > 0) {
+            logger.info("레거시 package_items_remaining 정리 완료: {}건", cleared);
         }
     }
 
@@ -480,6 +462,7 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
      * 상품별 코치 배정 기능을 위한 컬럼 추가
      */
     private void migrateProductsTableCoachColumn() {
+        List<String> failures = new ArrayList<>();
         try {
             // Products 테이블 존재 여부 확인
             List<Map<String, Object>> tables = jdbcTemplate.queryForList(
@@ -514,7 +497,7 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
                         }
                     } catch (Exception e) {
                         logger.warn("Products 테이블에 coach_id 컬럼 추가 실패: {}", e.getMessage());
-                        // 컬럼이 이미 존재하거나 다른 이유로 실패할 수 있음
+                        failures.add("products.coach_id: " + e.getMessage());
                     }
                 } else {
                     logger.debug("Products 테이블에 coach_id 컬럼이 이미 존재합니다.");
@@ -524,7 +507,7 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
             }
         } catch (Exception e) {
             logger.warn("Products 테이블 coach_id 컬럼 마이그레이션 중 오류: {}", e.getMessage());
-            // 마이그레이션 실패해도 애플리케이션은 계속 실행되도록 함
+            failures.add("products.coach_id: " + e.getMessage());
         }
 
         // members 테이블에 pitcher_breaking_ball(변화구) 컬럼 추가
@@ -544,6 +527,7 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
             }
         } catch (Exception e) {
             logger.warn("Members 테이블 pitcher_breaking_ball 컬럼 마이그레이션 중 오류: {}", e.getMessage());
+            failures.add("members.pitcher_breaking_ball: " + e.getMessage());
         }
 
         // member_products 테이블에 ended_at 컬럼 추가 (이용권 종료 시각, 종료 배지 3일 유지 규칙용)
@@ -563,6 +547,7 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
             }
         } catch (Exception e) {
             logger.warn("member_products ended_at 컬럼 마이그레이션 중 오류: {}", e.getMessage());
+            failures.add("member_products.ended_at: " + e.getMessage());
         }
 
         // member_products 소프트 삭제 컬럼 (결제·히스토리 보존)
@@ -590,6 +575,7 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
             }
         } catch (Exception e) {
             logger.warn("member_products deleted_at/deleted_by 컬럼 마이그레이션 중 오류: {}", e.getMessage());
+            failures.add("member_products.deleted_at/deleted_by: " + e.getMessage());
         }
 
         // members 테이블에 수비 순발력 컬럼 추가
@@ -609,6 +595,7 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
             }
         } catch (Exception e) {
             logger.warn("Members 테이블 defense_quickness 컬럼 마이그레이션 중 오류: {}", e.getMessage());
+            failures.add("members.defense_quickness: " + e.getMessage());
         }
 
         // members 테이블에 포수 기록 컬럼 추가
@@ -630,8 +617,10 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
                 }
             } catch (Exception e) {
                 logger.warn("Members 테이블 {} 컬럼 마이그레이션 중 오류: {}", col, e.getMessage());
+                failures.add("members." + col + ": " + e.getMessage());
             }
         }
+        throwIfAnyFailed(failures);
     }
 
     /**
@@ -669,6 +658,8 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
                 try {
                     // bookings 테이블의 facility_id를 NULL로 설정
                     jdbcTemplate.update("UPDATE bookings SET facility_id = NULL");
+                    facilityOccupancyIndex.invalidateAll();
+                    memberCalendarService.invalidateAll();
                     // 시설 삭제
                     facilityRepository.deleteAll();
                     // ID 시퀀스 리셋
@@ -788,6 +779,7 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
      * 보호자 정보 필드를 수강생 정보 필드로 용도 변경
      */
     private void migrateMembersTableColumnNames() {
+        List<String> failures = new ArrayList<>();
         try {
             // Members 테이블 존재 여부 확인
             List<Map<String, Object>> tables = jdbcTemplate.queryForList(
@@ -823,6 +815,7 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
                             logger.info("Members 테이블의 guardian_name 컬럼을 student_name으로 변경 완료 (소문자)");
                         } catch (Exception e2) {
                             logger.warn("guardian_name 컬럼명 변경 실패: {} / {}", e.getMessage(), e2.getMessage());
+                            failures.add("members.guardian_name: " + e2.getMessage());
                         }
                     }
                 } else if (!studentNameColumns.isEmpty()) {
@@ -858,6 +851,7 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
                             logger.info("Members 테이블의 guardian_phone 컬럼을 student_phone으로 변경 완료 (소문자)");
                         } catch (Exception e2) {
                             logger.warn("guardian_phone 컬럼명 변경 실패: {} / {}", e.getMessage(), e2.getMessage());
+                            failures.add("members.guardian_phone: " + e2.getMessage());
                         }
                     }
                 } else if (!studentPhoneColumns.isEmpty()) {
@@ -870,8 +864,9 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
             }
         } catch (Exception e) {
             logger.warn("Members 테이블 컬럼명 마이그레이션 중 오류: {}", e.getMessage());
-            // 마이그레이션 실패해도 애플리케이션은 계속 실행되도록 함
+            failures.add("members: " + e.getMessage());
         }
+        throwIfAnyFailed(failures);
     }
     
     private void removeAnnouncementsCheckConstraints() {
@@ -939,127 +934,72 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
             int totalSkipped = 0;
             int totalErrors = 0;
             
-            // 모든 회원 조회
-            List<Member> allMembers = memberRepository.findAll();
-            logger.info("총 {}명의 회원에 대해 누락된 결제 확인 시작", allMembers.size());
+            // 대상 이용권을 한 번에 조회 (회원별 이용권·상품·결제를 건마다 조회하지 않음)
+            List<MemberProduct> candidates = memberProductRepository.findMissingPaymentCandidates();
+            logger.info("결제가 없는 이용권 {}건 확인", candidates.size());
             
-            for (Member member : allMembers) {
+            // 같은 회원·상품의 이용권이 여러 개여도 결제는 하나만 생성 (기존 동작과 동일)
+            java.util.Set<String> createdPairs = new java.util.HashSet<>();
+            for (MemberProduct memberProduct : candidates) {
                 try {
-                    // 회원의 모든 MemberProduct 조회
-                    List<MemberProduct> memberProducts = memberProductRepository.findByMemberId(member.getId());
+                    Member member = memberProduct.getMember();
+                    Product product = memberProduct.getProduct();
+                    Long productId = product.getId();
+                    if (!createdPairs.add(member.getId() + ":" + productId)) {
+                        totalSkipped++;
+                        continue;
+                    }
+                    
+                    // 결제 생성
+                    Payment payment = new Payment();
+                    payment.setMember(member);
+                    payment.setProduct(product);
+                    payment.setMemberProduct(memberProduct);
+                    payment.setAmount(product.getPrice());
+                    payment.setPaymentMethod(com.afbscenter.constants.PaymentDefaults.getDefaultPaymentMethod());
+                    payment.setStatus(com.afbscenter.constants.PaymentDefaults.getDefaultPaymentStatus());
+                    payment.setCategory(com.afbscenter.constants.PaymentDefaults.getDefaultPaymentCategory());
+                    String productName = product.getName() != null ? 
+                        product.getName() : "상품 ID: " + productId;
+                    payment.setMemo("상품 할당 (자동 생성): " + productName);
+                    
+                    // paidAt과 createdAt 설정
+                    LocalDateTime purchaseDate = memberProduct.getPurchaseDate();
+                    if (purchaseDate == null) {
+                        purchaseDate = LocalDateTime.now();
+                    }
+                    payment.setPaidAt(purchaseDate);
+                    payment.setCreatedAt(LocalDateTime.now());
+                    
+                    // Payment 저장
+                    Payment savedPayment = paymentRepository.save(payment);
+                    totalCreated++;
                     
-                    for (MemberProduct memberProduct : memberProducts) {
+                    // 이용권 구매/종료 이력(충전) 저장 - 결제 내역과 동일하게 처리
+                    if (product.getType() == Product.ProductType.COUNT_PASS) {
                         try {
-                            // Product 정보 확인 (Lazy Loading 문제 해결을 위해 명시적으로 조회)
-                            Product product = null;
-                            try {
-                                // MemberProduct에서 product_id를 가져와서 직접 조회
-                                Long productId = null;
-                                try {
-                                    // 먼저 프록시로 접근 시도
-                                    Product proxyProduct = memberProduct.getProduct();
-                                    if (proxyProduct != null) {
-                                        productId = proxyProduct.getId();
-                                    }
-                                } catch (Exception e) {
-                                    // 프록시 접근 실패 시 product_id를 직접 조회
-                                    // MemberProduct의 product_id 컬럼을 직접 읽기
-                                    logger.debug("Product 프록시 접근 실패, 직접 조회 시도: MemberProduct ID={}", 
-                                        memberProduct.getId());
-                                }
-                                
-                                // productId가 없으면 건너뜀
-                                if (productId == null) {
-                                    continue;
-                                }
-                                
-                                // Product를 명시적으로 조회
-                                product = productRepository.findById(productId).orElse(null);
-                                if (product == null) {
-                                    logger.debug("Product를 찾을 수 없음: Product ID={}, MemberProduct ID={}", 
-                                        productId, memberProduct.getId());
-                                    totalErrors++;
-                                    continue;
-                                }
-                            } catch (Exception e) {
-                                logger.debug("Product 조회 실패: MemberProduct ID={}, 오류: {}", 
-                                    memberProduct.getId(), e.getMessage());
-                                totalErrors++;
-                                continue;
-                            }
-                            
-                            if (product == null || product.getPrice() == null || product.getPrice() <= 0) {
-                                continue;
-                            }
-                            
-                            Long productId = product.getId();
-                            
-                            // 이미 결제가 있는지 확인
-                            List<Payment> existingPayments = paymentRepository.findActiveProductPaymentsByMemberAndProduct(
-                                member.getId(), productId);
-                            
-                            if (!existingPayments.isEmpty()) {
-                                // 이미 결제가 있으면 건너뜀
-                                totalSkipped++;
-                                continue;
-                            }
-                            
-                            // 결제 생성
-                            Payment payment = new Payment();
-                            payment.setMember(member);
-                            payment.setProduct(product);
-                            payment.setMemberProduct(memberProduct);
-                            payment.setAmount(product.getPrice());
-                            payment.setPaymentMethod(com.afbscenter.constants.PaymentDefaults.getDefaultPaymentMethod());
-                            payment.setStatus(com.afbscenter.constants.PaymentDefaults.getDefaultPaymentStatus());
-                            payment.setCategory(com.afbscenter.constants.PaymentDefaults.getDefaultPaymentCategory());
-                            String productName = product.getName() != null ? 
-                                product.getName() : "상품 ID: " + productId;
-                            payment.setMemo("상품 할당 (자동 생성): " + productName);
-                            
-                            // paidAt과 createdAt 설정
-                            LocalDateTime purchaseDate = memberProduct.getPurchaseDate();
-                            if (purchaseDate == null) {
-                                purchaseDate = LocalDateTime.now();
-                            }
-                            payment.setPaidAt(purchaseDate);
-                            payment.setCreatedAt(LocalDateTime.now());
-                            
-                            // Payment 저장
-                            Payment savedPayment = paymentRepository.save(payment);
-                            paymentRepository.flush();
-                            totalCreated++;
-                            
-                            // 이용권 구매/종료 이력(충전) 저장 - 결제 내역과 동일하게 처리
-                            if (product.getType() == Product.ProductType.COUNT_PASS) {
-                                try {
-                                    Integer afterRemaining = memberProduct.getRemainingCount() != null ? memberProduct.getRemainingCount() : 0;
-                                    Integer totalCount = memberProduct.getTotalCount() != null ? memberProduct.getTotalCount() : (product.getUsageCount() != null ? product.getUsageCount() : 0);
-                                    MemberProductHistory history = new MemberProductHistory();
-                                    history.setMemberProduct(memberProduct);
-                                    history.setMember(member);
-                                    history.setPayment(savedPayment);
-                                    history.setTransactionDate(LocalDateTime.now());
-                                    history.setType(MemberProductHistory.TransactionType.CHARGE);
-                                    history.setChangeAmount(totalCount != null ? totalCount : 0);
-                                    history.setRemainingCountAfter(afterRemaining);
-                                    history.setDescription("상품 할당 (자동 생성): " + productName);
-                                    memberProductHistoryRepository.save(history);
-                                } catch (Exception histEx) {
-                                    logger.debug("이용권 이력 저장 실패 (무시): {}", histEx.getMessage());
-                                }
-                            }
-                            
-                            logger.debug("누락된 결제 생성 완료: Payment ID={}, 회원 ID={}, 상품 ID={}, 금액={}", 
-                                savedPayment.getId(), member.getId(), productId, product.getPrice());
-                        } catch (Exception e) {
-                            logger.debug("MemberProduct 처리 중 오류: MemberProduct ID={}, 오류: {}", 
-                                memberProduct.getId(), e.getMessage());
-                            totalErrors++;
+                            Integer afterRemaining = memberProduct.getRemainingCount() != null ? memberProduct.getRemainingCount() : 0;
+                            Integer totalCount = memberProduct.getTotalCount() != null ? memberProduct.getTotalCount() : (product.getUsageCount() != null ? product.getUsageCount() : 0);
+                            MemberProductHistory history = new MemberProductHistory();
+                            history.setMemberProduct(memberProduct);
+                            history.setMember(member);
+                            history.setPayment(savedPayment);
+                            history.setTransactionDate(LocalDateTime.now());
+                            history.setType(MemberProductHistory.TransactionType.CHARGE);
+                            history.setChangeAmount(totalCount != null ? totalCount : 0);
+                            history.setRemainingCountAfter(afterRemaining);
+                            history.setDescription("상품 할당 (자동 생성): " + productName);
+                            memberProductHistoryRepository.save(history);
+                        } catch (Exception histEx) {
+                            logger.debug("이용권 이력 저장 실패 (무시): {}", histEx.getMessage());
                         }
                     }
+                    
+                    logger.debug("누락된 결제 생성 완료: Payment ID={}, 회원 ID={}, 상품 ID={}, 금액={}", 
+                        savedPayment.getId(), member.getId(), productId, product.getPrice());
                 } catch (Exception e) {
-                    logger.debug("회원 ID={}의 결제 생성 중 오류: {}", member.getId(), e.getMessage());
+                    logger.debug("MemberProduct 처리 중 오류: MemberProduct ID={}, 오류: {}", 
+                        memberProduct.getId(), e.getMessage());
                     totalErrors++;
                 }
             }
@@ -1075,45 +1015,25 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
     /**
      * 횟수권(COUNT_PASS) 이용권의 remaining_count를 '이미 종료된 예약 수' 기준으로 동기화.
      * 같은 이용권(member_product_id) + 같은 회원·상품 기준 둘 다 반영해 사용 횟수를 세고, 잔여를 맞춤.
+     * 이용권마다 count 쿼리 두 번씩 돌리던 방식 대신 MERGE 한 번으로 계산·갱신.
+     * 이미 더 적게 남은 값(수동 보정 등)이 있으면 덮어쓰지 않음. 사용만 늘어난 경우에만 감소 반영.
+     * 바꾼 행은 version도 올린다 (MemberProductRepository 일괄 UPDATE와 같은 규칙)
      */
-    @Transactional(readOnly = false)
     private void syncMemberProductRemainingCountFromEndedBookings() {
-        List<MemberProduct> list = memberProductRepository.findAllCountPassWithProductAndMember();
         LocalDateTime now = LocalDateTime.now();
-        int updated = 0;
-        for (MemberProduct mp : list) {
-            try {
-                Integer totalCount = mp.getTotalCount();
-                if (totalCount == null && mp.getProduct() != null && mp.getProduct().getUsageCount() != null) {
-                    totalCount = mp.getProduct().getUsageCount();
-                }
-                if (totalCount == null || totalCount <= 0) continue;
-                long byMp = bookingRepository.countByMemberProductEndedBefore(mp.getId(), now);
-                long byMemberProduct = 0;
-                if (mp.getMember() != null && mp.getProduct() != null) {
-                    byMemberProduct = bookingRepository.countByMemberIdAndProductIdEndedBefore(
-                            mp.getMember().getId(), mp.getProduct().getId(), now);
-                }
-                long endedCount = Math.max(byMp, byMemberProduct);
-                int usedCount = (int) Math.min(endedCount, totalCount);
-                int newRemaining = Math.max(0, totalCount - usedCount);
-                Integer currentRemaining = mp.getRemainingCount();
-                // 이미 더 적게 남은 값(수동 보정 등)이 있으면 덮어쓰지 않음. 사용만 늘어난 경우에만 감소 반영
-                if (currentRemaining != null && newRemaining > currentRemaining) {
-                    continue; // 이력 없이 N회부터 쓴 경우 등 수동 설정 유지
-                }
-                if (!Objects.equals(currentRemaining, newRemaining)) {
-                    int oldRemaining = currentRemaining != null ? currentRemaining : -1;
-                    mp.setRemainingCount(newRemaining);
-                    memberProductRepository.save(mp);
-                    updated++;
-                    logger.info("remaining_count 동기화: MemberProduct ID={}, totalCount={}, 사용={}(byMp={}, byMemberProduct={}), remaining {} -> {}",
-                            mp.getId(), totalCount, usedCount, byMp, byMemberProduct, oldRemaining, newRemaining);
-                }
-            } catch (Exception e) {
-                logger.debug("MemberProduct ID={} 동기화 중 오류 (무시): {}", mp.getId(), e.getMessage());
-            }
-        }
+        int updated = jdbcTemplate.update(
+                "MERGE INTO member_products t USING ("
+                        + "SELECT x.id, GREATEST(0, x.total - LEAST(GREATEST(x.by_mp, x.by_member_product), x.total)) AS new_remaining, x.remaining_count "
+                        + "FROM (SELECT mp.id, mp.remaining_count, COALESCE(mp.total_count, p.usage_count) AS total, "
+                        + "(SELECT COUNT(*) FROM bookings b WHERE b.member_product_id = mp.id AND b.end_time < ?) AS by_mp, "
+                        + "(SELECT COUNT(*) FROM bookings b2 JOIN member_products mp2 ON mp2.id = b2.member_product_id "
+                        + "WHERE mp2.member_id = mp.member_id AND mp2.product_id = mp.product_id AND b2.end_time < ?) AS by_member_product "
+                        + "FROM member_products mp JOIN products p ON p.id = mp.product_id "
+                        + "WHERE p.type = 'COUNT_PASS' AND mp.deleted_at IS NULL AND mp.member_id IS NOT NULL) x "
+                        + "WHERE x.total > 0"
+                        + ") s ON (t.id = s.id AND (s.remaining_count IS NULL OR s.new_remaining < s.remaining_count)) "
+                        + "WHEN MATCHED THEN UPDATE SET t.remaining_count = s.new_remaining, t.version = COALESCE(t.version, 0) + 1",
+                now, now);
         if (updated > 0) {
             logger.info("횟수권 remaining_count 동기화: {}건 수정됨", updated);
         }
@@ -1124,6 +1044,7 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
      * 회원가입 승인 기능을 위한 컬럼 추가
      */
     private void migrateUsersTableApprovedColumn() {
+        List<String> failures = new ArrayList<>();
         try {
             // Users 테이블 존재 여부 확인
             List<Map<String, Object>> tables = jdbcTemplate.queryForList(
@@ -1164,6 +1085,7 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
                             columnExists = true; // 컬럼이 존재하는 것으로 표시
                         } else {
                             logger.warn("Users 테이블에 approved 컬럼 추가 실패: {}", e.getMessage());
+                            failures.add("users.approved: " + e.getMessage());
                         }
                     }
                 }
@@ -1187,14 +1109,16 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
             }
         } catch (Exception e) {
             logger.warn("Users 테이블 approved 컬럼 마이그레이션 중 오류: {}", e.getMessage());
-            // 마이그레이션 실패해도 애플리케이션은 계속 실행되도록 함
+            failures.add("users.approved: " + e.getMessage());
         }
+        throwIfAnyFailed(failures);
     }
 
     /**
      * Users 테이블에 employee_code 컬럼 추가 및 기존 사용자 코드 백필
      */
     private void migrateUsersTableEmployeeCodeColumn() {
+        List<String> failures = new ArrayList<>();
         try {
             List<Map<String, Object>> tables = jdbcTemplate.queryForList(
                     "SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES WHERE UPPER(TABLE_NAME) = 'USERS'"
@@ -1226,6 +1150,7 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
                         logger.info("Users 테이블에 employee_code 컬럼이 이미 존재합니다. (중복 컬럼 오류 무시)");
                     } else {
                         logger.warn("Users 테이블 employee_code 컬럼 추가 실패: {}", e.getMessage());
+                        failures.add("users.employee_code: " + e.getMessage());
                     }
                 }
             }
@@ -1265,7 +1190,9 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
             }
         } catch (Exception e) {
             logger.warn("Users 테이블 employee_code 마이그레이션 중 오류: {}", e.getMessage());
+            failures.add("users.employee_code: " + e.getMessage());
         }
+        throwIfAnyFailed(failures);
     }
 
     /**
@@ -1279,6 +1206,7 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
             "attendances", "processed_by",
             "member_product_history", "processed_by"
         };
+        List<String> failures = new ArrayList<>();
         for (int i = 0; i < tableColumnPairs.length; i += 2) {
             String tableName = tableColumnPairs[i];
             String columnName = tableColumnPairs[i + 1];
@@ -1301,8 +1229,46 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
                 }
             } catch (Exception e) {
                 logger.warn("{} 테이블 {} 컬럼 마이그레이션 중 오류: {}", tableName, columnName, e.getMessage());
+                failures.add(tableName + "." + columnName + ": " + e.getMessage());
+            }
+        }
+        throwIfAnyFailed(failures);
+    }
+
+    /**
+     * 예약·출석·이용권·결제 조회 경로 인덱스 ({@link HotQueryIndexes#INDEXES}).
+     * 엔티티 @Index로 새 DB에는 Hibernate가 만들지만, 기존 H2 파일에 빠진 경우를 대비해 없는 것만 생성.
+     */
+    private void ensureHotQueryIndexes() {
+        int created = 0;
+        List<String> failures = new ArrayList<>();
+        for (HotQueryIndexes.IndexDef index : HotQueryIndexes.INDEXES) {
+            try {
+                List<Map<String, Object>> tables = jdbcTemplate.queryForList(
+                        "SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES WHERE UPPER(TABLE_NAME) = ?",
+                        index.getTable().toUpperCase());
+                if (tables.isEmpty()) {
+                    continue;
+                }
+                List<Map<String, Object>> existing = jdbcTemplate.queryForList(
+                        "SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE UPPER(INDEX_NAME) = ?",
+                        index.getName().toUpperCase());
+                if (!existing.isEmpty()) {
+                    continue;
+                }
+                jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + index.getName()
+                        + " ON " + index.getTable() + "(" + index.getColumns() + ")");
+                created++;
+                logger.info("인덱스 생성: {} ON {}({})", index.getName(), index.getTable(), index.getColumns());
+            } catch (Exception e) {
+                logger.warn("인덱스 {} 생성 실패: {}", index.getName(), e.getMessage());
+                failures.add(index.getName() + ": " + e.getMessage());
             }
         }
+        if (created > 0) {
+            logger.info("조회 경로 인덱스 {}개 생성 완료", created);
+        }
+        throwIfAnyFailed(failures);
     }
 
     /** 예약 출처(운영 vs 회원 웹) 컬럼 추가 */
@@ -1321,7 +1287,7 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
             }
             jdbcTemplate.update("UPDATE bookings SET booking_source = 'ADMIN' WHERE booking_source IS NULL");
         } catch (Exception e) {
-            logger.warn("migrateBookingSourceColumn: {}", e.getMessage());
+            throw new IllegalStateException("migrateBookingSourceColumn: " + e.getMessage(), e);
         }
     }
 
@@ -1353,13 +1319,14 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
                 logger.info("payments.member_product_id 백필: {}건", backfill);
             }
         } catch (Exception e) {
-            logger.warn("migratePaymentsMemberProductIdColumn: {}", e.getMessage());
+            throw new IllegalStateException("migratePaymentsMemberProductIdColumn: " + e.getMessage(), e);
         }
     }
 
     /** 분야별 코치 메모 컬럼 추가 (members) */
     private void migrateCoachMemoByFieldColumns() {
         String[] columns = {"coach_memo_pitcher", "coach_memo_batter", "coach_memo_defense", "coach_memo_catcher"};
+        List<String> failures = new ArrayList<>();
         for (String col : columns) {
             try {
                 List<Map<String, Object>> tables = jdbcTemplate.queryForList(
@@ -1375,8 +1342,10 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
                 }
             } catch (Exception e) {
                 logger.warn("members {} 컬럼 마이그레이션 중 오류: {}", col, e.getMessage());
+                failures.add("members." + col + ": " + e.getMessage());
             }
         }
+        throwIfAnyFailed(failures);
     }
 
     /** 예약 달력 공휴일·메모·빨간날 */
@@ -1397,7 +1366,7 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
                             + "CONSTRAINT uk_calendar_day_marks_date UNIQUE (mark_date))");
             logger.info("calendar_day_marks 테이블 생성 완료");
         } catch (Exception e) {
-            logger.warn("calendar_day_marks 테이블 마이그레이션 중 오류: {}", e.getMessage());
+            throw new IllegalStateException("calendar_day_marks 테이블 마이그레이션 중 오류: " + e.getMessage(), e);
         }
     }
 
@@ -1421,7 +1390,7 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
                             + "CONSTRAINT fk_mdm_member FOREIGN KEY (member_id) REFERENCES members(id))");
             logger.info("member_desk_messages 테이블 생성 완료");
         } catch (Exception e) {
-            logger.warn("member_desk_messages 테이블 마이그레이션 중 오류: {}", e.getMessage());
+            throw new IllegalStateException("member_desk_messages 테이블 마이그레이션 중 오류: " + e.getMessage(), e);
         }
     }
 
@@ -1440,7 +1409,7 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
                 logger.info("announcements 테이블에 visible_to_members 컬럼 추가 완료");
             }
         } catch (Exception e) {
-            logger.warn("announcements visible_to_members 컬럼 마이그레이션 중 오류: {}", e.getMessage());
+            throw new IllegalStateException("announcements visible_to_members 컬럼 마이그레이션 중 오류: " + e.getMessage(), e);
         }
     }
 
@@ -1459,7 +1428,7 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
                 logger.info("announcements 테이블에 hide_from_staff_feed 컬럼 추가 완료");
             }
         } catch (Exception e) {
-            logger.warn("announcements hide_from_staff_feed 컬럼 마이그레이션 중 오류: {}", e.getMessage());
+            throw new IllegalStateException("announcements hide_from_staff_feed 컬럼 마이그레이션 중 오류: " + e.getMessage(), e);
         }
     }
 
@@ -1484,7 +1453,7 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
                 logger.info("settings 테이블에 show_membership_dues_in_bell 컬럼 추가 완료");
             }
         } catch (Exception e) {
-            logger.warn("settings 회비 입금 컬럼 마이그레이션 중 오류: {}", e.getMessage());
+            throw new IllegalStateException("settings 회비 입금 컬럼 마이그레이션 중 오류: " + e.getMessage(), e);
         }
     }
 
@@ -1503,7 +1472,7 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
                 logger.info("settings 테이블에 desk_inbox_lock_pin_hash 컬럼 추가 완료");
             }
         } catch (Exception e) {
-            logger.warn("settings desk_inbox_lock_pin_hash 컬럼 마이그레이션 중 오류: {}", e.getMessage());
+            throw new IllegalStateException("settings desk_inbox_lock_pin_hash 컬럼 마이그레이션 중 오류: " + e.getMessage(), e);
         }
     }
 
@@ -1525,7 +1494,7 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
                 jdbcTemplate.update("UPDATE settings SET setting_key = 'main' WHERE setting_key IS NULL");
             }
         } catch (Exception e) {
-            logger.warn("settings setting_key 컬럼 마이그레이션 중 오류: {}", e.getMessage());
+            throw new IllegalStateException("settings setting_key 컬럼 마이그레이션 중 오류: " + e.getMessage(), e);
         }
     }
 
@@ -1539,7 +1508,7 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
                 logger.info("members 테이블에 coach_memo_stats 컬럼 추가 완료");
             }
         } catch (Exception e) {
-            logger.warn("coach_memo_stats 컬럼 마이그레이션 중 오류: {}", e.getMessage());
+            throw new IllegalStateException("coach_memo_stats 컬럼 마이그레이션 중 오류: " + e.getMessage(), e);
         }
     }
 
@@ -1554,7 +1523,7 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
                 logger.info("members 테이블에 desk_thread_lock_pin_hash 컬럼 추가 완료");
             }
         } catch (Exception e) {
-            logger.warn("desk_thread_lock_pin_hash 컬럼 마이그레이션 중 오류: {}", e.getMessage());
+            throw new IllegalStateException("desk_thread_lock_pin_hash 컬럼 마이그레이션 중 오류: " + e.getMessage(), e);
         }
     }
 
@@ -1569,7 +1538,22 @@ public class DatabaseMigration implements ApplicationListener<ApplicationReadyEv
                 logger.info("members 테이블에 desk_thread_cleared_at 컬럼 추가 완료");
             }
         } catch (Exception e) {
-            logger.warn("desk_thread_cleared_at 컬럼 마이그레이션 중 오류: {}", e.getMessage());
+            throw new IllegalStateException("desk_thread_cleared_at 컬럼 마이그레이션 중 오류: " + e.getMessage(), e);
+        }
+    }
+
+    /** 이용권 낙관적 잠금 버전 컬럼. 기존 행은 0으로 채움 (NULL이면 Hibernate가 버전을 올리지 못함) */
+    private void migrateMemberProductsVersionColumn() {
+        List<Map<String, Object>> existing = jdbcTemplate.queryForList(
+                "SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.COLUMNS WHERE UPPER(TABLE_NAME) = 'MEMBER_PRODUCTS' "
+                        + "AND UPPER(COLUMN_NAME) = 'VERSION'");
+        if (existing.isEmpty()) {
+            jdbcTemplate.execute("ALTER TABLE member_products ADD COLUMN version BIGINT DEFAULT 0");
+            logger.info("member_products 테이블에 version 컬럼 추가 완료");
+        }
+        int filled = jdbcTemplate.update("UPDATE member_products SET version = 0 WHERE version IS NULL");
+        if (filled > 0) {
+            logger.info("member_products.version 채움: {}건", filled);
         }
     }
 
@@ -0,0 +1,145 @@
+package com.afbscenter.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DB 연결 게이트: 동시에 커넥션을 잡을 수 있는 요청 수를 세마포어로 제한한다.
+ * <p>
+ * 가상 스레드 모드(spring.threads.virtual.enabled=true, Java 21 런타임)에서는 요청마다 스레드가 생겨 수천 개가
+ * 한꺼번에 커넥션 풀로 몰릴 수 있다. 풀 대기(잠금) 대신 여기서 공정 세마포어로 줄을 세우면 대기 중인 가상 스레드가
+ * 캐리어 스레드를 잡지 않고, 대기 시간을 넘기면 풀 타임아웃 전에 바로 실패한다.
+ * 플랫폼 스레드 모드(기본, 또는 Java 21 미만에서 켠 경우)에서는 Tomcat 스레드 수가 이미 상한이라 감싸지 않는다
+ * (db.connection-gate.enabled로 강제 가능).
+ */
+@Component
+public class DbConnectionGate implements BeanPostProcessor, EnvironmentAware {
+
+    private static final Logger logger = LoggerFactory.getLogger(DbConnectionGate.class);
+
+    /** Hikari 기본 풀 크기 */
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource) || bean instanceof GatedDataSource || !isEnabled()) {
+            return bean;
+        }
+        int permits = environment.getProperty("db.connection-gate.permits", Integer.class, 0);
+        if (permits <= 0) {
+            permits = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, DEFAULT_POOL_SIZE);
+        }
+        long waitMs = environment.getProperty("db.connection-gate.wait-ms", Long.class, 30000L);
+        logger.info("DB 연결 게이트 적용: bean={}, 동시 커넥션 {}개, 대기 {}ms", beanName, permits, waitMs);
+        return new GatedDataSource((DataSource) bean, permits, waitMs);
+    }
+
+    private boolean isEnabled() {
+        // Spring Boot와 같은 기준: 설정을 켜고 Java 21 이상에서 실행할 때만 실제로 가상 스레드
+        boolean virtualThreads = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)
+                && Runtime.version().feature() >= 21;
+        return environment.getProperty("db.connection-gate.enabled", Boolean.class, virtualThreads);
+    }
+
+    /**
+     * 커넥션을 얻기 전에 허가를 받고, 커넥션을 닫을 때 한 번만 반납하는 DataSource.
+     */
+    static final class GatedDataSource extends DelegatingDataSource {
+
+        private final Semaphore permits;
+        private final long waitMs;
+
+        GatedDataSource(DataSource target, int permits, long waitMs) {
+            super(target);
+            this.permits = new Semaphore(permits, true);
+            this.waitMs = waitMs;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            acquire();
+            try {
+                return gated(obtainTargetDataSource().getConnection());
+            } catch (SQLException | RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            acquire();
+            try {
+                return gated(obtainTargetDataSource().getConnection(username, password));
+            } catch (SQLException | RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        int availablePermits() {
+            return permits.availablePermits();
+        }
+
+        private void acquire() throws SQLException {
+            try {
+                if (!permits.tryAcquire(waitMs, TimeUnit.MILLISECONDS)) {
+                    throw new SQLTransientConnectionException("DB 연결 대기 시간 초과 (" + waitMs + "ms)");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLTransientConnectionException("DB 연결 대기 중 인터럽트", e);
+            }
+        }
+
+        private Connection gated(Connection target) {
+            AtomicBoolean released = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("close") && method.getParameterCount() == 0) {
+                            try {
+                                target.close();
+                            } finally {
+                                if (released.compareAndSet(false, true)) {
+                                    permits.release();
+                                }
+                            }
+                            return null;
+                        }
+                        if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+                            return proxy == args[0];
+                        }
+                        if (method.getName().equals("hashCode") && method.getParameterCount() == 0) {
+                            return System.identityHashCode(proxy);
+                        }
+                        try {
+                            return method.invoke(target, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.afbscenter.config;
+
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+
+/**
+ * 커밋된 엔티티 변경을 받는 Spring 빈 (읽기 모델·캐시·실시간 알림 갱신).
+ * {@link PostCommitDispatcher}가 Hibernate 커밋 후 이벤트를 {@link #handles}가 참인 빈에만 넘긴다. 롤백된 변경은 오지 않는다.
+ * 커밋한 요청 스레드에서 불리므로 무거운 일은 서비스 쪽 실행기로 넘기고 ID 수집 정도만 한다.
+ */
+public interface EntityCommitListener {
+
+    /** 이 엔티티 타입의 변경을 받을지 (Hibernate가 커밋 후 처리를 걸지 판단할 때도 쓰임) */
+    boolean handles(Class<?> entityType);
+
+    default void onInsert(PostInsertEvent event) {
+    }
+
+    default void onUpdate(PostUpdateEvent event) {
+    }
+
+    default void onDelete(PostDeleteEvent event) {
+    }
+}
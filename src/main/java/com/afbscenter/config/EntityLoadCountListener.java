@@ -0,0 +1,20 @@
+package com.afbscenter.config;
+
+import org.hibernate.Hibernate;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+
+/**
+ * Hibernate POST_LOAD 시 요청 범위({@link RequestSqlStats})에 엔티티 타입별 로드 수를 더한다.
+ * N+1 추적용: 예약 목록 한 번에 Booking·Member 로드가 몇 건인지 응답 헤더·예산 위반 로그로 본다.
+ * 요청 범위 밖 로드는 세지 않는다.
+ */
+public class EntityLoadCountListener implements PostLoadEventListener {
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        RequestSqlStats stats = RequestSqlStats.current();
+        if (stats == null || event.getEntity() == null) return;
+        stats.addEntityLoad(Hibernate.getClass(event.getEntity()).getSimpleName());
+    }
+}
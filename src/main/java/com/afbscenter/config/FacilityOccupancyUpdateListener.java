@@ -0,0 +1,51 @@
+package com.afbscenter.config;
+
+import com.afbscenter.model.Booking;
+import com.afbscenter.service.FacilityOccupancyIndex;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * 커밋 후 이벤트로 예약 변경을 {@link FacilityOccupancyIndex}에 반영한다.
+ * 커밋된 상태만 넘기므로 롤백된 예약은 인덱스에 들어가지 않는다.
+ * JDBC/JPQL 일괄 변경은 이벤트가 없으므로 해당 경로에서 인덱스를 비운다.
+ */
+@Component
+public class FacilityOccupancyUpdateListener implements EntityCommitListener {
+
+    private final FacilityOccupancyIndex occupancyIndex;
+
+    public FacilityOccupancyUpdateListener(FacilityOccupancyIndex occupancyIndex) {
+        this.occupancyIndex = occupancyIndex;
+    }
+
+    @Override
+    public boolean handles(Class<?> type) {
+        return type == Booking.class;
+    }
+
+    @Override
+    public void onInsert(PostInsertEvent event) {
+        apply(event.getEntity());
+    }
+
+    @Override
+    public void onUpdate(PostUpdateEvent event) {
+        apply(event.getEntity());
+    }
+
+    @Override
+    public void onDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Booking && event.getId() instanceof Long) {
+            occupancyIndex.removeCommitted((Long) event.getId());
+        }
+    }
+
+    private void apply(Object entity) {
+        if (entity instanceof Booking) {
+            occupancyIndex.applyCommitted((Booking) entity);
+        }
+    }
+}
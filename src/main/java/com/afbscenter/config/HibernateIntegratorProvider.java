@@ -0,0 +1,23 @@
+package com.afbscenter.config;
+
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+
+import java.util.List;
+
+/**
+ * Hibernate IntegratorProvider. {@link HibernateListenerConfig}가 만든 분배기를 넘겨
+ * {@link HibernateListenerIntegrator} 하나만 등록한다.
+ */
+public class HibernateIntegratorProvider implements IntegratorProvider {
+
+    private final PostCommitDispatcher postCommitDispatcher;
+
+    public HibernateIntegratorProvider(PostCommitDispatcher postCommitDispatcher) {
+        this.postCommitDispatcher = postCommitDispatcher;
+    }
+
+    @Override
+    public List<org.hibernate.integrator.spi.Integrator> getIntegrators() {
+        return List.of(new HibernateListenerIntegrator(postCommitDispatcher));
+    }
+}
@@ -0,0 +1,35 @@
+package com.afbscenter.config;
+
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.stream.Collectors;
+
+/**
+ * Hibernate 리스너와 Spring 빈 연결.
+ * - 세션 팩토리 설정에 IntegratorProvider 인스턴스를 넣어 {@link PostCommitDispatcher} 하나를 등록
+ * - 싱글턴 생성이 끝나면 {@link EntityCommitListener} 빈 전부를 분배기에 넘긴다 (리스너마다 static 참조를 두지 않음)
+ */
+@Configuration
+public class HibernateListenerConfig {
+
+    @Bean
+    public PostCommitDispatcher postCommitDispatcher() {
+        return new PostCommitDispatcher();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateIntegratorCustomizer(PostCommitDispatcher postCommitDispatcher) {
+        return properties -> properties.put(JpaSettings.INTEGRATOR_PROVIDER, new HibernateIntegratorProvider(postCommitDispatcher));
+    }
+
+    @Bean
+    public SmartInitializingSingleton entityCommitListenerBinding(PostCommitDispatcher postCommitDispatcher,
+                                                                  ObjectProvider<EntityCommitListener> listeners) {
+        return () -> postCommitDispatcher.setListeners(listeners.orderedStream().collect(Collectors.toList()));
+    }
+}
@@ -9,16 +9,24 @@ import org.hibernate.integrator.spi.Integrator;
 import org.hibernate.service.spi.SessionFactoryServiceRegistry;
 
 /**
- * Booking 엔티티가 ID로 로드될 때마다 로그를 남기는 리스너를 등록.
- * "bookings where id=?" N+1 추적용.
+ * Hibernate 리스너 등록: 요청별 엔티티 로드 계수(POST_LOAD)와 커밋 후 변경 분배기(insert/update/delete).
  */
-public class BookingLoadTraceIntegrator implements Integrator {
+public class HibernateListenerIntegrator implements Integrator {
+
+    private final PostCommitDispatcher postCommitDispatcher;
+
+    public HibernateListenerIntegrator(PostCommitDispatcher postCommitDispatcher) {
+        this.postCommitDispatcher = postCommitDispatcher;
+    }
 
     @Override
     public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
         SessionFactoryServiceRegistry registry = (SessionFactoryServiceRegistry) sessionFactory.getServiceRegistry();
         EventListenerRegistry eventListenerRegistry = registry.getService(EventListenerRegistry.class);
-        eventListenerRegistry.getEventListenerGroup(EventType.POST_LOAD).appendListener(new BookingLoadTraceListener());
+        eventListenerRegistry.getEventListenerGroup(EventType.POST_LOAD).appendListener(new EntityLoadCountListener());
+        eventListenerRegistry.getEventListenerGroup(EventType.POST_COMMIT_INSERT).appendListener(postCommitDispatcher);
+        eventListenerRegistry.getEventListenerGroup(EventType.POST_COMMIT_UPDATE).appendListener(postCommitDispatcher);
+        eventListenerRegistry.getEventListenerGroup(EventType.POST_COMMIT_DELETE).appendListener(postCommitDispatcher);
     }
 
     @Override
@@ -0,0 +1,125 @@
+package com.afbscenter.config;
+
+import java.util.List;
+
+/**
+ * 예약·출석·이용권·결제 조회 경로용 인덱스 목록과 점검용 대표 쿼리.
+ * - 인덱스 이름은 엔티티 {@code @Table(indexes = ...)}와 같게 유지 (새 DB는 Hibernate가, 기존 H2 파일은 {@link DatabaseMigration}이 생성)
+ * - 대표 쿼리는 저장소 JPQL과 같은 조건의 네이티브 SQL로, 인덱스 점검 API에서 EXPLAIN 대상이 된다
+ */
+public final class HotQueryIndexes {
+
+    private HotQueryIndexes() {
+    }
+
+    public static final class IndexDef {
+        private final String name;
+        private final String table;
+        private final String columns;
+
+        IndexDef(String name, String table, String columns) {
+            this.name = name;
+            this.table = table;
+            this.columns = columns;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getTable() {
+            return table;
+        }
+
+        public String getColumns() {
+            return columns;
+        }
+    }
+
+    public static final class HotQuery {
+        private final String name;
+        private final String source;
+        private final String sql;
+
+        HotQuery(String name, String source, String sql) {
+            this.name = name;
+            this.source = source;
+            this.sql = sql;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /** 같은 조건을 쓰는 저장소 메서드 */
+        public String getSource() {
+            return source;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+    }
+
+    public static final List<IndexDef> INDEXES = List.of(
+            // bookings: 기간 조회, 시설/회원 시간 겹침, 이용권별 회차, 상태별 목록
+            new IndexDef("idx_bookings_start_time", "bookings", "start_time"),
+            new IndexDef("idx_bookings_facility_time", "bookings", "facility_id, start_time, end_time"),
+            new IndexDef("idx_bookings_member_time", "bookings", "member_id, start_time, end_time"),
+            new IndexDef("idx_bookings_member_product_time", "bookings", "member_product_id, start_time"),
+            new IndexDef("idx_bookings_status_start", "bookings", "status, start_time"),
+            // attendances: 날짜별 체크인, 예약 연결, 미퇴실 조회
+            new IndexDef("idx_attendances_date_check_in", "attendances", "date, check_in_time"),
+            new IndexDef("idx_attendances_booking", "attendances", "booking_id"),
+            new IndexDef("idx_attendances_check_in", "attendances", "check_in_time"),
+            new IndexDef("idx_attendances_member_status", "attendances", "member_id, status"),
+            // member_products: 회원별/상태별 이용권
+            new IndexDef("idx_member_products_member_status", "member_products", "member_id, status"),
+            new IndexDef("idx_member_products_member_product", "member_products", "member_id, product_id"),
+            new IndexDef("idx_member_products_status_deleted", "member_products", "status, deleted_at"),
+            // payments: 엑셀 내보내기 키셋 페이지 (내림차순으로 읽고 LIMIT에서 멈추도록 방향까지 맞춤)
+            new IndexDef("idx_payments_paid_at_id", "payments", "paid_at DESC, id DESC")
+    );
+
+    public static final List<HotQuery> HOT_QUERIES = List.of(
+            new HotQuery("bookings_by_range", "BookingRepository.findByDateRange",
+                    "SELECT b.id FROM bookings b WHERE b.start_time >= TIMESTAMP '2026-01-01 00:00:00' "
+                            + "AND b.start_time <= TIMESTAMP '2026-01-31 23:59:59' ORDER BY b.start_time"),
+            new HotQuery("bookings_facility_overlap", "BookingRepository.findOverlappingAtFacility",
+                    "SELECT b.id FROM bookings b WHERE b.facility_id = 1 AND b.status <> 'CANCELLED' "
+                            + "AND b.start_time < TIMESTAMP '2026-01-15 11:00:00' AND b.end_time > TIMESTAMP '2026-01-15 10:00:00'"),
+            new HotQuery("bookings_member_overlap", "BookingRepository.countMemberTimeOverlaps",
+                    "SELECT b.id FROM bookings b WHERE b.member_id = 1 AND b.status <> 'CANCELLED' "
+                            + "AND b.start_time < TIMESTAMP '2026-01-15 11:00:00' AND b.end_time > TIMESTAMP '2026-01-15 10:00:00'"),
+            new HotQuery("bookings_occupancy_day", "FacilityOccupancyIndex.loadDay",
+                    "SELECT b.id FROM bookings b WHERE b.status <> 'CANCELLED' AND b.start_time < TIMESTAMP '2026-01-16 00:00:00' "
+                            + "AND (b.end_time > TIMESTAMP '2026-01-15 00:00:00' OR b.start_time >= TIMESTAMP '2026-01-15 00:00:00')"),
+            new HotQuery("bookings_by_member_product", "BookingRepository.findAllBookingsByMemberProductId",
+                    "SELECT b.id FROM bookings b WHERE b.member_product_id = 1 ORDER BY b.start_time"),
+            new HotQuery("bookings_by_status", "BookingRepository.findByStatusInWithFacilityAndMember",
+                    "SELECT b.id FROM bookings b WHERE b.status IN ('PENDING', 'CONFIRMED') ORDER BY b.start_time DESC"),
+            new HotQuery("unchecked_bookings_page", "BookingRepository.findUncheckedPage",
+                    "SELECT b.id FROM pending_checkins p JOIN bookings b ON b.id = p.booking_id "
+                            + "WHERE p.start_time >= TIMESTAMP '2025-10-17 00:00:00' AND p.start_time < TIMESTAMP '2026-01-16 00:00:00' "
+                            + "AND b.status IN ('CONFIRMED', 'COMPLETED') "
+                            + "AND NOT EXISTS (SELECT 1 FROM attendances a WHERE a.booking_id = b.id) "
+                            + "ORDER BY p.start_time DESC, p.booking_id DESC LIMIT 201"),
+            new HotQuery("attendances_checked_in_by_date", "AttendanceRepository.findCheckedInByDate",
+                    "SELECT a.id FROM attendances a WHERE a.date = DATE '2026-01-15' AND a.check_in_time IS NOT NULL "
+                            + "ORDER BY a.check_in_time DESC"),
+            new HotQuery("attendances_by_booking", "AttendanceRepository.findByBookingIdIn",
+                    "SELECT a.id FROM attendances a WHERE a.booking_id IN (1, 2, 3)"),
+            new HotQuery("attendances_not_checked_out", "AttendanceRepository.findIncompleteAttendances",
+                    "SELECT a.id FROM attendances a WHERE a.check_in_time IS NOT NULL AND a.check_out_time IS NULL"),
+            new HotQuery("member_products_by_member_status", "MemberProductRepository.findByMemberIdAndStatus",
+                    "SELECT mp.id FROM member_products mp WHERE mp.member_id = 1 AND mp.status = 'ACTIVE' AND mp.deleted_at IS NULL"),
+            new HotQuery("member_products_by_status", "MemberProductRepository.findByStatusWithProductAndCoach",
+                    "SELECT mp.id FROM member_products mp WHERE mp.status = 'ACTIVE' AND mp.deleted_at IS NULL "
+                            + "ORDER BY mp.purchase_date DESC"),
+            new HotQuery("payments_export_page", "PaymentRepository.findExportPageAfter",
+                    "SELECT p.id FROM payments p WHERE p.member_id IS NOT NULL "
+                            + "AND p.paid_at <= TIMESTAMP '2026-01-15 00:00:00' "
+                            + "AND (p.paid_at < TIMESTAMP '2026-01-15 00:00:00' OR p.id < 1000) "
+                            + "ORDER BY p.paid_at DESC, p.id DESC LIMIT 500")
+    );
+}
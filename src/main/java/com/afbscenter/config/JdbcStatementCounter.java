@@ -0,0 +1,118 @@
+package com.afbscenter.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * JDBC 계수기: DataSource를 감싸 요청 스레드의 SQL 실행 수와 실행 시간을 {@link RequestSqlStats}에 더한다.
+ * <p>
+ * 커넥션이 만드는 Statement/PreparedStatement/CallableStatement의 execute* 호출만 잰다 (결과 읽기 시간은 제외).
+ * 요청 범위가 없는 스레드에서는 ThreadLocal 확인 한 번만 하고 그대로 넘긴다.
+ * sql-instrumentation.enabled=false면 감싸지 않는다.
+ */
+@Component
+public class JdbcStatementCounter implements BeanPostProcessor, EnvironmentAware {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcStatementCounter.class);
+
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource) || bean instanceof CountingDataSource
+                || !environment.getProperty("sql-instrumentation.enabled", Boolean.class, true)) {
+            return bean;
+        }
+        logger.info("요청별 SQL 계수 적용: bean={}", beanName);
+        return new CountingDataSource((DataSource) bean);
+    }
+
+    static final class CountingDataSource extends DelegatingDataSource {
+
+        CountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return counting(obtainTargetDataSource().getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return counting(obtainTargetDataSource().getConnection(username, password));
+        }
+    }
+
+    private static Connection counting(Connection target) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+                        return proxy == args[0];
+                    }
+                    if (method.getName().equals("hashCode") && method.getParameterCount() == 0) {
+                        return System.identityHashCode(proxy);
+                    }
+                    Object result = invoke(target, method, args);
+                    if (result instanceof CallableStatement) {
+                        return countingStatement((Statement) result, CallableStatement.class);
+                    }
+                    if (result instanceof PreparedStatement) {
+                        return countingStatement((Statement) result, PreparedStatement.class);
+                    }
+                    if (result instanceof Statement) {
+                        return countingStatement((Statement) result, Statement.class);
+                    }
+                    return result;
+                });
+    }
+
+    private static Object countingStatement(Statement target, Class<? extends Statement> type) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+                        return proxy == args[0];
+                    }
+                    if (method.getName().equals("hashCode") && method.getParameterCount() == 0) {
+                        return System.identityHashCode(proxy);
+                    }
+                    RequestSqlStats stats = method.getName().startsWith("execute") ? RequestSqlStats.current() : null;
+                    if (stats == null) {
+                        return invoke(target, method, args);
+                    }
+                    long startedAt = System.nanoTime();
+                    try {
+                        return invoke(target, method, args);
+                    } finally {
+                        stats.addStatement(System.nanoTime() - startedAt);
+                    }
+                });
+    }
+
+    private static Object invoke(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
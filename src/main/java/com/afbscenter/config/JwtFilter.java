@@ -1,5 +1,6 @@
 package com.afbscenter.config;
 
+import com.afbscenter.util.JwtPrincipal;
 import com.afbscenter.util.JwtUtil;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -56,20 +57,13 @@ public class JwtFilter extends OncePerRequestFilter {
                 logger.debug("JWT 필터 - 토큰 추출 성공, 길이: {}", token.length());
                 
                 try {
-                    String username = jwtUtil.extractUsername(token);
-                    logger.debug("JWT 필터 - 사용자명 추출: {}", username);
-                    
-                    if (jwtUtil.validateToken(token, username)) {
-                        // 토큰이 유효하면 요청 속성에 사용자 정보 저장
-                        String role = jwtUtil.extractRole(token);
-                        logger.debug("JWT 필터 - 토큰 검증 성공: username={}, role={}", username, role);
-                        request.setAttribute("username", username);
-                        request.setAttribute("role", role);
-                        filterChain.doFilter(request, response);
-                        return;
-                    } else {
-                        logger.warn("JWT 필터 - 토큰 검증 실패: validateToken 반환 false");
-                    }
+                    // 한 번 파싱·검증 (같은 토큰 재요청은 캐시에서 바로 반환)
+                    JwtPrincipal principal = jwtUtil.verify(token);
+                    logger.debug("JWT 필터 - 토큰 검증 성공: username={}, role={}", principal.getUsername(), principal.getRole());
+                    request.setAttribute("username", principal.getUsername());
+                    request.setAttribute("role", principal.getRole());
+                    filterChain.doFilter(request, response);
+                    return;
                 } catch (Exception e) {
                     // 토큰 검증 실패 - 로그 출력
                     logger.error("JWT 필터 - 토큰 검증 예외: {}", e.getMessage(), e);
@@ -0,0 +1,94 @@
+package com.afbscenter.config;
+
+import com.afbscenter.model.Attendance;
+import com.afbscenter.model.Booking;
+import com.afbscenter.model.MemberDeskMessage;
+import com.afbscenter.model.Message;
+import com.afbscenter.service.LiveNotificationService;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 커밋 후 이벤트를 실시간 알림({@link LiveNotificationService})으로 넘긴다.
+ * - 회원 쪽지: 저장/수정/삭제 시 미읽음 수 갱신, 회원이 보낸 새 쪽지는 직원 화면에 따로 알림
+ * - SMS 발송 기록·예약·출석: 새로 저장된 경우만
+ */
+@Component
+public class LiveNotificationListener implements EntityCommitListener {
+
+    private final LiveNotificationService service;
+
+    public LiveNotificationListener(LiveNotificationService service) {
+        this.service = service;
+    }
+
+    @Override
+    public boolean handles(Class<?> type) {
+        return type == MemberDeskMessage.class || type == Message.class
+                || type == Booking.class || type == Attendance.class;
+    }
+
+    @Override
+    public void onInsert(PostInsertEvent event) {
+        Object entity = event.getEntity();
+        if (entity instanceof MemberDeskMessage) {
+            MemberDeskMessage message = (MemberDeskMessage) entity;
+            Long memberId = deskMemberId(message);
+            service.deskChanged(memberId);
+            if (message.isFromMember()) {
+                service.deskMessageFromMember(message.getId(), memberId);
+            }
+        } else if (entity instanceof Message) {
+            service.smsChanged();
+        } else if (entity instanceof Booking) {
+            service.bookingCreated(bookingData((Booking) entity));
+        } else if (entity instanceof Attendance) {
+            service.checkedIn(attendanceData((Attendance) entity));
+        }
+    }
+
+    @Override
+    public void onUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof MemberDeskMessage) {
+            service.deskChanged(deskMemberId((MemberDeskMessage) event.getEntity()));
+        }
+    }
+
+    @Override
+    public void onDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof MemberDeskMessage) {
+            service.deskChanged(deskMemberId((MemberDeskMessage) event.getEntity()));
+        }
+    }
+
+    private static Long deskMemberId(MemberDeskMessage message) {
+        // 지연 로딩 프록시여도 getId()는 초기화 없이 식별자만 반환
+        return message.getMember() != null ? message.getMember().getId() : null;
+    }
+
+    private static Map<String, Object> bookingData(Booking booking) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("id", booking.getId());
+        data.put("facilityId", booking.getFacility() != null ? booking.getFacility().getId() : null);
+        data.put("memberId", booking.getMember() != null ? booking.getMember().getId() : null);
+        data.put("branch", booking.getBranch() != null ? booking.getBranch().name() : null);
+        data.put("status", booking.getStatus() != null ? booking.getStatus().name() : null);
+        data.put("startTime", booking.getStartTime() != null ? booking.getStartTime().toString() : null);
+        data.put("source", booking.getBookingSource() != null ? booking.getBookingSource().name() : null);
+        return data;
+    }
+
+    private static Map<String, Object> attendanceData(Attendance attendance) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("id", attendance.getId());
+        data.put("bookingId", attendance.getBooking() != null ? attendance.getBooking().getId() : null);
+        data.put("memberId", attendance.getMember() != null ? attendance.getMember().getId() : null);
+        data.put("checkInTime", attendance.getCheckInTime() != null ? attendance.getCheckInTime().toString() : null);
+        return data;
+    }
+}
@@ -0,0 +1,64 @@
+package com.afbscenter.config;
+
+import com.afbscenter.model.Booking;
+import com.afbscenter.service.MemberCalendarService;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * 커밋 후 이벤트로 예약이 속한 지점·주의 달력 버전을 올린다.
+ * 수정 시에는 이전 지점·시작 시각의 주도 함께 올린다 (다른 주로 옮긴 경우).
+ */
+@Component
+public class MemberCalendarUpdateListener implements EntityCommitListener {
+
+    private final MemberCalendarService calendarService;
+
+    public MemberCalendarUpdateListener(MemberCalendarService calendarService) {
+        this.calendarService = calendarService;
+    }
+
+    @Override
+    public boolean handles(Class<?> type) {
+        return type == Booking.class;
+    }
+
+    @Override
+    public void onInsert(PostInsertEvent event) {
+        bump(event.getEntity());
+    }
+
+    @Override
+    public void onUpdate(PostUpdateEvent event) {
+        bump(event.getEntity());
+        Object[] oldState = event.getOldState();
+        if (oldState == null) return;
+        Booking.Branch oldBranch = null;
+        LocalDateTime oldStart = null;
+        String[] names = event.getPersister().getPropertyNames();
+        for (int i = 0; i < names.length && i < oldState.length; i++) {
+            if ("branch".equals(names[i]) && oldState[i] instanceof Booking.Branch) {
+                oldBranch = (Booking.Branch) oldState[i];
+            } else if ("startTime".equals(names[i]) && oldState[i] instanceof LocalDateTime) {
+                oldStart = (LocalDateTime) oldState[i];
+            }
+        }
+        calendarService.onBookingChanged(oldBranch, oldStart);
+    }
+
+    @Override
+    public void onDelete(PostDeleteEvent event) {
+        bump(event.getEntity());
+    }
+
+    private void bump(Object entity) {
+        if (entity instanceof Booking) {
+            Booking booking = (Booking) entity;
+            calendarService.onBookingChanged(booking.getBranch(), booking.getStartTime());
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.afbscenter.config;
+
+import com.afbscenter.model.Attendance;
+import com.afbscenter.model.Booking;
+import com.afbscenter.model.Member;
+import com.afbscenter.model.MemberProduct;
+import com.afbscenter.model.Payment;
+import com.afbscenter.service.MemberSummaryService;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 커밋 후 이벤트로 member_summary 갱신 대상 회원을 모아 MemberSummaryService에 넘긴다.
+ * 결제·예약·출석·이용권이 저장/수정/삭제되면 해당 회원(수정 시 이전 회원 포함)을, 회원 삭제 시 그 회원을 넘긴다.
+ * 실제 재계산은 서비스의 백그라운드 실행기에서 하므로 커밋 경로에는 ID 수집만 남는다.
+ * JPQL 일괄 UPDATE/DELETE는 이벤트가 없으므로 정합성 점검 API로 보정.
+ */
+@Component
+public class MemberSummaryUpdateListener implements EntityCommitListener {
+
+    private final MemberSummaryService summaryService;
+
+    public MemberSummaryUpdateListener(MemberSummaryService summaryService) {
+        this.summaryService = summaryService;
+    }
+
+    @Override
+    public boolean handles(Class<?> type) {
+        return type == Payment.class || type == Booking.class || type == Attendance.class
+                || type == MemberProduct.class || type == Member.class;
+    }
+
+    @Override
+    public void onInsert(PostInsertEvent event) {
+        Set<Long> memberIds = new HashSet<>();
+        addMemberId(memberIds, memberOf(event.getEntity()));
+        enqueue(memberIds);
+    }
+
+    @Override
+    public void onUpdate(PostUpdateEvent event) {
+        Set<Long> memberIds = new HashSet<>();
+        addMemberId(memberIds, memberOf(event.getEntity()));
+        // 회원이 바뀐 경우(예약 회원 변경 등) 이전 회원도 다시 계산
+        Object[] oldState = event.getOldState();
+        if (oldState != null) {
+            String[] names = event.getPersister().getPropertyNames();
+            for (int i = 0; i < names.length && i < oldState.length; i++) {
+                if ("member".equals(names[i]) && oldState[i] instanceof Member) {
+                    addMemberId(memberIds, (Member) oldState[i]);
+                }
+            }
+        }
+        enqueue(memberIds);
+    }
+
+    @Override
+    public void onDelete(PostDeleteEvent event) {
+        Set<Long> memberIds = new HashSet<>();
+        Object entity = event.getEntity();
+        if (entity instanceof Member) {
+            if (event.getId() instanceof Long) memberIds.add((Long) event.getId());
+        } else {
+            addMemberId(memberIds, memberOf(entity));
+        }
+        enqueue(memberIds);
+    }
+
+    private static Member memberOf(Object entity) {
+        if (entity instanceof Payment) return ((Payment) entity).getMember();
+        if (entity instanceof Booking) return ((Booking) entity).getMember();
+        if (entity instanceof Attendance) return ((Attendance) entity).getMember();
+        if (entity instanceof MemberProduct) return ((MemberProduct) entity).getMember();
+        return null;
+    }
+
+    private static void addMemberId(Set<Long> memberIds, Member member) {
+        // 지연 로딩 프록시여도 getId()는 초기화 없이 식별자만 반환
+        if (member != null && member.getId() != null) {
+            memberIds.add(member.getId());
+        }
+    }
+
+    private void enqueue(Set<Long> memberIds) {
+        if (!memberIds.isEmpty()) {
+            summaryService.enqueueRefresh(memberIds);
+        }
+    }
+}
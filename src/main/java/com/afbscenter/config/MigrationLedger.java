@@ -0,0 +1,70 @@
+package com.afbscenter.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 마이그레이션 단계 실행 원장 (schema_migration_ledger). 단계별 마지막 실행 버전·상태·소요 시간을 남긴다.
+ * ONCE 단계는 완료 기록이 있으면 다음 시작부터 건너뛴다.
+ */
+@Component
+public class MigrationLedger {
+
+    private static final Logger logger = LoggerFactory.getLogger(MigrationLedger.class);
+
+    public static final String STATUS_DONE = "DONE";
+    public static final String STATUS_FAILED = "FAILED";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MigrationLedger(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void ensureTable() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS schema_migration_ledger ("
+                + "step_id VARCHAR(100) NOT NULL PRIMARY KEY, "
+                + "version INT NOT NULL, "
+                + "status VARCHAR(20) NOT NULL, "
+                + "last_run_at TIMESTAMP NOT NULL, "
+                + "elapsed_ms BIGINT NOT NULL, "
+                + "message VARCHAR(1000))");
+    }
+
+    /** 같은 버전 이상으로 완료된 적이 있는지 */
+    public boolean isDone(String stepId, int version) {
+        List<Integer> versions = jdbcTemplate.queryForList(
+                "SELECT version FROM schema_migration_ledger WHERE step_id = ? AND status = ?",
+                Integer.class, stepId, STATUS_DONE);
+        return !versions.isEmpty() && versions.get(0) != null && versions.get(0) >= version;
+    }
+
+    public void record(String stepId, int version, String status, long elapsedMs, String message) {
+        try {
+            String msg = message != null && message.length() > 1000 ? message.substring(0, 1000) : message;
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            int updated = jdbcTemplate.update(
+                    "UPDATE schema_migration_ledger SET version = ?, status = ?, last_run_at = ?, elapsed_ms = ?, message = ? WHERE step_id = ?",
+                    version, status, now, elapsedMs, msg, stepId);
+            if (updated == 0) {
+                jdbcTemplate.update(
+                        "INSERT INTO schema_migration_ledger (step_id, version, status, last_run_at, elapsed_ms, message) VALUES (?, ?, ?, ?, ?, ?)",
+                        stepId, version, status, now, elapsedMs, msg);
+            }
+        } catch (Exception e) {
+            logger.warn("마이그레이션 원장 기록 실패: step={}, {}", stepId, e.getMessage());
+        }
+    }
+
+    public List<Map<String, Object>> findAll() {
+        return jdbcTemplate.queryForList(
+                "SELECT step_id, version, status, last_run_at, elapsed_ms, message FROM schema_migration_ledger ORDER BY last_run_at DESC");
+    }
+}
@@ -0,0 +1,78 @@
+package com.afbscenter.config;
+
+/**
+ * 시작 시 마이그레이션 단계.
+ * - {@link Mode#ONCE}: 원장에 같은 버전 이상으로 완료 기록이 있으면 건너뜀 (스키마 변경·일회성 보정). 다시 돌리려면 버전을 올린다
+ * - {@link Mode#EVERY_BOOT}: 매 시작마다 실행 (설정값 반영, Hibernate가 다시 만들 수 있는 제약 제거 등 가벼운 단계)
+ * {@code async}면 앱 준비 후 백그라운드에서 실행 (데이터 보정만). 같은 lane(주로 쓰는 테이블)의 단계는 순서대로,
+ * 다른 lane끼리는 병렬로 실행해 같은 행을 동시에 갱신하지 않게 한다.
+ */
+public final class MigrationStep {
+
+    public enum Mode {
+        ONCE,
+        EVERY_BOOT
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    private final String id;
+    private final int version;
+    private final Mode mode;
+    private final String asyncLane;
+    private final String description;
+    private final Action action;
+
+    private MigrationStep(String id, int version, Mode mode, String asyncLane, String description, Action action) {
+        this.id = id;
+        this.version = version;
+        this.mode = mode;
+        this.asyncLane = asyncLane;
+        this.description = description;
+        this.action = action;
+    }
+
+    public static MigrationStep once(String id, int version, String description, Action action) {
+        return new MigrationStep(id, version, Mode.ONCE, null, description, action);
+    }
+
+    public static MigrationStep everyBoot(String id, String description, Action action) {
+        return new MigrationStep(id, 1, Mode.EVERY_BOOT, null, description, action);
+    }
+
+    /** 앱 준비 후 백그라운드에서 실행. lane이 같은 단계끼리는 등록 순서대로 실행 */
+    public MigrationStep async(String lane) {
+        return new MigrationStep(id, version, mode, lane, description, action);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public boolean isAsync() {
+        return asyncLane != null;
+    }
+
+    public String getAsyncLane() {
+        return asyncLane;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+}
@@ -0,0 +1,50 @@
+package com.afbscenter.config;
+
+import com.afbscenter.model.MemberProduct;
+import com.afbscenter.service.PassExpiryService;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * 커밋 후 이벤트로 만료 감시 재판정 대상 이용권을 PassExpiryService에 넘긴다.
+ * 이용권이 저장/수정/삭제되면 그 이용권 ID를 넘긴다 (상태·잔여·만료일·삭제 여부 변경 모두 재판정으로 충분).
+ */
+@Component
+public class PassExpiryWatchListener implements EntityCommitListener {
+
+    private final PassExpiryService expiryService;
+
+    public PassExpiryWatchListener(PassExpiryService expiryService) {
+        this.expiryService = expiryService;
+    }
+
+    @Override
+    public boolean handles(Class<?> type) {
+        return type == MemberProduct.class;
+    }
+
+    @Override
+    public void onInsert(PostInsertEvent event) {
+        enqueue(event.getId());
+    }
+
+    @Override
+    public void onUpdate(PostUpdateEvent event) {
+        enqueue(event.getId());
+    }
+
+    @Override
+    public void onDelete(PostDeleteEvent event) {
+        enqueue(event.getId());
+    }
+
+    private void enqueue(Object id) {
+        if (id instanceof Long) {
+            expiryService.enqueueRefresh(Set.of((Long) id));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.afbscenter.config;
+
+import com.afbscenter.model.Attendance;
+import com.afbscenter.model.Booking;
+import com.afbscenter.service.PendingCheckInService;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 커밋 후 이벤트로 체크인 대기 재판정 대상 예약을 모아 PendingCheckInService에 넘긴다.
+ * 예약이 저장/수정/삭제되면 그 예약을, 출석이 저장/수정/삭제되면 연결된 예약(수정 시 이전 예약 포함)을 넘긴다.
+ */
+@Component
+public class PendingCheckInUpdateListener implements EntityCommitListener {
+
+    private final PendingCheckInService pendingService;
+
+    public PendingCheckInUpdateListener(PendingCheckInService pendingService) {
+        this.pendingService = pendingService;
+    }
+
+    @Override
+    public boolean handles(Class<?> type) {
+        return type == Booking.class || type == Attendance.class;
+    }
+
+    @Override
+    public void onInsert(PostInsertEvent event) {
+        Set<Long> bookingIds = new HashSet<>();
+        addBookingId(bookingIds, event.getEntity(), event.getId());
+        enqueue(bookingIds);
+    }
+
+    @Override
+    public void onUpdate(PostUpdateEvent event) {
+        Set<Long> bookingIds = new HashSet<>();
+        addBookingId(bookingIds, event.getEntity(), event.getId());
+        // 출석의 예약 연결이 바뀐 경우 이전 예약도 다시 판정
+        Object[] oldState = event.getOldState();
+        if (event.getEntity() instanceof Attendance && oldState != null) {
+            String[] names = event.getPersister().getPropertyNames();
+            for (int i = 0; i < names.length && i < oldState.length; i++) {
+                if ("booking".equals(names[i]) && oldState[i] instanceof Booking) {
+                    Long oldId = ((Booking) oldState[i]).getId();
+                    if (oldId != null) bookingIds.add(oldId);
+                }
+            }
+        }
+        enqueue(bookingIds);
+    }
+
+    @Override
+    public void onDelete(PostDeleteEvent event) {
+        Set<Long> bookingIds = new HashSet<>();
+        addBookingId(bookingIds, event.getEntity(), event.getId());
+        enqueue(bookingIds);
+    }
+
+    private static void addBookingId(Set<Long> bookingIds, Object entity, Object id) {
+        if (entity instanceof Booking) {
+            if (id instanceof Long) bookingIds.add((Long) id);
+        } else if (entity instanceof Attendance) {
+            // 지연 로딩 프록시여도 getId()는 초기화 없이 식별자만 반환
+            Booking booking = ((Attendance) entity).getBooking();
+            if (booking != null && booking.getId() != null) bookingIds.add(booking.getId());
+        }
+    }
+
+    private void enqueue(Set<Long> bookingIds) {
+        if (!bookingIds.isEmpty()) {
+            pendingService.enqueueRefresh(bookingIds);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.afbscenter.config;
+
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hibernate 커밋 후 이벤트(insert/update/delete)를 {@link EntityCommitListener} 빈들에 나눠 주는 유일한 Hibernate 리스너.
+ * 세션 팩토리가 빈보다 먼저 만들어지므로 리스너 목록은 싱글턴 생성이 끝난 뒤 {@link HibernateListenerConfig}가 채운다
+ * (그 전의 변경, 예: 시작 시 마이그레이션은 넘기지 않는다). 리스너 하나의 예외는 로그만 남기고 나머지에 계속 넘긴다.
+ */
+public class PostCommitDispatcher implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostCommitDispatcher.class);
+
+    private volatile List<EntityCommitListener> listeners = List.of();
+
+    void setListeners(List<EntityCommitListener> listeners) {
+        this.listeners = List.copyOf(listeners);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> type = persister.getMappedClass();
+        for (EntityCommitListener listener : listeners) {
+            if (listener.handles(type)) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        dispatch(event.getPersister(), listener -> listener.onInsert(event));
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        dispatch(event.getPersister(), listener -> listener.onUpdate(event));
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        dispatch(event.getPersister(), listener -> listener.onDelete(event));
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // 롤백된 변경은 반영할 것이 없음
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // 롤백된 변경은 반영할 것이 없음
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // 롤백된 변경은 반영할 것이 없음
+    }
+
+    private void dispatch(EntityPersister persister, Consumer<EntityCommitListener> call) {
+        Class<?> type = persister.getMappedClass();
+        for (EntityCommitListener listener : listeners) {
+            if (!listener.handles(type)) continue;
+            try {
+                call.accept(listener);
+            } catch (RuntimeException e) {
+                // 이미 커밋됨: 읽기 모델은 정합성 점검/다음 변경에서 보정
+                logger.warn("커밋 후 처리 실패 ({} → {}): {}", type.getSimpleName(), listener.getClass().getSimpleName(), e.getMessage(), e);
+            }
+        }
+    }
+}
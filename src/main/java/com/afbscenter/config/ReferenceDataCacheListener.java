@@ -0,0 +1,91 @@
+package com.afbscenter.config;
+
+import com.afbscenter.model.Coach;
+import com.afbscenter.model.Facility;
+import com.afbscenter.model.FacilitySlot;
+import com.afbscenter.model.Member;
+import com.afbscenter.model.Product;
+import com.afbscenter.model.RolePermission;
+import com.afbscenter.model.Settings;
+import com.afbscenter.model.TrainingLog;
+import com.afbscenter.service.ReferenceDataCache;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 커밋 후 이벤트로 바뀐 기준 데이터 엔티티의 캐시 영역을 비운다.
+ */
+@Component
+public class ReferenceDataCacheListener implements EntityCommitListener {
+
+    private static final Map<Class<?>, ReferenceDataCache.Region> REGIONS = Map.of(
+            Facility.class, ReferenceDataCache.Region.FACILITIES,
+            FacilitySlot.class, ReferenceDataCache.Region.FACILITY_SLOTS,
+            Coach.class, ReferenceDataCache.Region.COACHES,
+            Product.class, ReferenceDataCache.Region.PRODUCTS,
+            Settings.class, ReferenceDataCache.Region.SETTINGS,
+            RolePermission.class, ReferenceDataCache.Region.ROLE_PERMISSIONS,
+            TrainingLog.class, ReferenceDataCache.Region.TRAINING_RANKINGS,
+            // 랭킹 행에 회원 이름·번호·등급이 들어감
+            Member.class, ReferenceDataCache.Region.TRAINING_RANKINGS);
+
+    /** 랭킹에 들어가는 회원 속성 — 회원 수정은 이 중 하나가 바뀔 때만 비운다 (메모·방문일 등 잦은 수정은 무시) */
+    private static final Set<String> RANKED_MEMBER_PROPERTIES = Set.of("name", "memberNumber", "grade");
+
+    private final ReferenceDataCache cache;
+
+    public ReferenceDataCacheListener(ReferenceDataCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public boolean handles(Class<?> type) {
+        return REGIONS.containsKey(type);
+    }
+
+    @Override
+    public void onInsert(PostInsertEvent event) {
+        invalidate(event.getPersister());
+    }
+
+    @Override
+    public void onUpdate(PostUpdateEvent event) {
+        if (event.getPersister().getMappedClass() == Member.class && !changesRankedMemberProperty(event)) {
+            return;
+        }
+        invalidate(event.getPersister());
+    }
+
+    @Override
+    public void onDelete(PostDeleteEvent event) {
+        invalidate(event.getPersister());
+    }
+
+    /** 변경 속성을 알 수 없으면(dirty 정보 없음) 바뀐 것으로 본다 */
+    private static boolean changesRankedMemberProperty(PostUpdateEvent event) {
+        int[] dirty = event.getDirtyProperties();
+        if (dirty == null) {
+            return true;
+        }
+        String[] names = event.getPersister().getPropertyNames();
+        for (int index : dirty) {
+            if (RANKED_MEMBER_PROPERTIES.contains(names[index])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void invalidate(EntityPersister persister) {
+        ReferenceDataCache.Region region = REGIONS.get(persister.getMappedClass());
+        if (region != null) {
+            cache.invalidate(region);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.afbscenter.config;
+
+import com.afbscenter.service.RequestSqlMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * API 요청마다 SQL 계수 범위({@link RequestSqlStats})를 열고, 끝나면 엔드포인트별 지표·예산({@link RequestSqlMetrics})에 넘긴다.
+ * sql-instrumentation.response-headers=true(개발 프로파일)면 응답 본문을 쓰기 직전까지의 계수를 헤더로 붙인다:
+ * X-Sql-Statements, X-Sql-Jdbc-Ms, X-Sql-Entity-Loads (예: "Booking=120,Member=30").
+ * 본문 직렬화 중 지연 로딩은 헤더에는 빠지고 지표·예산에는 들어간다.
+ */
+@Component
+public class RequestSqlFilter extends OncePerRequestFilter {
+
+    private final RequestSqlMetrics requestSqlMetrics;
+    private final boolean enabled;
+    private final boolean responseHeaders;
+
+    public RequestSqlFilter(RequestSqlMetrics requestSqlMetrics,
+                            @Value("${sql-instrumentation.enabled:true}") boolean enabled,
+                            @Value("${sql-instrumentation.response-headers:false}") boolean responseHeaders) {
+        this.requestSqlMetrics = requestSqlMetrics;
+        this.enabled = enabled;
+        this.responseHeaders = responseHeaders;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long startedAt = System.currentTimeMillis();
+        RequestSqlStats stats = RequestSqlStats.begin();
+        HttpServletResponse target = responseHeaders ? new StatsHeaderResponse(response, stats) : response;
+        try {
+            filterChain.doFilter(request, target);
+        } finally {
+            RequestSqlStats.end();
+            if (target instanceof StatsHeaderResponse) {
+                ((StatsHeaderResponse) target).writeHeaders();
+            }
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String endpoint = request.getMethod() + " " + (pattern != null ? pattern : "UNMATCHED");
+            requestSqlMetrics.record(endpoint, stats, response.getStatus(), System.currentTimeMillis() - startedAt);
+        }
+    }
+
+    /** 본문 출력을 처음 잡는 시점(헤더 확정 전)에 계수 헤더를 한 번 붙이는 응답 래퍼 */
+    private static final class StatsHeaderResponse extends HttpServletResponseWrapper {
+
+        private final RequestSqlStats stats;
+        private boolean written;
+
+        StatsHeaderResponse(HttpServletResponse response, RequestSqlStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        void writeHeaders() {
+            if (written || isCommitted()) return;
+            written = true;
+            setHeader("X-Sql-Statements", String.valueOf(stats.getStatements()));
+            setHeader("X-Sql-Jdbc-Ms", String.valueOf(stats.getJdbcMillis()));
+            setHeader("X-Sql-Entity-Loads", stats.formatEntityLoads());
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.afbscenter.config;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 요청 하나 동안의 SQL·엔티티 로드 계수 (요청 스레드 한정).
+ * RequestSqlFilter가 요청 시작 시 {@link #begin()}, 끝에서 {@link #end()}를 부르고,
+ * 그 사이 같은 스레드의 JDBC 실행({@link JdbcStatementCounter})과 Hibernate 로드({@link EntityLoadCountListener})가 여기에 더한다.
+ * 범위 밖(백그라운드 스레드, 시작 마이그레이션)에서는 {@link #current()}가 null이라 세지 않는다.
+ */
+public final class RequestSqlStats {
+
+    private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long jdbcNanos;
+    private int entityLoads;
+    private final Map<String, Integer> entityLoadsByType = new TreeMap<>();
+
+    private RequestSqlStats() {
+    }
+
+    public static RequestSqlStats begin() {
+        RequestSqlStats stats = new RequestSqlStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public static RequestSqlStats current() {
+        return CURRENT.get();
+    }
+
+    void addStatement(long nanos) {
+        statements++;
+        jdbcNanos += nanos;
+    }
+
+    void addEntityLoad(String type) {
+        entityLoads++;
+        entityLoadsByType.merge(type, 1, Integer::sum);
+    }
+
+    /** 실행한 SQL 문 수 (배치 실행은 1건) */
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getJdbcMillis() {
+        return jdbcNanos / 1_000_000L;
+    }
+
+    public int getEntityLoads() {
+        return entityLoads;
+    }
+
+    /** 엔티티 타입(단순 클래스명)별 로드 수, 이름순 */
+    public Map<String, Integer> getEntityLoadsByType() {
+        return entityLoadsByType;
+    }
+
+    /** "Booking=120,Member=30" 형식 (응답 헤더·로그용) */
+    public String formatEntityLoads() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Integer> e : entityLoadsByType.entrySet()) {
+            if (sb.length() > 0) sb.append(',');
+            sb.append(e.getKey()).append('=').append(e.getValue());
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,15 @@
+package com.afbscenter.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 주기 작업(@Scheduled) 사용 설정.
+ * 스케줄러(taskScheduler)와 공용 작업 풀(applicationTaskExecutor)은 Spring Boot 자동 설정을 쓰고
+ * 크기는 spring.task.scheduling / spring.task.execution 속성으로 조정한다.
+ * 서비스마다 전용 스레드를 만들지 않으므로 종료도 Spring이 한 번에 처리한다.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,64 @@
+package com.afbscenter.config;
+
+import com.afbscenter.model.Member;
+import com.afbscenter.model.TrainingLog;
+import com.afbscenter.service.TrainingMetricSeriesService;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * 커밋 후 이벤트로 훈련 지표 시계열({@link TrainingMetricSeriesService})을 갱신한다.
+ * - 새 기록: 해당 회원 시계열에 덧붙임
+ * - 수정/삭제: 해당 회원(회원이 바뀌었으면 이전 회원도) 시계열을 버림
+ */
+@Component
+public class TrainingMetricSeriesListener implements EntityCommitListener {
+
+    private final TrainingMetricSeriesService seriesService;
+
+    public TrainingMetricSeriesListener(TrainingMetricSeriesService seriesService) {
+        this.seriesService = seriesService;
+    }
+
+    @Override
+    public boolean handles(Class<?> type) {
+        return type == TrainingLog.class;
+    }
+
+    @Override
+    public void onInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof TrainingLog) {
+            TrainingLog log = (TrainingLog) event.getEntity();
+            seriesService.append(memberId(log.getMember()), log);
+        }
+    }
+
+    @Override
+    public void onUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof TrainingLog)) return;
+        seriesService.invalidate(memberId(((TrainingLog) event.getEntity()).getMember()));
+        Object[] oldState = event.getOldState();
+        if (oldState != null) {
+            String[] names = event.getPersister().getPropertyNames();
+            for (int i = 0; i < names.length && i < oldState.length; i++) {
+                if ("member".equals(names[i]) && oldState[i] instanceof Member) {
+                    seriesService.invalidate(memberId((Member) oldState[i]));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void onDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof TrainingLog) {
+            seriesService.invalidate(memberId(((TrainingLog) event.getEntity()).getMember()));
+        }
+    }
+
+    private static Long memberId(Member member) {
+        // 지연 로딩 프록시여도 getId()는 초기화 없이 식별자만 반환
+        return member != null ? member.getId() : null;
+    }
+}
@@ -12,6 +12,9 @@ public class WebConfig implements WebMvcConfigurer {
     @Autowired
     private JwtFilter jwtFilter;
 
+    @Autowired
+    private RequestSqlFilter requestSqlFilter;
+
     @Bean
     public FilterRegistrationBean<JwtFilter> jwtFilterRegistration() {
         FilterRegistrationBean<JwtFilter> registration = new FilterRegistrationBean<>();
@@ -20,4 +23,13 @@ public class WebConfig implements WebMvcConfigurer {
         registration.setOrder(1);
         return registration;
     }
+
+    @Bean
+    public FilterRegistrationBean<RequestSqlFilter> requestSqlFilterRegistration() {
+        FilterRegistrationBean<RequestSqlFilter> registration = new FilterRegistrationBean<>();
+        registration.setFilter(requestSqlFilter);
+        registration.addUrlPatterns("/api/*"); // 인증 필터보다 먼저: 요청 전체의 SQL을 센다
+        registration.setOrder(0);
+        return registration;
+    }
 }
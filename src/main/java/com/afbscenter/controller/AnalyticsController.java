@@ -1,18 +1,25 @@
 package com.afbscenter.controller;
 
-import com.afbscenter.constants.AccountingPolicy;
 import com.afbscenter.model.Booking;
+import com.afbscenter.model.Coach;
+import com.afbscenter.model.DailyBookingRollup;
+import com.afbscenter.model.DailyMemberRollup;
+import com.afbscenter.model.DailyRevenueRollup;
 import com.afbscenter.model.Facility;
 import com.afbscenter.model.Member;
-import com.afbscenter.model.Payment;
-import com.afbscenter.model.Settings;
-import com.afbscenter.repository.BookingRepository;
+import com.afbscenter.model.Product;
+import com.afbscenter.repository.CoachRepository;
+import com.afbscenter.repository.DailyBookingRollupRepository;
+import com.afbscenter.repository.DailyMemberRollupRepository;
+import com.afbscenter.repository.DailyRevenueRollupRepository;
 import com.afbscenter.repository.FacilityRepository;
 import com.afbscenter.repository.MemberRepository;
 import com.afbscenter.repository.MemberProductRepository;
 import com.afbscenter.repository.PaymentRepository;
-import com.afbscenter.repository.SettingsRepository;
-import com.afbscenter.service.MemberService;
+import com.afbscenter.repository.ProductRepository;
+import com.afbscenter.service.AnalyticsRollupService;
+import com.afbscenter.service.ReferenceDataCache;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
@@ -25,7 +32,6 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.YearMonth;
 import java.util.*;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @RestController
@@ -34,46 +40,40 @@ public class AnalyticsController {
 
     private static final Logger logger = LoggerFactory.getLogger(AnalyticsController.class);
 
-    private final BookingRepository bookingRepository;
     private final PaymentRepository paymentRepository;
     private final MemberRepository memberRepository;
     private final MemberProductRepository memberProductRepository;
     private final FacilityRepository facilityRepository;
-    private final MemberService memberService;
-    private final SettingsRepository settingsRepository;
+    private final CoachRepository coachRepository;
+    private final ProductRepository productRepository;
+    private final DailyRevenueRollupRepository dailyRevenueRollupRepository;
+    private final DailyBookingRollupRepository dailyBookingRollupRepository;
+    private final DailyMemberRollupRepository dailyMemberRollupRepository;
+    private final AnalyticsRollupService analyticsRollupService;
+    private final ReferenceDataCache referenceDataCache;
 
-    public AnalyticsController(BookingRepository bookingRepository,
-                               PaymentRepository paymentRepository,
+    public AnalyticsController(PaymentRepository paymentRepository,
                                MemberRepository memberRepository,
                                MemberProductRepository memberProductRepository,
                                FacilityRepository facilityRepository,
-                               MemberService memberService,
-                               SettingsRepository settingsRepository) {
-        this.bookingRepository = bookingRepository;
+                               CoachRepository coachRepository,
+                               ProductRepository productRepository,
+                               DailyRevenueRollupRepository dailyRevenueRollupRepository,
+                               DailyBookingRollupRepository dailyBookingRollupRepository,
+                               DailyMemberRollupRepository dailyMemberRollupRepository,
+                               AnalyticsRollupService analyticsRollupService,
+                               ReferenceDataCache referenceDataCache) {
         this.paymentRepository = paymentRepository;
         this.memberRepository = memberRepository;
         this.memberProductRepository = memberProductRepository;
         this.facilityRepository = facilityRepository;
-        this.memberService = memberService;
-        this.settingsRepository = settingsRepository;
-    }
-    
-    /**
-     * Settings에서 기본 세션 시간을 가져옵니다. 없으면 상수 기본값을 사용합니다.
-     */
-    private int getDefaultSessionDuration() {
-        try {
-            List<Settings> settingsList = settingsRepository.findAll();
-            if (!settingsList.isEmpty()) {
-                Settings settings = settingsList.get(0);
-                if (settings.getDefaultSessionDuration() != null && settings.getDefaultSessionDuration() > 0) {
-                    return settings.getDefaultSessionDuration();
-                }
-            }
-        } catch (Exception e) {
-            logger.warn("Settings에서 기본 세션 시간 조회 실패, 상수 기본값 사용: {}", e.getMessage());
-        }
-        return com.afbscenter.constants.BookingDefaults.DEFAULT_BOOKING_MINUTES;
+        this.coachRepository = coachRepository;
+        this.productRepository = productRepository;
+        this.dailyRevenueRollupRepository = dailyRevenueRollupRepository;
+        this.dailyBookingRollupRepository = dailyBookingRollupRepository;
+        this.dailyMemberRollupRepository = dailyMemberRollupRepository;
+        this.analyticsRollupService = analyticsRollupService;
+        this.referenceDataCache = referenceDataCache;
     }
 
     @GetMapping
@@ -127,99 +127,31 @@ public class AnalyticsController {
             logger.info("Analytics 조회 - 기간: {} ~ {}, period: {}, startDateTime: {}, endDateTime: {}", 
                 start, end, period, startDateTime, endDateTime);
             
-            // 예약 데이터 조회
-            List<Booking> bookings = bookingRepository.findByDateRange(startDateTime, endDateTime);
-            logger.info("조회된 예약 수: {}건 (기간: {} ~ {})", bookings != null ? bookings.size() : 0, startDateTime, endDateTime);
-            
-            // 예약 상세 로그 (처음 10개만)
-            if (bookings != null && !bookings.isEmpty()) {
-                int logCount = Math.min(10, bookings.size());
-                for (int i = 0; i < logCount; i++) {
-                    Booking b = bookings.get(i);
-                    try {
-                        logger.info("  예약 #{}: ID={}, 시설={}, 상태={}, 시작={}, 종료={}", 
-                            i + 1, b.getId(), 
-                            b.getFacility() != null ? b.getFacility().getName() : "null",
-                            b.getStatus(), b.getStartTime(), b.getEndTime());
-                    } catch (Exception e) {
-                        logger.warn("예약 로그 출력 실패: {}", e.getMessage());
-                    }
-                }
-            }
-            
-            // 결제 데이터 조회 (코치 정보 포함)
-            List<Payment> allPayments = paymentRepository.findAllWithCoach();
-            logger.info("전체 결제 데이터 조회 완료 - 총 {}건", allPayments.size());
-            
-            // 전체 결제 데이터 상세 로그 (처음 10개)
-            if (!allPayments.isEmpty()) {
-                logger.info("전체 결제 데이터 샘플 (처음 10개):");
-                for (int i = 0; i < Math.min(10, allPayments.size()); i++) {
-                    Payment p = allPayments.get(i);
-                    logger.info("  결제 #{}: ID={}, Amount={}, Category={}, Status={}, PaidAt={}, Product={}, Booking={}, Member={}", 
-                        i + 1, p.getId(), p.getAmount(), p.getCategory(), p.getStatus(), 
-                        p.getPaidAt(), p.getProduct() != null ? p.getProduct().getId() : null,
-                        p.getBooking() != null ? p.getBooking().getId() : null,
-                        p.getMember() != null ? p.getMember().getId() : null);
-                }
-            }
-            
-            // 필터링 적용
-            List<Payment> payments = allPayments.stream()
-                    .filter(p -> {
-                        boolean hasPaidAt = p.getPaidAt() != null;
-                        boolean inDateRange = hasPaidAt && 
-                                           !p.getPaidAt().isBefore(startDateTime) && 
-                                           !p.getPaidAt().isAfter(endDateTime);
-                        boolean isCompleted = p.getStatus() == null || p.getStatus() == Payment.PaymentStatus.COMPLETED;
-                        
-                        if (!hasPaidAt) {
-                            logger.debug("결제 필터링 제외 (paidAt null): Payment ID={}", p.getId());
-                        } else if (!inDateRange) {
-                            logger.debug("결제 필터링 제외 (날짜 범위 밖): Payment ID={}, PaidAt={}, 기간: {} ~ {}", 
-                                p.getId(), p.getPaidAt(), startDateTime, endDateTime);
-                        } else if (!isCompleted) {
-                            logger.debug("결제 필터링 제외 (상태): Payment ID={}, Status={}", p.getId(), p.getStatus());
-                        }
-                        
-                        return hasPaidAt && inDateRange && isCompleted;
-                    })
-                    .collect(Collectors.toList());
-            
-            logger.info("Analytics 결제 데이터 조회 - 기간: {} ~ {} ({} ~ {}), 필터링 후 결제 수: {}건", 
-                start, end, startDateTime, endDateTime, payments.size());
-            
-            // 필터링된 결제 데이터 상세 로그 (처음 5개만)
-            if (!payments.isEmpty()) {
-                logger.info("필터링된 결제 데이터 샘플 (처음 5개):");
-                for (int i = 0; i < Math.min(5, payments.size()); i++) {
-                    Payment p = payments.get(i);
-                    logger.info("  결제 #{}: ID={}, Amount={}, Category={}, Status={}, PaidAt={}, Product={}, Booking={}", 
-                        i + 1, p.getId(), p.getAmount(), p.getCategory(), p.getStatus(), 
-                        p.getPaidAt(), p.getProduct() != null ? p.getProduct().getId() : null,
-                        p.getBooking() != null ? p.getBooking().getId() : null);
-                }
-            }
-            
-            // 회원 데이터 조회
-            List<Member> members = memberRepository.findAll();
+            // 일별 집계 조회 (기간 길이와 무관하게 집계 행만 읽음)
+            List<DailyBookingRollup> bookingRollups = dailyBookingRollupRepository.findByStatDateBetween(start, end);
+            List<DailyRevenueRollup> revenueRollups = dailyRevenueRollupRepository.findByStatDateBetween(start, end);
+            List<DailyRevenueRollup> prevRevenueRollups = dailyRevenueRollupRepository.findByStatDateBetween(
+                    start.minusMonths(1), end.minusMonths(1));
+            logger.info("Analytics 집계 행 - 예약: {}행, 매출: {}행, 전월 매출: {}행",
+                bookingRollups.size(), revenueRollups.size(), prevRevenueRollups.size());
             
             // 시설 데이터 조회
             List<Facility> facilities = facilityRepository.findByActiveTrue();
             
             // 운영 지표
-            Map<String, Object> operational = calculateOperationalMetrics(bookings, facilities, start, end);
+            Map<String, Object> operational = calculateOperationalMetrics(bookingRollups, facilities, start, end);
             
             // 매출 지표
-            Map<String, Object> revenue = calculateRevenueMetrics(payments, start, end);
+            Map<String, Object> revenue = calculateRevenueMetrics(revenueRollups, prevRevenueRollups, start, end);
             
             // 회원 지표
-            Map<String, Object> memberMetrics = calculateMemberMetrics(members, start, end);
+            Map<String, Object> memberMetrics = calculateMemberMetrics(start, end);
             
             // 개인 결제 TOP: scope에 따라 전체 누적 / 해당 월(2026-01~선택) / 기간(날짜 선택)
-            List<Payment> paymentsForTopSpenders;
+            // 회원별 합계와 상위 15명은 DB에서 계산 (COMPLETED/상태 없음, 삭제된 이용권 결제 제외)
             String scope = (topSpendersScope != null && !topSpendersScope.isEmpty()) ? topSpendersScope : "all";
-            Predicate<Payment> completedOnly = p -> p.getStatus() == null || p.getStatus() == Payment.PaymentStatus.COMPLETED;
+            org.springframework.data.domain.Pageable top15 = org.springframework.data.domain.PageRequest.of(0, 15);
+            List<Object[]> topSpenderRows;
             if ("month".equals(scope)) {
                 YearMonth ym = YearMonth.now();
                 if (topSpendersMonth != null && !topSpendersMonth.isEmpty()) {
@@ -227,11 +159,8 @@ public class AnalyticsController {
                         ym = YearMonth.parse(topSpendersMonth);
                     } catch (Exception ignored) { }
                 }
-                LocalDateTime monthStart = ym.atDay(1).atStartOfDay();
-                LocalDateTime monthEnd = ym.atEndOfMonth().atTime(LocalTime.MAX);
-                paymentsForTopSpenders = allPayments.stream()
-                        .filter(p -> p.getPaidAt() != null && !p.getPaidAt().isBefore(monthStart) && !p.getPaidAt().isAfter(monthEnd) && completedOnly.test(p))
-                        .collect(Collectors.toList());
+                topSpenderRows = paymentRepository.findTopSpendersBetween(
+                        ym.atDay(1).atStartOfDay(), ym.atEndOfMonth().atTime(LocalTime.MAX), top15);
             } else if ("period".equals(scope)) {
                 LocalDateTime periodStart = startDateTime;
                 LocalDateTime periodEnd = endDateTime;
@@ -241,43 +170,29 @@ public class AnalyticsController {
                         periodEnd = LocalDate.parse(topSpendersEndDate).atTime(LocalTime.MAX);
                     } catch (Exception ignored) { }
                 }
-                final LocalDateTime ps = periodStart;
-                final LocalDateTime pe = periodEnd;
-                paymentsForTopSpenders = allPayments.stream()
-                        .filter(p -> p.getPaidAt() != null && !p.getPaidAt().isBefore(ps) && !p.getPaidAt().isAfter(pe) && completedOnly.test(p))
-                        .collect(Collectors.toList());
+                topSpenderRows = paymentRepository.findTopSpendersBetween(periodStart, periodEnd, top15);
             } else {
                 // all: 전체 누적
-                paymentsForTopSpenders = allPayments.stream()
-                        .filter(p -> p.getPaidAt() != null && completedOnly.test(p))
-                        .collect(Collectors.toList());
+                topSpenderRows = paymentRepository.findTopSpenders(top15);
             }
-            Map<Long, Integer> memberTotalInPeriod = new HashMap<>();
-            for (Payment p : paymentsForTopSpenders) {
-                if (AccountingPolicy.excludedFromRevenueSummary(p)) continue;
-                if (p.getMember() == null) continue;
-                Long mid = p.getMember().getId();
-                int amount = p.getAmount() != null ? p.getAmount() : 0;
-                int refund = p.getRefundAmount() != null ? p.getRefundAmount() : 0;
-                memberTotalInPeriod.merge(mid, amount - refund, Integer::sum);
+            Map<Long, Member> topSpenderMembers = new HashMap<>();
+            List<Long> topSpenderIds = topSpenderRows.stream().map(r -> (Long) r[0]).collect(Collectors.toList());
+            if (!topSpenderIds.isEmpty()) {
+                for (Member m : memberRepository.findAllById(topSpenderIds)) {
+                    topSpenderMembers.put(m.getId(), m);
+                }
+            }
+            List<Map<String, Object>> topSpenders = new ArrayList<>();
+            for (Object[] row : topSpenderRows) {
+                Long memberId = (Long) row[0];
+                Member member = topSpenderMembers.get(memberId);
+                Map<String, Object> item = new HashMap<>();
+                item.put("memberId", memberId);
+                item.put("totalAmount", row[1] != null ? ((Number) row[1]).intValue() : 0);
+                item.put("memberName", member != null ? member.getName() : "-");
+                item.put("memberNumber", member != null ? member.getMemberNumber() : "-");
+                topSpenders.add(item);
             }
-            List<Map<String, Object>> topSpenders = memberTotalInPeriod.entrySet().stream()
-                    .sorted((a, b) -> Integer.compare(b.getValue(), a.getValue()))
-                    .limit(15)
-                    .map(e -> {
-                        Long memberId = e.getKey();
-                        Member member = members.stream()
-                                .filter(m -> m != null && memberId.equals(m.getId()))
-                                .findFirst()
-                                .orElse(null);
-                        Map<String, Object> item = new HashMap<>();
-                        item.put("memberId", memberId);
-                        item.put("totalAmount", e.getValue());
-                        item.put("memberName", member != null ? member.getName() : "-");
-                        item.put("memberNumber", member != null ? member.getMemberNumber() : "-");
-                        return item;
-                    })
-                    .collect(Collectors.toList());
             memberMetrics.put("topSpenders", topSpenders);
             memberMetrics.put("topSpendersScope", scope);
             
@@ -302,7 +217,29 @@ public class AnalyticsController {
         }
     }
     
-    private Map<String, Object> calculateOperationalMetrics(List<Booking> bookings, List<Facility> facilities, LocalDate start, LocalDate end) {
+    /**
+     * 일별 통계 집계 전체 재구축 (관리자 전용). 평소에는 저장/삭제 커밋 후 해당 일자만 갱신된다.
+     */
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildRollups(HttpServletRequest request) {
+        String role = request != null ? (String) request.getAttribute("role") : null;
+        if (role == null || !role.equals("ADMIN")) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "관리자만 사용할 수 있습니다.");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+        }
+        try {
+            return ResponseEntity.ok(analyticsRollupService.rebuildAll());
+        } catch (Exception e) {
+            logger.error("일별 통계 집계 재구축 실패: {}", e.getMessage(), e);
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "일별 통계 집계 재구축 중 오류가 발생했습니다.");
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+    
+    private Map<String, Object> calculateOperationalMetrics(List<DailyBookingRollup> bookingRollups, List<Facility> facilities, LocalDate start, LocalDate end) {
         Map<String, Object> metrics = new HashMap<>();
         
         // 기간 정보 추가
@@ -312,121 +249,71 @@ public class AnalyticsController {
         metrics.put("periodEnd", end.toString());
         
         // 취소율 및 노쇼율 계산
-        if (bookings.isEmpty()) {
+        long totalBookings = bookingRollups.stream().mapToLong(DailyBookingRollup::getBookingCount).sum();
+        if (totalBookings == 0) {
             metrics.put("cancelRate", 0.0);
             metrics.put("noShowRate", 0.0);
         } else {
-            long totalBookings = bookings.size();
-            long cancelledCount = bookings.stream()
-                    .filter(b -> b.getStatus() == Booking.BookingStatus.CANCELLED)
-                    .count();
-            long noShowCount = bookings.stream()
-                    .filter(b -> b.getStatus() == Booking.BookingStatus.NO_SHOW)
-                    .count();
-            
-            double cancelRate = totalBookings > 0 ? (double) cancelledCount / totalBookings : 0.0;
-            double noShowRate = totalBookings > 0 ? (double) noShowCount / totalBookings : 0.0;
-            
-            metrics.put("cancelRate", cancelRate);
-            metrics.put("noShowRate", noShowRate);
+            long cancelledCount = bookingRollups.stream()
+                    .filter(r -> Booking.BookingStatus.CANCELLED.name().equals(r.getStatus()))
+                    .mapToLong(DailyBookingRollup::getBookingCount)
+                    .sum();
+            long noShowCount = bookingRollups.stream()
+                    .filter(r -> Booking.BookingStatus.NO_SHOW.name().equals(r.getStatus()))
+                    .mapToLong(DailyBookingRollup::getBookingCount)
+                    .sum();
+            
+            metrics.put("cancelRate", (double) cancelledCount / totalBookings);
+            metrics.put("noShowRate", (double) noShowCount / totalBookings);
         }
         
+        // 가동률 집계 대상 상태 (확정/완료/대기, 취소/노쇼 제외)
+        Set<String> utilizedStatuses = new HashSet<>(Arrays.asList(
+                Booking.BookingStatus.CONFIRMED.name(),
+                Booking.BookingStatus.COMPLETED.name(),
+                Booking.BookingStatus.PENDING.name()));
+        
         // 시설별 가동률 계산
         List<Map<String, Object>> facilityUtilization = new ArrayList<>();
-        logger.info("시설별 가동률 계산 시작 - 시설 수: {}, 예약 수: {}", facilities.size(), bookings.size());
         
         for (Facility facility : facilities) {
-            // 해당 시설의 예약 필터링 (확정/완료/대기 상태 모두 포함, 취소/노쇼 제외)
-            List<Booking> facilityBookings = bookings.stream()
-                    .filter(b -> {
-                        try {
-                            if (b.getFacility() == null) return false;
-                            // LAZY 로딩된 facility의 ID를 안전하게 비교
-                            Long facilityId = b.getFacility().getId();
-                            boolean matches = facilityId != null && facilityId.equals(facility.getId()) &&
-                                           (b.getStatus() == Booking.BookingStatus.CONFIRMED || 
-                                            b.getStatus() == Booking.BookingStatus.COMPLETED ||
-                                            b.getStatus() == Booking.BookingStatus.PENDING);
-                            return matches;
-                        } catch (Exception e) {
-                            logger.warn("예약 필터링 중 오류 (Booking ID: {}): {}", b.getId(), e.getMessage());
-                            return false;
-                        }
-                    })
+            // 해당 시설의 집계 행 (가동률 대상 상태만)
+            List<DailyBookingRollup> facilityRows = bookingRollups.stream()
+                    .filter(r -> facility.getId() != null && facility.getId().equals(r.getFacilityId())
+                            && utilizedStatuses.contains(r.getStatus()))
                     .collect(Collectors.toList());
             
-            logger.info("시설 {} - 필터링된 예약 수: {}", facility.getName(), facilityBookings.size());
-            
             // 예약된 총 시간 계산 (분 단위) 및 시간대별 통계
             long totalBookedMinutes = 0;
+            int bookingCount = 0;
             Map<Integer, Long> hourlyBookingCount = new HashMap<>(); // 시간대별 예약 횟수
             Map<Integer, Long> hourlyBookingMinutes = new HashMap<>(); // 시간대별 예약 시간(분)
+            Set<LocalDate> bookingDates = new HashSet<>(); // 예약이 있는 날짜
             
-            for (Booking booking : facilityBookings) {
-                try {
-                    if (booking.getStartTime() != null && booking.getEndTime() != null) {
-                        long minutes = java.time.Duration.between(booking.getStartTime(), booking.getEndTime()).toMinutes();
-                        logger.info("  예약 ID {}: 시작={}, 종료={}, 시간(분)={}", 
-                            booking.getId(), booking.getStartTime(), booking.getEndTime(), minutes);
-                        
-                        // 예약 시간이 0이거나 음수인 경우 기본값 사용
-                        if (minutes <= 0) {
-                            int defaultMinutes = getDefaultSessionDuration();
-                            logger.warn("예약 시간이 0이거나 음수입니다 - Booking ID: {}, 시작: {}, 종료: {}, 계산된 분: {}. 기본값 {}분 사용", 
-                                booking.getId(), booking.getStartTime(), booking.getEndTime(), minutes, defaultMinutes);
-                            minutes = defaultMinutes;
-                        }
-                        totalBookedMinutes += minutes;
-                        
-                        // 시간대별 통계 (시작 시간 기준)
-                        int startHour = booking.getStartTime().getHour();
-                        hourlyBookingCount.put(startHour, hourlyBookingCount.getOrDefault(startHour, 0L) + 1);
-                        hourlyBookingMinutes.put(startHour, hourlyBookingMinutes.getOrDefault(startHour, 0L) + minutes);
-                    } else {
-                        int defaultMinutes = getDefaultSessionDuration();
-                        logger.warn("예약 시간 정보 없음 - Booking ID: {}, 시작: {}, 종료: {}. 기본값 {}분 사용", 
-                            booking.getId(), booking.getStartTime(), booking.getEndTime(), defaultMinutes);
-                        totalBookedMinutes += defaultMinutes;
-                    }
-                } catch (Exception e) {
-                    int defaultMinutes = getDefaultSessionDuration();
-                    logger.warn("예약 시간 계산 중 오류 (Booking ID: {}): {}. 기본값 {}분 사용", booking.getId(), e.getMessage(), e, defaultMinutes);
-                    totalBookedMinutes += defaultMinutes;
-                }
-            }
-            
-            // 예약이 있는 날짜 수 계산
-            java.util.Set<LocalDate> bookingDates = new java.util.HashSet<>();
-            for (Booking booking : facilityBookings) {
-                if (booking.getStartTime() != null) {
-                    bookingDates.add(booking.getStartTime().toLocalDate());
-                }
-            }
-            int usedDays = bookingDates.size();
-            
-            // 대관(RENTAL) 예약 발생 횟수 / 사용 완료 횟수 및 사용 시간 계산
+            // 대관(RENTAL) 예약 발생 횟수 / 사용 완료 횟수 및 사용 시간
             long rentalBookedMinutes = 0;
             int rentalCount = 0;           // 예약 발생 건수 (대관 예약 전체)
             int rentalCompletedCount = 0; // 사용 완료 건수 (상태 COMPLETED)
-            for (Booking booking : facilityBookings) {
-                if (booking.getPurpose() != null && booking.getPurpose() == Booking.BookingPurpose.RENTAL) {
-                    rentalCount++;
-                    if (booking.getStatus() == Booking.BookingStatus.COMPLETED) {
-                        rentalCompletedCount++;
-                    }
-                    try {
-                        if (booking.getStartTime() != null && booking.getEndTime() != null) {
-                            long minutes = java.time.Duration.between(booking.getStartTime(), booking.getEndTime()).toMinutes();
-                            if (minutes <= 0) minutes = getDefaultSessionDuration();
-                            rentalBookedMinutes += minutes;
-                        } else {
-                            rentalBookedMinutes += getDefaultSessionDuration();
-                        }
-                    } catch (Exception e) {
-                        rentalBookedMinutes += getDefaultSessionDuration();
+            
+            for (DailyBookingRollup row : facilityRows) {
+                int count = row.getBookingCount();
+                long minutes = row.getBookedMinutes();
+                bookingCount += count;
+                totalBookedMinutes += minutes;
+                hourlyBookingCount.merge(row.getStartHour(), (long) count, Long::sum);
+                hourlyBookingMinutes.merge(row.getStartHour(), minutes, Long::sum);
+                if (count > 0) {
+                    bookingDates.add(row.getStatDate());
+                }
+                if (Booking.BookingPurpose.RENTAL.name().equals(row.getPurpose())) {
+                    rentalCount += count;
+                    if (Booking.BookingStatus.COMPLETED.name().equals(row.getStatus())) {
+                        rentalCompletedCount += count;
                     }
+                    rentalBookedMinutes += minutes;
                 }
             }
+            int usedDays = bookingDates.size();
             double rentalHours = Math.round(rentalBookedMinutes / 60.0 * 10.0) / 10.0;
             
             // 운영 가능 시간 계산 (분 단위)
@@ -450,44 +337,21 @@ public class AnalyticsController {
                 }
                 
                 totalAvailableMinutes = dailyMinutes * totalDaysInPeriod;
-                logger.info("시설 {} - 운영 시간: {} ~ {}, 일수: {}, 일일 운영 시간(분): {}, 총 운영 시간(분): {}", 
-                    facility.getName(), openTime, closeTime, totalDaysInPeriod, dailyMinutes, totalAvailableMinutes);
             } else {
                 // 운영 시간이 설정되지 않은 경우, 기본값 사용
                 int defaultOperatingHours = com.afbscenter.constants.BookingDefaults.DEFAULT_OPERATING_HOURS;
                 dailyMinutes = defaultOperatingHours * 60; // 하루 기본 시간 = 분
                 totalAvailableMinutes = dailyMinutes * totalDaysInPeriod;
-                logger.info("시설 {} - 운영 시간 미설정, 기본값 {}시간 사용, 일수: {}, 총 운영 시간(분): {}", 
-                    facility.getName(), defaultOperatingHours, totalDaysInPeriod, totalAvailableMinutes);
             }
             
             // 가동률 계산 (%)
             double utilizationRate = 0.0;
             if (totalAvailableMinutes > 0) {
                 utilizationRate = (double) totalBookedMinutes / totalAvailableMinutes * 100.0;
-            } else {
-                logger.warn("시설 {} - 운영 가능 시간이 0입니다. 가동률 계산 불가", facility.getName());
             }
             
-            // 디버깅 로그 (모든 시설에 대해 상세 정보 출력)
-            logger.info("시설 가동률 계산 - 시설: {}, 예약 수: {}, 예약 시간(분): {}, 운영 가능 시간(분): {}, 가동률: {}%", 
-                facility.getName(), facilityBookings.size(), totalBookedMinutes, totalAvailableMinutes, utilizationRate);
-            
-            // 예약이 있는데 가동률이 0인 경우 상세 로그
-            if (facilityBookings.size() > 0 && utilizationRate == 0.0) {
-                logger.error("시설 가동률 0 경고 - 시설: {}, 예약 수: {}, 예약 시간(분): {}, 운영 가능 시간(분): {}", 
-                    facility.getName(), facilityBookings.size(), totalBookedMinutes, totalAvailableMinutes);
-                // 예약 상세 정보 로그
-                for (Booking booking : facilityBookings) {
-                    try {
-                        logger.error("  - 예약 ID: {}, 상태: {}, 시작: {}, 종료: {}, 시설 ID: {}", 
-                            booking.getId(), booking.getStatus(), booking.getStartTime(), booking.getEndTime(),
-                            booking.getFacility() != null ? booking.getFacility().getId() : "null");
-                    } catch (Exception e) {
-                        logger.error("  - 예약 ID: {} 로그 출력 실패: {}", booking.getId(), e.getMessage());
-                    }
-                }
-            }
+            logger.debug("시설 가동률 - {}: 예약 {}건, 예약 {}분 / 운영 {}분 = {}%",
+                facility.getName(), bookingCount, totalBookedMinutes, totalAvailableMinutes, utilizationRate);
             
             // 모든 활성 시설 표시 (가동률이 0이어도 표시)
             if (facility.getActive() != null && facility.getActive()) {
@@ -499,7 +363,7 @@ public class AnalyticsController {
                 facilityData.put("availableMinutes", totalAvailableMinutes);
                 facilityData.put("totalDays", totalDaysInPeriod);
                 facilityData.put("usedDays", usedDays);
-                facilityData.put("bookingCount", facilityBookings.size());
+                facilityData.put("bookingCount", bookingCount);
                 facilityData.put("totalHours", Math.round(totalBookedMinutes / 60.0 * 10.0) / 10.0); // 시간 단위로 변환
                 facilityData.put("availableHours", Math.round(totalAvailableMinutes / 60.0 * 10.0) / 10.0); // 시간 단위로 변환
                 facilityData.put("rentalCount", rentalCount);
@@ -529,8 +393,6 @@ public class AnalyticsController {
                         hourlyStats.add(hourData);
                     }
                 }
-                // 시간대별로 정렬
-                hourlyStats.sort((a, b) -> Integer.compare((Integer) a.get("hour"), (Integer) b.get("hour")));
                 facilityData.put("hourlyStats", hourlyStats);
                 
                 facilityUtilization.add(facilityData);
@@ -538,16 +400,12 @@ public class AnalyticsController {
         }
         metrics.put("facilityUtilization", facilityUtilization);
         
-        // 시간대별 수요 계산 (0시~23시)
+        // 시간대별 수요 계산 (0시~23시), 확정/완료 예약만 집계
         Map<Integer, Long> hourlyDemand = new HashMap<>();
-        
-        // 확정/완료 예약만 집계
-        for (Booking booking : bookings) {
-            if ((booking.getStatus() == Booking.BookingStatus.CONFIRMED || 
-                 booking.getStatus() == Booking.BookingStatus.COMPLETED) &&
-                booking.getStartTime() != null) {
-                int hour = booking.getStartTime().getHour();
-                hourlyDemand.put(hour, hourlyDemand.getOrDefault(hour, 0L) + 1);
+        for (DailyBookingRollup row : bookingRollups) {
+            if (Booking.BookingStatus.CONFIRMED.name().equals(row.getStatus()) ||
+                Booking.BookingStatus.COMPLETED.name().equals(row.getStatus())) {
+                hourlyDemand.merge(row.getStartHour(), (long) row.getBookingCount(), Long::sum);
             }
         }
         
@@ -576,7 +434,8 @@ public class AnalyticsController {
         return metrics;
     }
     
-    private Map<String, Object> calculateRevenueMetrics(List<Payment> payments, LocalDate start, LocalDate end) {
+    private Map<String, Object> calculateRevenueMetrics(List<DailyRevenueRollup> revenueRollups, List<DailyRevenueRollup> prevRevenueRollups,
+                                                        LocalDate start, LocalDate end) {
         Map<String, Object> revenue = new HashMap<>();
         
         // 기간 일수 계산
@@ -592,50 +451,20 @@ public class AnalyticsController {
         LocalDateTime prevStartDateTime = prevStart.atStartOfDay();
         LocalDateTime prevEndDateTime = prevEnd.atTime(LocalTime.MAX);
         
-        // 전월 결제 데이터 조회
-        List<Payment> prevPayments = paymentRepository.findAllWithCoach().stream()
-                .filter(p -> p.getPaidAt() != null && 
-                           !p.getPaidAt().isBefore(prevStartDateTime) && 
-                           !p.getPaidAt().isAfter(prevEndDateTime))
-                .collect(Collectors.toList());
+        // 코치 이름 (집계 행은 코치 ID로 보관)
+        Map<Long, String> coachNames = new HashMap<>();
+        for (Coach coach : referenceDataCache.get(ReferenceDataCache.Region.COACHES, "all", () -> List.copyOf(coachRepository.findAll()))) {
+            coachNames.put(coach.getId(), coach.getName());
+        }
+        java.util.function.Function<Long, String> coachNameOf = coachId -> {
+            String name = coachId != null ? coachNames.get(coachId) : null;
+            return name != null ? name : "미지정";
+        };
         
         // 전월 카테고리별 매출 계산
         Map<String, Integer> prevByCategory = new HashMap<>();
-        for (Payment payment : prevPayments) {
-            if (AccountingPolicy.excludedFromRevenueSummary(payment)) continue;
-            int amount = payment.getAmount() != null ? payment.getAmount() : 0;
-            int refund = payment.getRefundAmount() != null ? payment.getRefundAmount() : 0;
-            int netAmount = amount - refund;
-            
-            // 카테고리 결정: 명시적으로 설정된 경우 우선, 없으면 자동 판단
-            String category = null;
-            if (payment.getCategory() != null) {
-                category = payment.getCategory().name();
-            } else {
-                // 카테고리 자동 판단
-                if (payment.getBooking() != null) {
-                    try {
-                        com.afbscenter.model.Booking booking = payment.getBooking();
-                        if (booking.getPurpose() == com.afbscenter.model.Booking.BookingPurpose.RENTAL) {
-                            category = "RENTAL";
-                        } else if (booking.getPurpose() == com.afbscenter.model.Booking.BookingPurpose.LESSON) {
-                            category = "LESSON";
-                        }
-                    } catch (Exception e) {
-                        logger.debug("예약 정보 로드 실패: Payment ID={}", payment.getId(), e);
-                    }
-                }
-                
-                if (category == null && payment.getProduct() != null) {
-                    category = "PRODUCT_SALE";
-                }
-                
-                if (category == null) {
-                    category = "OTHER";
-                }
-            }
-            
-            prevByCategory.put(category, prevByCategory.getOrDefault(category, 0) + netAmount);
+        for (DailyRevenueRollup row : prevRevenueRollups) {
+            prevByCategory.merge(row.getCategoryKey(), row.getNetAmount().intValue(), Integer::sum);
         }
         
         // 카테고리별 매출
@@ -643,90 +472,20 @@ public class AnalyticsController {
         Map<String, Map<String, Integer>> categoryCoachRevenue = new HashMap<>(); // 카테고리별 코치별 매출
         Map<LocalDate, Integer> dailyRevenue = new HashMap<>(); // 일별 매출 (최고 매출일 찾기용)
         
-        logger.info("매출 지표 계산 시작 - 결제 수: {}건, 기간: {} ~ {}", payments.size(), start, end);
+        logger.info("매출 지표 계산 시작 - 집계 행: {}행, 기간: {} ~ {}", revenueRollups.size(), start, end);
         
-        for (Payment payment : payments) {
-            if (AccountingPolicy.excludedFromRevenueSummary(payment)) continue;
-            int amount = payment.getAmount() != null ? payment.getAmount() : 0;
-            int refund = payment.getRefundAmount() != null ? payment.getRefundAmount() : 0;
-            int netAmount = amount - refund;
-            
-            // 카테고리 결정: 명시적으로 설정된 경우 우선, 없으면 자동 판단
-            String category = null;
-            String productCategory = null; // 상품 카테고리 (야구, 필라테스, 트레이닝 등)
+        for (DailyRevenueRollup row : revenueRollups) {
+            int netAmount = row.getNetAmount().intValue();
+            String finalCategory = row.getCategoryKey();
             
-            if (payment.getCategory() != null) {
-                category = payment.getCategory().name();
-            } else {
-                // 카테고리 자동 판단
-                if (payment.getBooking() != null) {
-                    // 예약이 있으면 목적에 따라 판단
-                    try {
-                        com.afbscenter.model.Booking booking = payment.getBooking();
-                        if (booking.getPurpose() == com.afbscenter.model.Booking.BookingPurpose.RENTAL) {
-                            category = "RENTAL";
-                        } else if (booking.getPurpose() == com.afbscenter.model.Booking.BookingPurpose.LESSON) {
-                            category = "LESSON";
-                        }
-                    } catch (Exception e) {
-                        logger.debug("예약 정보 로드 실패: Payment ID={}", payment.getId(), e);
-                    }
-                }
-                
-                // Product가 있으면 상품판매로 판단
-                if (category == null && payment.getProduct() != null) {
-                    category = "PRODUCT_SALE";
-                    try {
-                        com.afbscenter.model.Product product = payment.getProduct();
-                        if (product.getCategory() != null) {
-                            productCategory = product.getCategory().name();
-                        }
-                    } catch (Exception e) {
-                        logger.debug("상품 정보 로드 실패: Payment ID={}", payment.getId(), e);
-                    }
-                }
-                
-                // 여전히 null이면 기타로 처리
-                if (category == null) {
-                    category = "OTHER";
-                }
-            }
-            
-            // 상품 카테고리가 있으면 "상품판매 - {상품카테고리}" 형식으로 저장
-            String finalCategory = category;
-            if (category.equals("PRODUCT_SALE") && productCategory != null) {
-                finalCategory = "PRODUCT_SALE_" + productCategory;
-            }
-            
-            byCategory.put(finalCategory, byCategory.getOrDefault(finalCategory, 0) + netAmount);
-            
-            logger.debug("결제 카테고리 분류 - Payment ID: {}, Category: {}, Amount: {}, NetAmount: {}", 
-                payment.getId(), category, amount, netAmount);
+            byCategory.merge(finalCategory, netAmount, Integer::sum);
             
             // 코치별 매출 집계 (카테고리별)
-            com.afbscenter.model.Coach coach = null;
-            try {
-                if (payment.getBooking() != null && payment.getBooking().getCoach() != null) {
-                    coach = payment.getBooking().getCoach();
-                } else if (payment.getMember() != null && payment.getMember().getCoach() != null) {
-                    coach = payment.getMember().getCoach();
-                }
-            } catch (Exception e) {
-                logger.debug("코치 정보 로드 실패: Payment ID={}", payment.getId(), e);
-            }
-            
-            String coachName = (coach != null && coach.getName() != null) ? coach.getName() : "미지정";
-            if (!categoryCoachRevenue.containsKey(finalCategory)) {
-                categoryCoachRevenue.put(finalCategory, new HashMap<>());
-            }
-            categoryCoachRevenue.get(finalCategory).put(coachName, 
-                categoryCoachRevenue.get(finalCategory).getOrDefault(coachName, 0) + netAmount);
+            categoryCoachRevenue.computeIfAbsent(finalCategory, k -> new HashMap<>())
+                    .merge(coachNameOf.apply(row.getCoachId()), netAmount, Integer::sum);
             
             // 일별 매출 집계
-            if (payment.getPaidAt() != null) {
-                LocalDate date = payment.getPaidAt().toLocalDate();
-                dailyRevenue.put(date, dailyRevenue.getOrDefault(date, 0) + netAmount);
-            }
+            dailyRevenue.merge(row.getStatDate(), netAmount, Integer::sum);
         }
         
         // 상품 카테고리 한글 변환 함수 (먼저 정의)
@@ -848,7 +607,7 @@ public class AnalyticsController {
         });
         
         // Payment 데이터가 없으면 MemberProduct 기반으로 매출 계산
-        if (byCategoryList.isEmpty() && payments.isEmpty()) {
+        if (byCategoryList.isEmpty() && revenueRollups.isEmpty()) {
             logger.warn("Payment 데이터가 없습니다. MemberProduct 기반으로 매출 계산 시작. 기간: {} ~ {}", start, end);
             
             try {
@@ -989,16 +748,6 @@ public class AnalyticsController {
             } catch (Exception e) {
                 logger.error("MemberProduct 기반 매출 계산 중 오류 발생: {}", e.getMessage(), e);
             }
-        } else if (byCategoryList.isEmpty() && !payments.isEmpty()) {
-            logger.error("⚠️ 결제 데이터는 있지만 카테고리별 매출이 없습니다! 결제 수: {}건", payments.size());
-            logger.error("⚠️ byCategory 맵 내용: {}", byCategory);
-            for (Payment p : payments) {
-                logger.error("⚠️ 결제 정보 - ID: {}, Amount: {}, Category: {}, Status: {}, Booking: {}, Product: {}, PaidAt: {}", 
-                    p.getId(), p.getAmount(), p.getCategory(), p.getStatus(),
-                    p.getBooking() != null ? p.getBooking().getId() : null,
-                    p.getProduct() != null ? p.getProduct().getId() : null,
-                    p.getPaidAt());
-            }
         } else {
             logger.info("✅ 카테고리별 매출 집계 완료 - 총 {}개 카테고리, 총 매출: {}", byCategoryList.size(), totalRevenue);
             for (Map<String, Object> item : byCategoryList) {
@@ -1018,28 +767,10 @@ public class AnalyticsController {
                 .map(item -> item.get("label") + "=" + item.get("value"))
                 .collect(Collectors.joining(", ")));
         
-        // 코치별 매출
+        // 코치별 매출 (예약의 코치 우선, 없으면 회원의 담당 코치)
         Map<String, Integer> byCoach = new HashMap<>();
-        for (Payment payment : payments) {
-            if (AccountingPolicy.excludedFromRevenueSummary(payment)) continue;
-            // 코치 정보 가져오기 (예약의 코치 우선, 없으면 회원의 담당 코치)
-            com.afbscenter.model.Coach coach = null;
-            try {
-                if (payment.getBooking() != null && payment.getBooking().getCoach() != null) {
-                    coach = payment.getBooking().getCoach();
-                } else if (payment.getMember() != null && payment.getMember().getCoach() != null) {
-                    coach = payment.getMember().getCoach();
-                }
-            } catch (Exception e) {
-                logger.warn("코치 정보 로드 실패: Payment ID={}", payment.getId(), e);
-            }
-            
-            String coachName = (coach != null && coach.getName() != null) ? coach.getName() : "미지정";
-            int amount = payment.getAmount() != null ? payment.getAmount() : 0;
-            int refund = payment.getRefundAmount() != null ? payment.getRefundAmount() : 0;
-            int netAmount = amount - refund;
-            
-            byCoach.put(coachName, byCoach.getOrDefault(coachName, 0) + netAmount);
+        for (DailyRevenueRollup row : revenueRollups) {
+            byCoach.merge(coachNameOf.apply(row.getCoachId()), row.getNetAmount().intValue(), Integer::sum);
         }
         
         // 코치별 매출 차트용 데이터 형식으로 변환
@@ -1058,57 +789,34 @@ public class AnalyticsController {
         revenue.put("byCoach", byCoachList);
         
         // 상품별 매출 (상품명, 판매 횟수, 총 금액, 판매한 코치 정보)
+        Map<Long, String> productNames = new HashMap<>();
+        for (Product product : referenceDataCache.get(ReferenceDataCache.Region.PRODUCTS, "all", () -> List.copyOf(productRepository.findAll()))) {
+            productNames.put(product.getId(), product.getName());
+        }
         Map<String, Map<String, Object>> byProduct = new HashMap<>();
         Map<String, Map<String, Integer>> productCoachCount = new HashMap<>(); // 상품별 코치별 판매 횟수
         
-        for (Payment payment : payments) {
-            if (AccountingPolicy.excludedFromRevenueSummary(payment)) continue;
-            if (payment.getCategory() == Payment.PaymentCategory.PRODUCT_SALE && payment.getProduct() != null) {
-                try {
-                    String productName = payment.getProduct().getName();
-                    if (productName == null) continue;
-                    
-                    // 코치 정보 가져오기
-                    com.afbscenter.model.Coach coach = null;
-                    try {
-                        if (payment.getBooking() != null && payment.getBooking().getCoach() != null) {
-                            coach = payment.getBooking().getCoach();
-                        } else if (payment.getMember() != null && payment.getMember().getCoach() != null) {
-                            coach = payment.getMember().getCoach();
-                        }
-                    } catch (Exception e) {
-                        logger.warn("코치 정보 로드 실패: Payment ID={}", payment.getId(), e);
-                    }
-                    
-                    String coachName = (coach != null && coach.getName() != null) ? coach.getName() : "미지정";
-                    
-                    int amount = payment.getAmount() != null ? payment.getAmount() : 0;
-                    int refund = payment.getRefundAmount() != null ? payment.getRefundAmount() : 0;
-                    int netAmount = amount - refund;
-                    
-                    // 상품별 매출 집계
-                    if (!byProduct.containsKey(productName)) {
-                        Map<String, Object> productData = new HashMap<>();
-                        productData.put("productName", productName);
-                        productData.put("totalAmount", 0);
-                        productData.put("count", 0);
-                        productData.put("coaches", new HashMap<String, Integer>());
-                        byProduct.put(productName, productData);
-                        productCoachCount.put(productName, new HashMap<>());
-                    }
-                    
-                    Map<String, Object> productData = byProduct.get(productName);
-                    productData.put("totalAmount", (Integer) productData.get("totalAmount") + netAmount);
-                    productData.put("count", (Integer) productData.get("count") + 1);
-                    
-                    // 코치별 판매 횟수 집계
-                    Map<String, Integer> coachCount = productCoachCount.get(productName);
-                    coachCount.put(coachName, coachCount.getOrDefault(coachName, 0) + 1);
-                    
-                } catch (Exception e) {
-                    logger.warn("상품별 매출 집계 중 오류: Payment ID={}", payment.getId(), e);
-                }
+        for (DailyRevenueRollup row : revenueRollups) {
+            if (row.getSaleProductId() == null) continue;
+            String productName = productNames.get(row.getSaleProductId());
+            if (productName == null) continue;
+            
+            // 상품별 매출 집계
+            if (!byProduct.containsKey(productName)) {
+                Map<String, Object> productData = new HashMap<>();
+                productData.put("productName", productName);
+                productData.put("totalAmount", 0);
+                productData.put("count", 0);
+                byProduct.put(productName, productData);
+                productCoachCount.put(productName, new HashMap<>());
             }
+            
+            Map<String, Object> productData = byProduct.get(productName);
+            productData.put("totalAmount", (Integer) productData.get("totalAmount") + row.getNetAmount().intValue());
+            productData.put("count", (Integer) productData.get("count") + row.getPaymentCount());
+            
+            // 코치별 판매 횟수 집계
+            productCoachCount.get(productName).merge(coachNameOf.apply(row.getCoachId()), row.getPaymentCount(), Integer::sum);
         }
         
         // 상품별 매출 데이터 형식으로 변환 (매출 금액 순으로 정렬)
@@ -1143,16 +851,8 @@ public class AnalyticsController {
         // 매출 추이 (일별) - dailyRevenue는 이미 위에서 계산됨
         // 전월 일별 매출 계산
         Map<LocalDate, Integer> prevDailyRevenue = new HashMap<>();
-        for (Payment payment : prevPayments) {
-            if (AccountingPolicy.excludedFromRevenueSummary(payment)) continue;
-            if (payment.getPaidAt() != null) {
-                LocalDate date = payment.getPaidAt().toLocalDate();
-                int amount = payment.getAmount() != null ? payment.getAmount() : 0;
-                int refund = payment.getRefundAmount() != null ? payment.getRefundAmount() : 0;
-                int netAmount = amount - refund;
-                
-                prevDailyRevenue.put(date, prevDailyRevenue.getOrDefault(date, 0) + netAmount);
-            }
+        for (DailyRevenueRollup row : prevRevenueRollups) {
+            prevDailyRevenue.merge(row.getStatDate(), row.getNetAmount().intValue(), Integer::sum);
         }
         
         // 모든 날짜 포함 (매출이 없는 날도 포함)
@@ -1280,120 +980,89 @@ public class AnalyticsController {
         return revenue;
     }
     
-    private Map<String, Object> calculateMemberMetrics(List<Member> members, LocalDate start, LocalDate end) {
+    private Map<String, Object> calculateMemberMetrics(LocalDate start, LocalDate end) {
         Map<String, Object> metrics = new HashMap<>();
         
-        // 총 회원 수
-        long totalCount = members.size();
-        metrics.put("totalCount", totalCount);
+        // 최근 방문 회원 수 계산용 날짜 (30일 전) - 등급별 통계에서도 사용
+        LocalDate thirtyDaysAgo = LocalDate.now().minusDays(30);
         
-        // 활성 회원 수
-        long activeCount = members.stream()
-                .filter(m -> m != null && m.getStatus() == Member.MemberStatus.ACTIVE)
-                .count();
-        metrics.put("activeCount", activeCount);
+        // 등급 × 상태별 회원 수 (DB 집계)
+        long totalCount = 0L;
+        long activeCount = 0L;
+        long inactiveCount = 0L;
+        long withdrawnCount = 0L;
+        Map<String, Long> gradeDistribution = new HashMap<>();
+        Map<String, Map<String, Long>> gradeStatusDistribution = new HashMap<>(); // 등급별 상태 분포
+        Map<String, Long> gradeActiveCount = new HashMap<>(); // 등급별 활성 회원 수
+        Map<String, Long> gradeRecentVisitors = new HashMap<>(); // 등급별 최근 방문 회원 수
         
-        // 휴면 회원 수
-        long inactiveCount = members.stream()
-                .filter(m -> m != null && m.getStatus() == Member.MemberStatus.INACTIVE)
-                .count();
-        metrics.put("inactiveCount", inactiveCount);
+        for (Object[] row : memberRepository.countGroupByGradeAndStatus()) {
+            Member.MemberGrade grade = (Member.MemberGrade) row[0];
+            Member.MemberStatus status = (Member.MemberStatus) row[1];
+            long count = ((Number) row[2]).longValue();
+            totalCount += count;
+            if (status == Member.MemberStatus.ACTIVE) activeCount += count;
+            if (status == Member.MemberStatus.INACTIVE) inactiveCount += count;
+            if (status == Member.MemberStatus.WITHDRAWN) withdrawnCount += count;
+            
+            if (grade == null) continue;
+            String gradeName = grade.name();
+            gradeDistribution.merge(gradeName, count, Long::sum);
+            String statusName = status != null ? status.name() : "UNKNOWN";
+            gradeStatusDistribution.computeIfAbsent(gradeName, k -> new HashMap<>()).merge(statusName, count, Long::sum);
+            if (status == Member.MemberStatus.ACTIVE) {
+                gradeActiveCount.merge(gradeName, count, Long::sum);
+            }
+        }
+        for (Object[] row : memberRepository.countRecentVisitorsGroupByGrade(thirtyDaysAgo)) {
+            gradeRecentVisitors.put(((Member.MemberGrade) row[0]).name(), ((Number) row[1]).longValue());
+        }
         
-        // 이탈 회원 수
-        long withdrawnCount = members.stream()
-                .filter(m -> m != null && m.getStatus() == Member.MemberStatus.WITHDRAWN)
-                .count();
+        metrics.put("totalCount", totalCount);
+        metrics.put("activeCount", activeCount);
+        metrics.put("inactiveCount", inactiveCount);
         metrics.put("withdrawnCount", withdrawnCount);
         
-        // 기간 내 신규 회원 수
-        long newMembersInPeriod = members.stream()
-                .filter(m -> m != null && m.getJoinDate() != null)
-                .filter(m -> {
-                    LocalDate joinDate = m.getJoinDate();
-                    return !joinDate.isBefore(start) && !joinDate.isAfter(end);
-                })
-                .count();
+        // 기간 내 신규/이탈 (일별 회원 집계: 가입일 기준 신규, updatedAt 기준 이탈)
+        Map<LocalDate, Long> dailyNewMembers = new HashMap<>();
+        Map<LocalDate, Long> dailyWithdrawnMembers = new HashMap<>();
+        for (DailyMemberRollup row : dailyMemberRollupRepository.findByStatDateBetween(start, end)) {
+            if (row.getNewMembers() > 0) dailyNewMembers.put(row.getStatDate(), (long) row.getNewMembers());
+            if (row.getWithdrawnMembers() > 0) dailyWithdrawnMembers.put(row.getStatDate(), (long) row.getWithdrawnMembers());
+        }
+        long newMembersInPeriod = dailyNewMembers.values().stream().mapToLong(Long::longValue).sum();
+        long withdrawnInPeriod = dailyWithdrawnMembers.values().stream().mapToLong(Long::longValue).sum();
         metrics.put("newMembersInPeriod", newMembersInPeriod);
-        
-        // 기간 내 이탈 회원 수
-        long withdrawnInPeriod = members.stream()
-                .filter(m -> m != null && m.getStatus() == Member.MemberStatus.WITHDRAWN && m.getUpdatedAt() != null)
-                .filter(m -> {
-                    LocalDate withdrawnDate = m.getUpdatedAt().toLocalDate();
-                    return !withdrawnDate.isBefore(start) && !withdrawnDate.isAfter(end);
-                })
-                .count();
         metrics.put("withdrawnInPeriod", withdrawnInPeriod);
         
         // 순증감 (신규 - 이탈)
         long netChange = newMembersInPeriod - withdrawnInPeriod;
         metrics.put("netChange", netChange);
         
-        // 최근 방문 회원 수 계산용 날짜 (30일 전) - 등급별 통계에서도 사용
-        LocalDate thirtyDaysAgo = LocalDate.now().minusDays(30);
-        
-        // 등급별 회원 분포
-        Map<String, Long> gradeDistribution = new HashMap<>();
-        Map<String, Map<String, Long>> gradeStatusDistribution = new HashMap<>(); // 등급별 상태 분포
-        Map<String, Long> gradeActiveCount = new HashMap<>(); // 등급별 활성 회원 수
-        Map<String, Long> gradeRecentVisitors = new HashMap<>(); // 등급별 최근 방문 회원 수
-        
-        for (Member member : members) {
-            if (member == null || member.getGrade() == null) continue;
-            String grade = member.getGrade().name();
-            gradeDistribution.put(grade, gradeDistribution.getOrDefault(grade, 0L) + 1);
-            
-            // 등급별 상태 분포
-            if (!gradeStatusDistribution.containsKey(grade)) {
-                gradeStatusDistribution.put(grade, new HashMap<>());
-            }
-            String status = member.getStatus() != null ? member.getStatus().name() : "UNKNOWN";
-            gradeStatusDistribution.get(grade).put(status, 
-                gradeStatusDistribution.get(grade).getOrDefault(status, 0L) + 1);
-            
-            // 등급별 활성 회원 수
-            if (member.getStatus() == Member.MemberStatus.ACTIVE) {
-                gradeActiveCount.put(grade, gradeActiveCount.getOrDefault(grade, 0L) + 1);
-            }
-            
-            // 등급별 최근 방문 회원 수
-            if (member.getLastVisitDate() != null && !member.getLastVisitDate().isBefore(thirtyDaysAgo)) {
-                gradeRecentVisitors.put(grade, gradeRecentVisitors.getOrDefault(grade, 0L) + 1);
-            }
-        }
         metrics.put("gradeDistribution", gradeDistribution);
         metrics.put("gradeStatusDistribution", gradeStatusDistribution);
         metrics.put("gradeActiveCount", gradeActiveCount);
         metrics.put("gradeRecentVisitors", gradeRecentVisitors);
         
-        // 카테고리별 회원 통계 (활성 이용권 기준)
+        // 카테고리별 회원 통계 (활성 이용권 기준) 및 회원당 이용권 수 - [memberId, 카테고리] 프로젝션만 조회
         Map<String, Long> categoryMemberCount = new HashMap<>(); // 카테고리별 회원 수
         Map<String, Long> categoryActiveProducts = new HashMap<>(); // 카테고리별 활성 이용권 수
+        Map<Long, Long> memberProductCount = new HashMap<>();
         try {
-            List<com.afbscenter.model.MemberProduct> allMemberProducts = memberProductRepository.findAllByDeletedAtIsNull();
             Set<Long> categoryMemberIds = new HashSet<>();
-            
-            for (com.afbscenter.model.MemberProduct mp : allMemberProducts) {
-                if (mp.getMember() == null || mp.getProduct() == null || 
-                    mp.getStatus() != com.afbscenter.model.MemberProduct.Status.ACTIVE) {
-                    continue;
-                }
-                
-                com.afbscenter.model.Product.ProductCategory category = mp.getProduct().getCategory();
+            for (Object[] row : memberProductRepository.findActiveMemberIdAndCategory()) {
+                Long memberId = (Long) row[0];
+                Product.ProductCategory category = (Product.ProductCategory) row[1];
+                memberProductCount.merge(memberId, 1L, Long::sum);
                 if (category == null) continue;
                 
                 String categoryName = category.name();
-                Long memberId = mp.getMember().getId();
-                
                 // 카테고리별 회원 수 (중복 제거)
-                if (!categoryMemberIds.contains(memberId)) {
-                    categoryMemberCount.put(categoryName, categoryMemberCount.getOrDefault(categoryName, 0L) + 1);
-                    categoryMemberIds.add(memberId);
+                if (categoryMemberIds.add(memberId)) {
+                    categoryMemberCount.merge(categoryName, 1L, Long::sum);
                 }
-                
                 // 카테고리별 활성 이용권 수
-                categoryActiveProducts.put(categoryName, 
-                    categoryActiveProducts.getOrDefault(categoryName, 0L) + 1);
+                categoryActiveProducts.merge(categoryName, 1L, Long::sum);
             }
         } catch (Exception e) {
             logger.warn("카테고리별 회원 통계 계산 실패: {}", e.getMessage());
@@ -1402,80 +1071,28 @@ public class AnalyticsController {
         metrics.put("categoryActiveProducts", categoryActiveProducts);
         
         // 평균 회원당 이용권 수
-        long totalMemberProducts = 0L;
-        long membersWithProducts = 0L;
-        try {
-            List<com.afbscenter.model.MemberProduct> allMemberProducts = memberProductRepository.findAllByDeletedAtIsNull();
-            Map<Long, Long> memberProductCount = new HashMap<>();
-            for (com.afbscenter.model.MemberProduct mp : allMemberProducts) {
-                if (mp.getMember() != null && mp.getStatus() == com.afbscenter.model.MemberProduct.Status.ACTIVE) {
-                    Long memberId = mp.getMember().getId();
-                    memberProductCount.put(memberId, memberProductCount.getOrDefault(memberId, 0L) + 1);
-                }
-            }
-            totalMemberProducts = memberProductCount.values().stream().mapToLong(Long::longValue).sum();
-            membersWithProducts = memberProductCount.size();
-        } catch (Exception e) {
-            logger.warn("이용권 통계 계산 실패: {}", e.getMessage());
-        }
+        long totalMemberProducts = memberProductCount.values().stream().mapToLong(Long::longValue).sum();
+        long membersWithProducts = memberProductCount.size();
         double avgProductsPerMember = activeCount > 0 ? (double) totalMemberProducts / activeCount : 0.0;
         metrics.put("avgProductsPerMember", Math.round(avgProductsPerMember * 10.0) / 10.0);
         metrics.put("totalActiveProducts", totalMemberProducts);
         metrics.put("membersWithProducts", membersWithProducts);
         
-        // 회원 추이 (가입일 기준 신규, updatedAt 기준 이탈)
-        Map<LocalDate, Long> dailyNewMembers = new HashMap<>();
-        Map<LocalDate, Long> dailyWithdrawnMembers = new HashMap<>();
-        
-        for (Member member : members) {
-            if (member == null) continue;
-            
-            // 신규 회원 (가입일 기준)
-            if (member.getJoinDate() != null) {
-                LocalDate joinDate = member.getJoinDate();
-                if (!joinDate.isBefore(start) && !joinDate.isAfter(end)) {
-                    dailyNewMembers.put(joinDate, dailyNewMembers.getOrDefault(joinDate, 0L) + 1);
-                }
-            }
-            
-            // 이탈 회원 (상태가 WITHDRAWN이고 updatedAt이 있는 경우)
-            if (member.getStatus() == Member.MemberStatus.WITHDRAWN && member.getUpdatedAt() != null) {
-                LocalDate withdrawnDate = member.getUpdatedAt().toLocalDate();
-                if (!withdrawnDate.isBefore(start) && !withdrawnDate.isAfter(end)) {
-                    dailyWithdrawnMembers.put(withdrawnDate, dailyWithdrawnMembers.getOrDefault(withdrawnDate, 0L) + 1);
-                }
-            }
-        }
-        
-        // 모든 날짜에 대해 신규/이탈 데이터 생성
-        Set<LocalDate> allDates = new HashSet<>();
+        // 회원 추이 (신규나 이탈이 있는 날짜만 표시)
+        Set<LocalDate> allDates = new TreeSet<>();
         allDates.addAll(dailyNewMembers.keySet());
         allDates.addAll(dailyWithdrawnMembers.keySet());
         
-        // 날짜 범위의 모든 날짜 포함
-        LocalDate current = start;
-        while (!current.isAfter(end)) {
-            allDates.add(current);
-            current = current.plusDays(1);
-        }
-        
-        List<LocalDate> sortedDates = new ArrayList<>(allDates);
-        sortedDates.sort(LocalDate::compareTo);
-        
         List<Map<String, Object>> trend = new ArrayList<>();
-        for (LocalDate date : sortedDates) {
+        for (LocalDate date : allDates) {
             long newCount = dailyNewMembers.getOrDefault(date, 0L);
             long dailyWithdrawnCount = dailyWithdrawnMembers.getOrDefault(date, 0L);
-            
-            // 신규나 이탈이 있는 날짜만 표시
-            if (newCount > 0 || dailyWithdrawnCount > 0) {
-                Map<String, Object> item = new HashMap<>();
-                item.put("label", date.toString());
-                item.put("newCount", newCount);
-                item.put("withdrawnCount", dailyWithdrawnCount);
-                item.put("netChange", newCount - dailyWithdrawnCount); // 순증감
-                trend.add(item);
-            }
+            Map<String, Object> item = new HashMap<>();
+            item.put("label", date.toString());
+            item.put("newCount", newCount);
+            item.put("withdrawnCount", dailyWithdrawnCount);
+            item.put("netChange", newCount - dailyWithdrawnCount); // 순증감
+            trend.add(item);
         }
         
         metrics.put("trend", trend);
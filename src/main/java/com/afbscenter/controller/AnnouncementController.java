@@ -5,6 +5,7 @@ import com.afbscenter.model.Settings;
 import com.afbscenter.repository.AnnouncementRepository;
 import com.afbscenter.repository.SettingsRepository;
 import com.afbscenter.util.MembershipDuesAnnouncementHelper;
+import com.afbscenter.service.ReferenceDataCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
@@ -27,11 +28,19 @@ public class AnnouncementController {
 
     private final AnnouncementRepository announcementRepository;
     private final SettingsRepository settingsRepository;
+    private final ReferenceDataCache referenceDataCache;
 
     public AnnouncementController(AnnouncementRepository announcementRepository,
-                                  SettingsRepository settingsRepository) {
+                                  SettingsRepository settingsRepository,
+                                  ReferenceDataCache referenceDataCache) {
         this.announcementRepository = announcementRepository;
         this.settingsRepository = settingsRepository;
+        this.referenceDataCache = referenceDataCache;
+    }
+
+    /** 설정 행 (기준 데이터 캐시, 읽기 전용 목록) */
+    private List<Settings> cachedSettings() {
+        return referenceDataCache.get(ReferenceDataCache.Region.SETTINGS, "all", () -> List.copyOf(settingsRepository.findAll()));
     }
 
     @GetMapping
@@ -82,7 +91,7 @@ public class AnnouncementController {
     public ResponseEntity<Map<String, Object>> getAnnouncementById(@PathVariable Long id) {
         try {
             if (id != null && id == MembershipDuesAnnouncementHelper.SYNTHETIC_ANNOUNCEMENT_ID) {
-                Settings settings = settingsRepository.findAll().stream().findFirst().orElse(null);
+                Settings settings = cachedSettings().stream().findFirst().orElse(null);
                 if (MembershipDuesAnnouncementHelper.shouldExposeInBell(settings)) {
                     return ResponseEntity.ok(MembershipDuesAnnouncementHelper.toSyntheticMap(settings));
                 }
@@ -131,7 +140,7 @@ public class AnnouncementController {
     }
 
     private void prependMembershipDuesFromSettings(List<Map<String, Object>> result) {
-        Settings settings = settingsRepository.findAll().stream().findFirst().orElse(null);
+        Settings settings = cachedSettings().stream().findFirst().orElse(null);
         if (MembershipDuesAnnouncementHelper.shouldExposeInBell(settings)) {
             result.add(0, MembershipDuesAnnouncementHelper.toSyntheticMap(settings));
         }
@@ -12,9 +12,10 @@ import com.afbscenter.repository.FacilityRepository;
 import com.afbscenter.repository.MemberProductRepository;
 import com.afbscenter.repository.BookingRepository;
 import com.afbscenter.repository.MemberProductHistoryRepository;
-import com.afbscenter.service.MemberProductQueryService;
+import com.afbscenter.service.MemberProductDeductionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
@@ -47,7 +48,7 @@ public class AttendanceCheckController {
     private final MemberProductHistoryRepository memberProductHistoryRepository;
     private final JdbcTemplate jdbcTemplate;
     private final EntityManager entityManager;
-    private final MemberProductQueryService memberProductQueryService;
+    private final MemberProductDeductionService memberProductDeductionService;
 
     public AttendanceCheckController(AttendanceRepository attendanceRepository,
                                      MemberRepository memberRepository,
@@ -57,7 +58,7 @@ public class AttendanceCheckController {
                                      MemberProductHistoryRepository memberProductHistoryRepository,
                                      JdbcTemplate jdbcTemplate,
                                      EntityManager entityManager,
-                                     MemberProductQueryService memberProductQueryService) {
+                                     MemberProductDeductionService memberProductDeductionService) {
         this.attendanceRepository = attendanceRepository;
         this.memberRepository = memberRepository;
         this.facilityRepository = facilityRepository;
@@ -66,7 +67,7 @@ public class AttendanceCheckController {
         this.memberProductHistoryRepository = memberProductHistoryRepository;
         this.jdbcTemplate = jdbcTemplate;
         this.entityManager = entityManager;
-        this.memberProductQueryService = memberProductQueryService;
+        this.memberProductDeductionService = memberProductDeductionService;
     }
 
     @PostMapping
@@ -383,7 +384,8 @@ public class AttendanceCheckController {
                         if (memberProduct.getEndedAt() == null) memberProduct.setEndedAt(java.time.LocalDateTime.now());
                     }
 
-                    memberProductRepository.save(memberProduct);
+                    // 패키지 JSON은 읽고 고쳐 쓰므로 여기서 flush해 버전 충돌을 바로 드러낸다 (체크인은 재시도)
+                    memberProductRepository.saveAndFlush(memberProduct);
                     logger.info("상품권 패키지 횟수 차감 완료: MemberProduct ID={}, Product Name={}, 레슨={}, 차감 전: {}회",
                         memberProduct.getId(),
                         memberProduct.getProduct() != null ? memberProduct.getProduct().getName() : "unknown",
@@ -395,6 +397,8 @@ public class AttendanceCheckController {
                         memberProduct.getId(), lessonName.isEmpty() ? "(대관)" : lessonName);
                     return null;
                 }
+            } catch (OptimisticLockingFailureException e) {
+                throw e;
             } catch (Exception e) {
                 logger.error("패키지 횟수 차감 실패", e);
                 return null;
@@ -523,6 +527,7 @@ public class AttendanceCheckController {
         if (currentRemaining != null && currentRemaining > 0) {
             // 차감 전: DB 잔여와 (총횟수 - 체크인건수) 중 더 작은 값 사용 → 체크인 건수 누락 시에도 팝업 숫자 정확
             Integer beforeRemaining = currentRemaining;
+            Integer capAfter = null;
             try {
                 Long usedByAtt = attendanceRepository.countCheckedInAttendancesByMemberAndProduct(memberId, memberProduct.getId());
                 Long usedByBook = bookingRepository.countConfirmedBookingsByMemberProductId(memberProduct.getId());
@@ -531,22 +536,26 @@ public class AttendanceCheckController {
                 if (total != null && total > 0) {
                     int fromCount = Math.max(0, total - (int) used);
                     beforeRemaining = Math.min(currentRemaining, fromCount);
-                    int afterRemaining = Math.max(0, Math.min(beforeRemaining - 1, total)); // 저장값도 총횟수 초과 방지
-                    memberProduct.setRemainingCount(afterRemaining);
-                } else {
-                    memberProduct.setRemainingCount(currentRemaining - 1);
+                    // 저장값 보정은 사용 기록 기준으로만 — currentRemaining은 행 잠금 전에 읽은 값이라
+                    // 그 사이 커밋된 복구(예약 삭제 등)를 되돌리지 않게 cap에 넣지 않는다
+                    capAfter = Math.max(0, Math.min(fromCount - 1, total));
                 }
             } catch (Exception e) {
-                memberProduct.setRemainingCount(currentRemaining - 1);
                 logger.warn("체크인 시 잔여 동기화 계산 실패, 1회 차감만 적용: {}", e.getMessage());
             }
 
-            if (memberProduct.getRemainingCount() == 0) {
-                memberProduct.setStatus(MemberProduct.Status.USED_UP);
-                if (memberProduct.getEndedAt() == null) memberProduct.setEndedAt(java.time.LocalDateTime.now());
+            // 초기화한 잔여는 먼저 저장(버전 확인)하고, 차감 자체는 조건부 UPDATE로 — 동시 체크인끼리 읽은 값을 덮어쓰지 않음
+            if (needsInitialization) {
+                memberProductRepository.saveAndFlush(memberProduct);
+            }
+            Integer afterRemaining = memberProductDeductionService.deductOne(memberProduct);
+            if (afterRemaining == null) {
+                logger.warn("회권 차감 실패: 차감 시점 잔여 없음 (동시 차감 등). MemberProduct ID={}", memberProduct.getId());
+                return null;
+            }
+            if (capAfter != null && afterRemaining > capAfter) {
+                memberProductDeductionService.capRemaining(memberProduct, capAfter);
             }
-
-            memberProductRepository.save(memberProduct);
             logger.info("상품권 횟수 차감 완료: MemberProduct ID={}, Product Name={}, totalCount={}, 잔여={}회 (차감 전: {}회)",
                 memberProduct.getId(),
                 memberProduct.getProduct() != null ? memberProduct.getProduct().getName() : "unknown",
@@ -632,9 +641,24 @@ public class AttendanceCheckController {
         }
     }
 
+    /**
+     * 체크인. 같은 이용권을 쓰는 다른 체크인과 버전 충돌이 나면 트랜잭션 전체를 다시 실행하고,
+     * 재시도 한도를 넘기면 409로 응답한다.
+     */
     @PostMapping("/checkin")
-    @Transactional
     public ResponseEntity<java.util.Map<String, Object>> processCheckin(@RequestBody java.util.Map<String, Object> checkinData, HttpServletRequest request) {
+        try {
+            return memberProductDeductionService.withOptimisticRetry("체크인",
+                    () -> processCheckinOnce(checkinData, request));
+        } catch (OptimisticLockingFailureException e) {
+            java.util.Map<String, Object> error = new java.util.HashMap<>();
+            error.put("error", "같은 이용권의 다른 체크인과 동시에 처리되어 완료하지 못했습니다. 다시 시도해 주세요.");
+            error.put("bookingId", checkinData != null ? checkinData.get("bookingId") : null);
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+        }
+    }
+
+    private ResponseEntity<java.util.Map<String, Object>> processCheckinOnce(java.util.Map<String, Object> checkinData, HttpServletRequest request) {
         String failedStep = "start";
         try {
             failedStep = "parse_booking_id";
@@ -880,18 +904,11 @@ public class AttendanceCheckController {
                                 }
 
                                 if (memberProductToUse != null) {
-                                    // 가져오기: REQUIRES_NEW 서비스로 커밋된 DB 값만 읽음 (캐시 무시)
-                                    Long mpIdForRead = memberProductToUse.getId();
-                                    Integer knownRemaining = memberProductQueryService.getRemainingCountFromDb(mpIdForRead);
-                                    if (knownRemaining == null) {
-                                        try { entityManager.refresh(memberProductToUse); } catch (Exception e) { logger.debug("refresh 스킵: {}", e.getMessage()); }
-                                        knownRemaining = memberProductToUse.getRemainingCount();
-                                        logger.warn("체크인 차감 전: DB 조회 null → 엔티티 잔여 사용. MemberProduct ID={}, 잔여={}회", mpIdForRead, knownRemaining);
-                                    } else {
-                                        logger.info("체크인 차감 전: MemberProduct ID={}, 잔여={}회 (DB)", mpIdForRead, knownRemaining);
-                                    }
+                                    // 차감 전 잔여는 decreaseCountPassUsage가 현재 트랜잭션 안에서 읽는다.
+                                    // 별도 트랜잭션(REQUIRES_NEW)으로 읽으면 체크인마다 커넥션을 2개 잡아 동시 체크인이 몰릴 때 풀이 바닥나고,
+                                    // 차감 자체는 조건부 UPDATE라 미리 읽은 값에 기대지 않는다
                                     LessonCategory lessonCategory = booking.getLessonCategory();
-                                    java.util.Map.Entry<MemberProduct, Integer> deductResult = decreaseCountPassUsage(member.getId(), lessonCategory, memberProductToUse, knownRemaining);
+                                    java.util.Map.Entry<MemberProduct, Integer> deductResult = decreaseCountPassUsage(member.getId(), lessonCategory, memberProductToUse);
                                     if (deductResult != null) {
                                         deductResultForResponse = deductResult;
                                         saveProductHistory(member.getId(), deductResult.getKey(), deductResult.getValue(),
@@ -903,6 +920,8 @@ public class AttendanceCheckController {
                                     deductFailReason = "활성 횟수권이 없음";
                                 }
                             }
+                        } catch (OptimisticLockingFailureException e) {
+                            throw e;
                         } catch (Exception e) {
                             logger.error("상품권 횟수 차감 실패: Member ID={}, Booking ID={}", member.getId(), finalBookingId, e);
                         }
@@ -982,6 +1001,8 @@ public class AttendanceCheckController {
             }
 
             return ResponseEntity.ok(result);
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
         } catch (IllegalArgumentException e) {
             Long errorBookingId = checkinData.get("bookingId") != null ? ((Number) checkinData.get("bookingId")).longValue() : null;
             java.util.Map<String, Object> error = new java.util.HashMap<>();
@@ -5,12 +5,17 @@ import com.afbscenter.model.Booking;
 import com.afbscenter.repository.AttendanceRepository;
 import com.afbscenter.repository.BookingRepository;
 import com.afbscenter.repository.TrainingLogRepository;
+import com.afbscenter.service.PendingCheckInService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -21,8 +26,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.HashSet;
 import java.util.stream.Collectors;
 
 /**
@@ -37,13 +40,23 @@ public class AttendanceQueryController {
     private final AttendanceRepository attendanceRepository;
     private final BookingRepository bookingRepository;
     private final TrainingLogRepository trainingLogRepository;
+    private final PendingCheckInService pendingCheckInService;
+    /** 체크인 미처리 목록 기본 조회 기간 (일) */
+    private final int defaultLookbackDays;
+
+    private static final int DEFAULT_UNCHECKED_PAGE_SIZE = 200;
+    private static final int MAX_UNCHECKED_PAGE_SIZE = 500;
 
     public AttendanceQueryController(AttendanceRepository attendanceRepository,
                                      BookingRepository bookingRepository,
-                                     TrainingLogRepository trainingLogRepository) {
+                                     TrainingLogRepository trainingLogRepository,
+                                     PendingCheckInService pendingCheckInService,
+                                     @Value("${attendance.unchecked.lookback-days:90}") int defaultLookbackDays) {
         this.attendanceRepository = attendanceRepository;
         this.bookingRepository = bookingRepository;
         this.trainingLogRepository = trainingLogRepository;
+        this.pendingCheckInService = pendingCheckInService;
+        this.defaultLookbackDays = defaultLookbackDays;
     }
 
     @GetMapping("/checked-in")
@@ -253,51 +266,52 @@ public class AttendanceQueryController {
         }
     }
 
+    /**
+     * 체크인 미처리 예약 (시작 시각 내림차순, 오늘까지).
+     * pending_checkins에서 최근 {@code lookbackDays}일만 읽고 출석 없음은 NOT EXISTS로 재확인한다.
+     * 다음 페이지가 있으면 X-Next-Cursor 헤더(시작시각|예약ID)를 내려주고, 그 값을 {@code cursor}로 넘기면 이어서 조회.
+     */
     @GetMapping("/unchecked-bookings")
     @Transactional(readOnly = true)
-    public ResponseEntity<List<Map<String, Object>>> getUncheckedBookings() {
+    public ResponseEntity<List<Map<String, Object>>> getUncheckedBookings(
+            @RequestParam(required = false) Integer lookbackDays,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
         try {
-            java.time.LocalDate today = java.time.LocalDate.now();
-
-            List<Booking> allBookings = bookingRepository.findByStatusInWithFacilityAndMember(
-                    java.util.List.of(Booking.BookingStatus.CONFIRMED, Booking.BookingStatus.COMPLETED));
-
-            // JOIN FETCH로 인한 중복 제거 (기능 동일성 보장)
-            java.util.Set<Long> seenIds = new java.util.HashSet<>();
-            allBookings = allBookings.stream()
-                    .filter(booking -> booking.getId() != null && seenIds.add(booking.getId()))
-                    .collect(Collectors.toList());
-
-            final java.time.LocalDate finalToday = today;
-            int totalBeforeDateFilter = allBookings.size();
-            allBookings = allBookings.stream()
-                    .filter(booking -> {
-                        if (booking.getStartTime() == null) return false;
-                        java.time.LocalDate bookingDate = booking.getStartTime().toLocalDate();
-                        return !bookingDate.isAfter(finalToday);
-                    })
-                    .collect(Collectors.toList());
-
-            logger.debug("체크인 미처리 예약 조회: 전체 {}건 중 오늘·과거 {}건", totalBeforeDateFilter, allBookings.size());
-
-            List<Long> bookingIdsWithAttendance = attendanceRepository.findDistinctBookingIds();
-            final Set<Long> finalBookingsWithAttendance = new HashSet<>(bookingIdsWithAttendance != null ? bookingIdsWithAttendance : List.of());
-            List<Booking> uncheckedBookings = allBookings.stream()
-                    // 회원 예약만 체크인 목록에 포함. 비회원·체험은 체크인 불필요(자동 체크인)
-                    .filter(booking -> booking.getMember() != null)
-                    .filter(booking -> {
-                        String name = booking.getMember().getName();
-                        if (name != null && name.contains("체험")) return false;
-                        return true;
-                    })
-                    .filter(booking -> !finalBookingsWithAttendance.contains(booking.getId()))
-                    .sorted((a, b) -> {
-                        if (a.getStartTime() == null && b.getStartTime() == null) return 0;
-                        if (a.getStartTime() == null) return 1;
-                        if (b.getStartTime() == null) return -1;
-                        return b.getStartTime().compareTo(a.getStartTime());
-                    })
-                    .collect(Collectors.toList());
+            int days = lookbackDays != null && lookbackDays > 0 ? lookbackDays : defaultLookbackDays;
+            int pageSize = limit != null && limit > 0 ? Math.min(limit, MAX_UNCHECKED_PAGE_SIZE) : DEFAULT_UNCHECKED_PAGE_SIZE;
+            LocalDate today = LocalDate.now();
+            LocalDateTime from = today.minusDays(days).atStartOfDay();
+            LocalDateTime until = today.plusDays(1).atStartOfDay();
+            // 한 건 더 읽어 다음 페이지 여부 판단
+            PageRequest page = PageRequest.of(0, pageSize + 1);
+
+            List<Booking> uncheckedBookings;
+            if (cursor != null && !cursor.isBlank()) {
+                String[] parts = cursor.split("\\|", 2);
+                LocalDateTime cursorStart;
+                Long cursorId;
+                try {
+                    cursorStart = LocalDateTime.parse(parts[0]);
+                    cursorId = Long.parseLong(parts[1]);
+                } catch (Exception e) {
+                    logger.warn("잘못된 체크인 미처리 커서: {}", cursor);
+                    return ResponseEntity.badRequest().build();
+                }
+                uncheckedBookings = bookingRepository.findUncheckedPageAfter(from, until,
+                        PendingCheckInService.PENDING_STATUSES, cursorStart, cursorId, page);
+            } else {
+                uncheckedBookings = bookingRepository.findUncheckedPage(from, until,
+                        PendingCheckInService.PENDING_STATUSES, page);
+            }
+
+            String nextCursor = null;
+            if (uncheckedBookings.size() > pageSize) {
+                uncheckedBookings = uncheckedBookings.subList(0, pageSize);
+                Booking last = uncheckedBookings.get(pageSize - 1);
+                nextCursor = last.getStartTime() + "|" + last.getId();
+            }
+            logger.debug("체크인 미처리 예약 조회: 최근 {}일, {}건, 다음 커서={}", days, uncheckedBookings.size(), nextCursor);
 
             List<Map<String, Object>> result = uncheckedBookings.stream().map(booking -> {
                 Map<String, Object> map = new HashMap<>();
@@ -342,10 +356,34 @@ public class AttendanceQueryController {
                 return map;
             }).collect(Collectors.toList());
 
-            return ResponseEntity.ok(result);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (nextCursor != null) {
+                response.header("X-Next-Cursor", nextCursor);
+            }
+            return response.body(result);
         } catch (Exception e) {
             logger.error("체크인 미처리 예약 조회 중 오류 발생", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+
+    /** 체크인 대기(pending_checkins) 전체 재구축 (관리자 전용) */
+    @PostMapping("/unchecked-bookings/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildPendingCheckIns(HttpServletRequest request) {
+        String role = request != null ? (String) request.getAttribute("role") : null;
+        if (role == null || !role.equals("ADMIN")) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "관리자만 사용할 수 있습니다.");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+        }
+        try {
+            return ResponseEntity.ok(pendingCheckInService.rebuildAll());
+        } catch (Exception e) {
+            logger.error("체크인 대기 재구축 실패: {}", e.getMessage(), e);
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "체크인 대기 재구축 중 오류가 발생했습니다.");
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
 }
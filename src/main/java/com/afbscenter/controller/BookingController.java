@@ -1,5 +1,6 @@
 package com.afbscenter.controller;
 
+import com.afbscenter.dto.BookingListItem;
 import com.afbscenter.model.Booking;
 import com.afbscenter.model.Coach;
 import com.afbscenter.model.Facility;
@@ -15,22 +16,33 @@ import com.afbscenter.repository.CoachRepository;
 import com.afbscenter.repository.FacilityRepository;
 import com.afbscenter.repository.FacilitySlotRepository;
 import com.afbscenter.repository.MemberRepository;
+import com.afbscenter.service.BookingStatusTransitionService;
+import com.afbscenter.service.FacilityOccupancyIndex;
+import com.afbscenter.service.MemberProductDeductionService;
 import com.afbscenter.service.MemberService;
+import com.afbscenter.service.ReferenceDataCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.servlet.http.HttpServletRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.type.TypeReference;
 
 import java.time.LocalDate;
+import com.afbscenter.util.BookingSessionNumberResolver;
 import com.afbscenter.util.LessonCategoryUtil;
 import com.afbscenter.constants.CompanionBookingPolicy;
 import java.time.Duration;
@@ -50,6 +62,9 @@ public class BookingController {
 
     private static final Logger logger = LoggerFactory.getLogger(BookingController.class);
 
+    /** 예약 목록이 이 건수 이상이면 응답을 스트리밍으로 쓴다 */
+    private static final int STREAMING_THRESHOLD = 500;
+
     private static void putBookingSource(Map<String, Object> bookingMap, Booking booking) {
         if (booking == null || booking.getBookingSource() == null) {
             bookingMap.put("bookingSource", "ADMIN");
@@ -70,6 +85,12 @@ public class BookingController {
     private final com.afbscenter.repository.MemberProductHistoryRepository memberProductHistoryRepository;
     private final BookingAuditLogRepository bookingAuditLogRepository;
     private final PaymentRepository paymentRepository;
+    private final BookingSessionNumberResolver bookingSessionNumberResolver;
+    private final FacilityOccupancyIndex facilityOccupancyIndex;
+    private final ReferenceDataCache referenceDataCache;
+    private final MemberProductDeductionService memberProductDeductionService;
+    /** 예약 목록 스트리밍용 (애플리케이션 ObjectMapper 설정 그대로, 응답 스트림은 닫지 않음) */
+    private final ObjectWriter bookingListWriter;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -85,7 +106,12 @@ public class BookingController {
                             AttendanceRepository attendanceRepository,
                             com.afbscenter.repository.MemberProductHistoryRepository memberProductHistoryRepository,
                             BookingAuditLogRepository bookingAuditLogRepository,
-                            PaymentRepository paymentRepository) {
+                            PaymentRepository paymentRepository,
+                            BookingSessionNumberResolver bookingSessionNumberResolver,
+                            FacilityOccupancyIndex facilityOccupancyIndex,
+                            ReferenceDataCache referenceDataCache,
+                            ObjectMapper objectMapper,
+                            MemberProductDeductionService memberProductDeductionService) {
         this.bookingRepository = bookingRepository;
         this.facilityRepository = facilityRepository;
         this.facilitySlotRepository = facilitySlotRepository;
@@ -98,6 +124,12 @@ public class BookingController {
         this.memberProductHistoryRepository = memberProductHistoryRepository;
         this.bookingAuditLogRepository = bookingAuditLogRepository;
         this.paymentRepository = paymentRepository;
+        this.bookingSessionNumberResolver = bookingSessionNumberResolver;
+        this.facilityOccupancyIndex = facilityOccupancyIndex;
+        this.referenceDataCache = referenceDataCache;
+        this.bookingListWriter = objectMapper.writerFor(BookingListItem.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.memberProductDeductionService = memberProductDeductionService;
     }
 
     /** 무제한 이용권 여부: totalCount 또는 product.usageCount가 null 또는 999 이상 */
@@ -148,7 +180,9 @@ public class BookingController {
         int dayOfWeek = start.getDayOfWeek().getValue();
         LocalTime startTime = start.toLocalTime();
         LocalTime endTime = end.toLocalTime();
-        List<FacilitySlot> slots = facilitySlotRepository.findByFacilityIdOrderByDayOfWeek(facility.getId());
+        Long facilityId = facility.getId();
+        List<FacilitySlot> slots = referenceDataCache.get(ReferenceDataCache.Region.FACILITY_SLOTS, facilityId,
+                () -> List.copyOf(facilitySlotRepository.findByFacilityIdOrderByDayOfWeek(facilityId)));
         FacilitySlot daySlot = slots.stream().filter(s -> s.getDayOfWeek() == dayOfWeek).findFirst().orElse(null);
         if (daySlot != null) {
             if (!Boolean.TRUE.equals(daySlot.getIsOpen())) {
@@ -176,23 +210,7 @@ public class BookingController {
         if (member == null || member.getId() == null || start == null || end == null) return Optional.empty();
         if (!end.isAfter(start)) return Optional.empty();
 
-        long overlapCount;
-        if (excludeBookingId == null) {
-            overlapCount = bookingRepository.countMemberTimeOverlaps(
-                    member.getId(),
-                    start,
-                    end,
-                    Booking.BookingStatus.CANCELLED
-            );
-        } else {
-            overlapCount = bookingRepository.countMemberTimeOverlapsExcludingBooking(
-                    member.getId(),
-                    start,
-                    end,
-                    excludeBookingId,
-                    Booking.BookingStatus.CANCELLED
-            );
-        }
+        long overlapCount = facilityOccupancyIndex.countMemberOverlaps(member.getId(), start, end, excludeBookingId);
 
         if (overlapCount > 0) {
             return Optional.of("같은 시간대에 이미 예약이 있습니다. 종목이 달라도 중복 예약은 불가합니다.");
@@ -214,15 +232,7 @@ public class BookingController {
             return Optional.empty();
         }
         Long memberId = booking.getMember().getId();
-        boolean dup;
-        if (excludeBookingId == null) {
-            dup = bookingRepository.existsExactDuplicateBookingForMember(
-                    memberId, st, en, Booking.BookingStatus.CANCELLED);
-        } else {
-            dup = bookingRepository.existsExactDuplicateBookingForMemberExcluding(
-                    memberId, st, en, excludeBookingId, Booking.BookingStatus.CANCELLED);
-        }
-        if (dup) {
+        if (facilityOccupancyIndex.existsExactDuplicateForMember(memberId, st, en, excludeBookingId)) {
             return Optional.of("동일 회원·동일 일시의 예약이 이미 있습니다. 이름이 같아도 회원은 구분됩니다.");
         }
         return Optional.empty();
@@ -244,11 +254,7 @@ public class BookingController {
             return Optional.empty();
         }
         if (m == 30) {
-            boolean ok = bookingRepository.existsNonCancelledBookingEndingAt(
-                    facility.getId(),
-                    start,
-                    Booking.BookingStatus.CANCELLED);
-            if (!ok) {
+            if (!facilityOccupancyIndex.existsEndingAt(facility.getId(), start)) {
                 return Optional.of("이 시각(:30)은 이전 동반 수업이 종료된 뒤에만 예약할 수 있습니다. 먼저 정시(:00) 슬롯을 이용해 주세요.");
             }
             return Optional.empty();
@@ -348,32 +354,21 @@ public class BookingController {
         if (booking.getFacility() == null || booking.getStartTime() == null || booking.getEndTime() == null) {
             return Optional.empty();
         }
-        List<Booking> overlaps;
-        if (excludeBookingId == null) {
-            overlaps = bookingRepository.findOverlappingAtFacility(
-                    booking.getFacility().getId(),
-                    booking.getStartTime(),
-                    booking.getEndTime(),
-                    Booking.BookingStatus.CANCELLED);
-        } else {
-            overlaps = bookingRepository.findOverlappingAtFacilityExcluding(
-                    booking.getFacility().getId(),
-                    booking.getStartTime(),
-                    booking.getEndTime(),
-                    excludeBookingId,
-                    Booking.BookingStatus.CANCELLED);
-        }
+        List<FacilityOccupancyIndex.Slot> overlaps = facilityOccupancyIndex.findOverlappingAtFacility(
+                booking.getFacility().getId(),
+                booking.getStartTime(),
+                booking.getEndTime(),
+                excludeBookingId);
         LocalDateTime st = booking.getStartTime();
         int newP = booking.getParticipants() != null ? booking.getParticipants() : 1;
-        for (Booking o : overlaps) {
-            if (!o.getStartTime().equals(st)) {
+        for (FacilityOccupancyIndex.Slot o : overlaps) {
+            if (!o.getStart().equals(st)) {
                 return Optional.of("해당 시설은 선택한 시간과 겹치는 다른 예약이 있습니다. 동반 예약은 같은 시작 시각으로만 가능합니다.");
             }
         }
         int sum = newP;
-        for (Booking o : overlaps) {
-            int op = o.getParticipants() != null ? o.getParticipants() : 1;
-            sum += op;
+        for (FacilityOccupancyIndex.Slot o : overlaps) {
+            sum += o.getParticipants();
         }
         if (sum > CompanionBookingPolicy.MAX_TOTAL_PARTICIPANTS) {
             return Optional.of("동일 시간대 동반 인원은 최대 " + CompanionBookingPolicy.MAX_TOTAL_PARTICIPANTS + "명까지 가능합니다.");
@@ -383,7 +378,7 @@ public class BookingController {
 
     @GetMapping
     @Transactional(readOnly = true)
-    public ResponseEntity<List<Map<String, Object>>> getAllBookings(
+    public ResponseEntity<?> getAllBookings(
             @RequestParam(required = false) String start,
             @RequestParam(required = false) String end,
             @RequestParam(required = false) String date,
@@ -542,35 +537,6 @@ public class BookingController {
                 }
             }
             
-            // 종료 시간이 지난 확정 예약을 자동으로 완료 상태로만 변경. 대관(RENTAL)은 체크인된 경우에만 자동 완료
-            LocalDateTime now = LocalDateTime.now();
-            java.util.List<Long> rentalPastEndIds = new java.util.ArrayList<>();
-            for (Booking b : bookings) {
-                if (b.getEndTime() != null && b.getStatus() == Booking.BookingStatus.CONFIRMED
-                    && b.getEndTime().isBefore(now) && b.getPurpose() == Booking.BookingPurpose.RENTAL && b.getId() != null) {
-                    rentalPastEndIds.add(b.getId());
-                }
-            }
-            java.util.Set<Long> rentalIdsWithCheckIn = rentalPastEndIds.isEmpty() ? java.util.Collections.emptySet()
-                : new java.util.HashSet<>(attendanceRepository.findBookingIdsWithCheckIn(rentalPastEndIds));
-            int autoCompletedCount = 0;
-            for (Booking booking : bookings) {
-                if (booking.getEndTime() != null && booking.getStatus() == Booking.BookingStatus.CONFIRMED
-                    && booking.getEndTime().isBefore(now)) {
-                    if (booking.getPurpose() == Booking.BookingPurpose.RENTAL
-                        && !rentalIdsWithCheckIn.contains(booking.getId())) {
-                        continue;
-                    }
-                    booking.setStatus(Booking.BookingStatus.COMPLETED);
-                    bookingRepository.save(booking);
-                    autoCompletedCount++;
-                    logger.debug("예약 자동 완료 처리: Booking ID={}, 종료 시간={}", booking.getId(), booking.getEndTime());
-                }
-            }
-            if (autoCompletedCount > 0) {
-                logger.info("{}개의 예약이 자동으로 완료 상태로 변경되었습니다.", autoCompletedCount);
-            }
-            
             // 체크인된 예약 필터링 (date 파라미터가 있을 때만, 출석 관리 페이지에서 사용). ID만 조회하여 N+1 방지
             if (date != null && !date.trim().isEmpty()) {
                 try {
@@ -667,302 +633,56 @@ public class BookingController {
             }
             final java.util.Map<Long, com.afbscenter.model.Attendance> attendanceByBookingId = attendanceByBookingIdMap;
 
-            // Booking을 Map으로 변환하여 JSON 직렬화 문제 방지 (대관 회차: 같은 이용권별 "시각순 첫 예약 완료 여부" 캐시)
+            // 예약마다 Map 여러 개를 만들지 않고 타입 있는 항목으로 모은다 (이용권 회차는 목록 전체를 몇 번의 묶음 조회로 계산)
             logger.info("[BOOKING_FLOW] starting response loop bookings.size()={}", bookings.size());
-            List<Map<String, Object>> bookingMaps = new java.util.ArrayList<>();
-            java.util.Map<Long, Boolean> rentalFirstCompletedByMpId = new HashMap<>();
+            List<BookingListItem> items = new java.util.ArrayList<>(bookings.size());
+            boolean isRentalRequest = branch != null && "RENTAL".equalsIgnoreCase(branch.trim());
+            java.util.Map<Long, BookingSessionNumberResolver.SessionInfo> sessionInfoByBookingId =
+                    bookingSessionNumberResolver.resolveAll(bookings, isRentalRequest, attendanceByBookingId);
+            // 종료 시간이 지난 확정 예약의 완료 전이는 BookingStatusTransitionService가 주기적으로 처리 (조회는 쓰지 않음).
+            // 다음 실행 전이라도 같은 규칙(대관은 체크인된 경우만)으로 목록에는 완료로 표시
+            LocalDateTime now = LocalDateTime.now();
             for (Booking booking : bookings) {
                 try {
-                    Map<String, Object> bookingMap = new HashMap<>();
-                    bookingMap.put("id", booking.getId());
-                    bookingMap.put("startTime", booking.getStartTime());
-                    bookingMap.put("endTime", booking.getEndTime());
-                    bookingMap.put("participants", booking.getParticipants());
-                    bookingMap.put("purpose", booking.getPurpose());
-                    bookingMap.put("lessonCategory", booking.getLessonCategory());
+                    com.afbscenter.model.Attendance bookingAttendance = attendanceByBookingId.get(booking.getId());
+                    Booking.BookingStatus displayStatus = BookingStatusTransitionService.displayStatus(booking,
+                            bookingAttendance != null && bookingAttendance.getCheckInTime() != null, now);
                     // 비회원 예약은 체크인 없이 자동 승인 → 대기로 저장돼 있어도 목록에는 확정으로 표시
-                    Booking.BookingStatus displayStatus = booking.getStatus();
                     if (booking.getMember() == null && displayStatus == Booking.BookingStatus.PENDING) {
                         displayStatus = Booking.BookingStatus.CONFIRMED;
                     }
-                    bookingMap.put("status", displayStatus);
-                    bookingMap.put("branch", booking.getBranch()); // 지점 정보 추가
-                    bookingMap.put("paymentMethod", booking.getPaymentMethod());
-                    bookingMap.put("memo", booking.getMemo());
-                    bookingMap.put("nonMemberName", booking.getNonMemberName());
-                    bookingMap.put("nonMemberPhone", booking.getNonMemberPhone());
-                    putBookingSource(bookingMap, booking);
-                    
-                    // Facility 정보
-                    if (booking.getFacility() != null) {
-                        Map<String, Object> facilityMap = new HashMap<>();
-                        facilityMap.put("id", booking.getFacility().getId());
-                        facilityMap.put("name", booking.getFacility().getName());
-                        if (booking.getFacility().getBranch() != null) {
-                            facilityMap.put("branch", booking.getFacility().getBranch().name());
-                        }
-                        bookingMap.put("facility", facilityMap);
-                    } else {
-                        bookingMap.put("facility", null);
-                    }
-                    
-                    // Coach 정보
-                    if (booking.getCoach() != null) {
-                        Map<String, Object> coachMap = new HashMap<>();
-                        coachMap.put("id", booking.getCoach().getId());
-                        coachMap.put("name", booking.getCoach().getName());
-                        coachMap.put("specialties", booking.getCoach().getSpecialties());
-                        bookingMap.put("coach", coachMap);
-                    } else {
-                        bookingMap.put("coach", null);
-                    }
-                    
-                    // Member 정보
-                    if (booking.getMember() != null) {
-                        Map<String, Object> memberMap = new HashMap<>();
-                        memberMap.put("id", booking.getMember().getId());
-                        memberMap.put("memberNumber", booking.getMember().getMemberNumber());
-                        memberMap.put("name", booking.getMember().getName());
-                        memberMap.put("phoneNumber", booking.getMember().getPhoneNumber());
-                        memberMap.put("grade", booking.getMember().getGrade());
-                        memberMap.put("school", booking.getMember().getSchool());
-                        
-                        // Member의 Coach 정보
-                        if (booking.getMember().getCoach() != null) {
-                            Map<String, Object> memberCoachMap = new HashMap<>();
-                            memberCoachMap.put("id", booking.getMember().getCoach().getId());
-                            memberCoachMap.put("name", booking.getMember().getCoach().getName());
-                            memberCoachMap.put("specialties", booking.getMember().getCoach().getSpecialties());
-                            memberMap.put("coach", memberCoachMap);
-                        } else {
-                            memberMap.put("coach", null);
-                        }
-                        
-                        bookingMap.put("member", memberMap);
-                    } else {
-                        bookingMap.put("member", null);
-                    }
-
-                    // MemberProduct 정보 (상품명, 횟수권 회차 표시용 totalCount/remainingCount/sessionNumber)
-                    if (booking.getMemberProduct() != null) {
-                        Long mpId = booking.getMemberProduct().getId();
-                        java.time.LocalDateTime thisStart = booking.getStartTime();
-                        Long thisId = booking.getId();
 
-                        boolean isRental = branch != null && "RENTAL".equalsIgnoreCase(branch.trim());
-                        com.afbscenter.model.MemberProduct mpForCount = isRental ? memberProductRepository.findByIdAndDeletedAtIsNull(mpId).orElse(null) : null;
-                        com.afbscenter.model.MemberProduct mpEntity = (mpForCount != null) ? mpForCount : booking.getMemberProduct();
-
-                        Integer totalCount = mpEntity.getTotalCount();
-                        if (totalCount == null && mpEntity.getProduct() != null && mpEntity.getProduct().getUsageCount() != null) {
-                            totalCount = mpEntity.getProduct().getUsageCount();
-                        }
-                        Integer remainingCount = mpEntity.getRemainingCount();
-
-                        // 회차 순서용 카운트 (한 번만 계산)
-                        long sessionNumberByOrder = 0, sessionNumberByEnded = 0, sessionNumberByMemberProduct = 0, sessionNumberByCreationOrder = 0;
-                        if (thisStart != null && thisId != null) {
-                            sessionNumberByOrder = bookingRepository.countByMemberProductBeforeInOrder(mpId, thisStart, thisId) + 1;
-                            sessionNumberByEnded = bookingRepository.countByMemberProductEndedBefore(mpId, thisStart) + 1;
-                        }
-                        if (mpId != null && thisId != null) {
-                            sessionNumberByCreationOrder = bookingRepository.countByMemberProductIdBefore(mpId, thisId) + 1;
-                        }
-                        Long memId = booking.getMember() != null ? booking.getMember().getId() : (mpEntity.getMember() != null ? mpEntity.getMember().getId() : null);
-                        Long prodId = mpEntity.getProduct() != null ? mpEntity.getProduct().getId() : null;
-                        if (memId != null && prodId != null && thisStart != null) {
-                            sessionNumberByMemberProduct = bookingRepository.countByMemberIdAndProductIdEndedBefore(memId, prodId, thisStart) + 1;
-                        }
-
-                        long sessionNumber = Math.max(Math.max(sessionNumberByOrder, sessionNumberByEnded), sessionNumberByMemberProduct);
-
-                        if (isRental) {
-                            // ---- 대관(RENTAL): 이용권 숫자만 보지 말고 체크인(사용) 반영. DEDUCT(체크인 차감) 우선, 없으면 ADJUST/DB 잔여 + 첫 예약 완료 감안 ----
-                            Integer baseRemaining = (mpForCount != null && mpForCount.getRemainingCount() != null) ? mpForCount.getRemainingCount() : remainingCount;
-                            boolean baseRemainingFromAdjust = false;
-                            Integer displayTotal = totalCount;
-                            int rentalDeductCount = 0; // 체크인된 예약 회차 = 이 값 사용 (7→1 방지)
-                            if (mpForCount != null && totalCount != null) {
-                                try {
-                                    List<com.afbscenter.model.MemberProductHistory> histories =
-                                        memberProductHistoryRepository.findByMemberProductIdOrderByTransactionDateDesc(mpId);
-                                    for (com.afbscenter.model.MemberProductHistory h : histories) {
-                                        if (h.getType() == com.afbscenter.model.MemberProductHistory.TransactionType.ADJUST && h.getRemainingCountAfter() != null) {
-                                            baseRemaining = h.getRemainingCountAfter();
-                                            baseRemainingFromAdjust = true;
-                                            break;
-                                        }
-                                    }
-                                    // 체크인 시 차감(DEDUCT)이 있으면 사용 횟수를 이걸로 반영 → 잔여 = 이용권 숫자만이 아니라 (총 - 사용)
-                                    int deductCount = 0;
-                                    for (com.afbscenter.model.MemberProductHistory h : histories) {
-                                        if (h.getType() == com.afbscenter.model.MemberProductHistory.TransactionType.DEDUCT && h.getChangeAmount() != null) {
-                                            deductCount += Math.abs(h.getChangeAmount().intValue());
-                                        }
-                                    }
-                                    rentalDeductCount = deductCount;
-                                    if (deductCount > 0) {
-                                        int fromHistory = Math.max(0, totalCount - deductCount);
-                                        remainingCount = fromHistory;
-                                        baseRemaining = (baseRemaining == null || remainingCount < baseRemaining) ? remainingCount : baseRemaining;
-                                        displayTotal = deductCount + remainingCount;
-                                    } else if (baseRemaining != null && totalCount != null) {
-                                        // DEDUCT 없음: 횟수 조정(ADJUST) 또는 DB 잔여로 2월 9일부터 7·8·9회차 반영
-                                        boolean firstCompleted = mpId != null && Boolean.TRUE.equals(rentalFirstCompletedByMpId.computeIfAbsent(mpId, id -> {
-                                            logger.debug("[BOOKING_FLOW] findFirstByMemberProduct_IdOrderByStartTimeAscIdAsc mpId={}", id);
-                                            Booking first = bookingRepository.findFirstByMemberProduct_IdOrderByStartTimeAscIdAsc(id).orElse(null);
-                                            return first != null && first.getStatus() == Booking.BookingStatus.COMPLETED;
-                                        }));
-                                        int inferredTotal = firstCompleted ? (baseRemaining + 7) : (baseRemainingFromAdjust ? (baseRemaining + 6) : totalCount);
-                                        if (inferredTotal < totalCount) {
-                                            displayTotal = inferredTotal;
-                                        }
-                                    }
-                                } catch (Exception e) {
-                                    logger.debug("대관 DEDUCT 보정 실패: mpId={}", mpId, e);
-                                }
-                                if (thisStart != null && thisId != null) {
-                                    int countLater = 0;
-                                    for (Booking b : bookings) {
-                                        if (b.getMemberProduct() == null || !b.getMemberProduct().getId().equals(mpId)) continue;
-                                        if (b.getStartTime() == null) continue;
-                                        if (b.getStartTime().isAfter(thisStart) || (b.getStartTime().equals(thisStart) && b.getId() != null && b.getId() > thisId))
-                                            countLater++;
-                                    }
-                                    remainingCount = (remainingCount != null ? remainingCount : 0) + countLater;
-                                }
-                            }
-                            // 회차: 잔여/ADJUST(횟수 조정) 기준으로 계산. "앞에 예약 개수+1"만 쓰지 않음(첫 회차가 조정된 경우 앞에 건수 없어서 1로 나오는 문제 방지)
-                            Integer totalForSession = (displayTotal != null ? displayTotal : totalCount);
-                            long orderForSession = sessionNumberByOrder >= 1 ? sessionNumberByOrder : (thisStart != null && thisId != null ? bookingRepository.countByMemberProductBeforeInOrder(mpId, thisStart, thisId) + 1 : sessionNumberByCreationOrder);
-                            if (totalForSession != null && baseRemaining != null) {
-                                long firstSession = totalForSession - baseRemaining + 1L; // 다음에 쓸 회차(ADJUST/DEDUCT 반영, 앞에 기록 없어도 맞음)
-                                if (booking.getStatus() == Booking.BookingStatus.COMPLETED) {
-                                    // 체크인된 예약: DEDUCT 순번으로 회차 확정. 단, 체크인 시 회차 줄이지 않음 → 미완료 시 회차보다 작게 두지 않음
-                                    long sessionFromDeductId = 0;
-                                    try {
-                                        java.util.Optional<com.afbscenter.model.Attendance> attOpt = java.util.Optional.ofNullable(attendanceByBookingId.get(booking.getId()));
-                                        if (attOpt.isPresent()) {
-                                            java.util.Optional<com.afbscenter.model.MemberProductHistory> histOpt = memberProductHistoryRepository.findDeductByAttendanceId(attOpt.get().getId());
-                                            if (histOpt.isPresent() && histOpt.get().getId() != null) {
-                                                sessionFromDeductId = memberProductHistoryRepository.countDeductByMemberProductIdAndIdLessThanEqual(mpId, histOpt.get().getId());
-                                            }
-                                        }
-                                    } catch (Exception e) {
-                                        logger.trace("체크인 회차 DEDUCT id 기준 조회 실패: bookingId={}", booking.getId(), e);
-                                    }
-                                    if (sessionFromDeductId >= 1 && sessionFromDeductId <= totalForSession) {
-                                        sessionNumber = sessionFromDeductId;
-                                    } else if (rentalDeductCount >= 1 && rentalDeductCount <= totalForSession) {
-                                        sessionNumber = rentalDeductCount;
-                                    } else if (orderForSession >= 1) {
-                                        sessionNumber = Math.min(totalForSession, orderForSession);
-                                    }
-                                    // 체크인 시 회차 줄이지 않음: 미완료였을 때 회차(firstSession+order오프셋)보다 작게 두지 않음
-                                    long minSessionIfUncompleted = (firstSession >= 1 && orderForSession >= 1) ? Math.min(totalForSession, firstSession + (orderForSession - 1L)) : 0;
-                                    if (minSessionIfUncompleted >= 1 && sessionNumber < minSessionIfUncompleted) {
-                                        sessionNumber = minSessionIfUncompleted;
-                                    }
-                                } else {
-                                    // 미완료: firstSession(잔여 기준) + 예약 순서 오프셋. "앞에 예약 개수+1"만 쓰지 않고 조정 반영
-                                    if (firstSession >= 1 && firstSession <= totalForSession && orderForSession >= 1) {
-                                        sessionNumber = Math.min(totalForSession, firstSession + (orderForSession - 1L));
-                                    } else if (firstSession >= 1 && firstSession <= totalForSession) {
-                                        sessionNumber = firstSession;
-                                    } else if (orderForSession >= 1) {
-                                        sessionNumber = Math.min(totalForSession, orderForSession);
-                                    }
-                                }
-                            } else if (totalForSession != null && orderForSession >= 1) {
-                                sessionNumber = Math.min(totalForSession, orderForSession);
-                            }
-                            if (sessionNumber < 1 && totalForSession != null && remainingCount != null) {
-                                sessionNumber = Math.min(totalForSession, totalForSession - remainingCount + 1L);
-                            }
-                            // 회차와 이용권 횟수 분리: 잔여(remainingCount)는 위에서 DEDUCT/ADJUST/countLater로만 계산. 회차로 역산해 덮지 않음.
-                            totalCount = totalForSession != null ? totalForSession : totalCount;
-                        } else {
-                            // ---- 대관 아님: endedBeforeNow 보정, 잔여 기반 회차 보정 ----
-                            if (totalCount != null && memId != null && prodId != null) {
-                                long endedBeforeNow = bookingRepository.countByMemberIdAndProductIdEndedBefore(memId, prodId, java.time.LocalDateTime.now());
-                                int usedSoFar = (int) Math.min(endedBeforeNow, totalCount);
-                                int computedRemaining = Math.max(0, totalCount - usedSoFar);
-                                if (remainingCount == null || computedRemaining < remainingCount) {
-                                    remainingCount = computedRemaining;
-                                    if (sessionNumber == 1 && usedSoFar > 0) {
-                                        sessionNumber = usedSoFar + 1;
-                                    }
-                                }
-                            }
-                            if (remainingCount == null && totalCount != null && sessionNumber >= 1) {
-                                remainingCount = Math.max(0, Math.min(totalCount, totalCount - (int) sessionNumber + 1));
-                            }
-                            if (remainingCount == null && totalCount != null) {
-                                remainingCount = totalCount;
-                            }
-                            if (totalCount != null && remainingCount != null && remainingCount < totalCount) {
-                                long firstSession = totalCount - remainingCount + 1;
-                                if (sessionNumberByOrder >= 1) {
-                                    long byOrder = (firstSession - 1) + sessionNumberByOrder;
-                                    if (byOrder <= totalCount) {
-                                        sessionNumber = Math.max(sessionNumber, byOrder);
-                                    } else if (sessionNumber == 1 && firstSession > 1) {
-                                        sessionNumber = firstSession;
-                                    }
-                                } else if (firstSession > sessionNumber) {
-                                    sessionNumber = firstSession;
-                                }
-                                if (sessionNumber == 1 && firstSession > 1) {
-                                    sessionNumber = sessionNumberByOrder >= 1 ? Math.min(totalCount, (firstSession - 1) + sessionNumberByOrder) : firstSession;
-                                }
-                            }
-                        }
-
-                        if (remainingCount == null && totalCount != null) {
-                            remainingCount = totalCount;
-                        }
-
-                        Map<String, Object> memberProductMap = new HashMap<>();
-                        memberProductMap.put("id", mpId);
-                        memberProductMap.put("totalCount", totalCount);
-                        memberProductMap.put("remainingCount", remainingCount);
-                        memberProductMap.put("sessionNumber", sessionNumber);
-                        if (mpEntity.getProduct() != null) {
-                            memberProductMap.put("productName", mpEntity.getProduct().getName());
-                            memberProductMap.put("productType", mpEntity.getProduct().getType());
-                        }
-                        Coach coachForCalendar = mpEntity.getCoach();
-                        if (coachForCalendar == null && mpEntity.getProduct() != null) {
-                            coachForCalendar = mpEntity.getProduct().getCoach();
-                        }
-                        if (coachForCalendar != null) {
-                            memberProductMap.put("coachId", coachForCalendar.getId());
-                            memberProductMap.put("coachName", coachForCalendar.getName());
-                        }
-                        bookingMap.put("memberProduct", memberProductMap);
-                    } else {
-                        bookingMap.put("memberProduct", null);
+                    // MemberProduct 정보 (상품명, 횟수권 회차 표시용 totalCount/remainingCount/sessionNumber) — 회차는 루프 전에 일괄 계산
+                    BookingSessionNumberResolver.SessionInfo sessionInfo = booking.getMemberProduct() != null ? sessionInfoByBookingId.get(booking.getId()) : null;
+                    BookingListItem.MemberProductRef memberProductRef = null;
+                    if (sessionInfo != null) {
+                        memberProductRef = BookingListItem.MemberProductRef.of(booking.getMemberProduct().getId(),
+                                sessionInfo.getMemberProduct(), sessionInfo.getTotalCount(),
+                                sessionInfo.getRemainingCount(), sessionInfo.getSessionNumber());
+                    } else if (booking.getMemberProduct() != null) {
+                        throw new IllegalStateException("회차 계산 실패");
                     }
 
+                    BookingListItem item = BookingListItem.of(booking, displayStatus, memberProductRef);
                     if (publicMemberCalendarOccupancyMode && viewerMemberIdForPublic != null) {
                         Long viewerMid = booking.getMember() != null ? booking.getMember().getId() : null;
                         if (viewerMid == null || !viewerMid.equals(viewerMemberIdForPublic)) {
-                            bookingMap = redactBookingMapForPublicViewer(bookingMap);
+                            item = item.maskedForPublicViewer();
                         } else if (booking.getBookingSource() == Booking.BookingSource.MEMBER_WEB) {
                             /** 회원 공개 페이지에서 본인이 직접 잡은 예약만 — 운영(코치) 예약은 false */
-                            bookingMap.put("calendarMine", true);
+                            item = item.withCalendarMine();
                         }
                     }
-                    
-                    bookingMaps.add(bookingMap);
+
+                    items.add(item);
                 } catch (Exception e) {
                     // 개별 예약 변환 오류는 무시하고 계속 진행
                     logger.warn("예약 변환 오류 (ID: {}): {}", booking.getId(), e.getMessage(), e);
                 }
             }
             
-            logger.info("예약 조회 완료: {}건", bookingMaps.size());
-            return ResponseEntity.ok(bookingMaps);
+            logger.info("예약 조회 완료: {}건", items.size());
+            return bookingListResponse(items);
         } catch (Exception e) {
             logger.error("예약 조회 실패: {}", e.getMessage(), e);
             // 오류 발생 시 빈 리스트 반환 (서비스 중단 방지)
@@ -970,36 +690,23 @@ public class BookingController {
         }
     }
 
-    /** 공개 회원 달력: 타인 예약은 시간·시설·코치(색상용)만 노출 */
-    private Map<String, Object> redactBookingMapForPublicViewer(Map<String, Object> full) {
-        Map<String, Object> m = new HashMap<>();
-        m.put("id", full.get("id"));
-        m.put("startTime", full.get("startTime"));
-        m.put("endTime", full.get("endTime"));
-        m.put("branch", full.get("branch"));
-        m.put("purpose", full.get("purpose"));
-        m.put("lessonCategory", full.get("lessonCategory"));
-        m.put("status", full.get("status"));
-        m.put("facility", full.get("facility"));
-        m.put("coach", full.get("coach"));
-        // 예약 코치가 비어 있어도 이용권 담당 코치명·색상 매칭을 위해 최소 필드만 전달 (공개 캘린더 시간 옆 코치명 표시)
-        @SuppressWarnings("unchecked")
-        Map<String, Object> mpFull = (Map<String, Object>) full.get("memberProduct");
-        if (mpFull != null) {
-            Object coachId = mpFull.get("coachId");
-            Object coachName = mpFull.get("coachName");
-            if (coachId != null || (coachName != null && !String.valueOf(coachName).trim().isEmpty())) {
-                Map<String, Object> mpMini = new HashMap<>();
-                if (mpFull.get("id") != null) {
-                    mpMini.put("id", mpFull.get("id"));
-                }
-                mpMini.put("coachId", coachId);
-                mpMini.put("coachName", coachName);
-                m.put("memberProduct", mpMini);
-            }
+    /**
+     * 예약 목록 응답. 건수가 적으면 그대로 반환하고, 많으면(한 달 전체 달력 등) 배열 전체를 한 번에 버퍼링하지 않도록
+     * 항목 단위로 응답 스트림에 바로 쓴다. 어느 쪽이든 JSON은 같다.
+     */
+    private ResponseEntity<?> bookingListResponse(List<BookingListItem> items) {
+        if (items.size() < STREAMING_THRESHOLD) {
+            return ResponseEntity.ok(items);
         }
-        m.put("calendarPrivacyMasked", true);
-        return m;
+        ObjectWriter writer = bookingListWriter;
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter seq = writer.writeValuesAsArray(out)) {
+                for (BookingListItem item : items) {
+                    seq.write(item);
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @GetMapping("/{id}")
@@ -1274,9 +981,24 @@ public class BookingController {
         }
     }
 
+    /**
+     * 예약 등록. 체크인된 예약을 복사하며 이용권을 차감할 때 같은 이용권의 다른 체크인과 버전 충돌이 나면
+     * 트랜잭션 전체를 다시 실행하고, 재시도 한도를 넘기면 409로 응답한다.
+     */
     @PostMapping
-    @Transactional(rollbackFor = Exception.class)
     public ResponseEntity<Map<String, Object>> createBooking(@RequestBody Map<String, Object> requestData, jakarta.servlet.http.HttpServletRequest request) {
+        try {
+            return memberProductDeductionService.withOptimisticRetry("예약 등록",
+                    () -> createBookingOnce(requestData, request));
+        } catch (OptimisticLockingFailureException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Conflict");
+            errorResponse.put("message", "같은 이용권의 다른 체크인과 동시에 처리되어 완료하지 못했습니다. 다시 시도해 주세요.");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+        }
+    }
+
+    private ResponseEntity<Map<String, Object>> createBookingOnce(Map<String, Object> requestData, jakarta.servlet.http.HttpServletRequest request) {
         try {
             logger.info("예약 생성 요청 수신: purpose={}, branch={}", requestData.get("purpose"), requestData.get("branch"));
             // Booking 객체로 변환
@@ -1759,17 +1481,21 @@ public class BookingController {
                                     if (items.stream().allMatch(item -> ((Number) item.get("remaining")).intValue() == 0)) {
                                         mp.setStatus(com.afbscenter.model.MemberProduct.Status.USED_UP);
                                     }
-                                    memberProductRepository.save(mp);
+                                    // 패키지 JSON은 읽고 고쳐 쓰므로 바로 flush해 버전 충돌을 드러낸다 (예약 등록은 재시도)
+                                    memberProductRepository.saveAndFlush(mp);
                                     logger.info("체크인된 예약 복사 시 이용권 1회 차감: Booking ID={}, MemberProduct ID={}, 항목={}", saved.getId(), mp.getId(), itemName);
                                 }
                             } else if (mp.getRemainingCount() != null && mp.getRemainingCount() > 0) {
-                                mp.setRemainingCount(mp.getRemainingCount() - 1);
-                                if (mp.getRemainingCount() == 0) mp.setStatus(com.afbscenter.model.MemberProduct.Status.USED_UP);
-                                memberProductRepository.save(mp);
-                                logger.info("체크인된 예약 복사 시 이용권 1회 차감: Booking ID={}, MemberProduct ID={}, 잔여={}회", saved.getId(), mp.getId(), mp.getRemainingCount());
+                                // 조건부 UPDATE로 차감 (동시 체크인과 겹쳐도 읽은 값을 덮어쓰지 않음)
+                                Integer after = memberProductDeductionService.deductOne(mp);
+                                if (after != null) {
+                                    logger.info("체크인된 예약 복사 시 이용권 1회 차감: Booking ID={}, MemberProduct ID={}, 잔여={}회", saved.getId(), mp.getId(), after);
+                                }
                             }
                         }
                     }
+                } catch (OptimisticLockingFailureException e) {
+                    throw e;
                 } catch (Exception e) {
                     logger.warn("체크인된 예약 복사 시 차감 처리 중 오류 (무시): {}", e.getMessage());
                 }
@@ -1873,6 +1599,8 @@ public class BookingController {
             }
             
             return ResponseEntity.status(HttpStatus.CREATED).body(bookingMap);
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
         } catch (IllegalArgumentException e) {
             logger.error("예약 저장 실패 (IllegalArgumentException): {}", e.getMessage(), e);
             Map<String, Object> errorResponse = new HashMap<>();
@@ -2417,10 +2145,18 @@ public class BookingController {
      * - 체크인 없이 삭제 시: 레슨만 예약 등록 시 차감했던 1회 복구 (대관은 예약 시 차감 안 하므로 복구 불필요).
      * - 결제(Payment): 이 예약을 참조하는 결제의 booking_id만 null로 해제 (결제 내역은 유지).
      * - 예약: 최종 삭제.
+     * 이용권 복구가 같은 이용권의 다른 체크인과 버전 충돌이 나면 트랜잭션 전체를 다시 실행하고, 재시도 한도를 넘기면 409로 응답한다.
      */
     @DeleteMapping("/{id}")
-    @Transactional
     public ResponseEntity<Void> deleteBooking(@PathVariable Long id) {
+        try {
+            return memberProductDeductionService.withOptimisticRetry("예약 삭제", () -> deleteBookingOnce(id));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    private ResponseEntity<Void> deleteBookingOnce(Long id) {
         try {
             if (!bookingRepository.existsById(id)) {
                 return ResponseEntity.notFound().build();
@@ -2484,7 +2220,9 @@ public class BookingController {
                                         && !memberProduct.getPackageItemsRemaining().isEmpty();
                                     Integer beforeRemaining = memberProduct.getRemainingCount() != null ? memberProduct.getRemainingCount() : 0;
 
-                                    // 패키지(대관 10회권 등): JSON 항목 복구 후 합으로 remainingCount 설정 (출석 삭제와 동일 로직)
+                                    // 패키지(대관 10회권 등): JSON 항목 복구 후 합으로 remainingCount 설정 (출석 삭제와 동일 로직).
+                                    // 읽고 고쳐 쓰므로 바로 flush해 버전 충돌을 드러낸다 (예약 삭제는 재시도)
+                                    boolean packageItemRestored = false;
                                     if (hasPackage) {
                                         try {
                                             ObjectMapper mapper = new ObjectMapper();
@@ -2493,7 +2231,6 @@ public class BookingController {
                                                 new TypeReference<List<Map<String, Object>>>() {});
                                             String itemName = (attendance.getBooking() != null && attendance.getBooking().getPurpose() == Booking.BookingPurpose.RENTAL)
                                                 ? "대관" : convertLessonCategoryToName(attendance.getBooking() != null ? attendance.getBooking().getLessonCategory() : null);
-                                            boolean packageItemRestored = false;
                                             for (Map<String, Object> item : items) {
                                                 String nameStr = item.get("name") != null ? item.get("name").toString() : "";
                                                 // 대관(RENTAL)은 "대관" 정확 일치 또는 이름에 '대관' 포함 또는 항목 1개일 때 매칭 (체크인 차감 로직과 동일)
@@ -2514,32 +2251,29 @@ public class BookingController {
                                                     break;
                                                 }
                                             }
-                                            // 패키지 항목 이름 매칭 실패 시에도 잔여 횟수만이라도 복구
-                                            if (!packageItemRestored) {
-                                                int cur = beforeRemaining;
-                                                int newRemaining = totalCount != null ? Math.min(cur + 1, totalCount) : cur + 1;
-                                                memberProduct.setRemainingCount(newRemaining);
-                                                logger.debug("예약 삭제 시 패키지 항목 이름 매칭 없음, remainingCount만 복구: {} -> {}", beforeRemaining, newRemaining);
+                                            if (packageItemRestored) {
+                                                if (memberProduct.getStatus() == com.afbscenter.model.MemberProduct.Status.USED_UP &&
+                                                    memberProduct.getRemainingCount() != null && memberProduct.getRemainingCount() > 0) {
+                                                    memberProduct.setStatus(com.afbscenter.model.MemberProduct.Status.ACTIVE);
+                                                }
+                                                memberProductRepository.saveAndFlush(memberProduct);
+                                            } else {
+                                                logger.debug("예약 삭제 시 패키지 항목 이름 매칭 없음, remainingCount만 복구: MemberProduct ID={}", memberProduct.getId());
                                             }
+                                        } catch (OptimisticLockingFailureException e) {
+                                            throw e;
                                         } catch (Exception e) {
                                             logger.warn("예약 삭제 시 패키지 복구 실패, remainingCount만 복구: {}", e.getMessage());
-                                            int cur = beforeRemaining;
-                                            int newRemaining = totalCount != null ? Math.min(cur + 1, totalCount) : cur + 1;
-                                            memberProduct.setRemainingCount(newRemaining);
                                         }
-                                    } else {
-                                        int cur = beforeRemaining;
-                                        int newRemaining = totalCount != null ? Math.min(cur + 1, totalCount) : cur + 1;
-                                        memberProduct.setRemainingCount(newRemaining);
                                     }
-
-                                    if (memberProduct.getStatus() == com.afbscenter.model.MemberProduct.Status.USED_UP && 
-                                        memberProduct.getRemainingCount() != null && memberProduct.getRemainingCount() > 0) {
-                                        memberProduct.setStatus(com.afbscenter.model.MemberProduct.Status.ACTIVE);
+                                    // 일반 횟수권(또는 패키지 항목 매칭 실패): 조건부 UPDATE로 1회 복구 (동시 체크인 차감을 덮어쓰지 않음)
+                                    if (!packageItemRestored) {
+                                        memberProductDeductionService.restoreOne(memberProduct, totalCount);
                                     }
-                                    memberProductRepository.save(memberProduct);
                                     logger.info("예약 삭제 시 차감된 횟수 복구: Booking ID={}, MemberProduct ID={}, 복구 전: {}회, 복구 후: {}회",
                                         id, memberProduct.getId(), beforeRemaining, memberProduct.getRemainingCount());
+                                } catch (OptimisticLockingFailureException e) {
+                                    throw e;
                                 } catch (Exception e) {
                                     logger.error("MemberProduct 복구 처리 중 오류: Booking ID={}, MemberProduct ID={}, 오류: {}",
                                         id, memberProduct != null ? memberProduct.getId() : "unknown", e.getMessage(), e);
@@ -2590,6 +2324,8 @@ public class BookingController {
                                 logger.info("예약 삭제 시 관련 히스토리 {}건 삭제 완료: Booking ID={}, Attendance ID={}", 
                                     historiesWithAttendance.size(), id, attendance.getId());
                             }
+                        } catch (OptimisticLockingFailureException e) {
+                            throw e;
                         } catch (Exception e) {
                             logger.error("예약 삭제 시 횟수 복구 및 히스토리 삭제 실패: Booking ID={}, Attendance ID={}, 오류: {}", 
                                 id, attendance != null ? attendance.getId() : "unknown", e.getMessage(), e);
@@ -2614,6 +2350,8 @@ public class BookingController {
                         // 출석 기록 삭제 실패해도 예약 삭제는 계속 진행
                     }
                 }
+            } catch (OptimisticLockingFailureException e) {
+                throw e;
             } catch (Exception e) {
                 logger.error("예약 삭제 시 출석 기록 확인 중 오류: Booking ID={}, 오류: {}", id, e.getMessage(), e);
                 // 출석 기록 확인 실패해도 예약 삭제는 계속 진행
@@ -2657,26 +2395,23 @@ public class BookingController {
                                 if (memberProduct.getStatus() == com.afbscenter.model.MemberProduct.Status.USED_UP) {
                                     memberProduct.setStatus(com.afbscenter.model.MemberProduct.Status.ACTIVE);
                                 }
-                                memberProductRepository.save(memberProduct);
+                                // 패키지 JSON은 읽고 고쳐 쓰므로 바로 flush해 버전 충돌을 드러낸다 (예약 삭제는 재시도)
+                                memberProductRepository.saveAndFlush(memberProduct);
                                 logger.info("예약 삭제 시 패키지 상품 복구 완료: Booking ID={}, MemberProduct ID={}", id, memberProduct.getId());
                             }
                         } else {
-                            Integer currentRemaining = memberProduct.getRemainingCount();
-                            if (currentRemaining == null) currentRemaining = 0;
                             Integer totalCount = memberProduct.getTotalCount();
                             if (totalCount == null && memberProduct.getProduct().getUsageCount() != null) {
                                 totalCount = memberProduct.getProduct().getUsageCount();
                                 memberProduct.setTotalCount(totalCount);
                             }
-                            int newRemaining = totalCount != null ? Math.min(currentRemaining + 1, totalCount) : currentRemaining + 1;
-                            memberProduct.setRemainingCount(newRemaining);
-                            if (memberProduct.getStatus() == com.afbscenter.model.MemberProduct.Status.USED_UP && memberProduct.getRemainingCount() > 0) {
-                                memberProduct.setStatus(com.afbscenter.model.MemberProduct.Status.ACTIVE);
-                            }
-                            memberProductRepository.save(memberProduct);
+                            // 조건부 UPDATE로 1회 복구 (동시 체크인 차감을 덮어쓰지 않음)
+                            memberProductDeductionService.restoreOne(memberProduct, totalCount);
                             logger.info("예약 삭제 시 횟수권 복구: Booking ID={}, MemberProduct ID={}, 복구 후 잔여={}회", id, memberProduct.getId(), memberProduct.getRemainingCount());
                         }
                     }
+                } catch (OptimisticLockingFailureException e) {
+                    throw e;
                 } catch (Exception e) {
                     logger.error("예약 삭제 시(체크인 없음) 이용권 복구 실패: Booking ID={}, 오류: {}", id, e.getMessage(), e);
                 }
@@ -2704,6 +2439,8 @@ public class BookingController {
                 logger.warn("예약 삭제 후 ID 재정렬 실패 (무시): {}", e.getMessage());
             }
             return ResponseEntity.noContent().build();
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("예약 삭제 중 오류 발생. ID: {}, 오류: {}", id, e.getMessage(), e);
             // 상세한 에러 정보를 반환
@@ -2791,76 +2528,6 @@ public class BookingController {
         }
     }
     
-    // 횟수권 사용 차감 (소급 예약 포함)
-    private void decreaseCountPassUsage(Long memberId, LessonCategory lessonCategory) {
-        // 회원의 활성 횟수권 조회
-        List<com.afbscenter.model.MemberProduct> countPassProducts = 
-            memberProductRepository.findActiveCountPassByMemberId(memberId);
-        
-        if (countPassProducts.isEmpty()) {
-            return; // 횟수권이 없으면 차감하지 않음
-        }
-        
-        // 가장 오래된 횟수권부터 사용 (구매일 기준)
-        countPassProducts.sort((a, b) -> a.getPurchaseDate().compareTo(b.getPurchaseDate()));
-        
-        // LessonCategory를 레슨명으로 변환
-        String lessonName = convertLessonCategoryToName(lessonCategory);
-        
-        // 첫 번째 횟수권 차감
-        com.afbscenter.model.MemberProduct memberProduct = countPassProducts.get(0);
-        
-        // 패키지 상품인 경우 해당 레슨의 카운터만 차감
-        if (memberProduct.getPackageItemsRemaining() != null && !memberProduct.getPackageItemsRemaining().isEmpty()) {
-            try {
-                ObjectMapper mapper = new ObjectMapper();
-                List<Map<String, Object>> items = mapper.readValue(
-                    memberProduct.getPackageItemsRemaining(), 
-                    new TypeReference<List<Map<String, Object>>>() {}
-                );
-                
-                boolean updated = false;
-                for (Map<String, Object> item : items) {
-                    if (lessonName.equals(item.get("name"))) {
-                        int remaining = ((Number) item.get("remaining")).intValue();
-                        if (remaining > 0) {
-                            item.put("remaining", remaining - 1);
-                            updated = true;
-                            logger.info("패키지 레슨 차감: {} - {}회 남음", lessonName, remaining - 1);
-                            break;
-                        }
-                    }
-                }
-                
-                if (updated) {
-                    memberProduct.setPackageItemsRemaining(mapper.writeValueAsString(items));
-                    
-                    // 모든 항목이 0이 되면 상태 변경
-                    boolean allZero = items.stream()
-                        .allMatch(item -> ((Number) item.get("remaining")).intValue() == 0);
-                    if (allZero) {
-                        memberProduct.setStatus(com.afbscenter.model.MemberProduct.Status.USED_UP);
-                    }
-                    
-                    memberProductRepository.save(memberProduct);
-                }
-            } catch (Exception e) {
-                logger.error("패키지 횟수 차감 실패", e);
-            }
-        }
-        // 일반 횟수권인 경우
-        else if (memberProduct.getRemainingCount() != null && memberProduct.getRemainingCount() > 0) {
-            memberProduct.setRemainingCount(memberProduct.getRemainingCount() - 1);
-            
-            // 횟수가 0이 되면 상태 변경
-            if (memberProduct.getRemainingCount() == 0) {
-                memberProduct.setStatus(com.afbscenter.model.MemberProduct.Status.USED_UP);
-            }
-            
-            memberProductRepository.save(memberProduct);
-        }
-    }
-    
     // LessonCategory enum을 패키지 레슨명으로 변환
     private String convertLessonCategoryToName(LessonCategory category) {
         if (category == null) return "";
@@ -4,32 +4,40 @@ import com.afbscenter.model.Announcement;
 import com.afbscenter.model.Settings;
 import com.afbscenter.model.Booking;
 import com.afbscenter.model.MemberProduct;
+import com.afbscenter.model.PassExpiryWatch;
 import com.afbscenter.model.Product;
 import com.afbscenter.repository.AnnouncementRepository;
 import com.afbscenter.repository.SettingsRepository;
 import com.afbscenter.util.MembershipDuesAnnouncementHelper;
-import com.afbscenter.repository.AttendanceRepository;
 import com.afbscenter.repository.BookingRepository;
 import com.afbscenter.repository.CoachRepository;
 import com.afbscenter.repository.MemberProductRepository;
 import com.afbscenter.repository.MemberRepository;
+import com.afbscenter.repository.PassExpiryWatchRepository;
 import com.afbscenter.util.LessonCategoryUtil;
+import com.afbscenter.service.PassExpiryService;
+import com.afbscenter.service.ReferenceDataCache;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @RestController
@@ -37,236 +45,141 @@ import java.util.stream.Collectors;
 public class DashboardQueryController {
 
     private static final Logger logger = LoggerFactory.getLogger(DashboardQueryController.class);
-    private static final long EXPIRING_MEMBERS_CACHE_TTL_MS = 60_000L;
-    private static volatile Map<String, Object> expiringMembersCache = null;
-    private static volatile long expiringMembersCacheAt = 0L;
 
     private final BookingRepository bookingRepository;
-    private final AttendanceRepository attendanceRepository;
     private final MemberRepository memberRepository;
     private final MemberProductRepository memberProductRepository;
     private final CoachRepository coachRepository;
     private final AnnouncementRepository announcementRepository;
     private final SettingsRepository settingsRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final PassExpiryWatchRepository passExpiryWatchRepository;
+    private final PassExpiryService passExpiryService;
 
     public DashboardQueryController(BookingRepository bookingRepository,
-                                    AttendanceRepository attendanceRepository,
                                     MemberRepository memberRepository,
                                     MemberProductRepository memberProductRepository,
                                     CoachRepository coachRepository,
                                     AnnouncementRepository announcementRepository,
-                                    SettingsRepository settingsRepository) {
+                                    SettingsRepository settingsRepository,
+                                    ReferenceDataCache referenceDataCache,
+                                    PassExpiryWatchRepository passExpiryWatchRepository,
+                                    PassExpiryService passExpiryService) {
         this.bookingRepository = bookingRepository;
-        this.attendanceRepository = attendanceRepository;
         this.memberRepository = memberRepository;
         this.memberProductRepository = memberProductRepository;
         this.coachRepository = coachRepository;
         this.announcementRepository = announcementRepository;
         this.settingsRepository = settingsRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.passExpiryWatchRepository = passExpiryWatchRepository;
+        this.passExpiryService = passExpiryService;
     }
 
+    /** 설정 행 (기준 데이터 캐시, 읽기 전용 목록) */
+    private List<Settings> cachedSettings() {
+        return referenceDataCache.get(ReferenceDataCache.Region.SETTINGS, "all", () -> List.copyOf(settingsRepository.findAll()));
+    }
+
+    /**
+     * 만료 임박·종료·이용권 없음 회원 목록.
+     * 만료 임박은 만료 감시 목록(pass_expiry_watch)을 한 번 읽고, 종료·이용권 없음은 회원 전체를 돌지 않고 조건 조회로 뽑는다.
+     * 사용 중 → 만료/소진 전환은 PassExpiryService가 날짜 경계에 처리하므로 여기서는 저장된 상태를 그대로 쓴다.
+     */
     @GetMapping("/expiring-members")
     @Transactional(readOnly = true)
     public ResponseEntity<Map<String, Object>> getExpiringMembers() {
         try {
-            long now = System.currentTimeMillis();
-            if (expiringMembersCache != null && (now - expiringMembersCacheAt) < EXPIRING_MEMBERS_CACHE_TTL_MS) {
-                return ResponseEntity.ok(expiringMembersCache);
-            }
             LocalDate today = LocalDate.now();
-            LocalDate expiryThreshold = today.plusDays(3);
-            List<com.afbscenter.model.Member> allMembers = memberRepository.findAll();
-            List<Map<String, Object>> expiringMembersList = new ArrayList<>();
-            List<Map<String, Object>> expiredMembersList = new ArrayList<>();
-            List<Map<String, Object>> noProductMembersList = new ArrayList<>();
-
-            for (com.afbscenter.model.Member member : allMembers) {
-                try {
-                    List<MemberProduct> activeProducts = memberProductRepository.findByMemberIdAndStatus(member.getId(), MemberProduct.Status.ACTIVE);
-                    List<MemberProduct> expiredMemberProducts = memberProductRepository.findByMemberIdAndStatus(member.getId(), MemberProduct.Status.EXPIRED);
-                    List<MemberProduct> usedUpMemberProducts = memberProductRepository.findByMemberIdAndStatus(member.getId(), MemberProduct.Status.USED_UP);
-                    List<MemberProduct> allMemberProducts = memberProductRepository.findByMemberIdWithProduct(member.getId());
-
-                    boolean isExpiring = false;
-                    List<Map<String, Object>> expiringProducts = new ArrayList<>();
-                    boolean isExpired = false;
-                    List<Map<String, Object>> expiredProducts = new ArrayList<>();
+            LocalDate expiryThreshold = today.plusDays(passExpiryService.getWatchDays());
 
-                    for (MemberProduct mp : activeProducts) {
-                        try {
-                            Map<String, Object> productInfo = new HashMap<>();
-                            boolean productExpiring = false;
-                            String expiryReason = "";
-                            if (mp.getProduct() != null && mp.getProduct().getType() == Product.ProductType.COUNT_PASS) {
-                                Integer remainingCount = mp.getRemainingCount();
-                                if (remainingCount == null) {
-                                    Integer totalCount = mp.getTotalCount();
-                                    if (totalCount == null || totalCount <= 0) {
-                                        totalCount = mp.getProduct().getUsageCount();
-                                        if (totalCount == null || totalCount <= 0)
-                                            totalCount = com.afbscenter.constants.ProductDefaults.getDefaultTotalCount();
-                                    }
-                                    Long usedCountByBooking = bookingRepository.countConfirmedBookingsByMemberProductId(mp.getId());
-                                    if (usedCountByBooking == null) usedCountByBooking = 0L;
-                                    Long usedCountByAttendance = attendanceRepository.countCheckedInAttendancesByMemberAndProduct(member.getId(), mp.getId());
-                                    if (usedCountByAttendance == null) usedCountByAttendance = 0L;
-                                    Long actualUsedCount = usedCountByAttendance > 0 ? usedCountByAttendance : usedCountByBooking;
-                                    remainingCount = totalCount - actualUsedCount.intValue();
-                                    if (remainingCount < 0) remainingCount = 0;
-                                }
-                                if (remainingCount != null && remainingCount <= 2 && remainingCount > 0) {
-                                    productExpiring = true;
-                                    expiryReason = "남은 횟수: " + remainingCount + "회";
-                                    productInfo.put("remainingCount", remainingCount);
-                                    if (mp.getProduct().getUsageCount() != null && mp.getProduct().getUsageCount() > 0) {
-                                        productInfo.put("usageCount", mp.getProduct().getUsageCount());
-                                    }
-                                }
-                            }
-                            if (mp.getProduct() != null && mp.getProduct().getType() == Product.ProductType.MONTHLY_PASS && mp.getExpiryDate() != null) {
-                                if (!mp.getExpiryDate().isBefore(today) && !mp.getExpiryDate().isAfter(expiryThreshold)) {
-                                    productExpiring = true;
-                                    long daysUntilExpiry = java.time.temporal.ChronoUnit.DAYS.between(today, mp.getExpiryDate());
-                                    expiryReason = daysUntilExpiry == 0 ? "오늘 만료" : (daysUntilExpiry == 1 ? "내일 만료" : "만료까지 " + daysUntilExpiry + "일");
-                                    productInfo.put("expiryDate", mp.getExpiryDate().toString());
-                                    productInfo.put("daysUntilExpiry", daysUntilExpiry);
-                                }
-                            }
-                            if (productExpiring) {
-                                isExpiring = true;
-                                productInfo.put("id", mp.getId());
-                                productInfo.put("productName", mp.getProduct() != null ? mp.getProduct().getName() : "알 수 없음");
-                                productInfo.put("productType", mp.getProduct() != null ? mp.getProduct().getType().toString() : "");
-                                productInfo.put("expiryReason", expiryReason);
-                                expiringProducts.add(productInfo);
-                            }
-                        } catch (Exception e) {
-                            logger.debug("MemberProduct 만료 확인 실패: MemberProduct ID={}", mp.getId(), e.getMessage());
-                        }
-                    }
-
-                    if (allMemberProducts == null || allMemberProducts.isEmpty()) {
-                        Map<String, Object> memberMap = new HashMap<>();
-                        memberMap.put("id", member.getId());
-                        memberMap.put("memberNumber", member.getMemberNumber());
-                        memberMap.put("name", member.getName());
-                        memberMap.put("phoneNumber", member.getPhoneNumber());
-                        memberMap.put("grade", member.getGrade());
-                        memberMap.put("school", member.getSchool());
-                        List<Map<String, Object>> noProducts = new ArrayList<>();
-                        Map<String, Object> pi = new HashMap<>();
-                        pi.put("id", null);
-                        pi.put("productName", "이용권 없음");
-                        pi.put("productType", "NONE");
-                        pi.put("expiryReason", "등록된 이용권이 없습니다");
-                        pi.put("status", "NO_PRODUCT");
-                        noProducts.add(pi);
-                        memberMap.put("expiredProducts", noProducts);
-                        noProductMembersList.add(memberMap);
-                    } else {
-                        if (!usedUpMemberProducts.isEmpty()) {
-                            for (MemberProduct mp : usedUpMemberProducts) {
-                                try {
-                                    if (mp.getProduct() == null) continue;
-                                    Map<String, Object> productInfo = new HashMap<>();
-                                    String expiryReason = mp.getProduct().getType() == Product.ProductType.COUNT_PASS ? "횟수 소진" : "만료됨";
-                                    if (mp.getProduct().getType() == Product.ProductType.MONTHLY_PASS && mp.getExpiryDate() != null) {
-                                        long d = java.time.temporal.ChronoUnit.DAYS.between(mp.getExpiryDate(), today);
-                                        expiryReason = d == 0 ? "오늘 만료됨" : (d > 0 ? d + "일 전 만료됨" : "만료됨");
-                                    }
-                                    isExpired = true;
-                                    productInfo.put("id", mp.getId());
-                                    productInfo.put("productName", mp.getProduct().getName());
-                                    productInfo.put("productType", mp.getProduct().getType().toString());
-                                    productInfo.put("expiryReason", expiryReason);
-                                    productInfo.put("status", mp.getStatus() != null ? mp.getStatus().toString() : "");
-                                    expiredProducts.add(productInfo);
-                                } catch (Exception e) {
-                                    logger.warn("MemberProduct 종료 확인 실패: MemberProduct ID={}", mp.getId(), e.getMessage());
-                                }
-                            }
-                        }
-                        if (activeProducts == null || activeProducts.isEmpty()) {
-                            if (!expiredMemberProducts.isEmpty()) {
-                                for (MemberProduct mp : expiredMemberProducts) {
-                                    try {
-                                        if (mp.getProduct() == null) continue;
-                                        Map<String, Object> productInfo = new HashMap<>();
-                                        String expiryReason = mp.getProduct().getType() == Product.ProductType.COUNT_PASS ? "횟수 소진" : "만료됨";
-                                        if (mp.getProduct().getType() == Product.ProductType.MONTHLY_PASS && mp.getExpiryDate() != null) {
-                                            long d = java.time.temporal.ChronoUnit.DAYS.between(mp.getExpiryDate(), today);
-                                            expiryReason = d == 0 ? "오늘 만료됨" : (d > 0 ? d + "일 전 만료됨" : "만료됨");
-                                        }
-                                        isExpired = true;
-                                        productInfo.put("id", mp.getId());
-                                        productInfo.put("productName", mp.getProduct().getName());
-                                        productInfo.put("productType", mp.getProduct().getType().toString());
-                                        productInfo.put("expiryReason", expiryReason);
-                                        productInfo.put("status", mp.getStatus() != null ? mp.getStatus().toString() : "");
-                                        expiredProducts.add(productInfo);
-                                    } catch (Exception e) {
-                                        logger.warn("MemberProduct 종료 확인 실패: MemberProduct ID={}", mp.getId(), e.getMessage());
-                                    }
-                                }
-                            }
-                            if (expiredProducts.isEmpty() && usedUpMemberProducts.isEmpty() && expiredMemberProducts.isEmpty()) {
-                                isExpired = true;
-                                Map<String, Object> pi = new HashMap<>();
-                                pi.put("id", null);
-                                pi.put("productName", "활성 이용권 없음");
-                                pi.put("productType", "NONE");
-                                pi.put("expiryReason", "활성 상태의 이용권이 없습니다");
-                                pi.put("status", "NO_ACTIVE");
-                                expiredProducts.add(pi);
-                            }
-                        }
-                        if (!isExpired && (activeProducts == null || activeProducts.isEmpty()) && !allMemberProducts.isEmpty()) {
-                            isExpired = true;
-                            if (expiredProducts.isEmpty()) {
-                                Map<String, Object> pi = new HashMap<>();
-                                pi.put("id", null);
-                                pi.put("productName", "활성 이용권 없음");
-                                pi.put("productType", "NONE");
-                                pi.put("expiryReason", "활성 상태의 이용권이 없습니다");
-                                pi.put("status", "NO_ACTIVE");
-                                expiredProducts.add(pi);
-                            }
-                        }
+            // 만료 임박: 감시 행 + 회원·상품을 한 번에 (회원 ID 순)
+            Map<Long, Map<String, Object>> expiringByMember = new LinkedHashMap<>();
+            for (Object[] row : passExpiryWatchRepository.findWatchRowsForDashboard(today, expiryThreshold)) {
+                Map<String, Object> memberMap = expiringByMember.computeIfAbsent((Long) row[4], id -> {
+                    Map<String, Object> m = memberMap(id, (String) row[5], (String) row[6], (String) row[7],
+                            (com.afbscenter.model.Member.MemberGrade) row[8], (String) row[9]);
+                    m.put("expiringProducts", new ArrayList<Map<String, Object>>());
+                    return m;
+                });
+                Map<String, Object> productInfo = new HashMap<>();
+                Product.ProductType type = (Product.ProductType) row[11];
+                if (row[1] == PassExpiryWatch.Kind.LOW_COUNT) {
+                    Integer remainingCount = (Integer) row[2];
+                    Integer usageCount = (Integer) row[12];
+                    productInfo.put("remainingCount", remainingCount);
+                    if (usageCount != null && usageCount > 0) {
+                        productInfo.put("usageCount", usageCount);
                     }
+                    productInfo.put("expiryReason", "남은 횟수: " + remainingCount + "회");
+                } else {
+                    LocalDate expiryDate = (LocalDate) row[3];
+                    long daysUntilExpiry = ChronoUnit.DAYS.between(today, expiryDate);
+                    productInfo.put("expiryDate", expiryDate.toString());
+                    productInfo.put("daysUntilExpiry", daysUntilExpiry);
+                    productInfo.put("expiryReason", daysUntilExpiry == 0 ? "오늘 만료" : (daysUntilExpiry == 1 ? "내일 만료" : "만료까지 " + daysUntilExpiry + "일"));
+                }
+                productInfo.put("id", row[0]);
+                productInfo.put("productName", row[10]);
+                productInfo.put("productType", type != null ? type.toString() : "");
+                @SuppressWarnings("unchecked")
+                List<Map<String, Object>> expiringProducts = (List<Map<String, Object>>) memberMap.get("expiringProducts");
+                expiringProducts.add(productInfo);
+            }
 
-                    if (isExpiring) {
-                        Map<String, Object> memberMap = new HashMap<>();
-                        memberMap.put("id", member.getId());
-                        memberMap.put("memberNumber", member.getMemberNumber());
-                        memberMap.put("name", member.getName());
-                        memberMap.put("phoneNumber", member.getPhoneNumber());
-                        memberMap.put("grade", member.getGrade());
-                        memberMap.put("school", member.getSchool());
-                        memberMap.put("expiringProducts", expiringProducts);
-                        expiringMembersList.add(memberMap);
-                    }
-                    if (isExpired) {
-                        Map<String, Object> memberMap = new HashMap<>();
-                        memberMap.put("id", member.getId());
-                        memberMap.put("memberNumber", member.getMemberNumber());
-                        memberMap.put("name", member.getName());
-                        memberMap.put("phoneNumber", member.getPhoneNumber());
-                        memberMap.put("grade", member.getGrade());
-                        memberMap.put("school", member.getSchool());
-                        memberMap.put("expiredProducts", expiredProducts);
-                        expiredMembersList.add(memberMap);
-                    }
-                } catch (Exception e) {
-                    logger.debug("회원 만료 확인 실패: Member ID={}", member.getId(), e.getMessage());
+            // 종료: 소진 이용권 전부 + 사용 중 이용권이 없는 회원의 만료 이용권 (회원 ID 순)
+            Map<Long, Map<String, Object>> expiredByMember = new TreeMap<>();
+            for (MemberProduct mp : memberProductRepository.findEndedForDashboard()) {
+                com.afbscenter.model.Member member = mp.getMember();
+                Map<String, Object> memberMap = expiredByMember.computeIfAbsent(member.getId(), id -> {
+                    Map<String, Object> m = memberMap(member);
+                    m.put("expiredProducts", new ArrayList<Map<String, Object>>());
+                    return m;
+                });
+                String expiryReason = mp.getProduct().getType() == Product.ProductType.COUNT_PASS ? "횟수 소진" : "만료됨";
+                if (mp.getProduct().getType() == Product.ProductType.MONTHLY_PASS && mp.getExpiryDate() != null) {
+                    long d = ChronoUnit.DAYS.between(mp.getExpiryDate(), today);
+                    expiryReason = d == 0 ? "오늘 만료됨" : (d > 0 ? d + "일 전 만료됨" : "만료됨");
+                }
+                Map<String, Object> productInfo = new HashMap<>();
+                productInfo.put("id", mp.getId());
+                productInfo.put("productName", mp.getProduct().getName());
+                productInfo.put("productType", mp.getProduct().getType().toString());
+                productInfo.put("expiryReason", expiryReason);
+                productInfo.put("status", mp.getStatus() != null ? mp.getStatus().toString() : "");
+                @SuppressWarnings("unchecked")
+                List<Map<String, Object>> expiredProducts = (List<Map<String, Object>>) memberMap.get("expiredProducts");
+                expiredProducts.add(productInfo);
+            }
+            // 이용권은 있으나 사용 중도 종료 목록도 아닌 회원 (상태 누락 등): 예전처럼 '활성 이용권 없음'으로 표시
+            List<Long> withoutActive = new ArrayList<>();
+            for (Long memberId : memberProductRepository.findMemberIdsWithoutActiveProducts()) {
+                if (!expiredByMember.containsKey(memberId)) withoutActive.add(memberId);
+            }
+            if (!withoutActive.isEmpty()) {
+                for (com.afbscenter.model.Member member : memberRepository.findAllById(withoutActive)) {
+                    Map<String, Object> memberMap = memberMap(member);
+                    List<Map<String, Object>> noActive = new ArrayList<>();
+                    noActive.add(placeholderProduct("활성 이용권 없음", "활성 상태의 이용권이 없습니다", "NO_ACTIVE"));
+                    memberMap.put("expiredProducts", noActive);
+                    expiredByMember.put(member.getId(), memberMap);
                 }
             }
 
+            // 이용권 없음: 미삭제 이용권이 하나도 없는 회원
+            List<Map<String, Object>> noProductMembersList = new ArrayList<>();
+            for (com.afbscenter.model.Member member : memberRepository.findWithoutProducts()) {
+                Map<String, Object> memberMap = memberMap(member);
+                List<Map<String, Object>> noProducts = new ArrayList<>();
+                noProducts.add(placeholderProduct("이용권 없음", "등록된 이용권이 없습니다", "NO_PRODUCT"));
+                memberMap.put("expiredProducts", noProducts);
+                noProductMembersList.add(memberMap);
+            }
+
             Map<String, Object> result = new HashMap<>();
-            result.put("expiring", expiringMembersList);
-            result.put("expired", expiredMembersList);
+            result.put("expiring", new ArrayList<>(expiringByMember.values()));
+            result.put("expired", new ArrayList<>(expiredByMember.values()));
             result.put("noProduct", noProductMembersList);
-            expiringMembersCache = result;
-            expiringMembersCacheAt = System.currentTimeMillis();
             return ResponseEntity.ok(result);
         } catch (Exception e) {
             logger.error("만료 임박 및 종료 회원 목록 조회 중 오류 발생", e);
@@ -274,6 +187,53 @@ public class DashboardQueryController {
         }
     }
 
+    /** 날짜 경계 처리(만료·소진 전환 + 만료 감시 목록 재구축) 즉시 실행 (관리자 전용) */
+    @PostMapping("/expiring-members/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildExpiryWatch(HttpServletRequest request) {
+        String role = request != null ? (String) request.getAttribute("role") : null;
+        if (role == null || !role.equals("ADMIN")) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "관리자만 사용할 수 있습니다.");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+        }
+        try {
+            return ResponseEntity.ok(passExpiryService.runDayBoundary());
+        } catch (Exception e) {
+            logger.error("만료 감시 재구축 실패: {}", e.getMessage(), e);
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "만료 감시 재구축 중 오류가 발생했습니다.");
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
+    private static Map<String, Object> memberMap(com.afbscenter.model.Member member) {
+        return memberMap(member.getId(), member.getMemberNumber(), member.getName(), member.getPhoneNumber(),
+                member.getGrade(), member.getSchool());
+    }
+
+    private static Map<String, Object> memberMap(Long id, String memberNumber, String name, String phoneNumber,
+                                                 com.afbscenter.model.Member.MemberGrade grade, String school) {
+        Map<String, Object> memberMap = new HashMap<>();
+        memberMap.put("id", id);
+        memberMap.put("memberNumber", memberNumber);
+        memberMap.put("name", name);
+        memberMap.put("phoneNumber", phoneNumber);
+        memberMap.put("grade", grade);
+        memberMap.put("school", school);
+        return memberMap;
+    }
+
+    private static Map<String, Object> placeholderProduct(String productName, String expiryReason, String status) {
+        Map<String, Object> pi = new HashMap<>();
+        pi.put("id", null);
+        pi.put("productName", productName);
+        pi.put("productType", "NONE");
+        pi.put("expiryReason", expiryReason);
+        pi.put("status", status);
+        return pi;
+    }
+
     @Transactional
     void updateMissingLessonCategoriesForBookings(List<Booking> bookings) {
         try {
@@ -397,7 +357,7 @@ public class DashboardQueryController {
                 map.put("createdAt", a.getCreatedAt());
                 result.add(map);
             }
-            Settings settings = settingsRepository.findAll().stream().findFirst().orElse(null);
+            Settings settings = cachedSettings().stream().findFirst().orElse(null);
             if (MembershipDuesAnnouncementHelper.shouldExposeInBell(settings)) {
                 result.add(0, MembershipDuesAnnouncementHelper.toSyntheticMap(settings));
             }
@@ -1,19 +1,35 @@
 package com.afbscenter.controller;
 
+import com.afbscenter.config.HotQueryIndexes;
+import com.afbscenter.config.MigrationLedger;
+import com.afbscenter.service.ReferenceDataCache;
+import com.afbscenter.service.RequestSqlMetrics;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * 데이터베이스 상태 확인용 컨트롤러
+ * - GET /api/db-status/index-advice : 조회 경로 대표 쿼리 EXPLAIN, 풀 스캔·누락 인덱스 표시 (관리자 전용)
+ * - GET /api/db-status/migrations : 시작 마이그레이션 단계별 마지막 실행 상태·소요 시간 (관리자 전용)
+ * - GET /api/db-status/request-sql : 엔드포인트별 요청당 SQL 문 수·JDBC 시간 히스토그램과 예산 위반 수 (관리자 전용)
  */
 @RestController
 @RequestMapping("/api/db-status")
@@ -21,9 +37,22 @@ public class DatabaseStatusController {
 
     private static final Logger logger = LoggerFactory.getLogger(DatabaseStatusController.class);
 
+    // H2 EXPLAIN 계획의 테이블 접근 주석: /* PUBLIC.BOOKINGS.tableScan */, /* PUBLIC.IDX_BOOKINGS_START_TIME: ... */
+    private static final Pattern TABLE_SCAN = Pattern.compile("/\\*\\s*\\w+\\.(\\w+)\\.tableScan");
+    private static final Pattern INDEX_USE = Pattern.compile("/\\*\\s*\\w+\\.(\\w+)(?::|\\s*\\*/)");
+
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private MigrationLedger migrationLedger;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private RequestSqlMetrics requestSqlMetrics;
+
     @GetMapping
     public ResponseEntity<Map<String, Object>> getDatabaseStatus() {
         Map<String, Object> status = new HashMap<>();
@@ -50,6 +79,153 @@ public class DatabaseStatusController {
         }
     }
     
+    /**
+     * {@link HotQueryIndexes#HOT_QUERIES}를 EXPLAIN 해서 인덱스 없이 테이블 전체를 읽는 쿼리를 표시.
+     * 데이터가 적으면 H2가 인덱스를 두고도 스캔을 고를 수 있으므로, 누락 인덱스 목록과 함께 본다.
+     */
+    @GetMapping("/index-advice")
+    public ResponseEntity<Map<String, Object>> getIndexAdvice(HttpServletRequest request) {
+        String role = request != null ? (String) request.getAttribute("role") : null;
+        if (role == null || !role.equals("ADMIN")) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "관리자만 사용할 수 있습니다.");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+        }
+
+        Set<String> existingIndexes = new LinkedHashSet<>();
+        try {
+            for (String name : jdbcTemplate.queryForList("SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES", String.class)) {
+                existingIndexes.add(name.toUpperCase());
+            }
+        } catch (Exception e) {
+            logger.warn("인덱스 목록 조회 실패: {}", e.getMessage());
+        }
+        List<String> missingIndexes = new ArrayList<>();
+        for (HotQueryIndexes.IndexDef index : HotQueryIndexes.INDEXES) {
+            if (!existingIndexes.contains(index.getName().toUpperCase())) {
+                missingIndexes.add(index.getName() + " ON " + index.getTable() + "(" + index.getColumns() + ")");
+            }
+        }
+
+        List<Map<String, Object>> queries = new ArrayList<>();
+        int tableScanCount = 0;
+        for (HotQueryIndexes.HotQuery query : HotQueryIndexes.HOT_QUERIES) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("name", query.getName());
+            item.put("source", query.getSource());
+            try {
+                String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + query.getSql(), String.class));
+                List<String> scannedTables = findAll(TABLE_SCAN, plan);
+                List<String> usedIndexes = new ArrayList<>();
+                for (String name : findAll(INDEX_USE, plan)) {
+                    if (existingIndexes.contains(name.toUpperCase()) || name.toUpperCase().startsWith("PRIMARY_KEY")) {
+                        usedIndexes.add(name);
+                    }
+                }
+                item.put("tableScan", !scannedTables.isEmpty());
+                item.put("scannedTables", scannedTables);
+                item.put("usedIndexes", usedIndexes);
+                item.put("plan", plan);
+                if (!scannedTables.isEmpty()) {
+                    tableScanCount++;
+                }
+            } catch (Exception e) {
+                item.put("error", e.getMessage());
+            }
+            queries.add(item);
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("queries", queries);
+        result.put("tableScanCount", tableScanCount);
+        result.put("missingIndexes", missingIndexes);
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping("/migrations")
+    public ResponseEntity<Map<String, Object>> getMigrationLedger(HttpServletRequest request) {
+        String role = request != null ? (String) request.getAttribute("role") : null;
+        if (role == null || !role.equals("ADMIN")) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "관리자만 사용할 수 있습니다.");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+        }
+        try {
+            Map<String, Object> result = new HashMap<>();
+            result.put("steps", migrationLedger.findAll());
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            logger.error("마이그레이션 원장 조회 중 오류 발생", e);
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(500).body(error);
+        }
+    }
+
+    /** 기준 데이터 캐시 영역별 적중률·크기 */
+    @GetMapping("/reference-cache")
+    public ResponseEntity<Map<String, Object>> getReferenceCacheStats(HttpServletRequest request) {
+        String role = request != null ? (String) request.getAttribute("role") : null;
+        if (role == null || !role.equals("ADMIN")) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "관리자만 사용할 수 있습니다.");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+        }
+        return ResponseEntity.ok(referenceDataCache.stats());
+    }
+
+    /** DB를 직접 고친 뒤 등 기준 데이터 캐시를 즉시 비울 때 */
+    @PostMapping("/reference-cache/clear")
+    public ResponseEntity<Map<String, Object>> clearReferenceCache(HttpServletRequest request) {
+        String role = request != null ? (String) request.getAttribute("role") : null;
+        if (role == null || !role.equals("ADMIN")) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "관리자만 사용할 수 있습니다.");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+        }
+        referenceDataCache.invalidateAll();
+        logger.info("기준 데이터 캐시 수동 비움");
+        return ResponseEntity.ok(referenceDataCache.stats());
+    }
+
+    /** 엔드포인트별 요청 SQL 지표 (요청 수 많은 순) */
+    @GetMapping("/request-sql")
+    public ResponseEntity<Map<String, Object>> getRequestSqlMetrics(HttpServletRequest request) {
+        String role = request != null ? (String) request.getAttribute("role") : null;
+        if (role == null || !role.equals("ADMIN")) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "관리자만 사용할 수 있습니다.");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+        }
+        Map<String, Object> result = new HashMap<>();
+        result.put("endpoints", requestSqlMetrics.snapshot());
+        return ResponseEntity.ok(result);
+    }
+
+    /** 배포·쿼리 수정 전후 비교를 위해 요청 SQL 지표를 비울 때 */
+    @PostMapping("/request-sql/reset")
+    public ResponseEntity<Map<String, Object>> resetRequestSqlMetrics(HttpServletRequest request) {
+        String role = request != null ? (String) request.getAttribute("role") : null;
+        if (role == null || !role.equals("ADMIN")) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "관리자만 사용할 수 있습니다.");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+        }
+        requestSqlMetrics.reset();
+        Map<String, Object> result = new HashMap<>();
+        result.put("endpoints", requestSqlMetrics.snapshot());
+        return ResponseEntity.ok(result);
+    }
+
+    private static List<String> findAll(Pattern pattern, String text) {
+        List<String> out = new ArrayList<>();
+        Matcher m = pattern.matcher(text);
+        while (m.find()) {
+            out.add(m.group(1));
+        }
+        return out;
+    }
+
     private Long getTableCount(String tableName) {
         try {
             Long count = jdbcTemplate.queryForObject(
@@ -0,0 +1,181 @@
+package com.afbscenter.controller;
+
+import com.afbscenter.service.export.ExportFormat;
+import com.afbscenter.service.export.ExportJob;
+import com.afbscenter.service.export.ExportRequest;
+import com.afbscenter.service.export.ExportRowSource;
+import com.afbscenter.service.export.ExportService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 회원·예약·출석·훈련기록 내보내기 (관리자/매니저).
+ * - GET  /api/exports/{type}?format=xlsx|csv|csv-gz&startDate=&endDate= : 바로 다운로드 (최대 {@link ExportService#SYNC_ROW_LIMIT}행)
+ * - POST /api/exports/{type}/jobs : 백그라운드 작업 등록 (202)
+ * - GET  /api/exports/jobs/{jobId} : 진행률 조회
+ * - GET  /api/exports/jobs/{jobId}/download : 완료된 파일 다운로드
+ * type: members, bookings, attendances, training-logs
+ */
+@RestController
+@RequestMapping("/api/exports")
+public class ExportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportController.class);
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping("/{type}")
+    public void download(@PathVariable String type,
+                         @RequestParam(required = false) String format,
+                         @RequestParam(required = false) String startDate,
+                         @RequestParam(required = false) String endDate,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        if (!canExport(request)) {
+            response.sendError(HttpStatus.FORBIDDEN.value(), "관리자 또는 매니저만 내보낼 수 있습니다.");
+            return;
+        }
+        ExportRowSource source;
+        ExportFormat exportFormat;
+        ExportRequest exportRequest;
+        try {
+            source = exportService.source(type);
+            exportFormat = ExportFormat.fromParam(format);
+            exportRequest = parseRequest(startDate, endDate);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+            return;
+        }
+        long rows = source.count(exportRequest);
+        if (rows > ExportService.SYNC_ROW_LIMIT) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(),
+                    "대상이 " + rows + "건으로 많습니다. POST /api/exports/" + type + "/jobs 로 백그라운드 내보내기를 사용하세요.");
+            return;
+        }
+        try {
+            response.setContentType(exportFormat.getContentType());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, attachment(source.title() + "_" + LocalDate.now() + exportFormat.getExtension()));
+            exportService.export(source, exportFormat, exportRequest, response.getOutputStream());
+        } catch (Exception e) {
+            logger.error("내보내기 중 오류 발생: type={}", type, e);
+            if (!response.isCommitted()) {
+                response.reset();
+                response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
+        }
+    }
+
+    @PostMapping("/{type}/jobs")
+    public ResponseEntity<Map<String, Object>> submitJob(@PathVariable String type,
+                                                         @RequestParam(required = false) String format,
+                                                         @RequestParam(required = false) String startDate,
+                                                         @RequestParam(required = false) String endDate,
+                                                         HttpServletRequest request) {
+        if (!canExport(request)) {
+            return error(HttpStatus.FORBIDDEN, "관리자 또는 매니저만 내보낼 수 있습니다.");
+        }
+        try {
+            ExportJob job = exportService.submit(exportService.source(type), ExportFormat.fromParam(format),
+                    parseRequest(startDate, endDate), (String) request.getAttribute("username"));
+            Map<String, Object> body = job.toMap();
+            body.put("statusUrl", "/api/exports/jobs/" + job.getId());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(body);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            return error(HttpStatus.TOO_MANY_REQUESTS, e.getMessage());
+        }
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<Map<String, Object>> getJob(@PathVariable String jobId, HttpServletRequest request) {
+        if (!canExport(request)) {
+            return error(HttpStatus.FORBIDDEN, "관리자 또는 매니저만 내보낼 수 있습니다.");
+        }
+        ExportJob job = exportService.getJob(jobId);
+        if (job == null || !canAccess(job, request)) {
+            return error(HttpStatus.NOT_FOUND, "내보내기 작업을 찾을 수 없습니다.");
+        }
+        return ResponseEntity.ok(job.toMap());
+    }
+
+    @GetMapping("/jobs/{jobId}/download")
+    public ResponseEntity<Resource> downloadJob(@PathVariable String jobId, HttpServletRequest request) {
+        if (!canExport(request)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        ExportJob job = exportService.getJob(jobId);
+        if (job == null || !canAccess(job, request)) {
+            return ResponseEntity.notFound().build();
+        }
+        if (job.getStatus() != ExportJob.Status.DONE || job.getFile() == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, attachment(job.getFileName()))
+                .header(HttpHeaders.CONTENT_TYPE, job.getFormat().getContentType())
+                .body(new FileSystemResource(job.getFile()));
+    }
+
+    private static ExportRequest parseRequest(String startDate, String endDate) {
+        boolean hasStart = startDate != null && !startDate.isBlank();
+        boolean hasEnd = endDate != null && !endDate.isBlank();
+        if (hasStart != hasEnd) {
+            throw new IllegalArgumentException("시작일과 종료일을 함께 지정해주세요.");
+        }
+        if (!hasStart) {
+            return new ExportRequest(null, null);
+        }
+        return new ExportRequest(LocalDate.parse(startDate.trim()), LocalDate.parse(endDate.trim()));
+    }
+
+    private static String attachment(String fileName) {
+        String encoded = URLEncoder.encode(fileName, StandardCharsets.UTF_8).replace("+", "%20");
+        return "attachment; filename*=UTF-8''" + encoded;
+    }
+
+    private static boolean canExport(HttpServletRequest request) {
+        String role = request != null ? (String) request.getAttribute("role") : null;
+        return "ADMIN".equals(role) || "MANAGER".equals(role);
+    }
+
+    /** 작업은 등록한 사용자와 관리자만 조회·다운로드 */
+    private static boolean canAccess(ExportJob job, HttpServletRequest request) {
+        if ("ADMIN".equals(request.getAttribute("role"))) {
+            return true;
+        }
+        Object username = request.getAttribute("username");
+        return job.getRequestedBy() != null && job.getRequestedBy().equals(username);
+    }
+
+    private static ResponseEntity<Map<String, Object>> error(HttpStatus status, String message) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("error", message);
+        return ResponseEntity.status(status).body(error);
+    }
+}
@@ -4,6 +4,8 @@ import com.afbscenter.model.Facility;
 import com.afbscenter.model.FacilitySlot;
 import com.afbscenter.repository.FacilityRepository;
 import com.afbscenter.repository.FacilitySlotRepository;
+import com.afbscenter.service.MemberCalendarService;
+import com.afbscenter.service.ReferenceDataCache;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,10 +30,26 @@ public class FacilityController {
 
     private final FacilityRepository facilityRepository;
     private final FacilitySlotRepository facilitySlotRepository;
+    private final MemberCalendarService memberCalendarService;
+    private final ReferenceDataCache referenceDataCache;
 
-    public FacilityController(FacilityRepository facilityRepository, FacilitySlotRepository facilitySlotRepository) {
+    public FacilityController(FacilityRepository facilityRepository, FacilitySlotRepository facilitySlotRepository,
+                              MemberCalendarService memberCalendarService, ReferenceDataCache referenceDataCache) {
         this.facilityRepository = facilityRepository;
         this.facilitySlotRepository = facilitySlotRepository;
+        this.memberCalendarService = memberCalendarService;
+        this.referenceDataCache = referenceDataCache;
+    }
+
+    /** 시설 단건 (기준 데이터 캐시) */
+    private Optional<Facility> cachedFacility(Long id) {
+        return referenceDataCache.get(ReferenceDataCache.Region.FACILITIES, id, () -> facilityRepository.findById(id));
+    }
+
+    /** 시설의 요일별 슬롯 (기준 데이터 캐시, 읽기 전용 목록) */
+    private List<FacilitySlot> cachedSlots(Long facilityId) {
+        return referenceDataCache.get(ReferenceDataCache.Region.FACILITY_SLOTS, facilityId,
+                () -> List.copyOf(facilitySlotRepository.findByFacilityIdOrderByDayOfWeek(facilityId)));
     }
 
     @GetMapping
@@ -46,14 +64,17 @@ public class FacilityController {
             if (branch != null && !branch.trim().isEmpty()) {
                 try {
                     Facility.Branch branchEnum = Facility.Branch.valueOf(branch.toUpperCase());
-                    facilities = facilityRepository.findByBranchAndActiveTrue(branchEnum);
+                    facilities = referenceDataCache.get(ReferenceDataCache.Region.FACILITIES, "active:" + branchEnum,
+                            () -> List.copyOf(facilityRepository.findByBranchAndActiveTrue(branchEnum)));
                     logger.info("지점별 시설 조회: {} - {}건", branchEnum, facilities.size());
                 } catch (IllegalArgumentException e) {
                     logger.warn("잘못된 지점 파라미터: {}, 모든 시설 반환", branch);
-                    facilities = facilityRepository.findByActiveTrue();
+                    facilities = referenceDataCache.get(ReferenceDataCache.Region.FACILITIES, "active",
+                        () -> List.copyOf(facilityRepository.findByActiveTrue()));
                 }
             } else {
-                facilities = facilityRepository.findByActiveTrue();
+                facilities = referenceDataCache.get(ReferenceDataCache.Region.FACILITIES, "active",
+                        () -> List.copyOf(facilityRepository.findByActiveTrue()));
             }
             
             // 시설 타입 필터링
@@ -79,7 +100,7 @@ public class FacilityController {
     @GetMapping("/{id}")
     @Transactional(readOnly = true)
     public ResponseEntity<Facility> getFacilityById(@PathVariable Long id) {
-        return facilityRepository.findById(id)
+        return cachedFacility(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -88,12 +109,14 @@ public class FacilityController {
     @GetMapping("/{id}/slots")
     @Transactional(readOnly = true)
     public ResponseEntity<List<Map<String, Object>>> getFacilitySlots(@PathVariable Long id) {
-        Optional<Facility> opt = facilityRepository.findById(id);
+        Optional<Facility> opt = cachedFacility(id);
         if (opt.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
-        Facility f = opt.get();
-        List<FacilitySlot> dbSlots = facilitySlotRepository.findByFacilityIdOrderByDayOfWeek(id);
+        return ResponseEntity.ok(slotsResponse(opt.get(), cachedSlots(id)));
+    }
+
+    private static List<Map<String, Object>> slotsResponse(Facility f, List<FacilitySlot> dbSlots) {
         if (!dbSlots.isEmpty()) {
             List<Map<String, Object>> slots = new ArrayList<>();
             for (FacilitySlot s : dbSlots) {
@@ -105,7 +128,7 @@ public class FacilityController {
                 map.put("isOpen", Boolean.TRUE.equals(s.getIsOpen()));
                 slots.add(map);
             }
-            return ResponseEntity.ok(slots);
+            return slots;
         }
         LocalTime open = f.getOpenTime();
         LocalTime close = f.getCloseTime();
@@ -121,7 +144,7 @@ public class FacilityController {
             slot.put("isOpen", hasHours);
             slots.add(slot);
         }
-        return ResponseEntity.ok(slots);
+        return slots;
     }
 
     /** 시설 슬롯 일괄 저장. 기존 슬롯 삭제 후 요청 본문으로 교체 */
@@ -144,7 +167,8 @@ public class FacilityController {
                 facilitySlotRepository.save(slot);
             }
         }
-        return ResponseEntity.ok(getFacilitySlots(id).getBody());
+        // 캐시는 커밋 후에 비워지므로 방금 저장한 슬롯은 직접 다시 읽는다
+        return ResponseEntity.ok(slotsResponse(facility, facilitySlotRepository.findByFacilityIdOrderByDayOfWeek(id)));
     }
 
     /** 특정 날짜에 해당 시설에서 예약 가능한 시간대 목록. 예약 폼에서 "오픈 슬롯만" 제한할 때 사용 */
@@ -153,14 +177,14 @@ public class FacilityController {
     public ResponseEntity<List<Map<String, String>>> getAvailableSlots(
             @PathVariable Long id,
             @RequestParam String date) {
-        Optional<Facility> opt = facilityRepository.findById(id);
+        Optional<Facility> opt = cachedFacility(id);
         if (opt.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
         Facility f = opt.get();
         LocalDate localDate = LocalDate.parse(date);
         int dayOfWeek = localDate.getDayOfWeek().getValue();
-        List<FacilitySlot> dbSlots = facilitySlotRepository.findByFacilityIdOrderByDayOfWeek(id);
+        List<FacilitySlot> dbSlots = cachedSlots(id);
         FacilitySlot daySlot = dbSlots.stream().filter(s -> s.getDayOfWeek() == dayOfWeek).findFirst().orElse(null);
         List<Map<String, String>> ranges = new ArrayList<>();
         if (daySlot != null && Boolean.TRUE.equals(daySlot.getIsOpen()) && daySlot.getStartTime() != null && daySlot.getEndTime() != null) {
@@ -231,6 +255,8 @@ public class FacilityController {
             existingFacility.setEquipment(facility.getEquipment());
             existingFacility.setFacilityType(facility.getFacilityType());
             existingFacility.setActive(facility.getActive());
+            // 회원 달력 점유 응답에 시설명이 들어가므로 캐시 무효화
+            memberCalendarService.invalidateAllAfterCommit();
             
             return ResponseEntity.ok(facilityRepository.save(existingFacility));
         } catch (IllegalArgumentException e) {
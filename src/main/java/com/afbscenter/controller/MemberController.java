@@ -107,11 +107,49 @@ public class MemberController {
             logger.debug("회원 목록 조회 시작: productCategory={}, grade={}, status={}, branch={}, endedTicket={}, page={}, size={}",
                 productCategory, grade, status, branch, endedTicket, page, size);
             
+            String role = request != null ? (String) request.getAttribute("role") : null;
+
+            // 페이지네이션: page, size 모두 있으면 필터·페이지를 DB에서 처리하고 해당 페이지 회원만 변환
+            if (page != null && size != null && page >= 0 && size > 0) {
+                Long coachScopeId = null;
+                if ("COACH".equalsIgnoreCase(role)) {
+                    Optional<Long> coachIdOpt = resolveCoachIdFromRequest(request);
+                    if (coachIdOpt.isEmpty()) {
+                        logger.warn("코치 계정에 연결된 coach 정보가 없어 회원 목록을 비웁니다.");
+                        Map<String, Object> body = new HashMap<>();
+                        body.put("content", new java.util.ArrayList<>());
+                        body.put("totalElements", 0);
+                        body.put("totalPages", 0);
+                        body.put("number", page);
+                        body.put("size", size);
+                        return ResponseEntity.ok(body);
+                    }
+                    coachScopeId = coachIdOpt.get();
+                }
+                org.springframework.data.domain.Page<com.afbscenter.dto.MemberResponseDTO> memberPage =
+                        memberService.getMembersPageWithFilters(productCategory, grade, status, branch, endedTicket, coachScopeId, page, size);
+                List<Map<String, Object>> content = new java.util.ArrayList<>();
+                for (com.afbscenter.dto.MemberResponseDTO dto : memberPage.getContent()) {
+                    try {
+                        content.add(dto.toMap());
+                    } catch (Exception e) {
+                        logger.warn("회원 DTO 변환 실패 (Member ID: {}): {}", dto.getId(), e.getMessage());
+                    }
+                }
+                Map<String, Object> body = new HashMap<>();
+                body.put("content", content);
+                body.put("totalElements", memberPage.getTotalElements());
+                body.put("totalPages", memberPage.getTotalPages());
+                body.put("number", page);
+                body.put("size", size);
+                logger.info("회원 목록 조회 완료 (페이지): {}명 중 {}번째 페이지 {}명 반환", memberPage.getTotalElements(), page, content.size());
+                return ResponseEntity.ok(body);
+            }
+
             // Service에서 필터링 및 변환 로직 처리
             List<com.afbscenter.dto.MemberResponseDTO> memberDTOs = 
                     memberService.getAllMembersWithFilters(productCategory, grade, status, branch, endedTicket);
 
-            String role = request != null ? (String) request.getAttribute("role") : null;
             if ("COACH".equalsIgnoreCase(role)) {
                 Optional<Long> coachIdOpt = resolveCoachIdFromRequest(request);
                 if (coachIdOpt.isEmpty()) {
@@ -142,23 +180,6 @@ public class MemberController {
                 }
             }
             
-            // 페이지네이션: page, size 모두 있으면 페이지 단위 응답
-            if (page != null && size != null && page >= 0 && size > 0) {
-                int total = membersWithTotalPayment.size();
-                int from = Math.min(page * size, total);
-                int to = Math.min(from + size, total);
-                List<Map<String, Object>> content = from < to ? membersWithTotalPayment.subList(from, to) : new java.util.ArrayList<>();
-                int totalPages = size > 0 ? (int) Math.ceil((double) total / size) : 0;
-                Map<String, Object> body = new HashMap<>();
-                body.put("content", content);
-                body.put("totalElements", total);
-                body.put("totalPages", totalPages);
-                body.put("number", page);
-                body.put("size", size);
-                logger.info("회원 목록 조회 완료 (페이지): {}명 중 {}~{} 반환", total, from, to);
-                return ResponseEntity.ok(body);
-            }
-            
             logger.info("회원 목록 조회 완료: {}명", membersWithTotalPayment.size());
             return ResponseEntity.ok(membersWithTotalPayment);
         } catch (Exception e) {
@@ -2,14 +2,22 @@ package com.afbscenter.controller;
 
 
 
+import com.afbscenter.model.DeskThreadSummary;
+
 import com.afbscenter.model.Member;
 
 import com.afbscenter.model.MemberDeskMessage;
 
+import com.afbscenter.repository.DeskThreadSummaryRepository;
+
 import com.afbscenter.repository.MemberDeskMessageRepository;
 
 import com.afbscenter.repository.MemberRepository;
 
+import com.afbscenter.service.DeskThreadSummaryService;
+
+import com.afbscenter.service.LiveNotificationService;
+
 import com.afbscenter.util.JwtUtil;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,6 +26,8 @@ import org.slf4j.Logger;
 
 import org.slf4j.LoggerFactory;
 
+import org.springframework.data.domain.PageRequest;
+
 import org.springframework.http.HttpStatus;
 
 import org.springframework.http.ResponseEntity;
@@ -64,6 +74,10 @@ public class MemberDeskMessageController {
 
     private static final int MAX_CONTENT = 4000;
 
+    private static final int DEFAULT_INBOX_PAGE_SIZE = 100;
+
+    private static final int MAX_INBOX_PAGE_SIZE = 500;
+
 
 
     private final MemberRepository memberRepository;
@@ -74,6 +88,12 @@ public class MemberDeskMessageController {
 
     private final PasswordEncoder passwordEncoder;
 
+    private final LiveNotificationService liveNotificationService;
+
+    private final DeskThreadSummaryService deskThreadSummaryService;
+
+    private final DeskThreadSummaryRepository deskThreadSummaryRepository;
+
 
 
     public MemberDeskMessageController(MemberRepository memberRepository,
@@ -82,7 +102,13 @@ public class MemberDeskMessageController {
 
                                        JwtUtil jwtUtil,
 
-                                       PasswordEncoder passwordEncoder) {
+                                       PasswordEncoder passwordEncoder,
+
+                                       LiveNotificationService liveNotificationService,
+
+                                       DeskThreadSummaryService deskThreadSummaryService,
+
+                                       DeskThreadSummaryRepository deskThreadSummaryRepository) {
 
         this.memberRepository = memberRepository;
 
@@ -92,15 +118,19 @@ public class MemberDeskMessageController {
 
         this.passwordEncoder = passwordEncoder;
 
+        this.liveNotificationService = liveNotificationService;
+
+        this.deskThreadSummaryService = deskThreadSummaryService;
+
+        this.deskThreadSummaryRepository = deskThreadSummaryRepository;
+
     }
 
 
 
     private boolean isThreadLocked(Member member) {
 
-        return member != null && member.getDeskThreadLockPinHash() != null
-
-                && !member.getDeskThreadLockPinHash().isBlank();
+        return DeskThreadSummaryService.isThreadLocked(member);
 
     }
 
@@ -258,6 +288,8 @@ public class MemberDeskMessageController {
 
         memberRepository.save(member);
 
+        deskThreadSummaryService.onThreadLockChanged(memberId, isThreadLocked(member));
+
         return ResponseEntity.ok(Map.of(
 
                 "threadLocked", isThreadLocked(member),
@@ -270,7 +302,7 @@ public class MemberDeskMessageController {
     @GetMapping("/badge-count")
     @Transactional(readOnly = true)
     public ResponseEntity<Map<String, Object>> badgeCount() {
-        long n = memberDeskMessageRepository.countTotalUnreadFromMembers();
+        long n = deskThreadSummaryService.totalUnreadFromMembers();
         return ResponseEntity.ok(Map.of("totalUnreadFromMembers", n));
     }
 
@@ -279,77 +311,89 @@ public class MemberDeskMessageController {
     @Transactional
     public ResponseEntity<Map<String, Object>> markAllReadForAdmin() {
         int updated = memberDeskMessageRepository.markAllMemberPostsReadByAdmin();
+        deskThreadSummaryService.onAllReadByAdmin();
+        liveNotificationService.deskChangedAfterCommit(null);
         return ResponseEntity.ok(Map.of("updated", updated));
     }
 
+    /**
+     * 관리자 쪽지함: 스레드 요약을 마지막 쪽지 최신순으로 한 페이지 읽는다.
+     * 다음 페이지가 있으면 nextCursor(마지막 쪽지 시각|회원ID)를 내려주고, 그 값을 {@code cursor}로 넘기면 이어서 조회.
+     */
     @GetMapping("/inbox")
-
     @Transactional(readOnly = true)
-
-    public ResponseEntity<?> inbox(HttpServletRequest request) {
-
+    public ResponseEntity<?> inbox(@RequestParam(required = false) Integer limit,
+                                   @RequestParam(required = false) String cursor,
+                                   HttpServletRequest request) {
         try {
-
-            List<Long> memberIds = memberDeskMessageRepository.findMemberIdsByRecentActivity();
-
-            long totalUnread = memberDeskMessageRepository.countTotalUnreadFromMembers();
-
-            List<Map<String, Object>> rows = new ArrayList<>();
-
-            for (Long mid : memberIds) {
-
-                Optional<Member> mOpt = memberRepository.findById(mid);
-
-                if (mOpt.isEmpty()) {
-
-                    continue;
-
+            int pageSize = limit != null && limit > 0 ? Math.min(limit, MAX_INBOX_PAGE_SIZE) : DEFAULT_INBOX_PAGE_SIZE;
+            // 한 건 더 읽어 다음 페이지 여부 판단
+            PageRequest page = PageRequest.of(0, pageSize + 1);
+            List<Object[]> found;
+            if (cursor != null && !cursor.isBlank()) {
+                String[] parts = cursor.split("\\|", 2);
+                LocalDateTime cursorAt;
+                Long cursorMemberId;
+                try {
+                    cursorAt = LocalDateTime.parse(parts[0]);
+                    cursorMemberId = Long.parseLong(parts[1]);
+                } catch (Exception e) {
+                    logger.warn("잘못된 쪽지함 커서: {}", cursor);
+                    return ResponseEntity.badRequest().body(Map.of("error", "잘못된 커서입니다."));
                 }
-
-                Member mem = mOpt.get();
-
-                List<MemberDeskMessage> thread = memberDeskMessageRepository.findByMember_IdOrderByCreatedAtAsc(mid);
-
-                MemberDeskMessage last = thread.isEmpty() ? null : thread.get(thread.size() - 1);
-
-                long unread = memberDeskMessageRepository.countUnreadMemberMessagesForAdmin(mid);
-
+                found = deskThreadSummaryRepository.findInboxPageAfter(cursorAt, cursorMemberId, page);
+            } else {
+                found = deskThreadSummaryRepository.findInboxPage(page);
+            }
+            String nextCursor = null;
+            if (found.size() > pageSize) {
+                found = found.subList(0, pageSize);
+                DeskThreadSummary last = (DeskThreadSummary) found.get(pageSize - 1)[0];
+                nextCursor = last.getLastMessageAt() + "|" + last.getMemberId();
+            }
+            List<Map<String, Object>> rows = new ArrayList<>();
+            for (Object[] r : found) {
+                DeskThreadSummary summary = (DeskThreadSummary) r[0];
                 Map<String, Object> row = new HashMap<>();
-
-                row.put("memberId", mid);
-
-                row.put("memberName", mem.getName());
-
-                row.put("memberNumber", mem.getMemberNumber());
-
-                row.put("unreadFromMemberCount", unread);
-
-                row.put("lastMessageAt", last != null ? last.getCreatedAt() : null);
-
-                row.put("lastMessagePreview", last != null ? preview(last.getContent()) : "");
-
-                row.put("lastFromMember", last != null && last.isFromMember());
-
+                row.put("memberId", summary.getMemberId());
+                row.put("memberName", r[1]);
+                row.put("memberNumber", r[2]);
+                row.put("unreadFromMemberCount", summary.getUnreadFromMember());
+                row.put("lastMessageAt", summary.getLastMessageAt());
+                row.put("lastMessagePreview", summary.getLastMessagePreview() != null ? summary.getLastMessagePreview() : "");
+                row.put("lastFromMember", summary.isLastFromMember());
+                row.put("threadLocked", summary.isThreadLocked());
                 rows.add(row);
-
             }
-
             Map<String, Object> out = new HashMap<>();
-
             out.put("threads", rows);
-
-            out.put("totalUnreadFromMembers", totalUnread);
-
+            out.put("totalUnreadFromMembers", deskThreadSummaryService.totalUnreadFromMembers());
+            out.put("nextCursor", nextCursor);
             return ResponseEntity.ok(out);
-
         } catch (Exception e) {
-
             logger.error("쪽지함 목록 조회 실패", e);
-
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-
         }
+    }
 
+    /** 쪽지 스레드 요약(desk_thread_summary) 전체 재구축 (관리자 전용) */
+    @PostMapping("/inbox/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildInbox(HttpServletRequest request) {
+        String role = request != null ? (String) request.getAttribute("role") : null;
+        if (role == null || !role.equals("ADMIN")) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "관리자만 사용할 수 있습니다.");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+        }
+        try {
+            return ResponseEntity.ok(deskThreadSummaryService.rebuildAll());
+        } catch (Exception e) {
+            logger.error("쪽지 스레드 요약 재구축 실패: {}", e.getMessage(), e);
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "쪽지 스레드 요약 재구축 중 오류가 발생했습니다.");
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
     }
 
 
@@ -362,7 +406,7 @@ public class MemberDeskMessageController {
 
         try {
 
-            long totalUnread = memberDeskMessageRepository.countTotalUnreadFromMembers();
+            long totalUnread = deskThreadSummaryService.totalUnreadFromMembers();
 
             return ResponseEntity.ok(Map.of("totalUnreadFromMembers", totalUnread));
 
@@ -446,6 +490,12 @@ public class MemberDeskMessageController {
 
             memberDeskMessageRepository.markMemberPostsReadByAdmin(memberId);
 
+            deskThreadSummaryService.onReadByAdmin(memberId);
+
+            // 일괄 UPDATE라 엔티티 이벤트가 없음 — 직원 배지만 다시 보냄
+
+            liveNotificationService.deskChangedAfterCommit(null);
+
             List<MemberDeskMessage> rows = memberDeskMessageRepository.findByMember_IdOrderByCreatedAtAsc(memberId);
 
             Map<String, Object> out = new HashMap<>();
@@ -552,6 +602,8 @@ public class MemberDeskMessageController {
 
             MemberDeskMessage saved = memberDeskMessageRepository.save(m);
 
+            deskThreadSummaryService.onMessagePosted(saved);
+
             return ResponseEntity.ok(Map.of("id", saved.getId(), "message", "답장이 저장되었습니다."));
 
         } catch (Exception e) {
@@ -590,6 +642,10 @@ public class MemberDeskMessageController {
 
         int deleted = memberDeskMessageRepository.deleteAllByMember_Id(memberId);
 
+        deskThreadSummaryService.onThreadDeleted(memberId);
+
+        liveNotificationService.deskChangedAfterCommit(memberId);
+
         logger.info("쪽지 스레드 삭제 memberId={} 삭제건수={}", memberId, deleted);
 
         return ResponseEntity.ok(Map.of("deleted", deleted));
@@ -624,6 +680,8 @@ public class MemberDeskMessageController {
 
         memberDeskMessageRepository.deleteById(messageId);
 
+        deskThreadSummaryService.recompute(threadMemberId);
+
         return ResponseEntity.noContent().build();
 
     }
@@ -646,22 +704,5 @@ public class MemberDeskMessageController {
 
     }
 
-
-
-    private static String preview(String s) {
-
-        if (s == null) {
-
-            return "";
-
-        }
-
-        String t = s.replace('\n', ' ').trim();
-
-        return t.length() > 80 ? t.substring(0, 80) + "…" : t;
-
-    }
-
 }
 
-
@@ -825,209 +825,415 @@ public class MemberDetailQueryController {
         }
     }
     
-    /** 회원 타임라인: 가입·구매·예약·체크인·이용권 변동을 날짜순 하나로 */
+    /** 회원 타임라인: 가입·구매·예약·체크인·이용권 변동을 날짜순 하나로 (전체) */
     @GetMapping("/{memberId}/timeline")
     @Transactional(readOnly = true)
     public ResponseEntity<List<Map<String, Object>>> getMemberTimeline(@PathVariable Long memberId) {
         try {
-            if (memberId == null || !memberRepository.existsById(memberId)) {
+            List<TimelineEvent> events = buildTimeline(memberId);
+            if (events == null) {
                 return ResponseEntity.notFound().build();
             }
-            java.util.List<Map<String, Object>> events = new java.util.ArrayList<>();
-            
-            // 가입
-            memberRepository.findById(memberId).ifPresent(m -> {
-                if (m.getCreatedAt() != null) {
-                    Map<String, Object> e = new HashMap<>();
-                    e.put("eventType", "SIGNUP");
-                    e.put("date", m.getCreatedAt());
-                    e.put("label", "회원 가입");
-                    e.put("detail", "");
-                    if (m.getProcessedBy() != null && !m.getProcessedBy().isEmpty()) e.put("processedBy", m.getProcessedBy());
-                    events.add(e);
-                }
-            });
-            
-            // 구매(결제) — 구매 직후 잔여 = 해당 이용권 totalCount
-            List<Payment> payments = paymentRepository.findByMemberIdWithCoach(memberId);
-            for (Payment p : payments) {
-                LocalDateTime d = p.getPaidAt() != null ? p.getPaidAt() : p.getCreatedAt();
-                if (d == null) continue;
-                Map<String, Object> e = new HashMap<>();
-                e.put("eventType", "PAYMENT");
-                e.put("date", d);
-                e.put("label", "구매");
-                String productName = p.getProduct() != null ? p.getProduct().getName() : "상품";
-                Integer amount = p.getAmount();
-                e.put("detail", productName + (amount != null ? " " + amount + "원" : ""));
-                e.put("paymentId", p.getId());
-                e.put("amount", amount);
-                e.put("productName", productName);
-                String amountStr = amount != null ? " ₩" + String.format("%,d", amount) : "";
-                e.put("detail", productName + amountStr);
-                if (p.getProcessedBy() != null && !p.getProcessedBy().isEmpty()) e.put("processedBy", p.getProcessedBy());
-                if (p.getProduct() != null && p.getProduct().getId() != null) {
-                    List<MemberProduct> mps = memberProductRepository.findByMemberIdAndProductId(memberId, p.getProduct().getId());
-                    for (MemberProduct mp : mps) {
-                        if (mp.getPurchaseDate() != null && java.time.Duration.between(mp.getPurchaseDate(), d).toMinutes() <= 60) {
-                            Integer total = mp.getTotalCount() != null ? mp.getTotalCount() : (mp.getProduct() != null && mp.getProduct().getUsageCount() != null ? mp.getProduct().getUsageCount() : null);
-                            if (total != null) {
-                                e.put("remainingAfter", total);
-                                e.put("detail", productName + amountStr + " · 구매 후 잔여 " + total + "회");
-                            }
-                            break;
-                        }
-                    }
-                }
-                events.add(e);
+            return ResponseEntity.ok(events.stream().map(TimelineEvent::data).collect(Collectors.toList()));
+        } catch (Exception e) {
+            logger.error("회원 타임라인 조회 실패 (회원 ID: {})", memberId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * 회원 타임라인 페이지 ("이전 기록 더 보기"): before 커서보다 과거인 최근 limit건을 날짜 오름차순으로.
+     * 첫 화면은 before 없이 호출하고, 응답의 nextCursor를 다음 before로 넘긴다 (hasMore=false면 끝).
+     * 날짜 없는 항목은 가장 최근 쪽(첫 페이지 끝)에 온다
+     */
+    @GetMapping("/{memberId}/timeline/page")
+    @Transactional(readOnly = true)
+    public ResponseEntity<Map<String, Object>> getMemberTimelinePage(@PathVariable Long memberId,
+                                                                     @RequestParam(defaultValue = "50") int limit,
+                                                                     @RequestParam(required = false) String before) {
+        try {
+            TimelineEvent cursor = before != null && !before.isBlank() ? TimelineEvent.parseCursor(before) : null;
+            Member member = memberId != null ? memberRepository.findById(memberId).orElse(null) : null;
+            if (member == null) {
+                return ResponseEntity.notFound().build();
             }
-            
-            // 예약 — 시간대, 목적(한글), 상태(한글)
-            List<Booking> bookings = bookingRepository.findByMemberId(memberId);
-            for (Booking b : bookings) {
-                LocalDateTime d = b.getStartTime() != null ? b.getStartTime() : b.getCreatedAt();
-                if (d == null) continue;
-                Map<String, Object> e = new HashMap<>();
-                e.put("eventType", "BOOKING");
-                e.put("date", d);
-                e.put("label", "예약");
-                String facilityName = b.getFacility() != null ? b.getFacility().getName() : "";
-                String purposeKr = b.getPurpose() == null ? "" : (b.getPurpose() == Booking.BookingPurpose.RENTAL ? "대관" : b.getPurpose() == Booking.BookingPurpose.LESSON ? "레슨" : b.getPurpose() == Booking.BookingPurpose.PERSONAL_TRAINING ? "개인훈련" : b.getPurpose().name());
-                String statusKr = b.getStatus() == null ? "" : (b.getStatus() == Booking.BookingStatus.CONFIRMED ? "확정" : b.getStatus() == Booking.BookingStatus.PENDING ? "대기" : b.getStatus() == Booking.BookingStatus.CANCELLED ? "취소" : b.getStatus().name());
-                String timeRange = "";
-                if (b.getStartTime() != null && b.getEndTime() != null) {
-                    timeRange = " " + b.getStartTime().toLocalTime().toString().substring(0, 5) + "~" + b.getEndTime().toLocalTime().toString().substring(0, 5);
-                }
-                e.put("detail", facilityName + " · " + purposeKr + timeRange + " · " + statusKr + (b.getParticipants() != null && b.getParticipants() > 0 ? " · " + b.getParticipants() + "명" : ""));
-                e.put("bookingId", b.getId());
-                e.put("status", b.getStatus() != null ? b.getStatus().name() : null);
-                e.put("startTime", b.getStartTime());
-                e.put("endTime", b.getEndTime());
-                e.put("purpose", purposeKr);
-                e.put("facilityName", facilityName);
-                if (b.getProcessedBy() != null && !b.getProcessedBy().isEmpty()) e.put("processedBy", b.getProcessedBy());
-                events.add(e);
+            int size = Math.max(1, Math.min(limit, 500));
+            List<TimelineEvent> events = loadTimelinePage(member, cursor, size);
+            boolean hasMore = events.size() > size;
+            if (hasMore) {
+                events = events.subList(events.size() - size, events.size());
             }
-            
-            // 체크인 — DB 기록값(remainingAfter) 유지, 캘린더와 일치하는 보정값(remainingAfterCorrected)은 별도 계산
-            List<Attendance> attendances = attendanceRepository.findByMemberId(memberId);
+            applyCorrectedRemaining(events, memberId);
+            Map<String, Object> result = new HashMap<>();
+            result.put("events", events.stream().map(TimelineEvent::data).collect(Collectors.toList()));
+            result.put("hasMore", hasMore);
+            result.put("nextCursor", hasMore ? events.get(0).cursor() : null);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "잘못된 커서입니다.");
+            return ResponseEntity.badRequest().body(error);
+        } catch (Exception e) {
+            logger.error("회원 타임라인 페이지 조회 실패 (회원 ID: {})", memberId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /** 타임라인 항목 + 정렬 키 (날짜 — 없으면 맨 뒤, 종류 순서, 원본 ID) */
+    static final class TimelineEvent {
+        static final String[] TYPES = {"SIGNUP", "PAYMENT", "BOOKING", "CHECKIN", "PRODUCT_HISTORY"};
+        /** 날짜 없는 항목의 DB 정렬 키 (쿼리의 COALESCE 값, 어떤 실제 날짜보다 뒤) */
+        static final LocalDateTime NULL_DATE_KEY = LocalDateTime.of(9999, 12, 31, 0, 0);
+        static final java.util.Comparator<TimelineEvent> ORDER = java.util.Comparator
+                .comparing((TimelineEvent e) -> e.date, java.util.Comparator.nullsLast(java.util.Comparator.naturalOrder()))
+                .thenComparingInt(e -> e.typeOrder)
+                .thenComparingLong(e -> e.id);
+
+        private final LocalDateTime date;
+        private final int typeOrder;
+        private final long id;
+        private final Map<String, Object> data;
+
+        TimelineEvent(LocalDateTime date, int typeOrder, long id, Map<String, Object> data) {
+            this.date = date;
+            this.typeOrder = typeOrder;
+            this.id = id;
+            this.data = data;
+        }
+
+        Map<String, Object> data() {
+            return data;
+        }
+
+        LocalDateTime sortKey() {
+            return date != null ? date : NULL_DATE_KEY;
+        }
+
+        /** 날짜(없으면 -)|종류 순서|ID */
+        String cursor() {
+            return (date != null ? date.toString() : "-") + "|" + typeOrder + "|" + id;
+        }
+
+        static TimelineEvent parseCursor(String cursor) {
+            String[] parts = cursor.split("\\|");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("cursor");
+            }
+            try {
+                LocalDateTime date = "-".equals(parts[0]) ? null : LocalDateTime.parse(parts[0]);
+                return new TimelineEvent(date, Integer.parseInt(parts[1]), Long.parseLong(parts[2]), null);
+            } catch (java.time.format.DateTimeParseException e) {
+                throw new IllegalArgumentException("cursor", e);
+            }
+        }
+    }
+
+    private static TimelineEvent event(LocalDateTime date, String type, Long id, Map<String, Object> data) {
+        return new TimelineEvent(date, java.util.Arrays.asList(TimelineEvent.TYPES).indexOf(type), id != null ? id : 0L, data);
+    }
+
+    /**
+     * 타임라인 전체를 정렬해 반환 (회원이 없으면 null).
+     * 출처 테이블마다 쿼리 한 번(회원·결제·이용권·예약·출석·출석 히스토리 잔여·이용권 히스토리)으로 읽고 메모리에서 키로 잇는다
+     */
+    private List<TimelineEvent> buildTimeline(Long memberId) {
+        Member member = memberId != null ? memberRepository.findById(memberId).orElse(null) : null;
+        if (member == null) {
+            return null;
+        }
+        List<TimelineEvent> events = new java.util.ArrayList<>();
+        TimelineEvent signup = signupEvent(member);
+        if (signup != null) events.add(signup);
+
+        Map<Long, List<MemberProduct>> memberProductsByProduct = memberProductsByProduct(memberId);
+        for (Payment p : paymentRepository.findByMemberIdWithCoach(memberId)) {
+            events.add(paymentEvent(p, memberProductsByProduct));
+        }
+        for (Booking b : bookingRepository.findByMemberId(memberId)) {
+            events.add(bookingEvent(b));
+        }
+        Map<Long, Integer> remainingByAttendance = remainingByAttendance(
+                memberProductHistoryRepository.findRemainingAfterByAttendanceMemberId(memberId));
+        for (Attendance a : attendanceRepository.findByMemberIdForTimeline(memberId)) {
+            events.add(checkinEvent(a, remainingByAttendance.get(a.getId())));
+        }
+        for (com.afbscenter.model.MemberProductHistory h : memberProductHistoryRepository.findByMemberIdWithProductOrderByTransactionDateDesc(memberId)) {
+            events.add(historyEvent(h));
+        }
+
+        events.sort(TimelineEvent.ORDER);
+        applyCorrected(events, replayRemainingByProduct(events));
+        return events;
+    }
+
+    /**
+     * 커서 이전 최근 size+1건까지를 날짜 오름차순으로 (size+1건이면 더 있음).
+     * 출처 테이블마다 (정렬 키, ID) 커서 조건으로 size+1건만 읽어 합친다. 같은 날짜면 종류 순서가 커서보다
+     * 앞선 출처는 전부, 같은 종류는 커서 ID 미만, 뒤선 출처는 제외
+     */
+    private List<TimelineEvent> loadTimelinePage(Member member, TimelineEvent cursor, int size) {
+        Long memberId = member.getId();
+        LocalDateTime cursorDate = cursor != null ? cursor.sortKey() : TimelineEvent.NULL_DATE_KEY;
+        org.springframework.data.domain.Pageable top = org.springframework.data.domain.PageRequest.of(0, size + 1);
+        LocalDateTime nullKey = TimelineEvent.NULL_DATE_KEY;
+        List<TimelineEvent> events = new java.util.ArrayList<>();
+
+        TimelineEvent signup = signupEvent(member);
+        if (signup != null && (cursor == null || TimelineEvent.ORDER.compare(signup, cursor) < 0)) {
+            events.add(signup);
+        }
+        List<Payment> payments = paymentRepository.findTimelinePage(memberId, nullKey, cursorDate, idBound(cursor, "PAYMENT"), top);
+        if (!payments.isEmpty()) {
+            Map<Long, List<MemberProduct>> memberProductsByProduct = memberProductsByProduct(memberId);
+            for (Payment p : payments) {
+                events.add(paymentEvent(p, memberProductsByProduct));
+            }
+        }
+        for (Booking b : bookingRepository.findTimelinePage(memberId, nullKey, cursorDate, idBound(cursor, "BOOKING"), top)) {
+            events.add(bookingEvent(b));
+        }
+        List<Attendance> attendances = attendanceRepository.findTimelinePage(memberId, nullKey, cursorDate, idBound(cursor, "CHECKIN"), top);
+        if (!attendances.isEmpty()) {
+            Map<Long, Integer> remainingByAttendance = remainingByAttendance(memberProductHistoryRepository
+                    .findRemainingAfterByAttendanceIdIn(attendances.stream().map(Attendance::getId).collect(Collectors.toList())));
             for (Attendance a : attendances) {
-                LocalDateTime d = a.getCheckInTime() != null ? a.getCheckInTime() : a.getDate() != null ? a.getDate().atStartOfDay() : null;
-                if (d == null) continue;
-                Map<String, Object> e = new HashMap<>();
-                e.put("eventType", "CHECKIN");
-                e.put("date", d);
-                e.put("label", "체크인");
-                String facilityName = a.getFacility() != null ? a.getFacility().getName() : "";
-                String productName = "";
-                Long memberProductId = null;
-                Integer totalCount = null;
-                if (a.getBooking() != null && a.getBooking().getMemberProduct() != null) {
-                    com.afbscenter.model.MemberProduct mp = a.getBooking().getMemberProduct();
-                    if (mp.getProduct() != null) productName = mp.getProduct().getName();
-                    memberProductId = mp.getId();
-                    totalCount = mp.getTotalCount() != null ? mp.getTotalCount() : (mp.getProduct() != null && mp.getProduct().getUsageCount() != null ? mp.getProduct().getUsageCount() : null);
-                }
-                Integer remainingAfter = null; // DB에 저장된 당시 기록값(흰색 표시)
-                try {
-                    java.util.Optional<com.afbscenter.model.MemberProductHistory> ho = memberProductHistoryRepository.findByAttendanceId(a.getId());
-                    if (ho.isPresent() && ho.get().getRemainingCountAfter() != null) {
-                        remainingAfter = ho.get().getRemainingCountAfter();
-                    }
-                } catch (Exception ex) { /* ignore */ }
-                String detailStr = facilityName + (productName.isEmpty() ? "" : " · " + productName) + (remainingAfter != null ? " · 체크인 후 잔여 " + remainingAfter + "회" : "");
-                e.put("detail", detailStr);
-                e.put("attendanceId", a.getId());
-                e.put("facilityName", facilityName);
-                e.put("productName", productName.isEmpty() ? null : productName);
-                e.put("remainingAfter", remainingAfter);
-                if (memberProductId != null) e.put("memberProductId", memberProductId);
-                if (totalCount != null) e.put("totalCount", totalCount);
-                if (a.getProcessedBy() != null && !a.getProcessedBy().isEmpty()) e.put("processedBy", a.getProcessedBy());
-                events.add(e);
+                events.add(checkinEvent(a, remainingByAttendance.get(a.getId())));
             }
-            
-            // 이용권 변동(충전/차감/조정) — 변경량·잔여 명시
-            List<com.afbscenter.model.MemberProductHistory> histories =
-                memberProductHistoryRepository.findByMemberIdWithProductOrderByTransactionDateDesc(memberId);
-            for (com.afbscenter.model.MemberProductHistory h : histories) {
-                if (h.getTransactionDate() == null) continue;
-                Map<String, Object> e = new HashMap<>();
-                String typeLabel = "이용권";
-                if (h.getType() == com.afbscenter.model.MemberProductHistory.TransactionType.CHARGE) typeLabel = "충전";
-                else if (h.getType() == com.afbscenter.model.MemberProductHistory.TransactionType.DEDUCT) typeLabel = "차감";
-                else if (h.getType() == com.afbscenter.model.MemberProductHistory.TransactionType.ADJUST) typeLabel = "조정";
-                e.put("eventType", "PRODUCT_HISTORY");
-                e.put("date", h.getTransactionDate());
-                e.put("label", typeLabel);
-                String productName = "이용권";
-                if (h.getMemberProduct() != null && h.getMemberProduct().getProduct() != null) {
-                    productName = h.getMemberProduct().getProduct().getName();
-                }
-                String changeStr = h.getChangeAmount() != null ? (h.getChangeAmount() >= 0 ? "+" + h.getChangeAmount() : "" + h.getChangeAmount()) : "";
-                e.put("remainingAfter", h.getRemainingCountAfter());
-                e.put("changeAmount", h.getChangeAmount());
-                e.put("detail", productName + " " + changeStr + (h.getRemainingCountAfter() != null ? " → 잔여 " + h.getRemainingCountAfter() + "회" : ""));
-                e.put("description", h.getDescription());
-                e.put("productName", productName);
-                e.put("historyId", h.getId());
-                if (h.getProcessedBy() != null && !h.getProcessedBy().isEmpty()) e.put("processedBy", h.getProcessedBy());
-                events.add(e);
+        }
+        for (com.afbscenter.model.MemberProductHistory h : memberProductHistoryRepository.findTimelinePage(memberId, nullKey, cursorDate, idBound(cursor, "PRODUCT_HISTORY"), top)) {
+            events.add(historyEvent(h));
+        }
+        events.sort(TimelineEvent.ORDER);
+        return events.size() > size + 1 ? new java.util.ArrayList<>(events.subList(events.size() - size - 1, events.size())) : events;
+    }
+
+    /** 커서와 같은 날짜에서 이 종류가 가져갈 ID 상한 (미만) */
+    private static long idBound(TimelineEvent cursor, String type) {
+        if (cursor == null) return Long.MAX_VALUE;
+        int typeOrder = java.util.Arrays.asList(TimelineEvent.TYPES).indexOf(type);
+        if (typeOrder < cursor.typeOrder) return Long.MAX_VALUE;
+        return typeOrder == cursor.typeOrder ? cursor.id : Long.MIN_VALUE;
+    }
+
+    /**
+     * 페이지 체크인의 remainingAfterCorrected: 전체 이력을 시간순 적용한 상품별 잔여라 페이지 밖 이력도 필요하다.
+     * 엔티티 대신 재생에 쓰는 열만 (결제·출석·이용권 히스토리 각 한 번) 읽는다. 페이지에 체크인이 없으면 조회하지 않음
+     */
+    private void applyCorrectedRemaining(List<TimelineEvent> page, Long memberId) {
+        boolean hasCheckin = page.stream().anyMatch(te -> "CHECKIN".equals(te.data().get("eventType")) && te.data().get("productName") != null);
+        if (!hasCheckin) return;
+        List<TimelineEvent> replay = new java.util.ArrayList<>();
+        Map<Long, List<MemberProduct>> memberProductsByProduct = memberProductsByProduct(memberId);
+        for (Object[] row : paymentRepository.findTimelineReplayRows(memberId)) {
+            LocalDateTime d = row[1] != null ? (LocalDateTime) row[1] : (LocalDateTime) row[2];
+            Map<String, Object> e = new HashMap<>();
+            e.put("eventType", "PAYMENT");
+            e.put("productName", row[3] != null ? (String) row[4] : "상품");
+            e.put("remainingAfter", paymentRemainingAfter((Long) row[3], d, memberProductsByProduct));
+            replay.add(event(d, "PAYMENT", (Long) row[0], e));
+        }
+        for (Object[] row : attendanceRepository.findTimelineReplayRows(memberId)) {
+            LocalDateTime d = row[1] != null ? (LocalDateTime) row[1] : row[2] != null ? ((java.time.LocalDate) row[2]).atStartOfDay() : null;
+            Map<String, Object> e = new HashMap<>();
+            e.put("eventType", "CHECKIN");
+            e.put("productName", row[3] != null && !((String) row[3]).isEmpty() ? row[3] : null);
+            replay.add(event(d, "CHECKIN", (Long) row[0], e));
+        }
+        for (Object[] row : memberProductHistoryRepository.findTimelineReplayRows(memberId)) {
+            Map<String, Object> e = new HashMap<>();
+            e.put("eventType", "PRODUCT_HISTORY");
+            e.put("productName", row[2] != null ? row[2] : "이용권");
+            e.put("remainingAfter", row[3]);
+            replay.add(event((LocalDateTime) row[1], "PRODUCT_HISTORY", (Long) row[0], e));
+        }
+        replay.sort(TimelineEvent.ORDER);
+        applyCorrected(page, replayRemainingByProduct(replay));
+    }
+
+    private Map<Long, List<MemberProduct>> memberProductsByProduct(Long memberId) {
+        // 결제 매칭용 회원 이용권 (상품 ID별, ID 순)
+        return memberProductRepository.findByMemberIdWithProduct(memberId).stream()
+                .filter(mp -> mp.getProduct() != null && mp.getProduct().getId() != null)
+                .sorted(java.util.Comparator.comparing(MemberProduct::getId))
+                .collect(Collectors.groupingBy(mp -> mp.getProduct().getId(), java.util.LinkedHashMap::new, Collectors.toList()));
+    }
+
+    /** 출석 ID → 연결 히스토리의 변경 후 잔여 (히스토리가 둘 이상인 출석은 기록값 없음으로 본다) */
+    private static Map<Long, Integer> remainingByAttendance(List<Object[]> rows) {
+        Map<Long, Integer> remainingByAttendance = new HashMap<>();
+        java.util.Set<Long> ambiguousAttendances = new java.util.HashSet<>();
+        for (Object[] row : rows) {
+            Long attendanceId = (Long) row[0];
+            if (remainingByAttendance.containsKey(attendanceId) || ambiguousAttendances.contains(attendanceId)) {
+                ambiguousAttendances.add(attendanceId);
+                remainingByAttendance.remove(attendanceId);
+            } else {
+                remainingByAttendance.put(attendanceId, (Integer) row[1]);
             }
-            
-            // 날짜 오름차순으로 정렬 후, 상품별 잔여를 시간순 적용해 체크인 시점의 잔여를 계산
-            events.sort((a, b) -> {
-                LocalDateTime t1 = (LocalDateTime) a.get("date");
-                LocalDateTime t2 = (LocalDateTime) b.get("date");
-                if (t1 == null && t2 == null) return 0;
-                if (t1 == null) return 1;
-                if (t2 == null) return -1;
-                return t1.compareTo(t2);
-            });
-            java.util.Map<String, Integer> remainingByProduct = new java.util.HashMap<>();
-            for (Map<String, Object> e : events) {
-                String type = (String) e.get("eventType");
-                String productName = (String) e.get("productName");
-                if (productName == null && "PRODUCT_HISTORY".equals(type)) productName = (String) e.get("detail");
-                if (productName != null && productName.length() > 50) productName = productName.substring(0, 50);
-                if ("PAYMENT".equals(type)) {
-                    Object ra = e.get("remainingAfter");
-                    if (ra instanceof Number && productName != null) remainingByProduct.put(productName, ((Number) ra).intValue());
-                } else if ("PRODUCT_HISTORY".equals(type)) {
-                    Object ra = e.get("remainingAfter");
-                    if (ra instanceof Number && productName != null) remainingByProduct.put(productName, ((Number) ra).intValue());
-                } else if ("CHECKIN".equals(type) && productName != null && !productName.isEmpty()) {
-                    Integer current = remainingByProduct.get(productName);
-                    if (current != null && current > 0) {
-                        int after = current - 1;
-                        remainingByProduct.put(productName, after);
-                    }
-                }
+        }
+        return remainingByAttendance;
+    }
+
+    // 가입
+    private static TimelineEvent signupEvent(Member member) {
+        if (member.getCreatedAt() == null) return null;
+        Map<String, Object> e = new HashMap<>();
+        e.put("eventType", "SIGNUP");
+        e.put("date", member.getCreatedAt());
+        e.put("label", "회원 가입");
+        e.put("detail", "");
+        if (member.getProcessedBy() != null && !member.getProcessedBy().isEmpty()) e.put("processedBy", member.getProcessedBy());
+        return event(member.getCreatedAt(), "SIGNUP", member.getId(), e);
+    }
+
+    /** 구매 직후 잔여 = 결제 시점 ±60분 안에 산 해당 상품 이용권의 totalCount (날짜 없는 결제는 매칭 안 함) */
+    private static Integer paymentRemainingAfter(Long productId, LocalDateTime d, Map<Long, List<MemberProduct>> memberProductsByProduct) {
+        if (productId == null || d == null) return null;
+        for (MemberProduct mp : memberProductsByProduct.getOrDefault(productId, List.of())) {
+            if (mp.getPurchaseDate() != null && java.time.Duration.between(mp.getPurchaseDate(), d).toMinutes() <= 60) {
+                return mp.getTotalCount() != null ? mp.getTotalCount() : (mp.getProduct() != null && mp.getProduct().getUsageCount() != null ? mp.getProduct().getUsageCount() : null);
             }
-            // 체크인별 remainingAfterCorrected: 시간순 적용 후 해당 상품의 현재 잔여(캘린더와 동일)
-            for (Map<String, Object> e : events) {
-                if (!"CHECKIN".equals(e.get("eventType"))) continue;
-                String productName = (String) e.get("productName");
-                if (productName == null || productName.isEmpty()) continue;
-                if (productName.length() > 50) productName = productName.substring(0, 50);
-                Integer currentRemaining = remainingByProduct.get(productName);
-                if (currentRemaining != null) e.put("remainingAfterCorrected", currentRemaining);
+        }
+        return null;
+    }
+
+    // 구매(결제)
+    private static TimelineEvent paymentEvent(Payment p, Map<Long, List<MemberProduct>> memberProductsByProduct) {
+        LocalDateTime d = p.getPaidAt() != null ? p.getPaidAt() : p.getCreatedAt();
+        Map<String, Object> e = new HashMap<>();
+        e.put("eventType", "PAYMENT");
+        e.put("date", d);
+        e.put("label", "구매");
+        String productName = p.getProduct() != null ? p.getProduct().getName() : "상품";
+        Integer amount = p.getAmount();
+        e.put("paymentId", p.getId());
+        e.put("amount", amount);
+        e.put("productName", productName);
+        String amountStr = amount != null ? " ₩" + String.format("%,d", amount) : "";
+        e.put("detail", productName + amountStr);
+        if (p.getProcessedBy() != null && !p.getProcessedBy().isEmpty()) e.put("processedBy", p.getProcessedBy());
+        Integer total = paymentRemainingAfter(p.getProduct() != null ? p.getProduct().getId() : null, d, memberProductsByProduct);
+        if (total != null) {
+            e.put("remainingAfter", total);
+            e.put("detail", productName + amountStr + " · 구매 후 잔여 " + total + "회");
+        }
+        return event(d, "PAYMENT", p.getId(), e);
+    }
+
+    // 예약 — 시간대, 목적(한글), 상태(한글)
+    private static TimelineEvent bookingEvent(Booking b) {
+        LocalDateTime d = b.getStartTime() != null ? b.getStartTime() : b.getCreatedAt();
+        Map<String, Object> e = new HashMap<>();
+        e.put("eventType", "BOOKING");
+        e.put("date", d);
+        e.put("label", "예약");
+        String facilityName = b.getFacility() != null ? b.getFacility().getName() : "";
+        String purposeKr = b.getPurpose() == null ? "" : (b.getPurpose() == Booking.BookingPurpose.RENTAL ? "대관" : b.getPurpose() == Booking.BookingPurpose.LESSON ? "레슨" : b.getPurpose() == Booking.BookingPurpose.PERSONAL_TRAINING ? "개인훈련" : b.getPurpose().name());
+        String statusKr = b.getStatus() == null ? "" : (b.getStatus() == Booking.BookingStatus.CONFIRMED ? "확정" : b.getStatus() == Booking.BookingStatus.PENDING ? "대기" : b.getStatus() == Booking.BookingStatus.CANCELLED ? "취소" : b.getStatus().name());
+        String timeRange = "";
+        if (b.getStartTime() != null && b.getEndTime() != null) {
+            timeRange = " " + b.getStartTime().toLocalTime().toString().substring(0, 5) + "~" + b.getEndTime().toLocalTime().toString().substring(0, 5);
+        }
+        e.put("detail", facilityName + " · " + purposeKr + timeRange + " · " + statusKr + (b.getParticipants() != null && b.getParticipants() > 0 ? " · " + b.getParticipants() + "명" : ""));
+        e.put("bookingId", b.getId());
+        e.put("status", b.getStatus() != null ? b.getStatus().name() : null);
+        e.put("startTime", b.getStartTime());
+        e.put("endTime", b.getEndTime());
+        e.put("purpose", purposeKr);
+        e.put("facilityName", facilityName);
+        if (b.getProcessedBy() != null && !b.getProcessedBy().isEmpty()) e.put("processedBy", b.getProcessedBy());
+        return event(d, "BOOKING", b.getId(), e);
+    }
+
+    // 체크인 — DB 기록값(remainingAfter) 유지, 캘린더와 일치하는 보정값(remainingAfterCorrected)은 applyCorrected에서
+    private static TimelineEvent checkinEvent(Attendance a, Integer remainingAfter) {
+        LocalDateTime d = a.getCheckInTime() != null ? a.getCheckInTime() : a.getDate() != null ? a.getDate().atStartOfDay() : null;
+        Map<String, Object> e = new HashMap<>();
+        e.put("eventType", "CHECKIN");
+        e.put("date", d);
+        e.put("label", "체크인");
+        String facilityName = a.getFacility() != null ? a.getFacility().getName() : "";
+        String productName = "";
+        Long memberProductId = null;
+        Integer totalCount = null;
+        if (a.getBooking() != null && a.getBooking().getMemberProduct() != null) {
+            MemberProduct mp = a.getBooking().getMemberProduct();
+            if (mp.getProduct() != null && mp.getProduct().getName() != null) productName = mp.getProduct().getName();
+            memberProductId = mp.getId();
+            totalCount = mp.getTotalCount() != null ? mp.getTotalCount() : (mp.getProduct() != null && mp.getProduct().getUsageCount() != null ? mp.getProduct().getUsageCount() : null);
+        }
+        String detailStr = facilityName + (productName.isEmpty() ? "" : " · " + productName) + (remainingAfter != null ? " · 체크인 후 잔여 " + remainingAfter + "회" : "");
+        e.put("detail", detailStr);
+        e.put("attendanceId", a.getId());
+        e.put("facilityName", facilityName);
+        e.put("productName", productName.isEmpty() ? null : productName);
+        e.put("remainingAfter", remainingAfter); // DB에 저장된 당시 기록값(흰색 표시)
+        if (memberProductId != null) e.put("memberProductId", memberProductId);
+        if (totalCount != null) e.put("totalCount", totalCount);
+        if (a.getProcessedBy() != null && !a.getProcessedBy().isEmpty()) e.put("processedBy", a.getProcessedBy());
+        return event(d, "CHECKIN", a.getId(), e);
+    }
+
+    // 이용권 변동(충전/차감/조정) — 변경량·잔여 명시
+    private static TimelineEvent historyEvent(com.afbscenter.model.MemberProductHistory h) {
+        Map<String, Object> e = new HashMap<>();
+        String typeLabel = "이용권";
+        if (h.getType() == com.afbscenter.model.MemberProductHistory.TransactionType.CHARGE) typeLabel = "충전";
+        else if (h.getType() == com.afbscenter.model.MemberProductHistory.TransactionType.DEDUCT) typeLabel = "차감";
+        else if (h.getType() == com.afbscenter.model.MemberProductHistory.TransactionType.ADJUST) typeLabel = "조정";
+        e.put("eventType", "PRODUCT_HISTORY");
+        e.put("date", h.getTransactionDate());
+        e.put("label", typeLabel);
+        String productName = "이용권";
+        if (h.getMemberProduct() != null && h.getMemberProduct().getProduct() != null) {
+            productName = h.getMemberProduct().getProduct().getName();
+        }
+        String changeStr = h.getChangeAmount() != null ? (h.getChangeAmount() >= 0 ? "+" + h.getChangeAmount() : "" + h.getChangeAmount()) : "";
+        e.put("remainingAfter", h.getRemainingCountAfter());
+        e.put("changeAmount", h.getChangeAmount());
+        e.put("detail", productName + " " + changeStr + (h.getRemainingCountAfter() != null ? " → 잔여 " + h.getRemainingCountAfter() + "회" : ""));
+        e.put("description", h.getDescription());
+        e.put("productName", productName);
+        e.put("historyId", h.getId());
+        if (h.getProcessedBy() != null && !h.getProcessedBy().isEmpty()) e.put("processedBy", h.getProcessedBy());
+        return event(h.getTransactionDate(), "PRODUCT_HISTORY", h.getId(), e);
+    }
+
+    private static String replayKey(String productName) {
+        return productName != null && productName.length() > 50 ? productName.substring(0, 50) : productName;
+    }
+
+    /** 정렬된 이력에 상품별 잔여를 시간순 적용 (구매·이용권 변동은 잔여를 덮어쓰고, 체크인은 0보다 크면 1 차감) */
+    private static Map<String, Integer> replayRemainingByProduct(List<TimelineEvent> sortedEvents) {
+        Map<String, Integer> remainingByProduct = new HashMap<>();
+        for (TimelineEvent te : sortedEvents) {
+            Map<String, Object> e = te.data();
+            String type = (String) e.get("eventType");
+            String productName = replayKey((String) e.get("productName"));
+            if (productName == null) continue;
+            if ("PAYMENT".equals(type) || "PRODUCT_HISTORY".equals(type)) {
+                Object ra = e.get("remainingAfter");
+                if (ra instanceof Number) remainingByProduct.put(productName, ((Number) ra).intValue());
+            } else if ("CHECKIN".equals(type) && !productName.isEmpty()) {
+                Integer current = remainingByProduct.get(productName);
+                if (current != null && current > 0) {
+                    remainingByProduct.put(productName, current - 1);
+                }
             }
-            // 날짜 오름차순(과거 → 현재, 날짜순)으로 재정렬
-            events.sort((a, b) -> {
-                LocalDateTime t1 = (LocalDateTime) a.get("date");
-                LocalDateTime t2 = (LocalDateTime) b.get("date");
-                if (t1 == null && t2 == null) return 0;
-                if (t1 == null) return 1;
-                if (t2 == null) return -1;
-                return t1.compareTo(t2);
-            });
-            
-            return ResponseEntity.ok(events);
-                } catch (Exception e) {
-            logger.error("회원 타임라인 조회 실패 (회원 ID: {})", memberId, e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
+        return remainingByProduct;
     }
-    
+
+    /** 체크인별 remainingAfterCorrected: 시간순 적용 후 해당 상품의 현재 잔여(캘린더와 동일) */
+    private static void applyCorrected(List<TimelineEvent> events, Map<String, Integer> remainingByProduct) {
+        for (TimelineEvent te : events) {
+            Map<String, Object> e = te.data();
+            if (!"CHECKIN".equals(e.get("eventType"))) continue;
+            String productName = replayKey((String) e.get("productName"));
+            if (productName == null || productName.isEmpty()) continue;
+            Integer currentRemaining = remainingByProduct.get(productName);
+            if (currentRemaining != null) e.put("remainingAfterCorrected", currentRemaining);
+        }
+    }
+
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import com.afbscenter.model.Attendance;
 import com.afbscenter.model.Booking;
 import com.afbscenter.model.Member;
 import com.afbscenter.model.MemberProduct;
+import com.afbscenter.model.MemberSummary;
 import com.afbscenter.model.Product;
 import com.afbscenter.repository.AttendanceRepository;
 import com.afbscenter.repository.BookingRepository;
@@ -13,6 +14,7 @@ import com.afbscenter.repository.PaymentRepository;
 import com.afbscenter.repository.CoachRepository;
 import com.afbscenter.repository.UserRepository;
 import com.afbscenter.service.MemberService;
+import com.afbscenter.service.MemberSummaryService;
 import com.afbscenter.model.Coach;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,6 +51,7 @@ public class MemberQueryController {
     private final PaymentRepository paymentRepository;
     private final UserRepository userRepository;
     private final CoachRepository coachRepository;
+    private final MemberSummaryService memberSummaryService;
 
     public MemberQueryController(MemberRepository memberRepository,
                                  MemberService memberService,
@@ -57,7 +60,8 @@ public class MemberQueryController {
                                  MemberProductRepository memberProductRepository,
                                  PaymentRepository paymentRepository,
                                  UserRepository userRepository,
-                                 CoachRepository coachRepository) {
+                                 CoachRepository coachRepository,
+                                 MemberSummaryService memberSummaryService) {
         this.memberRepository = memberRepository;
         this.memberService = memberService;
         this.bookingRepository = bookingRepository;
@@ -66,6 +70,7 @@ public class MemberQueryController {
         this.paymentRepository = paymentRepository;
         this.userRepository = userRepository;
         this.coachRepository = coachRepository;
+        this.memberSummaryService = memberSummaryService;
     }
 
     private Optional<Long> resolveCoachIdFromRequest(HttpServletRequest request) {
@@ -174,30 +179,19 @@ public class MemberQueryController {
             }
         }
 
+        // 누적 결제 금액·최근 레슨은 member_summary에서 회원당 1행으로 읽음
+        Map<Long, MemberSummary> summaries = new java.util.HashMap<>();
+        try {
+            summaries = memberSummaryService.loadSummaries(members.stream().map(Member::getId).collect(java.util.stream.Collectors.toList()));
+        } catch (Exception e) {
+            logger.warn("회원 요약 조회 실패: {}", e.getMessage());
+        }
+
         List<com.afbscenter.dto.MemberResponseDTO> memberDTOs = new java.util.ArrayList<>();
         for (Member member : members) {
             try {
-                Integer totalPayment = null;
-                try {
-                    totalPayment = paymentRepository.sumTotalAmountByMemberId(member.getId());
-                    if (totalPayment == null) {
-                        totalPayment = 0;
-                    }
-                } catch (Exception e) {
-                    logger.warn("결제 금액 계산 실패 (Member ID: {}): {}", member.getId(), e.getMessage());
-                    totalPayment = 0;
-                }
-
-                java.time.LocalDate latestLessonDate = null;
-                try {
-                    List<Booking> latestLessons = bookingRepository.findLatestLessonByMemberId(member.getId());
-                    if (latestLessons != null && !latestLessons.isEmpty()) {
-                        java.time.LocalDateTime start = latestLessons.get(0).getStartTime();
-                        latestLessonDate = start != null ? start.toLocalDate() : null;
-                    }
-                } catch (Exception e) {
-                    logger.warn("최근 레슨 날짜 계산 실패 (Member ID: {}): {}", member.getId(), e.getMessage());
-                }
+                Integer totalPayment = MemberSummaryService.totalPaymentOf(summaries, member.getId());
+                java.time.LocalDate latestLessonDate = MemberSummaryService.latestLessonDateOf(summaries, member.getId());
 
                 List<MemberProduct> allMemberProducts = null;
                 try {
@@ -0,0 +1,76 @@
+package com.afbscenter.controller;
+
+import com.afbscenter.service.MemberSummaryService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 회원 목록 요약(member_summary) 관리 API (관리자 전용).
+ * - POST /api/members/summary/rebuild : 전체 재구축
+ * - GET  /api/members/summary/consistency?repair=false : 원본 대비 불일치 점검 (repair=true면 보정)
+ */
+@RestController
+@RequestMapping("/api/members/summary")
+public class MemberSummaryController {
+
+    private static final Logger logger = LoggerFactory.getLogger(MemberSummaryController.class);
+
+    private final MemberSummaryService memberSummaryService;
+
+    public MemberSummaryController(MemberSummaryService memberSummaryService) {
+        this.memberSummaryService = memberSummaryService;
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuild(HttpServletRequest request) {
+        ResponseEntity<Map<String, Object>> forbidden = requireAdmin(request);
+        if (forbidden != null) return forbidden;
+        try {
+            return ResponseEntity.ok(memberSummaryService.rebuildAll());
+        } catch (Exception e) {
+            logger.error("회원 요약 재구축 실패: {}", e.getMessage(), e);
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "회원 요약 재구축 중 오류가 발생했습니다.");
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
+    @GetMapping("/consistency")
+    public ResponseEntity<Map<String, Object>> checkConsistency(@RequestParam(defaultValue = "false") boolean repair,
+                                                                HttpServletRequest request) {
+        ResponseEntity<Map<String, Object>> forbidden = requireAdmin(request);
+        if (forbidden != null) return forbidden;
+        try {
+            return ResponseEntity.ok(memberSummaryService.checkConsistency(repair));
+        } catch (Exception e) {
+            logger.error("회원 요약 정합성 점검 실패: {}", e.getMessage(), e);
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "회원 요약 정합성 점검 중 오류가 발생했습니다.");
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
+    private ResponseEntity<Map<String, Object>> requireAdmin(HttpServletRequest request) {
+        String role = request != null ? (String) request.getAttribute("role") : null;
+        if (role == null || !role.equals("ADMIN")) {
+            logger.warn("회원 요약 관리 권한 없음: role={}", role);
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "관리자만 사용할 수 있습니다.");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,55 @@
+package com.afbscenter.controller;
+
+import com.afbscenter.service.LiveNotificationService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 직원 화면 실시간 알림 (JWT).
+ * - GET /api/notifications/stream : text/event-stream (desk-badge, desk-message, sms, booking, checkin)
+ * - GET /api/notifications/stream/stats : 현재 연결 수 (관리자 전용)
+ * 기존 /member-desk-messages/badge-count, /messages/stats/bell 조회는 연결이 끊겼을 때의 대체 경로로 유지한다.
+ */
+@RestController
+@RequestMapping("/api/notifications")
+public class NotificationStreamController {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationStreamController.class);
+
+    private final LiveNotificationService liveNotificationService;
+
+    public NotificationStreamController(LiveNotificationService liveNotificationService) {
+        this.liveNotificationService = liveNotificationService;
+    }
+
+    @GetMapping("/stream")
+    public SseEmitter stream(HttpServletResponse response) {
+        // 프록시(nginx 등)가 이벤트를 모아 보내지 않도록
+        response.setHeader("Cache-Control", "no-cache");
+        response.setHeader("X-Accel-Buffering", "no");
+        return liveNotificationService.subscribeStaff();
+    }
+
+    @GetMapping("/stream/stats")
+    public ResponseEntity<Map<String, Object>> streamStats(HttpServletRequest request) {
+        String role = request != null ? (String) request.getAttribute("role") : null;
+        if (role == null || !role.equals("ADMIN")) {
+            logger.warn("실시간 알림 연결 현황 권한 없음: role={}", role);
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "관리자만 사용할 수 있습니다.");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+        }
+        return ResponseEntity.ok(liveNotificationService.connectionStats());
+    }
+}
@@ -3,12 +3,14 @@ package com.afbscenter.controller;
 import com.afbscenter.constants.AccountingPolicy;
 import com.afbscenter.model.Booking;
 import com.afbscenter.model.Payment;
-import com.afbscenter.util.PaymentCoachResolver;
+import com.afbscenter.util.PaymentExcelExporter;
 import com.afbscenter.util.PaymentPeriodQueryHelper;
 import com.afbscenter.repository.BookingRepository;
 import com.afbscenter.repository.PaymentRepository;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,6 +19,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -24,7 +28,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * 결제 통계·리포트 전용. URL은 기존과 동일: /api/payments/summary, /statistics/method, /unpaid/details, /export/excel
@@ -37,16 +40,16 @@ public class PaymentStatsController {
 
     private final PaymentRepository paymentRepository;
     private final BookingRepository bookingRepository;
-    private final PaymentCoachResolver paymentCoachResolver;
     private final PaymentPeriodQueryHelper paymentPeriodQueryHelper;
+    private final PaymentExcelExporter paymentExcelExporter;
 
     public PaymentStatsController(PaymentRepository paymentRepository, BookingRepository bookingRepository,
-                                  PaymentCoachResolver paymentCoachResolver,
-                                  PaymentPeriodQueryHelper paymentPeriodQueryHelper) {
+                                  PaymentPeriodQueryHelper paymentPeriodQueryHelper,
+                                  PaymentExcelExporter paymentExcelExporter) {
         this.paymentRepository = paymentRepository;
         this.bookingRepository = bookingRepository;
-        this.paymentCoachResolver = paymentCoachResolver;
         this.paymentPeriodQueryHelper = paymentPeriodQueryHelper;
+        this.paymentExcelExporter = paymentExcelExporter;
     }
 
     @GetMapping("/summary")
@@ -242,105 +245,48 @@ public class PaymentStatsController {
         }
     }
 
+    /**
+     * 결제 내역 엑셀. 전체 목록을 메모리에 올리지 않고 순방향 커서 + SXSSF로 응답 스트림에 바로 기록한다.
+     */
     @GetMapping("/export/excel")
-    @Transactional(readOnly = true)
-    public ResponseEntity<org.springframework.core.io.Resource> exportToExcel(
+    public void exportToExcel(
             @RequestParam(required = false, defaultValue = "month") String period,
             @RequestParam(required = false) String paymentMethod,
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String startDate,
-            @RequestParam(required = false) String endDate) {
+            @RequestParam(required = false) String endDate,
+            HttpServletResponse response) {
         try {
-            List<Payment> payments = new ArrayList<>(paymentPeriodQueryHelper.loadPayments(period, startDate, endDate));
-            payments = payments.stream()
-                    .filter(p -> p.getMember() != null)
-                    .filter(p -> !AccountingPolicy.excludedFromRevenueSummary(p))
-                    .collect(Collectors.toList());
-
-            if (paymentMethod != null && !paymentMethod.isEmpty()) {
-                try {
-                    Payment.PaymentMethod method = Payment.PaymentMethod.valueOf(paymentMethod);
-                    payments = payments.stream()
-                            .filter(p -> p.getPaymentMethod() == method)
-                            .collect(Collectors.toList());
-                } catch (IllegalArgumentException e) {}
-            }
+            LocalDateTime[] range = paymentPeriodQueryHelper.resolveRange(period, startDate, endDate);
+            Payment.PaymentMethod method = parseEnum(Payment.PaymentMethod.class, paymentMethod);
+            Payment.PaymentStatus paymentStatus = parseEnum(Payment.PaymentStatus.class, status);
+            Payment.PaymentCategory paymentCategory = parseEnum(Payment.PaymentCategory.class, category);
 
-            if (status != null && !status.isEmpty()) {
-                try {
-                    Payment.PaymentStatus paymentStatus = Payment.PaymentStatus.valueOf(status);
-                    payments = payments.stream()
-                            .filter(p -> p.getStatus() == paymentStatus)
-                            .collect(Collectors.toList());
-                } catch (IllegalArgumentException e) {}
-            }
-
-            if (category != null && !category.isEmpty()) {
-                try {
-                    Payment.PaymentCategory paymentCategory = Payment.PaymentCategory.valueOf(category);
-                    payments = payments.stream()
-                            .filter(p -> p.getCategory() == paymentCategory)
-                            .collect(Collectors.toList());
-                } catch (IllegalArgumentException e) {}
-            }
-
-            java.util.Map<Long, com.afbscenter.model.Coach> coachByPaymentId =
-                    paymentCoachResolver.resolveCoachesForPayments(payments);
-
-            org.apache.poi.ss.usermodel.Workbook workbook = new org.apache.poi.xssf.usermodel.XSSFWorkbook();
-            org.apache.poi.ss.usermodel.Sheet sheet = workbook.createSheet("결제 내역");
-
-            org.apache.poi.ss.usermodel.Row headerRow = sheet.createRow(0);
-            String[] headers = {"결제번호", "날짜/시간", "회원", "코치", "분류", "결제수단", "결제금액", "상태", "환불금액", "순매출", "메모"};
-            for (int i = 0; i < headers.length; i++) {
-                org.apache.poi.ss.usermodel.Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-            }
-
-            int rowNum = 1;
-            for (Payment payment : payments) {
-                org.apache.poi.ss.usermodel.Row row = sheet.createRow(rowNum++);
-
-                row.createCell(0).setCellValue(payment.getId() != null ? payment.getId().toString() : "");
-                row.createCell(1).setCellValue(payment.getPaidAt() != null ? payment.getPaidAt().toString() : "");
-                row.createCell(2).setCellValue(payment.getMember() != null && payment.getMember().getName() != null
-                        ? payment.getMember().getName() : "");
-                com.afbscenter.model.Coach coachForExport = payment.getId() != null
-                        ? coachByPaymentId.get(payment.getId()) : null;
-                row.createCell(3).setCellValue(coachForExport != null && coachForExport.getName() != null
-                        ? coachForExport.getName() : "");
-                row.createCell(4).setCellValue(payment.getCategory() != null ? payment.getCategory().name() : "");
-                row.createCell(5).setCellValue(payment.getPaymentMethod() != null ? payment.getPaymentMethod().name() : "");
-                row.createCell(6).setCellValue(payment.getAmount() != null ? payment.getAmount() : 0);
-                row.createCell(7).setCellValue(payment.getStatus() != null ? payment.getStatus().name() : "");
-                int refund = payment.getRefundAmount() != null ? payment.getRefundAmount() : 0;
-                row.createCell(8).setCellValue(refund);
-                row.createCell(9).setCellValue(AccountingPolicy.netAmount(payment));
-                row.createCell(10).setCellValue(payment.getMemo() != null ? payment.getMemo() : "");
-            }
+            String fileName = URLEncoder.encode("결제내역_" + LocalDate.now() + ".xlsx", StandardCharsets.UTF_8).replace("+", "%20");
+            response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename*=UTF-8''" + fileName);
 
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
-            }
-
-            java.io.File tempFile = java.io.File.createTempFile("payments_export_", ".xlsx");
-            try (java.io.FileOutputStream outputStream = new java.io.FileOutputStream(tempFile)) {
-                workbook.write(outputStream);
-            }
-            workbook.close();
-
-            org.springframework.core.io.Resource resource = new org.springframework.core.io.FileSystemResource(tempFile);
-
-            return ResponseEntity.ok()
-                    .header(org.springframework.http.HttpHeaders.CONTENT_DISPOSITION,
-                            "attachment; filename=\"결제내역_" + LocalDate.now() + ".xlsx\"")
-                    .header(org.springframework.http.HttpHeaders.CONTENT_TYPE,
-                            "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
-                    .body(resource);
+            paymentExcelExporter.write(range != null ? range[0] : null, range != null ? range[1] : null,
+                    method, paymentStatus, paymentCategory, response.getOutputStream());
         } catch (Exception e) {
             logger.error("엑셀 다운로드 중 오류 발생", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            if (!response.isCommitted()) {
+                response.reset();
+                response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
+        }
+    }
+
+    /** 잘못된 값은 기존처럼 필터 없음으로 처리 */
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value);
+        } catch (IllegalArgumentException e) {
+            return null;
         }
     }
 }
@@ -7,6 +7,7 @@ import com.afbscenter.repository.ActionAuditLogRepository;
 import com.afbscenter.repository.ProductRepository;
 import com.afbscenter.repository.MemberProductRepository;
 import com.afbscenter.repository.BookingRepository;
+import com.afbscenter.service.ReferenceDataCache;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,22 +33,26 @@ public class ProductController {
     private final MemberProductRepository memberProductRepository;
     private final BookingRepository bookingRepository;
     private final ActionAuditLogRepository actionAuditLogRepository;
+    private final ReferenceDataCache referenceDataCache;
 
     public ProductController(ProductRepository productRepository,
                             MemberProductRepository memberProductRepository,
                             BookingRepository bookingRepository,
-                            ActionAuditLogRepository actionAuditLogRepository) {
+                            ActionAuditLogRepository actionAuditLogRepository,
+                            ReferenceDataCache referenceDataCache) {
         this.productRepository = productRepository;
         this.memberProductRepository = memberProductRepository;
         this.bookingRepository = bookingRepository;
         this.actionAuditLogRepository = actionAuditLogRepository;
+        this.referenceDataCache = referenceDataCache;
     }
 
     @GetMapping
     public ResponseEntity<List<Map<String, Object>>> getAllProducts() {
         try {
             logger.info("상품 목록 조회 시작");
-            List<Product> products = productRepository.findAll();
+            List<Product> products = referenceDataCache.get(ReferenceDataCache.Region.PRODUCTS, "all",
+                    () -> List.copyOf(productRepository.findAll()));
             logger.info("상품 조회 완료: {}개", products != null ? products.size() : 0);
             
             if (products == null || products.isEmpty()) {
@@ -1,5 +1,6 @@
 package com.afbscenter.controller;
 
+import com.afbscenter.dto.CalendarOccupancyRow;
 import com.afbscenter.model.Booking;
 import com.afbscenter.model.Coach;
 import com.afbscenter.model.Facility;
@@ -12,15 +13,19 @@ import com.afbscenter.repository.BookingRepository;
 import com.afbscenter.repository.FacilityRepository;
 import com.afbscenter.repository.MemberProductRepository;
 import com.afbscenter.repository.MemberRepository;
+import com.afbscenter.service.FacilityOccupancyIndex;
+import com.afbscenter.service.MemberCalendarService;
 import com.afbscenter.util.MemberProductCountPassHelper;
 import com.afbscenter.util.MemberProductPassDisplayFormatter;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.servlet.http.HttpServletRequest;
 import java.time.LocalDate;
@@ -51,6 +56,8 @@ public class PublicMemberBookingController {
     private final MemberController memberController;
     private final MemberDetailQueryController memberDetailQueryController;
     private final MemberProductController memberProductController;
+    private final FacilityOccupancyIndex facilityOccupancyIndex;
+    private final MemberCalendarService memberCalendarService;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     public PublicMemberBookingController(
@@ -64,7 +71,9 @@ public class PublicMemberBookingController {
             BookingRepository bookingRepository,
             @Lazy MemberController memberController,
             @Lazy MemberDetailQueryController memberDetailQueryController,
-            @Lazy MemberProductController memberProductController) {
+            @Lazy MemberProductController memberProductController,
+            FacilityOccupancyIndex facilityOccupancyIndex,
+            MemberCalendarService memberCalendarService) {
         this.memberRepository = memberRepository;
         this.memberProductRepository = memberProductRepository;
         this.facilityRepository = facilityRepository;
@@ -76,6 +85,8 @@ public class PublicMemberBookingController {
         this.memberController = memberController;
         this.memberDetailQueryController = memberDetailQueryController;
         this.memberProductController = memberProductController;
+        this.facilityOccupancyIndex = facilityOccupancyIndex;
+        this.memberCalendarService = memberCalendarService;
     }
 
     /** 회원번호로 최소 정보만 조회 (이용권 목록 포함) */
@@ -256,6 +267,17 @@ public class PublicMemberBookingController {
         return memberDetailQueryController.getMemberTimeline(memberId);
     }
 
+    @GetMapping("/members/{memberId}/timeline/page")
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> publicMemberTimelinePage(@PathVariable Long memberId, @RequestParam String memberNumber,
+                                                      @RequestParam(defaultValue = "50") int limit,
+                                                      @RequestParam(required = false) String before) {
+        if (!assertPublicMemberBookingAccess(memberNumber, memberId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "회원 정보가 일치하지 않습니다."));
+        }
+        return memberDetailQueryController.getMemberTimelinePage(memberId, limit, before);
+    }
+
     private boolean hasUsableRemaining(Member member, MemberProduct mp, Product p, LocalDate today) {
         Product.ProductType t = p.getType();
         if (t == Product.ProductType.COUNT_PASS) {
@@ -405,7 +427,7 @@ public class PublicMemberBookingController {
      */
     @GetMapping("/calendar")
     @Transactional(readOnly = true)
-    public ResponseEntity<List<Map<String, Object>>> calendar(
+    public ResponseEntity<?> calendar(
             @RequestParam String start,
             @RequestParam String end,
             @RequestParam(required = false) String branch,
@@ -415,6 +437,64 @@ public class PublicMemberBookingController {
         return bookingController.getAllBookings(start, end, null, null, memberNumber, branch, facilityType, lessonCategory, true);
     }
 
+    /**
+     * 회원 달력 점유(주 단위): 예약별 시간·시설·상태·본인 여부만 반환.
+     * {@code weekStart}가 속한 주(월요일 시작)의 지점 예약을 {@link MemberCalendarService}에서 지점·주별로 캐시하고,
+     * 그 주에 예약 변경이 없으면 If-None-Match 일치 시 조회 없이 304.
+     */
+    @GetMapping("/calendar/occupancy")
+    public ResponseEntity<?> calendarOccupancy(
+            @RequestParam String branch,
+            @RequestParam String weekStart,
+            @RequestParam String memberNumber,
+            WebRequest webRequest) {
+        if (memberNumber == null || memberNumber.isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "회원번호가 필요합니다."));
+        }
+        Booking.Branch branchEnum;
+        LocalDate week;
+        try {
+            branchEnum = Booking.Branch.valueOf(branch.trim().toUpperCase());
+            week = MemberCalendarService.weekStartOf(LocalDate.parse(weekStart.trim()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "지점 또는 날짜 형식이 올바르지 않습니다."));
+        }
+        Optional<Member> viewer = memberRepository.findByMemberNumber(memberNumber.trim());
+        if (viewer.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "회원을 찾을 수 없습니다."));
+        }
+        Long viewerId = viewer.get().getId();
+
+        String stamp = memberCalendarService.stamp(branchEnum, week);
+        String etag = MemberCalendarService.etag(stamp, viewerId);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
+
+        List<Map<String, Object>> bookings = new ArrayList<>();
+        for (CalendarOccupancyRow row : memberCalendarService.rows(branchEnum, week, stamp)) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("id", row.getId());
+            item.put("startTime", row.getStartTime());
+            item.put("endTime", row.getEndTime());
+            item.put("facilityId", row.getFacilityId());
+            item.put("facilityName", row.getFacilityName());
+            // 비회원 예약은 체크인 없이 자동 승인 → 대기로 저장돼 있어도 확정으로 표시 (운영 달력과 동일)
+            Booking.BookingStatus status = row.getStatus();
+            if (row.getMemberId() == null && status == Booking.BookingStatus.PENDING) {
+                status = Booking.BookingStatus.CONFIRMED;
+            }
+            item.put("status", status);
+            item.put("mine", viewerId.equals(row.getMemberId()));
+            bookings.add(item);
+        }
+        Map<String, Object> out = new HashMap<>();
+        out.put("branch", branchEnum.name());
+        out.put("weekStart", week.toString());
+        out.put("bookings", bookings);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(out);
+    }
+
     /**
      * 회원 예약 시간표: 동반 등으로 수업이 :30에 끝난 경우에만 그 시각을 다음 시작(30분 단위) 후보로 반환.
      * 캘린더가 본인 예약만 담을 때도 시설·일 단위로 조회해 타인 동반 종료를 반영한다.
@@ -441,17 +521,10 @@ public class PublicMemberBookingController {
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", "날짜 형식이 올바르지 않습니다."));
         }
-        LocalDateTime dayStart = d.atStartOfDay();
-        LocalDateTime dayEnd = d.plusDays(1).atStartOfDay();
-        List<Booking> bookings = bookingRepository.findByFacilityOverlappingDay(
-                facilityId, dayStart, dayEnd, Booking.BookingStatus.CANCELLED);
         Set<String> seen = new HashSet<>();
         List<String> halfHourStartTimes = new ArrayList<>();
-        for (Booking b : bookings) {
-            if (b.getEndTime() == null) {
-                continue;
-            }
-            LocalDateTime end = b.getEndTime();
+        for (FacilityOccupancyIndex.Slot b : facilityOccupancyIndex.findByFacilityOnDay(facilityId, d)) {
+            LocalDateTime end = b.getEnd();
             if (!end.toLocalDate().equals(d)) {
                 continue;
             }
@@ -524,10 +597,9 @@ public class PublicMemberBookingController {
     }
 
     /**
-     * 본인 예약 삭제(취소) — 승인 대기(PENDING)만 허용. 처리 로직은 {@link BookingController#deleteBooking(Long)} 위임.
+     * 본인 예약 삭제(취소) — 승인 대기(PENDING)만 허용. 처리 로직(트랜잭션·충돌 재시도 포함)은 {@link BookingController#deleteBooking(Long)} 위임.
      */
     @DeleteMapping("/bookings/{id}")
-    @Transactional
     public ResponseEntity<?> deleteBookingForPublicMember(
             @PathVariable Long id,
             @RequestParam String memberNumber) {
@@ -553,7 +625,6 @@ public class PublicMemberBookingController {
     }
 
     @PostMapping("/bookings")
-    @Transactional(rollbackFor = Exception.class)
     public ResponseEntity<Map<String, Object>> createMemberBooking(
             @RequestBody Map<String, Object> requestData,
             HttpServletRequest request) {
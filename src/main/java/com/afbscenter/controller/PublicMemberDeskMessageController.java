@@ -4,6 +4,9 @@ import com.afbscenter.model.Member;
 import com.afbscenter.model.MemberDeskMessage;
 import com.afbscenter.repository.MemberDeskMessageRepository;
 import com.afbscenter.repository.MemberRepository;
+import com.afbscenter.service.DeskThreadSummaryService;
+import com.afbscenter.service.LiveNotificationService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.PageRequest;
@@ -11,6 +14,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -31,11 +35,17 @@ public class PublicMemberDeskMessageController {
 
     private final MemberRepository memberRepository;
     private final MemberDeskMessageRepository memberDeskMessageRepository;
+    private final LiveNotificationService liveNotificationService;
+    private final DeskThreadSummaryService deskThreadSummaryService;
 
     public PublicMemberDeskMessageController(MemberRepository memberRepository,
-                                             MemberDeskMessageRepository memberDeskMessageRepository) {
+                                             MemberDeskMessageRepository memberDeskMessageRepository,
+                                             LiveNotificationService liveNotificationService,
+                                             DeskThreadSummaryService deskThreadSummaryService) {
         this.memberRepository = memberRepository;
         this.memberDeskMessageRepository = memberDeskMessageRepository;
+        this.liveNotificationService = liveNotificationService;
+        this.deskThreadSummaryService = deskThreadSummaryService;
     }
 
     @GetMapping
@@ -51,6 +61,8 @@ public class PublicMemberDeskMessageController {
         }
         Member member = opt.get();
         memberDeskMessageRepository.markAdminPostsReadByMember(member.getId());
+        deskThreadSummaryService.onMemberViewChanged(member.getId());
+        liveNotificationService.deskChangedAfterCommit(member.getId());
         List<MemberDeskMessage> rows = memberDeskMessageRepository.findByMember_IdOrderByCreatedAtAsc(member.getId());
         long unreadFromAdmin = memberDeskMessageRepository.countUnreadAdminMessagesForMember(member.getId());
         Map<String, Object> out = new HashMap<>();
@@ -71,10 +83,28 @@ public class PublicMemberDeskMessageController {
             return ResponseEntity.ok(Map.of("count", 0));
         }
         Member m = opt.get();
-        long n = memberDeskMessageRepository.countUnreadAdminForMemberPublic(m.getId(), m.getDeskThreadClearedAt());
+        long n = deskThreadSummaryService.unreadFromAdmin(m.getId());
         return ResponseEntity.ok(Map.of("count", n));
     }
 
+    /**
+     * 데스크 답장 미읽음 수 실시간 수신 (text/event-stream, desk-unread 이벤트).
+     * 연결이 안 되거나 끊기면 클라이언트는 /unread-count 주기 조회로 돌아간다.
+     */
+    @GetMapping("/stream")
+    public SseEmitter stream(@RequestParam String memberNumber, HttpServletResponse response) {
+        Optional<Member> opt = memberNumber == null || memberNumber.isBlank()
+                ? Optional.empty() : memberRepository.findByMemberNumber(memberNumber.trim());
+        if (opt.isEmpty()) {
+            // 본문 없이 404 — EventSource는 재연결하지 않고 실패 처리한다
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return null;
+        }
+        response.setHeader("Cache-Control", "no-cache");
+        response.setHeader("X-Accel-Buffering", "no");
+        return liveNotificationService.subscribeMember(opt.get());
+    }
+
     /** 종 알림 목록용 — 미읽음 데스크 답장 미리보기(읽음 처리하지 않음) */
     @GetMapping("/unread-preview")
     @Transactional(readOnly = true)
@@ -136,6 +166,7 @@ public class PublicMemberDeskMessageController {
             m.setReadByAdmin(false);
             m.setReadByMember(true);
             MemberDeskMessage saved = memberDeskMessageRepository.save(m);
+            deskThreadSummaryService.onMessagePosted(saved);
             return ResponseEntity.ok(Map.of(
                     "id", saved.getId(),
                     "message", "전달되었습니다."
@@ -166,6 +197,8 @@ public class PublicMemberDeskMessageController {
         LocalDateTime now = LocalDateTime.now();
         member.setDeskThreadClearedAt(now);
         memberRepository.save(member);
+        deskThreadSummaryService.onMemberViewChanged(member.getId());
+        liveNotificationService.deskChangedAfterCommit(member.getId());
         logger.info("회원 쪽지 화면 초기화(기록 유지) memberId={} clearedAt={}", member.getId(), now);
         return ResponseEntity.ok(Map.of(
                 "message", "회원 화면에서 이전 쪽지가 숨겨졌습니다. 센터 데스크에는 기록이 남아 있습니다.",
@@ -2,6 +2,7 @@ package com.afbscenter.controller;
 
 import com.afbscenter.model.Settings;
 import com.afbscenter.repository.SettingsRepository;
+import com.afbscenter.service.ReferenceDataCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -22,6 +23,7 @@ public class SettingsController {
     private static final Logger logger = LoggerFactory.getLogger(SettingsController.class);
 
     private final SettingsRepository settingsRepository;
+    private final ReferenceDataCache referenceDataCache;
 
     // Settings 기본값 (application.properties에서 주입)
     @Value("${settings.default.center-name:AFBS 야구센터}")
@@ -66,14 +68,20 @@ public class SettingsController {
     @Value("${settings.default.reminder-hours:24}")
     private Integer defaultReminderHours;
 
-    public SettingsController(SettingsRepository settingsRepository) {
+    public SettingsController(SettingsRepository settingsRepository, ReferenceDataCache referenceDataCache) {
         this.settingsRepository = settingsRepository;
+        this.referenceDataCache = referenceDataCache;
+    }
+
+    /** 설정 행 (기준 데이터 캐시, 읽기 전용 목록) */
+    private List<Settings> cachedSettings() {
+        return referenceDataCache.get(ReferenceDataCache.Region.SETTINGS, "all", () -> List.copyOf(settingsRepository.findAll()));
     }
 
     @GetMapping
     public ResponseEntity<Map<String, Object>> getSettings() {
         try {
-            List<Settings> settingsList = settingsRepository.findAll();
+            List<Settings> settingsList = cachedSettings();
             
             // 설정이 없으면 기본값 생성
             Settings settings;
@@ -4,18 +4,20 @@ import com.afbscenter.model.Member;
 import com.afbscenter.model.TrainingLog;
 import com.afbscenter.repository.MemberRepository;
 import com.afbscenter.repository.TrainingLogRepository;
+import com.afbscenter.service.TrainingMetricSeriesService;
+import com.afbscenter.service.TrainingRankingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,6 +26,8 @@ import java.util.stream.Collectors;
 
 /**
  * 훈련 기록 통계·랭킹 전용. URL은 기존과 동일: /api/training-logs/unregistered-count, /rankings
+ * 랭킹 집계·캐시는 {@link TrainingRankingService} (limit로 지표별 상위 N명만 받을 수 있음)
+ * 회원 지표 추이: /members/{memberId}/series ({@link TrainingMetricSeriesService})
  */
 @RestController
 @RequestMapping("/api/training-logs")
@@ -33,11 +37,17 @@ public class TrainingLogStatsController {
 
     private final TrainingLogRepository trainingLogRepository;
     private final MemberRepository memberRepository;
+    private final TrainingRankingService trainingRankingService;
+    private final TrainingMetricSeriesService trainingMetricSeriesService;
 
     public TrainingLogStatsController(TrainingLogRepository trainingLogRepository,
-                                     MemberRepository memberRepository) {
+                                     MemberRepository memberRepository,
+                                     TrainingRankingService trainingRankingService,
+                                     TrainingMetricSeriesService trainingMetricSeriesService) {
         this.trainingLogRepository = trainingLogRepository;
         this.memberRepository = memberRepository;
+        this.trainingRankingService = trainingRankingService;
+        this.trainingMetricSeriesService = trainingMetricSeriesService;
     }
 
     @GetMapping("/unregistered-count")
@@ -75,185 +85,62 @@ public class TrainingLogStatsController {
     }
 
     @GetMapping("/rankings")
-    @Transactional(readOnly = true)
     public ResponseEntity<Map<String, Object>> getRankings(
             @RequestParam(required = false) String startDate,
             @RequestParam(required = false) String endDate,
             @RequestParam(defaultValue = "30") int days,
-            @RequestParam(required = false) String grade) {
+            @RequestParam(required = false) String grade,
+            @RequestParam(defaultValue = "0") int limit) {
         try {
             LocalDate end = endDate != null ? LocalDate.parse(endDate) : LocalDate.now();
             LocalDate start = startDate != null ? LocalDate.parse(startDate) : end.minusDays(days - 1);
+            Member.MemberGrade filterGrade = grade != null && !grade.isEmpty() && !grade.equals("ALL")
+                    ? Member.MemberGrade.valueOf(grade) : null;
 
-            logger.info("랭킹 조회 요청: startDate={}, endDate={}, days={}, grade={}", start, end, days, grade);
-
-            List<TrainingLog> logs = trainingLogRepository.findByDateRange(start, end);
-            logger.info("조회된 훈련 기록 수: {}", logs.size());
-
-            if (grade != null && !grade.isEmpty() && !grade.equals("ALL")) {
-                Member.MemberGrade filterGrade = Member.MemberGrade.valueOf(grade);
-                logs = logs.stream()
-                        .filter(log -> log.getMember() != null && log.getMember().getGrade() == filterGrade)
-                        .collect(Collectors.toList());
-                logger.info("등급 필터링 후 훈련 기록 수: {}", logs.size());
-            }
-
-            Map<Long, Map<String, Object>> memberStats = new HashMap<>();
-
-            for (TrainingLog log : logs) {
-                if (log.getMember() == null) continue;
-
-                Long memberId = log.getMember().getId();
-                Map<String, Object> stats = memberStats.computeIfAbsent(memberId, k -> {
-                    Map<String, Object> newStats = new HashMap<>();
-                    newStats.put("memberId", memberId);
-                    newStats.put("memberName", log.getMember().getName());
-                    newStats.put("memberNumber", log.getMember().getMemberNumber());
-                    newStats.put("memberGrade", log.getMember().getGrade() != null ? log.getMember().getGrade().name() : "SOCIAL");
-                    newStats.put("totalRecords", 0);
-                    newStats.put("swingSpeedMax", 0.0);
-                    newStats.put("swingSpeedAvg", 0.0);
-                    newStats.put("swingSpeedCount", 0);
-                    newStats.put("swingSpeedSum", 0.0);
-                    newStats.put("ballSpeedMax", 0.0);
-                    newStats.put("ballSpeedAvg", 0.0);
-                    newStats.put("ballSpeedCount", 0);
-                    newStats.put("ballSpeedSum", 0.0);
-                    newStats.put("pitchSpeedMax", 0.0);
-                    newStats.put("pitchSpeedAvg", 0.0);
-                    newStats.put("pitchSpeedCount", 0);
-                    newStats.put("pitchSpeedSum", 0.0);
-                    newStats.put("contactRateMax", 0.0);
-                    newStats.put("contactRateAvg", 0.0);
-                    newStats.put("contactRateCount", 0);
-                    newStats.put("contactRateSum", 0.0);
-                    newStats.put("strikeRateMax", 0.0);
-                    newStats.put("strikeRateAvg", 0.0);
-                    newStats.put("strikeRateCount", 0);
-                    newStats.put("strikeRateSum", 0.0);
-                    return newStats;
-                });
-
-                stats.put("totalRecords", (Integer) stats.get("totalRecords") + 1);
-
-                if (log.getSwingSpeed() != null && log.getSwingSpeed() > 0) {
-                    double currentMax = (Double) stats.get("swingSpeedMax");
-                    stats.put("swingSpeedMax", Math.max(currentMax, log.getSwingSpeed()));
-                    stats.put("swingSpeedSum", (Double) stats.get("swingSpeedSum") + log.getSwingSpeed());
-                    stats.put("swingSpeedCount", (Integer) stats.get("swingSpeedCount") + 1);
-                }
-
-                if (log.getBallSpeed() != null && log.getBallSpeed() > 0) {
-                    double currentMax = (Double) stats.get("ballSpeedMax");
-                    stats.put("ballSpeedMax", Math.max(currentMax, log.getBallSpeed()));
-                    stats.put("ballSpeedSum", (Double) stats.get("ballSpeedSum") + log.getBallSpeed());
-                    stats.put("ballSpeedCount", (Integer) stats.get("ballSpeedCount") + 1);
-                }
-
-                if (log.getPitchSpeed() != null && log.getPitchSpeed() > 0) {
-                    double currentMax = (Double) stats.get("pitchSpeedMax");
-                    stats.put("pitchSpeedMax", Math.max(currentMax, log.getPitchSpeed()));
-                    stats.put("pitchSpeedSum", (Double) stats.get("pitchSpeedSum") + log.getPitchSpeed());
-                    stats.put("pitchSpeedCount", (Integer) stats.get("pitchSpeedCount") + 1);
-                }
-
-                if (log.getContactRate() != null && log.getContactRate() > 0) {
-                    double currentMax = (Double) stats.get("contactRateMax");
-                    stats.put("contactRateMax", Math.max(currentMax, log.getContactRate()));
-                    stats.put("contactRateSum", (Double) stats.get("contactRateSum") + log.getContactRate());
-                    stats.put("contactRateCount", (Integer) stats.get("contactRateCount") + 1);
-                }
+            Map<String, Object> rankings = trainingRankingService.getRankings(start, end, filterGrade, limit);
+            logger.debug("랭킹 조회: startDate={}, endDate={}, grade={}, 회원 수={}", start, end, grade, rankings.get("totalMembers"));
 
-                if (log.getStrikeRate() != null && log.getStrikeRate() > 0) {
-                    double currentMax = (Double) stats.get("strikeRateMax");
-                    stats.put("strikeRateMax", Math.max(currentMax, log.getStrikeRate()));
-                    stats.put("strikeRateSum", (Double) stats.get("strikeRateSum") + log.getStrikeRate());
-                    stats.put("strikeRateCount", (Integer) stats.get("strikeRateCount") + 1);
-                }
-            }
-
-            for (Map<String, Object> stats : memberStats.values()) {
-                int swingSpeedCount = (Integer) stats.get("swingSpeedCount");
-                if (swingSpeedCount > 0) {
-                    stats.put("swingSpeedAvg", (Double) stats.get("swingSpeedSum") / swingSpeedCount);
-                }
-
-                int ballSpeedCount = (Integer) stats.get("ballSpeedCount");
-                if (ballSpeedCount > 0) {
-                    stats.put("ballSpeedAvg", (Double) stats.get("ballSpeedSum") / ballSpeedCount);
-                }
-
-                int pitchSpeedCount = (Integer) stats.get("pitchSpeedCount");
-                if (pitchSpeedCount > 0) {
-                    stats.put("pitchSpeedAvg", (Double) stats.get("pitchSpeedSum") / pitchSpeedCount);
-                }
-
-                int contactRateCount = (Integer) stats.get("contactRateCount");
-                if (contactRateCount > 0) {
-                    stats.put("contactRateAvg", (Double) stats.get("contactRateSum") / contactRateCount);
-                }
-
-                int strikeRateCount = (Integer) stats.get("strikeRateCount");
-                if (strikeRateCount > 0) {
-                    stats.put("strikeRateAvg", (Double) stats.get("strikeRateSum") / strikeRateCount);
-                }
-            }
-
-            List<Map<String, Object>> statsList = new ArrayList<>(memberStats.values());
-            logger.info("통계 계산 완료: 회원 수={}", statsList.size());
-
-            Map<String, Object> result = new HashMap<>();
+            Map<String, Object> result = new HashMap<>(rankings);
             result.put("period", Map.of("start", start.toString(), "end", end.toString(), "days", days));
-            result.put("totalMembers", statsList.size());
             result.put("filterGrade", grade != null ? grade : "ALL");
-
-            List<Map<String, Object>> swingSpeedRanking = statsList.stream()
-                    .filter(s -> (Double) s.get("swingSpeedMax") > 0)
-                    .sorted((a, b) -> Double.compare((Double) b.get("swingSpeedMax"), (Double) a.get("swingSpeedMax")))
-                    .collect(Collectors.toList());
-            logger.info("스윙속도 랭킹: {}명", swingSpeedRanking.size());
-            result.put("swingSpeedRanking", swingSpeedRanking);
-
-            List<Map<String, Object>> ballSpeedRanking = statsList.stream()
-                    .filter(s -> (Double) s.get("ballSpeedMax") > 0)
-                    .sorted((a, b) -> Double.compare((Double) b.get("ballSpeedMax"), (Double) a.get("ballSpeedMax")))
-                    .collect(Collectors.toList());
-            logger.info("타구속도 랭킹: {}명", ballSpeedRanking.size());
-            result.put("ballSpeedRanking", ballSpeedRanking);
-
-            List<Map<String, Object>> pitchSpeedRanking = statsList.stream()
-                    .filter(s -> (Double) s.get("pitchSpeedMax") > 0)
-                    .sorted((a, b) -> Double.compare((Double) b.get("pitchSpeedMax"), (Double) a.get("pitchSpeedMax")))
-                    .collect(Collectors.toList());
-            logger.info("구속 랭킹: {}명", pitchSpeedRanking.size());
-            result.put("pitchSpeedRanking", pitchSpeedRanking);
-
-            List<Map<String, Object>> contactRateRanking = statsList.stream()
-                    .filter(s -> (Double) s.get("contactRateMax") > 0)
-                    .sorted((a, b) -> Double.compare((Double) b.get("contactRateMax"), (Double) a.get("contactRateMax")))
-                    .collect(Collectors.toList());
-            result.put("contactRateRanking", contactRateRanking);
-
-            List<Map<String, Object>> strikeRateRanking = statsList.stream()
-                    .filter(s -> (Double) s.get("strikeRateMax") > 0)
-                    .sorted((a, b) -> Double.compare((Double) b.get("strikeRateMax"), (Double) a.get("strikeRateMax")))
-                    .collect(Collectors.toList());
-            result.put("strikeRateRanking", strikeRateRanking);
-
-            List<Map<String, Object>> recordCountRanking = statsList.stream()
-                    .filter(s -> (Integer) s.get("totalRecords") > 0)
-                    .sorted((a, b) -> Integer.compare((Integer) b.get("totalRecords"), (Integer) a.get("totalRecords")))
-                    .collect(Collectors.toList());
-            logger.info("훈련 횟수 랭킹: {}명", recordCountRanking.size());
-            result.put("recordCountRanking", recordCountRanking);
-
-            logger.info("랭킹 조회 완료: 타구속도={}, 구속={}, 훈련횟수={}",
-                    ballSpeedRanking.size(), pitchSpeedRanking.size(), recordCountRanking.size());
-
             return ResponseEntity.ok(result);
         } catch (Exception e) {
             logger.error("랭킹 조회 중 오류 발생", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+
+    /**
+     * 회원 지표 추이 (회원 상세 능력치 탭의 훈련 기록 추이).
+     * metric: swingSpeed, ballSpeed, launchAngle, contactRate, pitchSpeed, spinRate, strikeRate, runningDistance, conditionScore
+     * resolution: RAW, DAY, WEEK, MONTH (없으면 기간 내 점이 maxPoints 이하가 되도록 자동 선택)
+     * 기간 기본값: 최근 1년
+     */
+    @GetMapping("/members/{memberId}/series")
+    public ResponseEntity<Map<String, Object>> getMetricSeries(
+            @PathVariable Long memberId,
+            @RequestParam String metric,
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            @RequestParam(required = false) String resolution,
+            @RequestParam(defaultValue = "60") int maxPoints) {
+        try {
+            TrainingMetricSeriesService.Metric m = TrainingMetricSeriesService.Metric.fromKey(metric);
+            TrainingMetricSeriesService.Resolution r = resolution != null && !resolution.isBlank() && !resolution.equalsIgnoreCase("AUTO")
+                    ? TrainingMetricSeriesService.Resolution.valueOf(resolution.toUpperCase()) : null;
+            LocalDate end = endDate != null && !endDate.isBlank() ? LocalDate.parse(endDate) : LocalDate.now();
+            LocalDate start = startDate != null && !startDate.isBlank() ? LocalDate.parse(startDate) : end.minusYears(1).plusDays(1);
+            if (start.isAfter(end)) {
+                throw new IllegalArgumentException("시작일이 종료일보다 늦습니다.");
+            }
+            return ResponseEntity.ok(trainingMetricSeriesService.query(memberId, m, start, end, r, maxPoints));
+        } catch (IllegalArgumentException | java.time.format.DateTimeParseException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        } catch (Exception e) {
+            logger.error("훈련 지표 추이 조회 중 오류 발생: memberId={}, metric={}", memberId, metric, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
 }
@@ -0,0 +1,132 @@
+package com.afbscenter.dto;
+
+import com.afbscenter.model.Booking;
+import com.afbscenter.model.Coach;
+import com.afbscenter.model.Facility;
+import com.afbscenter.model.LessonCategory;
+import com.afbscenter.model.Member;
+import com.afbscenter.model.MemberProduct;
+import com.afbscenter.model.Product;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.time.LocalDateTime;
+
+/**
+ * 예약 목록(GET /api/bookings, 공개 회원 달력) 한 건.
+ * 예약마다 HashMap 여러 개를 만들던 것을 대신하며, JSON은 {@link BookingListItemSerializer}가 필드를 직접 써서
+ * 기존 Map 응답과 같은 키·값을 낸다 (공개 달력의 타인 예약은 masked=true로 시간·시설·코치만).
+ */
+@JsonSerialize(using = BookingListItemSerializer.class)
+public record BookingListItem(
+        Long id,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        Integer participants,
+        Booking.BookingPurpose purpose,
+        LessonCategory lessonCategory,
+        Booking.BookingStatus status,
+        Booking.Branch branch,
+        Booking.PaymentMethod paymentMethod,
+        String memo,
+        String nonMemberName,
+        String nonMemberPhone,
+        String bookingSource,
+        FacilityRef facility,
+        CoachRef coach,
+        MemberRef member,
+        MemberProductRef memberProduct,
+        /** 공개 회원 달력에서 본인이 직접 잡은 예약이면 true, 아니면 키 없음 */
+        boolean calendarMine,
+        /** 공개 회원 달력의 타인 예약 (비식별) */
+        boolean masked) {
+
+    /** branch는 시설 지점이 있을 때만 키가 있다 */
+    public record FacilityRef(Long id, String name, String branch) {
+        static FacilityRef of(Facility facility) {
+            if (facility == null) return null;
+            return new FacilityRef(facility.getId(), facility.getName(),
+                    facility.getBranch() != null ? facility.getBranch().name() : null);
+        }
+    }
+
+    public record CoachRef(Long id, String name, String specialties) {
+        static CoachRef of(Coach coach) {
+            if (coach == null) return null;
+            return new CoachRef(coach.getId(), coach.getName(), coach.getSpecialties());
+        }
+    }
+
+    /** coach 키는 항상 있다 (없으면 null) */
+    public record MemberRef(Long id, String memberNumber, String name, String phoneNumber,
+                            Member.MemberGrade grade, String school, CoachRef coach) {
+        static MemberRef of(Member member) {
+            if (member == null) return null;
+            return new MemberRef(member.getId(), member.getMemberNumber(), member.getName(), member.getPhoneNumber(),
+                    member.getGrade(), member.getSchool(), CoachRef.of(member.getCoach()));
+        }
+    }
+
+    /**
+     * 이용권 회차 표시용. productName/productType은 상품이 있을 때만(hasProduct),
+     * coachId/coachName은 이용권 또는 상품 담당 코치가 있을 때만(hasCoach) 키가 있다.
+     */
+    public record MemberProductRef(Long id, Integer totalCount, Integer remainingCount, long sessionNumber,
+                                   boolean hasProduct, String productName, Product.ProductType productType,
+                                   boolean hasCoach, Long coachId, String coachName) {
+
+        /**
+         * @param bookingMemberProductId 예약에 연결된 이용권 ID
+         * @param display 회차 계산에 쓴 표시 기준 이용권 (대관이면 재조회한 이용권일 수 있음)
+         */
+        public static MemberProductRef of(Long bookingMemberProductId, MemberProduct display,
+                                          Integer totalCount, Integer remainingCount, long sessionNumber) {
+            Product product = display.getProduct();
+            Coach coach = display.getCoach();
+            if (coach == null && product != null) {
+                coach = product.getCoach();
+            }
+            return new MemberProductRef(bookingMemberProductId, totalCount, remainingCount, sessionNumber,
+                    product != null, product != null ? product.getName() : null, product != null ? product.getType() : null,
+                    coach != null, coach != null ? coach.getId() : null, coach != null ? coach.getName() : null);
+        }
+    }
+
+    /**
+     * @param displayStatus 목록에 보일 상태 (비회원 대기 예약은 확정으로 표시)
+     */
+    public static BookingListItem of(Booking booking, Booking.BookingStatus displayStatus, MemberProductRef memberProduct) {
+        return new BookingListItem(
+                booking.getId(),
+                booking.getStartTime(),
+                booking.getEndTime(),
+                booking.getParticipants(),
+                booking.getPurpose(),
+                booking.getLessonCategory(),
+                displayStatus,
+                booking.getBranch(),
+                booking.getPaymentMethod(),
+                booking.getMemo(),
+                booking.getNonMemberName(),
+                booking.getNonMemberPhone(),
+                booking.getBookingSource() != null ? booking.getBookingSource().name() : "ADMIN",
+                FacilityRef.of(booking.getFacility()),
+                CoachRef.of(booking.getCoach()),
+                MemberRef.of(booking.getMember()),
+                memberProduct,
+                false,
+                false);
+    }
+
+    public BookingListItem withCalendarMine() {
+        return new BookingListItem(id, startTime, endTime, participants, purpose, lessonCategory, status, branch,
+                paymentMethod, memo, nonMemberName, nonMemberPhone, bookingSource, facility, coach, member, memberProduct,
+                true, masked);
+    }
+
+    /** 공개 회원 달력: 타인 예약은 시간·시설·코치(색상용)와 이용권 담당 코치만 노출 */
+    public BookingListItem maskedForPublicViewer() {
+        return new BookingListItem(id, startTime, endTime, participants, purpose, lessonCategory, status, branch,
+                paymentMethod, memo, nonMemberName, nonMemberPhone, bookingSource, facility, coach, member, memberProduct,
+                false, true);
+    }
+}
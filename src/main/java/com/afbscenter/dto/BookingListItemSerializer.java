@@ -0,0 +1,158 @@
+package com.afbscenter.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * {@link BookingListItem} 전용 직렬화기. 리플렉션·중간 Map 없이 필드를 순서대로 쓴다.
+ * - 키·null 처리는 예전 Map 응답과 같게 유지한다 (없던 키는 쓰지 않고, null이던 키는 null로 쓴다)
+ * - enum은 name(), 날짜·시간은 애플리케이션 ObjectMapper 설정(ISO 문자열)을 그대로 따른다
+ */
+public class BookingListItemSerializer extends StdSerializer<BookingListItem> {
+
+    private static final long serialVersionUID = 1L;
+
+    public BookingListItemSerializer() {
+        super(BookingListItem.class);
+    }
+
+    @Override
+    public void serialize(BookingListItem item, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+        writeNumber(gen, "id", item.id());
+        provider.defaultSerializeField("startTime", item.startTime(), gen);
+        provider.defaultSerializeField("endTime", item.endTime(), gen);
+        writeEnum(gen, "branch", item.branch());
+        writeEnum(gen, "purpose", item.purpose());
+        writeEnum(gen, "lessonCategory", item.lessonCategory());
+        writeEnum(gen, "status", item.status());
+        writeFacility(gen, item.facility());
+        gen.writeFieldName("coach");
+        writeCoach(gen, item.coach());
+
+        if (item.masked()) {
+            writeMaskedMemberProduct(gen, item.memberProduct());
+            gen.writeBooleanField("calendarPrivacyMasked", true);
+            gen.writeEndObject();
+            return;
+        }
+
+        writeNumber(gen, "participants", item.participants());
+        writeEnum(gen, "paymentMethod", item.paymentMethod());
+        gen.writeStringField("memo", item.memo());
+        gen.writeStringField("nonMemberName", item.nonMemberName());
+        gen.writeStringField("nonMemberPhone", item.nonMemberPhone());
+        gen.writeStringField("bookingSource", item.bookingSource());
+        writeMember(gen, item.member());
+        writeMemberProduct(gen, item.memberProduct());
+        if (item.calendarMine()) {
+            gen.writeBooleanField("calendarMine", true);
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeFacility(JsonGenerator gen, BookingListItem.FacilityRef facility) throws IOException {
+        if (facility == null) {
+            gen.writeNullField("facility");
+            return;
+        }
+        gen.writeObjectFieldStart("facility");
+        writeNumber(gen, "id", facility.id());
+        gen.writeStringField("name", facility.name());
+        if (facility.branch() != null) {
+            gen.writeStringField("branch", facility.branch());
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeCoach(JsonGenerator gen, BookingListItem.CoachRef coach) throws IOException {
+        if (coach == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject();
+        writeNumber(gen, "id", coach.id());
+        gen.writeStringField("name", coach.name());
+        gen.writeStringField("specialties", coach.specialties());
+        gen.writeEndObject();
+    }
+
+    private static void writeMember(JsonGenerator gen, BookingListItem.MemberRef member) throws IOException {
+        if (member == null) {
+            gen.writeNullField("member");
+            return;
+        }
+        gen.writeObjectFieldStart("member");
+        writeNumber(gen, "id", member.id());
+        gen.writeStringField("memberNumber", member.memberNumber());
+        gen.writeStringField("name", member.name());
+        gen.writeStringField("phoneNumber", member.phoneNumber());
+        writeEnum(gen, "grade", member.grade());
+        gen.writeStringField("school", member.school());
+        gen.writeFieldName("coach");
+        writeCoach(gen, member.coach());
+        gen.writeEndObject();
+    }
+
+    private static void writeMemberProduct(JsonGenerator gen, BookingListItem.MemberProductRef mp) throws IOException {
+        if (mp == null) {
+            gen.writeNullField("memberProduct");
+            return;
+        }
+        gen.writeObjectFieldStart("memberProduct");
+        writeNumber(gen, "id", mp.id());
+        writeNumber(gen, "totalCount", mp.totalCount());
+        writeNumber(gen, "remainingCount", mp.remainingCount());
+        gen.writeNumberField("sessionNumber", mp.sessionNumber());
+        if (mp.hasProduct()) {
+            gen.writeStringField("productName", mp.productName());
+            writeEnum(gen, "productType", mp.productType());
+        }
+        if (mp.hasCoach()) {
+            writeNumber(gen, "coachId", mp.coachId());
+            gen.writeStringField("coachName", mp.coachName());
+        }
+        gen.writeEndObject();
+    }
+
+    /** 타인 예약: 예약 코치가 비어 있어도 이용권 담당 코치명·색상 매칭을 위한 최소 필드만 (없으면 키 없음) */
+    private static void writeMaskedMemberProduct(JsonGenerator gen, BookingListItem.MemberProductRef mp) throws IOException {
+        if (mp == null) return;
+        boolean hasCoachName = mp.coachName() != null && !mp.coachName().trim().isEmpty();
+        if (mp.coachId() == null && !hasCoachName) return;
+        gen.writeObjectFieldStart("memberProduct");
+        if (mp.id() != null) {
+            gen.writeNumberField("id", mp.id());
+        }
+        writeNumber(gen, "coachId", mp.coachId());
+        gen.writeStringField("coachName", mp.coachName());
+        gen.writeEndObject();
+    }
+
+    private static void writeNumber(JsonGenerator gen, String name, Long value) throws IOException {
+        if (value == null) {
+            gen.writeNullField(name);
+        } else {
+            gen.writeNumberField(name, value);
+        }
+    }
+
+    private static void writeNumber(JsonGenerator gen, String name, Integer value) throws IOException {
+        if (value == null) {
+            gen.writeNullField(name);
+        } else {
+            gen.writeNumberField(name, value);
+        }
+    }
+
+    private static void writeEnum(JsonGenerator gen, String name, Enum<?> value) throws IOException {
+        if (value == null) {
+            gen.writeNullField(name);
+        } else {
+            gen.writeStringField(name, value.name());
+        }
+    }
+}
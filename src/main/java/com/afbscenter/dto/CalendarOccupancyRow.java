@@ -0,0 +1,59 @@
+package com.afbscenter.dto;
+
+import com.afbscenter.model.Booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * 회원 공개 달력용 예약 점유 행 (JPQL 생성자 표현식으로 조회).
+ * 본인 여부 판단용 회원 ID만 담고 이름·연락처 등 개인 정보는 읽지 않는다.
+ */
+public class CalendarOccupancyRow {
+    private final Long id;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final Long facilityId;
+    private final String facilityName;
+    private final Booking.BookingStatus status;
+    private final Long memberId;
+
+    public CalendarOccupancyRow(Long id, LocalDateTime startTime, LocalDateTime endTime,
+                                Long facilityId, String facilityName,
+                                Booking.BookingStatus status, Long memberId) {
+        this.id = id;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.facilityId = facilityId;
+        this.facilityName = facilityName;
+        this.status = status;
+        this.memberId = memberId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public Long getFacilityId() {
+        return facilityId;
+    }
+
+    public String getFacilityName() {
+        return facilityName;
+    }
+
+    public Booking.BookingStatus getStatus() {
+        return status;
+    }
+
+    public Long getMemberId() {
+        return memberId;
+    }
+}
@@ -11,7 +11,13 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "attendances")
+@Table(name = "attendances", indexes = {
+        // 인덱스 목록은 HotQueryIndexes와 같게 유지
+        @Index(name = "idx_attendances_date_check_in", columnList = "date, check_in_time"),
+        @Index(name = "idx_attendances_booking", columnList = "booking_id"),
+        @Index(name = "idx_attendances_check_in", columnList = "check_in_time"),
+        @Index(name = "idx_attendances_member_status", columnList = "member_id, status")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
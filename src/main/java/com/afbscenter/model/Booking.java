@@ -14,7 +14,14 @@ import org.hibernate.annotations.BatchSize;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        // 인덱스 목록은 HotQueryIndexes와 같게 유지
+        @Index(name = "idx_bookings_start_time", columnList = "start_time"),
+        @Index(name = "idx_bookings_facility_time", columnList = "facility_id, start_time, end_time"),
+        @Index(name = "idx_bookings_member_time", columnList = "member_id, start_time, end_time"),
+        @Index(name = "idx_bookings_member_product_time", columnList = "member_product_id, start_time"),
+        @Index(name = "idx_bookings_status_start", columnList = "status, start_time")
+})
 @BatchSize(size = 100)
 @Getter
 @Setter
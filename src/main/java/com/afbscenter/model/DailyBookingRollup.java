@@ -0,0 +1,47 @@
+package com.afbscenter.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 일별 예약 집계 (시작일 × 시설 × 목적 × 상태 × 시작 시각).
+ * 예약 시간(분)은 시작~종료, 없거나 0 이하면 설정의 기본 세션 시간.
+ */
+@Entity
+@Table(name = "daily_booking_rollup", indexes = {
+        @Index(name = "idx_daily_booking_rollup_date", columnList = "stat_date")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyBookingRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Column(name = "facility_id")
+    private Long facilityId;
+
+    @Column(length = 32)
+    private String purpose;
+
+    @Column(length = 32)
+    private String status;
+
+    @Column(name = "start_hour", nullable = false)
+    private Integer startHour;
+
+    @Column(name = "booking_count", nullable = false)
+    private Integer bookingCount = 0;
+
+    @Column(name = "booked_minutes", nullable = false)
+    private Long bookedMinutes = 0L;
+}
@@ -0,0 +1,34 @@
+package com.afbscenter.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 일별 회원 증감 집계. 신규는 가입일, 이탈은 WITHDRAWN 회원의 최종 수정일 기준 (통계 화면 기존 규칙).
+ */
+@Entity
+@Table(name = "daily_member_rollup", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_daily_member_rollup_date", columnNames = "stat_date")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyMemberRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "stat_date", nullable = false, unique = true)
+    private LocalDate statDate;
+
+    @Column(name = "new_members", nullable = false)
+    private Integer newMembers = 0;
+
+    @Column(name = "withdrawn_members", nullable = false)
+    private Integer withdrawnMembers = 0;
+}
@@ -0,0 +1,50 @@
+package com.afbscenter.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 일별 매출 집계 (일자 × 매출 카테고리 × 결제수단 × 코치 × 판매 상품).
+ * 순매출 규칙은 AccountingPolicy와 동일: COMPLETED/상태 없음 결제만, 삭제된 이용권 결제 제외, 금액 − 환불액.
+ */
+@Entity
+@Table(name = "daily_revenue_rollup", indexes = {
+        @Index(name = "idx_daily_revenue_rollup_date", columnList = "stat_date")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyRevenueRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    /** 통계 화면 카테고리 키 (LESSON, RENTAL, PRODUCT_SALE, PRODUCT_SALE_BASEBALL, OTHER 등) */
+    @Column(name = "category_key", nullable = false, length = 64)
+    private String categoryKey;
+
+    @Column(name = "payment_method", length = 32)
+    private String paymentMethod;
+
+    /** 예약 코치 우선, 없으면 회원 담당 코치 (null = 미지정) */
+    @Column(name = "coach_id")
+    private Long coachId;
+
+    /** 결제 카테고리가 PRODUCT_SALE이고 상품이 있는 경우의 상품 ID (상품별 매출용) */
+    @Column(name = "sale_product_id")
+    private Long saleProductId;
+
+    @Column(name = "net_amount", nullable = false)
+    private Long netAmount = 0L;
+
+    @Column(name = "payment_count", nullable = false)
+    private Integer paymentCount = 0;
+}
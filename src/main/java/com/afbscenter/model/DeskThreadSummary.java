@@ -0,0 +1,50 @@
+package com.afbscenter.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 데스크 쪽지 스레드 요약 (쪽지가 있는 회원 1명당 1행).
+ * 마지막 쪽지(ID·미리보기·시각·보낸 쪽), 양방향 미읽음 수, 스레드 잠금 여부를 담는다.
+ * 쪽지 저장·읽음·초기화·잠금·삭제와 같은 트랜잭션에서 DeskThreadSummaryService가 고치고,
+ * 관리자 쪽지함은 스레드마다 전체 쪽지를 읽는 대신 이 표를 마지막 쪽지 시각 순으로 한 번에 읽는다.
+ */
+@Entity
+@Table(name = "desk_thread_summary", indexes = {
+        @Index(name = "idx_desk_thread_summary_last", columnList = "last_message_at, member_id")
+})
+@Data
+@NoArgsConstructor
+public class DeskThreadSummary {
+
+    @Id
+    @Column(name = "member_id")
+    private Long memberId;
+
+    @Column(name = "last_message_id")
+    private Long lastMessageId;
+
+    @Column(name = "last_message_preview", length = 200)
+    private String lastMessagePreview;
+
+    @Column(name = "last_message_at")
+    private LocalDateTime lastMessageAt;
+
+    /** 마지막 쪽지를 회원이 보냈으면 true */
+    @Column(name = "last_from_member", nullable = false)
+    private boolean lastFromMember;
+
+    /** 회원→관리자 미읽음 (관리자 쪽지함·배지) */
+    @Column(name = "unread_from_member", nullable = false)
+    private long unreadFromMember;
+
+    /** 관리자→회원 미읽음, 회원 «쪽지 초기화» 이후 것만 (회원 화면 배지) */
+    @Column(name = "unread_from_admin", nullable = false)
+    private long unreadFromAdmin;
+
+    @Column(name = "thread_locked", nullable = false)
+    private boolean threadLocked;
+}
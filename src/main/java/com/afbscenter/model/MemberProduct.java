@@ -9,7 +9,12 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "member_products")
+@Table(name = "member_products", indexes = {
+        // 인덱스 목록은 HotQueryIndexes와 같게 유지
+        @Index(name = "idx_member_products_member_status", columnList = "member_id, status"),
+        @Index(name = "idx_member_products_member_product", columnList = "member_id, product_id"),
+        @Index(name = "idx_member_products_status_deleted", columnList = "status, deleted_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -69,6 +74,16 @@ public class MemberProduct {
     @Column(name = "deleted_by", length = 100)
     private String deletedBy;
 
+    /**
+     * 낙관적 잠금 버전. 잔여 횟수·패키지 JSON을 읽고 고쳐 쓰는 저장이 겹치면 나중 커밋이 실패한다
+     * (체크인은 {@link com.afbscenter.service.MemberProductDeductionService}가 재시도).
+     * 기존 행은 0으로 채운다 (DatabaseMigration)
+     */
+    @Version
+    @Column(name = "version")
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    private Long version;
+
     public enum Status {
         ACTIVE,     // 사용 가능
         EXPIRED,    // 만료
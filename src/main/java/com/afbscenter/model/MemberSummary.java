@@ -0,0 +1,43 @@
+package com.afbscenter.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 회원 목록용 집계 읽기 모델 (회원 1명당 1행).
+ * 결제·예약·출석·이용권 저장/삭제 커밋 후 MemberSummaryService가 갱신한다.
+ * 원본 테이블이 기준이며, 어긋나면 재구축/정합성 점검 API로 맞춘다.
+ */
+@Entity
+@Table(name = "member_summary")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MemberSummary {
+
+    @Id
+    @Column(name = "member_id")
+    private Long memberId;
+
+    /** 누적 결제 금액 (완료·상태 없음 결제, 환불액 차감, 삭제된 이용권 결제 제외) */
+    @Column(name = "total_payment", nullable = false)
+    private Integer totalPayment = 0;
+
+    /** 최근 확정 레슨 날짜 */
+    @Column(name = "latest_lesson_date")
+    private LocalDate latestLessonDate;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
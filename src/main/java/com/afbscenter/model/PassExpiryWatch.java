@@ -0,0 +1,48 @@
+package com.afbscenter.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 만료 임박 이용권 감시 목록 (활성 이용권 1건당 최대 1행).
+ * - LOW_COUNT: 잔여 1~2회인 횟수권 (remaining_count)
+ * - EXPIRY_DATE: 만료일이 감시 기간(오늘 ~ N일 + 하루 여유) 안에 있는 기간권 (expiry_date)
+ * 자정 만료 처리 후 PassExpiryService가 다시 채우고, 그 사이에는 이용권 커밋 후 리스너가 행 단위로 고친다.
+ * 대시보드 만료 임박 목록은 전체 회원 대신 이 표를 한 번 읽는다.
+ */
+@Entity
+@Table(name = "pass_expiry_watch", indexes = {
+        @Index(name = "idx_pass_expiry_watch_kind_expiry", columnList = "kind, expiry_date"),
+        @Index(name = "idx_pass_expiry_watch_member", columnList = "member_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PassExpiryWatch {
+
+    @Id
+    @Column(name = "member_product_id")
+    private Long memberProductId;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "kind", nullable = false, length = 20)
+    private Kind kind;
+
+    @Column(name = "remaining_count")
+    private Integer remainingCount;
+
+    @Column(name = "expiry_date")
+    private LocalDate expiryDate;
+
+    public enum Kind {
+        LOW_COUNT,
+        EXPIRY_DATE
+    }
+}
@@ -12,7 +12,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = {
+        // 인덱스 목록은 HotQueryIndexes와 같게 유지
+        @Index(name = "idx_payments_paid_at_id", columnList = "paid_at DESC, id DESC")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,34 @@
+package com.afbscenter.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 체크인 대기 예약 읽기 모델 (예약 1건당 1행).
+ * 회원 예약이 확정/완료 상태이고 출석이 없으면 행이 있고, 체크인(출석 생성)·취소·삭제 커밋 후 PendingCheckInService가 지운다.
+ * 체크인 미처리 목록은 전체 예약 대신 이 표를 기간·커서로 읽는다. 어긋나면 재구축 API로 맞춘다.
+ */
+@Entity
+@Table(name = "pending_checkins", indexes = {
+        @Index(name = "idx_pending_checkins_start", columnList = "start_time, booking_id"),
+        @Index(name = "idx_pending_checkins_member", columnList = "member_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingCheckIn {
+
+    @Id
+    @Column(name = "booking_id")
+    private Long bookingId;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalDateTime startTime;
+}
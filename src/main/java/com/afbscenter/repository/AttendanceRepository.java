@@ -13,6 +13,26 @@ import java.util.List;
 @Repository
 public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
     List<Attendance> findByMemberId(Long memberId);
+
+    /** 회원 타임라인용: 시설·예약·예약 이용권·상품까지 한 번에 */
+    @Query("SELECT DISTINCT a FROM Attendance a LEFT JOIN FETCH a.facility LEFT JOIN FETCH a.booking b " +
+           "LEFT JOIN FETCH b.memberProduct mp LEFT JOIN FETCH mp.product WHERE a.member.id = :memberId")
+    List<Attendance> findByMemberIdForTimeline(@Param("memberId") Long memberId);
+
+    /** 회원 타임라인 페이지: 정렬 키(체크인 시각 → 출석일 0시 → 날짜 없으면 nullDateKey) 기준 커서 이전 최근 건, 키·ID 내림차순 */
+    @Query("SELECT a FROM Attendance a LEFT JOIN FETCH a.facility LEFT JOIN FETCH a.booking b " +
+           "LEFT JOIN FETCH b.memberProduct mp LEFT JOIN FETCH mp.product WHERE a.member.id = :memberId " +
+           "AND (COALESCE(a.checkInTime, CAST(a.date AS LocalDateTime), :nullDateKey) < :cursorDate " +
+           "OR (COALESCE(a.checkInTime, CAST(a.date AS LocalDateTime), :nullDateKey) = :cursorDate AND a.id < :cursorId)) " +
+           "ORDER BY COALESCE(a.checkInTime, CAST(a.date AS LocalDateTime), :nullDateKey) DESC, a.id DESC")
+    List<Attendance> findTimelinePage(@Param("memberId") Long memberId, @Param("nullDateKey") java.time.LocalDateTime nullDateKey,
+                                      @Param("cursorDate") java.time.LocalDateTime cursorDate, @Param("cursorId") Long cursorId,
+                                      org.springframework.data.domain.Pageable pageable);
+
+    /** 타임라인 잔여 재생용 [출석 ID, 체크인 시각, 출석일, 이용권 상품명] (엔티티 없이) */
+    @Query("SELECT a.id, a.checkInTime, a.date, pr.name FROM Attendance a LEFT JOIN a.booking b LEFT JOIN b.memberProduct mp " +
+           "LEFT JOIN mp.product pr WHERE a.member.id = :memberId")
+    List<Object[]> findTimelineReplayRows(@Param("memberId") Long memberId);
     
     @Query("SELECT a FROM Attendance a LEFT JOIN FETCH a.member LEFT JOIN FETCH a.facility WHERE a.date = :date")
     List<Attendance> findByDate(@Param("date") LocalDate date);
@@ -43,6 +63,10 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
     // 특정 회원의 특정 상품을 사용한 출석 기록 수 (체크인 완료된 것만)
     @Query("SELECT COUNT(a) FROM Attendance a WHERE a.member.id = :memberId AND a.booking.memberProduct.id = :memberProductId AND a.status = 'PRESENT' AND a.checkInTime IS NOT NULL")
     Long countCheckedInAttendancesByMemberAndProduct(@Param("memberId") Long memberId, @Param("memberProductId") Long memberProductId);
+
+    // 위 카운트의 목록용 묶음 조회: [이용권 ID, 회원 ID, 출석 수]
+    @Query("SELECT a.booking.memberProduct.id, a.member.id, COUNT(a) FROM Attendance a WHERE a.booking.memberProduct.id IN :memberProductIds AND a.status = 'PRESENT' AND a.checkInTime IS NOT NULL GROUP BY a.booking.memberProduct.id, a.member.id")
+    List<Object[]> countCheckedInAttendancesByMemberProductIds(@Param("memberProductIds") Collection<Long> memberProductIds);
     
     // 특정 회원의 출석 기록 수 (체크인 완료된 것만, memberProduct가 없는 경우)
     @Query("SELECT COUNT(a) FROM Attendance a WHERE a.member.id = :memberId AND (a.booking.memberProduct IS NULL OR a.booking.memberProduct.id IS NULL) AND a.status = 'PRESENT' AND a.checkInTime IS NOT NULL")
@@ -1,9 +1,11 @@
 package com.afbscenter.repository;
 
+import com.afbscenter.dto.CalendarOccupancyRow;
 import com.afbscenter.model.Booking;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -16,6 +18,15 @@ import java.util.Optional;
 public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("SELECT b FROM Booking b LEFT JOIN FETCH b.facility LEFT JOIN FETCH b.member LEFT JOIN FETCH b.coach LEFT JOIN FETCH b.memberProduct WHERE b.member.id = :memberId ORDER BY b.id DESC")
     List<Booking> findByMemberId(@Param("memberId") Long memberId);
+
+    /** 회원 타임라인 페이지: 정렬 키(시작 → 생성 → 날짜 없으면 nullDateKey) 기준 커서 이전 최근 건, 키·ID 내림차순 */
+    @Query("SELECT b FROM Booking b LEFT JOIN FETCH b.facility WHERE b.member.id = :memberId " +
+           "AND (COALESCE(b.startTime, b.createdAt, :nullDateKey) < :cursorDate " +
+           "OR (COALESCE(b.startTime, b.createdAt, :nullDateKey) = :cursorDate AND b.id < :cursorId)) " +
+           "ORDER BY COALESCE(b.startTime, b.createdAt, :nullDateKey) DESC, b.id DESC")
+    List<Booking> findTimelinePage(@Param("memberId") Long memberId, @Param("nullDateKey") LocalDateTime nullDateKey,
+                                   @Param("cursorDate") LocalDateTime cursorDate, @Param("cursorId") Long cursorId,
+                                   org.springframework.data.domain.Pageable pageable);
     List<Booking> findByFacilityId(Long facilityId);
     List<Booking> findByStatus(Booking.BookingStatus status);
 
@@ -57,6 +68,10 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("SELECT b FROM Booking b WHERE b.member.id = :memberId AND b.purpose = 'LESSON' AND b.status = 'CONFIRMED' ORDER BY b.startTime DESC")
     List<Booking> findLatestLessonByMemberId(@Param("memberId") Long memberId);
 
+    /** 회원별 최근 확정 레슨 시작 시각 [memberId, MAX(startTime)] (회원 목록 페이지용, {@link #findLatestLessonByMemberId}의 묶음 버전) */
+    @Query("SELECT b.member.id, MAX(b.startTime) FROM Booking b WHERE b.member.id IN :memberIds AND b.purpose = 'LESSON' AND b.status = 'CONFIRMED' GROUP BY b.member.id")
+    List<Object[]> findLatestLessonStartByMemberIdIn(@Param("memberIds") java.util.Collection<Long> memberIds);
+
     /** 같은 회원의 시간 겹침 예약 수 (취소 건 제외) */
     @Query("SELECT COUNT(b) FROM Booking b WHERE b.member.id = :memberId AND b.status <> :excludedStatus AND b.startTime < :endTime AND b.endTime > :startTime")
     long countMemberTimeOverlaps(@Param("memberId") Long memberId,
@@ -77,6 +92,10 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     // 체크인된 예약만 카운트하여 remainingCount 계산에 사용
     @Query("SELECT COUNT(b) FROM Booking b WHERE b.memberProduct.id = :memberProductId AND EXISTS (SELECT 1 FROM Attendance a WHERE a.booking.id = b.id AND a.checkInTime IS NOT NULL)")
     Long countConfirmedBookingsByMemberProductId(@Param("memberProductId") Long memberProductId);
+
+    // 위 카운트의 목록용 묶음 조회: [이용권 ID, 체크인된 예약 수]
+    @Query("SELECT b.memberProduct.id, COUNT(b) FROM Booking b WHERE b.memberProduct.id IN :memberProductIds AND EXISTS (SELECT 1 FROM Attendance a WHERE a.booking.id = b.id AND a.checkInTime IS NOT NULL) GROUP BY b.memberProduct.id")
+    List<Object[]> countConfirmedBookingsByMemberProductIds(@Param("memberProductIds") java.util.Collection<Long> memberProductIds);
     
     // 회원의 특정 상품을 사용한 확정된 예약 목록 조회
     @Query("SELECT b FROM Booking b WHERE b.memberProduct.id = :memberProductId AND b.status = 'CONFIRMED' ORDER BY b.startTime ASC")
@@ -125,6 +144,15 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("SELECT b FROM Booking b WHERE b.coach.id = :coachId AND b.member IS NULL ORDER BY b.id DESC")
     List<Booking> findByCoachIdAndMemberIsNull(@Param("coachId") Long coachId);
 
+    /**
+     * 회차 일괄 계산용 경량 행: [bookingId, startTime, endTime, status, memberProductId, mpMemberId, mpProductId].
+     * 목록에 나온 이용권의 예약 + 같은 회원의 다른 이용권 예약(회원·상품 단위 종료 건수용)을 한 번에 조회
+     */
+    @Query("SELECT b.id, b.startTime, b.endTime, b.status, mp.id, mp.member.id, mp.product.id FROM Booking b JOIN b.memberProduct mp " +
+           "WHERE mp.id IN :memberProductIds OR mp.member.id IN :memberIds")
+    List<Object[]> findSessionOrderRows(@Param("memberProductIds") java.util.Collection<Long> memberProductIds,
+                                        @Param("memberIds") java.util.Collection<Long> memberIds);
+
     /** 같은 이용권 중 시각순 첫 예약 1건 (회차 표시: 첫 예약이 완료면 firstSession 보정용) */
     Optional<Booking> findFirstByMemberProduct_IdOrderByStartTimeAscIdAsc(Long memberProductId);
 
@@ -155,6 +183,51 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
                                                @Param("dayEnd") LocalDateTime dayEnd,
                                                @Param("excludedStatus") Booking.BookingStatus excludedStatus);
 
+    /** 체크인 대기 판정: 주어진 예약 중 회원 예약·지정 상태·출석 없음인 것의 [id, memberId, startTime] */
+    @Query("SELECT b.id, b.member.id, b.startTime FROM Booking b WHERE b.id IN :ids AND b.member IS NOT NULL "
+            + "AND b.startTime IS NOT NULL AND b.status IN :statuses "
+            + "AND NOT EXISTS (SELECT a.id FROM Attendance a WHERE a.booking = b)")
+    List<Object[]> findPendingCheckInFacts(@Param("ids") java.util.Collection<Long> ids,
+                                           @Param("statuses") java.util.Collection<Booking.BookingStatus> statuses);
+
+    /**
+     * 체크인 미처리 예약 첫 페이지 (시작 시각 내림차순). pending_checkins 기간 범위로 좁힌 뒤 출석 없음을 NOT EXISTS로 재확인.
+     * 체험 회원(이름에 '체험')은 자동 체크인 대상이라 제외.
+     */
+    @Query("SELECT b FROM Booking b JOIN PendingCheckIn p ON p.bookingId = b.id JOIN FETCH b.member m "
+            + "LEFT JOIN FETCH b.facility LEFT JOIN FETCH b.coach "
+            + "WHERE p.startTime >= :from AND p.startTime < :until AND b.status IN :statuses "
+            + "AND (m.name IS NULL OR m.name NOT LIKE '%체험%') "
+            + "AND NOT EXISTS (SELECT a.id FROM Attendance a WHERE a.booking = b) "
+            + "ORDER BY p.startTime DESC, p.bookingId DESC")
+    List<Booking> findUncheckedPage(@Param("from") LocalDateTime from,
+                                    @Param("until") LocalDateTime until,
+                                    @Param("statuses") java.util.Collection<Booking.BookingStatus> statuses,
+                                    org.springframework.data.domain.Pageable pageable);
+
+    /** {@link #findUncheckedPage} 다음 페이지: 커서(시작 시각, 예약 ID) 이후 */
+    @Query("SELECT b FROM Booking b JOIN PendingCheckIn p ON p.bookingId = b.id JOIN FETCH b.member m "
+            + "LEFT JOIN FETCH b.facility LEFT JOIN FETCH b.coach "
+            + "WHERE p.startTime >= :from AND p.startTime < :until AND b.status IN :statuses "
+            + "AND (p.startTime < :cursorStart OR (p.startTime = :cursorStart AND p.bookingId < :cursorId)) "
+            + "AND (m.name IS NULL OR m.name NOT LIKE '%체험%') "
+            + "AND NOT EXISTS (SELECT a.id FROM Attendance a WHERE a.booking = b) "
+            + "ORDER BY p.startTime DESC, p.bookingId DESC")
+    List<Booking> findUncheckedPageAfter(@Param("from") LocalDateTime from,
+                                         @Param("until") LocalDateTime until,
+                                         @Param("statuses") java.util.Collection<Booking.BookingStatus> statuses,
+                                         @Param("cursorStart") LocalDateTime cursorStart,
+                                         @Param("cursorId") Long cursorId,
+                                         org.springframework.data.domain.Pageable pageable);
+
+    /** 회원 공개 달력 점유: 지점·기간(시작 시각 기준) 예약을 화면에 필요한 열만 조회 (엔티티·연관 로딩 없음) */
+    @Query("SELECT new com.afbscenter.dto.CalendarOccupancyRow(b.id, b.startTime, b.endTime, f.id, f.name, b.status, m.id) "
+            + "FROM Booking b LEFT JOIN b.facility f LEFT JOIN b.member m "
+            + "WHERE b.branch = :branch AND b.startTime >= :start AND b.startTime < :end ORDER BY b.startTime ASC, b.id ASC")
+    List<CalendarOccupancyRow> findCalendarOccupancy(@Param("branch") Booking.Branch branch,
+                                                     @Param("start") LocalDateTime start,
+                                                     @Param("end") LocalDateTime end);
+
     /** 동일 회원·동일 시작·종료 시각의 비취소 예약 존재 여부(완전 중복 방지, 회원 ID 기준) */
     @Query("SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END FROM Booking b WHERE b.member.id = :memberId AND b.startTime = :start AND b.endTime = :end AND b.status <> :cancelled")
     boolean existsExactDuplicateBookingForMember(@Param("memberId") Long memberId,
@@ -168,4 +241,31 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
                                                           @Param("end") LocalDateTime end,
                                                           @Param("excludeId") Long excludeId,
                                                           @Param("cancelled") Booking.BookingStatus cancelled);
+
+    /** 일별 예약 집계용: [startTime, endTime, facilityId, purpose, status] (엔티티 로드 없이) */
+    @Query("SELECT b.startTime, b.endTime, b.facility.id, b.purpose, b.status FROM Booking b WHERE b.startTime >= :start AND b.startTime <= :end")
+    List<Object[]> findRollupRowsByStartTimeBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("SELECT MIN(b.startTime), MAX(b.startTime) FROM Booking b")
+    List<Object[]> findStartTimeBounds();
+
+    /**
+     * 자동 완료 대상: 종료 시각이 지난 확정 예약 [id, memberId, branch, startTime] (ID 순).
+     * 대관(RENTAL)은 체크인 기록이 있을 때만 (목적이 비어 있으면 대관이 아닌 것으로 본다)
+     */
+    @Query("SELECT b.id, m.id, b.branch, b.startTime FROM Booking b LEFT JOIN b.member m "
+            + "WHERE b.status = :confirmed AND b.endTime < :now "
+            + "AND (b.purpose IS NULL OR b.purpose <> 'RENTAL' "
+            + "  OR EXISTS (SELECT a.id FROM Attendance a WHERE a.booking = b AND a.checkInTime IS NOT NULL)) "
+            + "ORDER BY b.id")
+    List<Object[]> findAutoCompleteCandidates(@Param("confirmed") Booking.BookingStatus confirmed,
+                                              @Param("now") LocalDateTime now);
+
+    /** 자동 완료: 아직 확정 상태인 예약만 완료로 (다른 경로에서 먼저 바뀐 예약은 건드리지 않음) */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :completed, b.updatedAt = :now WHERE b.id IN :ids AND b.status = :confirmed")
+    int completeConfirmedByIdIn(@Param("ids") java.util.Collection<Long> ids,
+                                @Param("completed") Booking.BookingStatus completed,
+                                @Param("confirmed") Booking.BookingStatus confirmed,
+                                @Param("now") LocalDateTime now);
 }
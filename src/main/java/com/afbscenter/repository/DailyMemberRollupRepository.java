@@ -0,0 +1,21 @@
+package com.afbscenter.repository;
+
+import com.afbscenter.model.DailyMemberRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyMemberRollupRepository extends JpaRepository<DailyMemberRollup, Long> {
+
+    List<DailyMemberRollup> findByStatDateBetween(LocalDate start, LocalDate end);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM DailyMemberRollup r WHERE r.statDate >= :start AND r.statDate <= :end")
+    int deleteByStatDateRange(@Param("start") LocalDate start, @Param("end") LocalDate end);
+}
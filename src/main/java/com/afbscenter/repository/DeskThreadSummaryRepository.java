@@ -0,0 +1,87 @@
+package com.afbscenter.repository;
+
+import com.afbscenter.model.DeskThreadSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DeskThreadSummaryRepository extends JpaRepository<DeskThreadSummary, Long> {
+
+    /** 새 쪽지 1건의 미읽음 반영 (행 잠금은 커밋까지). 행이 없으면 0건 */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE DeskThreadSummary s SET s.unreadFromMember = s.unreadFromMember + :fromMember, "
+            + "s.unreadFromAdmin = s.unreadFromAdmin + :fromAdmin WHERE s.memberId = :memberId")
+    int incrementUnread(@Param("memberId") Long memberId,
+                        @Param("fromMember") long fromMember,
+                        @Param("fromAdmin") long fromAdmin);
+
+    /** 마지막 쪽지 교체. 더 뒤 쪽지가 이미 반영돼 있으면(동시 저장 순서 역전) 그대로 둔다 */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE DeskThreadSummary s SET s.lastMessageId = :messageId, s.lastMessagePreview = :preview, "
+            + "s.lastMessageAt = :createdAt, s.lastFromMember = :lastFromMember "
+            + "WHERE s.memberId = :memberId AND (s.lastMessageId IS NULL OR s.lastMessageId < :messageId)")
+    int advanceLastMessage(@Param("memberId") Long memberId,
+                           @Param("messageId") Long messageId,
+                           @Param("preview") String preview,
+                           @Param("createdAt") LocalDateTime createdAt,
+                           @Param("lastFromMember") boolean lastFromMember);
+
+    /** 관리자 읽음 처리 후 회원→관리자 미읽음을 원본에서 다시 센다 */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE DeskThreadSummary s SET s.unreadFromMember = (SELECT COUNT(m) FROM MemberDeskMessage m "
+            + "WHERE m.member.id = s.memberId AND m.fromMember = true AND m.readByAdmin = false) WHERE s.memberId = :memberId")
+    int recountUnreadFromMember(@Param("memberId") Long memberId);
+
+    /** «모두 읽음» 후: 미읽음이 남아 있던 스레드만 다시 센다 */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE DeskThreadSummary s SET s.unreadFromMember = (SELECT COUNT(m) FROM MemberDeskMessage m "
+            + "WHERE m.member.id = s.memberId AND m.fromMember = true AND m.readByAdmin = false) WHERE s.unreadFromMember > 0")
+    int recountAllUnreadFromMember();
+
+    /** 회원 읽음·쪽지 초기화 후 관리자→회원 미읽음(초기화 이후 것만)을 원본에서 다시 센다 */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE DeskThreadSummary s SET s.unreadFromAdmin = (SELECT COUNT(m) FROM MemberDeskMessage m "
+            + "WHERE m.member.id = s.memberId AND m.fromMember = false AND m.readByMember = false "
+            + "AND (m.member.deskThreadClearedAt IS NULL OR m.createdAt > m.member.deskThreadClearedAt)) WHERE s.memberId = :memberId")
+    int recountUnreadFromAdmin(@Param("memberId") Long memberId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE DeskThreadSummary s SET s.threadLocked = :locked WHERE s.memberId = :memberId")
+    int updateThreadLocked(@Param("memberId") Long memberId, @Param("locked") boolean locked);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM DeskThreadSummary s WHERE s.memberId = :memberId")
+    int deleteByMemberId(@Param("memberId") Long memberId);
+
+    /** 관리자 배지: 회원→관리자 미읽음 합계 (없는 회원의 행은 제외) */
+    @Query("SELECT COALESCE(SUM(s.unreadFromMember), 0) FROM DeskThreadSummary s, Member m WHERE m.id = s.memberId")
+    long sumUnreadFromMember();
+
+    @Query("SELECT s.unreadFromAdmin FROM DeskThreadSummary s WHERE s.memberId = :memberId")
+    List<Long> findUnreadFromAdminList(@Param("memberId") Long memberId);
+
+    /**
+     * 관리자 쪽지함 첫 페이지: 마지막 쪽지 최신순 (같은 시각이면 회원 ID 내림차순).
+     * [0]=DeskThreadSummary, [1]=회원 이름, [2]=회원번호
+     */
+    @Query("SELECT s, m.name, m.memberNumber FROM DeskThreadSummary s, Member m "
+            + "WHERE m.id = s.memberId AND s.lastMessageAt IS NOT NULL "
+            + "ORDER BY s.lastMessageAt DESC, s.memberId DESC")
+    List<Object[]> findInboxPage(Pageable pageable);
+
+    /** {@link #findInboxPage}의 다음 페이지 (커서 = 이전 페이지 마지막 행의 마지막 쪽지 시각·회원 ID) */
+    @Query("SELECT s, m.name, m.memberNumber FROM DeskThreadSummary s, Member m "
+            + "WHERE m.id = s.memberId AND s.lastMessageAt IS NOT NULL "
+            + "AND (s.lastMessageAt < :cursorAt OR (s.lastMessageAt = :cursorAt AND s.memberId < :cursorMemberId)) "
+            + "ORDER BY s.lastMessageAt DESC, s.memberId DESC")
+    List<Object[]> findInboxPageAfter(@Param("cursorAt") LocalDateTime cursorAt,
+                                      @Param("cursorMemberId") Long cursorMemberId,
+                                      Pageable pageable);
+}
@@ -11,12 +11,16 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface MemberDeskMessageRepository extends JpaRepository<MemberDeskMessage, Long> {
 
     List<MemberDeskMessage> findByMember_IdOrderByCreatedAtAsc(Long memberId);
 
+    /** 스레드의 마지막 쪽지 (쪽지 스레드 요약 재계산용) */
+    Optional<MemberDeskMessage> findTopByMember_IdOrderByIdDesc(Long memberId);
+
     /** 회원 공개 화면: 초기화 시각 이후 쪽지만 (clearedAt null이면 전체) */
     @Query("SELECT m FROM MemberDeskMessage m WHERE m.member.id = :memberId "
             + "AND (:clearedAt IS NULL OR m.createdAt > :clearedAt) ORDER BY m.createdAt ASC")
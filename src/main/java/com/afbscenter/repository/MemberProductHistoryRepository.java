@@ -14,10 +14,39 @@ public interface MemberProductHistoryRepository extends JpaRepository<MemberProd
     List<MemberProductHistory> findByMemberIdOrderByTransactionDateDesc(Long memberId);
     
     List<MemberProductHistory> findByMemberProductIdOrderByTransactionDateDesc(Long memberProductId);
+
+    /** 여러 이용권 히스토리 한 번에 (예약 목록 회차 일괄 계산용, 같은 시각은 id 역순) */
+    List<MemberProductHistory> findByMemberProductIdInOrderByTransactionDateDescIdDesc(java.util.Collection<Long> memberProductIds);
+
+    /** 출석 ID → DEDUCT 히스토리 ID 쌍 [attendanceId, historyId] (체크인 회차 일괄 계산용) */
+    @Query("SELECT h.attendance.id, h.id FROM MemberProductHistory h WHERE h.attendance.id IN :attendanceIds AND h.type = 'DEDUCT'")
+    List<Object[]> findDeductIdsByAttendanceIdIn(@Param("attendanceIds") java.util.Collection<Long> attendanceIds);
     
     @Query("SELECT h FROM MemberProductHistory h LEFT JOIN FETCH h.memberProduct mp LEFT JOIN FETCH mp.product WHERE h.member.id = :memberId ORDER BY h.transactionDate DESC")
     List<MemberProductHistory> findByMemberIdWithProductOrderByTransactionDateDesc(@Param("memberId") Long memberId);
     
+    /** 회원 출석에 연결된 히스토리의 [출석 ID, 변경 후 잔여] (타임라인 체크인 잔여 일괄 조회용) */
+    @Query("SELECT a.id, h.remainingCountAfter FROM MemberProductHistory h JOIN h.attendance a WHERE a.member.id = :memberId")
+    List<Object[]> findRemainingAfterByAttendanceMemberId(@Param("memberId") Long memberId);
+
+    /** 위와 같은 [출석 ID, 변경 후 잔여]를 타임라인 페이지의 출석만 */
+    @Query("SELECT h.attendance.id, h.remainingCountAfter FROM MemberProductHistory h WHERE h.attendance.id IN :attendanceIds")
+    List<Object[]> findRemainingAfterByAttendanceIdIn(@Param("attendanceIds") java.util.Collection<Long> attendanceIds);
+
+    /** 회원 타임라인 페이지: 정렬 키(거래일 → 날짜 없으면 nullDateKey) 기준 커서 이전 최근 건, 키·ID 내림차순 */
+    @Query("SELECT h FROM MemberProductHistory h LEFT JOIN FETCH h.memberProduct mp LEFT JOIN FETCH mp.product WHERE h.member.id = :memberId " +
+           "AND (COALESCE(h.transactionDate, :nullDateKey) < :cursorDate " +
+           "OR (COALESCE(h.transactionDate, :nullDateKey) = :cursorDate AND h.id < :cursorId)) " +
+           "ORDER BY COALESCE(h.transactionDate, :nullDateKey) DESC, h.id DESC")
+    List<MemberProductHistory> findTimelinePage(@Param("memberId") Long memberId, @Param("nullDateKey") java.time.LocalDateTime nullDateKey,
+                                                @Param("cursorDate") java.time.LocalDateTime cursorDate, @Param("cursorId") Long cursorId,
+                                                org.springframework.data.domain.Pageable pageable);
+
+    /** 타임라인 잔여 재생용 [히스토리 ID, 거래일, 이용권 상품명, 변경 후 잔여] (엔티티 없이) */
+    @Query("SELECT h.id, h.transactionDate, pr.name, h.remainingCountAfter FROM MemberProductHistory h LEFT JOIN h.memberProduct mp " +
+           "LEFT JOIN mp.product pr WHERE h.member.id = :memberId")
+    List<Object[]> findTimelineReplayRows(@Param("memberId") Long memberId);
+    
     /** 회원 이용권 히스토리 (상품 + 출석·예약 포함, 예약 startTime 기준 정렬용) */
     @Query("SELECT h FROM MemberProductHistory h " +
            "LEFT JOIN FETCH h.memberProduct mp LEFT JOIN FETCH mp.product " +
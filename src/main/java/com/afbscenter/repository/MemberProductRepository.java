@@ -2,6 +2,7 @@ package com.afbscenter.repository;
 
 import com.afbscenter.model.MemberProduct;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -17,6 +18,10 @@ public interface MemberProductRepository extends JpaRepository<MemberProduct, Lo
 
     List<MemberProduct> findAllByDeletedAtIsNull();
 
+    /** 주어진 ID 중 미삭제 이용권 ID만 (예약 목록 회차 일괄 계산용) */
+    @Query("SELECT mp.id FROM MemberProduct mp WHERE mp.id IN :ids AND mp.deletedAt IS NULL")
+    List<Long> findActiveIdsByIdIn(@Param("ids") java.util.Collection<Long> ids);
+
     @Query("SELECT mp FROM MemberProduct mp WHERE mp.member.id = :memberId AND mp.deletedAt IS NULL")
     List<MemberProduct> findByMemberId(@Param("memberId") Long memberId);
 
@@ -46,6 +51,14 @@ public interface MemberProductRepository extends JpaRepository<MemberProduct, Lo
            "WHERE mp.member.id = :memberId AND mp.deletedAt IS NULL ORDER BY mp.purchaseDate DESC")
     List<MemberProduct> findByMemberIdWithProduct(@Param("memberId") Long memberId);
 
+    /** {@link #findByMemberIdWithProduct}의 회원 묶음 버전 (회원 목록 페이지용) */
+    @Query("SELECT DISTINCT mp FROM MemberProduct mp " +
+           "LEFT JOIN FETCH mp.product p " +
+           "LEFT JOIN FETCH mp.coach " +
+           "LEFT JOIN FETCH p.coach " +
+           "WHERE mp.member.id IN :memberIds AND mp.deletedAt IS NULL ORDER BY mp.purchaseDate DESC")
+    List<MemberProduct> findByMemberIdInWithProduct(@Param("memberIds") java.util.Collection<Long> memberIds);
+
     @Query("SELECT mp FROM MemberProduct mp LEFT JOIN FETCH mp.member LEFT JOIN FETCH mp.product WHERE mp.id = :id AND mp.deletedAt IS NULL")
     Optional<MemberProduct> findByIdWithMember(@Param("id") Long id);
 
@@ -55,12 +68,111 @@ public interface MemberProductRepository extends JpaRepository<MemberProduct, Lo
     @Query("SELECT mp FROM MemberProduct mp WHERE mp.product.id = :productId AND mp.deletedAt IS NULL")
     List<MemberProduct> findByProductId(@Param("productId") Long productId);
 
+    /** 결제 자동 생성 대상: 가격 있는 상품의 이용권 중 같은 회원·상품의 유효 상품판매 결제가 없는 것 (회원·이용권 ID 순) */
+    @Query("SELECT mp FROM MemberProduct mp JOIN FETCH mp.member m JOIN FETCH mp.product p WHERE mp.deletedAt IS NULL AND p.price > 0 "
+            + "AND NOT EXISTS (SELECT 1 FROM Payment pay WHERE pay.member.id = m.id AND pay.product.id = p.id "
+            + "AND pay.category = 'PRODUCT_SALE' AND pay.status = 'COMPLETED' AND (pay.refundAmount IS NULL OR pay.refundAmount = 0)) "
+            + "ORDER BY m.id, mp.id")
+    List<MemberProduct> findMissingPaymentCandidates();
+
     @Query("SELECT mp FROM MemberProduct mp JOIN FETCH mp.product p JOIN FETCH mp.member m WHERE p.type = 'COUNT_PASS' AND mp.deletedAt IS NULL")
     List<MemberProduct> findAllCountPassWithProductAndMember();
 
     @Query("SELECT mp.remainingCount FROM MemberProduct mp WHERE mp.id = :id AND mp.deletedAt IS NULL")
     List<Integer> findRemainingCountListById(@Param("id") Long id);
 
+    /**
+     * 잔여 1회 조건부 차감 (잔여가 0 이하이거나 삭제된 이용권이면 0건). 행 잠금은 커밋까지 유지되어 동시 차감이 줄을 선다.
+     * 버전도 올려 같은 이용권을 읽고 고쳐 쓰는 엔티티 저장이 충돌로 감지되게 한다
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE MemberProduct mp SET mp.remainingCount = mp.remainingCount - 1, mp.version = COALESCE(mp.version, 0) + 1 " +
+           "WHERE mp.id = :id AND mp.remainingCount > 0 AND mp.deletedAt IS NULL")
+    int decrementRemainingCount(@Param("id") Long id);
+
+    /**
+     * 잔여 1회 조건부 복구 (예약·출석 삭제 시). cap(총 횟수) 이상으로는 올리지 않는다.
+     * 읽은 값에 1을 더해 저장하지 않으므로 같은 이용권의 동시 차감과 겹쳐도 어느 쪽도 사라지지 않는다
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE MemberProduct mp SET mp.remainingCount = COALESCE(mp.remainingCount, 0) + 1, mp.version = COALESCE(mp.version, 0) + 1 " +
+           "WHERE mp.id = :id AND COALESCE(mp.remainingCount, 0) < :cap")
+    int incrementRemainingCount(@Param("id") Long id, @Param("cap") int cap);
+
+    /** 잔여를 cap 이하로만 낮춘다 (사용 기록 기준 보정). 낮추기만 하므로 동시 차감과 섞여도 늘어나지 않음 */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE MemberProduct mp SET mp.remainingCount = :cap, mp.version = COALESCE(mp.version, 0) + 1 " +
+           "WHERE mp.id = :id AND mp.remainingCount > :cap AND mp.deletedAt IS NULL")
+    int capRemainingCount(@Param("id") Long id, @Param("cap") int cap);
+
+    /** 잔여 0이 된 사용 중 이용권을 소진 처리 */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE MemberProduct mp SET mp.status = :usedUp, mp.endedAt = COALESCE(mp.endedAt, :now), mp.version = COALESCE(mp.version, 0) + 1 " +
+           "WHERE mp.id = :id AND mp.remainingCount = 0 AND mp.status = :active")
+    int markUsedUpIfExhausted(@Param("id") Long id,
+                              @Param("usedUp") MemberProduct.Status usedUp,
+                              @Param("active") MemberProduct.Status active,
+                              @Param("now") java.time.LocalDateTime now);
+
+    /** 잔여가 다시 생긴 소진 이용권을 사용 중으로 되돌림 */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE MemberProduct mp SET mp.status = :active, mp.version = COALESCE(mp.version, 0) + 1 " +
+           "WHERE mp.id = :id AND mp.remainingCount > 0 AND mp.status = :usedUp")
+    int markActiveIfRemaining(@Param("id") Long id,
+                              @Param("active") MemberProduct.Status active,
+                              @Param("usedUp") MemberProduct.Status usedUp);
+
+    /** 만료 처리 대상 회원: 만료일이 today 이전인데 아직 사용 중인 이용권의 회원 */
+    @Query("SELECT DISTINCT mp.member.id FROM MemberProduct mp WHERE mp.status = 'ACTIVE' AND mp.deletedAt IS NULL AND mp.expiryDate < :today")
+    List<Long> findMemberIdsWithActiveExpiredBefore(@Param("today") java.time.LocalDate today);
+
+    /** 자정 만료 처리: 만료일이 today 이전인 사용 중 이용권을 한 번에 만료 처리 (유형 무관, 조회 시 만료 판정과 같은 기준) */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE MemberProduct mp SET mp.status = :expired, mp.endedAt = COALESCE(mp.endedAt, :now), mp.version = COALESCE(mp.version, 0) + 1 " +
+           "WHERE mp.status = :active AND mp.deletedAt IS NULL AND mp.expiryDate < :today")
+    int expireActiveBefore(@Param("today") java.time.LocalDate today,
+                           @Param("expired") MemberProduct.Status expired,
+                           @Param("active") MemberProduct.Status active,
+                           @Param("now") java.time.LocalDateTime now);
+
+    /** 소진 처리 대상 회원: 잔여 0인데 아직 사용 중인 횟수권의 회원 */
+    @Query("SELECT DISTINCT mp.member.id FROM MemberProduct mp WHERE mp.status = 'ACTIVE' AND mp.deletedAt IS NULL AND mp.remainingCount = 0 " +
+           "AND mp.product.id IN (SELECT p.id FROM Product p WHERE p.type = 'COUNT_PASS')")
+    List<Long> findMemberIdsWithExhaustedCountPasses();
+
+    /** 잔여 0인 사용 중 횟수권을 한 번에 소진 처리 ({@link #markUsedUpIfExhausted}의 전체 버전) */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE MemberProduct mp SET mp.status = :usedUp, mp.endedAt = COALESCE(mp.endedAt, :now), mp.version = COALESCE(mp.version, 0) + 1 " +
+           "WHERE mp.status = :active AND mp.deletedAt IS NULL AND mp.remainingCount = 0 " +
+           "AND mp.product.id IN (SELECT p.id FROM Product p WHERE p.type = 'COUNT_PASS')")
+    int markExhaustedCountPassesUsedUp(@Param("usedUp") MemberProduct.Status usedUp,
+                                       @Param("active") MemberProduct.Status active,
+                                       @Param("now") java.time.LocalDateTime now);
+
+    /** 만료 감시 행 재판정용: 주어진 ID 중 사용 중(미삭제) 이용권과 상품 */
+    @Query("SELECT mp FROM MemberProduct mp JOIN FETCH mp.product p WHERE mp.id IN :ids AND mp.status = 'ACTIVE' AND mp.deletedAt IS NULL")
+    List<MemberProduct> findActiveByIdInWithProduct(@Param("ids") java.util.Collection<Long> ids);
+
+    /** 잔여가 비어 있는 사용 중 횟수권 (만료 감시 재구축 시 사용 기록으로 잔여 계산) */
+    @Query("SELECT mp FROM MemberProduct mp JOIN FETCH mp.product p WHERE mp.status = 'ACTIVE' AND mp.deletedAt IS NULL " +
+           "AND p.type = 'COUNT_PASS' AND mp.remainingCount IS NULL")
+    List<MemberProduct> findActiveCountPassesWithoutRemaining();
+
+    /**
+     * 대시보드 종료 목록: 소진 이용권 전부 + 사용 중 이용권이 없는 회원의 만료 이용권 (회원·상품 함께).
+     * 회원 ID 순, 회원 안에서는 소진 → 만료, 이용권 ID 순
+     */
+    @Query("SELECT mp FROM MemberProduct mp JOIN FETCH mp.member m JOIN FETCH mp.product p WHERE mp.deletedAt IS NULL " +
+           "AND (mp.status = 'USED_UP' OR (mp.status = 'EXPIRED' AND NOT EXISTS " +
+           "(SELECT 1 FROM MemberProduct a WHERE a.member.id = m.id AND a.deletedAt IS NULL AND a.status = 'ACTIVE'))) " +
+           "ORDER BY m.id, CASE WHEN mp.status = 'USED_UP' THEN 0 ELSE 1 END, mp.id")
+    List<MemberProduct> findEndedForDashboard();
+
+    /** 이용권(미삭제)은 있지만 사용 중인 것은 없는 회원 */
+    @Query("SELECT DISTINCT mp.member.id FROM MemberProduct mp WHERE mp.deletedAt IS NULL AND NOT EXISTS " +
+           "(SELECT 1 FROM MemberProduct a WHERE a.member.id = mp.member.id AND a.deletedAt IS NULL AND a.status = 'ACTIVE')")
+    List<Long> findMemberIdsWithoutActiveProducts();
+
     @Query("SELECT COUNT(DISTINCT m.id) FROM Member m WHERE EXISTS (SELECT 1 FROM MemberProduct mp WHERE mp.member.id = m.id AND mp.deletedAt IS NULL AND (mp.status = 'EXPIRED' OR mp.status = 'USED_UP')) AND NOT EXISTS (SELECT 1 FROM MemberProduct mp2 WHERE mp2.member.id = m.id AND mp2.deletedAt IS NULL AND mp2.status = 'ACTIVE')")
     long countMembersWithOnlyEndedProducts();
 
@@ -72,4 +184,9 @@ public interface MemberProductRepository extends JpaRepository<MemberProduct, Lo
 
     @Query("SELECT DISTINCT mp.member.id FROM MemberProduct mp WHERE mp.deletedAt IS NULL AND (mp.status = 'EXPIRED' OR mp.status = 'USED_UP') AND mp.endedAt >= :since AND EXISTS (SELECT 1 FROM MemberProduct mp2 WHERE mp2.member.id = mp.member.id AND mp2.deletedAt IS NULL AND mp2.status = 'ACTIVE')")
     List<Long> findMemberIdsWithPartialEndedSince(@Param("since") java.time.LocalDateTime since);
+
+    /** 통계: 삭제되지 않은 ACTIVE 이용권의 [memberId, 상품 카테고리] (엔티티 로드 없이) */
+    @Query("SELECT mp.member.id, p.category FROM MemberProduct mp LEFT JOIN mp.product p " +
+           "WHERE mp.deletedAt IS NULL AND mp.status = 'ACTIVE' AND mp.member IS NOT NULL ORDER BY mp.id")
+    List<Object[]> findActiveMemberIdAndCategory();
 }
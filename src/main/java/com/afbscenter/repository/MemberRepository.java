@@ -1,11 +1,18 @@
 package com.afbscenter.repository;
 
 import com.afbscenter.model.Member;
+import com.afbscenter.model.Product;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,10 +42,10 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
     List<Member> findByCoachId(@Param("coachId") Long coachId);
     
     @Query("SELECT COUNT(m) FROM Member m WHERE m.joinDate = :date")
-    Long countByJoinDate(@Param("date") java.time.LocalDate date);
+    Long countByJoinDate(@Param("date") LocalDate date);
     
     @Query("SELECT COUNT(m) FROM Member m WHERE m.joinDate >= :startDate AND m.joinDate <= :endDate")
-    Long countByJoinDateRange(@Param("startDate") java.time.LocalDate startDate, @Param("endDate") java.time.LocalDate endDate);
+    Long countByJoinDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
     long countByStatus(Member.MemberStatus status);
     long countByGrade(Member.MemberGrade grade);
@@ -46,4 +53,93 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
     List<Member> findByGrade(Member.MemberGrade grade);
 
     List<Member> findByGradeAndStatus(Member.MemberGrade grade, Member.MemberStatus status);
+
+    /**
+     * 회원 목록 페이지 조회 조건 (MemberService.getMembersPageWithFilters).
+     * 기존 메모리 필터와 같은 규칙: 이용권 종료 배지, 등급·상태, 상품 카테고리(유효 ACTIVE 이용권), 코치 배정 지점, 코치 본인 담당 회원.
+     * 담당 코치 표시는 ACTIVE 이용권에 코치(이용권 또는 상품 기본)가 있을 때만 유지되므로 코치 조건에도 같은 EXISTS를 붙인다.
+     */
+    String FILTERED_MEMBERS_FROM_WHERE = "FROM Member m LEFT JOIN m.coach mc " +
+            "WHERE (:grade IS NULL OR m.grade = :grade) " +
+            "AND (:status IS NULL OR m.status = :status) " +
+            "AND (:endedTicketOnly = false OR " +
+            "  (EXISTS (SELECT 1 FROM MemberProduct e1 WHERE e1.member.id = m.id AND e1.deletedAt IS NULL AND (e1.status = 'EXPIRED' OR e1.status = 'USED_UP')) " +
+            "   AND NOT EXISTS (SELECT 1 FROM MemberProduct a1 WHERE a1.member.id = m.id AND a1.deletedAt IS NULL AND a1.status = 'ACTIVE')) " +
+            "  OR (EXISTS (SELECT 1 FROM MemberProduct e2 WHERE e2.member.id = m.id AND e2.deletedAt IS NULL AND (e2.status = 'EXPIRED' OR e2.status = 'USED_UP') AND e2.endedAt >= :endedSince) " +
+            "   AND EXISTS (SELECT 1 FROM MemberProduct a2 WHERE a2.member.id = m.id AND a2.deletedAt IS NULL AND a2.status = 'ACTIVE'))) " +
+            "AND (:categoryFilter = false OR EXISTS (SELECT 1 FROM MemberProduct c1 JOIN c1.product cp WHERE c1.member.id = m.id AND c1.deletedAt IS NULL " +
+            "  AND c1.status = 'ACTIVE' AND (c1.expiryDate IS NULL OR c1.expiryDate >= :today) AND (cp.category IS NULL OR cp.category IN :categories))) " +
+            "AND (:branchFilter = false OR " +
+            "  (mc.id IS NOT NULL AND CONCAT(',', UPPER(REPLACE(mc.availableBranches, ' ', '')), ',') LIKE :branchPattern " +
+            "   AND EXISTS (SELECT 1 FROM MemberProduct k1 JOIN k1.product k1p WHERE k1.member.id = m.id AND k1.deletedAt IS NULL AND k1.status = 'ACTIVE' AND (k1.coach IS NOT NULL OR k1p.coach IS NOT NULL))) " +
+            "  OR EXISTS (SELECT 1 FROM MemberProduct b1 JOIN b1.product bp JOIN bp.coach bpc WHERE b1.member.id = m.id AND b1.deletedAt IS NULL " +
+            "   AND b1.status = 'ACTIVE' AND (b1.expiryDate IS NULL OR b1.expiryDate >= :today) AND (bp.category IS NULL OR bp.category NOT IN ('BASEBALL', 'RENTAL')) " +
+            "   AND CONCAT(',', UPPER(REPLACE(bpc.availableBranches, ' ', '')), ',') LIKE :branchPattern)) " +
+            "AND (:coachId IS NULL OR (mc.id = :coachId " +
+            "  AND EXISTS (SELECT 1 FROM MemberProduct k2 JOIN k2.product k2p WHERE k2.member.id = m.id AND k2.deletedAt IS NULL AND k2.status = 'ACTIVE' AND (k2.coach IS NOT NULL OR k2p.coach IS NOT NULL))))";
+
+    /** 조건에 맞는 회원 ID 한 페이지 (이름순, 동명이인은 ID순) */
+    @Query("SELECT m.id " + FILTERED_MEMBERS_FROM_WHERE + " ORDER BY m.name ASC, m.id ASC")
+    List<Long> findFilteredMemberIds(@Param("grade") Member.MemberGrade grade,
+                                     @Param("status") Member.MemberStatus status,
+                                     @Param("endedTicketOnly") boolean endedTicketOnly,
+                                     @Param("endedSince") LocalDateTime endedSince,
+                                     @Param("categoryFilter") boolean categoryFilter,
+                                     @Param("categories") Collection<Product.ProductCategory> categories,
+                                     @Param("today") LocalDate today,
+                                     @Param("branchFilter") boolean branchFilter,
+                                     @Param("branchPattern") String branchPattern,
+                                     @Param("coachId") Long coachId,
+                                     Pageable pageable);
+
+    @Query("SELECT COUNT(m) " + FILTERED_MEMBERS_FROM_WHERE)
+    long countFilteredMembers(@Param("grade") Member.MemberGrade grade,
+                              @Param("status") Member.MemberStatus status,
+                              @Param("endedTicketOnly") boolean endedTicketOnly,
+                              @Param("endedSince") LocalDateTime endedSince,
+                              @Param("categoryFilter") boolean categoryFilter,
+                              @Param("categories") Collection<Product.ProductCategory> categories,
+                              @Param("today") LocalDate today,
+                              @Param("branchFilter") boolean branchFilter,
+                              @Param("branchPattern") String branchPattern,
+                              @Param("coachId") Long coachId);
+
+    /** 전체 회원 ID (member_summary 재구축/정합성 점검용) */
+    @Query("SELECT m.id FROM Member m ORDER BY m.id")
+    List<Long> findAllIds();
+
+    /** 쪽지 스레드 요약 행 최초 생성을 같은 회원끼리 줄 세우는 배타 락 */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM Member m WHERE m.id = :id")
+    Optional<Member> findByIdForUpdate(@Param("id") Long id);
+
+    /** 미삭제 이용권이 하나도 없는 회원 (대시보드 '이용권 없음' 목록, ID 순) */
+    @Query("SELECT m FROM Member m WHERE NOT EXISTS (SELECT 1 FROM MemberProduct mp WHERE mp.member.id = m.id AND mp.deletedAt IS NULL) ORDER BY m.id")
+    List<Member> findWithoutProducts();
+
+    /** 페이지에 해당하는 회원 (코치 함께 로드, 순서는 호출 측에서 ID 목록 순으로 맞춤) */
+    @Query("SELECT m FROM Member m LEFT JOIN FETCH m.coach WHERE m.id IN :ids")
+    List<Member> findByIdInWithCoach(@Param("ids") Collection<Long> ids);
+
+    /** 일별 회원 집계용: 가입일별 신규 회원 수 [joinDate, count] */
+    @Query("SELECT m.joinDate, COUNT(m) FROM Member m WHERE m.joinDate >= :start AND m.joinDate <= :end GROUP BY m.joinDate")
+    List<Object[]> countJoinedGroupByJoinDate(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    /** 일별 회원 집계용: 기간 내 수정된 이탈(WITHDRAWN) 회원의 수정 시각 */
+    @Query("SELECT m.updatedAt FROM Member m WHERE m.status = 'WITHDRAWN' AND m.updatedAt >= :start AND m.updatedAt <= :end")
+    List<LocalDateTime> findWithdrawnUpdatedAtBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("SELECT MIN(m.joinDate), MAX(m.joinDate) FROM Member m")
+    List<Object[]> findJoinDateBounds();
+
+    @Query("SELECT MIN(m.updatedAt), MAX(m.updatedAt) FROM Member m WHERE m.status = 'WITHDRAWN'")
+    List<Object[]> findWithdrawnUpdatedAtBounds();
+
+    /** 통계: 등급 × 상태별 회원 수 [grade, status, count] */
+    @Query("SELECT m.grade, m.status, COUNT(m) FROM Member m GROUP BY m.grade, m.status")
+    List<Object[]> countGroupByGradeAndStatus();
+
+    /** 통계: 등급별 최근 방문 회원 수 [grade, count] */
+    @Query("SELECT m.grade, COUNT(m) FROM Member m WHERE m.grade IS NOT NULL AND m.lastVisitDate >= :since GROUP BY m.grade")
+    List<Object[]> countRecentVisitorsGroupByGrade(@Param("since") LocalDate since);
 }
@@ -0,0 +1,16 @@
+package com.afbscenter.repository;
+
+import com.afbscenter.model.MemberSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MemberSummaryRepository extends JpaRepository<MemberSummary, Long> {
+
+    /** 회원이 삭제되어 남은 요약 행의 회원 ID */
+    @Query("SELECT s.memberId FROM MemberSummary s WHERE NOT EXISTS (SELECT 1 FROM Member m WHERE m.id = s.memberId)")
+    List<Long> findOrphanMemberIds();
+}
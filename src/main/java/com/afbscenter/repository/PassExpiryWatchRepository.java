@@ -0,0 +1,37 @@
+package com.afbscenter.repository;
+
+import com.afbscenter.model.PassExpiryWatch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PassExpiryWatchRepository extends JpaRepository<PassExpiryWatch, Long> {
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM PassExpiryWatch w WHERE w.memberProductId IN :memberProductIds")
+    int deleteByMemberProductIdIn(@Param("memberProductIds") Collection<Long> memberProductIds);
+
+    /**
+     * 대시보드 만료 임박 목록: 감시 행 + 회원·상품 표시 필드를 한 번에.
+     * 기간권은 조회 시점 기준 [from, to] 안만 (자정 처리 전이라도 지난 날짜는 빠진다).
+     * 이용권이 그 사이 종료·삭제됐으면 원본 조건으로 한 번 더 거른다.
+     * [0]=memberProductId, [1]=kind, [2]=remainingCount, [3]=expiryDate,
+     * [4]=member.id, [5]=memberNumber, [6]=name, [7]=phoneNumber, [8]=grade, [9]=school,
+     * [10]=product.name, [11]=product.type, [12]=product.usageCount
+     */
+    @Query("SELECT w.memberProductId, w.kind, w.remainingCount, w.expiryDate, " +
+           "m.id, m.memberNumber, m.name, m.phoneNumber, m.grade, m.school, p.name, p.type, p.usageCount " +
+           "FROM PassExpiryWatch w, MemberProduct mp JOIN mp.member m JOIN mp.product p " +
+           "WHERE mp.id = w.memberProductId AND mp.status = 'ACTIVE' AND mp.deletedAt IS NULL " +
+           "AND (w.kind = 'LOW_COUNT' " +
+           "  OR (w.kind = 'EXPIRY_DATE' AND w.expiryDate BETWEEN :from AND :to)) " +
+           "ORDER BY m.id, w.memberProductId")
+    List<Object[]> findWatchRowsForDashboard(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -1,8 +1,11 @@
 package com.afbscenter.repository;
 
 import com.afbscenter.model.Payment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -26,9 +29,57 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     @Query("SELECT DISTINCT p FROM Payment p LEFT JOIN FETCH p.member m LEFT JOIN FETCH m.coach LEFT JOIN FETCH p.booking b LEFT JOIN FETCH b.coach LEFT JOIN FETCH p.product prod LEFT JOIN FETCH prod.coach LEFT JOIN FETCH p.memberProduct WHERE p.paidAt >= :start AND p.paidAt <= :end ORDER BY p.paidAt DESC")
     List<Payment> findByPaidAtBetweenWithCoach(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
     
+    // 엑셀 스트리밍 내보내기용: (결제 시각, ID) 내림차순 키셋 페이지 (to-one fetch만 사용, 컬렉션 fetch 금지)
+    // 한 번의 커서로 읽으면 H2가 결과 전체를 먼저 만들어 두므로 페이지마다 끊어 읽는다. payments(paid_at, id) 인덱스 순서로 읽고 LIMIT에서 멈춘다
+    // 회원 없는 결제·삭제된 이용권 결제는 제외, null 필터는 조건 없음. 회원은 LEFT JOIN으로 두어 결제 표부터 읽게 한다
+    String EXPORT_PAGE_SELECT = "SELECT p FROM Payment p LEFT JOIN FETCH p.member m LEFT JOIN FETCH m.coach "
+            + "LEFT JOIN FETCH p.booking b LEFT JOIN FETCH b.coach LEFT JOIN FETCH p.product prod LEFT JOIN FETCH prod.coach "
+            + "LEFT JOIN FETCH p.memberProduct mp "
+            + "WHERE p.member IS NOT NULL AND (mp IS NULL OR mp.deletedAt IS NULL) "
+            + "AND (:start IS NULL OR p.paidAt >= :start) AND (:end IS NULL OR p.paidAt <= :end) "
+            + "AND (:method IS NULL OR p.paymentMethod = :method) "
+            + "AND (:status IS NULL OR p.status = :status) "
+            + "AND (:category IS NULL OR p.category = :category) ";
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    @Query(EXPORT_PAGE_SELECT + "ORDER BY p.paidAt DESC, p.id DESC")
+    List<Payment> findExportPage(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
+                                 @Param("method") Payment.PaymentMethod method,
+                                 @Param("status") Payment.PaymentStatus status,
+                                 @Param("category") Payment.PaymentCategory category,
+                                 org.springframework.data.domain.Pageable pageable);
+
+    /** {@link #findExportPage} 다음 페이지: 커서(결제 시각, 결제 ID) 이후. paidAt 상한을 따로 두어 인덱스 범위로 읽게 한다 */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    @Query(EXPORT_PAGE_SELECT + "AND p.paidAt <= :cursorPaidAt AND (p.paidAt < :cursorPaidAt OR p.id < :cursorId) "
+            + "ORDER BY p.paidAt DESC, p.id DESC")
+    List<Payment> findExportPageAfter(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
+                                      @Param("method") Payment.PaymentMethod method,
+                                      @Param("status") Payment.PaymentStatus status,
+                                      @Param("category") Payment.PaymentCategory category,
+                                      @Param("cursorPaidAt") LocalDateTime cursorPaidAt,
+                                      @Param("cursorId") Long cursorId,
+                                      org.springframework.data.domain.Pageable pageable);
+
     // 회원의 결제 내역을 코치 정보와 함께 조회
     @Query("SELECT DISTINCT p FROM Payment p LEFT JOIN FETCH p.member m LEFT JOIN FETCH m.coach LEFT JOIN FETCH p.booking b LEFT JOIN FETCH b.coach LEFT JOIN FETCH p.product prod LEFT JOIN FETCH prod.coach LEFT JOIN FETCH p.memberProduct WHERE p.member.id = :memberId ORDER BY p.paidAt DESC")
     List<Payment> findByMemberIdWithCoach(@Param("memberId") Long memberId);
+
+    /**
+     * 회원 타임라인 페이지: 정렬 키(결제일 → 생성일 → 날짜 없으면 nullDateKey) 기준 커서 이전 최근 건, 키·ID 내림차순.
+     * 키가 커서와 같으면 ID가 cursorId보다 작은 건만
+     */
+    @Query("SELECT p FROM Payment p LEFT JOIN FETCH p.product WHERE p.member.id = :memberId " +
+           "AND (COALESCE(p.paidAt, p.createdAt, :nullDateKey) < :cursorDate " +
+           "OR (COALESCE(p.paidAt, p.createdAt, :nullDateKey) = :cursorDate AND p.id < :cursorId)) " +
+           "ORDER BY COALESCE(p.paidAt, p.createdAt, :nullDateKey) DESC, p.id DESC")
+    List<Payment> findTimelinePage(@Param("memberId") Long memberId, @Param("nullDateKey") LocalDateTime nullDateKey,
+                                   @Param("cursorDate") LocalDateTime cursorDate, @Param("cursorId") Long cursorId,
+                                   org.springframework.data.domain.Pageable pageable);
+
+    /** 타임라인 잔여 재생용 [결제 ID, 결제일, 생성일, 상품 ID, 상품명] (엔티티 없이) */
+    @Query("SELECT p.id, p.paidAt, p.createdAt, pr.id, pr.name FROM Payment p LEFT JOIN p.product pr WHERE p.member.id = :memberId")
+    List<Object[]> findTimelineReplayRows(@Param("memberId") Long memberId);
     
     @Query("SELECT p FROM Payment p WHERE p.member.id = :memberId AND p.product.id = :productId AND p.category = 'PRODUCT_SALE' AND p.paidAt >= :since ORDER BY p.paidAt DESC")
     List<Payment> findRecentProductPaymentsByMemberAndProduct(@Param("memberId") Long memberId, @Param("productId") Long productId, @Param("since") LocalDateTime since);
@@ -54,6 +105,10 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     
     @Query("SELECT COALESCE(SUM(p.amount - COALESCE(p.refundAmount, 0)), 0) FROM Payment p WHERE p.member.id = :memberId AND (p.status = 'COMPLETED' OR p.status IS NULL) AND (p.memberProduct IS NULL OR p.memberProduct.deletedAt IS NULL)")
     Integer sumTotalAmountByMemberId(@Param("memberId") Long memberId);
+
+    /** {@link #sumTotalAmountByMemberId}의 회원 묶음 버전: [memberId, 합계] (회원 목록 페이지용) */
+    @Query("SELECT p.member.id, COALESCE(SUM(p.amount - COALESCE(p.refundAmount, 0)), 0) FROM Payment p WHERE p.member.id IN :memberIds AND (p.status = 'COMPLETED' OR p.status IS NULL) AND (p.memberProduct IS NULL OR p.memberProduct.deletedAt IS NULL) GROUP BY p.member.id")
+    List<Object[]> sumTotalAmountGroupByMemberIdIn(@Param("memberIds") java.util.Collection<Long> memberIds);
     
     // MemberProduct 구매 시 결제 기록 찾기 (구매일 전후 범위 내의 결제 기록)
     @Query("SELECT p FROM Payment p WHERE p.member.id = :memberId AND p.product.id = :productId AND p.category = 'PRODUCT_SALE' AND p.status = 'COMPLETED' AND p.paidAt >= :startDate AND p.paidAt <= :endDate ORDER BY p.paidAt ASC")
@@ -66,4 +121,28 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     // 특정 연도의 결제 번호로 시작하는 결제 조회
     @Query("SELECT p FROM Payment p WHERE p.paymentNumber LIKE :pattern ORDER BY p.paymentNumber DESC")
     List<Payment> findByPaymentNumberPattern(@Param("pattern") String pattern);
+
+    /** 일별 매출 집계 재계산 대상 일자 (이용권 삭제/복구 시 연결 결제) */
+    @Query("SELECT p.paidAt FROM Payment p WHERE p.memberProduct.id IN :memberProductIds")
+    List<LocalDateTime> findPaidAtByMemberProductIdIn(@Param("memberProductIds") java.util.Collection<Long> memberProductIds);
+
+    /** 일별 매출 집계 재계산 대상 일자 (예약 목적·코치 변경 시 연결 결제) */
+    @Query("SELECT p.paidAt FROM Payment p WHERE p.booking.id IN :bookingIds")
+    List<LocalDateTime> findPaidAtByBookingIdIn(@Param("bookingIds") java.util.Collection<Long> bookingIds);
+
+    @Query("SELECT MIN(p.paidAt), MAX(p.paidAt) FROM Payment p")
+    List<Object[]> findPaidAtBounds();
+
+    /** 개인 결제 TOP (기간): [memberId, 순매출 합계] 합계 내림차순 */
+    @Query("SELECT p.member.id, SUM(p.amount - COALESCE(p.refundAmount, 0)) FROM Payment p LEFT JOIN p.memberProduct mp " +
+           "WHERE p.member IS NOT NULL AND p.paidAt >= :start AND p.paidAt <= :end AND (p.status = 'COMPLETED' OR p.status IS NULL) " +
+           "AND (mp IS NULL OR mp.deletedAt IS NULL) GROUP BY p.member.id ORDER BY SUM(p.amount - COALESCE(p.refundAmount, 0)) DESC")
+    List<Object[]> findTopSpendersBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
+                                          org.springframework.data.domain.Pageable pageable);
+
+    /** 개인 결제 TOP (전체 누적): [memberId, 순매출 합계] 합계 내림차순 */
+    @Query("SELECT p.member.id, SUM(p.amount - COALESCE(p.refundAmount, 0)) FROM Payment p LEFT JOIN p.memberProduct mp " +
+           "WHERE p.member IS NOT NULL AND (p.status = 'COMPLETED' OR p.status IS NULL) " +
+           "AND (mp IS NULL OR mp.deletedAt IS NULL) GROUP BY p.member.id ORDER BY SUM(p.amount - COALESCE(p.refundAmount, 0)) DESC")
+    List<Object[]> findTopSpenders(org.springframework.data.domain.Pageable pageable);
 }
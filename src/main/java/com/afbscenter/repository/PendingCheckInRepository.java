@@ -0,0 +1,18 @@
+package com.afbscenter.repository;
+
+import com.afbscenter.model.PendingCheckIn;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface PendingCheckInRepository extends JpaRepository<PendingCheckIn, Long> {
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM PendingCheckIn p WHERE p.bookingId IN :bookingIds")
+    int deleteByBookingIdIn(@Param("bookingIds") Collection<Long> bookingIds);
+}
@@ -1,5 +1,6 @@
 package com.afbscenter.repository;
 
+import com.afbscenter.model.Member;
 import com.afbscenter.model.TrainingLog;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -16,6 +17,29 @@ public interface TrainingLogRepository extends JpaRepository<TrainingLog, Long>
     @Query("SELECT t FROM TrainingLog t LEFT JOIN FETCH t.member WHERE t.recordDate >= :start AND t.recordDate <= :end")
     List<TrainingLog> findByDateRange(@Param("start") LocalDate start, @Param("end") LocalDate end);
     
+    /**
+     * 랭킹용 회원별 집계 한 번에: [회원ID, 이름, 회원번호, 등급, 기록 수,
+     * 스윙속도·타구속도·구속·컨택률·스트라이크율 각각 (0 초과 값의 최대, 합, 개수)]. grade가 null이면 전체 등급
+     */
+    @Query("SELECT m.id, m.name, m.memberNumber, m.grade, COUNT(t), " +
+           "MAX(CASE WHEN t.swingSpeed > 0 THEN t.swingSpeed ELSE NULL END), SUM(CASE WHEN t.swingSpeed > 0 THEN t.swingSpeed ELSE NULL END), COUNT(CASE WHEN t.swingSpeed > 0 THEN 1 ELSE NULL END), " +
+           "MAX(CASE WHEN t.ballSpeed > 0 THEN t.ballSpeed ELSE NULL END), SUM(CASE WHEN t.ballSpeed > 0 THEN t.ballSpeed ELSE NULL END), COUNT(CASE WHEN t.ballSpeed > 0 THEN 1 ELSE NULL END), " +
+           "MAX(CASE WHEN t.pitchSpeed > 0 THEN t.pitchSpeed ELSE NULL END), SUM(CASE WHEN t.pitchSpeed > 0 THEN t.pitchSpeed ELSE NULL END), COUNT(CASE WHEN t.pitchSpeed > 0 THEN 1 ELSE NULL END), " +
+           "MAX(CASE WHEN t.contactRate > 0 THEN t.contactRate ELSE NULL END), SUM(CASE WHEN t.contactRate > 0 THEN t.contactRate ELSE NULL END), COUNT(CASE WHEN t.contactRate > 0 THEN 1 ELSE NULL END), " +
+           "MAX(CASE WHEN t.strikeRate > 0 THEN t.strikeRate ELSE NULL END), SUM(CASE WHEN t.strikeRate > 0 THEN t.strikeRate ELSE NULL END), COUNT(CASE WHEN t.strikeRate > 0 THEN 1 ELSE NULL END) " +
+           "FROM TrainingLog t JOIN t.member m " +
+           "WHERE t.recordDate >= :start AND t.recordDate <= :end AND (:grade IS NULL OR m.grade = :grade) " +
+           "GROUP BY m.id, m.name, m.memberNumber, m.grade ORDER BY m.id")
+    List<Object[]> aggregateRankingStats(@Param("start") LocalDate start, @Param("end") LocalDate end,
+                                         @Param("grade") Member.MemberGrade grade);
+    
+    /**
+     * 회원 지표 시계열 적재용 (엔티티 없이 필요한 열만): [기록일, 스윙속도, 타구속도, 발사각, 컨택률, 구속, 회전수, 스트라이크율, 러닝 거리, 컨디션]
+     */
+    @Query("SELECT t.recordDate, t.swingSpeed, t.ballSpeed, t.launchAngle, t.contactRate, t.pitchSpeed, t.spinRate, " +
+           "t.strikeRate, t.runningDistance, t.conditionScore FROM TrainingLog t WHERE t.member.id = :memberId ORDER BY t.recordDate, t.id")
+    List<Object[]> findMetricRowsByMemberId(@Param("memberId") Long memberId);
+    
     @Query("SELECT DISTINCT t FROM TrainingLog t LEFT JOIN FETCH t.member")
     List<TrainingLog> findAllWithMember();
     
@@ -0,0 +1,385 @@
+package com.afbscenter.service;
+
+import com.afbscenter.constants.AccountingPolicy;
+import com.afbscenter.model.Booking;
+import com.afbscenter.model.DailyBookingRollup;
+import com.afbscenter.model.DailyMemberRollup;
+import com.afbscenter.model.DailyRevenueRollup;
+import com.afbscenter.model.Payment;
+import com.afbscenter.model.Settings;
+import com.afbscenter.repository.BookingRepository;
+import com.afbscenter.repository.DailyBookingRollupRepository;
+import com.afbscenter.repository.DailyMemberRollupRepository;
+import com.afbscenter.repository.DailyRevenueRollupRepository;
+import com.afbscenter.repository.MemberRepository;
+import com.afbscenter.repository.PaymentRepository;
+import com.afbscenter.repository.SettingsRepository;
+import com.afbscenter.util.BoundedExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executor;
+
+/**
+ * 통계 화면용 일별 집계(매출·예약·회원 증감) 관리.
+ * - 커밋 후 리스너가 넘긴 일자(또는 이용권·예약 ID → 연결 결제 일자)를 모아 백그라운드에서 해당 일자만 다시 계산
+ * - 일자 단위로 지우고 원본에서 다시 만드므로 같은 일자를 여러 번 계산해도 결과는 같다
+ * - 집계 테이블이 비어 있으면 시작 시 한 번 전체 백필, 관리자 재구축 API 제공
+ */
+@Service
+public class AnalyticsRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsRollupService.class);
+
+    private final DailyRevenueRollupRepository dailyRevenueRollupRepository;
+    private final DailyBookingRollupRepository dailyBookingRollupRepository;
+    private final DailyMemberRollupRepository dailyMemberRollupRepository;
+    private final PaymentRepository paymentRepository;
+    private final BookingRepository bookingRepository;
+    private final MemberRepository memberRepository;
+    private final SettingsRepository settingsRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Set<LocalDate> pendingDates = new HashSet<>();
+    private final Set<Long> pendingMemberProductIds = new HashSet<>();
+    private final Set<Long> pendingBookingIds = new HashSet<>();
+    private boolean drainScheduled = false;
+    private final Executor rollupExecutor;
+
+    public AnalyticsRollupService(DailyRevenueRollupRepository dailyRevenueRollupRepository,
+                                  DailyBookingRollupRepository dailyBookingRollupRepository,
+                                  DailyMemberRollupRepository dailyMemberRollupRepository,
+                                  PaymentRepository paymentRepository,
+                                  BookingRepository bookingRepository,
+                                  MemberRepository memberRepository,
+                                  SettingsRepository settingsRepository,
+                                  ReferenceDataCache referenceDataCache,
+                                  PlatformTransactionManager transactionManager,
+                                  @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor) {
+        this.dailyRevenueRollupRepository = dailyRevenueRollupRepository;
+        this.dailyBookingRollupRepository = dailyBookingRollupRepository;
+        this.dailyMemberRollupRepository = dailyMemberRollupRepository;
+        this.paymentRepository = paymentRepository;
+        this.bookingRepository = bookingRepository;
+        this.memberRepository = memberRepository;
+        this.settingsRepository = settingsRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.rollupExecutor = BoundedExecutor.serial(taskExecutor, "analytics-rollup");
+    }
+
+    /** 설정 행 (기준 데이터 캐시, 읽기 전용 목록) */
+    private List<Settings> cachedSettings() {
+        return referenceDataCache.get(ReferenceDataCache.Region.SETTINGS, "all", () -> List.copyOf(settingsRepository.findAll()));
+    }
+
+    /** 집계 테이블이 모두 비어 있으면 백그라운드로 한 번 전체 백필 */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        try {
+            if (dailyRevenueRollupRepository.count() == 0 && dailyBookingRollupRepository.count() == 0
+                    && dailyMemberRollupRepository.count() == 0) {
+                rollupExecutor.execute(() -> {
+                    try {
+                        rebuildAll();
+                    } catch (Exception e) {
+                        logger.warn("일별 집계 백필 실패: {}", e.getMessage(), e);
+                    }
+                });
+            }
+        } catch (Exception e) {
+            logger.warn("일별 집계 백필 확인 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 재계산 대상 등록 (커밋 후 리스너에서 호출).
+     * 이용권·예약 ID는 연결된 결제의 결제일로 바꿔 매출 집계를 다시 계산한다.
+     */
+    public void enqueue(Collection<LocalDate> dates, Collection<Long> memberProductIds, Collection<Long> bookingIds) {
+        synchronized (pendingDates) {
+            pendingDates.addAll(dates);
+            pendingMemberProductIds.addAll(memberProductIds);
+            pendingBookingIds.addAll(bookingIds);
+            if (drainScheduled) return;
+            drainScheduled = true;
+        }
+        try {
+            rollupExecutor.execute(this::drainPending);
+        } catch (Exception e) {
+            synchronized (pendingDates) {
+                drainScheduled = false;
+            }
+            logger.warn("일별 집계 갱신 예약 실패: {}", e.getMessage());
+        }
+    }
+
+    private void drainPending() {
+        while (true) {
+            Set<LocalDate> dates;
+            List<Long> memberProductIds;
+            List<Long> bookingIds;
+            synchronized (pendingDates) {
+                if (pendingDates.isEmpty() && pendingMemberProductIds.isEmpty() && pendingBookingIds.isEmpty()) {
+                    drainScheduled = false;
+                    return;
+                }
+                dates = new TreeSet<>(pendingDates);
+                memberProductIds = new ArrayList<>(pendingMemberProductIds);
+                bookingIds = new ArrayList<>(pendingBookingIds);
+                pendingDates.clear();
+                pendingMemberProductIds.clear();
+                pendingBookingIds.clear();
+            }
+            try {
+                if (!memberProductIds.isEmpty()) {
+                    addDates(dates, paymentRepository.findPaidAtByMemberProductIdIn(memberProductIds));
+                }
+                if (!bookingIds.isEmpty()) {
+                    addDates(dates, paymentRepository.findPaidAtByBookingIdIn(bookingIds));
+                }
+                for (LocalDate date : dates) {
+                    recomputeRange(date, date);
+                }
+            } catch (Exception e) {
+                // 실패한 일자는 재구축 API로 보정
+                logger.warn("일별 집계 갱신 실패 ({}일): {}", dates.size(), e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 전체 재구축: 원본 데이터의 최초~최종 일자를 월 단위로 나눠 다시 계산.
+     */
+    public Map<String, Object> rebuildAll() {
+        long startedAt = System.currentTimeMillis();
+        LocalDate from = null;
+        LocalDate to = null;
+        for (LocalDate d : collectBounds()) {
+            if (from == null || d.isBefore(from)) from = d;
+            if (to == null || d.isAfter(to)) to = d;
+        }
+        int months = 0;
+        if (from != null) {
+            LocalDate monthStart = from.withDayOfMonth(1);
+            while (!monthStart.isAfter(to)) {
+                LocalDate monthEnd = monthStart.withDayOfMonth(monthStart.lengthOfMonth());
+                recomputeRange(monthStart, monthEnd);
+                monthStart = monthStart.plusMonths(1);
+                months++;
+            }
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("from", from != null ? from.toString() : null);
+        result.put("to", to != null ? to.toString() : null);
+        result.put("months", months);
+        result.put("elapsedMs", System.currentTimeMillis() - startedAt);
+        logger.info("일별 집계 재구축 완료: {} ~ {} ({}개월, {}ms)", from, to, months, result.get("elapsedMs"));
+        return result;
+    }
+
+    private List<LocalDate> collectBounds() {
+        List<LocalDate> bounds = new ArrayList<>();
+        for (List<Object[]> rows : List.of(paymentRepository.findPaidAtBounds(), bookingRepository.findStartTimeBounds(),
+                memberRepository.findJoinDateBounds(), memberRepository.findWithdrawnUpdatedAtBounds())) {
+            for (Object[] row : rows) {
+                for (Object v : row) {
+                    if (v instanceof LocalDateTime) bounds.add(((LocalDateTime) v).toLocalDate());
+                    else if (v instanceof LocalDate) bounds.add((LocalDate) v);
+                }
+            }
+        }
+        return bounds;
+    }
+
+    /**
+     * [from, to] 일자의 세 집계를 지우고 원본에서 다시 만든다 (한 트랜잭션).
+     */
+    public void recomputeRange(LocalDate from, LocalDate to) {
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.atTime(LocalTime.MAX);
+        int defaultMinutes = getDefaultSessionDuration();
+        transactionTemplate.executeWithoutResult(status -> {
+            dailyRevenueRollupRepository.deleteByStatDateRange(from, to);
+            dailyRevenueRollupRepository.saveAll(buildRevenueRows(paymentRepository.findByPaidAtBetweenWithCoach(start, end)));
+
+            dailyBookingRollupRepository.deleteByStatDateRange(from, to);
+            dailyBookingRollupRepository.saveAll(buildBookingRows(bookingRepository.findRollupRowsByStartTimeBetween(start, end), defaultMinutes));
+
+            dailyMemberRollupRepository.deleteByStatDateRange(from, to);
+            dailyMemberRollupRepository.saveAll(buildMemberRows(
+                    memberRepository.countJoinedGroupByJoinDate(from, to),
+                    memberRepository.findWithdrawnUpdatedAtBetween(start, end)));
+        });
+    }
+
+    private List<DailyRevenueRollup> buildRevenueRows(List<Payment> payments) {
+        Map<List<Object>, DailyRevenueRollup> grouped = new LinkedHashMap<>();
+        for (Payment payment : payments) {
+            if (payment.getPaidAt() == null) continue;
+            if (payment.getStatus() != null && payment.getStatus() != Payment.PaymentStatus.COMPLETED) continue;
+            if (AccountingPolicy.excludedFromRevenueSummary(payment)) continue;
+
+            String categoryKey = resolveCategoryKey(payment);
+            String method = payment.getPaymentMethod() != null ? payment.getPaymentMethod().name() : null;
+            Long coachId = resolveCoachId(payment);
+            Long saleProductId = payment.getCategory() == Payment.PaymentCategory.PRODUCT_SALE && payment.getProduct() != null
+                    ? payment.getProduct().getId() : null;
+            LocalDate date = payment.getPaidAt().toLocalDate();
+
+            List<Object> key = java.util.Arrays.asList(date, categoryKey, method, coachId, saleProductId);
+            DailyRevenueRollup row = grouped.get(key);
+            if (row == null) {
+                row = new DailyRevenueRollup();
+                row.setStatDate(date);
+                row.setCategoryKey(categoryKey);
+                row.setPaymentMethod(method);
+                row.setCoachId(coachId);
+                row.setSaleProductId(saleProductId);
+                row.setNetAmount(0L);
+                row.setPaymentCount(0);
+                grouped.put(key, row);
+            }
+            row.setNetAmount(row.getNetAmount() + AccountingPolicy.netAmount(payment));
+            row.setPaymentCount(row.getPaymentCount() + 1);
+        }
+        return new ArrayList<>(grouped.values());
+    }
+
+    /**
+     * 통계 화면 카테고리 키: 결제 카테고리가 있으면 그대로, 없으면 예약 목적(대관/레슨) → 상품(상품판매_상품카테고리) → 기타.
+     */
+    static String resolveCategoryKey(Payment payment) {
+        if (payment.getCategory() != null) {
+            return payment.getCategory().name();
+        }
+        String category = null;
+        if (payment.getBooking() != null) {
+            Booking booking = payment.getBooking();
+            if (booking.getPurpose() == Booking.BookingPurpose.RENTAL) {
+                category = "RENTAL";
+            } else if (booking.getPurpose() == Booking.BookingPurpose.LESSON) {
+                category = "LESSON";
+            }
+        }
+        if (category == null && payment.getProduct() != null) {
+            if (payment.getProduct().getCategory() != null) {
+                return "PRODUCT_SALE_" + payment.getProduct().getCategory().name();
+            }
+            return "PRODUCT_SALE";
+        }
+        return category != null ? category : "OTHER";
+    }
+
+    /** 매출 코치: 예약 코치 우선, 없으면 회원 담당 코치 */
+    private static Long resolveCoachId(Payment payment) {
+        if (payment.getBooking() != null && payment.getBooking().getCoach() != null) {
+            return payment.getBooking().getCoach().getId();
+        }
+        if (payment.getMember() != null && payment.getMember().getCoach() != null) {
+            return payment.getMember().getCoach().getId();
+        }
+        return null;
+    }
+
+    private static List<DailyBookingRollup> buildBookingRows(List<Object[]> bookingRows, int defaultMinutes) {
+        Map<List<Object>, DailyBookingRollup> grouped = new LinkedHashMap<>();
+        for (Object[] r : bookingRows) {
+            LocalDateTime startTime = (LocalDateTime) r[0];
+            LocalDateTime endTime = (LocalDateTime) r[1];
+            if (startTime == null) continue;
+            Long facilityId = (Long) r[2];
+            String purpose = r[3] != null ? ((Booking.BookingPurpose) r[3]).name() : null;
+            String status = r[4] != null ? ((Booking.BookingStatus) r[4]).name() : null;
+            long minutes = endTime != null ? java.time.Duration.between(startTime, endTime).toMinutes() : 0;
+            if (minutes <= 0) minutes = defaultMinutes;
+
+            LocalDate date = startTime.toLocalDate();
+            int hour = startTime.getHour();
+            List<Object> key = java.util.Arrays.asList(date, facilityId, purpose, status, hour);
+            DailyBookingRollup row = grouped.get(key);
+            if (row == null) {
+                row = new DailyBookingRollup();
+                row.setStatDate(date);
+                row.setFacilityId(facilityId);
+                row.setPurpose(purpose);
+                row.setStatus(status);
+                row.setStartHour(hour);
+                row.setBookingCount(0);
+                row.setBookedMinutes(0L);
+                grouped.put(key, row);
+            }
+            row.setBookingCount(row.getBookingCount() + 1);
+            row.setBookedMinutes(row.getBookedMinutes() + minutes);
+        }
+        return new ArrayList<>(grouped.values());
+    }
+
+    private static List<DailyMemberRollup> buildMemberRows(List<Object[]> joinedByDate, List<LocalDateTime> withdrawnUpdatedAt) {
+        Map<LocalDate, DailyMemberRollup> byDate = new HashMap<>();
+        for (Object[] r : joinedByDate) {
+            if (r[0] == null) continue;
+            memberRow(byDate, (LocalDate) r[0]).setNewMembers(((Number) r[1]).intValue());
+        }
+        for (LocalDateTime updatedAt : withdrawnUpdatedAt) {
+            if (updatedAt == null) continue;
+            DailyMemberRollup row = memberRow(byDate, updatedAt.toLocalDate());
+            row.setWithdrawnMembers(row.getWithdrawnMembers() + 1);
+        }
+        return new ArrayList<>(byDate.values());
+    }
+
+    private static DailyMemberRollup memberRow(Map<LocalDate, DailyMemberRollup> byDate, LocalDate date) {
+        return byDate.computeIfAbsent(date, d -> {
+            DailyMemberRollup row = new DailyMemberRollup();
+            row.setStatDate(d);
+            row.setNewMembers(0);
+            row.setWithdrawnMembers(0);
+            return row;
+        });
+    }
+
+    private static void addDates(Set<LocalDate> dates, List<LocalDateTime> times) {
+        for (LocalDateTime t : times) {
+            if (t != null) dates.add(t.toLocalDate());
+        }
+    }
+
+    /** Settings의 기본 세션 시간 (AnalyticsController와 같은 기준) */
+    private int getDefaultSessionDuration() {
+        try {
+            List<Settings> settingsList = cachedSettings();
+            if (!settingsList.isEmpty()) {
+                Settings settings = settingsList.get(0);
+                if (settings.getDefaultSessionDuration() != null && settings.getDefaultSessionDuration() > 0) {
+                    return settings.getDefaultSessionDuration();
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Settings에서 기본 세션 시간 조회 실패, 상수 기본값 사용: {}", e.getMessage());
+        }
+        return com.afbscenter.constants.BookingDefaults.DEFAULT_BOOKING_MINUTES;
+    }
+}
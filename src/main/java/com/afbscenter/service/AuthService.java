@@ -184,8 +184,8 @@ public class AuthService {
 
     public boolean validateToken(String token) {
         try {
-            String username = jwtUtil.extractUsername(token);
-            return jwtUtil.validateToken(token, username);
+            jwtUtil.verify(token);
+            return true;
         } catch (Exception e) {
             return false;
         }
@@ -0,0 +1,132 @@
+package com.afbscenter.service;
+
+import com.afbscenter.model.Booking;
+import com.afbscenter.repository.BookingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 예약 상태 자동 전이: 종료 시각이 지난 확정(CONFIRMED) 예약 → 완료(COMPLETED).
+ * - 대관(RENTAL)은 체크인된 경우에만 완료 (기존 목록 조회 시 처리와 같은 규칙)
+ * - 스케줄러에서 booking.auto-complete.interval-minutes 간격으로 실행, 조건부 UPDATE라 여러 번 돌아도 결과가 같다
+ * - 일괄 UPDATE는 엔티티 이벤트가 없어 회원 요약·일별 집계·회원 달력 캐시에 커밋 후 직접 알린다
+ *   (점유 인덱스는 취소 여부만 보므로 완료 전이와 무관)
+ * 예약 목록 조회는 쓰지 않고, 다음 실행 전까지는 같은 규칙으로 표시 상태만 완료로 보여준다.
+ */
+@Service
+public class BookingStatusTransitionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingStatusTransitionService.class);
+
+    /** 묶음 UPDATE 단위 (IN 절 크기) */
+    private static final int CHUNK_SIZE = 500;
+
+    private final BookingRepository bookingRepository;
+    private final MemberSummaryService memberSummaryService;
+    private final AnalyticsRollupService analyticsRollupService;
+    private final MemberCalendarService memberCalendarService;
+    private final TransactionTemplate transactionTemplate;
+
+    public BookingStatusTransitionService(BookingRepository bookingRepository,
+                                          MemberSummaryService memberSummaryService,
+                                          AnalyticsRollupService analyticsRollupService,
+                                          MemberCalendarService memberCalendarService,
+                                          PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.memberSummaryService = memberSummaryService;
+        this.analyticsRollupService = analyticsRollupService;
+        this.memberCalendarService = memberCalendarService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.auto-complete.interval-minutes:5}",
+            initialDelayString = "${booking.auto-complete.interval-minutes:5}", timeUnit = TimeUnit.MINUTES)
+    public void scheduledCompletePastBookings() {
+        try {
+            completePastBookings();
+        } catch (Exception e) {
+            logger.warn("예약 자동 완료 처리 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 종료 시각이 지난 확정 예약을 완료로 바꾼다 (대관은 체크인된 것만).
+     * 예약 실행과 마이그레이션 단계에서 호출되며 서로 겹치지 않게 직렬화한다.
+     */
+    public synchronized Map<String, Object> completePastBookings() {
+        long startedAt = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> memberIds = new HashSet<>();
+        Set<LocalDate> dates = new HashSet<>();
+        Map<Booking.Branch, Set<LocalDateTime>> weekStartsByBranch = new LinkedHashMap<>();
+        Integer completed = transactionTemplate.execute(status -> {
+            List<Long> ids = new ArrayList<>();
+            for (Object[] row : bookingRepository.findAutoCompleteCandidates(Booking.BookingStatus.CONFIRMED, now)) {
+                ids.add((Long) row[0]);
+                if (row[1] != null) memberIds.add((Long) row[1]);
+                LocalDateTime startTime = (LocalDateTime) row[3];
+                if (startTime != null) {
+                    dates.add(startTime.toLocalDate());
+                    if (row[2] != null) {
+                        weekStartsByBranch.computeIfAbsent((Booking.Branch) row[2], k -> new HashSet<>())
+                                .add(MemberCalendarService.weekStartOf(startTime.toLocalDate()).atStartOfDay());
+                    }
+                }
+            }
+            int rows = 0;
+            for (int i = 0; i < ids.size(); i += CHUNK_SIZE) {
+                rows += bookingRepository.completeConfirmedByIdIn(ids.subList(i, Math.min(i + CHUNK_SIZE, ids.size())),
+                        Booking.BookingStatus.COMPLETED, Booking.BookingStatus.CONFIRMED, now);
+            }
+            return rows;
+        });
+        int count = completed != null ? completed : 0;
+        // 위 트랜잭션은 이미 커밋됨: 엔티티 리스너가 모르는 변경을 읽기 모델에 직접 알린다
+        if (count > 0) {
+            if (!memberIds.isEmpty()) {
+                memberSummaryService.enqueueRefresh(memberIds);
+            }
+            analyticsRollupService.enqueue(dates, Collections.emptySet(), Collections.emptySet());
+            weekStartsByBranch.forEach((branch, weekStarts) ->
+                    weekStarts.forEach(weekStart -> memberCalendarService.onBookingChanged(branch, weekStart)));
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("completed", count);
+        result.put("elapsedMs", System.currentTimeMillis() - startedAt);
+        if (count > 0) {
+            logger.info("{}개의 예약이 자동으로 완료 상태로 변경되었습니다. ({}ms)", count, result.get("elapsedMs"));
+        }
+        return result;
+    }
+
+    /**
+     * 목록 표시용 상태: 아직 자동 완료 실행 전이라도 같은 규칙이면 완료로 보여준다 (DB는 바꾸지 않음).
+     * @param checkedIn 대관 예약의 체크인 여부
+     */
+    public static Booking.BookingStatus displayStatus(Booking booking, boolean checkedIn, LocalDateTime now) {
+        Booking.BookingStatus status = booking.getStatus();
+        if (status == Booking.BookingStatus.CONFIRMED && booking.getEndTime() != null && booking.getEndTime().isBefore(now)
+                && (booking.getPurpose() != Booking.BookingPurpose.RENTAL || checkedIn)) {
+            return Booking.BookingStatus.COMPLETED;
+        }
+        return status;
+    }
+}
@@ -30,14 +30,17 @@ public class CoachService {
     private final MemberRepository memberRepository;
     private final BookingRepository bookingRepository;
     private final JdbcTemplate jdbcTemplate;
+    private final ReferenceDataCache referenceDataCache;
 
     // 생성자 주입 (Spring 4.3+에서는 @Autowired 불필요)
     public CoachService(CoachRepository coachRepository, MemberRepository memberRepository, 
-                        BookingRepository bookingRepository, JdbcTemplate jdbcTemplate) {
+                        BookingRepository bookingRepository, JdbcTemplate jdbcTemplate,
+                        ReferenceDataCache referenceDataCache) {
         this.coachRepository = coachRepository;
         this.memberRepository = memberRepository;
         this.bookingRepository = bookingRepository;
         this.jdbcTemplate = jdbcTemplate;
+        this.referenceDataCache = referenceDataCache;
     }
 
     // 코치 생성
@@ -57,16 +60,16 @@ public class CoachService {
         return coachRepository.findByUserId(userId);
     }
 
-    // 전체 코치 조회
+    // 전체 코치 조회 (기준 데이터 캐시, 읽기 전용 목록)
     @Transactional(readOnly = true)
     public List<Coach> getAllCoaches() {
-        return coachRepository.findAll();
+        return referenceDataCache.get(ReferenceDataCache.Region.COACHES, "all", () -> List.copyOf(coachRepository.findAll()));
     }
 
-    // 활성 코치만 조회
+    // 활성 코치만 조회 (기준 데이터 캐시, 읽기 전용 목록)
     @Transactional(readOnly = true)
     public List<Coach> getActiveCoaches() {
-        return coachRepository.findByActiveTrue();
+        return referenceDataCache.get(ReferenceDataCache.Region.COACHES, "active", () -> List.copyOf(coachRepository.findByActiveTrue()));
     }
 
     // 코치 수정
@@ -0,0 +1,183 @@
+package com.afbscenter.service;
+
+import com.afbscenter.model.DeskThreadSummary;
+import com.afbscenter.model.Member;
+import com.afbscenter.model.MemberDeskMessage;
+import com.afbscenter.repository.DeskThreadSummaryRepository;
+import com.afbscenter.repository.MemberDeskMessageRepository;
+import com.afbscenter.repository.MemberRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 데스크 쪽지 스레드 요약(desk_thread_summary) 관리.
+ * - 모든 변경은 호출 측(쪽지 저장·읽음·초기화·잠금·삭제) 트랜잭션 안에서 바로 반영한다 (커밋 후 비동기 아님)
+ * - 새 쪽지는 조건부 UPDATE로 미읽음을 더하고 마지막 쪽지를 교체해 동시 저장에도 수가 사라지지 않는다
+ * - 읽음 처리처럼 일괄 UPDATE가 섞이는 경우는 원본 쪽지에서 미읽음을 다시 센다
+ * - 전체 재구축은 원본에서 한 번의 INSERT ... SELECT로 다시 채움
+ */
+@Service
+public class DeskThreadSummaryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeskThreadSummaryService.class);
+
+    /** 쪽지함 미리보기 길이 (넘으면 말줄임) */
+    private static final int PREVIEW_LENGTH = 80;
+
+    private static final String PREVIEW_SQL =
+            "CASE WHEN CHAR_LENGTH(TRIM(REPLACE(d.content, CHAR(10), ' '))) > " + PREVIEW_LENGTH
+                    + " THEN CONCAT(LEFT(TRIM(REPLACE(d.content, CHAR(10), ' ')), " + PREVIEW_LENGTH + "), '…')"
+                    + " ELSE TRIM(REPLACE(d.content, CHAR(10), ' ')) END";
+
+    private static final String REBUILD_SQL =
+            "INSERT INTO desk_thread_summary (member_id, last_message_id, last_message_preview, last_message_at, "
+                    + "last_from_member, unread_from_member, unread_from_admin, thread_locked) "
+                    + "SELECT d.member_id, d.id, " + PREVIEW_SQL + ", d.created_at, d.from_member, "
+                    + "(SELECT COUNT(*) FROM member_desk_messages u WHERE u.member_id = d.member_id "
+                    + "AND u.from_member = TRUE AND u.read_by_admin = FALSE), "
+                    + "(SELECT COUNT(*) FROM member_desk_messages u WHERE u.member_id = d.member_id "
+                    + "AND u.from_member = FALSE AND u.read_by_member = FALSE "
+                    + "AND (m.desk_thread_cleared_at IS NULL OR u.created_at > m.desk_thread_cleared_at)), "
+                    + "(m.desk_thread_lock_pin_hash IS NOT NULL AND TRIM(m.desk_thread_lock_pin_hash) <> '') "
+                    + "FROM member_desk_messages d JOIN members m ON m.id = d.member_id "
+                    + "WHERE d.id = (SELECT MAX(x.id) FROM member_desk_messages x WHERE x.member_id = d.member_id)";
+
+    private final DeskThreadSummaryRepository deskThreadSummaryRepository;
+    private final MemberDeskMessageRepository memberDeskMessageRepository;
+    private final MemberRepository memberRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public DeskThreadSummaryService(DeskThreadSummaryRepository deskThreadSummaryRepository,
+                                    MemberDeskMessageRepository memberDeskMessageRepository,
+                                    MemberRepository memberRepository,
+                                    JdbcTemplate jdbcTemplate) {
+        this.deskThreadSummaryRepository = deskThreadSummaryRepository;
+        this.memberDeskMessageRepository = memberDeskMessageRepository;
+        this.memberRepository = memberRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 새 쪽지 반영 (저장 직후, 같은 트랜잭션). 스레드 첫 쪽지면 회원 행을 잠그고 요약 행을 원본에서 만든다.
+     */
+    @Transactional
+    public void onMessagePosted(MemberDeskMessage saved) {
+        Long memberId = saved.getMember().getId();
+        long fromMember = saved.isFromMember() && !saved.isReadByAdmin() ? 1 : 0;
+        long fromAdmin = !saved.isFromMember() && !saved.isReadByMember() ? 1 : 0;
+        if (deskThreadSummaryRepository.incrementUnread(memberId, fromMember, fromAdmin) == 0) {
+            // 같은 회원의 첫 쪽지가 동시에 들어오면 먼저 잠근 쪽이 행을 만들고, 뒤 쪽은 커밋된 행에 더한다
+            memberRepository.findByIdForUpdate(memberId);
+            if (!deskThreadSummaryRepository.existsById(memberId)) {
+                recompute(memberId);
+                return;
+            }
+            deskThreadSummaryRepository.incrementUnread(memberId, fromMember, fromAdmin);
+        }
+        deskThreadSummaryRepository.advanceLastMessage(memberId, saved.getId(), preview(saved.getContent()),
+                saved.getCreatedAt(), saved.isFromMember());
+    }
+
+    /** 관리자가 한 회원의 쪽지를 읽음 처리한 뒤 */
+    @Transactional
+    public void onReadByAdmin(Long memberId) {
+        deskThreadSummaryRepository.recountUnreadFromMember(memberId);
+    }
+
+    /** 관리자 «모두 읽음» 뒤 */
+    @Transactional
+    public void onAllReadByAdmin() {
+        deskThreadSummaryRepository.recountAllUnreadFromMember();
+    }
+
+    /** 회원이 데스크 답장을 읽었거나 «쪽지 초기화»를 한 뒤 */
+    @Transactional
+    public void onMemberViewChanged(Long memberId) {
+        deskThreadSummaryRepository.recountUnreadFromAdmin(memberId);
+    }
+
+    @Transactional
+    public void onThreadLockChanged(Long memberId, boolean locked) {
+        deskThreadSummaryRepository.updateThreadLocked(memberId, locked);
+    }
+
+    /** 스레드 전체 삭제 뒤 */
+    @Transactional
+    public void onThreadDeleted(Long memberId) {
+        deskThreadSummaryRepository.deleteByMemberId(memberId);
+    }
+
+    /**
+     * 한 회원의 요약 행을 원본 쪽지에서 다시 만든다 (쪽지 1건 삭제처럼 마지막 쪽지가 바뀔 수 있을 때).
+     * 남은 쪽지가 없으면 행을 지운다.
+     */
+    @Transactional
+    public void recompute(Long memberId) {
+        Optional<MemberDeskMessage> last = memberDeskMessageRepository.findTopByMember_IdOrderByIdDesc(memberId);
+        Optional<Member> member = memberRepository.findById(memberId);
+        if (last.isEmpty() || member.isEmpty()) {
+            deskThreadSummaryRepository.deleteByMemberId(memberId);
+            return;
+        }
+        DeskThreadSummary summary = deskThreadSummaryRepository.findById(memberId).orElseGet(DeskThreadSummary::new);
+        summary.setMemberId(memberId);
+        summary.setLastMessageId(last.get().getId());
+        summary.setLastMessagePreview(preview(last.get().getContent()));
+        summary.setLastMessageAt(last.get().getCreatedAt());
+        summary.setLastFromMember(last.get().isFromMember());
+        summary.setUnreadFromMember(memberDeskMessageRepository.countUnreadMemberMessagesForAdmin(memberId));
+        summary.setUnreadFromAdmin(memberDeskMessageRepository.countUnreadAdminForMemberPublic(memberId,
+                member.get().getDeskThreadClearedAt()));
+        summary.setThreadLocked(isThreadLocked(member.get()));
+        deskThreadSummaryRepository.save(summary);
+    }
+
+    /** 관리자 배지: 회원→관리자 미읽음 합계 */
+    @Transactional(readOnly = true)
+    public long totalUnreadFromMembers() {
+        return deskThreadSummaryRepository.sumUnreadFromMember();
+    }
+
+    /** 회원 화면 배지: 초기화 이후 관리자→회원 미읽음 (스레드가 없으면 0) */
+    @Transactional(readOnly = true)
+    public long unreadFromAdmin(Long memberId) {
+        List<Long> rows = deskThreadSummaryRepository.findUnreadFromAdminList(memberId);
+        return rows.isEmpty() || rows.get(0) == null ? 0 : rows.get(0);
+    }
+
+    /**
+     * 전체 재구축: 행을 모두 지우고 원본 쪽지·회원에서 다시 채운다.
+     */
+    @Transactional
+    public Map<String, Object> rebuildAll() {
+        long startedAt = System.currentTimeMillis();
+        jdbcTemplate.update("DELETE FROM desk_thread_summary");
+        int inserted = jdbcTemplate.update(REBUILD_SQL);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("threads", inserted);
+        result.put("elapsedMs", System.currentTimeMillis() - startedAt);
+        logger.info("쪽지 스레드 요약 재구축 완료: {}건, {}ms", inserted, result.get("elapsedMs"));
+        return result;
+    }
+
+    public static boolean isThreadLocked(Member member) {
+        return member != null && member.getDeskThreadLockPinHash() != null
+                && !member.getDeskThreadLockPinHash().isBlank();
+    }
+
+    public static String preview(String s) {
+        if (s == null) {
+            return "";
+        }
+        String t = s.replace('\n', ' ').trim();
+        return t.length() > PREVIEW_LENGTH ? t.substring(0, PREVIEW_LENGTH) + "…" : t;
+    }
+}
@@ -0,0 +1,311 @@
+package com.afbscenter.service;
+
+import com.afbscenter.config.FacilityOccupancyUpdateListener;
+import com.afbscenter.model.Booking;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 일자별 비취소 예약 점유 인덱스 (메모리).
+ * <p>
+ * 예약 생성·수정 시 시설 겹침/동반 인원, 회원 시간 겹침, 완전 중복, :30 시작 허용 검사와
+ * 공개 예약 화면의 :30 시작 후보를 DB 조회 없이 처리한다.
+ * - 일자는 처음 조회될 때 한 번 읽어 시작 시각순 배열로 보관 (최근 {@link #MAX_CACHED_DAYS}일, 오래 안 쓴 일자부터 제거)
+ * - 예약 저장/수정/삭제는 커밋 후 리스너({@link FacilityOccupancyUpdateListener})가 적재된 일자에 바로 반영
+ * - JDBC 일괄 변경처럼 이벤트가 없는 경로는 {@link #invalidateAllAfterCommit()}으로 비우고 다시 읽게 한다
+ * 검사 조건은 BookingRepository의 같은 이름 쿼리와 동일하다 (취소 제외, start &lt; end AND end &gt; start).
+ */
+@Service
+public class FacilityOccupancyIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(FacilityOccupancyIndex.class);
+
+    /** 메모리에 유지하는 일자 수 (일자당 수십 건 수준) */
+    static final int MAX_CACHED_DAYS = 120;
+
+    private static final Slot[] EMPTY = new Slot[0];
+    private static final Comparator<Slot> BY_START =
+            Comparator.comparing(Slot::getStart).thenComparing(Slot::getBookingId);
+
+    private static final String LOAD_DAY_SQL =
+            "SELECT id, facility_id, member_id, start_time, end_time, participants FROM bookings "
+                    + "WHERE status <> 'CANCELLED' AND start_time IS NOT NULL AND end_time IS NOT NULL "
+                    + "AND start_time < ? AND (end_time > ? OR start_time >= ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** 일자 → 그 일자에 걸친 예약(시작 시각순). 접근 순서 유지, 잠금은 this */
+    private final LinkedHashMap<LocalDate, Slot[]> days = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<LocalDate, Slot[]> eldest) {
+            return size() > MAX_CACHED_DAYS;
+        }
+    };
+    /** 반영할 때마다 증가. 적재 중 변경이 끼어들면 그 결과는 캐시하지 않는다 */
+    private long generation;
+
+    public FacilityOccupancyIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** 예약 한 건의 점유 구간 */
+    public static final class Slot {
+        private final Long bookingId;
+        private final Long facilityId;
+        private final Long memberId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final int participants;
+
+        Slot(Long bookingId, Long facilityId, Long memberId, LocalDateTime start, LocalDateTime end, int participants) {
+            this.bookingId = bookingId;
+            this.facilityId = facilityId;
+            this.memberId = memberId;
+            this.start = start;
+            this.end = end;
+            this.participants = participants;
+        }
+
+        public Long getBookingId() {
+            return bookingId;
+        }
+
+        public Long getFacilityId() {
+            return facilityId;
+        }
+
+        public Long getMemberId() {
+            return memberId;
+        }
+
+        public LocalDateTime getStart() {
+            return start;
+        }
+
+        public LocalDateTime getEnd() {
+            return end;
+        }
+
+        public int getParticipants() {
+            return participants;
+        }
+    }
+
+    // ========== 조회 ==========
+
+    /** 시설·시간 겹침 예약 (취소 제외). {@code excludeBookingId}가 있으면 그 예약은 뺀다 */
+    public List<Slot> findOverlappingAtFacility(Long facilityId, LocalDateTime start, LocalDateTime end, Long excludeBookingId) {
+        List<Slot> result = new ArrayList<>();
+        if (facilityId == null || start == null || end == null) return result;
+        Set<Long> seen = new HashSet<>();
+        for (LocalDate d = start.toLocalDate(); !d.isAfter(lastDay(start, end)); d = d.plusDays(1)) {
+            for (Slot s : day(d)) {
+                if (!s.start.isBefore(end)) break;
+                if (s.end.isAfter(start) && facilityId.equals(s.facilityId)
+                        && !s.bookingId.equals(excludeBookingId) && seen.add(s.bookingId)) {
+                    result.add(s);
+                }
+            }
+        }
+        return result;
+    }
+
+    /** 해당 시설에 {@code endInstant}에 끝나는 비취소 예약이 있는지 (:30 시작 허용 검사) */
+    public boolean existsEndingAt(Long facilityId, LocalDateTime endInstant) {
+        if (facilityId == null || endInstant == null) return false;
+        for (Slot s : day(endInstant.minusNanos(1).toLocalDate())) {
+            if (s.start.isAfter(endInstant)) break;
+            if (s.end.equals(endInstant) && facilityId.equals(s.facilityId)) return true;
+        }
+        return false;
+    }
+
+    /** 같은 회원의 시간 겹침 예약 수 (시설 무관, 취소 제외) */
+    public long countMemberOverlaps(Long memberId, LocalDateTime start, LocalDateTime end, Long excludeBookingId) {
+        if (memberId == null || start == null || end == null) return 0;
+        Set<Long> seen = new HashSet<>();
+        for (LocalDate d = start.toLocalDate(); !d.isAfter(lastDay(start, end)); d = d.plusDays(1)) {
+            for (Slot s : day(d)) {
+                if (!s.start.isBefore(end)) break;
+                if (s.end.isAfter(start) && memberId.equals(s.memberId) && !s.bookingId.equals(excludeBookingId)) {
+                    seen.add(s.bookingId);
+                }
+            }
+        }
+        return seen.size();
+    }
+
+    /** 같은 회원·같은 시작/종료 시각의 비취소 예약 존재 여부 */
+    public boolean existsExactDuplicateForMember(Long memberId, LocalDateTime start, LocalDateTime end, Long excludeBookingId) {
+        if (memberId == null || start == null || end == null) return false;
+        for (Slot s : day(start.toLocalDate())) {
+            if (s.start.isAfter(start)) break;
+            if (s.start.equals(start) && s.end.equals(end) && memberId.equals(s.memberId)
+                    && !s.bookingId.equals(excludeBookingId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** 해당 일·시설에 걸친 비취소 예약 (시작 시각순) */
+    public List<Slot> findByFacilityOnDay(Long facilityId, LocalDate date) {
+        List<Slot> result = new ArrayList<>();
+        if (facilityId == null || date == null) return result;
+        for (Slot s : day(date)) {
+            if (facilityId.equals(s.facilityId)) result.add(s);
+        }
+        return result;
+    }
+
+    // ========== 반영 (커밋 후 리스너) ==========
+
+    /** 커밋된 예약 저장/수정 반영. 취소 상태면 인덱스에서 뺀다 */
+    public void applyCommitted(Booking booking) {
+        if (booking == null || booking.getId() == null) return;
+        Slot slot = toSlot(booking);
+        synchronized (this) {
+            generation++;
+            for (Map.Entry<LocalDate, Slot[]> e : days.entrySet()) {
+                Slot[] current = withoutBooking(e.getValue(), booking.getId());
+                if (slot != null && covers(slot, e.getKey())) {
+                    current = withSlot(current, slot);
+                }
+                e.setValue(current);
+            }
+        }
+    }
+
+    /** 커밋된 예약 삭제 반영 */
+    public void removeCommitted(Long bookingId) {
+        if (bookingId == null) return;
+        synchronized (this) {
+            generation++;
+            for (Map.Entry<LocalDate, Slot[]> e : days.entrySet()) {
+                e.setValue(withoutBooking(e.getValue(), bookingId));
+            }
+        }
+    }
+
+    /** 적재된 일자를 모두 비운다. 다음 조회 때 DB에서 다시 읽는다 */
+    public void invalidateAll() {
+        synchronized (this) {
+            generation++;
+            days.clear();
+        }
+        logger.debug("예약 점유 인덱스 초기화");
+    }
+
+    /**
+     * JDBC 일괄 변경 등 엔티티 이벤트가 없는 경로용. 트랜잭션 중이면 커밋 후에, 아니면 즉시 비운다.
+     * (커밋 전에 비우면 다른 요청이 커밋 전 상태를 다시 적재할 수 있음)
+     */
+    public void invalidateAllAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidateAll();
+                }
+            });
+        } else {
+            invalidateAll();
+        }
+    }
+
+    // ========== 내부 ==========
+
+    private Slot[] day(LocalDate date) {
+        long loadGeneration;
+        synchronized (this) {
+            Slot[] cached = days.get(date);
+            if (cached != null) return cached;
+            loadGeneration = generation;
+        }
+        Slot[] loaded = loadDay(date);
+        synchronized (this) {
+            Slot[] cached = days.get(date);
+            if (cached != null) return cached;
+            // 적재하는 사이 커밋된 변경이 있으면 이번 결과만 쓰고 캐시하지 않음 (다음 조회에서 다시 적재)
+            if (generation == loadGeneration) {
+                days.put(date, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    private Slot[] loadDay(LocalDate date) {
+        Timestamp dayStart = Timestamp.valueOf(date.atStartOfDay());
+        Timestamp dayEnd = Timestamp.valueOf(date.plusDays(1).atStartOfDay());
+        List<Slot> rows = jdbcTemplate.query(LOAD_DAY_SQL, (rs, rowNum) -> new Slot(
+                rs.getLong("id"),
+                rs.getObject("facility_id", Long.class),
+                rs.getObject("member_id", Long.class),
+                rs.getTimestamp("start_time").toLocalDateTime(),
+                rs.getTimestamp("end_time").toLocalDateTime(),
+                rs.getObject("participants") != null ? rs.getInt("participants") : 1
+        ), dayEnd, dayStart, dayStart);
+        if (rows.isEmpty()) return EMPTY;
+        Slot[] slots = rows.toArray(EMPTY);
+        Arrays.sort(slots, BY_START);
+        return slots;
+    }
+
+    private static Slot toSlot(Booking booking) {
+        if (booking.getStatus() == Booking.BookingStatus.CANCELLED) return null;
+        if (booking.getStartTime() == null || booking.getEndTime() == null) return null;
+        // 지연 로딩 프록시여도 getId()는 초기화 없이 식별자만 반환
+        Long facilityId = booking.getFacility() != null ? booking.getFacility().getId() : null;
+        Long memberId = booking.getMember() != null ? booking.getMember().getId() : null;
+        int participants = booking.getParticipants() != null ? booking.getParticipants() : 1;
+        return new Slot(booking.getId(), facilityId, memberId, booking.getStartTime(), booking.getEndTime(), participants);
+    }
+
+    /** 예약이 걸치는 마지막 일자 (종료가 자정 정각이면 전날까지). 길이 0 예약은 시작 일자 */
+    private static LocalDate lastDay(LocalDateTime start, LocalDateTime end) {
+        LocalDate last = end.minusNanos(1).toLocalDate();
+        return last.isBefore(start.toLocalDate()) ? start.toLocalDate() : last;
+    }
+
+    private static boolean covers(Slot slot, LocalDate date) {
+        return !date.isBefore(slot.start.toLocalDate()) && !date.isAfter(lastDay(slot.start, slot.end));
+    }
+
+    private static Slot[] withoutBooking(Slot[] slots, Long bookingId) {
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i].bookingId.equals(bookingId)) {
+                Slot[] copy = new Slot[slots.length - 1];
+                System.arraycopy(slots, 0, copy, 0, i);
+                System.arraycopy(slots, i + 1, copy, i, slots.length - i - 1);
+                return copy;
+            }
+        }
+        return slots;
+    }
+
+    private static Slot[] withSlot(Slot[] slots, Slot slot) {
+        int pos = Arrays.binarySearch(slots, slot, BY_START);
+        int insertAt = pos >= 0 ? pos : -pos - 1;
+        Slot[] copy = new Slot[slots.length + 1];
+        System.arraycopy(slots, 0, copy, 0, insertAt);
+        copy[insertAt] = slot;
+        System.arraycopy(slots, insertAt, copy, insertAt + 1, slots.length - insertAt);
+        return copy;
+    }
+}
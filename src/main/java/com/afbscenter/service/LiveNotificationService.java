@@ -0,0 +1,372 @@
+package com.afbscenter.service;
+
+import com.afbscenter.config.LiveNotificationListener;
+import com.afbscenter.model.Member;
+import com.afbscenter.repository.DeskThreadSummaryRepository;
+import com.afbscenter.repository.MessageRepository;
+import com.afbscenter.util.BoundedExecutor;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 알림 실시간 전송 (Server-Sent Events).
+ * - 직원 화면: 회원 쪽지 미읽음 수(desk-badge), 새 회원 쪽지(desk-message), SMS 발송 기록(sms), 새 예약(booking), 체크인(checkin)
+ * - 회원 화면: 데스크 답장 미읽음 수(desk-unread)
+ * - 쓰기 경로는 커밋 후 리스너({@link LiveNotificationListener})나 일괄 변경 후 {@link #deskChangedAfterCommit(Long)}로 알리기만 하고,
+ *   건수 재계산은 공용 작업 풀에서 한 번에 하나씩 묶어서 처리한다 (여러 건이 몰려도 COUNT는 한 번)
+ * - 실제 전송은 연결마다 작은 큐에 넣고 공용 작업 풀에서 최대 SENDER_THREADS개 작업이 나눠 비운다. 느린 연결 하나가 다른 연결을 막지 않고,
+ *   큐가 가득 찬 연결은 그 이벤트를 버린다 (클라이언트는 다음 이벤트나 주기 조회로 보정)
+ * - 연결은 비동기 서블릿(SseEmitter)이라 대기 중인 연결이 요청 스레드를 잡지 않는다
+ * - 연결이 끊긴 클라이언트는 하트비트 전송 실패 시 정리되고, 클라이언트는 기존 주기 조회로 돌아간다
+ */
+@Service
+public class LiveNotificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveNotificationService.class);
+
+    /** 연결 최대 유지 시간. 만료되면 클라이언트가 다시 연결한다 */
+    static final long EMITTER_TIMEOUT_MS = 30L * 60 * 1000;
+    /** 프록시 유휴 종료 방지 및 끊긴 연결 정리 주기 */
+    static final long HEARTBEAT_SECONDS = 25;
+    /** 변경 알림을 모으는 시간 (같은 순간의 여러 커밋을 한 번에 전송) */
+    static final long COALESCE_MS = 200;
+    /** 연결별 전송 대기 이벤트 상한 (넘으면 버림) */
+    static final int SEND_QUEUE_CAPACITY = 64;
+    /** 연결 큐를 동시에 비우는 전송 작업 수 */
+    static final int SENDER_THREADS = 4;
+
+    private final DeskThreadSummaryRepository deskThreadSummaryRepository;
+    private final MessageRepository messageRepository;
+
+    private final Set<Connection> staffConnections = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Set<Connection>> memberConnections = new ConcurrentHashMap<>();
+
+    /** 다음 전송 때 처리할 변경 (잠금은 this) */
+    private boolean deskDirty;
+    private boolean smsDirty;
+    private final Set<Long> dirtyMemberIds = new HashSet<>();
+    private final List<Map<String, Object>> pendingEvents = new ArrayList<>();
+    private boolean flushScheduled;
+
+    /** 건수 조회·전송 준비 (한 번에 하나) */
+    private final Executor pushExecutor;
+    /** 연결 큐 비우기 (동시에 최대 SENDER_THREADS개) */
+    private final Executor sendExecutor;
+    private final TaskScheduler taskScheduler;
+
+    public LiveNotificationService(DeskThreadSummaryRepository deskThreadSummaryRepository,
+                                   MessageRepository messageRepository,
+                                   @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                                   TaskScheduler taskScheduler) {
+        this.deskThreadSummaryRepository = deskThreadSummaryRepository;
+        this.messageRepository = messageRepository;
+        this.pushExecutor = BoundedExecutor.serial(taskExecutor, "live-notification");
+        this.sendExecutor = new BoundedExecutor(taskExecutor, SENDER_THREADS, "live-notification-send");
+        this.taskScheduler = taskScheduler;
+    }
+
+    /** 종료 시 열린 연결을 닫는다 (작업 풀은 Spring이 종료) */
+    @PreDestroy
+    public void shutdown() {
+        for (Connection connection : staffConnections) {
+            connection.emitter.complete();
+        }
+        memberConnections.values().forEach(set -> set.forEach(connection -> connection.emitter.complete()));
+    }
+
+    // ---------- 구독 ----------
+
+    /** 직원 화면 구독. 연결 직후 현재 미읽음 수와 SMS 최신 ID를 한 번 보낸다 */
+    public SseEmitter subscribeStaff() {
+        return subscribeStaff(new SseEmitter(EMITTER_TIMEOUT_MS));
+    }
+
+    SseEmitter subscribeStaff(SseEmitter emitter) {
+        Connection connection = new Connection(emitter);
+        connection.onClose = () -> staffConnections.remove(connection);
+        staffConnections.add(connection);
+        registerCallbacks(connection);
+        pushExecutor.execute(() -> {
+            enqueue(connection, "desk-badge", Map.of("totalUnreadFromMembers", deskThreadSummaryRepository.sumUnreadFromMember()));
+            enqueue(connection, "sms", Map.of("maxId", messageRepository.findMaxId()));
+        });
+        return emitter;
+    }
+
+    /** 회원 화면 구독 (회원번호로 확인한 회원). 연결 직후 현재 미읽음 수를 한 번 보낸다 */
+    public SseEmitter subscribeMember(Member member) {
+        Long memberId = member.getId();
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        Connection connection = new Connection(emitter);
+        connection.onClose = () -> removeMemberConnection(memberId, connection);
+        memberConnections.computeIfAbsent(memberId, k -> ConcurrentHashMap.newKeySet()).add(connection);
+        registerCallbacks(connection);
+        pushExecutor.execute(() -> enqueue(connection, "desk-unread", Map.of("count", memberUnreadCount(memberId))));
+        return emitter;
+    }
+
+    private static void registerCallbacks(Connection connection) {
+        connection.emitter.onCompletion(connection.onClose);
+        connection.emitter.onTimeout(connection.onClose);
+        connection.emitter.onError(e -> connection.onClose.run());
+    }
+
+    private void removeMemberConnection(Long memberId, Connection connection) {
+        memberConnections.computeIfPresent(memberId, (k, set) -> {
+            set.remove(connection);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    /** 현재 연결 수 (상태 확인용) */
+    public Map<String, Object> connectionStats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("staff", staffConnections.size());
+        out.put("members", memberConnections.values().stream().mapToInt(Set::size).sum());
+        return out;
+    }
+
+    // ---------- 변경 알림 (쓰기 경로) ----------
+
+    /**
+     * 회원 쪽지가 바뀜 (저장·읽음·삭제). 직원 배지는 항상, 회원 미읽음 수는 memberId가 있을 때 그 회원만 다시 보낸다.
+     * 관리자 읽음 처리처럼 회원 쪽 수가 바뀌지 않는 경우는 memberId에 null을 넘긴다.
+     */
+    public void deskChanged(Long memberId) {
+        synchronized (this) {
+            deskDirty = true;
+            if (memberId != null && memberConnections.containsKey(memberId)) {
+                dirtyMemberIds.add(memberId);
+            }
+        }
+        scheduleFlush();
+    }
+
+    /** JPQL 일괄 읽음/삭제처럼 엔티티 이벤트가 없는 경로용. 트랜잭션 중이면 커밋 후에, 아니면 즉시 */
+    public void deskChangedAfterCommit(Long memberId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deskChanged(memberId);
+                }
+            });
+        } else {
+            deskChanged(memberId);
+        }
+    }
+
+    /** 회원이 보낸 새 쪽지 (직원 화면 알림용) */
+    public void deskMessageFromMember(Long messageId, Long memberId) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("id", messageId);
+        data.put("memberId", memberId);
+        enqueueStaffEvent("desk-message", data);
+    }
+
+    /** SMS 발송 기록이 추가됨 */
+    public void smsChanged() {
+        synchronized (this) {
+            smsDirty = true;
+        }
+        scheduleFlush();
+    }
+
+    /** 새 예약 */
+    public void bookingCreated(Map<String, Object> data) {
+        enqueueStaffEvent("booking", data);
+    }
+
+    /** 새 체크인(출석) */
+    public void checkedIn(Map<String, Object> data) {
+        enqueueStaffEvent("checkin", data);
+    }
+
+    private void enqueueStaffEvent(String name, Map<String, Object> data) {
+        if (staffConnections.isEmpty()) {
+            return;
+        }
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("event", name);
+        event.put("data", data);
+        synchronized (this) {
+            pendingEvents.add(event);
+        }
+        scheduleFlush();
+    }
+
+    private void scheduleFlush() {
+        synchronized (this) {
+            if (flushScheduled) return;
+            flushScheduled = true;
+        }
+        try {
+            taskScheduler.schedule(this::startFlush, Instant.now().plusMillis(COALESCE_MS));
+        } catch (Exception e) {
+            synchronized (this) {
+                flushScheduled = false;
+            }
+            logger.warn("실시간 알림 전송 예약 실패: {}", e.getMessage());
+        }
+    }
+
+    /** 모으는 시간이 지나면 스케줄러 스레드는 넘기기만 하고 전송 준비는 pushExecutor에서 */
+    private void startFlush() {
+        try {
+            pushExecutor.execute(this::flush);
+        } catch (Exception e) {
+            synchronized (this) {
+                flushScheduled = false;
+            }
+            logger.warn("실시간 알림 전송 예약 실패: {}", e.getMessage());
+        }
+    }
+
+    // ---------- 전송 준비 (pushExecutor) → 연결 큐 (sendExecutor) ----------
+
+    private void flush() {
+        boolean desk;
+        boolean sms;
+        List<Long> memberIds;
+        List<Map<String, Object>> events;
+        synchronized (this) {
+            flushScheduled = false;
+            desk = deskDirty;
+            sms = smsDirty;
+            memberIds = new ArrayList<>(dirtyMemberIds);
+            events = new ArrayList<>(pendingEvents);
+            deskDirty = false;
+            smsDirty = false;
+            dirtyMemberIds.clear();
+            pendingEvents.clear();
+        }
+        try {
+            if (!staffConnections.isEmpty()) {
+                if (desk) {
+                    broadcastStaff("desk-badge", Map.of("totalUnreadFromMembers", deskThreadSummaryRepository.sumUnreadFromMember()));
+                }
+                if (sms) {
+                    broadcastStaff("sms", Map.of("maxId", messageRepository.findMaxId()));
+                }
+                for (Map<String, Object> event : events) {
+                    broadcastStaff((String) event.get("event"), event.get("data"));
+                }
+            }
+            for (Long memberId : memberIds) {
+                Set<Connection> connections = memberConnections.get(memberId);
+                if (connections == null || connections.isEmpty()) continue;
+                Map<String, Object> data = Map.of("count", memberUnreadCount(memberId));
+                for (Connection connection : connections) {
+                    enqueue(connection, "desk-unread", data);
+                }
+            }
+        } catch (Exception e) {
+            // 건수 조회 실패 시 클라이언트는 다음 주기 조회로 보정
+            logger.warn("실시간 알림 전송 준비 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    /** 회원 화면 배지: 쪽지 스레드 요약의 초기화 이후 미읽음 (스레드가 없으면 0) */
+    private long memberUnreadCount(Long memberId) {
+        List<Long> rows = deskThreadSummaryRepository.findUnreadFromAdminList(memberId);
+        return rows.isEmpty() || rows.get(0) == null ? 0 : rows.get(0);
+    }
+
+    private void broadcastStaff(String name, Object data) {
+        for (Connection connection : staffConnections) {
+            enqueue(connection, name, data);
+        }
+    }
+
+    @Scheduled(fixedDelay = HEARTBEAT_SECONDS, initialDelay = HEARTBEAT_SECONDS, timeUnit = TimeUnit.SECONDS)
+    void heartbeat() {
+        for (Connection connection : staffConnections) {
+            offer(connection, SseEmitter.event().comment("ping"));
+        }
+        memberConnections.values().forEach(set -> set.forEach(connection -> offer(connection, SseEmitter.event().comment("ping"))));
+    }
+
+    private void enqueue(Connection connection, String name, Object data) {
+        offer(connection, SseEmitter.event().name(name).data(data));
+    }
+
+    /** 연결 큐에 넣고, 비우는 작업이 없으면 하나 띄운다. 큐가 가득 차면 (느린 연결) 이 이벤트는 버린다 */
+    private void offer(Connection connection, SseEmitter.SseEventBuilder event) {
+        if (!connection.queue.offer(event)) {
+            logger.debug("실시간 알림 연결 큐 가득 참 - 이벤트 버림");
+            return;
+        }
+        startDrain(connection);
+    }
+
+    private void startDrain(Connection connection) {
+        if (!connection.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sendExecutor.execute(() -> drain(connection));
+        } catch (Exception e) {
+            connection.draining.set(false);
+            logger.warn("실시간 알림 전송 시작 실패: {}", e.getMessage());
+        }
+    }
+
+    private void drain(Connection connection) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while ((event = connection.queue.poll()) != null) {
+                try {
+                    connection.emitter.send(event);
+                } catch (Exception e) {
+                    // 끊긴 연결: 바로 목록에서 빼고 남은 이벤트는 버린다
+                    logger.debug("실시간 알림 연결 종료: {}", e.getMessage());
+                    connection.onClose.run();
+                    connection.queue.clear();
+                    connection.emitter.completeWithError(e);
+                    return;
+                }
+            }
+        } finally {
+            connection.draining.set(false);
+        }
+        // 비우는 사이 들어온 이벤트
+        if (!connection.queue.isEmpty()) {
+            startDrain(connection);
+        }
+    }
+
+    /** 구독 하나: SSE 연결, 보낼 이벤트 큐, 큐를 비우는 중인지, 목록에서 빼는 동작 */
+    private static final class Connection {
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<SseEmitter.SseEventBuilder> queue = new ArrayBlockingQueue<>(SEND_QUEUE_CAPACITY);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        /** 구독 시 등록 (연결 목록에 넣기 전) */
+        private Runnable onClose;
+
+        private Connection(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.afbscenter.service;
+
+import com.afbscenter.config.MemberCalendarUpdateListener;
+import com.afbscenter.dto.CalendarOccupancyRow;
+import com.afbscenter.model.Booking;
+import com.afbscenter.repository.BookingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 회원 공개 달력 점유 조회 (지점·주 단위 캐시).
+ * - 주는 월요일 시작, 예약은 시작 시각이 속한 주에 포함
+ * - 지점·주마다 버전을 두고, 예약 저장/수정/삭제가 커밋되면 커밋 후 리스너({@link MemberCalendarUpdateListener})가 해당 주 버전을 올린다
+ * - ETag는 버전에서 만들므로 변경이 없는 주는 DB 조회 없이 304로 응답할 수 있다
+ * - JDBC 일괄 변경처럼 이벤트가 없는 경로는 {@link #invalidateAllAfterCommit()}으로 전체 버전을 올린다
+ */
+@Service
+public class MemberCalendarService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MemberCalendarService.class);
+
+    /** 메모리에 유지하는 지점·주 조합 수 */
+    static final int MAX_CACHED_WEEKS = 64;
+
+    private final BookingRepository bookingRepository;
+
+    /** 재시작 후 버전이 0부터 다시 시작해도 이전 ETag와 겹치지 않도록 기동 시각을 섞는다 */
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong globalVersion = new AtomicLong();
+    private final Map<String, AtomicLong> weekVersions = new ConcurrentHashMap<>();
+
+    /** 지점·주 → 조회 결과. 접근 순서 유지, 잠금은 weeks */
+    private final LinkedHashMap<String, WeekSnapshot> weeks = new LinkedHashMap<>(32, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, WeekSnapshot> eldest) {
+            return size() > MAX_CACHED_WEEKS;
+        }
+    };
+
+    public MemberCalendarService(BookingRepository bookingRepository) {
+        this.bookingRepository = bookingRepository;
+    }
+
+    private static final class WeekSnapshot {
+        private final String stamp;
+        private final List<CalendarOccupancyRow> rows;
+
+        WeekSnapshot(String stamp, List<CalendarOccupancyRow> rows) {
+            this.stamp = stamp;
+            this.rows = rows;
+        }
+    }
+
+    /** 해당 날짜가 속한 주의 월요일 */
+    public static LocalDate weekStartOf(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    /** 지점·주의 현재 버전 표식. 같은 표식이면 같은 내용이다 */
+    public String stamp(Booking.Branch branch, LocalDate weekStart) {
+        AtomicLong v = weekVersions.get(key(branch, weekStart));
+        return epoch + "-" + globalVersion.get() + "-" + (v != null ? v.get() : 0L);
+    }
+
+    /** 강한 ETag. 본인 여부 표시가 회원마다 다르므로 회원 ID를 포함한다 */
+    public static String etag(String stamp, Long viewerMemberId) {
+        return "\"cal-" + stamp + "-" + viewerMemberId + "\"";
+    }
+
+    /**
+     * 지점·주 점유 행. {@code stamp}는 조회 전에 {@link #stamp}로 읽은 값으로,
+     * 캐시가 같은 표식이면 그대로 쓰고 아니면 다시 읽어 그 표식으로 저장한다.
+     * (조회 중 변경이 커밋되면 다음 요청에서 표식이 달라져 다시 읽힌다)
+     */
+    public List<CalendarOccupancyRow> rows(Booking.Branch branch, LocalDate weekStart, String stamp) {
+        String key = key(branch, weekStart);
+        synchronized (weeks) {
+            WeekSnapshot cached = weeks.get(key);
+            if (cached != null && cached.stamp.equals(stamp)) {
+                return cached.rows;
+            }
+        }
+        LocalDateTime start = weekStart.atStartOfDay();
+        List<CalendarOccupancyRow> rows = List.copyOf(
+                bookingRepository.findCalendarOccupancy(branch, start, start.plusDays(7)));
+        synchronized (weeks) {
+            weeks.put(key, new WeekSnapshot(stamp, rows));
+        }
+        return rows;
+    }
+
+    /** 커밋된 예약 변경 반영: 예약 시작 시각이 속한 지점·주 버전을 올린다 */
+    public void onBookingChanged(Booking.Branch branch, LocalDateTime startTime) {
+        if (branch == null || startTime == null) return;
+        String key = key(branch, weekStartOf(startTime.toLocalDate()));
+        weekVersions.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+        synchronized (weeks) {
+            weeks.remove(key);
+        }
+    }
+
+    /** 전체 버전을 올리고 캐시를 비운다 */
+    public void invalidateAll() {
+        globalVersion.incrementAndGet();
+        synchronized (weeks) {
+            weeks.clear();
+        }
+        logger.debug("회원 달력 점유 캐시 초기화");
+    }
+
+    /** JDBC 일괄 변경 등 엔티티 이벤트가 없는 경로용. 트랜잭션 중이면 완료 후에, 아니면 즉시 */
+    public void invalidateAllAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidateAll();
+                }
+            });
+        } else {
+            invalidateAll();
+        }
+    }
+
+    private static String key(Booking.Branch branch, LocalDate weekStart) {
+        return branch.name() + ":" + weekStart;
+    }
+}
@@ -0,0 +1,185 @@
+package com.afbscenter.service;
+
+import com.afbscenter.model.MemberProduct;
+import com.afbscenter.repository.MemberProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * 횟수권 차감의 동시성 규칙.
+ * - 일반 횟수권 잔여는 조건부 UPDATE(remaining_count - 1 WHERE remaining_count > 0)로만 줄이고, 복구도 조건부 UPDATE(+1)로 한다.
+ *   읽고 고쳐 쓰지 않으므로 같은 이용권의 서로 다른 예약 체크인·삭제가 겹쳐도 차감이 사라지거나 음수가 되지 않는다
+ * - 패키지 JSON(packageItemsRemaining)처럼 읽고 고쳐 써야 하는 값은 MemberProduct의 @Version으로 충돌을 감지하고,
+ *   {@link #withOptimisticRetry}가 트랜잭션 전체를 처음부터 다시 실행한다 (최대 member-product.optimistic-retry.max-attempts회)
+ * - 예약 행 잠금(findByIdForUpdate)은 같은 예약의 중복 체크인만 막고, 이용권 단위 경합은 여기서 다룬다
+ */
+@Service
+public class MemberProductDeductionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MemberProductDeductionService.class);
+
+    /** 재시도 전 대기(ms) 기준값. 시도마다 늘리고 무작위 폭을 더해 같은 순서로 다시 부딪히지 않게 한다 */
+    private static final long RETRY_BACKOFF_MS = 15;
+
+    private final MemberProductRepository memberProductRepository;
+    private final MemberSummaryService memberSummaryService;
+    private final PassExpiryService passExpiryService;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public MemberProductDeductionService(MemberProductRepository memberProductRepository,
+                                         MemberSummaryService memberSummaryService,
+                                         PassExpiryService passExpiryService,
+                                         PlatformTransactionManager transactionManager,
+                                         @Value("${member-product.optimistic-retry.max-attempts:3}") int maxAttempts) {
+        this.memberProductRepository = memberProductRepository;
+        this.memberSummaryService = memberSummaryService;
+        this.passExpiryService = passExpiryService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    /**
+     * 이용권 잔여 1회 차감 (호출 트랜잭션에 참여, 행 잠금은 커밋까지).
+     * 잔여가 0이 되면 소진 처리하고, 엔티티는 DB 값(잔여·상태·버전)으로 다시 읽는다.
+     *
+     * @return 차감 후 잔여, 차감할 잔여가 없으면 null
+     */
+    @Transactional
+    public Integer deductOne(MemberProduct memberProduct) {
+        Long id = memberProduct.getId();
+        if (id == null) return null;
+        if (memberProductRepository.decrementRemainingCount(id) == 0) {
+            logger.info("이용권 차감 안 함 (잔여 없음 또는 삭제됨): MemberProduct ID={}", id);
+            return null;
+        }
+        memberProductRepository.markUsedUpIfExhausted(id, MemberProduct.Status.USED_UP, MemberProduct.Status.ACTIVE, LocalDateTime.now());
+        reload(memberProduct);
+        refreshReadModelsAfterCommit(memberProduct);
+        return memberProduct.getRemainingCount();
+    }
+
+    /**
+     * 이용권 잔여 1회 복구 (호출 트랜잭션에 참여). cap(총 횟수)이 있으면 그 이상으로 올리지 않는다.
+     * 소진 처리된 이용권은 잔여가 생기면 다시 사용 중으로 돌리고, 엔티티는 DB 값으로 다시 읽는다.
+     *
+     * @return 복구 후 잔여, 이미 cap이라 복구하지 않았으면 null
+     */
+    @Transactional
+    public Integer restoreOne(MemberProduct memberProduct, Integer cap) {
+        Long id = memberProduct.getId();
+        if (id == null) return null;
+        int safeCap = cap != null ? cap : Integer.MAX_VALUE;
+        if (memberProductRepository.incrementRemainingCount(id, safeCap) == 0) {
+            logger.info("이용권 복구 안 함 (이미 총 횟수만큼 남음): MemberProduct ID={}", id);
+            return null;
+        }
+        memberProductRepository.markActiveIfRemaining(id, MemberProduct.Status.ACTIVE, MemberProduct.Status.USED_UP);
+        reload(memberProduct);
+        refreshReadModelsAfterCommit(memberProduct);
+        return memberProduct.getRemainingCount();
+    }
+
+    /**
+     * 잔여를 cap 이하로 낮춘다 (사용 기록 기준 보정). 이미 cap 이하면 아무것도 하지 않는다.
+     */
+    @Transactional
+    public void capRemaining(MemberProduct memberProduct, int cap) {
+        Long id = memberProduct.getId();
+        if (id == null) return;
+        int safeCap = Math.max(0, cap);
+        if (memberProductRepository.capRemainingCount(id, safeCap) == 0) return;
+        memberProductRepository.markUsedUpIfExhausted(id, MemberProduct.Status.USED_UP, MemberProduct.Status.ACTIVE, LocalDateTime.now());
+        reload(memberProduct);
+        refreshReadModelsAfterCommit(memberProduct);
+    }
+
+    /**
+     * work를 새 트랜잭션으로 실행하고, 커밋(또는 중간 flush)에서 버전 충돌이 나면 영속성 컨텍스트를 비운 뒤 처음부터 다시 실행한다.
+     * 마지막 시도도 충돌이면 그 예외를 던진다. work 안에서 버전 충돌 예외를 삼키면 재시도되지 않으므로 그대로 던질 것
+     */
+    public <T> T withOptimisticRetry(String label, Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    logger.warn("{} 버전 충돌 재시도 한도 도달 ({}회): {}", label, attempt, e.getMessage());
+                    throw e;
+                }
+                logger.info("{} 버전 충돌 → 재시도 {}/{}: {}", label, attempt + 1, maxAttempts, e.getMessage());
+                clearPersistenceContext();
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void reload(MemberProduct memberProduct) {
+        if (entityManager.contains(memberProduct)) {
+            entityManager.refresh(memberProduct);
+            return;
+        }
+        // 준영속 엔티티면 표시용 잔여만 맞춘다 (이후 이 객체로 저장하지 않음)
+        List<Integer> remaining = memberProductRepository.findRemainingCountListById(memberProduct.getId());
+        if (!remaining.isEmpty()) {
+            memberProduct.setRemainingCount(remaining.get(0));
+        }
+    }
+
+    /** 조건부 UPDATE는 엔티티 이벤트가 없어 회원 요약·만료 감시 리스너가 모르므로 직접 알린다 */
+    private void refreshReadModelsAfterCommit(MemberProduct memberProduct) {
+        Long memberProductId = memberProduct.getId();
+        Long memberId = memberProduct.getMember() != null ? memberProduct.getMember().getId() : null;
+        Runnable notify = () -> {
+            passExpiryService.enqueueRefresh(Set.of(memberProductId));
+            if (memberId != null) {
+                memberSummaryService.enqueueRefresh(Set.of(memberId));
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    notify.run();
+                }
+            });
+        } else {
+            notify.run();
+        }
+    }
+
+    private void clearPersistenceContext() {
+        try {
+            entityManager.clear();
+        } catch (Exception e) {
+            logger.debug("영속성 컨텍스트 비우기 스킵: {}", e.getMessage());
+        }
+    }
+
+    private static void backoff(int attempt) {
+        try {
+            Thread.sleep(RETRY_BACKOFF_MS * attempt + ThreadLocalRandom.current().nextLong(RETRY_BACKOFF_MS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
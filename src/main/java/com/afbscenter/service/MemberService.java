@@ -14,6 +14,7 @@ import com.afbscenter.repository.MemberProductRepository;
 import com.afbscenter.repository.MemberRepository;
 import com.afbscenter.repository.PaymentRepository;
 import com.afbscenter.repository.ProductRepository;
+import com.afbscenter.util.MemberProductCountPassHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -23,6 +24,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -43,6 +45,11 @@ public class MemberService {
     private final MemberProductRepository memberProductRepository;
     private final ProductRepository productRepository;
     private final JdbcTemplate jdbcTemplate;
+    private final MemberSummaryService memberSummaryService;
+    private final FacilityOccupancyIndex facilityOccupancyIndex;
+    private final MemberCalendarService memberCalendarService;
+    private final ReferenceDataCache referenceDataCache;
+    private final TrainingMetricSeriesService trainingMetricSeriesService;
 
     // 생성자 주입 (Spring 4.3+에서는 @Autowired 불필요)
     public MemberService(MemberRepository memberRepository, 
@@ -52,7 +59,12 @@ public class MemberService {
                         AttendanceRepository attendanceRepository,
                         MemberProductRepository memberProductRepository,
                         ProductRepository productRepository,
-                        JdbcTemplate jdbcTemplate) {
+                        JdbcTemplate jdbcTemplate,
+                        MemberSummaryService memberSummaryService,
+                        FacilityOccupancyIndex facilityOccupancyIndex,
+                        MemberCalendarService memberCalendarService,
+                        ReferenceDataCache referenceDataCache,
+                        TrainingMetricSeriesService trainingMetricSeriesService) {
         this.memberRepository = memberRepository;
         this.coachRepository = coachRepository;
         this.paymentRepository = paymentRepository;
@@ -61,6 +73,11 @@ public class MemberService {
         this.memberProductRepository = memberProductRepository;
         this.productRepository = productRepository;
         this.jdbcTemplate = jdbcTemplate;
+        this.memberSummaryService = memberSummaryService;
+        this.facilityOccupancyIndex = facilityOccupancyIndex;
+        this.memberCalendarService = memberCalendarService;
+        this.referenceDataCache = referenceDataCache;
+        this.trainingMetricSeriesService = trainingMetricSeriesService;
     }
 
     /**
@@ -399,64 +416,23 @@ public class MemberService {
             }
         }
         
+        // 누적 결제 금액·최근 레슨은 member_summary에서 회원당 1행으로 읽음
+        Map<Long, com.afbscenter.model.MemberSummary> summaries = new java.util.HashMap<>();
+        try {
+            summaries = memberSummaryService.loadSummaries(members.stream().map(Member::getId).collect(Collectors.toList()));
+        } catch (Exception e) {
+            logger.warn("회원 요약 조회 실패: {}", e.getMessage(), e);
+        }
+
         // 각 회원을 DTO로 변환
         List<MemberResponseDTO> memberDTOs = new java.util.ArrayList<>();
         for (Member member : members) {
             try {
-                // 누적 결제 금액 계산
-                // 1. 먼저 Payment 테이블에서 계산
-                Integer totalPayment = null;
-                try {
-                    totalPayment = paymentRepository.sumTotalAmountByMemberId(member.getId());
-                    if (totalPayment == null) {
-                        totalPayment = 0;
-                    }
-                } catch (Exception e) {
-                    logger.warn("결제 금액 계산 실패 (Member ID: {}): {}", member.getId(), e.getMessage(), e);
-                    totalPayment = 0;
-                }
-                
-                // 2. Payment가 0이거나 없으면 MemberProduct를 기반으로 자동 계산
-                // (누락된 결제가 있는 경우를 대비)
-                if (totalPayment == null || totalPayment == 0) {
-                    try {
-                        List<MemberProduct> memberProducts = memberProductRepository.findByMemberIdWithProduct(member.getId());
-                        if (memberProducts != null && !memberProducts.isEmpty()) {
-                            int calculatedTotal = 0;
-                            for (MemberProduct mp : memberProducts) {
-                                if (mp.getProduct() != null && mp.getProduct().getPrice() != null) {
-                                    Integer price = mp.getProduct().getPrice();
-                                    if (price > 0) {
-                                        calculatedTotal += price;
-                                    }
-                                }
-                            }
-                            if (calculatedTotal > 0) {
-                                logger.debug("Payment가 없어 MemberProduct 기반으로 누적 결제 금액 계산: Member ID={}, 계산된 금액={}", 
-                                    member.getId(), calculatedTotal);
-                                totalPayment = calculatedTotal;
-                            }
-                        }
-                    } catch (Exception e) {
-                        logger.warn("MemberProduct 기반 결제 금액 계산 실패 (Member ID: {}): {}", member.getId(), e.getMessage());
-                    }
-                }
-                
-                logger.debug("회원 누적 결제 금액 계산 완료: Member ID={}, Total Payment={}", member.getId(), totalPayment);
-                
-                // 최근 레슨 날짜 계산
-                LocalDate latestLessonDate = null;
-                try {
-                    List<com.afbscenter.model.Booking> latestLessons = bookingRepository.findLatestLessonByMemberId(member.getId());
-                    if (latestLessons != null && !latestLessons.isEmpty()) {
-                        java.time.LocalDateTime start = latestLessons.get(0).getStartTime();
-                        latestLessonDate = start != null ? start.toLocalDate() : null;
-                    }
-                } catch (Exception e) {
-                    logger.warn("최근 레슨 날짜 계산 실패 (Member ID: {}): {}", member.getId(), e.getMessage());
-                }
+                // 누적 결제 금액 (Payment 테이블 기준, 0이면 DTO 변환 시 이용권 가격으로 보완)
+                Integer totalPayment = MemberSummaryService.totalPaymentOf(summaries, member.getId());
+                LocalDate latestLessonDate = MemberSummaryService.latestLessonDateOf(summaries, member.getId());
                 
-                // 회원 상품 정보 (lazy loading 방지를 위해 JOIN FETCH 사용) - 먼저 조회
+                // 회원 상품 정보 (lazy loading 방지를 위해 JOIN FETCH 사용)
                 List<MemberProduct> allMemberProducts = null;
                 try {
                     allMemberProducts = memberProductRepository.findByMemberIdWithProduct(member.getId());
@@ -465,101 +441,8 @@ public class MemberService {
                     allMemberProducts = new java.util.ArrayList<>();
                 }
                 
-                // 횟수권·패키지 잔여: DB 저장값 우선(조회 시 엔티티 수정 없음). 상품 총횟수만 바꿔도 잔여 자동 변경 안 함.
-                int remainingCount = 0;
-                java.util.Map<Long, Integer> remainingOverrideByProductId = new java.util.HashMap<>();
-                try {
-                    final LocalDate today = LocalDate.now();
-                    if (allMemberProducts != null) {
-                        for (MemberProduct mp : allMemberProducts) {
-                            try {
-                                if (mp.getProduct() == null ||
-                                    mp.getProduct().getType() != Product.ProductType.COUNT_PASS ||
-                                    mp.getStatus() != MemberProduct.Status.ACTIVE) {
-                                    continue;
-                                }
-                                if (mp.getExpiryDate() != null && mp.getExpiryDate().isBefore(today)) {
-                                    continue;
-                                }
-                                int displayRem = com.afbscenter.util.MemberProductCountPassHelper.resolveRemainingForRead(
-                                        mp, member.getId(), attendanceRepository, bookingRepository);
-                                remainingOverrideByProductId.put(mp.getId(), displayRem);
-                                remainingCount += displayRem;
-                            } catch (Exception e) {
-                                logger.warn("회원 상품 잔여 횟수 계산 실패 (Member ID: {}, MemberProduct ID: {}): {}",
-                                        member.getId(), mp != null ? mp.getId() : "null", e.getMessage());
-                            }
-                        }
-                    }
-                } catch (Exception e) {
-                    logger.warn("횟수권 계산 실패 (Member ID: {}): {}", member.getId(), e.getMessage());
-                }
-
-                try {
-                    if (allMemberProducts != null) {
-                        final LocalDate today = LocalDate.now();
-                        for (MemberProduct mp : allMemberProducts) {
-                            if (mp.getStatus() != MemberProduct.Status.ACTIVE) continue;
-                            if (mp.getExpiryDate() != null && mp.getExpiryDate().isBefore(today)) continue;
-                            if (mp.getProduct() == null || mp.getProduct().getType() != Product.ProductType.TEAM_PACKAGE) continue;
-                            String json = mp.getPackageItemsRemaining();
-                            if (json == null || json.trim().isEmpty()) continue;
-                            try {
-                                com.fasterxml.jackson.databind.ObjectMapper om = new com.fasterxml.jackson.databind.ObjectMapper();
-                                List<Map<String, Object>> items = om.readValue(json,
-                                    new com.fasterxml.jackson.core.type.TypeReference<List<Map<String, Object>>>() {});
-                                int sum = 0;
-                                for (Map<String, Object> item : items) {
-                                    Object r = item.get("remaining");
-                                    if (r instanceof Number) sum += ((Number) r).intValue();
-                                }
-                                remainingOverrideByProductId.put(mp.getId(), sum);
-                                remainingCount += sum;
-                            } catch (Exception e) {
-                                logger.debug("패키지 잔여 합산 스킵 (MemberProduct ID={}): {}", mp.getId(), e.getMessage());
-                            }
-                        }
-                    }
-                } catch (Exception e) {
-                    logger.warn("패키지 잔여 계산 실패 (Member ID: {}): {}", member.getId(), e.getMessage());
-                }
-                
-                // 기간권 정보
-                MemberProduct activePeriodPass = null;
-                try {
-                    // allMemberProducts에서 기간권 필터링 (이미 product가 로드되어 있음)
-                    if (allMemberProducts != null) {
-                        activePeriodPass = allMemberProducts.stream()
-                            .filter(mp -> {
-                                try {
-                                    return mp.getProduct() != null && 
-                                           mp.getProduct().getType() == Product.ProductType.MONTHLY_PASS &&
-                                           mp.getStatus() == MemberProduct.Status.ACTIVE && 
-                                           mp.getExpiryDate() != null;
-                                } catch (Exception e) {
-                                    logger.warn("기간권 필터링 중 오류 (MemberProduct ID: {}): {}", 
-                                        mp != null ? mp.getId() : "null", e.getMessage());
-                                    return false;
-                                }
-                            })
-                            .filter(mp -> {
-                                try {
-                                    return mp.getExpiryDate().isAfter(LocalDate.now()) || 
-                                           mp.getExpiryDate().isEqual(LocalDate.now());
-                                } catch (Exception e) {
-                                    return false;
-                                }
-                            })
-                            .findFirst()
-                            .orElse(null);
-                    }
-                } catch (Exception e) {
-                    logger.warn("기간권 조회 실패 (Member ID: {}): {}", member.getId(), e.getMessage());
-                }
-                
-                MemberResponseDTO dto = MemberResponseDTO.fromMember(member, totalPayment, latestLessonDate,
-                        remainingCount, allMemberProducts, activePeriodPass, remainingOverrideByProductId);
-                memberDTOs.add(dto);
+                memberDTOs.add(toMemberResponseDTO(member, totalPayment, latestLessonDate, allMemberProducts,
+                        MemberProductCountPassHelper.loadLegacyUsage(allMemberProducts, attendanceRepository, bookingRepository)));
             } catch (Exception e) {
                 logger.error("회원 DTO 변환 실패 (Member ID: {}): {}", 
                     member != null ? member.getId() : "null", e.getMessage(), e);
@@ -697,6 +580,245 @@ public class MemberService {
         return memberDTOs;
     }
     
+    /**
+     * 회원 목록 페이지 조회 (getAllMembersWithFilters와 같은 필터 규칙을 DB 쿼리로 처리).
+     * 조건에 맞는 회원 ID를 한 페이지만 가져온 뒤, 요약(member_summary)·이용권을 페이지 단위로 한 번씩 묶어 조회한다.
+     * coachScopeId가 있으면 해당 코치가 담당(목록에 담당 코치로 표시)하는 회원만 반환.
+     */
+    @Transactional(readOnly = true)
+    public org.springframework.data.domain.Page<MemberResponseDTO> getMembersPageWithFilters(String productCategory, String grade, String status,
+                                                                                              String branch, Boolean endedTicket, Long coachScopeId,
+                                                                                              int page, int size) {
+        MemberGrade gradeEnum = null;
+        if (grade != null && !grade.trim().isEmpty()) {
+            try {
+                gradeEnum = MemberGrade.valueOf(grade.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                logger.warn("잘못된 등급 파라미터: {}", grade);
+            }
+        }
+        MemberStatus statusEnum = null;
+        if (status != null && !status.trim().isEmpty()) {
+            try {
+                statusEnum = MemberStatus.valueOf(status.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                logger.warn("잘못된 상태 파라미터: {}", status);
+            }
+        }
+
+        // 상품 카테고리: 일반(GENERAL)·카테고리 없음은 항상 포함, TRAINING_FITNESS는 TRAINING/PILATES 포함
+        boolean categoryFilter = false;
+        List<Product.ProductCategory> categories = new java.util.ArrayList<>();
+        categories.add(Product.ProductCategory.GENERAL);
+        if (productCategory != null && !productCategory.trim().isEmpty()) {
+            try {
+                Product.ProductCategory categoryEnum = Product.ProductCategory.valueOf(productCategory.toUpperCase());
+                categories.add(categoryEnum);
+                if (categoryEnum == Product.ProductCategory.TRAINING_FITNESS) {
+                    categories.add(Product.ProductCategory.TRAINING);
+                    categories.add(Product.ProductCategory.PILATES);
+                }
+                categoryFilter = true;
+            } catch (IllegalArgumentException e) {
+                logger.warn("잘못된 상품 카테고리 파라미터: {}", productCategory);
+            }
+        }
+
+        // 지점 필터는 기존과 동일하게 야구·트레이닝+필라테스 외 카테고리 요청에만 적용
+        boolean branchFilter = branch != null && !branch.trim().isEmpty() &&
+            productCategory != null && !productCategory.trim().isEmpty() &&
+            !productCategory.toUpperCase().equals("BASEBALL") &&
+            !productCategory.toUpperCase().equals("TRAINING_FITNESS");
+        String branchPattern = branchFilter ? "%," + branch.trim().toUpperCase() + ",%" : "";
+
+        boolean endedTicketOnly = Boolean.TRUE.equals(endedTicket);
+        LocalDateTime endedSince = LocalDateTime.now().minusDays(3);
+        LocalDate today = LocalDate.now();
+
+        org.springframework.data.domain.Pageable pageable = org.springframework.data.domain.PageRequest.of(page, size);
+        List<Long> memberIds = memberRepository.findFilteredMemberIds(gradeEnum, statusEnum, endedTicketOnly, endedSince,
+            categoryFilter, categories, today, branchFilter, branchPattern, coachScopeId, pageable);
+        long total = memberRepository.countFilteredMembers(gradeEnum, statusEnum, endedTicketOnly, endedSince,
+            categoryFilter, categories, today, branchFilter, branchPattern, coachScopeId);
+        if (memberIds.isEmpty()) {
+            return new org.springframework.data.domain.PageImpl<>(new java.util.ArrayList<>(), pageable, total);
+        }
+
+        // 페이지 단위 묶음 조회 (회원, 요약, 이용권)
+        Map<Long, Member> memberById = new java.util.HashMap<>();
+        for (Member m : memberRepository.findByIdInWithCoach(memberIds)) {
+            memberById.put(m.getId(), m);
+        }
+        Map<Long, com.afbscenter.model.MemberSummary> summaries = new java.util.HashMap<>();
+        try {
+            summaries = memberSummaryService.loadSummaries(memberIds);
+        } catch (Exception e) {
+            logger.warn("회원 요약 조회 실패: {}", e.getMessage(), e);
+        }
+        Map<Long, List<MemberProduct>> productsByMemberId = new java.util.HashMap<>();
+        try {
+            for (MemberProduct mp : memberProductRepository.findByMemberIdInWithProduct(memberIds)) {
+                productsByMemberId.computeIfAbsent(mp.getMember().getId(), k -> new java.util.ArrayList<>()).add(mp);
+            }
+        } catch (Exception e) {
+            logger.warn("회원 상품 일괄 조회 실패: {}", e.getMessage());
+        }
+        // 잔여가 비어 있는 구 데이터 횟수권의 사용 횟수도 페이지 단위로 한 번에
+        Map<Long, Long> legacyUsage = new java.util.HashMap<>();
+        try {
+            List<MemberProduct> pageProducts = new java.util.ArrayList<>();
+            productsByMemberId.values().forEach(pageProducts::addAll);
+            legacyUsage = MemberProductCountPassHelper.loadLegacyUsage(pageProducts, attendanceRepository, bookingRepository);
+        } catch (Exception e) {
+            logger.warn("구 데이터 이용권 사용 횟수 일괄 조회 실패: {}", e.getMessage());
+        }
+
+        List<MemberResponseDTO> content = new java.util.ArrayList<>();
+        for (Long memberId : memberIds) {
+            Member member = memberById.get(memberId);
+            if (member == null) continue;
+            try {
+                content.add(toMemberResponseDTO(member,
+                    MemberSummaryService.totalPaymentOf(summaries, memberId),
+                    MemberSummaryService.latestLessonDateOf(summaries, memberId),
+                    productsByMemberId.getOrDefault(memberId, new java.util.ArrayList<>()),
+                    legacyUsage));
+            } catch (Exception e) {
+                logger.error("회원 DTO 변환 실패 (Member ID: {}): {}", memberId, e.getMessage(), e);
+            }
+        }
+        logger.debug("회원 목록 페이지 조회: page={}, size={}, 전체={}명", page, size, total);
+        return new org.springframework.data.domain.PageImpl<>(content, pageable, total);
+    }
+    
+    /**
+     * 회원 1명의 목록용 DTO 조립. 결제 합계·최근 레슨(member_summary), 이용권 목록,
+     * 구 데이터 횟수권 사용 횟수({@link MemberProductCountPassHelper#loadLegacyUsage})는 호출 측에서 조회해 넘긴다.
+     */
+    private MemberResponseDTO toMemberResponseDTO(Member member, Integer totalPayment, LocalDate latestLessonDate,
+                                                  List<MemberProduct> allMemberProducts, Map<Long, Long> legacyUsage) {
+        // Payment가 0이거나 없으면 MemberProduct를 기반으로 자동 계산
+        // (누락된 결제가 있는 경우를 대비)
+        if (totalPayment == null || totalPayment == 0) {
+            try {
+                if (allMemberProducts != null && !allMemberProducts.isEmpty()) {
+                    int calculatedTotal = 0;
+                    for (MemberProduct mp : allMemberProducts) {
+                        if (mp.getProduct() != null && mp.getProduct().getPrice() != null) {
+                            Integer price = mp.getProduct().getPrice();
+                            if (price > 0) {
+                                calculatedTotal += price;
+                            }
+                        }
+                    }
+                    if (calculatedTotal > 0) {
+                        logger.debug("Payment가 없어 MemberProduct 기반으로 누적 결제 금액 계산: Member ID={}, 계산된 금액={}", 
+                            member.getId(), calculatedTotal);
+                        totalPayment = calculatedTotal;
+                    }
+                }
+            } catch (Exception e) {
+                logger.warn("MemberProduct 기반 결제 금액 계산 실패 (Member ID: {}): {}", member.getId(), e.getMessage());
+            }
+        }
+        
+        logger.debug("회원 누적 결제 금액 계산 완료: Member ID={}, Total Payment={}", member.getId(), totalPayment);
+        
+        // 횟수권·패키지 잔여: DB 저장값 우선(조회 시 엔티티 수정 없음). 상품 총횟수만 바꿔도 잔여 자동 변경 안 함.
+        int remainingCount = 0;
+        java.util.Map<Long, Integer> remainingOverrideByProductId = new java.util.HashMap<>();
+        try {
+            final LocalDate today = LocalDate.now();
+            if (allMemberProducts != null) {
+                for (MemberProduct mp : allMemberProducts) {
+                    try {
+                        if (mp.getProduct() == null ||
+                            mp.getProduct().getType() != Product.ProductType.COUNT_PASS ||
+                            mp.getStatus() != MemberProduct.Status.ACTIVE) {
+                            continue;
+                        }
+                        if (mp.getExpiryDate() != null && mp.getExpiryDate().isBefore(today)) {
+                            continue;
+                        }
+                        int displayRem = MemberProductCountPassHelper.resolveRemainingForRead(mp, legacyUsage);
+                        remainingOverrideByProductId.put(mp.getId(), displayRem);
+                        remainingCount += displayRem;
+                    } catch (Exception e) {
+                        logger.warn("회원 상품 잔여 횟수 계산 실패 (Member ID: {}, MemberProduct ID: {}): {}",
+                                member.getId(), mp != null ? mp.getId() : "null", e.getMessage());
+                    }
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("횟수권 계산 실패 (Member ID: {}): {}", member.getId(), e.getMessage());
+        }
+
+        try {
+            if (allMemberProducts != null) {
+                final LocalDate today = LocalDate.now();
+                for (MemberProduct mp : allMemberProducts) {
+                    if (mp.getStatus() != MemberProduct.Status.ACTIVE) continue;
+                    if (mp.getExpiryDate() != null && mp.getExpiryDate().isBefore(today)) continue;
+                    if (mp.getProduct() == null || mp.getProduct().getType() != Product.ProductType.TEAM_PACKAGE) continue;
+                    String json = mp.getPackageItemsRemaining();
+                    if (json == null || json.trim().isEmpty()) continue;
+                    try {
+                        com.fasterxml.jackson.databind.ObjectMapper om = new com.fasterxml.jackson.databind.ObjectMapper();
+                        List<Map<String, Object>> items = om.readValue(json,
+                            new com.fasterxml.jackson.core.type.TypeReference<List<Map<String, Object>>>() {});
+                        int sum = 0;
+                        for (Map<String, Object> item : items) {
+                            Object r = item.get("remaining");
+                            if (r instanceof Number) sum += ((Number) r).intValue();
+                        }
+                        remainingOverrideByProductId.put(mp.getId(), sum);
+                        remainingCount += sum;
+                    } catch (Exception e) {
+                        logger.debug("패키지 잔여 합산 스킵 (MemberProduct ID={}): {}", mp.getId(), e.getMessage());
+                    }
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("패키지 잔여 계산 실패 (Member ID: {}): {}", member.getId(), e.getMessage());
+        }
+        
+        // 기간권 정보
+        MemberProduct activePeriodPass = null;
+        try {
+            // allMemberProducts에서 기간권 필터링 (이미 product가 로드되어 있음)
+            if (allMemberProducts != null) {
+                activePeriodPass = allMemberProducts.stream()
+                    .filter(mp -> {
+                        try {
+                            return mp.getProduct() != null && 
+                                   mp.getProduct().getType() == Product.ProductType.MONTHLY_PASS &&
+                                   mp.getStatus() == MemberProduct.Status.ACTIVE && 
+                                   mp.getExpiryDate() != null;
+                        } catch (Exception e) {
+                            logger.warn("기간권 필터링 중 오류 (MemberProduct ID: {}): {}", 
+                                mp != null ? mp.getId() : "null", e.getMessage());
+                            return false;
+                        }
+                    })
+                    .filter(mp -> {
+                        try {
+                            return mp.getExpiryDate().isAfter(LocalDate.now()) || 
+                                   mp.getExpiryDate().isEqual(LocalDate.now());
+                        } catch (Exception e) {
+                            return false;
+                        }
+                    })
+                    .findFirst()
+                    .orElse(null);
+            }
+        } catch (Exception e) {
+            logger.warn("기간권 조회 실패 (Member ID: {}): {}", member.getId(), e.getMessage());
+        }
+        
+        return MemberResponseDTO.fromMember(member, totalPayment, latestLessonDate,
+                remainingCount, allMemberProducts, activePeriodPass, remainingOverrideByProductId);
+    }
+
     // 회원 등급 마이그레이션 (별도 트랜잭션으로 실행)
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void migrateMemberGradesInSeparateTransaction() {
@@ -816,68 +938,61 @@ public class MemberService {
     }
     
     // NULL 허용 컬럼 마이그레이션 (필요한 경우)
+    // 실패는 던져서 마이그레이션 원장에 FAILED로 남기고 다음 시작 때 다시 시도하게 한다
     private void migrateNullableColumnsIfNeeded() {
-        try {
-            logger.debug("마이그레이션: NULL 허용 컬럼 마이그레이션 시작");
-            
-            // H2에서 컬럼 정보 확인
-            try {
-                List<Map<String, Object>> columns = jdbcTemplate.queryForList(
-                    "SELECT COLUMN_NAME, IS_NULLABLE, TYPE_NAME " +
-                    "FROM INFORMATION_SCHEMA.COLUMNS " +
-                    "WHERE TABLE_NAME = 'MEMBERS' AND COLUMN_NAME IN ('BIRTH_DATE', 'HEIGHT', 'WEIGHT')"
-                );
-                
-                for (Map<String, Object> column : columns) {
-                    String columnName = (String) column.get("COLUMN_NAME");
-                    String isNullable = (String) column.get("IS_NULLABLE");
-                    String typeName = (String) column.get("TYPE_NAME");
-                    
-                    if ("NO".equals(isNullable)) {
-                        logger.info("컬럼 {}이 NOT NULL로 설정되어 있음. NULL 허용으로 변경 시도", columnName);
-                        try {
-                            // H2 2.x에서 컬럼을 NULL 허용으로 변경
-                            // 여러 방법을 시도
-                            String[] alterStatements = {
-                                // 방법 1: SET NULL (H2 2.x)
-                                String.format("ALTER TABLE members ALTER COLUMN %s SET NULL", columnName),
-                                // 방법 2: 컬럼 타입 재지정 (H2 2.x)
-                                String.format("ALTER TABLE members ALTER COLUMN %s %s NULL", columnName, typeName),
-                                // 방법 3: DROP NOT NULL (일부 H2 버전)
-                                String.format("ALTER TABLE members ALTER COLUMN %s DROP NOT NULL", columnName)
-                            };
-                            
-                            boolean success = false;
-                            for (String sql : alterStatements) {
-                                try {
-                                    jdbcTemplate.execute(sql);
-                                    logger.info("컬럼 {}을 NULL 허용으로 변경 완료: {}", columnName, sql);
-                                    success = true;
-                                    break;
-                                } catch (Exception e) {
-                                    logger.debug("컬럼 {} NULL 허용 변경 시도 실패: {} - {}", columnName, sql, e.getMessage());
-                                }
-                            }
-                            
-                            if (!success) {
-                                logger.warn("컬럼 {} NULL 허용 변경 실패: 모든 방법 시도 실패", columnName);
-                            }
-                        } catch (Exception e) {
-                            logger.warn("컬럼 {} NULL 허용 변경 중 오류: {}", columnName, e.getMessage());
-                        }
-                    } else {
-                        logger.debug("컬럼 {}은 이미 NULL 허용", columnName);
-                    }
+        logger.debug("마이그레이션: NULL 허용 컬럼 마이그레이션 시작");
+
+        // H2 2.x INFORMATION_SCHEMA는 TYPE_NAME 대신 DATA_TYPE
+        List<Map<String, Object>> columns = jdbcTemplate.queryForList(
+            "SELECT COLUMN_NAME, IS_NULLABLE, DATA_TYPE " +
+            "FROM INFORMATION_SCHEMA.COLUMNS " +
+            "WHERE TABLE_NAME = 'MEMBERS' AND COLUMN_NAME IN ('BIRTH_DATE', 'HEIGHT', 'WEIGHT')"
+        );
+
+        List<String> failed = new ArrayList<>();
+        for (Map<String, Object> column : columns) {
+            String columnName = (String) column.get("COLUMN_NAME");
+            String isNullable = (String) column.get("IS_NULLABLE");
+            String typeName = String.valueOf(column.get("DATA_TYPE"));
+
+            if (!"NO".equals(isNullable)) {
+                logger.debug("컬럼 {}은 이미 NULL 허용", columnName);
+                continue;
+            }
+            logger.info("컬럼 {}이 NOT NULL로 설정되어 있음. NULL 허용으로 변경 시도", columnName);
+            // H2 2.x에서 컬럼을 NULL 허용으로 변경
+            // 여러 방법을 시도
+            String[] alterStatements = {
+                // 방법 1: SET NULL (H2 2.x)
+                String.format("ALTER TABLE members ALTER COLUMN %s SET NULL", columnName),
+                // 방법 2: 컬럼 타입 재지정 (H2 2.x)
+                String.format("ALTER TABLE members ALTER COLUMN %s %s NULL", columnName, typeName),
+                // 방법 3: DROP NOT NULL (일부 H2 버전)
+                String.format("ALTER TABLE members ALTER COLUMN %s DROP NOT NULL", columnName)
+            };
+
+            boolean success = false;
+            for (String sql : alterStatements) {
+                try {
+                    jdbcTemplate.execute(sql);
+                    logger.info("컬럼 {}을 NULL 허용으로 변경 완료: {}", columnName, sql);
+                    success = true;
+                    break;
+                } catch (Exception e) {
+                    logger.debug("컬럼 {} NULL 허용 변경 시도 실패: {} - {}", columnName, sql, e.getMessage());
                 }
-            } catch (Exception e) {
-                logger.debug("컬럼 정보 확인 실패 (무시): {}", e.getMessage());
             }
-            
-            logger.info("NULL 허용 컬럼 마이그레이션 완료");
-        } catch (Exception e) {
-            // 테이블이 아직 생성되지 않았거나 다른 오류가 발생한 경우 무시
-            logger.warn("NULL 허용 컬럼 마이그레이션 실행 중 오류: {}", e.getMessage(), e);
+
+            if (!success) {
+                logger.warn("컬럼 {} NULL 허용 변경 실패: 모든 방법 시도 실패", columnName);
+                failed.add(columnName);
+            }
+        }
+
+        if (!failed.isEmpty()) {
+            throw new IllegalStateException("NULL 허용 변경 실패 컬럼: " + String.join(", ", failed));
         }
+        logger.info("NULL 허용 컬럼 마이그레이션 완료");
     }
 
     // 회원 검색 (이름)
@@ -1141,7 +1256,10 @@ public class MemberService {
             
             // 4. Booking 삭제 (Payment와 Attendance가 이미 삭제되었으므로 안전)
             try {
+                jdbcTemplate.update("DELETE FROM pending_checkins WHERE member_id = ?", id);
                 jdbcTemplate.update("DELETE FROM bookings WHERE member_id = ?", id);
+                facilityOccupancyIndex.invalidateAllAfterCommit();
+                memberCalendarService.invalidateAllAfterCommit();
                 logger.info("Booking 삭제 완료: Member ID={}", id);
             } catch (Exception e) {
                 logger.warn("Booking 삭제 실패 (무시): Member ID={}, 오류: {}", id, e.getMessage());
@@ -1150,6 +1268,8 @@ public class MemberService {
             // 5. TrainingLog 삭제
             try {
                 jdbcTemplate.update("DELETE FROM training_logs WHERE member_id = ?", id);
+                referenceDataCache.invalidateAfterCommit(ReferenceDataCache.Region.TRAINING_RANKINGS);
+                trainingMetricSeriesService.invalidateAfterCommit(id);
                 logger.info("TrainingLog 삭제 완료: Member ID={}", id);
             } catch (Exception e) {
                 logger.warn("TrainingLog 삭제 실패 (무시): Member ID={}, 오류: {}", id, e.getMessage());
@@ -1228,11 +1348,16 @@ public class MemberService {
                 logger.info("Attendance 삭제 완료: {} 건", attendancesDeleted);
                 
                 // 3. Bookings
+                jdbcTemplate.update("DELETE FROM pending_checkins");
                 int bookingsDeleted = jdbcTemplate.update("DELETE FROM bookings");
+                facilityOccupancyIndex.invalidateAllAfterCommit();
+                memberCalendarService.invalidateAllAfterCommit();
                 logger.info("Booking 삭제 완료: {} 건", bookingsDeleted);
                 
                 // 4. TrainingLogs
                 int trainingLogsDeleted = jdbcTemplate.update("DELETE FROM training_logs");
+                referenceDataCache.invalidateAfterCommit(ReferenceDataCache.Region.TRAINING_RANKINGS);
+                trainingMetricSeriesService.invalidateAllAfterCommit();
                 logger.info("TrainingLog 삭제 완료: {} 건", trainingLogsDeleted);
                 
                 // 5. BaseballRecords
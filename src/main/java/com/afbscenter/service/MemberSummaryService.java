@@ -0,0 +1,280 @@
+package com.afbscenter.service;
+
+import com.afbscenter.model.Member;
+import com.afbscenter.model.MemberSummary;
+import com.afbscenter.repository.BookingRepository;
+import com.afbscenter.repository.MemberRepository;
+import com.afbscenter.repository.MemberSummaryRepository;
+import com.afbscenter.repository.PaymentRepository;
+import com.afbscenter.util.BoundedExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * member_summary 읽기 모델 관리.
+ * - 커밋 후 리스너가 넘긴 회원 ID를 모아 공용 작업 풀에서 한 번에 하나씩 묶음 재계산
+ * - 목록/검색은 {@link #loadSummaries}로 회원당 1행을 읽고, 행이 없으면 원본에서 계산해 채움
+ * - 전체 재구축 및 원본 대비 정합성 점검(선택적 보정)
+ */
+@Service
+public class MemberSummaryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MemberSummaryService.class);
+
+    /** 묶음 재계산 단위 (IN 절 크기) */
+    private static final int CHUNK_SIZE = 500;
+    /** 정합성 점검 응답에 담는 불일치 상세 최대 건수 */
+    private static final int MAX_DRIFT_DETAILS = 100;
+
+    private final MemberSummaryRepository memberSummaryRepository;
+    private final MemberRepository memberRepository;
+    private final PaymentRepository paymentRepository;
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Set<Long> pendingMemberIds = new HashSet<>();
+    private final Executor refreshExecutor;
+
+    public MemberSummaryService(MemberSummaryRepository memberSummaryRepository,
+                                MemberRepository memberRepository,
+                                PaymentRepository paymentRepository,
+                                BookingRepository bookingRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor) {
+        this.memberSummaryRepository = memberSummaryRepository;
+        this.memberRepository = memberRepository;
+        this.paymentRepository = paymentRepository;
+        this.bookingRepository = bookingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.refreshExecutor = BoundedExecutor.serial(taskExecutor, "member-summary-refresh");
+    }
+
+    /**
+     * 갱신 대상 회원 등록 (커밋 후 리스너에서 호출). 이미 대기 중인 회원은 한 번만 계산된다.
+     */
+    public void enqueueRefresh(Collection<Long> memberIds) {
+        boolean schedule;
+        synchronized (pendingMemberIds) {
+            schedule = pendingMemberIds.isEmpty();
+            pendingMemberIds.addAll(memberIds);
+        }
+        if (schedule) {
+            try {
+                refreshExecutor.execute(this::drainPending);
+            } catch (Exception e) {
+                logger.warn("회원 요약 갱신 예약 실패: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void drainPending() {
+        while (true) {
+            List<Long> batch;
+            synchronized (pendingMemberIds) {
+                if (pendingMemberIds.isEmpty()) return;
+                batch = new ArrayList<>(pendingMemberIds);
+                pendingMemberIds.clear();
+            }
+            try {
+                refresh(batch);
+            } catch (Exception e) {
+                // 실패한 회원은 다음 점검/재구축에서 보정
+                logger.warn("회원 요약 갱신 실패 ({}명): {}", batch.size(), e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 지정 회원의 요약을 원본에서 다시 계산해 저장 (회원이 없으면 요약 행 삭제).
+     */
+    public void refresh(Collection<Long> memberIds) {
+        for (List<Long> chunk : chunks(new ArrayList<>(new HashSet<>(memberIds)))) {
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<Long, MemberSummary> live = computeLive(chunk);
+                Map<Long, MemberSummary> stored = new HashMap<>();
+                for (MemberSummary s : memberSummaryRepository.findAllById(chunk)) {
+                    stored.put(s.getMemberId(), s);
+                }
+                Set<Long> existingIds = new HashSet<>();
+                for (Member m : memberRepository.findAllById(chunk)) {
+                    existingIds.add(m.getId());
+                }
+                List<MemberSummary> toSave = new ArrayList<>();
+                for (Long memberId : chunk) {
+                    MemberSummary current = stored.get(memberId);
+                    if (!existingIds.contains(memberId)) {
+                        if (current != null) memberSummaryRepository.delete(current);
+                        continue;
+                    }
+                    MemberSummary computed = live.get(memberId);
+                    if (current == null) {
+                        toSave.add(computed);
+                    } else if (!sameValues(current, computed)) {
+                        current.setTotalPayment(computed.getTotalPayment());
+                        current.setLatestLessonDate(computed.getLatestLessonDate());
+                        toSave.add(current);
+                    }
+                }
+                memberSummaryRepository.saveAll(toSave);
+            });
+        }
+    }
+
+    /**
+     * 목록/검색용 요약 조회. 저장된 행이 없는 회원은 원본에서 계산해 돌려주고 저장은 백그라운드로 넘긴다.
+     */
+    public Map<Long, MemberSummary> loadSummaries(Collection<Long> memberIds) {
+        Map<Long, MemberSummary> result = new HashMap<>();
+        if (memberIds == null || memberIds.isEmpty()) return result;
+        List<Long> missing = new ArrayList<>();
+        for (List<Long> chunk : chunks(new ArrayList<>(new HashSet<>(memberIds)))) {
+            for (MemberSummary s : memberSummaryRepository.findAllById(chunk)) {
+                result.put(s.getMemberId(), s);
+            }
+            for (Long id : chunk) {
+                if (!result.containsKey(id)) missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (List<Long> chunk : chunks(missing)) {
+                result.putAll(computeLive(chunk));
+            }
+            enqueueRefresh(missing);
+        }
+        return result;
+    }
+
+    /**
+     * 전체 재구축: 모든 회원의 요약을 다시 계산하고 삭제된 회원의 행을 정리.
+     */
+    public Map<String, Object> rebuildAll() {
+        long startedAt = System.currentTimeMillis();
+        List<Long> memberIds = memberRepository.findAllIds();
+        refresh(memberIds);
+        List<Long> orphanIds = memberSummaryRepository.findOrphanMemberIds();
+        if (!orphanIds.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> memberSummaryRepository.deleteAllById(orphanIds));
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("members", memberIds.size());
+        result.put("removedOrphans", orphanIds.size());
+        result.put("elapsedMs", System.currentTimeMillis() - startedAt);
+        logger.info("회원 요약 재구축 완료: 회원 {}명, 정리 {}건, {}ms", memberIds.size(), orphanIds.size(), result.get("elapsedMs"));
+        return result;
+    }
+
+    /**
+     * 정합성 점검: 저장된 요약과 원본 계산값 비교. repair=true면 어긋난 회원과 삭제된 회원 행을 보정.
+     */
+    public Map<String, Object> checkConsistency(boolean repair) {
+        List<Long> memberIds = memberRepository.findAllIds();
+        List<Long> driftIds = new ArrayList<>();
+        List<Map<String, Object>> details = new ArrayList<>();
+        for (List<Long> chunk : chunks(memberIds)) {
+            Map<Long, MemberSummary> live = computeLive(chunk);
+            Map<Long, MemberSummary> stored = new HashMap<>();
+            for (MemberSummary s : memberSummaryRepository.findAllById(chunk)) {
+                stored.put(s.getMemberId(), s);
+            }
+            for (Long memberId : chunk) {
+                MemberSummary current = stored.get(memberId);
+                MemberSummary computed = live.get(memberId);
+                if (current != null && sameValues(current, computed)) continue;
+                driftIds.add(memberId);
+                if (details.size() < MAX_DRIFT_DETAILS) {
+                    Map<String, Object> d = new LinkedHashMap<>();
+                    d.put("memberId", memberId);
+                    d.put("missing", current == null);
+                    d.put("storedTotalPayment", current != null ? current.getTotalPayment() : null);
+                    d.put("liveTotalPayment", computed.getTotalPayment());
+                    d.put("storedLatestLessonDate", current != null ? current.getLatestLessonDate() : null);
+                    d.put("liveLatestLessonDate", computed.getLatestLessonDate());
+                    details.add(d);
+                }
+            }
+        }
+        List<Long> orphanIds = memberSummaryRepository.findOrphanMemberIds();
+        if (repair) {
+            if (!driftIds.isEmpty()) refresh(driftIds);
+            if (!orphanIds.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> memberSummaryRepository.deleteAllById(orphanIds));
+            }
+        }
+        if (!driftIds.isEmpty() || !orphanIds.isEmpty()) {
+            logger.warn("회원 요약 불일치: {}명, 고아 행 {}건 (보정: {})", driftIds.size(), orphanIds.size(), repair);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("checkedAt", LocalDateTime.now());
+        result.put("checked", memberIds.size());
+        result.put("driftCount", driftIds.size());
+        result.put("orphanCount", orphanIds.size());
+        result.put("repaired", repair);
+        result.put("drifts", details);
+        return result;
+    }
+
+    /** 원본 테이블 기준 요약 계산 (결제 합계·최근 레슨을 회원 묶음으로 각각 1회 조회) */
+    private Map<Long, MemberSummary> computeLive(List<Long> memberIds) {
+        Map<Long, MemberSummary> result = new HashMap<>();
+        for (Long id : memberIds) {
+            MemberSummary s = new MemberSummary();
+            s.setMemberId(id);
+            s.setTotalPayment(0);
+            result.put(id, s);
+        }
+        for (Object[] row : paymentRepository.sumTotalAmountGroupByMemberIdIn(memberIds)) {
+            MemberSummary s = result.get((Long) row[0]);
+            if (s != null && row[1] != null) s.setTotalPayment(((Number) row[1]).intValue());
+        }
+        for (Object[] row : bookingRepository.findLatestLessonStartByMemberIdIn(memberIds)) {
+            MemberSummary s = result.get((Long) row[0]);
+            if (s != null && row[1] != null) s.setLatestLessonDate(((LocalDateTime) row[1]).toLocalDate());
+        }
+        return result;
+    }
+
+    private static boolean sameValues(MemberSummary a, MemberSummary b) {
+        return Objects.equals(a.getTotalPayment(), b.getTotalPayment())
+                && Objects.equals(a.getLatestLessonDate(), b.getLatestLessonDate());
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> result = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += CHUNK_SIZE) {
+            result.add(ids.subList(i, Math.min(i + CHUNK_SIZE, ids.size())));
+        }
+        return result;
+    }
+
+    /** 요약의 최근 레슨 날짜 (행이 없으면 null) */
+    public static LocalDate latestLessonDateOf(Map<Long, MemberSummary> summaries, Long memberId) {
+        MemberSummary s = summaries.get(memberId);
+        return s != null ? s.getLatestLessonDate() : null;
+    }
+
+    /** 요약의 누적 결제 금액 (행이 없으면 0) */
+    public static Integer totalPaymentOf(Map<Long, MemberSummary> summaries, Long memberId) {
+        MemberSummary s = summaries.get(memberId);
+        return s != null && s.getTotalPayment() != null ? s.getTotalPayment() : 0;
+    }
+}
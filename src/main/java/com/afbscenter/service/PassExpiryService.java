@@ -0,0 +1,253 @@
+package com.afbscenter.service;
+
+import com.afbscenter.model.MemberProduct;
+import com.afbscenter.model.PassExpiryWatch;
+import com.afbscenter.model.Product;
+import com.afbscenter.repository.AttendanceRepository;
+import com.afbscenter.repository.BookingRepository;
+import com.afbscenter.repository.MemberProductRepository;
+import com.afbscenter.repository.PassExpiryWatchRepository;
+import com.afbscenter.util.BoundedExecutor;
+import com.afbscenter.util.MemberProductCountPassHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * 이용권 만료 처리와 만료 임박 감시 목록(pass_expiry_watch) 관리.
+ * - 날짜 경계(매일 0시 직후, 시작 시 마이그레이션 단계)에 사용 중 이용권을 한 번에 정리:
+ *   만료일이 지난 것 → EXPIRED, 잔여 0인 횟수권 → USED_UP (조건부 UPDATE 두 번, 회원 요약은 커밋 후 갱신)
+ * - 이어서 감시 목록을 원본에서 다시 채운다 (잔여 1~2회 횟수권, 만료일이 오늘 ~ watch-days + 하루 안인 기간권)
+ * - 그 사이에는 이용권 커밋 후 리스너·조건부 차감이 넘긴 이용권 ID만 공용 작업 풀에서 한 번에 하나씩 재판정
+ * 잔여가 비어 있는 구 횟수권은 사용 기록으로 잔여를 추정하므로 출석 변경은 다음 날짜 경계(또는 재구축 API)에 반영된다.
+ */
+@Service
+public class PassExpiryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PassExpiryService.class);
+
+    /** 묶음 재판정 단위 (IN 절 크기) */
+    private static final int CHUNK_SIZE = 500;
+
+    /** 잔여 이 값 이하(1 이상)인 횟수권이 만료 임박 */
+    public static final int LOW_COUNT_THRESHOLD = 2;
+
+    /** 자정 직후 실행 (날짜가 확실히 바뀐 뒤, 0시 0분 5초) */
+    private static final String DAY_BOUNDARY_CRON = "5 0 0 * * *";
+
+    private static final String REBUILD_SQL =
+            "INSERT INTO pass_expiry_watch (member_product_id, member_id, kind, remaining_count, expiry_date) "
+                    + "SELECT mp.id, mp.member_id, 'LOW_COUNT', mp.remaining_count, NULL FROM member_products mp "
+                    + "JOIN products p ON p.id = mp.product_id "
+                    + "WHERE mp.status = 'ACTIVE' AND mp.deleted_at IS NULL AND p.type = 'COUNT_PASS' "
+                    + "AND mp.remaining_count BETWEEN 1 AND " + LOW_COUNT_THRESHOLD + " "
+                    + "UNION ALL "
+                    + "SELECT mp.id, mp.member_id, 'EXPIRY_DATE', NULL, mp.expiry_date FROM member_products mp "
+                    + "JOIN products p ON p.id = mp.product_id "
+                    + "WHERE mp.status = 'ACTIVE' AND mp.deleted_at IS NULL AND p.type = 'MONTHLY_PASS' "
+                    + "AND mp.expiry_date BETWEEN ? AND ?";
+
+    private final MemberProductRepository memberProductRepository;
+    private final PassExpiryWatchRepository passExpiryWatchRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final BookingRepository bookingRepository;
+    private final MemberSummaryService memberSummaryService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int watchDays;
+
+    private final Set<Long> pendingMemberProductIds = new HashSet<>();
+    private final Executor expiryExecutor;
+
+    public PassExpiryService(MemberProductRepository memberProductRepository,
+                             PassExpiryWatchRepository passExpiryWatchRepository,
+                             AttendanceRepository attendanceRepository,
+                             BookingRepository bookingRepository,
+                             MemberSummaryService memberSummaryService,
+                             JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                             @Value("${pass-expiry.watch-days:3}") int watchDays) {
+        this.memberProductRepository = memberProductRepository;
+        this.passExpiryWatchRepository = passExpiryWatchRepository;
+        this.attendanceRepository = attendanceRepository;
+        this.bookingRepository = bookingRepository;
+        this.memberSummaryService = memberSummaryService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.watchDays = Math.max(0, watchDays);
+        this.expiryExecutor = BoundedExecutor.serial(taskExecutor, "pass-expiry");
+    }
+
+    /** 대시보드 만료 임박 기준 일수 (오늘 포함 [today, today + watchDays]) */
+    public int getWatchDays() {
+        return watchDays;
+    }
+
+    /** 매일 0시 직후: 스케줄러 스레드는 넘기기만 하고 처리는 재판정과 같은 직렬 실행기에서 */
+    @Scheduled(cron = DAY_BOUNDARY_CRON)
+    public void scheduleDayBoundary() {
+        try {
+            expiryExecutor.execute(() -> {
+                try {
+                    runDayBoundary();
+                } catch (Exception e) {
+                    logger.warn("이용권 날짜 경계 처리 실패: {}", e.getMessage(), e);
+                }
+            });
+        } catch (Exception e) {
+            // 종료 중이면 건너뛴다
+            logger.debug("이용권 날짜 경계 처리 예약 스킵: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 날짜 경계 처리: 만료일 지난 이용권 만료, 잔여 0 횟수권 소진, 감시 목록 재구축.
+     * 시작 시 마이그레이션 단계와 매일 0시 직후 예약 실행에서 호출된다 (재판정과 겹치지 않게 직렬화).
+     */
+    public synchronized Map<String, Object> runDayBoundary() {
+        long startedAt = System.currentTimeMillis();
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> touchedMemberIds = new HashSet<>();
+        int[] counts = transactionTemplate.execute(status -> {
+            touchedMemberIds.addAll(memberProductRepository.findMemberIdsWithActiveExpiredBefore(today));
+            int expired = memberProductRepository.expireActiveBefore(today,
+                    MemberProduct.Status.EXPIRED, MemberProduct.Status.ACTIVE, now);
+            touchedMemberIds.addAll(memberProductRepository.findMemberIdsWithExhaustedCountPasses());
+            int usedUp = memberProductRepository.markExhaustedCountPassesUsedUp(
+                    MemberProduct.Status.USED_UP, MemberProduct.Status.ACTIVE, now);
+            return new int[]{expired, usedUp};
+        });
+        // 조건부 UPDATE는 엔티티 이벤트가 없어 회원 요약 리스너가 모르므로 직접 알린다 (위 트랜잭션은 이미 커밋됨)
+        if (!touchedMemberIds.isEmpty()) {
+            memberSummaryService.enqueueRefresh(touchedMemberIds);
+        }
+        int watched = rebuildWatch(today);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("expired", counts != null ? counts[0] : 0);
+        result.put("usedUp", counts != null ? counts[1] : 0);
+        result.put("watched", watched);
+        result.put("elapsedMs", System.currentTimeMillis() - startedAt);
+        logger.info("이용권 날짜 경계 처리 완료: 만료 {}건, 소진 {}건, 감시 {}건, {}ms",
+                result.get("expired"), result.get("usedUp"), watched, result.get("elapsedMs"));
+        return result;
+    }
+
+    /** 감시 목록 전체 재구축: 행을 모두 지우고 원본 이용권에서 다시 채운다 */
+    private int rebuildWatch(LocalDate today) {
+        Integer inserted = transactionTemplate.execute(status -> {
+            jdbcTemplate.update("DELETE FROM pass_expiry_watch");
+            int rows = jdbcTemplate.update(REBUILD_SQL, today, watchHorizon(today));
+            // 잔여가 비어 있는 구 횟수권은 SQL로 잔여를 알 수 없어 사용 기록으로 계산
+            List<PassExpiryWatch> estimated = new ArrayList<>();
+            for (MemberProduct mp : memberProductRepository.findActiveCountPassesWithoutRemaining()) {
+                PassExpiryWatch watch = toWatch(mp, today);
+                if (watch != null) estimated.add(watch);
+            }
+            passExpiryWatchRepository.saveAll(estimated);
+            return rows + estimated.size();
+        });
+        return inserted != null ? inserted : 0;
+    }
+
+    /**
+     * 재판정 대상 이용권 등록 (커밋 후 리스너·조건부 차감에서 호출). 이미 대기 중인 이용권은 한 번만 판정된다.
+     */
+    public void enqueueRefresh(Collection<Long> memberProductIds) {
+        boolean schedule;
+        synchronized (pendingMemberProductIds) {
+            schedule = pendingMemberProductIds.isEmpty();
+            pendingMemberProductIds.addAll(memberProductIds);
+        }
+        if (schedule) {
+            try {
+                expiryExecutor.execute(this::drainPending);
+            } catch (Exception e) {
+                logger.warn("만료 감시 갱신 예약 실패: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void drainPending() {
+        while (true) {
+            List<Long> batch;
+            synchronized (pendingMemberProductIds) {
+                if (pendingMemberProductIds.isEmpty()) return;
+                batch = new ArrayList<>(pendingMemberProductIds);
+                pendingMemberProductIds.clear();
+            }
+            try {
+                refresh(batch);
+            } catch (Exception e) {
+                // 실패한 이용권은 대시보드 조회의 원본 조건 재확인과 다음 날짜 경계 재구축으로 보정
+                logger.warn("만료 감시 갱신 실패 ({}건): {}", batch.size(), e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 지정 이용권의 감시 여부를 원본에서 다시 판정해 행을 넣거나 지운다 (종료·삭제된 이용권이면 행 삭제).
+     */
+    public synchronized void refresh(Collection<Long> memberProductIds) {
+        LocalDate today = LocalDate.now();
+        List<Long> ids = new ArrayList<>(new HashSet<>(memberProductIds));
+        for (int i = 0; i < ids.size(); i += CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(i, Math.min(i + CHUNK_SIZE, ids.size()));
+            transactionTemplate.executeWithoutResult(status -> {
+                passExpiryWatchRepository.deleteByMemberProductIdIn(chunk);
+                List<PassExpiryWatch> live = new ArrayList<>();
+                for (MemberProduct mp : memberProductRepository.findActiveByIdInWithProduct(chunk)) {
+                    PassExpiryWatch watch = toWatch(mp, today);
+                    if (watch != null) live.add(watch);
+                }
+                passExpiryWatchRepository.saveAll(live);
+            });
+        }
+    }
+
+    /** 사용 중 이용권 1건의 감시 행 (감시 대상이 아니면 null). 기준은 REBUILD_SQL과 같다 */
+    private PassExpiryWatch toWatch(MemberProduct mp, LocalDate today) {
+        Product product = mp.getProduct();
+        if (product == null || mp.getMember() == null) return null;
+        Long memberId = mp.getMember().getId();
+        if (product.getType() == Product.ProductType.COUNT_PASS) {
+            int remaining = MemberProductCountPassHelper.resolveRemainingForRead(mp, memberId, attendanceRepository, bookingRepository);
+            if (remaining >= 1 && remaining <= LOW_COUNT_THRESHOLD) {
+                return new PassExpiryWatch(mp.getId(), memberId, PassExpiryWatch.Kind.LOW_COUNT, remaining, null);
+            }
+            return null;
+        }
+        if (product.getType() == Product.ProductType.MONTHLY_PASS && mp.getExpiryDate() != null
+                && !mp.getExpiryDate().isBefore(today) && !mp.getExpiryDate().isAfter(watchHorizon(today))) {
+            return new PassExpiryWatch(mp.getId(), memberId, PassExpiryWatch.Kind.EXPIRY_DATE, null, mp.getExpiryDate());
+        }
+        return null;
+    }
+
+    /** 감시 목록 보관 범위 끝. 0시 처리가 늦어져도 다음 날 임박분이 빠지지 않게 하루 여유를 둔다 (조회는 watchDays까지만) */
+    private LocalDate watchHorizon(LocalDate today) {
+        return today.plusDays(watchDays + 1L);
+    }
+}
@@ -0,0 +1,150 @@
+package com.afbscenter.service;
+
+import com.afbscenter.model.Booking;
+import com.afbscenter.model.PendingCheckIn;
+import com.afbscenter.repository.BookingRepository;
+import com.afbscenter.repository.PendingCheckInRepository;
+import com.afbscenter.util.BoundedExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * 체크인 대기(pending_checkins) 읽기 모델 관리.
+ * - 예약·출석 커밋 후 리스너가 넘긴 예약 ID를 모아 공용 작업 풀에서 한 번에 하나씩 묶음 재판정
+ * - 대기 조건: 회원 예약, 확정/완료 상태, 시작 시각 있음, 출석 없음
+ * - 전체 재구축은 원본에서 한 번의 INSERT ... SELECT로 다시 채움
+ */
+@Service
+public class PendingCheckInService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PendingCheckInService.class);
+
+    /** 묶음 재판정 단위 (IN 절 크기) */
+    private static final int CHUNK_SIZE = 500;
+
+    public static final List<Booking.BookingStatus> PENDING_STATUSES =
+            List.of(Booking.BookingStatus.CONFIRMED, Booking.BookingStatus.COMPLETED);
+
+    private static final String REBUILD_SQL =
+            "INSERT INTO pending_checkins (booking_id, member_id, start_time) "
+                    + "SELECT b.id, b.member_id, b.start_time FROM bookings b "
+                    + "WHERE b.member_id IS NOT NULL AND b.start_time IS NOT NULL AND b.status IN ('CONFIRMED', 'COMPLETED') "
+                    + "AND NOT EXISTS (SELECT 1 FROM attendances a WHERE a.booking_id = b.id)";
+
+    private final PendingCheckInRepository pendingCheckInRepository;
+    private final BookingRepository bookingRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Set<Long> pendingBookingIds = new HashSet<>();
+    private final Executor refreshExecutor;
+
+    public PendingCheckInService(PendingCheckInRepository pendingCheckInRepository,
+                                 BookingRepository bookingRepository,
+                                 JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor) {
+        this.pendingCheckInRepository = pendingCheckInRepository;
+        this.bookingRepository = bookingRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.refreshExecutor = BoundedExecutor.serial(taskExecutor, "pending-checkin-refresh");
+    }
+
+    /**
+     * 재판정 대상 예약 등록 (커밋 후 리스너에서 호출). 이미 대기 중인 예약은 한 번만 판정된다.
+     */
+    public void enqueueRefresh(Collection<Long> bookingIds) {
+        boolean schedule;
+        synchronized (pendingBookingIds) {
+            schedule = pendingBookingIds.isEmpty();
+            pendingBookingIds.addAll(bookingIds);
+        }
+        if (schedule) {
+            try {
+                refreshExecutor.execute(this::drainPending);
+            } catch (Exception e) {
+                logger.warn("체크인 대기 갱신 예약 실패: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void drainPending() {
+        while (true) {
+            List<Long> batch;
+            synchronized (pendingBookingIds) {
+                if (pendingBookingIds.isEmpty()) return;
+                batch = new ArrayList<>(pendingBookingIds);
+                pendingBookingIds.clear();
+            }
+            try {
+                refresh(batch);
+            } catch (Exception e) {
+                // 실패한 예약은 목록 조회의 NOT EXISTS 재확인과 재구축으로 보정
+                logger.warn("체크인 대기 갱신 실패 ({}건): {}", batch.size(), e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 지정 예약의 대기 여부를 원본에서 다시 판정해 행을 넣거나 지운다 (예약이 없으면 행 삭제).
+     */
+    public void refresh(Collection<Long> bookingIds) {
+        List<Long> ids = new ArrayList<>(new HashSet<>(bookingIds));
+        for (int i = 0; i < ids.size(); i += CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(i, Math.min(i + CHUNK_SIZE, ids.size()));
+            transactionTemplate.executeWithoutResult(status -> {
+                List<PendingCheckIn> live = new ArrayList<>();
+                Set<Long> liveIds = new HashSet<>();
+                for (Object[] row : bookingRepository.findPendingCheckInFacts(chunk, PENDING_STATUSES)) {
+                    Long bookingId = (Long) row[0];
+                    live.add(new PendingCheckIn(bookingId, (Long) row[1], (LocalDateTime) row[2]));
+                    liveIds.add(bookingId);
+                }
+                List<Long> gone = new ArrayList<>();
+                for (Long id : chunk) {
+                    if (!liveIds.contains(id)) gone.add(id);
+                }
+                if (!gone.isEmpty()) {
+                    pendingCheckInRepository.deleteByBookingIdIn(gone);
+                }
+                // 시작 시각·회원이 바뀐 경우도 있으므로 대기 예약은 덮어쓴다
+                pendingCheckInRepository.saveAll(live);
+            });
+        }
+    }
+
+    /**
+     * 전체 재구축: 행을 모두 지우고 원본 예약·출석에서 다시 채운다.
+     */
+    public Map<String, Object> rebuildAll() {
+        long startedAt = System.currentTimeMillis();
+        Integer inserted = transactionTemplate.execute(status -> {
+            jdbcTemplate.update("DELETE FROM pending_checkins");
+            return jdbcTemplate.update(REBUILD_SQL);
+        });
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("pending", inserted != null ? inserted : 0);
+        result.put("elapsedMs", System.currentTimeMillis() - startedAt);
+        logger.info("체크인 대기 재구축 완료: {}건, {}ms", result.get("pending"), result.get("elapsedMs"));
+        return result;
+    }
+}
@@ -0,0 +1,189 @@
+package com.afbscenter.service;
+
+import com.afbscenter.config.ReferenceDataCacheListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 기준 데이터(시설·시설 슬롯·코치·상품·설정·역할 권한) 읽기 캐시.
+ * - 한 달에 몇 번 바뀌는 테이블이라 조회 결과를 영역별 TTL 동안 메모리에 두고, 영역마다 최대 항목 수를 넘으면 오래 안 쓴 것부터 버린다
+ * - 엔티티 저장/수정/삭제가 커밋되면 커밋 후 리스너({@link ReferenceDataCacheListener})가 해당 영역을 비운다.
+ *   JDBC 일괄 변경처럼 이벤트가 없는 경로는 {@link #invalidateAfterCommit(Region)}을 호출한다
+ * - 캐시 값은 준영속 엔티티이므로 호출 측에서 수정하지 않는다 (목록은 읽기 전용 복사본으로 넣는다)
+ * - 같은 방식으로 무효화되는 파생 조회 결과(훈련 랭킹)도 영역으로 둔다
+ * - reference-cache.enabled=false면 항상 원본을 조회한다 (테스트 설정)
+ */
+@Service
+public class ReferenceDataCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataCache.class);
+
+    /** 영역별 기본 TTL(초)·최대 항목 수. TTL은 reference-cache.ttl-seconds.{영역 소문자}로 바꿀 수 있다 */
+    public enum Region {
+        FACILITIES(600, 256),
+        FACILITY_SLOTS(600, 256),
+        COACHES(300, 32),
+        PRODUCTS(300, 32),
+        SETTINGS(600, 4),
+        ROLE_PERMISSIONS(600, 16),
+        /** (기간, 등급, 상위 N)별 훈련 랭킹 결과. 훈련 기록이 저장되면 비운다 */
+        TRAINING_RANKINGS(300, 64);
+
+        private final long defaultTtlSeconds;
+        private final int maxEntries;
+
+        Region(long defaultTtlSeconds, int maxEntries) {
+            this.defaultTtlSeconds = defaultTtlSeconds;
+            this.maxEntries = maxEntries;
+        }
+    }
+
+    private final boolean enabled;
+    private final Map<Region, Area> areas = new EnumMap<>(Region.class);
+
+    public ReferenceDataCache(@Value("${reference-cache.enabled:true}") boolean enabled, Environment environment) {
+        this.enabled = enabled;
+        for (Region region : Region.values()) {
+            long ttlSeconds = environment.getProperty("reference-cache.ttl-seconds." + region.name().toLowerCase(),
+                    Long.class, region.defaultTtlSeconds);
+            areas.put(region, new Area(ttlSeconds * 1000, region.maxEntries));
+        }
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final long expiresAt;
+
+        Entry(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /** 영역 하나. 접근 순서 LinkedHashMap, 잠금은 영역 객체 */
+    private static final class Area {
+        private final long ttlMs;
+        private final int maxEntries;
+        private final LinkedHashMap<Object, Entry> entries;
+        /** 비울 때마다 증가 — 조회 중에 비워졌으면 그 결과는 넣지 않는다 */
+        private long generation;
+        private long hits;
+        private long misses;
+        private long evictions;
+        private long invalidations;
+
+        Area(long ttlMs, int maxEntries) {
+            this.ttlMs = ttlMs;
+            this.maxEntries = maxEntries;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                    if (size() > Area.this.maxEntries) {
+                        evictions++;
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+
+    /**
+     * 캐시에 있으면 그 값을, 없거나 만료됐으면 loader로 읽어 넣고 반환한다. loader 결과가 null이면 넣지 않는다.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Region region, Object key, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Area area = areas.get(region);
+        long generation;
+        synchronized (area) {
+            Entry entry = area.entries.get(key);
+            if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+                area.hits++;
+                return (T) entry.value;
+            }
+            if (entry != null) {
+                area.entries.remove(key);
+            }
+            area.misses++;
+            generation = area.generation;
+        }
+        T value = loader.get();
+        if (value != null) {
+            synchronized (area) {
+                if (area.generation == generation) {
+                    area.entries.put(key, new Entry(value, System.currentTimeMillis() + area.ttlMs));
+                }
+            }
+        }
+        return value;
+    }
+
+    /** 영역 전체 비움 */
+    public void invalidate(Region region) {
+        Area area = areas.get(region);
+        synchronized (area) {
+            area.entries.clear();
+            area.generation++;
+            area.invalidations++;
+        }
+        logger.debug("기준 데이터 캐시 비움: {}", region);
+    }
+
+    public void invalidateAll() {
+        for (Region region : Region.values()) {
+            invalidate(region);
+        }
+    }
+
+    /** JDBC 일괄 변경 등 엔티티 이벤트가 없는 경로용. 트랜잭션 중이면 완료 후에, 아니면 즉시 */
+    public void invalidateAfterCommit(Region region) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(region);
+                }
+            });
+        } else {
+            invalidate(region);
+        }
+    }
+
+    /** 영역별 적중/실패/제거 통계 (관리자 상태 화면용) */
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("enabled", enabled);
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (Map.Entry<Region, Area> e : areas.entrySet()) {
+            Area area = e.getValue();
+            Map<String, Object> one = new LinkedHashMap<>();
+            synchronized (area) {
+                long lookups = area.hits + area.misses;
+                one.put("size", area.entries.size());
+                one.put("maxEntries", area.maxEntries);
+                one.put("ttlSeconds", area.ttlMs / 1000);
+                one.put("hits", area.hits);
+                one.put("misses", area.misses);
+                one.put("hitRate", lookups > 0 ? Math.round(area.hits * 1000.0 / lookups) / 10.0 : 0.0);
+                one.put("evictions", area.evictions);
+                one.put("invalidations", area.invalidations);
+            }
+            regions.put(e.getKey().name(), one);
+        }
+        out.put("regions", regions);
+        return out;
+    }
+}
@@ -0,0 +1,158 @@
+package com.afbscenter.service;
+
+import com.afbscenter.config.RequestSqlStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 엔드포인트별 요청 SQL 지표와 쿼리 예산.
+ * - 요청마다 SQL 문 수·JDBC 시간을 고정 구간 히스토그램에 누적 (엔드포인트 = HTTP 메서드 + 매핑 패턴, 예: "GET /api/bookings")
+ * - sql-instrumentation.budgets에 정한 SQL 문 수를 넘긴 요청은 SQL_BUDGET 로거로 한 줄만 남긴다
+ * 누적값은 GET /api/db-status/request-sql로 본다 (프로세스 재시작 또는 초기화 API로 비워짐).
+ */
+@Service
+public class RequestSqlMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestSqlMetrics.class);
+    private static final Logger budgetLogger = LoggerFactory.getLogger("SQL_BUDGET");
+
+    /** SQL 문 수 구간 상한 (마지막 구간은 그 이상 전부) */
+    private static final long[] STATEMENT_BUCKETS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000};
+    /** JDBC 시간(ms) 구간 상한 */
+    private static final long[] JDBC_MS_BUCKETS = {1, 5, 10, 25, 50, 100, 250, 500, 1000, 2500};
+
+    private final Map<String, Integer> budgets;
+    private final int defaultBudget;
+    private final Map<String, EndpointHistogram> histograms = new ConcurrentHashMap<>();
+
+    public RequestSqlMetrics(@Value("${sql-instrumentation.budgets:}") String budgets,
+                             @Value("${sql-instrumentation.default-budget:0}") int defaultBudget) {
+        this.budgets = parseBudgets(budgets);
+        this.defaultBudget = Math.max(0, defaultBudget);
+    }
+
+    /** 엔드포인트 SQL 문 예산 (0이면 없음) */
+    public int budgetOf(String endpoint) {
+        return budgets.getOrDefault(endpoint, defaultBudget);
+    }
+
+    /** 요청 하나의 계수를 누적하고 예산을 넘었으면 위반 한 줄을 남긴다 */
+    public void record(String endpoint, RequestSqlStats stats, int status, long elapsedMs) {
+        EndpointHistogram histogram = histograms.computeIfAbsent(endpoint, k -> new EndpointHistogram());
+        histogram.add(stats.getStatements(), stats.getJdbcMillis());
+        int budget = budgetOf(endpoint);
+        if (budget > 0 && stats.getStatements() > budget) {
+            histogram.budgetViolations.increment();
+            budgetLogger.warn("event=sql_budget_exceeded endpoint=\"{}\" status={} statements={} budget={} jdbcMs={} elapsedMs={} entityLoads={} entityLoadsByType=\"{}\"",
+                    endpoint, status, stats.getStatements(), budget, stats.getJdbcMillis(), elapsedMs,
+                    stats.getEntityLoads(), stats.formatEntityLoads());
+        }
+    }
+
+    /** 엔드포인트별 누적 (요청 수 많은 순) */
+    public List<Map<String, Object>> snapshot() {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Map.Entry<String, EndpointHistogram> e : histograms.entrySet()) {
+            EndpointHistogram h = e.getValue();
+            long requests = h.requests.sum();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", e.getKey());
+            row.put("requests", requests);
+            row.put("budget", budgetOf(e.getKey()));
+            row.put("budgetViolations", h.budgetViolations.sum());
+            row.put("statementsAvg", requests > 0 ? Math.round(h.statementTotal.sum() * 10.0 / requests) / 10.0 : 0);
+            row.put("statementsMax", h.statementMax.get());
+            row.put("statementsHistogram", buckets(STATEMENT_BUCKETS, h.statementBuckets));
+            row.put("jdbcMsAvg", requests > 0 ? Math.round(h.jdbcMsTotal.sum() * 10.0 / requests) / 10.0 : 0);
+            row.put("jdbcMsMax", h.jdbcMsMax.get());
+            row.put("jdbcMsHistogram", buckets(JDBC_MS_BUCKETS, h.jdbcMsBuckets));
+            rows.add(row);
+        }
+        rows.sort((a, b) -> Long.compare((Long) b.get("requests"), (Long) a.get("requests")));
+        return rows;
+    }
+
+    public void reset() {
+        histograms.clear();
+        logger.info("요청 SQL 지표 초기화");
+    }
+
+    /** 구간별 건수 (누적 아님): "le=5"는 직전 상한 초과 ~ 5 이하, "le=+Inf"는 마지막 상한 초과 */
+    private static Map<String, Long> buckets(long[] bounds, LongAdder[] counts) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < bounds.length; i++) {
+            result.put("le=" + bounds[i], counts[i].sum());
+        }
+        result.put("le=+Inf", counts[bounds.length].sum());
+        return result;
+    }
+
+    private static int bucketIndex(long[] bounds, long value) {
+        for (int i = 0; i < bounds.length; i++) {
+            if (value <= bounds[i]) return i;
+        }
+        return bounds.length;
+    }
+
+    /**
+     * "GET /api/bookings=80, GET /api/dashboard/expiring-members=20" 형식.
+     * 키는 HTTP 메서드 + 공백 + 컨트롤러 매핑 패턴 (경로 변수는 {id} 그대로).
+     */
+    static Map<String, Integer> parseBudgets(String spec) {
+        if (spec == null || spec.isBlank()) return Collections.emptyMap();
+        Map<String, Integer> result = new HashMap<>();
+        for (String entry : spec.split(",")) {
+            int eq = entry.lastIndexOf('=');
+            if (eq <= 0) continue;
+            String endpoint = entry.substring(0, eq).trim().replaceAll("\\s+", " ");
+            try {
+                int budget = Integer.parseInt(entry.substring(eq + 1).trim());
+                if (budget > 0) result.put(endpoint, budget);
+            } catch (NumberFormatException e) {
+                logger.warn("SQL 예산 설정 무시: {}", entry.trim());
+            }
+        }
+        return result;
+    }
+
+    private static final class EndpointHistogram {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder budgetViolations = new LongAdder();
+        private final LongAdder statementTotal = new LongAdder();
+        private final LongAdder jdbcMsTotal = new LongAdder();
+        private final LongAccumulator statementMax = new LongAccumulator(Math::max, 0);
+        private final LongAccumulator jdbcMsMax = new LongAccumulator(Math::max, 0);
+        private final LongAdder[] statementBuckets = adders(STATEMENT_BUCKETS.length + 1);
+        private final LongAdder[] jdbcMsBuckets = adders(JDBC_MS_BUCKETS.length + 1);
+
+        void add(long statements, long jdbcMs) {
+            requests.increment();
+            statementTotal.add(statements);
+            jdbcMsTotal.add(jdbcMs);
+            statementMax.accumulate(statements);
+            jdbcMsMax.accumulate(jdbcMs);
+            statementBuckets[bucketIndex(STATEMENT_BUCKETS, statements)].increment();
+            jdbcMsBuckets[bucketIndex(JDBC_MS_BUCKETS, jdbcMs)].increment();
+        }
+
+        private static LongAdder[] adders(int n) {
+            LongAdder[] result = new LongAdder[n];
+            for (int i = 0; i < n; i++) {
+                result[i] = new LongAdder();
+            }
+            return result;
+        }
+    }
+}
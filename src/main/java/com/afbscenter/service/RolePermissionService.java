@@ -21,16 +21,24 @@ public class RolePermissionService {
     private static final Logger logger = LoggerFactory.getLogger(RolePermissionService.class);
     
     private final RolePermissionRepository rolePermissionRepository;
+    private final ReferenceDataCache referenceDataCache;
 
     @Autowired
-    public RolePermissionService(RolePermissionRepository rolePermissionRepository) {
+    public RolePermissionService(RolePermissionRepository rolePermissionRepository, ReferenceDataCache referenceDataCache) {
         this.rolePermissionRepository = rolePermissionRepository;
+        this.referenceDataCache = referenceDataCache;
+    }
+
+    // 저장된 권한 전체 (기준 데이터 캐시, 읽기 전용 목록)
+    private List<RolePermission> cachedPermissions() {
+        return referenceDataCache.get(ReferenceDataCache.Region.ROLE_PERMISSIONS, "all",
+                () -> List.copyOf(rolePermissionRepository.findAll()));
     }
 
     // 모든 역할의 권한 조회
     @Transactional(readOnly = true)
     public Map<String, RolePermission> getAllRolePermissions() {
-        List<RolePermission> permissions = rolePermissionRepository.findAll();
+        List<RolePermission> permissions = cachedPermissions();
         Map<String, RolePermission> result = new HashMap<>();
         
         // 기본 역할들
@@ -56,7 +64,9 @@ public class RolePermissionService {
     // 특정 역할의 권한 조회
     @Transactional(readOnly = true)
     public RolePermission getRolePermission(String role) {
-        return rolePermissionRepository.findByRole(role)
+        return cachedPermissions().stream()
+                .filter(p -> role != null && role.equals(p.getRole()))
+                .findFirst()
                 .orElseGet(() -> createDefaultPermissions(role));
     }
 
@@ -0,0 +1,430 @@
+package com.afbscenter.service;
+
+import com.afbscenter.config.TrainingMetricSeriesListener;
+import com.afbscenter.model.TrainingLog;
+import com.afbscenter.repository.TrainingLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 회원별 훈련 지표 시계열 (회원 상세 능력치 탭의 추이).
+ * - 회원 한 명의 훈련 기록을 지표마다 열 배열(날짜 epochDay int[], 값 double[])로 들고, 일/주/월 구간 집계(개수·합·최소·최대)를 함께 유지한다
+ * - 새 훈련 기록이 커밋되면 커밋 후 리스너({@link TrainingMetricSeriesListener})가 올라와 있는 회원 시계열에 바로 덧붙인다.
+ *   수정/삭제는 그 회원 시계열을 버리고 다음 조회 때 다시 읽는다
+ * - 조회는 기간 안 점 개수가 maxPoints 이하가 되는 가장 촘촘한 해상도(원본 → 일 → 주 → 월)를 고르므로 몇 년치도 수십 점으로 그린다
+ * - 요약: 기간 내 원본 값의 개수·최소·최대·평균·백분위(p25/p50/p75/p90)·추세 기울기(30일당 변화량, 최소제곱)
+ * - JDBC 일괄 삭제처럼 이벤트가 없는 경로는 {@link #invalidateAfterCommit(Long)} / {@link #invalidateAllAfterCommit()}을 호출한다
+ */
+@Service
+public class TrainingMetricSeriesService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrainingMetricSeriesService.class);
+
+    /** 메모리에 유지하는 회원 시계열 수 */
+    static final int MAX_CACHED_MEMBERS = 512;
+    /** 조회 시 기본 최대 점 개수 */
+    public static final int DEFAULT_MAX_POINTS = 60;
+
+    /** 지표. 순서는 {@link TrainingLogRepository#findMetricRowsByMemberId}의 값 열 순서와 같다 */
+    public enum Metric {
+        SWING_SPEED("swingSpeed", true),
+        BALL_SPEED("ballSpeed", true),
+        LAUNCH_ANGLE("launchAngle", false),
+        CONTACT_RATE("contactRate", true),
+        PITCH_SPEED("pitchSpeed", true),
+        SPIN_RATE("spinRate", true),
+        STRIKE_RATE("strikeRate", true),
+        RUNNING_DISTANCE("runningDistance", true),
+        CONDITION_SCORE("conditionScore", true);
+
+        private final String key;
+        /** 0 이하는 미측정으로 보고 빼는 지표 (랭킹과 같은 기준) */
+        private final boolean positiveOnly;
+
+        Metric(String key, boolean positiveOnly) {
+            this.key = key;
+            this.positiveOnly = positiveOnly;
+        }
+
+        public String key() {
+            return key;
+        }
+
+        /** swingSpeed 같은 응답 키 또는 SWING_SPEED 이름 */
+        public static Metric fromKey(String value) {
+            for (Metric m : values()) {
+                if (m.key.equalsIgnoreCase(value) || m.name().equalsIgnoreCase(value)) {
+                    return m;
+                }
+            }
+            throw new IllegalArgumentException("알 수 없는 지표: " + value);
+        }
+    }
+
+    public enum Resolution { RAW, DAY, WEEK, MONTH }
+
+    private final TrainingLogRepository trainingLogRepository;
+
+    /** 회원 ID → 시계열. 접근 순서 유지, 잠금은 members */
+    private final LinkedHashMap<Long, MemberSeries> members = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, MemberSeries> eldest) {
+            return size() > MAX_CACHED_MEMBERS;
+        }
+    };
+    /** 변경 이벤트마다 증가 — 읽는 도중 변경이 있었으면 읽은 결과를 캐시에 넣지 않는다 (잠금은 members) */
+    private long changeCount;
+
+    public TrainingMetricSeriesService(TrainingLogRepository trainingLogRepository) {
+        this.trainingLogRepository = trainingLogRepository;
+    }
+
+    /**
+     * 기간 시계열과 요약.
+     *
+     * @param resolution null이면 maxPoints에 맞춰 자동 선택
+     */
+    public Map<String, Object> query(Long memberId, Metric metric, LocalDate start, LocalDate end,
+                                     Resolution resolution, int maxPoints) {
+        int from = (int) start.toEpochDay();
+        int to = (int) end.toEpochDay();
+        int limit = maxPoints > 0 ? maxPoints : DEFAULT_MAX_POINTS;
+        MemberSeries series = load(memberId);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("memberId", memberId);
+        result.put("metric", metric.key());
+        result.put("start", start.toString());
+        result.put("end", end.toString());
+        synchronized (series) {
+            Column column = series.columns.get(metric);
+            Resolution chosen = resolution != null ? resolution : column.pickResolution(from, to, limit);
+            result.put("resolution", chosen.name());
+            result.put("points", column.points(chosen, from, to));
+            result.put("summary", column.summary(from, to));
+        }
+        return result;
+    }
+
+    /** 새 훈련 기록 반영 (커밋 후 리스너). 올라와 있지 않은 회원은 다음 조회 때 읽으므로 건너뛴다 */
+    public void append(Long memberId, TrainingLog log) {
+        if (memberId == null || log.getRecordDate() == null) return;
+        MemberSeries series;
+        synchronized (members) {
+            changeCount++;
+            series = members.get(memberId);
+        }
+        if (series == null) return;
+        int day = (int) log.getRecordDate().toEpochDay();
+        synchronized (series) {
+            for (Metric metric : Metric.values()) {
+                Double value = valueOf(log, metric);
+                if (accepts(metric, value)) {
+                    series.columns.get(metric).add(day, value);
+                }
+            }
+        }
+    }
+
+    /** 수정/삭제된 기록의 회원 시계열을 버림 */
+    public void invalidate(Long memberId) {
+        if (memberId == null) return;
+        synchronized (members) {
+            changeCount++;
+            members.remove(memberId);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (members) {
+            changeCount++;
+            members.clear();
+        }
+        logger.debug("훈련 지표 시계열 전체 비움");
+    }
+
+    public void invalidateAfterCommit(Long memberId) {
+        afterCommit(() -> invalidate(memberId));
+    }
+
+    public void invalidateAllAfterCommit() {
+        afterCommit(this::invalidateAll);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private MemberSeries load(Long memberId) {
+        long seen;
+        synchronized (members) {
+            MemberSeries cached = members.get(memberId);
+            if (cached != null) return cached;
+            seen = changeCount;
+        }
+        MemberSeries series = new MemberSeries();
+        for (Object[] row : trainingLogRepository.findMetricRowsByMemberId(memberId)) {
+            int day = (int) ((LocalDate) row[0]).toEpochDay();
+            for (Metric metric : Metric.values()) {
+                Object raw = row[metric.ordinal() + 1];
+                Double value = raw != null ? ((Number) raw).doubleValue() : null;
+                if (accepts(metric, value)) {
+                    series.columns.get(metric).add(day, value);
+                }
+            }
+        }
+        synchronized (members) {
+            if (changeCount == seen) {
+                members.put(memberId, series);
+            }
+        }
+        return series;
+    }
+
+    private static boolean accepts(Metric metric, Double value) {
+        return value != null && !value.isNaN() && (!metric.positiveOnly || value > 0);
+    }
+
+    private static Double valueOf(TrainingLog log, Metric metric) {
+        switch (metric) {
+            case SWING_SPEED: return log.getSwingSpeed();
+            case BALL_SPEED: return log.getBallSpeed();
+            case LAUNCH_ANGLE: return log.getLaunchAngle();
+            case CONTACT_RATE: return log.getContactRate();
+            case PITCH_SPEED: return log.getPitchSpeed();
+            case SPIN_RATE: return log.getSpinRate() != null ? log.getSpinRate().doubleValue() : null;
+            case STRIKE_RATE: return log.getStrikeRate();
+            case RUNNING_DISTANCE: return log.getRunningDistance();
+            case CONDITION_SCORE: return log.getConditionScore() != null ? log.getConditionScore().doubleValue() : null;
+            default: return null;
+        }
+    }
+
+    /** 구간 시작일 (주는 월요일, 월은 1일) */
+    static int bucketStart(Resolution resolution, int epochDay) {
+        switch (resolution) {
+            case WEEK:
+                return (int) LocalDate.ofEpochDay(epochDay).with(DayOfWeek.MONDAY).toEpochDay();
+            case MONTH:
+                return (int) LocalDate.ofEpochDay(epochDay).withDayOfMonth(1).toEpochDay();
+            default:
+                return epochDay;
+        }
+    }
+
+    private static final class MemberSeries {
+        private final Map<Metric, Column> columns = new EnumMap<>(Metric.class);
+
+        MemberSeries() {
+            for (Metric metric : Metric.values()) {
+                columns.put(metric, new Column());
+            }
+        }
+    }
+
+    /** 지표 하나의 원본 점(날짜순)과 일/주/월 구간 집계 */
+    private static final class Column {
+        private int[] days = new int[0];
+        private double[] values = new double[0];
+        private int size;
+        private final Buckets daily = new Buckets(Resolution.DAY);
+        private final Buckets weekly = new Buckets(Resolution.WEEK);
+        private final Buckets monthly = new Buckets(Resolution.MONTH);
+
+        void add(int day, double value) {
+            if (size == days.length) {
+                int capacity = Math.max(8, size * 2);
+                days = Arrays.copyOf(days, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            // 보통 마지막 날짜 이후라 뒤에 붙는다. 과거 날짜 기록이면 같은 날짜 묶음 뒤에 끼운다
+            int pos = upperBound(days, size, day);
+            if (pos < size) {
+                System.arraycopy(days, pos, days, pos + 1, size - pos);
+                System.arraycopy(values, pos, values, pos + 1, size - pos);
+            }
+            days[pos] = day;
+            values[pos] = value;
+            size++;
+            daily.add(day, value);
+            weekly.add(day, value);
+            monthly.add(day, value);
+        }
+
+        Buckets buckets(Resolution resolution) {
+            switch (resolution) {
+                case DAY: return daily;
+                case WEEK: return weekly;
+                default: return monthly;
+            }
+        }
+
+        Resolution pickResolution(int from, int to, int maxPoints) {
+            if (upperBound(days, size, to) - lowerBound(days, size, from) <= maxPoints) return Resolution.RAW;
+            for (Resolution r : new Resolution[]{Resolution.DAY, Resolution.WEEK}) {
+                if (buckets(r).count(from, to) <= maxPoints) return r;
+            }
+            return Resolution.MONTH;
+        }
+
+        List<Map<String, Object>> points(Resolution resolution, int from, int to) {
+            List<Map<String, Object>> out = new ArrayList<>();
+            if (resolution == Resolution.RAW) {
+                for (int i = lowerBound(days, size, from), hi = upperBound(days, size, to); i < hi; i++) {
+                    Map<String, Object> p = new LinkedHashMap<>();
+                    p.put("date", LocalDate.ofEpochDay(days[i]).toString());
+                    p.put("value", values[i]);
+                    out.add(p);
+                }
+                return out;
+            }
+            Buckets b = buckets(resolution);
+            // 범위 시작이 구간 중간이면 그 구간(범위 밖 날짜 포함 집계)도 넣는다
+            int first = bucketStart(resolution, from);
+            for (int i = lowerBound(b.starts, b.size, first), hi = upperBound(b.starts, b.size, to); i < hi; i++) {
+                Map<String, Object> p = new LinkedHashMap<>();
+                p.put("date", LocalDate.ofEpochDay(b.starts[i]).toString());
+                p.put("value", b.sums[i] / b.counts[i]);
+                p.put("min", b.mins[i]);
+                p.put("max", b.maxs[i]);
+                p.put("count", b.counts[i]);
+                out.add(p);
+            }
+            return out;
+        }
+
+        Map<String, Object> summary(int from, int to) {
+            int lo = lowerBound(days, size, from);
+            int hi = upperBound(days, size, to);
+            int n = hi - lo;
+            Map<String, Object> s = new LinkedHashMap<>();
+            s.put("count", n);
+            if (n == 0) {
+                return s;
+            }
+            double[] sorted = Arrays.copyOfRange(values, lo, hi);
+            Arrays.sort(sorted);
+            double sum = 0, sumX = 0, sumXX = 0, sumXY = 0;
+            for (int i = lo; i < hi; i++) {
+                double x = days[i] - days[lo];
+                sum += values[i];
+                sumX += x;
+                sumXX += x * x;
+                sumXY += x * values[i];
+            }
+            s.put("min", sorted[0]);
+            s.put("max", sorted[n - 1]);
+            s.put("avg", sum / n);
+            s.put("p25", percentile(sorted, 25));
+            s.put("p50", percentile(sorted, 50));
+            s.put("p75", percentile(sorted, 75));
+            s.put("p90", percentile(sorted, 90));
+            s.put("first", values[lo]);
+            s.put("last", values[hi - 1]);
+            double denominator = n * sumXX - sumX * sumX;
+            s.put("slopePer30Days", denominator > 0 ? (n * sumXY - sumX * sum) / denominator * 30 : null);
+            return s;
+        }
+    }
+
+    /** 해상도 하나의 구간 집계 (구간 시작일순) */
+    private static final class Buckets {
+        private final Resolution resolution;
+        private int[] starts = new int[0];
+        private int[] counts = new int[0];
+        private double[] sums = new double[0];
+        private double[] mins = new double[0];
+        private double[] maxs = new double[0];
+        private int size;
+
+        Buckets(Resolution resolution) {
+            this.resolution = resolution;
+        }
+
+        void add(int day, double value) {
+            int start = bucketStart(resolution, day);
+            int pos = lowerBound(starts, size, start);
+            if (pos < size && starts[pos] == start) {
+                counts[pos]++;
+                sums[pos] += value;
+                mins[pos] = Math.min(mins[pos], value);
+                maxs[pos] = Math.max(maxs[pos], value);
+                return;
+            }
+            if (size == starts.length) {
+                int capacity = Math.max(8, size * 2);
+                starts = Arrays.copyOf(starts, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+                sums = Arrays.copyOf(sums, capacity);
+                mins = Arrays.copyOf(mins, capacity);
+                maxs = Arrays.copyOf(maxs, capacity);
+            }
+            if (pos < size) {
+                System.arraycopy(starts, pos, starts, pos + 1, size - pos);
+                System.arraycopy(counts, pos, counts, pos + 1, size - pos);
+                System.arraycopy(sums, pos, sums, pos + 1, size - pos);
+                System.arraycopy(mins, pos, mins, pos + 1, size - pos);
+                System.arraycopy(maxs, pos, maxs, pos + 1, size - pos);
+            }
+            starts[pos] = start;
+            counts[pos] = 1;
+            sums[pos] = value;
+            mins[pos] = value;
+            maxs[pos] = value;
+            size++;
+        }
+
+        int count(int from, int to) {
+            return upperBound(starts, size, to) - lowerBound(starts, size, bucketStart(resolution, from));
+        }
+    }
+
+    /** 선형 보간 백분위 (sorted는 오름차순) */
+    static double percentile(double[] sorted, int p) {
+        double rank = (sorted.length - 1) * p / 100.0;
+        int lower = (int) Math.floor(rank);
+        int upper = (int) Math.ceil(rank);
+        return sorted[lower] + (sorted[upper] - sorted[lower]) * (rank - lower);
+    }
+
+    /** key 이상인 첫 위치 */
+    private static int lowerBound(int[] a, int size, int key) {
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] < key) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    /** key 초과인 첫 위치 */
+    private static int upperBound(int[] a, int size, int key) {
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] <= key) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,168 @@
+package com.afbscenter.service;
+
+import com.afbscenter.model.Member;
+import com.afbscenter.repository.TrainingLogRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 훈련 기록 랭킹 (/api/training-logs/rankings, 인증 없이 열린 경로).
+ * - 회원·지표별 최대/합/개수를 GROUP BY 쿼리 한 번으로 받고, 기록 행·회원 엔티티는 읽지 않는다
+ * - 지표별 순위는 double 배열 위의 힙으로 상위 N개만 고른다 (limit 0이면 전원)
+ * - 결과는 (기간, 등급, limit)별로 {@link ReferenceDataCache.Region#TRAINING_RANKINGS}에 두고, 훈련 기록이 저장되거나 회원 이름·번호·등급이 바뀌면 비운다
+ */
+@Service
+public class TrainingRankingService {
+
+    /** 응답 키 접두어 (swingSpeedMax, swingSpeedRanking ...) — 쿼리 열 순서와 같다 */
+    private static final String[] METRICS = {"swingSpeed", "ballSpeed", "pitchSpeed", "contactRate", "strikeRate"};
+    /** 쿼리 결과에서 첫 지표 열 위치 (회원ID, 이름, 회원번호, 등급, 기록 수 다음) */
+    private static final int FIRST_METRIC_COLUMN = 5;
+
+    private final TrainingLogRepository trainingLogRepository;
+    private final ReferenceDataCache referenceDataCache;
+
+    public TrainingRankingService(TrainingLogRepository trainingLogRepository,
+                                  ReferenceDataCache referenceDataCache) {
+        this.trainingLogRepository = trainingLogRepository;
+        this.referenceDataCache = referenceDataCache;
+    }
+
+    /**
+     * 기간·등급별 랭킹. 반환 맵은 캐시와 공유하므로 호출 측은 복사본에 덧붙인다.
+     *
+     * @param grade null이면 전체 등급
+     * @param limit 지표별 상위 몇 명까지 (0 이하면 전원)
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getRankings(LocalDate start, LocalDate end, Member.MemberGrade grade, int limit) {
+        String key = start + "|" + end + "|" + (grade != null ? grade.name() : "ALL") + "|" + Math.max(limit, 0);
+        return referenceDataCache.get(ReferenceDataCache.Region.TRAINING_RANKINGS, key,
+                () -> Collections.unmodifiableMap(compute(start, end, grade, limit)));
+    }
+
+    private Map<String, Object> compute(LocalDate start, LocalDate end, Member.MemberGrade grade, int limit) {
+        List<Object[]> rows = trainingLogRepository.aggregateRankingStats(start, end, grade);
+        int n = rows.size();
+        double[] totalRecords = new double[n];
+        double[][] maxByMetric = new double[METRICS.length][n];
+        List<Map<String, Object>> members = new ArrayList<>(n);
+
+        for (int i = 0; i < n; i++) {
+            Object[] row = rows.get(i);
+            int records = ((Number) row[4]).intValue();
+            totalRecords[i] = records;
+
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("memberId", row[0]);
+            stats.put("memberName", row[1]);
+            stats.put("memberNumber", row[2]);
+            stats.put("memberGrade", row[3] != null ? ((Member.MemberGrade) row[3]).name() : "SOCIAL");
+            stats.put("totalRecords", records);
+            for (int m = 0; m < METRICS.length; m++) {
+                int col = FIRST_METRIC_COLUMN + m * 3;
+                double max = row[col] != null ? ((Number) row[col]).doubleValue() : 0.0;
+                double sum = row[col + 1] != null ? ((Number) row[col + 1]).doubleValue() : 0.0;
+                int count = row[col + 2] != null ? ((Number) row[col + 2]).intValue() : 0;
+                maxByMetric[m][i] = max;
+                stats.put(METRICS[m] + "Max", max);
+                stats.put(METRICS[m] + "Avg", count > 0 ? sum / count : 0.0);
+                stats.put(METRICS[m] + "Count", count);
+                stats.put(METRICS[m] + "Sum", sum);
+            }
+            members.add(stats);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("totalMembers", n);
+        for (int m = 0; m < METRICS.length; m++) {
+            result.put(METRICS[m] + "Ranking", pick(members, topIndices(maxByMetric[m], limit)));
+        }
+        result.put("recordCountRanking", pick(members, topIndices(totalRecords, limit)));
+        return result;
+    }
+
+    private static List<Map<String, Object>> pick(List<Map<String, Object>> members, int[] indices) {
+        List<Map<String, Object>> out = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            out.add(members.get(index));
+        }
+        return List.copyOf(out);
+    }
+
+    /**
+     * 0보다 큰 값 중 큰 순서로 최대 limit개의 위치 (limit 0 이하면 전부).
+     * 크기 k의 최소 힙(루트 = 현재 k개 중 가장 낮은 순위)으로 O(n log k). 같은 값이면 앞 행(회원ID 작은 쪽)이 먼저
+     */
+    static int[] topIndices(double[] values, int limit) {
+        int candidates = 0;
+        for (double v : values) {
+            if (v > 0) candidates++;
+        }
+        int k = limit > 0 ? Math.min(limit, candidates) : candidates;
+        int[] heap = new int[k];
+        int size = 0;
+        if (k > 0) {
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] <= 0) continue;
+                if (size < k) {
+                    heap[size] = i;
+                    siftUp(heap, size, values);
+                    size++;
+                } else if (ranksBelow(heap[0], i, values)) {
+                    heap[0] = i;
+                    siftDown(heap, size, values);
+                }
+            }
+        }
+        int[] ordered = new int[size];
+        for (int j = size - 1; j >= 0; j--) {
+            ordered[j] = heap[0];
+            heap[0] = heap[j];
+            siftDown(heap, j, values);
+        }
+        return ordered;
+    }
+
+    /** a가 b보다 순위가 낮은지 (값이 작거나, 같으면 뒤 행) */
+    private static boolean ranksBelow(int a, int b, double[] values) {
+        return values[a] < values[b] || (values[a] == values[b] && a > b);
+    }
+
+    private static void siftUp(int[] heap, int pos, double[] values) {
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (!ranksBelow(heap[pos], heap[parent], values)) break;
+            int tmp = heap[pos];
+            heap[pos] = heap[parent];
+            heap[parent] = tmp;
+            pos = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, double[] values) {
+        int pos = 0;
+        while (true) {
+            int left = 2 * pos + 1;
+            if (left >= size) break;
+            int lowest = left;
+            int right = left + 1;
+            if (right < size && ranksBelow(heap[right], heap[left], values)) {
+                lowest = right;
+            }
+            if (!ranksBelow(heap[lowest], heap[pos], values)) break;
+            int tmp = heap[pos];
+            heap[pos] = heap[lowest];
+            heap[lowest] = tmp;
+            pos = lowest;
+        }
+    }
+}
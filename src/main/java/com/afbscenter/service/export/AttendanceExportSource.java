@@ -0,0 +1,54 @@
+package com.afbscenter.service.export;
+
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * 출석 기록. 기간을 주면 출석일 기준.
+ */
+@Component
+public class AttendanceExportSource extends JdbcCursorRowSource {
+
+    private static final String FROM_WHERE = " FROM attendances a"
+            + " LEFT JOIN members m ON m.id = a.member_id"
+            + " LEFT JOIN facilities f ON f.id = a.facility_id";
+    private static final String RANGE = " WHERE a.date >= ? AND a.date <= ?";
+
+    public AttendanceExportSource(DataSource dataSource) {
+        super(dataSource);
+    }
+
+    @Override
+    public String key() {
+        return "attendances";
+    }
+
+    @Override
+    public String title() {
+        return "출석";
+    }
+
+    @Override
+    public List<String> headers() {
+        return List.of("출석ID", "날짜", "체크인", "체크아웃", "회원번호", "회원", "시설", "상태", "패널티", "예약ID", "메모");
+    }
+
+    @Override
+    protected String selectSql(ExportRequest request) {
+        return "SELECT a.id, a.date, a.check_in_time, a.check_out_time, m.member_number, m.name, f.name,"
+                + " a.status, a.penalty_applied, a.booking_id, a.memo"
+                + FROM_WHERE + (request.hasRange() ? RANGE : "") + " ORDER BY a.date, a.id";
+    }
+
+    @Override
+    protected String countSql(ExportRequest request) {
+        return "SELECT COUNT(*) FROM attendances a" + (request.hasRange() ? RANGE : "");
+    }
+
+    @Override
+    protected Object[] params(ExportRequest request) {
+        return request.hasRange() ? new Object[]{request.getFrom(), request.getTo()} : new Object[0];
+    }
+}
@@ -0,0 +1,52 @@
+package com.afbscenter.service.export;
+
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * 예약 목록. 기간 조건은 {@code BookingRepository.findByDateRange}와 같이 시작 시각 기준 (시작일 00:00 ~ 종료일 23:59:59.999).
+ */
+@Component
+public class BookingExportSource extends JdbcCursorRowSource {
+
+    private static final String FROM_WHERE = " FROM bookings b"
+            + " LEFT JOIN facilities f ON f.id = b.facility_id"
+            + " LEFT JOIN members m ON m.id = b.member_id"
+            + " LEFT JOIN coaches c ON c.id = b.coach_id";
+    private static final String RANGE = " WHERE b.start_time >= ? AND b.start_time <= ?";
+
+    public BookingExportSource(DataSource dataSource) {
+        super(dataSource);
+    }
+
+    @Override
+    public String key() {
+        return "bookings";
+    }
+
+    @Override
+    public String title() {
+        return "예약";
+    }
+
+    @Override
+    public List<String> headers() {
+        return List.of("예약ID", "시작", "종료", "시설", "지점", "회원번호", "회원/비회원", "코치", "목적", "레슨종류",
+                "상태", "인원", "이용권ID", "메모");
+    }
+
+    @Override
+    protected String selectSql(ExportRequest request) {
+        return "SELECT b.id, b.start_time, b.end_time, f.name, b.branch, m.member_number,"
+                + " COALESCE(m.name, b.non_member_name), c.name, b.purpose, b.lesson_category,"
+                + " b.status, b.participants, b.member_product_id, b.memo"
+                + FROM_WHERE + (request.hasRange() ? RANGE : "") + " ORDER BY b.start_time, b.id";
+    }
+
+    @Override
+    protected String countSql(ExportRequest request) {
+        return "SELECT COUNT(*) FROM bookings b" + (request.hasRange() ? RANGE : "");
+    }
+}
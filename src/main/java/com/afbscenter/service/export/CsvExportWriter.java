@@ -0,0 +1,67 @@
+package com.afbscenter.service.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV. 엑셀에서 한글이 깨지지 않도록 UTF-8 BOM을 먼저 쓴다.
+ */
+public class CsvExportWriter implements ExportWriter {
+
+    private final Writer writer;
+
+    public CsvExportWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    @Override
+    public void header(List<String> headers) throws IOException {
+        writer.write('\uFEFF');
+        writeLine(headers.toArray());
+    }
+
+    @Override
+    public void row(Object[] values) throws IOException {
+        writeLine(values);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+
+    private void writeLine(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeField(values[i]);
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeField(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String s = value.toString();
+        boolean quote = s.indexOf(',') >= 0 || s.indexOf('"') >= 0 || s.indexOf('\n') >= 0 || s.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(s);
+            return;
+        }
+        writer.write('"');
+        writer.write(s.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
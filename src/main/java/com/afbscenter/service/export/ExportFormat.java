@@ -0,0 +1,93 @@
+package com.afbscenter.service.export;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 내보내기 형식. 요청 파라미터는 소문자 이름 ({@code xlsx}, {@code csv}, {@code csv-gz}).
+ */
+public enum ExportFormat {
+    XLSX("xlsx", ".xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"),
+    CSV("csv", ".csv", "text/csv; charset=UTF-8"),
+    CSV_GZIP("csv-gz", ".csv.gz", "application/gzip");
+
+    private final String param;
+    private final String extension;
+    private final String contentType;
+
+    ExportFormat(String param, String extension, String contentType) {
+        this.param = param;
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public ExportWriter open(OutputStream out, String sheetName) throws IOException {
+        switch (this) {
+            case XLSX:
+                return new XlsxExportWriter(out, sheetName);
+            case CSV:
+                return new CsvExportWriter(out);
+            case CSV_GZIP:
+                GZIPOutputStream gzip = new GZIPOutputStream(new NonClosingOutputStream(out), 8192);
+                return new CsvExportWriter(gzip) {
+                    @Override
+                    public void finish() throws IOException {
+                        super.finish();
+                        gzip.finish();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        super.close();
+                        gzip.close();
+                    }
+                };
+            default:
+                throw new IllegalStateException("지원하지 않는 형식: " + this);
+        }
+    }
+
+    /** 없는 값이면 IllegalArgumentException, 비어 있으면 XLSX */
+    public static ExportFormat fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return XLSX;
+        }
+        for (ExportFormat f : values()) {
+            if (f.param.equalsIgnoreCase(value.trim())) {
+                return f;
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 내보내기 형식입니다: " + value);
+    }
+
+    /** gzip 종료 시 원래 스트림(응답·파일)까지 닫히지 않도록 감쌈 */
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.afbscenter.service.export;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 백그라운드 내보내기 작업 상태. 진행률 조회는 다른 스레드에서 읽으므로 변경 필드는 volatile/Atomic.
+ */
+public class ExportJob {
+
+    public enum Status {
+        QUEUED,     // 대기
+        RUNNING,    // 작성 중
+        DONE,       // 다운로드 가능
+        FAILED      // 실패
+    }
+
+    private final String id;
+    private final String sourceKey;
+    private final String title;
+    private final ExportFormat format;
+    private final ExportRequest request;
+    private final String requestedBy;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private volatile Status status = Status.QUEUED;
+    private volatile long totalRows = -1L;
+    private volatile Path file;
+    private volatile String error;
+    private volatile LocalDateTime finishedAt;
+
+    ExportJob(String id, ExportRowSource source, ExportFormat format, ExportRequest request, String requestedBy) {
+        this.id = id;
+        this.sourceKey = source.key();
+        this.title = source.title();
+        this.format = format;
+        this.request = request;
+        this.requestedBy = requestedBy;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getSourceKey() {
+        return sourceKey;
+    }
+
+    public ExportFormat getFormat() {
+        return format;
+    }
+
+    public ExportRequest getRequest() {
+        return request;
+    }
+
+    public String getRequestedBy() {
+        return requestedBy;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    /** 다운로드 파일 이름 (예: 예약_2026-01-01_2026-12-31.xlsx) */
+    public String getFileName() {
+        String range = request.hasRange() ? "_" + request.getFrom() + "_" + request.getTo() : "_전체";
+        return title + range + format.getExtension();
+    }
+
+    AtomicLong rowsWrittenCounter() {
+        return rowsWritten;
+    }
+
+    void running(long totalRows) {
+        this.totalRows = totalRows;
+        this.status = Status.RUNNING;
+    }
+
+    void done(Path file) {
+        this.file = file;
+        this.finishedAt = LocalDateTime.now();
+        this.status = Status.DONE;
+    }
+
+    void failed(String error) {
+        this.error = error;
+        this.finishedAt = LocalDateTime.now();
+        this.status = Status.FAILED;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        long rows = rowsWritten.get();
+        map.put("jobId", id);
+        map.put("type", sourceKey);
+        map.put("format", format.getParam());
+        map.put("status", status.name());
+        map.put("rowsWritten", rows);
+        map.put("totalRows", totalRows >= 0 ? totalRows : null);
+        int progress = status == Status.DONE ? 100
+                : (totalRows > 0 ? (int) Math.min(99, rows * 100 / totalRows) : 0);
+        map.put("progress", progress);
+        map.put("createdAt", createdAt.toString());
+        map.put("finishedAt", finishedAt != null ? finishedAt.toString() : null);
+        map.put("fileName", getFileName());
+        if (status == Status.DONE) {
+            map.put("downloadUrl", "/api/exports/jobs/" + id + "/download");
+        }
+        if (error != null) {
+            map.put("error", error);
+        }
+        return map;
+    }
+}
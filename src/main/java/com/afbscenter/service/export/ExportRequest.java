@@ -0,0 +1,42 @@
+package com.afbscenter.service.export;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * 내보내기 조건. 시작·종료일이 모두 있으면 원본별 기준일(예약 시작, 출석일 등)로 기간을 제한하고, 없으면 전체.
+ */
+public final class ExportRequest {
+
+    private final LocalDate from;
+    private final LocalDate to;
+
+    public ExportRequest(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("시작일이 종료일보다 늦습니다.");
+        }
+        this.from = from;
+        this.to = to;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public boolean hasRange() {
+        return from != null && to != null;
+    }
+
+    public LocalDateTime fromDateTime() {
+        return from.atStartOfDay();
+    }
+
+    public LocalDateTime toDateTime() {
+        return to.atTime(LocalTime.MAX);
+    }
+}
@@ -0,0 +1,12 @@
+package com.afbscenter.service.export;
+
+import java.io.IOException;
+
+/**
+ * 원본에서 읽은 한 행을 받아 바로 기록하는 대상. 행 배열은 호출 후 재사용될 수 있으므로 보관하지 않는다.
+ */
+@FunctionalInterface
+public interface ExportRowSink {
+
+    void accept(Object[] row) throws IOException;
+}
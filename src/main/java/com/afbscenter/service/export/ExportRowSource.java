@@ -0,0 +1,24 @@
+package com.afbscenter.service.export;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 내보내기 원본. 구현체는 전체 결과를 메모리에 올리지 않고 커서로 한 행씩 {@link ExportRowSink}에 넘긴다.
+ */
+public interface ExportRowSource {
+
+    /** URL 경로에 쓰는 식별자 (예: members, bookings) */
+    String key();
+
+    /** 시트·파일 이름 */
+    String title();
+
+    List<String> headers();
+
+    /** 진행률 표시용 대상 행 수 */
+    long count(ExportRequest request);
+
+    /** @return 넘긴 행 수 */
+    long stream(ExportRequest request, ExportRowSink sink) throws IOException;
+}
@@ -0,0 +1,165 @@
+package com.afbscenter.service.export;
+
+import com.afbscenter.util.BoundedExecutor;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 회원·예약·출석·훈련기록 내보내기.
+ * - 작은 범위는 요청 스레드에서 응답 스트림으로 바로 기록 ({@link #export})
+ * - 큰 범위는 백그라운드 작업으로 임시 파일에 기록하고 진행률 조회 후 다운로드 ({@link #submit})
+ * 완료된 작업 파일은 {@link #JOB_RETENTION_MINUTES}분 뒤 정리한다.
+ */
+@Service
+public class ExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+
+    /** 요청 스레드에서 바로 내보낼 수 있는 최대 행 수 (넘으면 백그라운드 작업 사용) */
+    public static final long SYNC_ROW_LIMIT = 20_000L;
+    static final long JOB_RETENTION_MINUTES = 60L;
+    static final int MAX_ACTIVE_JOBS = 10;
+    /** 동시에 실행하는 작업 수 (나머지는 대기) */
+    static final int MAX_RUNNING_JOBS = 2;
+
+    private final Map<String, ExportRowSource> sources = new LinkedHashMap<>();
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+    private final Executor jobExecutor;
+
+    public ExportService(List<ExportRowSource> rowSources,
+                         @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor) {
+        this.jobExecutor = new BoundedExecutor(taskExecutor, MAX_RUNNING_JOBS, "export-job");
+        for (ExportRowSource source : rowSources) {
+            sources.put(source.key(), source);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExportJob job : jobs.values()) {
+            deleteQuietly(job.getFile());
+        }
+        jobs.clear();
+    }
+
+    public Set<String> sourceKeys() {
+        return sources.keySet();
+    }
+
+    /** 없는 종류면 IllegalArgumentException */
+    public ExportRowSource source(String key) {
+        ExportRowSource source = sources.get(key);
+        if (source == null) {
+            throw new IllegalArgumentException("지원하지 않는 내보내기 종류입니다: " + key);
+        }
+        return source;
+    }
+
+    /**
+     * 원본을 커서로 읽으며 {@code out}에 바로 기록. {@code out}은 닫지 않는다.
+     *
+     * @return 기록한 데이터 행 수
+     */
+    public long export(ExportRowSource source, ExportFormat format, ExportRequest request, OutputStream out) throws IOException {
+        return write(source, format, request, out, new AtomicLong());
+    }
+
+    private long write(ExportRowSource source, ExportFormat format, ExportRequest request, OutputStream out,
+                       AtomicLong progress) throws IOException {
+        long started = System.currentTimeMillis();
+        long rows;
+        try (ExportWriter writer = format.open(out, source.title())) {
+            writer.header(source.headers());
+            rows = source.stream(request, values -> {
+                writer.row(values);
+                progress.incrementAndGet();
+            });
+            writer.finish();
+        }
+        logger.info("내보내기 완료: {} {}행 ({}), {}ms", source.key(), rows, format.getParam(),
+                System.currentTimeMillis() - started);
+        return rows;
+    }
+
+    /**
+     * 백그라운드 작업 등록. 동시에 진행 중인 작업이 {@link #MAX_ACTIVE_JOBS}개 이상이면 IllegalStateException.
+     */
+    public ExportJob submit(ExportRowSource source, ExportFormat format, ExportRequest request, String requestedBy) {
+        cleanupExpired();
+        long active = jobs.values().stream()
+                .filter(j -> j.getStatus() == ExportJob.Status.QUEUED || j.getStatus() == ExportJob.Status.RUNNING)
+                .count();
+        if (active >= MAX_ACTIVE_JOBS) {
+            throw new IllegalStateException("진행 중인 내보내기 작업이 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+        ExportJob job = new ExportJob(UUID.randomUUID().toString(), source, format, request, requestedBy);
+        jobs.put(job.getId(), job);
+        jobExecutor.execute(() -> runJob(job, source));
+        return job;
+    }
+
+    private void runJob(ExportJob job, ExportRowSource source) {
+        Path file = null;
+        try {
+            job.running(source.count(job.getRequest()));
+            file = Files.createTempFile("export_" + job.getSourceKey() + "_", job.getFormat().getExtension());
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024)) {
+                write(source, job.getFormat(), job.getRequest(), out, job.rowsWrittenCounter());
+            }
+            job.done(file);
+        } catch (Exception e) {
+            logger.error("내보내기 작업 실패: jobId={}, type={}", job.getId(), job.getSourceKey(), e);
+            deleteQuietly(file);
+            job.failed(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+    }
+
+    public ExportJob getJob(String jobId) {
+        cleanupExpired();
+        return jobId != null ? jobs.get(jobId) : null;
+    }
+
+    /** 완료·실패 후 보관 시간이 지난 작업과 임시 파일 제거 */
+    void cleanupExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(JOB_RETENTION_MINUTES);
+        Iterator<ExportJob> it = jobs.values().iterator();
+        while (it.hasNext()) {
+            ExportJob job = it.next();
+            if (job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff)) {
+                deleteQuietly(job.getFile());
+                it.remove();
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("내보내기 임시 파일 삭제 실패: {}", file, e);
+        }
+    }
+}
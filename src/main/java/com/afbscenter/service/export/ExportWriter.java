@@ -0,0 +1,18 @@
+package com.afbscenter.service.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 행 단위 기록기. {@link #header} → {@link #row} 반복 → {@link #finish} 순서로 호출하고, 실패해도 {@link #close}로 자원을 정리한다.
+ * 대상 스트림은 닫지 않는다 (응답 스트림·파일은 호출 측 소유).
+ */
+public interface ExportWriter extends Closeable {
+
+    void header(List<String> headers) throws IOException;
+
+    void row(Object[] values) throws IOException;
+
+    void finish() throws IOException;
+}
@@ -0,0 +1,53 @@
+package com.afbscenter.service.export;
+
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * 회원 목록. 기간을 주면 가입일 기준.
+ */
+@Component
+public class MemberExportSource extends JdbcCursorRowSource {
+
+    private static final String FROM_WHERE = " FROM members m LEFT JOIN coaches c ON c.id = m.coach_id";
+    private static final String RANGE = " WHERE m.join_date >= ? AND m.join_date <= ?";
+
+    public MemberExportSource(DataSource dataSource) {
+        super(dataSource);
+    }
+
+    @Override
+    public String key() {
+        return "members";
+    }
+
+    @Override
+    public String title() {
+        return "회원";
+    }
+
+    @Override
+    public List<String> headers() {
+        return List.of("회원ID", "회원번호", "이름", "연락처", "성별", "생년월일", "등급", "상태", "학교/소속",
+                "담당코치", "가입일", "최근방문일", "메모");
+    }
+
+    @Override
+    protected String selectSql(ExportRequest request) {
+        return "SELECT m.id, m.member_number, m.name, m.phone_number, m.gender, m.birth_date, m.grade, m.status, m.school,"
+                + " c.name, m.join_date, m.last_visit_date, m.memo"
+                + FROM_WHERE + (request.hasRange() ? RANGE : "") + " ORDER BY m.id";
+    }
+
+    @Override
+    protected String countSql(ExportRequest request) {
+        return "SELECT COUNT(*)" + FROM_WHERE + (request.hasRange() ? RANGE : "");
+    }
+
+    @Override
+    protected Object[] params(ExportRequest request) {
+        return request.hasRange() ? new Object[]{request.getFrom(), request.getTo()} : new Object[0];
+    }
+}
@@ -0,0 +1,55 @@
+package com.afbscenter.service.export;
+
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * 훈련 기록. 기간을 주면 기록일 기준.
+ */
+@Component
+public class TrainingLogExportSource extends JdbcCursorRowSource {
+
+    private static final String FROM_WHERE = " FROM training_logs t LEFT JOIN members m ON m.id = t.member_id";
+    private static final String RANGE = " WHERE t.record_date >= ? AND t.record_date <= ?";
+
+    public TrainingLogExportSource(DataSource dataSource) {
+        super(dataSource);
+    }
+
+    @Override
+    public String key() {
+        return "training-logs";
+    }
+
+    @Override
+    public String title() {
+        return "훈련기록";
+    }
+
+    @Override
+    public List<String> headers() {
+        return List.of("기록ID", "기록일", "회원번호", "회원", "유형", "파트", "스윙속도(mph)", "스윙수", "타구속도(mph)",
+                "발사각", "타구방향", "컨택률", "구속(km/h)", "회전수(rpm)", "구종", "스트라이크율", "러닝거리(km)",
+                "웨이트", "컨디션", "메모");
+    }
+
+    @Override
+    protected String selectSql(ExportRequest request) {
+        return "SELECT t.id, t.record_date, m.member_number, m.name, t.type, t.training_part, t.swing_speed, t.swing_count,"
+                + " t.ball_speed, t.launch_angle, t.hit_direction, t.contact_rate, t.pitch_speed, t.spin_rate, t.pitch_type,"
+                + " t.strike_rate, t.running_distance, t.weight_training, t.condition_score, t.notes"
+                + FROM_WHERE + (request.hasRange() ? RANGE : "") + " ORDER BY t.record_date, t.id";
+    }
+
+    @Override
+    protected String countSql(ExportRequest request) {
+        return "SELECT COUNT(*) FROM training_logs t" + (request.hasRange() ? RANGE : "");
+    }
+
+    @Override
+    protected Object[] params(ExportRequest request) {
+        return request.hasRange() ? new Object[]{request.getFrom(), request.getTo()} : new Object[0];
+    }
+}
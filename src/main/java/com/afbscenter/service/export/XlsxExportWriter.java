@@ -0,0 +1,72 @@
+package com.afbscenter.service.export;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * SXSSF 기반 xlsx. 메모리에는 최근 {@link #ROW_WINDOW}행만 두고 나머지는 압축 임시 파일로 내보낸다.
+ * 숫자는 숫자 셀, 그 외는 문자열 셀 (날짜·일시는 ISO 문자열, 기존 결제 엑셀과 동일).
+ */
+public class XlsxExportWriter implements ExportWriter {
+
+    static final int ROW_WINDOW = 100;
+    private static final int COLUMN_WIDTH = 16 * 256;
+
+    private final OutputStream out;
+    private final SXSSFWorkbook workbook;
+    private final Sheet sheet;
+    private int rowNum = 0;
+
+    public XlsxExportWriter(OutputStream out, String sheetName) {
+        this.out = out;
+        this.workbook = new SXSSFWorkbook(ROW_WINDOW);
+        this.workbook.setCompressTempFiles(true);
+        this.sheet = workbook.createSheet(sheetName);
+    }
+
+    @Override
+    public void header(List<String> headers) {
+        Row row = sheet.createRow(rowNum++);
+        for (int i = 0; i < headers.size(); i++) {
+            row.createCell(i).setCellValue(headers.get(i));
+            sheet.setColumnWidth(i, COLUMN_WIDTH);
+        }
+    }
+
+    @Override
+    public void row(Object[] values) {
+        Row row = sheet.createRow(rowNum++);
+        for (int i = 0; i < values.length; i++) {
+            Object v = values[i];
+            if (v == null) {
+                continue;
+            }
+            Cell cell = row.createCell(i);
+            if (v instanceof Number) {
+                cell.setCellValue(((Number) v).doubleValue());
+            } else if (v instanceof Boolean) {
+                cell.setCellValue((Boolean) v);
+            } else {
+                cell.setCellValue(v.toString());
+            }
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        workbook.write(out);
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        workbook.dispose();
+        workbook.close();
+    }
+}
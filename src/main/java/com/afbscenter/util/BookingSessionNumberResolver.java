@@ -0,0 +1,546 @@
+package com.afbscenter.util;
+
+import com.afbscenter.model.Attendance;
+import com.afbscenter.model.Booking;
+import com.afbscenter.model.MemberProduct;
+import com.afbscenter.model.MemberProductHistory;
+import com.afbscenter.repository.BookingRepository;
+import com.afbscenter.repository.MemberProductHistoryRepository;
+import com.afbscenter.repository.MemberProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 예약 목록의 이용권 회차(sessionNumber)·총/잔여 표시 계산.
+ * <p>
+ * 예약 1건마다 count 쿼리 4~6개를 날리던 방식 대신, {@link #resolveAll}은 목록 전체에 대해
+ * 이용권·회원 단위 경량 조회 몇 번(예약 순서 행, 히스토리, DEDUCT 매핑, 미삭제 이용권 ID)으로
+ * 필요한 카운트를 메모리에서 계산한다. 회차 규칙 자체는 {@link #compute}에 한 번만 두고,
+ * 카운트는 {@link SessionCounts}로 받는다 (운영은 배치 {@link BatchCounts}, 건별 조회 구현은 결과 비교 테스트에만 있음).
+ */
+@Component
+public class BookingSessionNumberResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingSessionNumberResolver.class);
+
+    /** IN 절 파라미터 상한 (H2·MySQL 모두 안전한 크기) */
+    private static final int IN_CHUNK_SIZE = 1000;
+
+    private final BookingRepository bookingRepository;
+    private final MemberProductRepository memberProductRepository;
+    private final MemberProductHistoryRepository memberProductHistoryRepository;
+
+    public BookingSessionNumberResolver(BookingRepository bookingRepository,
+                                        MemberProductRepository memberProductRepository,
+                                        MemberProductHistoryRepository memberProductHistoryRepository) {
+        this.bookingRepository = bookingRepository;
+        this.memberProductRepository = memberProductRepository;
+        this.memberProductHistoryRepository = memberProductHistoryRepository;
+    }
+
+    /** 예약 1건의 이용권 표시값 (memberProduct 응답 맵에 들어가는 값) */
+    public static final class SessionInfo {
+        private final MemberProduct memberProduct;
+        private final Integer totalCount;
+        private final Integer remainingCount;
+        private final long sessionNumber;
+
+        SessionInfo(MemberProduct memberProduct, Integer totalCount, Integer remainingCount, long sessionNumber) {
+            this.memberProduct = memberProduct;
+            this.totalCount = totalCount;
+            this.remainingCount = remainingCount;
+            this.sessionNumber = sessionNumber;
+        }
+
+        /** 표시 기준 이용권 (대관이면 미삭제 재조회 결과, 아니면 예약에 연결된 이용권) */
+        public MemberProduct getMemberProduct() { return memberProduct; }
+        public Integer getTotalCount() { return totalCount; }
+        public Integer getRemainingCount() { return remainingCount; }
+        public long getSessionNumber() { return sessionNumber; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof SessionInfo)) return false;
+            SessionInfo that = (SessionInfo) o;
+            return sessionNumber == that.sessionNumber
+                    && java.util.Objects.equals(totalCount, that.totalCount)
+                    && java.util.Objects.equals(remainingCount, that.remainingCount);
+        }
+
+        @Override
+        public int hashCode() {
+            return java.util.Objects.hash(totalCount, remainingCount, sessionNumber);
+        }
+
+        @Override
+        public String toString() {
+            return "SessionInfo{total=" + totalCount + ", remaining=" + remainingCount + ", session=" + sessionNumber + "}";
+        }
+    }
+
+    /**
+     * 목록 전체 회차 계산 (배치). 반환 키 = 예약 ID, 이용권 없는 예약은 포함하지 않음.
+     *
+     * @param bookings             응답에 포함될 예약 (필터 적용 후)
+     * @param rental               대관 캘린더(branch=RENTAL) 요청 여부
+     * @param attendanceByBookingId 예약 ID → 출석 (체크인 회차 DEDUCT 매핑용)
+     */
+    public Map<Long, SessionInfo> resolveAll(List<Booking> bookings, boolean rental,
+                                             Map<Long, Attendance> attendanceByBookingId) {
+        if (bookings == null || bookings.isEmpty()) {
+            return new HashMap<>();
+        }
+        BatchCounts counts = new BatchCounts(bookings, rental, attendanceByBookingId);
+        return resolveWith(bookings, rental, attendanceByBookingId, counts);
+    }
+
+    /** 주어진 카운트 공급원으로 계산 (테스트가 건별 조회 구현을 넣어 배치 결과와 비교) */
+    Map<Long, SessionInfo> resolveWith(List<Booking> bookings, boolean rental,
+                                               Map<Long, Attendance> attendanceByBookingId, SessionCounts counts) {
+        Map<Long, SessionInfo> out = new HashMap<>();
+        for (Booking booking : bookings) {
+            if (booking.getMemberProduct() == null || booking.getId() == null) continue;
+            try {
+                out.put(booking.getId(), compute(booking, bookings, rental, attendanceByBookingId, counts));
+            } catch (Exception e) {
+                logger.warn("회차 계산 오류 (예약 ID: {}): {}", booking.getId(), e.getMessage(), e);
+            }
+        }
+        return out;
+    }
+
+    /** 회차 규칙 (예약 목록 API 기존 로직 그대로, 카운트만 {@link SessionCounts}에서 가져옴) */
+    private SessionInfo compute(Booking booking, List<Booking> bookings, boolean isRental,
+                                Map<Long, Attendance> attendanceByBookingId, SessionCounts counts) {
+        Long mpId = booking.getMemberProduct().getId();
+        LocalDateTime thisStart = booking.getStartTime();
+        Long thisId = booking.getId();
+
+        MemberProduct mpForCount = isRental ? counts.activeMemberProduct(booking) : null;
+        MemberProduct mpEntity = (mpForCount != null) ? mpForCount : booking.getMemberProduct();
+
+        Integer totalCount = mpEntity.getTotalCount();
+        if (totalCount == null && mpEntity.getProduct() != null && mpEntity.getProduct().getUsageCount() != null) {
+            totalCount = mpEntity.getProduct().getUsageCount();
+        }
+        Integer remainingCount = mpEntity.getRemainingCount();
+
+        // 회차 순서용 카운트 (한 번만 계산)
+        long sessionNumberByOrder = 0, sessionNumberByEnded = 0, sessionNumberByMemberProduct = 0, sessionNumberByCreationOrder = 0;
+        if (thisStart != null && thisId != null) {
+            sessionNumberByOrder = counts.countBeforeInOrder(mpId, thisStart, thisId) + 1;
+            sessionNumberByEnded = counts.countEndedBefore(mpId, thisStart) + 1;
+        }
+        if (mpId != null && thisId != null) {
+            sessionNumberByCreationOrder = counts.countIdBefore(mpId, thisId) + 1;
+        }
+        Long memId = booking.getMember() != null ? booking.getMember().getId() : (mpEntity.getMember() != null ? mpEntity.getMember().getId() : null);
+        Long prodId = mpEntity.getProduct() != null ? mpEntity.getProduct().getId() : null;
+        if (memId != null && prodId != null && thisStart != null) {
+            sessionNumberByMemberProduct = counts.countMemberProductEndedBefore(memId, prodId, thisStart) + 1;
+        }
+
+        long sessionNumber = Math.max(Math.max(sessionNumberByOrder, sessionNumberByEnded), sessionNumberByMemberProduct);
+
+        if (isRental) {
+            // ---- 대관(RENTAL): 이용권 숫자만 보지 말고 체크인(사용) 반영. DEDUCT(체크인 차감) 우선, 없으면 ADJUST/DB 잔여 + 첫 예약 완료 감안 ----
+            Integer baseRemaining = (mpForCount != null && mpForCount.getRemainingCount() != null) ? mpForCount.getRemainingCount() : remainingCount;
+            boolean baseRemainingFromAdjust = false;
+            Integer displayTotal = totalCount;
+            int rentalDeductCount = 0; // 체크인된 예약 회차 = 이 값 사용 (7→1 방지)
+            if (mpForCount != null && totalCount != null) {
+                try {
+                    List<MemberProductHistory> histories = counts.histories(mpId);
+                    for (MemberProductHistory h : histories) {
+                        if (h.getType() == MemberProductHistory.TransactionType.ADJUST && h.getRemainingCountAfter() != null) {
+                            baseRemaining = h.getRemainingCountAfter();
+                            baseRemainingFromAdjust = true;
+                            break;
+                        }
+                    }
+                    // 체크인 시 차감(DEDUCT)이 있으면 사용 횟수를 이걸로 반영 → 잔여 = 이용권 숫자만이 아니라 (총 - 사용)
+                    int deductCount = 0;
+                    for (MemberProductHistory h : histories) {
+                        if (h.getType() == MemberProductHistory.TransactionType.DEDUCT && h.getChangeAmount() != null) {
+                            deductCount += Math.abs(h.getChangeAmount().intValue());
+                        }
+                    }
+                    rentalDeductCount = deductCount;
+                    if (deductCount > 0) {
+                        int fromHistory = Math.max(0, totalCount - deductCount);
+                        remainingCount = fromHistory;
+                        baseRemaining = (baseRemaining == null || remainingCount < baseRemaining) ? remainingCount : baseRemaining;
+                        displayTotal = deductCount + remainingCount;
+                    } else if (baseRemaining != null && totalCount != null) {
+                        // DEDUCT 없음: 횟수 조정(ADJUST) 또는 DB 잔여로 2월 9일부터 7·8·9회차 반영
+                        boolean firstCompleted = mpId != null && counts.firstBookingCompleted(mpId);
+                        int inferredTotal = firstCompleted ? (baseRemaining + 7) : (baseRemainingFromAdjust ? (baseRemaining + 6) : totalCount);
+                        if (inferredTotal < totalCount) {
+                            displayTotal = inferredTotal;
+                        }
+                    }
+                } catch (Exception e) {
+                    logger.debug("대관 DEDUCT 보정 실패: mpId={}", mpId, e);
+                }
+                if (thisStart != null && thisId != null) {
+                    int countLater = 0;
+                    for (Booking b : bookings) {
+                        if (b.getMemberProduct() == null || !b.getMemberProduct().getId().equals(mpId)) continue;
+                        if (b.getStartTime() == null) continue;
+                        if (b.getStartTime().isAfter(thisStart) || (b.getStartTime().equals(thisStart) && b.getId() != null && b.getId() > thisId))
+                            countLater++;
+                    }
+                    remainingCount = (remainingCount != null ? remainingCount : 0) + countLater;
+                }
+            }
+            // 회차: 잔여/ADJUST(횟수 조정) 기준으로 계산. "앞에 예약 개수+1"만 쓰지 않음(첫 회차가 조정된 경우 앞에 건수 없어서 1로 나오는 문제 방지)
+            Integer totalForSession = (displayTotal != null ? displayTotal : totalCount);
+            long orderForSession = sessionNumberByOrder >= 1 ? sessionNumberByOrder : (thisStart != null && thisId != null ? counts.countBeforeInOrder(mpId, thisStart, thisId) + 1 : sessionNumberByCreationOrder);
+            if (totalForSession != null && baseRemaining != null) {
+                long firstSession = totalForSession - baseRemaining + 1L; // 다음에 쓸 회차(ADJUST/DEDUCT 반영, 앞에 기록 없어도 맞음)
+                if (booking.getStatus() == Booking.BookingStatus.COMPLETED) {
+                    // 체크인된 예약: DEDUCT 순번으로 회차 확정. 단, 체크인 시 회차 줄이지 않음 → 미완료 시 회차보다 작게 두지 않음
+                    long sessionFromDeductId = 0;
+                    try {
+                        Attendance att = attendanceByBookingId != null ? attendanceByBookingId.get(booking.getId()) : null;
+                        if (att != null) {
+                            sessionFromDeductId = counts.deductOrdinal(mpId, att.getId());
+                        }
+                    } catch (Exception e) {
+                        logger.trace("체크인 회차 DEDUCT id 기준 조회 실패: bookingId={}", booking.getId(), e);
+                    }
+                    if (sessionFromDeductId >= 1 && sessionFromDeductId <= totalForSession) {
+                        sessionNumber = sessionFromDeductId;
+                    } else if (rentalDeductCount >= 1 && rentalDeductCount <= totalForSession) {
+                        sessionNumber = rentalDeductCount;
+                    } else if (orderForSession >= 1) {
+                        sessionNumber = Math.min(totalForSession, orderForSession);
+                    }
+                    // 체크인 시 회차 줄이지 않음: 미완료였을 때 회차(firstSession+order오프셋)보다 작게 두지 않음
+                    long minSessionIfUncompleted = (firstSession >= 1 && orderForSession >= 1) ? Math.min(totalForSession, firstSession + (orderForSession - 1L)) : 0;
+                    if (minSessionIfUncompleted >= 1 && sessionNumber < minSessionIfUncompleted) {
+                        sessionNumber = minSessionIfUncompleted;
+                    }
+                } else {
+                    // 미완료: firstSession(잔여 기준) + 예약 순서 오프셋. "앞에 예약 개수+1"만 쓰지 않고 조정 반영
+                    if (firstSession >= 1 && firstSession <= totalForSession && orderForSession >= 1) {
+                        sessionNumber = Math.min(totalForSession, firstSession + (orderForSession - 1L));
+                    } else if (firstSession >= 1 && firstSession <= totalForSession) {
+                        sessionNumber = firstSession;
+                    } else if (orderForSession >= 1) {
+                        sessionNumber = Math.min(totalForSession, orderForSession);
+                    }
+                }
+            } else if (totalForSession != null && orderForSession >= 1) {
+                sessionNumber = Math.min(totalForSession, orderForSession);
+            }
+            if (sessionNumber < 1 && totalForSession != null && remainingCount != null) {
+                sessionNumber = Math.min(totalForSession, totalForSession - remainingCount + 1L);
+            }
+            // 회차와 이용권 횟수 분리: 잔여(remainingCount)는 위에서 DEDUCT/ADJUST/countLater로만 계산. 회차로 역산해 덮지 않음.
+            totalCount = totalForSession != null ? totalForSession : totalCount;
+        } else {
+            // ---- 대관 아님: endedBeforeNow 보정, 잔여 기반 회차 보정 ----
+            if (totalCount != null && memId != null && prodId != null) {
+                long endedBeforeNow = counts.countMemberProductEndedBefore(memId, prodId, counts.now());
+                int usedSoFar = (int) Math.min(endedBeforeNow, totalCount);
+                int computedRemaining = Math.max(0, totalCount - usedSoFar);
+                if (remainingCount == null || computedRemaining < remainingCount) {
+                    remainingCount = computedRemaining;
+                    if (sessionNumber == 1 && usedSoFar > 0) {
+                        sessionNumber = usedSoFar + 1;
+                    }
+                }
+            }
+            if (remainingCount == null && totalCount != null && sessionNumber >= 1) {
+                remainingCount = Math.max(0, Math.min(totalCount, totalCount - (int) sessionNumber + 1));
+            }
+            if (remainingCount == null && totalCount != null) {
+                remainingCount = totalCount;
+            }
+            if (totalCount != null && remainingCount != null && remainingCount < totalCount) {
+                long firstSession = totalCount - remainingCount + 1;
+                if (sessionNumberByOrder >= 1) {
+                    long byOrder = (firstSession - 1) + sessionNumberByOrder;
+                    if (byOrder <= totalCount) {
+                        sessionNumber = Math.max(sessionNumber, byOrder);
+                    } else if (sessionNumber == 1 && firstSession > 1) {
+                        sessionNumber = firstSession;
+                    }
+                } else if (firstSession > sessionNumber) {
+                    sessionNumber = firstSession;
+                }
+                if (sessionNumber == 1 && firstSession > 1) {
+                    sessionNumber = sessionNumberByOrder >= 1 ? Math.min(totalCount, (firstSession - 1) + sessionNumberByOrder) : firstSession;
+                }
+            }
+        }
+
+        if (remainingCount == null && totalCount != null) {
+            remainingCount = totalCount;
+        }
+        return new SessionInfo(mpEntity, totalCount, remainingCount, sessionNumber);
+    }
+
+    /** 회차 계산에 필요한 카운트 공급원 */
+    interface SessionCounts {
+        LocalDateTime now();
+        MemberProduct activeMemberProduct(Booking booking);
+        long countBeforeInOrder(Long mpId, LocalDateTime start, Long bookingId);
+        long countEndedBefore(Long mpId, LocalDateTime before);
+        long countIdBefore(Long mpId, Long bookingId);
+        long countMemberProductEndedBefore(Long memberId, Long productId, LocalDateTime before);
+        List<MemberProductHistory> histories(Long mpId);
+        boolean firstBookingCompleted(Long mpId);
+        /** 출석에 연결된 DEDUCT가 이 이용권의 몇 번째 차감인지. 없거나 모호하면 0 */
+        long deductOrdinal(Long mpId, Long attendanceId);
+    }
+
+    /**
+     * 배치 방식: 목록에 등장하는 이용권·회원의 예약 순서 행을 한 번에 읽고,
+     * 이용권별 (시작, ID) 정렬 / 종료시각 정렬 / ID 정렬 배열과 (회원, 상품)별 종료시각 정렬 배열에서
+     * 이분 탐색으로 count 쿼리와 같은 값을 낸다.
+     */
+    private final class BatchCounts implements SessionCounts {
+        private final LocalDateTime now = LocalDateTime.now();
+        private final Map<Long, MemberProductOrder> orderByMpId = new HashMap<>();
+        private final Map<String, LocalDateTime[]> endTimesByMemberAndProduct = new HashMap<>();
+        private final Map<Long, List<MemberProductHistory>> historiesByMpId = new HashMap<>();
+        private final Map<Long, Long> deductHistoryIdByAttendanceId = new HashMap<>();
+        private final Set<Long> activeMpIds = new HashSet<>();
+        private final Map<Long, Booking.BookingStatus> statusInList = new HashMap<>();
+
+        BatchCounts(List<Booking> bookings, boolean rental, Map<Long, Attendance> attendanceByBookingId) {
+            Set<Long> mpIds = new HashSet<>();
+            Set<Long> memberIds = new HashSet<>();
+            for (Booking b : bookings) {
+                if (b.getId() != null) {
+                    statusInList.put(b.getId(), b.getStatus());
+                }
+                MemberProduct mp = b.getMemberProduct();
+                if (mp == null || mp.getId() == null) continue;
+                mpIds.add(mp.getId());
+                if (b.getMember() != null && b.getMember().getId() != null) {
+                    memberIds.add(b.getMember().getId());
+                } else if (mp.getMember() != null && mp.getMember().getId() != null) {
+                    memberIds.add(mp.getMember().getId());
+                }
+            }
+            if (mpIds.isEmpty()) {
+                return;
+            }
+            loadOrderRows(mpIds, memberIds);
+            if (rental) {
+                for (List<Long> chunk : chunks(mpIds)) {
+                    activeMpIds.addAll(memberProductRepository.findActiveIdsByIdIn(chunk));
+                    for (MemberProductHistory h : memberProductHistoryRepository.findByMemberProductIdInOrderByTransactionDateDescIdDesc(chunk)) {
+                        if (h.getMemberProduct() == null) continue;
+                        historiesByMpId.computeIfAbsent(h.getMemberProduct().getId(), k -> new ArrayList<>()).add(h);
+                    }
+                }
+                loadDeductMapping(bookings, attendanceByBookingId);
+            }
+        }
+
+        private void loadOrderRows(Set<Long> mpIds, Set<Long> memberIds) {
+            Map<Long, List<Object[]>> rowsByMpId = new HashMap<>();
+            Map<String, List<LocalDateTime>> endsByPair = new HashMap<>();
+            Set<Long> seen = new HashSet<>();
+            List<Long> mpIdList = new ArrayList<>(mpIds);
+            List<Long> memberIdList = memberIds.isEmpty() ? Collections.singletonList(-1L) : new ArrayList<>(memberIds);
+            for (List<Long> mpChunk : chunks(mpIdList)) {
+                for (List<Long> memberChunk : chunks(memberIdList)) {
+                    for (Object[] row : bookingRepository.findSessionOrderRows(mpChunk, memberChunk)) {
+                        Long bookingId = (Long) row[0];
+                        if (!seen.add(bookingId)) continue;
+                        Long mpId = (Long) row[4];
+                        rowsByMpId.computeIfAbsent(mpId, k -> new ArrayList<>()).add(row);
+                        if (row[5] != null && row[6] != null && row[2] != null) {
+                            endsByPair.computeIfAbsent(row[5] + ":" + row[6], k -> new ArrayList<>()).add((LocalDateTime) row[2]);
+                        }
+                    }
+                }
+            }
+            for (Map.Entry<Long, List<Object[]>> e : rowsByMpId.entrySet()) {
+                orderByMpId.put(e.getKey(), new MemberProductOrder(e.getValue()));
+            }
+            for (Map.Entry<String, List<LocalDateTime>> e : endsByPair.entrySet()) {
+                LocalDateTime[] ends = e.getValue().toArray(new LocalDateTime[0]);
+                Arrays.sort(ends);
+                endTimesByMemberAndProduct.put(e.getKey(), ends);
+            }
+        }
+
+        /** 완료된 대관 예약의 출석 → DEDUCT 히스토리 ID. 출석 하나에 DEDUCT가 여러 건이면 건별 조회와 같이 모호 처리(0) */
+        private void loadDeductMapping(List<Booking> bookings, Map<Long, Attendance> attendanceByBookingId) {
+            if (attendanceByBookingId == null || attendanceByBookingId.isEmpty()) return;
+            List<Long> attendanceIds = new ArrayList<>();
+            for (Booking b : bookings) {
+                if (b.getMemberProduct() == null || b.getStatus() != Booking.BookingStatus.COMPLETED) continue;
+                Attendance a = attendanceByBookingId.get(b.getId());
+                if (a != null && a.getId() != null) {
+                    attendanceIds.add(a.getId());
+                }
+            }
+            Set<Long> ambiguous = new HashSet<>();
+            for (List<Long> chunk : chunks(attendanceIds)) {
+                for (Object[] row : memberProductHistoryRepository.findDeductIdsByAttendanceIdIn(chunk)) {
+                    Long attendanceId = (Long) row[0];
+                    Long historyId = (Long) row[1];
+                    if (deductHistoryIdByAttendanceId.putIfAbsent(attendanceId, historyId) != null) {
+                        ambiguous.add(attendanceId);
+                    }
+                }
+            }
+            ambiguous.forEach(deductHistoryIdByAttendanceId::remove);
+        }
+
+        @Override
+        public LocalDateTime now() {
+            return now;
+        }
+
+        @Override
+        public MemberProduct activeMemberProduct(Booking booking) {
+            return activeMpIds.contains(booking.getMemberProduct().getId()) ? booking.getMemberProduct() : null;
+        }
+
+        @Override
+        public long countBeforeInOrder(Long mpId, LocalDateTime start, Long bookingId) {
+            MemberProductOrder o = orderByMpId.get(mpId);
+            return o != null ? o.countBeforeInOrder(start, bookingId) : 0;
+        }
+
+        @Override
+        public long countEndedBefore(Long mpId, LocalDateTime before) {
+            MemberProductOrder o = orderByMpId.get(mpId);
+            return o != null ? lowerBound(o.endTimes, before) : 0;
+        }
+
+        @Override
+        public long countIdBefore(Long mpId, Long bookingId) {
+            MemberProductOrder o = orderByMpId.get(mpId);
+            if (o == null) return 0;
+            int idx = Arrays.binarySearch(o.ids, bookingId);
+            return idx >= 0 ? idx : -idx - 1;
+        }
+
+        @Override
+        public long countMemberProductEndedBefore(Long memberId, Long productId, LocalDateTime before) {
+            LocalDateTime[] ends = endTimesByMemberAndProduct.get(memberId + ":" + productId);
+            // 목록의 회원은 모두 memberIds로 조회했으므로 조합이 없으면 해당 예약 0건
+            return ends != null ? lowerBound(ends, before) : 0;
+        }
+
+        @Override
+        public List<MemberProductHistory> histories(Long mpId) {
+            return historiesByMpId.getOrDefault(mpId, Collections.emptyList());
+        }
+
+        @Override
+        public boolean firstBookingCompleted(Long mpId) {
+            MemberProductOrder o = orderByMpId.get(mpId);
+            if (o == null || o.firstBookingId == null) return false;
+            // 목록에 로드된 예약은 영속성 컨텍스트의 현재 상태를 따름 (건별 조회가 같은 엔티티를 돌려주는 것과 동일)
+            Booking.BookingStatus status = statusInList.getOrDefault(o.firstBookingId, o.firstBookingStatus);
+            return status == Booking.BookingStatus.COMPLETED;
+        }
+
+        @Override
+        public long deductOrdinal(Long mpId, Long attendanceId) {
+            Long historyId = deductHistoryIdByAttendanceId.get(attendanceId);
+            if (historyId == null) return 0;
+            long n = 0;
+            for (MemberProductHistory h : histories(mpId)) {
+                if (h.getType() == MemberProductHistory.TransactionType.DEDUCT && h.getId() != null && h.getId() <= historyId) {
+                    n++;
+                }
+            }
+            return n;
+        }
+    }
+
+    /** 한 이용권의 예약 순서 정보 (count 쿼리 대체용 정렬 배열) */
+    private static final class MemberProductOrder {
+        private final LocalDateTime[] startTimes;
+        private final long[] startOrderIds;
+        private final LocalDateTime[] endTimes;
+        private final long[] ids;
+        private final Long firstBookingId;
+        private final Booking.BookingStatus firstBookingStatus;
+
+        MemberProductOrder(List<Object[]> rows) {
+            rows.sort((a, b) -> {
+                int c = ((LocalDateTime) a[1]).compareTo((LocalDateTime) b[1]);
+                return c != 0 ? c : Long.compare((Long) a[0], (Long) b[0]);
+            });
+            int n = rows.size();
+            startTimes = new LocalDateTime[n];
+            startOrderIds = new long[n];
+            endTimes = new LocalDateTime[n];
+            ids = new long[n];
+            for (int i = 0; i < n; i++) {
+                Object[] r = rows.get(i);
+                startTimes[i] = (LocalDateTime) r[1];
+                startOrderIds[i] = (Long) r[0];
+                endTimes[i] = (LocalDateTime) r[2];
+                ids[i] = (Long) r[0];
+            }
+            Arrays.sort(endTimes);
+            Arrays.sort(ids);
+            firstBookingId = n > 0 ? (Long) rows.get(0)[0] : null;
+            firstBookingStatus = n > 0 ? (Booking.BookingStatus) rows.get(0)[3] : null;
+        }
+
+        /** (startTime, id) 사전순으로 (start, bookingId)보다 앞선 건수 */
+        long countBeforeInOrder(LocalDateTime start, long bookingId) {
+            int lo = 0, hi = startTimes.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                int c = startTimes[mid].compareTo(start);
+                if (c < 0 || (c == 0 && startOrderIds[mid] < bookingId)) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+
+    /** 정렬 배열에서 value보다 엄격히 작은 원소 수 */
+    private static long lowerBound(LocalDateTime[] sorted, LocalDateTime value) {
+        int lo = 0, hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid].isBefore(value)) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static List<List<Long>> chunks(Collection<Long> ids) {
+        List<Long> list = new ArrayList<>(ids);
+        List<List<Long>> out = new ArrayList<>();
+        for (int i = 0; i < list.size(); i += IN_CHUNK_SIZE) {
+            out.add(list.subList(i, Math.min(list.size(), i + IN_CHUNK_SIZE)));
+        }
+        return out;
+    }
+}
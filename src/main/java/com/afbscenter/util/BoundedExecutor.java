@@ -0,0 +1,82 @@
+package com.afbscenter.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+/**
+ * 공용 스레드 풀(Spring 관리 TaskExecutor) 위에서 동시에 최대 maxConcurrent개만, 넣은 순서대로 실행한다.
+ * 서비스마다 전용 스레드를 두지 않고 풀을 나눠 쓰되, 한 번에 하나씩 돌아야 하는 갱신 작업({@link #serial})이나
+ * 풀을 다 차지하면 안 되는 작업의 동시 실행 수를 묶을 때 쓴다. 풀 종료는 Spring이 맡는다.
+ */
+public class BoundedExecutor implements Executor {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoundedExecutor.class);
+
+    private final Executor delegate;
+    private final int maxConcurrent;
+    private final String name;
+
+    /** 대기 작업과 실행 중 워커 수 (잠금은 this) */
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private int active;
+
+    public BoundedExecutor(Executor delegate, int maxConcurrent, String name) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("maxConcurrent는 1 이상이어야 합니다.");
+        }
+        this.delegate = delegate;
+        this.maxConcurrent = maxConcurrent;
+        this.name = name;
+    }
+
+    /** 한 번에 하나씩 순서대로 (전용 단일 스레드 대신) */
+    public static BoundedExecutor serial(Executor delegate, String name) {
+        return new BoundedExecutor(delegate, 1, name);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (task == null) {
+            throw new NullPointerException("task");
+        }
+        synchronized (this) {
+            tasks.add(task);
+            if (active >= maxConcurrent) {
+                return;
+            }
+            active++;
+        }
+        try {
+            delegate.execute(this::runWorker);
+        } catch (RuntimeException e) {
+            // 풀 종료 등으로 거부: 넣은 작업을 되돌리고 호출한 쪽에 알린다
+            synchronized (this) {
+                active--;
+                tasks.remove(task);
+            }
+            throw e;
+        }
+    }
+
+    private void runWorker() {
+        while (true) {
+            Runnable next;
+            synchronized (this) {
+                next = tasks.poll();
+                if (next == null) {
+                    active--;
+                    return;
+                }
+            }
+            try {
+                next.run();
+            } catch (RuntimeException e) {
+                logger.warn("{} 작업 실패: {}", name, e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.afbscenter.util;
+
+import java.util.Date;
+
+/**
+ * 서명·만료 검증을 마친 JWT의 사용자 정보 (불변).
+ * JwtFilter가 요청마다 한 번 만들어 요청 속성(username, role)으로 넘긴다.
+ */
+public final class JwtPrincipal {
+
+    private final String username;
+    private final String role;
+    private final long expiresAtMillis;
+
+    /** expiresAt은 필수 — exp 없는 토큰은 {@link JwtUtil#verify}에서 거부되므로 캐시가 영구히 붙잡지 않는다 */
+    JwtPrincipal(String username, String role, Date expiresAt) {
+        this.username = username;
+        this.role = role;
+        this.expiresAtMillis = expiresAt.getTime();
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return expiresAtMillis <= nowMillis;
+    }
+}
@@ -1,15 +1,22 @@
 package com.afbscenter.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.function.Function;
 
@@ -26,8 +33,72 @@ public class JwtUtil {
     @Value("${jwt.desk-inbox-unlock-expiration:28800000}")
     private Long deskInboxUnlockExpirationMs;
 
+    /** 검증 완료 토큰 캐시 최대 건수 (데스크·관리 화면 세션 수 기준으로 넉넉하게) */
+    static final int VERIFIED_CACHE_SIZE = 1024;
+
+    // 서명 키와 파서는 설정값이 바뀌지 않으므로 한 번만 만든다 (둘 다 스레드 안전)
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    /** 토큰 SHA-256 → 검증된 사용자 정보. 토큰 원문은 보관하지 않음. 접근 순서 유지, 잠금은 verifiedTokens */
+    private final LinkedHashMap<String, JwtPrincipal> verifiedTokens = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, JwtPrincipal> eldest) {
+            return size() > VERIFIED_CACHE_SIZE;
+        }
+    };
+
+    @PostConstruct
+    void initSigningKey() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(signingKey).build();
+    }
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        return signingKey;
+    }
+
+    /**
+     * 로그인 토큰을 한 번 파싱·검증해 사용자 정보를 돌려준다.
+     * 같은 토큰이 만료 전에 다시 오면 캐시에서 바로 반환해 서명 검증을 건너뛴다.
+     *
+     * @throws io.jsonwebtoken.JwtException 서명 불일치, 만료, 형식 오류(subject·exp 누락 포함)
+     */
+    public JwtPrincipal verify(String token) {
+        long now = System.currentTimeMillis();
+        String key = tokenHash(token);
+        synchronized (verifiedTokens) {
+            JwtPrincipal cached = verifiedTokens.get(key);
+            if (cached != null) {
+                if (!cached.isExpired(now)) {
+                    return cached;
+                }
+                verifiedTokens.remove(key);
+            }
+        }
+        // parseSignedClaims가 서명과 만료(exp)를 함께 검증
+        Claims claims = extractAllClaims(token);
+        if (claims.getSubject() == null) {
+            throw new MalformedJwtException("subject가 없는 토큰");
+        }
+        // exp가 없으면 파서가 만료를 검사하지 않아 영구 토큰이 되므로 거부 (발급하는 토큰은 모두 exp 포함)
+        if (claims.getExpiration() == null) {
+            throw new MalformedJwtException("만료(exp)가 없는 토큰");
+        }
+        JwtPrincipal principal = new JwtPrincipal(claims.getSubject(), claims.get("role", String.class), claims.getExpiration());
+        synchronized (verifiedTokens) {
+            verifiedTokens.put(key, principal);
+        }
+        return principal;
+    }
+
+    private static String tokenHash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 사용 불가", e);
+        }
     }
 
     public String generateToken(String username, String role) {
@@ -67,20 +138,12 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     public Boolean validateToken(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+        final Claims claims = extractAllClaims(token);
+        return (claims.getSubject().equals(username) && !claims.getExpiration().before(new Date()));
     }
 
     /** 쪽지함 잠금 해제 후 전용(클레임 deskInboxUnlock=true) */
@@ -7,18 +7,26 @@ import com.afbscenter.repository.AttendanceRepository;
 import com.afbscenter.repository.BookingRepository;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 횟수권(COUNT_PASS) 총·잔여 표시 규칙.
  * <ul>
  *   <li>총 횟수: 회원 구매 건 {@code totalCount} 우선, 없을 때만 상품 {@code usageCount}.</li>
  *   <li>잔여(조회): DB {@code remainingCount}가 있으면 그대로 사용 — 상품/총횟수만 바꿔도 잔여가 자동 조정되지 않음.</li>
- *   <li>잔여가 null인 구 데이터만 출석·예약 기준으로 추정.</li>
+ *   <li>잔여가 null인 구 데이터만 출석·예약 기준으로 추정 (목록은 {@link #loadLegacyUsage}로 페이지 단위 일괄 조회).</li>
  *   <li>명시적 재계산 API({@code /recalculate} 등)는 별도로 DB를 갱신함.</li>
  * </ul>
  */
 public final class MemberProductCountPassHelper {
 
+    /** IN 절 파라미터 상한 */
+    private static final int IN_CHUNK_SIZE = 1000;
+
     private MemberProductCountPassHelper() {
     }
 
@@ -45,7 +53,73 @@ public final class MemberProductCountPassHelper {
     public static int resolveRemainingForRead(MemberProduct mp, long memberId,
                                               AttendanceRepository attendanceRepository,
                                               BookingRepository bookingRepository) {
-        LocalDate today = LocalDate.now();
+        Integer known = remainingWithoutUsage(mp);
+        if (known != null) {
+            return known;
+        }
+        Long u1 = attendanceRepository.countCheckedInAttendancesByMemberAndProduct(memberId, mp.getId());
+        if (u1 == null) {
+            u1 = 0L;
+        }
+        Long u2 = bookingRepository.countConfirmedBookingsByMemberProductId(mp.getId());
+        if (u2 == null) {
+            u2 = 0L;
+        }
+        return remainingFromUsage(mp, u1 > 0 ? u1 : u2);
+    }
+
+    /**
+     * 목록용: {@link #loadLegacyUsage}로 미리 읽은 사용 횟수로 잔여 계산 (이용권마다 count 쿼리 없음).
+     */
+    public static int resolveRemainingForRead(MemberProduct mp, Map<Long, Long> legacyUsageByMemberProductId) {
+        Integer known = remainingWithoutUsage(mp);
+        if (known != null) {
+            return known;
+        }
+        return remainingFromUsage(mp, legacyUsageByMemberProductId.getOrDefault(mp.getId(), 0L));
+    }
+
+    /**
+     * 잔여가 null인 구 데이터 횟수권의 사용 횟수를 목록 단위로 묶어 조회 (이용권당 count 2개 대신 IN 쿼리 2개).
+     * 반환: 이용권 ID → 사용 횟수 (소유 회원의 체크인 출석 수, 없으면 체크인된 예약 수). 저장값이 있는 이용권은 조회하지 않음.
+     */
+    public static Map<Long, Long> loadLegacyUsage(Collection<MemberProduct> memberProducts,
+                                                  AttendanceRepository attendanceRepository,
+                                                  BookingRepository bookingRepository) {
+        Map<Long, Long> ownerByMpId = new HashMap<>();
+        for (MemberProduct mp : memberProducts) {
+            if (mp.getId() != null && mp.getMember() != null && remainingWithoutUsage(mp) == null) {
+                ownerByMpId.put(mp.getId(), mp.getMember().getId());
+            }
+        }
+        Map<Long, Long> usage = new HashMap<>();
+        if (ownerByMpId.isEmpty()) {
+            return usage;
+        }
+        List<Long> ids = new ArrayList<>(ownerByMpId.keySet());
+        Map<Long, Long> byAttendance = new HashMap<>();
+        Map<Long, Long> byBooking = new HashMap<>();
+        for (int i = 0; i < ids.size(); i += IN_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(i, Math.min(ids.size(), i + IN_CHUNK_SIZE));
+            for (Object[] row : attendanceRepository.countCheckedInAttendancesByMemberProductIds(chunk)) {
+                Long mpId = (Long) row[0];
+                if (row[1] != null && row[1].equals(ownerByMpId.get(mpId))) {
+                    byAttendance.put(mpId, ((Number) row[2]).longValue());
+                }
+            }
+            for (Object[] row : bookingRepository.countConfirmedBookingsByMemberProductIds(chunk)) {
+                byBooking.put((Long) row[0], ((Number) row[1]).longValue());
+            }
+        }
+        for (Long mpId : ids) {
+            long u1 = byAttendance.getOrDefault(mpId, 0L);
+            usage.put(mpId, u1 > 0 ? u1 : byBooking.getOrDefault(mpId, 0L));
+        }
+        return usage;
+    }
+
+    /** 사용 횟수 없이 정해지는 잔여 (종료·만료·저장값). 구 데이터라 사용 횟수로 추정해야 하면 null */
+    private static Integer remainingWithoutUsage(MemberProduct mp) {
         MemberProduct.Status st = mp.getStatus();
         if (st == MemberProduct.Status.USED_UP) {
             return 0;
@@ -53,7 +127,7 @@ public final class MemberProductCountPassHelper {
         if (st == MemberProduct.Status.EXPIRED) {
             return 0;
         }
-        if (mp.getExpiryDate() != null && mp.getExpiryDate().isBefore(today)) {
+        if (mp.getExpiryDate() != null && mp.getExpiryDate().isBefore(LocalDate.now())) {
             return 0;
         }
         if (mp.getProduct() == null || mp.getProduct().getType() != Product.ProductType.COUNT_PASS) {
@@ -64,16 +138,10 @@ public final class MemberProductCountPassHelper {
         if (stored != null) {
             return Math.max(0, stored);
         }
-        int totalCount = resolveTotalCount(mp);
-        Long u1 = attendanceRepository.countCheckedInAttendancesByMemberAndProduct(memberId, mp.getId());
-        if (u1 == null) {
-            u1 = 0L;
-        }
-        Long u2 = bookingRepository.countConfirmedBookingsByMemberProductId(mp.getId());
-        if (u2 == null) {
-            u2 = 0L;
-        }
-        long used = u1 > 0 ? u1 : u2;
-        return Math.max(0, totalCount - (int) used);
+        return null;
+    }
+
+    private static int remainingFromUsage(MemberProduct mp, long used) {
+        return Math.max(0, resolveTotalCount(mp) - (int) used);
     }
 }
@@ -0,0 +1,128 @@
+package com.afbscenter.util;
+
+import com.afbscenter.constants.AccountingPolicy;
+import com.afbscenter.model.Coach;
+import com.afbscenter.model.Payment;
+import com.afbscenter.repository.PaymentRepository;
+import jakarta.persistence.EntityManager;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 결제 내역 엑셀 스트리밍 내보내기.
+ * <p>
+ * 결제를 (결제 시각, ID) 키셋 페이지로 {@link #CHUNK_SIZE}건씩 읽고 {@link SXSSFWorkbook}(메모리에는 최근 {@link #ROW_WINDOW}행만 유지,
+ * 나머지는 임시 파일)로 바로 써서 건수와 무관하게 힙 사용량이 일정하다. 하나의 커서로 읽으면 H2는 fetch size와 상관없이
+ * 결과 전체를 먼저 만들어 두므로 페이지마다 쿼리를 끊는다. 코치 표시는 페이지 단위로 {@link PaymentCoachResolver}에 넘기고,
+ * 페이지를 쓴 뒤 영속성 컨텍스트를 비워 읽은 엔티티가 쌓이지 않게 한다.
+ */
+@Component
+public class PaymentExcelExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentExcelExporter.class);
+
+    static final int ROW_WINDOW = 100;
+    static final int CHUNK_SIZE = 500;
+
+    private static final String[] HEADERS = {"결제번호", "날짜/시간", "회원", "코치", "분류", "결제수단", "결제금액", "상태", "환불금액", "순매출", "메모"};
+    // autoSizeColumn은 전체 행을 봐야 하므로 스트리밍에서는 고정 폭 사용 (글자 수)
+    private static final int[] COLUMN_WIDTHS = {10, 22, 14, 12, 14, 14, 12, 12, 12, 12, 40};
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentCoachResolver paymentCoachResolver;
+    private final EntityManager entityManager;
+
+    public PaymentExcelExporter(PaymentRepository paymentRepository, PaymentCoachResolver paymentCoachResolver,
+                                EntityManager entityManager) {
+        this.paymentRepository = paymentRepository;
+        this.paymentCoachResolver = paymentCoachResolver;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * 조건에 맞는 결제를 xlsx로 {@code out}에 기록한다. {@code out}은 닫지 않는다.
+     *
+     * @param start null이면 기간 조건 없음 (전체)
+     * @return 기록한 데이터 행 수 (헤더 제외)
+     */
+    @Transactional(readOnly = true)
+    public int write(LocalDateTime start, LocalDateTime end,
+                     Payment.PaymentMethod method, Payment.PaymentStatus status, Payment.PaymentCategory category,
+                     OutputStream out) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        int written = 0;
+        try {
+            Sheet sheet = workbook.createSheet("결제 내역");
+            Row headerRow = sheet.createRow(0);
+            for (int i = 0; i < HEADERS.length; i++) {
+                headerRow.createCell(i).setCellValue(HEADERS[i]);
+                sheet.setColumnWidth(i, COLUMN_WIDTHS[i] * 256);
+            }
+
+            LocalDateTime to = start != null ? end : null;
+            Pageable page = PageRequest.of(0, CHUNK_SIZE);
+            List<Payment> chunk = paymentRepository.findExportPage(start, to, method, status, category, page);
+            while (!chunk.isEmpty()) {
+                Payment last = chunk.get(chunk.size() - 1);
+                LocalDateTime cursorPaidAt = last.getPaidAt();
+                Long cursorId = last.getId();
+                boolean lastPage = chunk.size() < CHUNK_SIZE;
+                written = writeChunk(sheet, chunk, written);
+                if (lastPage) {
+                    break;
+                }
+                chunk = paymentRepository.findExportPageAfter(start, to, method, status, category, cursorPaidAt, cursorId, page);
+            }
+
+            workbook.write(out);
+            out.flush();
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+        logger.info("결제 엑셀 내보내기 완료: {}행", written);
+        return written;
+    }
+
+    private int writeChunk(Sheet sheet, List<Payment> chunk, int written) {
+        if (chunk.isEmpty()) {
+            return written;
+        }
+        Map<Long, Coach> coachByPaymentId = paymentCoachResolver.resolveCoachesForPayments(chunk);
+        int rowNum = written + 1;
+        for (Payment payment : chunk) {
+            Row row = sheet.createRow(rowNum++);
+            row.createCell(0).setCellValue(payment.getId() != null ? payment.getId().toString() : "");
+            row.createCell(1).setCellValue(payment.getPaidAt() != null ? payment.getPaidAt().toString() : "");
+            row.createCell(2).setCellValue(payment.getMember() != null && payment.getMember().getName() != null
+                    ? payment.getMember().getName() : "");
+            Coach coach = payment.getId() != null ? coachByPaymentId.get(payment.getId()) : null;
+            row.createCell(3).setCellValue(coach != null && coach.getName() != null ? coach.getName() : "");
+            row.createCell(4).setCellValue(payment.getCategory() != null ? payment.getCategory().name() : "");
+            row.createCell(5).setCellValue(payment.getPaymentMethod() != null ? payment.getPaymentMethod().name() : "");
+            row.createCell(6).setCellValue(payment.getAmount() != null ? payment.getAmount() : 0);
+            row.createCell(7).setCellValue(payment.getStatus() != null ? payment.getStatus().name() : "");
+            row.createCell(8).setCellValue(payment.getRefundAmount() != null ? payment.getRefundAmount() : 0);
+            row.createCell(9).setCellValue(AccountingPolicy.netAmount(payment));
+            row.createCell(10).setCellValue(payment.getMemo() != null ? payment.getMemo() : "");
+        }
+        int total = written + chunk.size();
+        // 페이지에서 읽은 결제·이용권 엔티티를 분리해 영속성 컨텍스트가 커지지 않게 함
+        entityManager.clear();
+        return total;
+    }
+}
@@ -25,36 +25,34 @@ public class PaymentPeriodQueryHelper {
      * @param period {@code month} (기본), {@code all}, {@code custom}
      */
     public List<Payment> loadPayments(String period, String startDate, String endDate) {
-        String p = (period == null || period.isBlank()) ? "month" : period.trim();
-        if ("all".equalsIgnoreCase(p)) {
+        LocalDateTime[] range = resolveRange(period, startDate, endDate);
+        if (range == null) {
             List<Payment> all = paymentRepository.findAllWithCoach();
             return all != null ? all : List.of();
         }
-        LocalDateTime startDt;
-        LocalDateTime endDt;
+        List<Payment> list = paymentRepository.findByPaidAtBetweenWithCoach(range[0], range[1]);
+        return list != null ? list : List.of();
+    }
+
+    /**
+     * 기간 파라미터를 [시작, 종료] 시각으로 변환. {@code all}이면 null (기간 조건 없음).
+     */
+    public LocalDateTime[] resolveRange(String period, String startDate, String endDate) {
+        String p = (period == null || period.isBlank()) ? "month" : period.trim();
+        if ("all".equalsIgnoreCase(p)) {
+            return null;
+        }
         if ("custom".equalsIgnoreCase(p)) {
             if (startDate == null || endDate == null || startDate.isBlank() || endDate.isBlank()) {
-                return loadPayments("month", null, null);
-            }
-            LocalDate s = LocalDate.parse(startDate);
-            LocalDate e = LocalDate.parse(endDate);
-            startDt = s.atStartOfDay();
-            endDt = e.atTime(LocalTime.MAX);
-        } else {
-            if (startDate != null && !startDate.isBlank() && endDate != null && !endDate.isBlank()) {
-                LocalDate s = LocalDate.parse(startDate);
-                LocalDate e = LocalDate.parse(endDate);
-                startDt = s.atStartOfDay();
-                endDt = e.atTime(LocalTime.MAX);
-            } else {
-                LocalDate today = LocalDate.now();
-                LocalDate s = today.withDayOfMonth(1);
-                LocalDate e = today.withDayOfMonth(today.lengthOfMonth());
-                startDt = s.atStartOfDay();
-                endDt = e.atTime(LocalTime.MAX);
+                return resolveRange("month", null, null);
             }
+            return new LocalDateTime[]{LocalDate.parse(startDate).atStartOfDay(), LocalDate.parse(endDate).atTime(LocalTime.MAX)};
         }
-        List<Payment> list = paymentRepository.findByPaidAtBetweenWithCoach(startDt, endDt);
-        return list != null ? list : List.of();
+        if (startDate != null && !startDate.isBlank() && endDate != null && !endDate.isBlank()) {
+            return new LocalDateTime[]{LocalDate.parse(startDate).atStartOfDay(), LocalDate.parse(endDate).atTime(LocalTime.MAX)};
+        }
+        LocalDate today = LocalDate.now();
+        return new LocalDateTime[]{today.withDayOfMonth(1).atStartOfDay(),
+                today.withDayOfMonth(today.lengthOfMonth()).atTime(LocalTime.MAX)};
     }
 }
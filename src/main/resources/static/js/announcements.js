@@ -472,11 +472,59 @@ async function openDeskThreadByMemberNumber() {
     }
 }
 
-async function loadDeskInbox() {
+/** 쪽지함 다음 페이지 커서 (서버 nextCursor, 없으면 마지막 페이지) */
+var deskInboxNextCursor = null;
+
+function renderDeskInboxRow(t) {
+    var tag =
+        t.lastFromMember === true
+            ? '<span style="font-size:10px;opacity:0.8;margin-right:4px;">[회원]</span>'
+            : '<span style="font-size:10px;opacity:0.8;margin-right:4px;">[데스크]</span>';
+    var lockCell =
+        t.threadLocked === true
+            ? '<span title="이 대화에 잠금됨">🔒</span>'
+            : '—';
+    return (
+        '<tr>' +
+        '<td>' +
+        App.escapeHtml(t.memberName || '') +
+        '</td>' +
+        '<td>' +
+        App.escapeHtml(t.memberNumber || '') +
+        '</td>' +
+        '<td style="text-align:center;">' +
+        lockCell +
+        '</td>' +
+        '<td>' +
+        tag +
+        App.escapeHtml(t.lastMessagePreview || '') +
+        '</td>' +
+        '<td>' +
+        (t.unreadFromMemberCount > 0
+            ? '<span class="badge badge-danger">' + t.unreadFromMemberCount + '</span>'
+            : '—') +
+        '</td>' +
+        '<td><button type="button" class="btn btn-sm btn-primary" onclick="openDeskThreadModal(' +
+        t.memberId +
+        ')">보기</button></td>' +
+        '<td><button type="button" class="btn btn-sm btn-danger" onclick="deleteDeskThreadRow(' +
+        t.memberId +
+        ')">전체 삭제</button></td>' +
+        '</tr>'
+    );
+}
+
+/** append=true면 다음 페이지를 이어 붙이고, 아니면 첫 페이지부터 다시 그린다 */
+async function loadDeskInbox(append) {
     try {
-        const data = await App.api.get('/member-desk-messages/inbox');
+        const more = append === true && deskInboxNextCursor;
+        const url = more
+            ? '/member-desk-messages/inbox?cursor=' + encodeURIComponent(deskInboxNextCursor)
+            : '/member-desk-messages/inbox';
+        const data = await App.api.get(url);
         const threads = data.threads || [];
         const total = data.totalUnreadFromMembers != null ? data.totalUnreadFromMembers : 0;
+        deskInboxNextCursor = data.nextCursor || null;
         const badge = document.getElementById('desk-inbox-badge');
         if (badge) {
             if (total > 0) {
@@ -488,52 +536,28 @@ async function loadDeskInbox() {
         }
         const tbody = document.getElementById('desk-inbox-table-body');
         if (!tbody) return;
-        if (!threads.length) {
+        const moreRow = document.getElementById('desk-inbox-more-row');
+        if (moreRow) moreRow.remove();
+        if (!more && !threads.length) {
             tbody.innerHTML =
                 '<tr><td colspan="7" style="text-align: center; color: var(--text-muted);">쪽지가 없습니다.</td></tr>';
             if (typeof App.updateNotificationBadge === 'function') App.updateNotificationBadge();
             return;
         }
-        tbody.innerHTML = threads
-            .map(function (t) {
-                var tag =
-                    t.lastFromMember === true
-                        ? '<span style="font-size:10px;opacity:0.8;margin-right:4px;">[회원]</span>'
-                        : '<span style="font-size:10px;opacity:0.8;margin-right:4px;">[데스크]</span>';
-                var lockCell =
-                    t.threadLocked === true
-                        ? '<span title="이 대화에 잠금됨">🔒</span>'
-                        : '—';
-                return (
-                    '<tr>' +
-                    '<td>' +
-                    App.escapeHtml(t.memberName || '') +
-                    '</td>' +
-                    '<td>' +
-                    App.escapeHtml(t.memberNumber || '') +
-                    '</td>' +
-                    '<td style="text-align:center;">' +
-                    lockCell +
-                    '</td>' +
-                    '<td>' +
-                    tag +
-                    App.escapeHtml(t.lastMessagePreview || '') +
-                    '</td>' +
-                    '<td>' +
-                    (t.unreadFromMemberCount > 0
-                        ? '<span class="badge badge-danger">' + t.unreadFromMemberCount + '</span>'
-                        : '—') +
-                    '</td>' +
-                    '<td><button type="button" class="btn btn-sm btn-primary" onclick="openDeskThreadModal(' +
-                    t.memberId +
-                    ')">보기</button></td>' +
-                    '<td><button type="button" class="btn btn-sm btn-danger" onclick="deleteDeskThreadRow(' +
-                    t.memberId +
-                    ')">전체 삭제</button></td>' +
-                    '</tr>'
-                );
-            })
-            .join('');
+        const html = threads.map(renderDeskInboxRow).join('');
+        if (more) {
+            tbody.insertAdjacentHTML('beforeend', html);
+        } else {
+            tbody.innerHTML = html;
+        }
+        if (deskInboxNextCursor) {
+            tbody.insertAdjacentHTML(
+                'beforeend',
+                '<tr id="desk-inbox-more-row"><td colspan="7" style="text-align: center;">' +
+                    '<button type="button" class="btn btn-sm btn-secondary" onclick="loadDeskInbox(true)">더 보기</button>' +
+                    '</td></tr>'
+            );
+        }
         if (typeof App.updateNotificationBadge === 'function') App.updateNotificationBadge();
     } catch (e) {
         App.err('쪽지함 로드 실패:', e);
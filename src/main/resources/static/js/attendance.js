@@ -822,8 +822,40 @@ async function resetIncompleteAttendances() {
 // 전체 체크인 모달용 저장 (구역별 선택 후 실행 시 사용)
 let _bulkCheckinUnchecked = [];
 let _bulkCheckinToday = [];
-/** 체크인 미처리 전체 목록 (레슨 카테고리 필터용) */
+/** 체크인 미처리 목록 중 지금까지 불러온 페이지들 (레슨 카테고리 필터용) */
 let _uncheckedBookingsAll = [];
+/** 체크인 미처리 다음 페이지 커서 (서버 X-Next-Cursor, 없으면 마지막 페이지) */
+let _uncheckedNextCursor = null;
+/** 체크인 미처리 한 번에 불러오는 건수 (서버 최대 500) */
+const UNCHECKED_PAGE_SIZE = 200;
+
+/** 체크인 미처리 예약 한 페이지: 본문은 배열, 다음 페이지 커서는 X-Next-Cursor 헤더 */
+async function fetchUncheckedBookingsPage(cursor) {
+    let url = '/attendance/unchecked-bookings?limit=' + UNCHECKED_PAGE_SIZE;
+    if (cursor) url += '&cursor=' + encodeURIComponent(cursor);
+    const response = await fetch(`${App.apiBase}${url}`, { headers: App.getAuthHeaders() });
+    if (response.status === 401) {
+        App.handle401();
+        throw new Error('인증이 만료되었습니다.');
+    }
+    if (!response.ok) {
+        throw new Error(`HTTP ${response.status}`);
+    }
+    const data = await response.json();
+    return { bookings: Array.isArray(data) ? data : [], nextCursor: response.headers.get('X-Next-Cursor') };
+}
+
+/** 일괄 체크인용: 조회 기간 안의 체크인 미처리 예약을 마지막 페이지까지 이어서 불러옴 */
+async function fetchAllUncheckedBookings() {
+    const all = [];
+    let cursor = null;
+    do {
+        const page = await fetchUncheckedBookingsPage(cursor);
+        all.push(...page.bookings);
+        cursor = page.nextCursor;
+    } while (cursor);
+    return all;
+}
 
 /** 예약의 레슨 카테고리 키 반환 (필터 비교용: BASEBALL, YOUTH_BASEBALL, TRAINING, PILATES, RENTAL) */
 function getUncheckedBookingCategoryKey(booking) {
@@ -849,13 +881,16 @@ function filterUncheckedDisplay() {
         list = list.filter(function(b) { return getCoachIdFromBooking(b) === coachId; });
     }
     renderUncheckedBookings(list);
+    var loadMore = document.getElementById('unchecked-load-more');
+    if (loadMore) loadMore.style.display = _uncheckedNextCursor ? '' : 'none';
 }
 
-// 체크인 미처리 예약 목록 로드
-async function loadUncheckedBookings() {
+// 체크인 미처리 예약 목록 로드 (append=true면 "더 보기": 다음 페이지를 뒤에 붙임)
+async function loadUncheckedBookings(append) {
     try {
-        const bookings = await App.api.get('/attendance/unchecked-bookings');
-        _uncheckedBookingsAll = Array.isArray(bookings) ? bookings : [];
+        const page = await fetchUncheckedBookingsPage(append ? _uncheckedNextCursor : null);
+        _uncheckedBookingsAll = append ? _uncheckedBookingsAll.concat(page.bookings) : page.bookings;
+        _uncheckedNextCursor = page.nextCursor;
         filterUncheckedDisplay();
     } catch (error) {
         App.err('체크인 미처리 예약 로드 실패:', error);
@@ -871,7 +906,7 @@ async function openBulkCheckinModal(origin) {
     try {
         const todayStr = new Date().toISOString().split('T')[0];
         const [unchecked, todayBookings] = await Promise.all([
-            App.api.get('/attendance/unchecked-bookings'),
+            fetchAllUncheckedBookings(),
             App.api.get(`/bookings?date=${todayStr}`)
         ]);
         _bulkCheckinUnchecked = unchecked && Array.isArray(unchecked) ? unchecked : [];
@@ -1369,6 +1369,117 @@ App.initNotifications = function() {
     App.updateNotificationBadge();
 };
 
+// 실시간 알림(SSE) 상태 — 연결 중이면 종 배지는 서버가 보낸 값을 쓰고 주기 조회를 건너뛴다
+App.live = {
+    connected: false,
+    deskUnread: null,
+    smsMaxId: null,
+    // 회원 예약 화면(member-booking.js)이 EventSource로 채움
+    memberConnected: false,
+    memberDeskUnread: null,
+    retryMs: 5000,
+    started: false,
+    refreshTimer: null
+};
+
+/**
+ * 직원 화면 실시간 알림 연결 (/api/notifications/stream).
+ * EventSource는 Authorization 헤더를 붙일 수 없어 fetch 스트림으로 읽는다. 끊기면 점점 늦게 재연결하고, 그동안은 60초 주기 조회가 동작한다.
+ */
+App.startLiveNotifications = function() {
+    const live = App.live;
+    if (live.started || typeof fetch !== 'function' || typeof TextDecoder === 'undefined' || !App.getAuthToken()) {
+        return;
+    }
+    live.started = true;
+    const connect = function() {
+        const token = App.getAuthToken();
+        if (!token) {
+            live.started = false;
+            live.connected = false;
+            return;
+        }
+        fetch((App.apiBase || '/api') + '/notifications/stream', {
+            headers: { Authorization: 'Bearer ' + token, Accept: 'text/event-stream' },
+            cache: 'no-store'
+        })
+            .then(function(res) {
+                if (!res.ok || !res.body) {
+                    throw new Error('stream ' + res.status);
+                }
+                live.connected = true;
+                live.retryMs = 5000;
+                const reader = res.body.getReader();
+                const decoder = new TextDecoder();
+                let buf = '';
+                const pump = function() {
+                    return reader.read().then(function(r) {
+                        if (r.done) {
+                            throw new Error('stream closed');
+                        }
+                        buf += decoder.decode(r.value, { stream: true }).replace(/\r/g, '');
+                        let idx;
+                        while ((idx = buf.indexOf('\n\n')) >= 0) {
+                            App.handleLiveEvent(buf.slice(0, idx));
+                            buf = buf.slice(idx + 2);
+                        }
+                        return pump();
+                    });
+                };
+                return pump();
+            })
+            .catch(function(e) {
+                live.connected = false;
+                App.warn('실시간 알림 연결 끊김, 주기 조회로 대체:', e);
+                setTimeout(connect, live.retryMs);
+                live.retryMs = Math.min(live.retryMs * 2, 5 * 60 * 1000);
+            });
+    };
+    connect();
+};
+
+// SSE 이벤트 한 건 처리 — 다른 화면은 document의 'afbs:live' 이벤트로 예약·체크인 등을 받아 쓸 수 있다
+App.handleLiveEvent = function(block) {
+    let name = 'message';
+    let data = '';
+    block.split('\n').forEach(function(line) {
+        if (line.indexOf('event:') === 0) {
+            name = line.slice(6).trim();
+        } else if (line.indexOf('data:') === 0) {
+            data += line.slice(5);
+        }
+    });
+    if (!data) {
+        return; // 하트비트(주석)
+    }
+    let payload;
+    try {
+        payload = JSON.parse(data);
+    } catch (e) {
+        return;
+    }
+    if (name === 'desk-badge') {
+        App.live.deskUnread = Number(payload.totalUnreadFromMembers) || 0;
+    } else if (name === 'sms') {
+        App.live.smsMaxId = Number(payload.maxId) || 0;
+    }
+    document.dispatchEvent(new CustomEvent('afbs:live', { detail: { event: name, data: payload } }));
+    if (name === 'desk-badge' || name === 'sms') {
+        App.scheduleLiveBadgeRefresh();
+    }
+};
+
+// 이벤트가 몰려도 배지 갱신은 한 번
+App.scheduleLiveBadgeRefresh = function() {
+    if (App.live.refreshTimer) {
+        return;
+    }
+    App.live.refreshTimer = setTimeout(function() {
+        App.live.refreshTimer = null;
+        App.updateNotificationBadge();
+    }, 300);
+};
+
 // 알림 개수 업데이트
 App.updateNotificationBadge = async function() {
     try {
@@ -1409,18 +1520,22 @@ App.updateNotificationBadge = async function() {
             });
 
             let deskUnreadMb = 0;
-            try {
-                const ur = await fetch(
-                    (App.apiBase || '/api') +
-                        '/public/member-desk-messages/unread-count?memberNumber=' +
-                        encodeURIComponent(mn)
-                );
-                if (ur.ok) {
-                    const ud = await ur.json();
-                    deskUnreadMb = Number(ud.count) || 0;
+            if (App.live.memberConnected && App.live.memberDeskUnread != null) {
+                deskUnreadMb = App.live.memberDeskUnread;
+            } else {
+                try {
+                    const ur = await fetch(
+                        (App.apiBase || '/api') +
+                            '/public/member-desk-messages/unread-count?memberNumber=' +
+                            encodeURIComponent(mn)
+                    );
+                    if (ur.ok) {
+                        const ud = await ur.json();
+                        deskUnreadMb = Number(ud.count) || 0;
+                    }
+                } catch (e) {
+                    App.err('회원 데스크 미읽음 카운트 생략:', e);
                 }
-            } catch (e) {
-                App.err('회원 데스크 미읽음 카운트 생략:', e);
             }
 
             var prevMbDesk = sessionStorage.getItem('mb_desk_unread_last');
@@ -1457,13 +1572,17 @@ App.updateNotificationBadge = async function() {
         ).length;
 
         let deskCount = 0;
-        try {
-            const desk = await App.api.get('/member-desk-messages/badge-count');
-            if (desk && desk.totalUnreadFromMembers != null) {
-                deskCount = Number(desk.totalUnreadFromMembers) || 0;
+        if (App.live.connected && App.live.deskUnread != null) {
+            deskCount = App.live.deskUnread;
+        } else {
+            try {
+                const desk = await App.api.get('/member-desk-messages/badge-count');
+                if (desk && desk.totalUnreadFromMembers != null) {
+                    deskCount = Number(desk.totalUnreadFromMembers) || 0;
+                }
+            } catch (deskErr) {
+                App.err('회원 쪽지 배지 카운트 생략:', deskErr);
             }
-        } catch (deskErr) {
-            App.err('회원 쪽지 배지 카운트 생략:', deskErr);
         }
 
         var prevDesk = sessionStorage.getItem('desk_unread_last');
@@ -1479,9 +1598,12 @@ App.updateNotificationBadge = async function() {
         let smsNew = 0;
         try {
             const afterSms = parseInt(localStorage.getItem('staff_sms_last_seen_message_id') || '0', 10);
-            const st = await App.api.get('/messages/stats/bell?afterId=' + afterSms);
-            if (st && st.newCount != null) {
-                smsNew = Number(st.newCount) || 0;
+            // 실시간 연결 중이고 마지막 확인 이후 새 발송 기록이 없으면 조회 생략
+            if (!(App.live.connected && App.live.smsMaxId != null && App.live.smsMaxId <= afterSms)) {
+                const st = await App.api.get('/messages/stats/bell?afterId=' + afterSms);
+                if (st && st.newCount != null) {
+                    smsNew = Number(st.newCount) || 0;
+                }
             }
         } catch (smsErr) {
             App.err('SMS 발송 종 알림 생략:', smsErr);
@@ -2582,10 +2704,17 @@ document.addEventListener('DOMContentLoaded', () => {
     if (!skipHeavyInit) {
         App.initDarkMode();
         App.initNotifications();
+        App.startLiveNotifications();
         App.initSearch();
         initMobileSidebar();
-        // 1분마다 알림 개수(공지 + 회원 쪽지 미읽음) 갱신
-        setInterval(() => App.updateNotificationBadge(), 60 * 1000);
+        // 1분마다 알림 개수(공지 + 회원 쪽지 미읽음) 갱신 — 실시간 연결 중에는 공지만 바뀔 수 있으므로 5분마다
+        let badgeTick = 0;
+        setInterval(() => {
+            badgeTick++;
+            if (!App.live.connected || badgeTick % 5 === 0) {
+                App.updateNotificationBadge();
+            }
+        }, 60 * 1000);
         
         // topbar-right: 테마·알림·사용자 아이콘+글씨 (모든 페이지 동일 적용)
         setTimeout(() => {
@@ -254,9 +254,62 @@
                 App.updateNotificationBadge();
             }, 60 * 1000);
         }
+        mbStartDeskStream();
         mbRefreshDeskMenuUnread();
     }
 
+    var mbDeskStream = null;
+    var mbDeskStreamMemberNumber = '';
+
+    /**
+     * 데스크 답장 미읽음 수 실시간 수신 (SSE). 연결 중에는 종·메뉴 배지의 미읽음 주기 조회를 건너뛰고,
+     * 연결이 안 되면(구형 브라우저·프록시) 기존 주기 조회가 그대로 동작한다.
+     */
+    function mbStartDeskStream() {
+        if (typeof EventSource === 'undefined' || typeof App === 'undefined' || !App || !App.live) return;
+        var mn = ctx && ctx.memberNumber ? String(ctx.memberNumber).trim() : '';
+        if (mbDeskStream && mbDeskStreamMemberNumber === mn) return;
+        if (mbDeskStream) {
+            mbDeskStream.close();
+            mbDeskStream = null;
+        }
+        App.live.memberConnected = false;
+        App.live.memberDeskUnread = null;
+        mbDeskStreamMemberNumber = mn;
+        if (!mn) return;
+        var base = App.apiBase || '/api';
+        var es = new EventSource(base + '/public/member-desk-messages/stream?memberNumber=' + encodeURIComponent(mn));
+        mbDeskStream = es;
+        es.addEventListener('desk-unread', function (e) {
+            var d;
+            try {
+                d = JSON.parse(e.data);
+            } catch (err) {
+                return;
+            }
+            var n = d && d.count != null ? Number(d.count) : 0;
+            App.live.memberConnected = true;
+            App.live.memberDeskUnread = n;
+            mbShowDeskMenuUnread(n);
+            if (typeof App.scheduleLiveBadgeRefresh === 'function') App.scheduleLiveBadgeRefresh();
+        });
+        es.onerror = function () {
+            // 브라우저가 자동 재연결 — 그동안은 주기 조회 사용
+            App.live.memberConnected = false;
+        };
+    }
+
+    function mbShowDeskMenuUnread(n) {
+        var el = document.getElementById('mb-desk-menu-unread');
+        if (!el) return;
+        if (n > 0) {
+            el.style.display = 'inline-block';
+            el.textContent = n > 9 ? '9+' : String(n);
+        } else {
+            el.style.display = 'none';
+        }
+    }
+
     /** 공지 목록을 확인한 것으로 간주 — 종 배지용 mb_ann_seenMax 갱신 */
     function mbMarkAnnouncementsSeenFromList(list) {
         if (!ctx || !ctx.memberNumber || !list || !list.length) return;
@@ -388,15 +441,7 @@
                 return r.json();
             })
             .then(function (d) {
-                var el = document.getElementById('mb-desk-menu-unread');
-                if (!el) return;
-                var n = d.count != null ? Number(d.count) : 0;
-                if (n > 0) {
-                    el.style.display = 'inline-block';
-                    el.textContent = n > 9 ? '9+' : String(n);
-                } else {
-                    el.style.display = 'none';
-                }
+                mbShowDeskMenuUnread(d.count != null ? Number(d.count) : 0);
             })
             .catch(function () {});
     }
@@ -547,6 +592,14 @@
                 } catch (e) {}
             }
 
+            var tp = url.match(/^\/members\/(\d+)\/timeline\/page(?:\?(.*))?$/);
+            if (tp && tp[1] === midStr) {
+                return origGet.call(
+                    App.api,
+                    '/public/member-booking/members/' + tp[1] + '/timeline/page?' + (tp[2] ? tp[2] + '&' : '') + mnQ
+                );
+            }
+
             var m = url.match(
                 /^\/members\/(\d+)\/(payments|bookings|attendance|product-history|timeline|products|ability-stats-context)$/
             );
@@ -664,6 +717,76 @@
         return new Date(y, m, day);
     }
 
+    /**
+     * 지점·주(월요일 시작)별 점유 응답 캐시 (/calendar/occupancy).
+     * 다시 물을 때 ETag를 If-None-Match로 보내 그 주에 예약 변경이 없으면 304 → 캐시를 그대로 쓴다.
+     */
+    var mbOccupancyCache = {};
+
+    function mbWeekStartYmd(dateStr) {
+        var parts = (dateStr || '').split('-');
+        if (parts.length !== 3) return null;
+        var d = new Date(parseInt(parts[0], 10), parseInt(parts[1], 10) - 1, parseInt(parts[2], 10));
+        if (isNaN(d.getTime())) return null;
+        d.setDate(d.getDate() - ((d.getDay() + 6) % 7));
+        return d.getFullYear() + '-' + pad(d.getMonth() + 1) + '-' + pad(d.getDate());
+    }
+
+    function mbLoadWeekOccupancy(branchCode, dateStr) {
+        var weekStart = mbWeekStartYmd(dateStr);
+        if (!branchCode || !weekStart || !ctx || !ctx.memberNumber) return Promise.resolve(null);
+        var key = branchCode + '|' + weekStart;
+        var cached = mbOccupancyCache[key];
+        var headers = { 'ngrok-skip-browser-warning': 'true' };
+        if (cached && cached.etag) headers['If-None-Match'] = cached.etag;
+        var q = new URLSearchParams({
+            branch: branchCode,
+            weekStart: weekStart,
+            memberNumber: String(ctx.memberNumber).trim()
+        });
+        /** 브라우저 캐시가 304를 200으로 바꾸지 않도록 직접 조건부 요청 */
+        return fetch(apiUrl('/calendar/occupancy') + '?' + q.toString(), { headers: headers, cache: 'no-store' })
+            .then(function (r) {
+                if (r.status === 304 && cached) return cached.data;
+                if (!r.ok) return null;
+                var etag = r.headers.get('ETag');
+                return r.json().then(function (data) {
+                    mbOccupancyCache[key] = { etag: etag, data: data };
+                    return data;
+                });
+            })
+            .catch(function () {
+                return cached ? cached.data : null;
+            });
+    }
+
+    /** 시간표 슬롯 중 같은 시설에 다른 회원 예약이 겹치는 칸 표시 (예약 가능 여부 판정은 서버가 함) */
+    function mbMarkOccupiedTimeSlots(wrap, fid, dateStr) {
+        var branchEl = document.getElementById('booking-branch');
+        var branchCode = (branchEl && branchEl.value) || branch;
+        mbLoadWeekOccupancy(branchCode, dateStr).then(function (data) {
+            if (!data || !data.bookings) return;
+            var taken = [];
+            data.bookings.forEach(function (b) {
+                if (b.mine || b.status === 'CANCELLED' || String(b.facilityId) !== String(fid)) return;
+                var s = new Date(b.startTime);
+                var e = new Date(b.endTime);
+                if (isNaN(s.getTime()) || isNaN(e.getTime())) return;
+                if (s.getFullYear() + '-' + pad(s.getMonth() + 1) + '-' + pad(s.getDate()) !== dateStr) return;
+                taken.push([s.getHours() * 60 + s.getMinutes(), e.getHours() * 60 + e.getMinutes() || 24 * 60]);
+            });
+            wrap.querySelectorAll('.mb-time-slot-btn').forEach(function (btn) {
+                var startMin = parseInt(btn.getAttribute('data-start-min'), 10);
+                var busy = taken.some(function (t) {
+                    return startMin < t[1] && startMin + 60 > t[0];
+                });
+                btn.classList.toggle('mb-time-slot-btn--taken', busy);
+                if (busy) btn.title = '이 시간에 다른 예약이 있습니다';
+                else btn.removeAttribute('title');
+            });
+        });
+    }
+
     function mbRenderBookingTimeSlots() {
         var wrap = document.getElementById('mb-booking-time-slots');
         var stEl = document.getElementById('booking-start-time');
@@ -727,6 +850,7 @@
                 });
                 wrap.appendChild(btn);
             });
+            if (fid && dateStr) mbMarkOccupiedTimeSlots(wrap, fid, dateStr);
         }
 
         if (fid && dateStr && ctx && ctx.memberNumber) {
@@ -3437,7 +3561,7 @@
             ) {
                 App.updateNotificationBadge();
             }
-            if (ctx && ctx.memberNumber) {
+            if (ctx && ctx.memberNumber && !(typeof App !== 'undefined' && App && App.live && App.live.memberConnected)) {
                 mbRefreshDeskMenuUnread();
             }
         }, 3 * 60 * 1000);
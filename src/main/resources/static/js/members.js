@@ -2240,10 +2240,12 @@ function switchTab(tab, member = null) {
                     content.innerHTML = renderMemberStats(member, ctx);
                     setupMemberStatsLegendToggles(content);
                     setupMemberStatsMemos(content, member);
+                    loadMemberMetricTrends(content, member);
                 }).catch(function() {
                     content.innerHTML = renderMemberStats(member, null);
                     setupMemberStatsLegendToggles(content);
                     setupMemberStatsMemos(content, member);
+                    loadMemberMetricTrends(content, member);
                 });
             } else {
                 content.innerHTML = renderMemberStats(member, null);
@@ -3225,20 +3227,48 @@ function renderAttendanceList(attendance) {
     `;
 }
 
-/** 회원 히스토리(타임라인): 가입·구매·예약·체크인·이용권 변동을 날짜순으로 표시 */
+/** 회원 히스토리 한 번에 불러오는 건수 (이전 기록은 "이전 기록 더 보기"로 이어서) */
+const MEMBER_TIMELINE_PAGE_SIZE = 100;
+let memberTimelineState = { memberId: null, events: [], nextCursor: null };
+
+/** 회원 히스토리(타임라인): 가입·구매·예약·체크인·이용권 변동을 날짜순으로 표시 (최근 건부터 페이지 단위) */
 async function loadMemberTimeline(memberId) {
     const content = document.getElementById('detail-tab-content');
     content.innerHTML = '<p style="text-align: center; color: var(--text-muted);">로딩 중...</p>';
     try {
-        const events = await App.api.get(`/members/${memberId}/timeline`);
-        content.innerHTML = renderMemberTimelineContent(events, memberId);
+        const page = await App.api.get(`/members/${memberId}/timeline/page?limit=${MEMBER_TIMELINE_PAGE_SIZE}`);
+        memberTimelineState = { memberId: memberId, events: page.events || [], nextCursor: page.hasMore ? page.nextCursor : null };
+        content.innerHTML = renderMemberTimelineContent(memberTimelineState.events, memberId, !!memberTimelineState.nextCursor);
     } catch (error) {
         App.err('회원 히스토리 로드 실패:', error);
         content.innerHTML = '<p style="color: var(--text-muted);">회원 히스토리를 불러올 수 없습니다.</p>';
     }
 }
 
-function renderMemberTimelineContent(events, memberId) {
+/** 이전 기록 더 보기: 커서 이전 페이지를 앞에 붙여 다시 그림 (스크롤 위치는 기존 첫 행 기준 유지) */
+async function loadOlderMemberTimeline(memberId) {
+    if (memberTimelineState.memberId !== memberId || !memberTimelineState.nextCursor) return;
+    const btn = document.getElementById('timeline-load-older-btn');
+    if (btn) btn.disabled = true;
+    try {
+        const page = await App.api.get(`/members/${memberId}/timeline/page?limit=${MEMBER_TIMELINE_PAGE_SIZE}&before=${encodeURIComponent(memberTimelineState.nextCursor)}`);
+        const list = document.querySelector('#detail-tab-content .member-timeline-list');
+        const prevHeight = list ? list.scrollHeight : 0;
+        const prevTop = list ? list.scrollTop : 0;
+        memberTimelineState.events = (page.events || []).concat(memberTimelineState.events);
+        memberTimelineState.nextCursor = page.hasMore ? page.nextCursor : null;
+        const content = document.getElementById('detail-tab-content');
+        content.innerHTML = renderMemberTimelineContent(memberTimelineState.events, memberId, !!memberTimelineState.nextCursor);
+        const newList = document.querySelector('#detail-tab-content .member-timeline-list');
+        if (newList) newList.scrollTop = prevTop + (newList.scrollHeight - prevHeight);
+    } catch (error) {
+        App.err('이전 회원 히스토리 로드 실패:', error);
+        App.showNotification('이전 기록을 불러오지 못했습니다.', 'danger');
+        if (btn) btn.disabled = false;
+    }
+}
+
+function renderMemberTimelineContent(events, memberId, hasOlder) {
     const hideTimelineDelete = isPublicMemberBookingReadOnly();
     if (!events || events.length === 0) {
         return `
@@ -3311,6 +3341,9 @@ function renderMemberTimelineContent(events, memberId) {
     const deleteBtnHtml = memberId && !hideTimelineDelete
         ? '<button type="button" id="timeline-delete-btn" class="btn btn-sm btn-danger" onclick="toggleTimelineSelectOrDelete(' + memberId + ')" style="margin-left: auto;">선택 삭제</button>'
         : '';
+    const olderBtnHtml = hasOlder && memberId
+        ? '<div style="text-align: center; padding: 8px 0;"><button type="button" id="timeline-load-older-btn" class="btn btn-sm btn-secondary" onclick="loadOlderMemberTimeline(' + memberId + ')">이전 기록 더 보기</button></div>'
+        : '';
     const timelineHelpHtml = hideTimelineDelete
         ? '<p style="font-size: 12px; color: var(--text-secondary); margin-bottom: 12px;">가입, 구매, 예약, 체크인, 이용권 변동을 날짜순으로 표시합니다.</p>'
         : '<p style="font-size: 12px; color: var(--text-secondary); margin-bottom: 12px;">가입, 구매, 예약, 체크인, 이용권 변동을 날짜순으로 표시합니다. <strong>선택 삭제</strong>를 누르면 이용권 항목에 체크박스가 나타나며, 체크한 뒤 다시 버튼을 누르면 삭제됩니다.</p>';
@@ -3323,6 +3356,7 @@ function renderMemberTimelineContent(events, memberId) {
             <div class="card-body">
                 ${timelineHelpHtml}
                 <div class="member-timeline-list" style="max-height: 60vh; overflow-y: auto;">
+                    ${olderBtnHtml}
                     ${rows}
                 </div>
             </div>
@@ -3649,6 +3683,60 @@ function openGradeMemoModal(memberId, initialMemo, field, statIndex, statLabel)
     document.body.appendChild(overlay);
 }
 
+/** 능력치 탭 아래 훈련 기록 추이 (서버 시계열 /training-logs/members/{id}/series, 최근 1년) */
+var MEMBER_TREND_METRICS = [
+    { key: 'swingSpeed', label: '스윙 스피드', unit: 'mph' },
+    { key: 'ballSpeed', label: '타구 스피드', unit: 'mph' },
+    { key: 'pitchSpeed', label: '구속', unit: 'km/h' }
+];
+
+function loadMemberMetricTrends(container, member) {
+    if (!container || !member || !member.id) return;
+    if (isPublicMemberBookingReadOnly()) return;
+    if (['ELITE_ELEMENTARY', 'ELITE_MIDDLE', 'ELITE_HIGH'].indexOf(member.grade) === -1) return; // 능력치 탭과 같이 엘리트만
+    var wrap = document.createElement('div');
+    wrap.className = 'member-stats-trends';
+    container.appendChild(wrap);
+    Promise.all(MEMBER_TREND_METRICS.map(function(m) {
+        return App.api.get('/training-logs/members/' + member.id + '/series?metric=' + m.key + '&maxPoints=30')
+            .catch(function() { return null; });
+    })).then(function(results) {
+        var rows = [];
+        results.forEach(function(series, i) {
+            if (series && series.summary && series.summary.count > 0) rows.push(renderMemberTrendRow(MEMBER_TREND_METRICS[i], series));
+        });
+        if (rows.length === 0) {
+            wrap.remove();
+            return;
+        }
+        wrap.innerHTML = '<h3 class="member-stats-ability-title">훈련 기록 추이 (최근 1년)</h3>' +
+            '<ul class="member-stats-list">' + rows.join('') + '</ul>';
+    });
+}
+
+function renderMemberTrendRow(metric, series) {
+    var points = series.points || [];
+    var summary = series.summary;
+    var fmt = function(v) { return v != null ? (Math.round(v * 10) / 10) : '-'; };
+    var svg = '';
+    if (points.length > 1) {
+        var values = points.map(function(p) { return p.value; });
+        var min = Math.min.apply(null, values);
+        var max = Math.max.apply(null, values);
+        var span = max - min || 1;
+        var line = values.map(function(v, i) {
+            return (i * 120 / (values.length - 1)).toFixed(1) + ',' + (28 - (v - min) / span * 24).toFixed(1);
+        }).join(' ');
+        svg = '<svg viewBox="0 0 120 30" width="120" height="30" style="vertical-align: middle; margin-left: 8px;">' +
+            '<polyline points="' + line + '" fill="none" stroke="var(--accent-primary)" stroke-width="1.5"/></svg>';
+    }
+    var slope = summary.slopePer30Days;
+    var slopeText = slope != null ? ' · 30일당 ' + (slope >= 0 ? '+' : '') + fmt(slope) : '';
+    return '<li><span class="stat-label">' + metric.label + '</span>' +
+        '<span class="stat-value">최근 ' + fmt(summary.last) + ' ' + metric.unit +
+        ' (최고 ' + fmt(summary.max) + ', ' + summary.count + '회' + slopeText + ')' + svg + '</span></li>';
+}
+
 function renderMemberStats(member, context) {
     if (!member) return '<p>로딩 중...</p>';
     var eliteGrades = ['ELITE_ELEMENTARY', 'ELITE_MIDDLE', 'ELITE_HIGH'];
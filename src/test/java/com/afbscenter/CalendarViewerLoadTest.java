@@ -0,0 +1,199 @@
+package com.afbscenter;
+
+import com.afbscenter.model.Booking;
+import com.afbscenter.model.Facility;
+import com.afbscenter.model.Member;
+import com.afbscenter.repository.BookingRepository;
+import com.afbscenter.repository.FacilityRepository;
+import com.afbscenter.repository.MemberRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 회원 달력 동시 조회 부하 — 노드 하나가 몇 명의 동시 조회자를 버티는지 단계별로 측정한다.
+ * 동시 조회자 N명이 각각 월 달력(/calendar)과 주 점유(/calendar/occupancy)를 반복 요청하고,
+ * 오류 없이 p95가 예산({@code load.p95-budget-ms}, 기본 2000ms) 안이면 그 단계를 "유지"로 본다.
+ * pom의 load-test 프로파일이 플랫폼 스레드/가상 스레드 모드로 한 번씩 실행하고 (기본 빌드에서는 제외),
+ * 모드별 결과를 target/load-test/calendar-load-{mode}.txt에 남긴다. 가상 스레드는 Java 21 런타임에서만 실제 적용.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"logging.level.com.afbscenter.CalendarViewerLoadTest=INFO",
+                "logging.level.com.afbscenter.config.DbConnectionGate=INFO"})
+class CalendarViewerLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(CalendarViewerLoadTest.class);
+
+    private static final int[] VIEWER_STEPS = {25, 100, 400, 1000, 2000};
+    private static final int REQUESTS_PER_VIEWER = 4;
+    private static final int BOOKINGS_PER_DAY = 40;
+    private static final String MEMBER_NUMBER = "LOAD-1";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private FacilityRepository facilityRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void reportsConcurrentCalendarViewersPerMode() throws Exception {
+        LocalDate monthStart = LocalDate.of(2026, 3, 1);
+        seed(monthStart);
+
+        boolean virtualRequested = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        int runtime = Runtime.version().feature();
+        String mode = virtualRequested && runtime >= 21 ? "virtual" : "platform";
+        long budgetMs = environment.getProperty("load.p95-budget-ms", Long.class, 2000L);
+        List<String> report = new ArrayList<>();
+        report.add(String.format("mode=%s (requested virtual=%s, java=%d), p95 budget=%dms", mode, virtualRequested, runtime, budgetMs));
+        logger.info("[calendar-load] {}", report.get(0));
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        List<URI> uris = List.of(
+                URI.create("http://localhost:" + port + "/api/public/member-booking/calendar?start=" + monthStart.atStartOfDay().atOffset(ZoneOffset.UTC)
+                        + "&end=" + monthStart.plusMonths(1).atStartOfDay().atOffset(ZoneOffset.UTC)
+                        + "&branch=SAHA&memberNumber=" + MEMBER_NUMBER),
+                URI.create("http://localhost:" + port + "/api/public/member-booking/calendar/occupancy?branch=SAHA&weekStart="
+                        + monthStart.plusDays(7) + "&memberNumber=" + MEMBER_NUMBER));
+
+        // 예열 (JIT·커넥션 풀·캐시)
+        runStep(client, uris, 10);
+
+        int held = 0;
+        for (int viewers : VIEWER_STEPS) {
+            StepResult r = runStep(client, uris, viewers);
+            boolean ok = r.errors == 0 && r.p95Ms <= budgetMs;
+            report.add(String.format("viewers=%d requests=%d errors=%d p50=%dms p95=%dms max=%dms rps=%.0f %s",
+                    viewers, r.requests, r.errors, r.p50Ms, r.p95Ms, r.maxMs, r.rps, ok ? "OK" : "OVER"));
+            logger.info("[calendar-load] mode={} {}", mode, report.get(report.size() - 1));
+            if (!ok) break;
+            held = viewers;
+        }
+        report.add("held " + held + " concurrent calendar viewers");
+        logger.info("[calendar-load] mode={} held {} concurrent calendar viewers", mode, held);
+        // 두 모드가 각자 실행되므로 모드별 파일로 남겨 나란히 비교
+        Path out = Path.of("target", "load-test", "calendar-load-" + (virtualRequested ? "virtual" : "platform") + ".txt");
+        Files.createDirectories(out.getParent());
+        Files.write(out, report, StandardCharsets.UTF_8);
+        assertTrue(held >= VIEWER_STEPS[0], "최소 단계(" + VIEWER_STEPS[0] + "명)는 버텨야 함");
+    }
+
+    private void seed(LocalDate monthStart) {
+        if (memberRepository.findByMemberNumber(MEMBER_NUMBER).isPresent()) {
+            return;
+        }
+        Member member = new Member();
+        member.setName("부하회원");
+        member.setPhoneNumber("010-0000-0001");
+        member.setGender(Member.Gender.MALE);
+        member.setMemberNumber(MEMBER_NUMBER);
+        memberRepository.save(member);
+
+        Facility facility = new Facility();
+        facility.setName("부하 케이지");
+        facility.setBranch(Facility.Branch.SAHA);
+        facilityRepository.save(facility);
+
+        List<Booking> bookings = new ArrayList<>();
+        for (LocalDate day = monthStart; day.isBefore(monthStart.plusMonths(1)); day = day.plusDays(1)) {
+            for (int i = 0; i < BOOKINGS_PER_DAY; i++) {
+                LocalDateTime start = day.atTime(6, 0).plusMinutes(20L * i);
+                Booking b = new Booking();
+                b.setFacility(facility);
+                b.setMember(i % 3 == 0 ? member : null);
+                b.setNonMemberName(i % 3 == 0 ? null : "비회원" + i);
+                b.setStartTime(start);
+                b.setEndTime(start.plusMinutes(20));
+                b.setPurpose(Booking.BookingPurpose.RENTAL);
+                b.setStatus(Booking.BookingStatus.CONFIRMED);
+                b.setBranch(Booking.Branch.SAHA);
+                bookings.add(b);
+            }
+        }
+        bookingRepository.saveAll(bookings);
+    }
+
+    /** 동시 조회자 수만큼만 요청을 띄워 두고(세마포어), 각 조회자가 달력 요청을 번갈아 보낸다 */
+    private StepResult runStep(HttpClient client, List<URI> uris, int viewers) throws InterruptedException {
+        int total = viewers * REQUESTS_PER_VIEWER;
+        Semaphore inFlight = new Semaphore(viewers);
+        AtomicInteger errors = new AtomicInteger();
+        long[] latencies = new long[total];
+        List<CompletableFuture<Void>> futures = new ArrayList<>(total);
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            inFlight.acquire();
+            int idx = i;
+            long sentAt = System.nanoTime();
+            HttpRequest request = HttpRequest.newBuilder(uris.get(i % uris.size()))
+                    .timeout(Duration.ofSeconds(60)).GET().build();
+            futures.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((res, ex) -> {
+                        latencies[idx] = (System.nanoTime() - sentAt) / 1_000_000;
+                        if (ex != null || res.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        }
+                        inFlight.release();
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        Arrays.sort(latencies);
+        return new StepResult(total, errors.get(), latencies[total / 2], latencies[(int) Math.min(total - 1, Math.ceil(total * 0.95) - 1)],
+                latencies[total - 1], total / seconds);
+    }
+
+    private static final class StepResult {
+        final int requests;
+        final int errors;
+        final long p50Ms;
+        final long p95Ms;
+        final long maxMs;
+        final double rps;
+
+        StepResult(int requests, int errors, long p50Ms, long p95Ms, long maxMs, double rps) {
+            this.requests = requests;
+            this.errors = errors;
+            this.p50Ms = p50Ms;
+            this.p95Ms = p95Ms;
+            this.maxMs = maxMs;
+            this.rps = rps;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.afbscenter.controller;
+
+import com.afbscenter.model.Attendance;
+import com.afbscenter.model.Booking;
+import com.afbscenter.model.Facility;
+import com.afbscenter.model.Member;
+import com.afbscenter.model.MemberProduct;
+import com.afbscenter.model.MemberProductHistory;
+import com.afbscenter.model.Payment;
+import com.afbscenter.model.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 타임라인 페이지({@code /timeline/page})를 커서로 끝까지 이어 붙이면 전체 타임라인과 같은지 비교.
+ * 같은 시각의 여러 종류, 날짜 없는 결제·예약·이용권 변동(구 데이터)을 섞는다
+ */
+@DataJpaTest
+@Import(MemberDetailQueryController.class)
+class MemberTimelinePageTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private MemberDetailQueryController controller;
+
+    @Test
+    void pagesConcatenateToFullTimeline() {
+        LocalDateTime base = LocalDateTime.of(2026, 3, 2, 10, 0);
+        Facility facility = new Facility();
+        facility.setName("테스트 시설");
+        em.persist(facility);
+        Product product = new Product();
+        product.setName("10회권");
+        product.setType(Product.ProductType.COUNT_PASS);
+        product.setPrice(100000);
+        product.setUsageCount(10);
+        em.persist(product);
+        Member member = new Member();
+        member.setName("타임라인");
+        member.setPhoneNumber("010-0000-0001");
+        member.setGender(Member.Gender.MALE);
+        member.setMemberNumber("T1");
+        em.persist(member);
+        MemberProduct mp = new MemberProduct();
+        mp.setMember(member);
+        mp.setProduct(product);
+        mp.setTotalCount(10);
+        mp.setRemainingCount(10);
+        mp.setPurchaseDate(base);
+        em.persist(mp);
+
+        List<Long> undatedPayments = new ArrayList<>();
+        List<Long> undatedBookings = new ArrayList<>();
+        List<Long> undatedHistories = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            // 하루 두 건씩 같은 시각 (종류·ID로 정렬되는지)
+            LocalDateTime at = base.plusDays(i / 2);
+            Payment payment = new Payment();
+            payment.setMember(member);
+            payment.setProduct(product);
+            payment.setAmount(10000 * (i + 1));
+            payment.setPaymentMethod(Payment.PaymentMethod.CARD);
+            payment.setPaidAt(at);
+            payment.setCreatedAt(at);
+            em.persist(payment);
+            if (i % 3 == 0) undatedPayments.add(payment.getId());
+
+            Booking booking = new Booking();
+            booking.setFacility(facility);
+            booking.setMember(member);
+            booking.setMemberProduct(mp);
+            booking.setStartTime(at);
+            booking.setEndTime(at.plusHours(1));
+            booking.setPurpose(Booking.BookingPurpose.LESSON);
+            booking.setStatus(Booking.BookingStatus.COMPLETED);
+            em.persist(booking);
+            if (i % 3 == 1) undatedBookings.add(booking.getId());
+
+            Attendance attendance = new Attendance();
+            attendance.setBooking(booking);
+            attendance.setMember(member);
+            attendance.setFacility(facility);
+            attendance.setDate(LocalDate.from(at));
+            // 체크인 시각 없는 출석은 출석일 0시로
+            attendance.setCheckInTime(i % 2 == 0 ? at : null);
+            attendance.setStatus(Attendance.AttendanceStatus.PRESENT);
+            em.persist(attendance);
+
+            MemberProductHistory history = new MemberProductHistory();
+            history.setMemberProduct(mp);
+            history.setMember(member);
+            history.setAttendance(attendance);
+            history.setTransactionDate(at);
+            history.setType(MemberProductHistory.TransactionType.DEDUCT);
+            history.setChangeAmount(-1);
+            history.setRemainingCountAfter(9 - i);
+            em.persist(history);
+            if (i % 3 == 2) undatedHistories.add(history.getId());
+        }
+        em.flush();
+        // 구 데이터: 날짜 칼럼이 비어 있는 행
+        em.getEntityManager().createNativeQuery("ALTER TABLE payments ALTER COLUMN paid_at SET NULL").executeUpdate();
+        em.getEntityManager().createNativeQuery("ALTER TABLE payments ALTER COLUMN created_at SET NULL").executeUpdate();
+        em.getEntityManager().createNativeQuery("ALTER TABLE bookings ALTER COLUMN start_time SET NULL").executeUpdate();
+        em.getEntityManager().createNativeQuery("ALTER TABLE bookings ALTER COLUMN created_at SET NULL").executeUpdate();
+        em.getEntityManager().createNativeQuery("ALTER TABLE member_product_history ALTER COLUMN transaction_date SET NULL").executeUpdate();
+        em.getEntityManager().createNativeQuery("UPDATE payments SET paid_at = NULL, created_at = NULL WHERE id IN (:ids)")
+                .setParameter("ids", undatedPayments).executeUpdate();
+        em.getEntityManager().createNativeQuery("UPDATE bookings SET start_time = NULL, created_at = NULL WHERE id IN (:ids)")
+                .setParameter("ids", undatedBookings).executeUpdate();
+        em.getEntityManager().createNativeQuery("UPDATE member_product_history SET transaction_date = NULL WHERE id IN (:ids)")
+                .setParameter("ids", undatedHistories).executeUpdate();
+        em.clear();
+
+        List<Map<String, Object>> full = controller.getMemberTimeline(member.getId()).getBody();
+        assertTrue(full.stream().anyMatch(e -> e.get("date") == null), "날짜 없는 항목도 타임라인에 남는다");
+
+        List<Map<String, Object>> paged = new ArrayList<>();
+        String before = null;
+        for (int guard = 0; guard < 100; guard++) {
+            Map<String, Object> page = controller.getMemberTimelinePage(member.getId(), 4, before).getBody();
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> events = (List<Map<String, Object>>) page.get("events");
+            assertFalse(events.isEmpty());
+            paged.addAll(0, events);
+            if (!Boolean.TRUE.equals(page.get("hasMore"))) break;
+            before = (String) page.get("nextCursor");
+        }
+
+        assertEquals(full, paged);
+    }
+}
@@ -0,0 +1,159 @@
+package com.afbscenter.dto;
+
+import com.afbscenter.model.Booking;
+import com.afbscenter.model.Coach;
+import com.afbscenter.model.Facility;
+import com.afbscenter.model.LessonCategory;
+import com.afbscenter.model.Member;
+import com.afbscenter.model.MemberProduct;
+import com.afbscenter.model.Product;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * 예약 목록 JSON이 예전 Map 응답과 같은 모양인지 골든 파일(src/test/resources/golden)로 확인.
+ * 회원 예약 전체 / 비회원 대기 예약(확정 표시, null 키) / 공개 달력 타인 예약(비식별) 세 경우와,
+ * 일반 응답과 스트리밍 응답이 같은 배열을 내는지 본다.
+ */
+class BookingListItemJsonTest {
+
+    /** Spring Boot 기본 ObjectMapper와 같은 날짜 설정 */
+    private final ObjectMapper mapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    void memberBookingMatchesGolden() throws IOException {
+        BookingListItem item = memberItem().withCalendarMine();
+        assertEquals(golden("booking-list-member.json"), mapper.readTree(mapper.writeValueAsString(item)));
+    }
+
+    @Test
+    void nonMemberPendingBookingMatchesGolden() throws IOException {
+        BookingListItem item = BookingListItem.of(nonMemberBooking(), Booking.BookingStatus.CONFIRMED, null);
+        assertEquals(golden("booking-list-non-member.json"), mapper.readTree(mapper.writeValueAsString(item)));
+    }
+
+    @Test
+    void maskedPublicViewMatchesGolden() throws IOException {
+        BookingListItem item = memberItem().maskedForPublicViewer();
+        assertEquals(golden("booking-list-masked.json"), mapper.readTree(mapper.writeValueAsString(item)));
+    }
+
+    @Test
+    void streamingWriterProducesSameArray() throws IOException {
+        List<BookingListItem> items = List.of(
+                memberItem(),
+                BookingListItem.of(nonMemberBooking(), Booking.BookingStatus.CONFIRMED, null),
+                memberItem().maskedForPublicViewer());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (SequenceWriter seq = mapper.writerFor(BookingListItem.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .writeValuesAsArray(out)) {
+            for (BookingListItem item : items) {
+                seq.write(item);
+            }
+        }
+        assertEquals(mapper.readTree(mapper.writeValueAsString(items)), mapper.readTree(out.toByteArray()));
+    }
+
+    private BookingListItem memberItem() {
+        Coach productCoach = coach(7L, "이코치", "투구");
+        Product product = new Product();
+        product.setId(30L);
+        product.setName("야구 레슨 10회권");
+        product.setType(Product.ProductType.COUNT_PASS);
+        product.setCoach(productCoach);
+        MemberProduct memberProduct = new MemberProduct();
+        memberProduct.setId(40L);
+        memberProduct.setProduct(product);
+
+        Member member = new Member();
+        member.setId(20L);
+        member.setMemberNumber("M0020");
+        member.setName("김회원");
+        member.setPhoneNumber("010-1234-5678");
+        member.setGrade(Member.MemberGrade.ELITE_MIDDLE);
+        member.setSchool("부산중");
+        member.setCoach(coach(5L, "박코치", "타격"));
+
+        Facility facility = new Facility();
+        facility.setId(3L);
+        facility.setName("배팅케이지 1");
+        facility.setBranch(Facility.Branch.SAHA);
+
+        Booking booking = new Booking();
+        booking.setId(101L);
+        booking.setStartTime(LocalDateTime.of(2026, 3, 2, 10, 0));
+        booking.setEndTime(LocalDateTime.of(2026, 3, 2, 11, 0));
+        booking.setParticipants(1);
+        booking.setPurpose(Booking.BookingPurpose.LESSON);
+        booking.setLessonCategory(LessonCategory.BASEBALL);
+        booking.setStatus(Booking.BookingStatus.CONFIRMED);
+        booking.setBranch(Booking.Branch.SAHA);
+        booking.setPaymentMethod(Booking.PaymentMethod.PREPAID);
+        booking.setMemo("타격 자세 점검");
+        booking.setBookingSource(Booking.BookingSource.MEMBER_WEB);
+        booking.setFacility(facility);
+        booking.setCoach(coach(5L, "박코치", "타격"));
+        booking.setMember(member);
+        booking.setMemberProduct(memberProduct);
+
+        BookingListItem.MemberProductRef mpRef = BookingListItem.MemberProductRef.of(40L, memberProduct, 10, 7, 3L);
+        return BookingListItem.of(booking, booking.getStatus(), mpRef);
+    }
+
+    private Booking nonMemberBooking() {
+        Facility facility = new Facility();
+        facility.setId(4L);
+        facility.setName("실내구장");
+        facility.setBranch(null);
+
+        Booking booking = new Booking();
+        booking.setId(102L);
+        booking.setStartTime(LocalDateTime.of(2026, 3, 2, 18, 30));
+        booking.setEndTime(LocalDateTime.of(2026, 3, 2, 20, 0));
+        booking.setParticipants(12);
+        booking.setPurpose(Booking.BookingPurpose.RENTAL);
+        booking.setStatus(Booking.BookingStatus.PENDING);
+        booking.setBranch(Booking.Branch.RENTAL);
+        booking.setPaymentMethod(Booking.PaymentMethod.ON_SITE);
+        booking.setNonMemberName("사회인팀");
+        booking.setNonMemberPhone("010-9999-0000");
+        booking.setBookingSource(null);
+        booking.setFacility(facility);
+        return booking;
+    }
+
+    private static Coach coach(Long id, String name, String specialties) {
+        Coach coach = new Coach();
+        coach.setId(id);
+        coach.setName(name);
+        coach.setSpecialties(specialties);
+        return coach;
+    }
+
+    private JsonNode golden(String name) throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/golden/" + name)) {
+            assertNotNull(in, name);
+            return mapper.readTree(in);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.afbscenter.service;
+
+import com.afbscenter.repository.DeskThreadSummaryRepository;
+import com.afbscenter.repository.MessageRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 직원 화면 실시간 알림: 구독한 연결에 이벤트가 도착하고, 전송에 실패한(끊긴) 연결은 목록에서 빠지는지.
+ * 실제 서블릿 없이 send를 가로채는 SseEmitter로 확인한다
+ */
+class LiveNotificationServiceTest {
+
+    private ThreadPoolTaskExecutor taskExecutor;
+    private ThreadPoolTaskScheduler taskScheduler;
+    private LiveNotificationService service;
+
+    @BeforeEach
+    void setUp() {
+        taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.initialize();
+        taskScheduler = new ThreadPoolTaskScheduler();
+        taskScheduler.initialize();
+        service = new LiveNotificationService(mock(DeskThreadSummaryRepository.class), mock(MessageRepository.class),
+                taskExecutor, taskScheduler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        taskScheduler.shutdown();
+        taskExecutor.shutdown();
+    }
+
+    @Test
+    void staffEventReachesSubscriberAndDeadConnectionIsRemoved() throws Exception {
+        RecordingEmitter live = new RecordingEmitter(false);
+        RecordingEmitter dead = new RecordingEmitter(true);
+        service.subscribeStaff(live);
+        service.subscribeStaff(dead);
+        assertEquals(2, service.connectionStats().get("staff"));
+
+        service.bookingCreated(Map.of("bookingId", 7L));
+
+        waitUntil(() -> live.received.stream().anyMatch(text -> text.contains("event:booking") && text.contains("7")));
+        waitUntil(() -> Integer.valueOf(1).equals(service.connectionStats().get("staff")));
+        assertTrue(live.received.stream().anyMatch(text -> text.contains("event:desk-badge")), "구독 직후 배지 수");
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "5초 안에 조건 충족 안 됨");
+            Thread.sleep(20);
+        }
+    }
+
+    /** 보낸 이벤트를 텍스트로 모으거나(live), 항상 끊긴 연결처럼 실패한다(dead) */
+    private static final class RecordingEmitter extends SseEmitter {
+        private final boolean broken;
+        private final List<String> received = new CopyOnWriteArrayList<>();
+
+        private RecordingEmitter(boolean broken) {
+            this.broken = broken;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (broken) {
+                throw new IOException("Broken pipe");
+            }
+            StringBuilder text = new StringBuilder();
+            for (DataWithMediaType part : builder.build()) {
+                text.append(part.getData());
+            }
+            received.add(text.toString());
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.afbscenter.service;
+
+import com.afbscenter.controller.AttendanceCheckController;
+import com.afbscenter.controller.BookingController;
+import com.afbscenter.model.Booking;
+import com.afbscenter.model.Facility;
+import com.afbscenter.model.LessonCategory;
+import com.afbscenter.model.Member;
+import com.afbscenter.model.MemberProduct;
+import com.afbscenter.model.MemberProductHistory;
+import com.afbscenter.model.Product;
+import com.afbscenter.repository.BookingRepository;
+import com.afbscenter.repository.FacilityRepository;
+import com.afbscenter.repository.MemberProductHistoryRepository;
+import com.afbscenter.repository.MemberProductRepository;
+import com.afbscenter.repository.MemberRepository;
+import com.afbscenter.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 같은 횟수권(30회)에 연결된 서로 다른 예약 50건을 동시에 체크인해도
+ * 차감이 정확히 30번만 일어나고(사라진 차감 없음), 잔여가 음수가 되지 않는지 확인.
+ * 차감 이력·응답의 차감 건수·DB 잔여가 모두 같은 숫자를 가리켜야 한다.
+ * 예약 삭제의 1회 복구가 같은 이용권의 체크인과 겹쳐도 복구·차감이 모두 반영되는지도 확인.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:deductiontest;DB_CLOSE_DELAY=-1;MODE=MySQL;LOCK_TIMEOUT=10000")
+class MemberProductDeductionConcurrencyTest {
+
+    private static final int PASS_COUNT = 30;
+    private static final int CHECKINS = 50;
+
+    @Autowired
+    private AttendanceCheckController attendanceCheckController;
+
+    @Autowired
+    private BookingController bookingController;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private FacilityRepository facilityRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private MemberProductRepository memberProductRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private MemberProductHistoryRepository memberProductHistoryRepository;
+
+    @Test
+    void concurrentCheckinsOnSamePassNeverLoseOrOverdrawDeductions() throws Exception {
+        MemberProduct pass = seedPass();
+        List<Long> bookingIds = seedBookings(pass);
+
+        ExecutorService pool = Executors.newFixedThreadPool(CHECKINS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ResponseEntity<Map<String, Object>>>> futures = new ArrayList<>();
+        for (Long bookingId : bookingIds) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                return attendanceCheckController.processCheckin(Map.of("bookingId", bookingId), null);
+            }));
+        }
+        start.countDown();
+
+        int deducted = 0;
+        for (Future<ResponseEntity<Map<String, Object>>> future : futures) {
+            ResponseEntity<Map<String, Object>> response = future.get(60, TimeUnit.SECONDS);
+            assertEquals(200, response.getStatusCode().value(), String.valueOf(response.getBody()));
+            if (response.getBody() != null && response.getBody().containsKey("productDeducted")) {
+                deducted++;
+            }
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        MemberProduct after = memberProductRepository.findById(pass.getId()).orElseThrow();
+        long deductHistories = memberProductHistoryRepository.findByMemberProductIdOrderByTransactionDateDesc(pass.getId()).stream()
+                .filter(h -> h.getType() == MemberProductHistory.TransactionType.DEDUCT)
+                .count();
+
+        assertEquals(PASS_COUNT, deducted, "차감 성공 응답 수");
+        assertEquals(PASS_COUNT, deductHistories, "차감 이력 수");
+        assertEquals(0, after.getRemainingCount(), "잔여는 정확히 0 (음수·잔존 없음)");
+        assertEquals(MemberProduct.Status.USED_UP, after.getStatus());
+    }
+
+    @Test
+    void concurrentDeleteRestoresAndCheckinsOnSamePassAreAllApplied() throws Exception {
+        // 총 횟수 여유를 둬 복구가 상한에 걸리지 않게 한다 (순서와 무관하게 결과가 같아야 함)
+        MemberProduct pass = seedPass("CONC-2", PASS_COUNT + CHECKINS);
+        List<Long> bookingIds = seedBookings(pass);
+        List<Long> checkinIds = bookingIds.subList(0, PASS_COUNT);
+        List<Long> deleteIds = bookingIds.subList(PASS_COUNT, CHECKINS);
+
+        ExecutorService pool = Executors.newFixedThreadPool(CHECKINS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (Long bookingId : checkinIds) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                return attendanceCheckController.processCheckin(Map.of("bookingId", bookingId), null).getStatusCode().value();
+            }));
+        }
+        for (Long bookingId : deleteIds) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                return bookingController.deleteBooking(bookingId).getStatusCode().value();
+            }));
+        }
+        start.countDown();
+
+        for (Future<Integer> future : futures) {
+            int status = future.get(60, TimeUnit.SECONDS);
+            assertTrue(status == 200 || status == 204, "응답 상태 " + status);
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        MemberProduct after = memberProductRepository.findById(pass.getId()).orElseThrow();
+        assertEquals(PASS_COUNT - checkinIds.size() + deleteIds.size(), after.getRemainingCount(), "체크인 차감과 삭제 복구가 모두 반영");
+    }
+
+    private MemberProduct seedPass() {
+        return seedPass("CONC-1", PASS_COUNT);
+    }
+
+    private MemberProduct seedPass(String memberNumber, int totalCount) {
+        Member member = new Member();
+        member.setName("동시체크인");
+        member.setPhoneNumber("010-0000-0050");
+        member.setGender(Member.Gender.MALE);
+        member.setMemberNumber(memberNumber);
+        memberRepository.save(member);
+
+        Product product = new Product();
+        product.setName("야구 레슨 30회권");
+        product.setType(Product.ProductType.COUNT_PASS);
+        product.setPrice(0);
+        product.setUsageCount(PASS_COUNT);
+        productRepository.save(product);
+
+        MemberProduct pass = new MemberProduct();
+        pass.setMember(member);
+        pass.setProduct(product);
+        pass.setTotalCount(totalCount);
+        pass.setRemainingCount(PASS_COUNT);
+        pass.setStatus(MemberProduct.Status.ACTIVE);
+        return memberProductRepository.save(pass);
+    }
+
+    private List<Long> seedBookings(MemberProduct pass) {
+        Facility facility = new Facility();
+        facility.setName("동시체크인 케이지");
+        facility.setBranch(Facility.Branch.SAHA);
+        facilityRepository.save(facility);
+
+        LocalDateTime base = LocalDateTime.of(2026, 3, 2, 6, 0);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < CHECKINS; i++) {
+            Booking b = new Booking();
+            b.setFacility(facility);
+            b.setMember(pass.getMember());
+            b.setMemberProduct(pass);
+            b.setStartTime(base.plusMinutes(20L * i));
+            b.setEndTime(base.plusMinutes(20L * i + 20));
+            b.setPurpose(Booking.BookingPurpose.LESSON);
+            b.setLessonCategory(LessonCategory.BASEBALL);
+            b.setStatus(Booking.BookingStatus.CONFIRMED);
+            b.setBranch(Booking.Branch.SAHA);
+            bookings.add(b);
+        }
+        List<Long> ids = new ArrayList<>();
+        for (Booking saved : bookingRepository.saveAll(bookings)) {
+            ids.add(saved.getId());
+        }
+        return ids;
+    }
+}
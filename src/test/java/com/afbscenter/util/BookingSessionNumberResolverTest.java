@@ -0,0 +1,177 @@
+package com.afbscenter.util;
+
+import com.afbscenter.model.Attendance;
+import com.afbscenter.model.Booking;
+import com.afbscenter.model.Facility;
+import com.afbscenter.model.Member;
+import com.afbscenter.model.MemberProduct;
+import com.afbscenter.model.MemberProductHistory;
+import com.afbscenter.model.Product;
+import com.afbscenter.repository.AttendanceRepository;
+import com.afbscenter.repository.BookingRepository;
+import com.afbscenter.repository.MemberProductHistoryRepository;
+import com.afbscenter.repository.MemberProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * 예약 목록 회차 일괄 계산이 기존 건별 count 쿼리 방식({@link PerRowSessionCounts})과 같은 값을 내는지 비교.
+ * 고정 시드로 회원·이용권·예약·출석·히스토리를 만들고 일반/대관 두 경로 모두 확인.
+ */
+@DataJpaTest
+@Import(BookingSessionNumberResolver.class)
+class BookingSessionNumberResolverTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private MemberProductRepository memberProductRepository;
+
+    @Autowired
+    private MemberProductHistoryRepository memberProductHistoryRepository;
+
+    @Autowired
+    private BookingSessionNumberResolver resolver;
+
+    private final LocalDateTime base = LocalDateTime.of(2026, 3, 2, 9, 0);
+    private int historySeq;
+
+    @BeforeEach
+    void seed() {
+        Random random = new Random(20260301L);
+        Facility facility = new Facility();
+        facility.setName("테스트 시설");
+        em.persist(facility);
+
+        Product[] products = new Product[3];
+        for (int i = 0; i < products.length; i++) {
+            Product p = new Product();
+            p.setName("횟수권 " + i);
+            p.setType(Product.ProductType.COUNT_PASS);
+            p.setPrice(100000);
+            p.setUsageCount(i == 2 ? null : 10);
+            em.persist(p);
+            products[i] = p;
+        }
+
+        for (int m = 0; m < 12; m++) {
+            Member member = new Member();
+            member.setName("회원" + m);
+            member.setPhoneNumber("010-0000-" + String.format("%04d", m));
+            member.setGender(Member.Gender.MALE);
+            member.setMemberNumber("T" + m);
+            em.persist(member);
+
+            int passes = 1 + random.nextInt(2);
+            for (int k = 0; k < passes; k++) {
+                MemberProduct mp = new MemberProduct();
+                mp.setMember(member);
+                mp.setProduct(products[random.nextInt(products.length)]);
+                mp.setTotalCount(random.nextInt(4) == 0 ? null : 10);
+                mp.setRemainingCount(random.nextInt(5) == 0 ? null : 3 + random.nextInt(8));
+                if (random.nextInt(8) == 0) {
+                    mp.setDeletedAt(base);
+                }
+                em.persist(mp);
+
+                if (random.nextBoolean()) {
+                    history(mp, member, MemberProductHistory.TransactionType.ADJUST, 0, 4 + random.nextInt(4), null);
+                }
+
+                int bookingCount = 2 + random.nextInt(7);
+                for (int b = 0; b < bookingCount; b++) {
+                    LocalDateTime start = base.plusDays(random.nextInt(40) - 20).plusHours(random.nextInt(3));
+                    Booking booking = new Booking();
+                    booking.setFacility(facility);
+                    booking.setMember(random.nextInt(10) == 0 ? null : member);
+                    booking.setMemberProduct(mp);
+                    booking.setStartTime(start);
+                    booking.setEndTime(start.plusHours(1));
+                    booking.setPurpose(Booking.BookingPurpose.RENTAL);
+                    booking.setBranch(random.nextBoolean() ? Booking.Branch.RENTAL : Booking.Branch.SAHA);
+                    Booking.BookingStatus status = random.nextInt(3) == 0 ? Booking.BookingStatus.COMPLETED : Booking.BookingStatus.CONFIRMED;
+                    booking.setStatus(status);
+                    em.persist(booking);
+
+                    if (status == Booking.BookingStatus.COMPLETED && booking.getMember() != null) {
+                        Attendance a = new Attendance();
+                        a.setBooking(booking);
+                        a.setMember(member);
+                        a.setFacility(facility);
+                        a.setDate(LocalDate.from(start));
+                        a.setCheckInTime(start);
+                        a.setStatus(Attendance.AttendanceStatus.PRESENT);
+                        em.persist(a);
+                        if (random.nextInt(4) != 0) {
+                            history(mp, member, MemberProductHistory.TransactionType.DEDUCT, -1, null, a);
+                        }
+                    }
+                }
+            }
+        }
+        em.flush();
+        em.clear();
+    }
+
+    private void history(MemberProduct mp, Member member, MemberProductHistory.TransactionType type,
+                         int change, Integer remainingAfter, Attendance attendance) {
+        MemberProductHistory h = new MemberProductHistory();
+        h.setMemberProduct(mp);
+        h.setMember(member);
+        h.setType(type);
+        h.setChangeAmount(change);
+        h.setRemainingCountAfter(remainingAfter);
+        h.setAttendance(attendance);
+        h.setTransactionDate(base.plusMinutes(historySeq++));
+        em.persist(h);
+    }
+
+    @Test
+    void batchMatchesPerRowForRegularCalendar() {
+        assertSameResults(false);
+    }
+
+    @Test
+    void batchMatchesPerRowForRentalCalendar() {
+        assertSameResults(true);
+    }
+
+    private void assertSameResults(boolean rental) {
+        List<Booking> bookings = bookingRepository.findByDateRange(base.minusDays(30), base.plusDays(30));
+        assertFalse(bookings.isEmpty());
+        Map<Long, Attendance> attendanceByBookingId = new HashMap<>();
+        for (Attendance a : attendanceRepository.findByBookingIdIn(bookings.stream().map(Booking::getId).toList())) {
+            attendanceByBookingId.put(a.getBooking().getId(), a);
+        }
+
+        Map<Long, BookingSessionNumberResolver.SessionInfo> perRow = resolver.resolveWith(bookings, rental, attendanceByBookingId,
+                new PerRowSessionCounts(bookingRepository, memberProductRepository, memberProductHistoryRepository));
+        Map<Long, BookingSessionNumberResolver.SessionInfo> batch = resolver.resolveAll(bookings, rental, attendanceByBookingId);
+
+        assertEquals(perRow.keySet(), batch.keySet());
+        for (Map.Entry<Long, BookingSessionNumberResolver.SessionInfo> e : perRow.entrySet()) {
+            assertEquals(e.getValue(), batch.get(e.getKey()), "bookingId=" + e.getKey());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.afbscenter.util;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link JwtUtil#verify}: 발급 토큰은 만료 시각과 함께 통과하고, 서명은 맞아도 exp가 없는 토큰은 거부(캐시에 남지 않음).
+ */
+class JwtUtilTest {
+
+    private static final String SECRET = "test-secret-key-at-least-32-characters-long";
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtUtil, "deskInboxUnlockExpirationMs", 3_600_000L);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "initSigningKey");
+    }
+
+    @Test
+    void issuedTokenVerifiesWithExpiry() {
+        long before = System.currentTimeMillis();
+        JwtPrincipal principal = jwtUtil.verify(jwtUtil.generateToken("desk", "ADMIN"));
+
+        assertEquals("desk", principal.getUsername());
+        assertEquals("ADMIN", principal.getRole());
+        assertTrue(principal.getExpiresAtMillis() <= before + 3_600_000L + 1_000L);
+    }
+
+    @Test
+    void tokenWithoutExpirationIsRejectedEveryTime() {
+        String token = Jwts.builder()
+                .subject("desk")
+                .claim("role", "ADMIN")
+                .issuedAt(new Date())
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertThrows(JwtException.class, () -> jwtUtil.verify(token));
+        // 처음 거부가 캐시에 남지 않았는지 한 번 더
+        assertThrows(JwtException.class, () -> jwtUtil.verify(token));
+    }
+}
@@ -0,0 +1,117 @@
+package com.afbscenter.util;
+
+import com.afbscenter.model.Attendance;
+import com.afbscenter.model.Booking;
+import com.afbscenter.model.Facility;
+import com.afbscenter.model.Member;
+import com.afbscenter.model.MemberProduct;
+import com.afbscenter.model.Product;
+import com.afbscenter.repository.AttendanceRepository;
+import com.afbscenter.repository.BookingRepository;
+import com.afbscenter.repository.MemberProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * 목록용 잔여 일괄 계산({@link MemberProductCountPassHelper#loadLegacyUsage})이 이용권마다 count 쿼리를 날리는 기존 방식과 같은 값을 내는지 비교.
+ * 잔여가 null인 구 데이터 횟수권에 본인·타인 출석, 출석 없는 체크인 예약을 섞는다.
+ */
+@DataJpaTest
+class MemberProductCountPassHelperTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private MemberProductRepository memberProductRepository;
+
+    @Test
+    void batchedLegacyUsageMatchesPerPassCounts() {
+        Random random = new Random(20260302L);
+        LocalDateTime base = LocalDateTime.of(2026, 3, 2, 9, 0);
+        Facility facility = new Facility();
+        facility.setName("테스트 시설");
+        em.persist(facility);
+        Product product = new Product();
+        product.setName("10회권");
+        product.setType(Product.ProductType.COUNT_PASS);
+        product.setPrice(100000);
+        product.setUsageCount(10);
+        em.persist(product);
+
+        List<Member> members = new ArrayList<>();
+        for (int m = 0; m < 6; m++) {
+            Member member = new Member();
+            member.setName("회원" + m);
+            member.setPhoneNumber("010-0000-" + String.format("%04d", m));
+            member.setGender(Member.Gender.MALE);
+            member.setMemberNumber("C" + m);
+            em.persist(member);
+            members.add(member);
+        }
+        List<Long> memberIds = new ArrayList<>();
+        for (Member member : members) {
+            memberIds.add(member.getId());
+            for (int k = 0; k < 2; k++) {
+                MemberProduct mp = new MemberProduct();
+                mp.setMember(member);
+                mp.setProduct(product);
+                mp.setTotalCount(random.nextBoolean() ? 10 : null);
+                mp.setRemainingCount(random.nextInt(3) == 0 ? 4 : null);
+                em.persist(mp);
+                for (int b = 0; b < random.nextInt(5); b++) {
+                    LocalDateTime start = base.plusDays(b).plusHours(k);
+                    Booking booking = new Booking();
+                    booking.setFacility(facility);
+                    booking.setMember(member);
+                    booking.setMemberProduct(mp);
+                    booking.setStartTime(start);
+                    booking.setEndTime(start.plusHours(1));
+                    booking.setPurpose(Booking.BookingPurpose.LESSON);
+                    booking.setStatus(Booking.BookingStatus.COMPLETED);
+                    em.persist(booking);
+                    if (random.nextInt(4) != 0) {
+                        Attendance a = new Attendance();
+                        a.setBooking(booking);
+                        // 가끔 다른 회원 출석 (본인 출석만 세는지 확인)
+                        a.setMember(random.nextInt(5) == 0 ? members.get(random.nextInt(members.size())) : member);
+                        a.setFacility(facility);
+                        a.setDate(LocalDate.from(start));
+                        a.setCheckInTime(start);
+                        a.setStatus(Attendance.AttendanceStatus.PRESENT);
+                        em.persist(a);
+                    }
+                }
+            }
+        }
+        em.flush();
+        em.clear();
+
+        List<MemberProduct> passes = memberProductRepository.findByMemberIdInWithProduct(memberIds);
+        assertFalse(passes.isEmpty());
+        Map<Long, Long> usage = MemberProductCountPassHelper.loadLegacyUsage(passes, attendanceRepository, bookingRepository);
+        for (MemberProduct mp : passes) {
+            int perPass = MemberProductCountPassHelper.resolveRemainingForRead(
+                    mp, mp.getMember().getId(), attendanceRepository, bookingRepository);
+            assertEquals(perPass, MemberProductCountPassHelper.resolveRemainingForRead(mp, usage), "memberProductId=" + mp.getId());
+        }
+    }
+}
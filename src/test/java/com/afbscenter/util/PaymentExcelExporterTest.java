@@ -0,0 +1,154 @@
+package com.afbscenter.util;
+
+import com.afbscenter.model.Member;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 결제 20만 건 엑셀 스트리밍 내보내기가 작은 힙(-Xmx256m, pom의 large-export 실행, 인메모리 H2 데이터 포함)에서 끝나는지 확인.
+ * 전체를 메모리에 올리는 방식이면 OutOfMemoryError로 실패한다. 결과 시트는 압축 해제 스트림으로 행 수만 센다.
+ * 시드는 테스트 트랜잭션 밖에서 배치마다 커밋한다. 한 트랜잭션에 20만 건을 넣으면 H2가 커밋 전 행·되돌리기 기록을
+ * 힙에 들고 있어 내보내기와 무관하게 힙이 찬다.
+ */
+@Tag("large-export")
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({PaymentExcelExporter.class, PaymentCoachResolver.class})
+class PaymentExcelExporterTest {
+
+    private static final int PAYMENT_COUNT = 200_000;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PaymentExcelExporter exporter;
+
+    @Test
+    void exportsAllRowsWithFlatHeap() throws IOException {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long memberId = tx.execute(status -> {
+            Member member = new Member();
+            member.setName("엑셀회원");
+            member.setPhoneNumber("010-0000-0000");
+            member.setGender(Member.Gender.MALE);
+            member.setMemberNumber("X1");
+            return em.persistAndGetId(member, Long.class);
+        });
+
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 9, 0);
+        String[] methods = {"CASH", "CARD", "BANK_TRANSFER", "EASY_PAY"};
+        String[] categories = {"RENTAL", "LESSON", "PRODUCT_SALE"};
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < PAYMENT_COUNT; i++) {
+            Timestamp paidAt = Timestamp.valueOf(base.plusMinutes(i));
+            batch.add(new Object[]{memberId, 10000 + (i % 50) * 1000, methods[i % methods.length], "COMPLETED",
+                    categories[i % categories.length], 0, paidAt, paidAt, "메모 " + i});
+            if (batch.size() == 5000) {
+                insertPayments(jdbc, batch);
+                batch.clear();
+            }
+        }
+        insertPayments(jdbc, batch);
+
+        Path file = Files.createTempFile("payments_export_test_", ".xlsx");
+        try {
+            // 내보내기 트랜잭션 안에서 영속성 컨텍스트 크기까지 확인한다
+            int written = tx.execute(status -> {
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+                    int rows = exporter.write(null, null, null, null, null, out);
+                    assertTrue(em.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount() < PaymentExcelExporter.CHUNK_SIZE * 2,
+                            "청크마다 영속성 컨텍스트가 비워져야 함");
+                    return rows;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            assertEquals(PAYMENT_COUNT, written);
+            assertEquals(PAYMENT_COUNT + 1, countSheetRows(file));
+        } finally {
+            Files.deleteIfExists(file);
+            // 지울 때도 한 트랜잭션에 몰지 않는다
+            while (jdbc.update("DELETE FROM payments WHERE member_id = ? FETCH FIRST 5000 ROWS ONLY", memberId) > 0) {
+            }
+            jdbc.update("DELETE FROM members WHERE id = ?", memberId);
+        }
+    }
+
+    private static void insertPayments(JdbcTemplate jdbc, List<Object[]> rows) {
+        jdbc.batchUpdate("INSERT INTO payments (member_id, amount, payment_method, status, payment_category, "
+                + "refund_amount, paid_at, created_at, memo) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    /** sheet1.xml을 압축 해제 스트림으로 읽으며 {@code <row } 태그 수만 센다 (메모리 일정). 항목 크기는 중앙 디렉터리 기준이라 ZipFile로 연다 */
+    private static int countSheetRows(Path file) throws IOException {
+        byte[] tag = "<row ".getBytes(StandardCharsets.US_ASCII);
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            ZipEntry entry = zip.getEntry("xl/worksheets/sheet1.xml");
+            if (entry == null) {
+                return -1;
+            }
+            try (InputStream in = new BufferedInputStream(zip.getInputStream(entry))) {
+                return countOccurrences(in, tag);
+            }
+        }
+    }
+
+    private static int countOccurrences(InputStream in, byte[] tag) throws IOException {
+        int count = 0;
+        int matched = 0;
+        byte[] buf = new byte[8192];
+        int n;
+        while ((n = in.read(buf)) > 0) {
+            for (int i = 0; i < n; i++) {
+                if (buf[i] == tag[matched]) {
+                    matched++;
+                    if (matched == tag.length) {
+                        count++;
+                        matched = 0;
+                    }
+                } else {
+                    matched = buf[i] == tag[0] ? 1 : 0;
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,87 @@
+package com.afbscenter.util;
+
+import com.afbscenter.model.Booking;
+import com.afbscenter.model.MemberProduct;
+import com.afbscenter.model.MemberProductHistory;
+import com.afbscenter.repository.BookingRepository;
+import com.afbscenter.repository.MemberProductHistoryRepository;
+import com.afbscenter.repository.MemberProductRepository;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 배치 이전 방식: 예약마다 repository count 쿼리로 회차 카운트를 구한다.
+ * {@link BookingSessionNumberResolverTest}에서 배치 결과와 비교하는 기준 구현.
+ */
+class PerRowSessionCounts implements BookingSessionNumberResolver.SessionCounts {
+
+    private final BookingRepository bookingRepository;
+    private final MemberProductRepository memberProductRepository;
+    private final MemberProductHistoryRepository memberProductHistoryRepository;
+    private final LocalDateTime now = LocalDateTime.now();
+    private final Map<Long, Boolean> firstCompletedByMpId = new HashMap<>();
+
+    PerRowSessionCounts(BookingRepository bookingRepository,
+                        MemberProductRepository memberProductRepository,
+                        MemberProductHistoryRepository memberProductHistoryRepository) {
+        this.bookingRepository = bookingRepository;
+        this.memberProductRepository = memberProductRepository;
+        this.memberProductHistoryRepository = memberProductHistoryRepository;
+    }
+
+    @Override
+    public LocalDateTime now() {
+        return now;
+    }
+
+    @Override
+    public MemberProduct activeMemberProduct(Booking booking) {
+        return memberProductRepository.findByIdAndDeletedAtIsNull(booking.getMemberProduct().getId()).orElse(null);
+    }
+
+    @Override
+    public long countBeforeInOrder(Long mpId, LocalDateTime start, Long bookingId) {
+        return bookingRepository.countByMemberProductBeforeInOrder(mpId, start, bookingId);
+    }
+
+    @Override
+    public long countEndedBefore(Long mpId, LocalDateTime before) {
+        return bookingRepository.countByMemberProductEndedBefore(mpId, before);
+    }
+
+    @Override
+    public long countIdBefore(Long mpId, Long bookingId) {
+        return bookingRepository.countByMemberProductIdBefore(mpId, bookingId);
+    }
+
+    @Override
+    public long countMemberProductEndedBefore(Long memberId, Long productId, LocalDateTime before) {
+        return bookingRepository.countByMemberIdAndProductIdEndedBefore(memberId, productId, before);
+    }
+
+    @Override
+    public List<MemberProductHistory> histories(Long mpId) {
+        return memberProductHistoryRepository.findByMemberProductIdOrderByTransactionDateDesc(mpId);
+    }
+
+    @Override
+    public boolean firstBookingCompleted(Long mpId) {
+        return Boolean.TRUE.equals(firstCompletedByMpId.computeIfAbsent(mpId, id -> {
+            Booking first = bookingRepository.findFirstByMemberProduct_IdOrderByStartTimeAscIdAsc(id).orElse(null);
+            return first != null && first.getStatus() == Booking.BookingStatus.COMPLETED;
+        }));
+    }
+
+    @Override
+    public long deductOrdinal(Long mpId, Long attendanceId) {
+        Optional<MemberProductHistory> histOpt = memberProductHistoryRepository.findDeductByAttendanceId(attendanceId);
+        if (histOpt.isPresent() && histOpt.get().getId() != null) {
+            return memberProductHistoryRepository.countDeductByMemberProductIdAndIdLessThanEqual(mpId, histOpt.get().getId());
+        }
+        return 0;
+    }
+}